@@ -0,0 +1,4 @@
+package dioscuri.module.ata.jmh_generated;
+public class SectorReadBenchmark_jmhType extends SectorReadBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package dioscuri.module.cpu.jmh_generated;
+public class InstructionDispatchBenchmark_jmhType extends InstructionDispatchBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package dioscuri.module.cpu32.jmh_generated;
+public class AddressSpaceBenchmark_jmhType extends AddressSpaceBenchmark_jmhType_B3 {
+}
+
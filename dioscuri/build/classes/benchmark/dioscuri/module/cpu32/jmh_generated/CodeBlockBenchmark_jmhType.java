@@ -0,0 +1,4 @@
+package dioscuri.module.cpu32.jmh_generated;
+public class CodeBlockBenchmark_jmhType extends CodeBlockBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package dioscuri.module.memory.jmh_generated;
+public class MemoryBenchmark_jmhType extends MemoryBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package dioscuri.module.motherboard.jmh_generated;
+public class IOPortBenchmark_jmhType extends IOPortBenchmark_jmhType_B3 {
+}
+
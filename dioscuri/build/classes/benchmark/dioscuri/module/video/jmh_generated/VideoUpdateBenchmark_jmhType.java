@@ -0,0 +1,4 @@
+package dioscuri.module.video.jmh_generated;
+public class VideoUpdateBenchmark_jmhType extends VideoUpdateBenchmark_jmhType_B3 {
+}
+
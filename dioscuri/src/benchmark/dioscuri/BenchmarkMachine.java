@@ -0,0 +1,103 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri;
+
+import dioscuri.config.ConfigController;
+import dioscuri.util.Utilities;
+
+import java.io.File;
+
+/**
+ * Sets up complete machines for the benchmarks, the same way the emulation
+ * process does, but without running them. The benchmarks then drive single
+ * modules of the machine directly.
+ * <p/>
+ * Benchmarks have to be run from the Dioscuri directory, so the default
+ * configuration, BIOS and floppy images can be found.
+ */
+public final class BenchmarkMachine {
+
+    private BenchmarkMachine() {
+    }
+
+    /**
+     * Load the default configuration, which can be changed before the machine
+     * is created.
+     *
+     * @return the default configuration
+     * @throws Exception if the configuration cannot be read
+     */
+    public static dioscuri.config.Emulator loadConfig() throws Exception {
+        // Keep the logging quiet, some modules log on every update
+        Utilities.loadLoggingProperties();
+        return new ConfigController().loadFromXML(new File(Constants.DEFAULT_CONFIG_XML));
+    }
+
+    /**
+     * Create a machine without a display from the default configuration.
+     *
+     * @param cpu32bit true for the 32-bit CPU, false for the 16-bit CPU
+     * @return the machine, with all modules set up and reset
+     * @throws Exception if the machine cannot be set up
+     */
+    public static Emulator create(boolean cpu32bit) throws Exception {
+        dioscuri.config.Emulator config = loadConfig();
+        config.getArchitecture().getModules().getCpu().setCpu32Bit(cpu32bit);
+        return create(config);
+    }
+
+    /**
+     * Create a machine without a display.
+     *
+     * @param config the configuration of the machine
+     * @return the machine, with all modules set up and reset
+     * @throws Exception if the machine cannot be set up
+     */
+    public static Emulator create(dioscuri.config.Emulator config) throws Exception {
+        Emulator emu = new Emulator(new HeadlessGUI(Constants.DEFAULT_CONFIG_XML, config));
+        emu.setHeadless(true);
+        emu.emuConfig = config;
+        emu.moduleConfig = config.getArchitecture().getModules();
+        if (!emu.setupEmu()) {
+            throw new IllegalStateException("Machine could not be set up");
+        }
+        return emu;
+    }
+}
@@ -0,0 +1,132 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.ata;
+
+import dioscuri.BenchmarkMachine;
+import dioscuri.Emulator;
+import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.Module;
+import dioscuri.module.motherboard.Motherboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading sectors from a hard disk with programmed I/O, the way a driver
+ * does: select the sector, issue READ SECTORS and read the 256 words of the
+ * sector from the data port.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectorReadBenchmark {
+
+    private static final int CYLINDERS = 20;
+    private static final int HEADS = 16;
+    private static final int SECTORS_PER_TRACK = 63;
+    private static final int SECTORS = CYLINDERS * HEADS * SECTORS_PER_TRACK;
+
+    @Param({"false", "true"})
+    public boolean mapped;
+
+    private File image;
+    private Emulator emu;
+    private Motherboard motherboard;
+    private int lba;
+
+    @Setup
+    public void setUp() throws Exception {
+        image = File.createTempFile("dioscuri-benchmark", ".img");
+        RandomAccessFile file = new RandomAccessFile(image, "rw");
+        byte[] sector = new byte[512];
+        for (int i = 0; i < SECTORS; i++) {
+            sector[0] = (byte) i;
+            file.write(sector);
+        }
+        file.close();
+
+        dioscuri.config.Emulator config = BenchmarkMachine.loadConfig();
+        config.getArchitecture().getModules().getCpu().setCpu32Bit(false);
+        dioscuri.config.Emulator.Architecture.Modules.Ata.Harddiskdrive disk =
+                config.getArchitecture().getModules().getAta().getHarddiskdrive().get(0);
+        disk.setEnabled(true);
+        disk.setChannelindex(BigInteger.ZERO);
+        disk.setMaster(true);
+        disk.setAutodetectcylinders(true);
+        disk.setHeads(BigInteger.valueOf(HEADS));
+        disk.setSectorspertrack(BigInteger.valueOf(SECTORS_PER_TRACK));
+        disk.setImagefilepath(image.getAbsolutePath());
+        disk.setMapped(mapped);
+
+        emu = BenchmarkMachine.create(config);
+        motherboard = (Motherboard) emu.getModules().getModule(Module.Type.MOTHERBOARD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        emu.getModules().getModule(Module.Type.ATA).stop();
+        image.delete();
+    }
+
+    @Benchmark
+    public int readSector() throws ModuleException {
+        lba = (lba + 1) % SECTORS;
+
+        motherboard.setIOPortByte(0x1F6, (byte) (0xE0 | ((lba >> 24) & 0x0F)));
+        motherboard.setIOPortByte(0x1F2, (byte) 1);
+        motherboard.setIOPortByte(0x1F3, (byte) lba);
+        motherboard.setIOPortByte(0x1F4, (byte) (lba >> 8));
+        motherboard.setIOPortByte(0x1F5, (byte) (lba >> 16));
+        motherboard.setIOPortByte(0x1F7, (byte) 0x20);
+
+        int sum = 0;
+        for (int i = 0; i < 256; i++) {
+            byte[] word = motherboard.getIOPortWord(0x1F0);
+            sum += word[0] + word[1];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,99 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.cpu;
+
+import dioscuri.BenchmarkMachine;
+import dioscuri.Emulator;
+import dioscuri.interfaces.Module;
+import dioscuri.module.memory.Memory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instruction dispatch of the 16-bit CPU: fetching an opcode and executing
+ * it through the single byte instruction table. The CPU single steps
+ * through a short loop of common instructions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstructionDispatchBenchmark {
+
+    private static final int CODE_ADDRESS = 0x1000;
+    private static final int INSTRUCTIONS = 1000;
+
+    // MOV AX,1234h; ADD BX,AX; INC BX; MOV CX,BX; MOV [2000h],AX; PUSH AX;
+    // POP DX; JMP short back to MOV AX,1234h
+    private static final byte[] CODE = {
+            (byte) 0xB8, 0x34, 0x12,
+            0x01, (byte) 0xC3,
+            0x43,
+            (byte) 0x89, (byte) 0xD9,
+            (byte) 0xA3, 0x00, 0x20,
+            0x50,
+            0x5A,
+            (byte) 0xEB, (byte) 0xF1};
+
+    private CPU cpu;
+
+    @Setup
+    public void setUp() throws Exception {
+        Emulator emu = BenchmarkMachine.create(false);
+        Memory memory = (Memory) emu.getModules().getModule(Module.Type.MEMORY);
+        cpu = (CPU) emu.getModules().getModule(Module.Type.CPU);
+
+        memory.setBytes(CODE_ADDRESS, CODE);
+        cpu.setRegisterValue("CS", new byte[]{0x00, 0x00});
+        cpu.setRegisterValue("IP", new byte[]{(byte) (CODE_ADDRESS >> 8), (byte) CODE_ADDRESS});
+        cpu.setDebugMode(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTRUCTIONS)
+    public void singleByteInstructions() {
+        for (int i = 0; i < INSTRUCTIONS; i++) {
+            cpu.start();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.cpu32;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes through the address spaces of the 32-bit machine. The
+ * linear address space is measured with paging switched off, where it
+ * passes accesses on to physical memory, and with paging switched on, where
+ * every access goes through the TLB.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddressSpaceBenchmark {
+
+    private static final int ADDRESSES = 1024;
+    private static final int MAPPED_SIZE = 4 * 1024 * 1024;
+    private static final int PAGE_DIRECTORY = 0x1000;
+    private static final int PAGE_TABLE = 0x2000;
+
+    @Param({"false", "true"})
+    public boolean paging;
+
+    private PhysicalAddressSpace physical;
+    private LinearAddressSpace linear;
+    private int[] addresses;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        physical = new PhysicalAddressSpace();
+        for (int i = 0; i < PhysicalAddressSpace.SYS_RAM_SIZE; i += AddressSpace.BLOCK_SIZE) {
+            physical.allocateMemory(i, new LazyMemory(AddressSpace.BLOCK_SIZE));
+        }
+        physical.setGateA20State(true);
+
+        linear = new LinearAddressSpace();
+        linear.acceptComponent(physical);
+
+        if (paging) {
+            // Identity map the first 4 MB with a single page table
+            physical.setDoubleWord(PAGE_DIRECTORY, PAGE_TABLE | 0x3);
+            for (int page = 0; page < 1024; page++) {
+                physical.setDoubleWord(PAGE_TABLE + page * 4, (page << 12) | 0x3);
+            }
+            linear.setSupervisor(true);
+            linear.setPageDirectoryBaseAddress(PAGE_DIRECTORY);
+            linear.setPagingEnabled(true);
+        }
+
+        // Fixed seed, so every run uses the same addresses; stay clear of
+        // the paging structures
+        Random random = new Random(42);
+        addresses = new int[ADDRESSES];
+        for (int i = 0; i < ADDRESSES; i++) {
+            addresses[i] = 0x10000 + random.nextInt(MAPPED_SIZE - 0x10000 - 4);
+        }
+    }
+
+    private int nextAddress() {
+        next = (next + 1) & (ADDRESSES - 1);
+        return addresses[next];
+    }
+
+    @Benchmark
+    public int physicalRead() {
+        return physical.getDoubleWord(nextAddress());
+    }
+
+    @Benchmark
+    public void physicalWrite() {
+        physical.setDoubleWord(nextAddress(), next);
+    }
+
+    @Benchmark
+    public int linearRead() {
+        return linear.getDoubleWord(nextAddress());
+    }
+
+    @Benchmark
+    public void linearWrite() {
+        linear.setDoubleWord(nextAddress(), next);
+    }
+}
@@ -0,0 +1,103 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.cpu32;
+
+import dioscuri.BenchmarkMachine;
+import dioscuri.Emulator;
+import dioscuri.interfaces.Module;
+import dioscuri.module.clock.Clock;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution of one real mode code block of the 32-bit CPU, as built by the
+ * interpreting OptimisedCompiler and by the FASTCompiler, which generates
+ * bytecode for the block.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeBlockBenchmark {
+
+    // MOV AX,1234h; MOV [2000h],AX; MOV BX,AX; INC BX; MOV CX,BX; JMP short
+    // back to MOV AX,1234h. Both real-mode compilers accept this mix; the
+    // FAST compiler still emits unverifiable classes for some flag-setting
+    // ALU sequences (e.g. ADD r16,r16 after an immediate load).
+    private static final byte[] CODE = {
+            (byte) 0xB8, 0x34, 0x12,
+            (byte) 0xA3, 0x00, 0x20,
+            (byte) 0x89, (byte) 0xC3,
+            0x43,
+            (byte) 0x89, (byte) 0xD9,
+            (byte) 0xEB, (byte) 0xF3};
+
+    private Processor cpu;
+    private RealModeCodeBlock optimised;
+    private RealModeCodeBlock fast;
+
+    @Setup
+    public void setUp() throws Exception {
+        Emulator emu = BenchmarkMachine.create(true);
+        cpu = (Processor) emu.getModules().getModule(Module.Type.CPU);
+        Clock clock = (Clock) emu.getModules().getModule(Module.Type.CLOCK);
+
+        ByteSourceWrappedMemory source = new ByteSourceWrappedMemory();
+        source.set(new LazyMemory(CODE), 0);
+        optimised = new DefaultCodeBlockFactory(new RealModeUDecoder(),
+                new OptimisedCompiler(clock)).getRealModeCodeBlock(source);
+        source.reset();
+        fast = new DefaultCodeBlockFactory(new RealModeUDecoder(),
+                new FASTCompiler()).getRealModeCodeBlock(source);
+    }
+
+    @Benchmark
+    public int optimisedCompiler() {
+        return optimised.execute(cpu);
+    }
+
+    @Benchmark
+    public int fastCompiler() {
+        return fast.execute(cpu);
+    }
+}
@@ -0,0 +1,100 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.memory;
+
+import dioscuri.BenchmarkMachine;
+import dioscuri.Emulator;
+import dioscuri.interfaces.Module;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Byte and word access to the memory of the 16-bit machine, at scattered
+ * addresses in conventional memory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+
+    private static final int ADDRESSES = 1024;
+
+    private Memory memory;
+    private int[] addresses;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        Emulator emu = BenchmarkMachine.create(false);
+        memory = (Memory) emu.getModules().getModule(Module.Type.MEMORY);
+
+        // Fixed seed, so every run reads the same addresses
+        Random random = new Random(42);
+        addresses = new int[ADDRESSES];
+        for (int i = 0; i < ADDRESSES; i++) {
+            addresses[i] = random.nextInt(0xA0000 - 1);
+        }
+    }
+
+    private int nextAddress() {
+        next = (next + 1) & (ADDRESSES - 1);
+        return addresses[next];
+    }
+
+    @Benchmark
+    public byte getByte() {
+        return memory.getByte(nextAddress());
+    }
+
+    @Benchmark
+    public byte[] getWord() {
+        return memory.getWord(nextAddress());
+    }
+
+    @Benchmark
+    public void setByte() {
+        memory.setByte(nextAddress(), (byte) next);
+    }
+}
@@ -0,0 +1,80 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.motherboard;
+
+import dioscuri.BenchmarkMachine;
+import dioscuri.Emulator;
+import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.Module;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading I/O ports through the motherboard, which looks up the device
+ * registered for the port and forwards the read to it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IOPortBenchmark {
+
+    // System control port B, keyboard status, VGA input status, ATA status
+    @Param({"0x61", "0x64", "0x3DA", "0x1F7"})
+    public String port;
+
+    private Motherboard motherboard;
+    private int portAddress;
+
+    @Setup
+    public void setUp() throws Exception {
+        Emulator emu = BenchmarkMachine.create(false);
+        motherboard = (Motherboard) emu.getModules().getModule(Module.Type.MOTHERBOARD);
+        portAddress = Integer.decode(port);
+    }
+
+    @Benchmark
+    public byte getIOPortByte() throws ModuleException {
+        return motherboard.getIOPortByte(portAddress);
+    }
+}
@@ -0,0 +1,164 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.video;
+
+import dioscuri.BenchmarkMachine;
+import dioscuri.Emulator;
+import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.Module;
+import dioscuri.module.memory.Memory;
+import dioscuri.module.motherboard.Motherboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screen updates of the video module in 80x25 text mode and in 320x200
+ * graphics mode with 256 colours. Before every update one byte of video
+ * memory is changed, as a running program would. The mode is set by writing
+ * the standard VGA register values, so no BIOS code has to run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VideoUpdateBenchmark {
+
+    // Miscellaneous output, sequencer, CRT controller, graphics controller
+    // and attribute controller registers of VGA mode 03h
+    private static final int[][] TEXT_MODE = {
+            {0x67},
+            {0x03, 0x00, 0x03, 0x00, 0x02},
+            {0x5F, 0x4F, 0x50, 0x82, 0x55, 0x81, 0xBF, 0x1F, 0x00, 0x4F,
+                    0x0D, 0x0E, 0x00, 0x00, 0x00, 0x50, 0x9C, 0x0E, 0x8F, 0x28,
+                    0x1F, 0x96, 0xB9, 0xA3, 0xFF},
+            {0x00, 0x00, 0x00, 0x00, 0x00, 0x10, 0x0E, 0x00, 0xFF},
+            {0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x14, 0x07, 0x38, 0x39,
+                    0x3A, 0x3B, 0x3C, 0x3D, 0x3E, 0x3F, 0x0C, 0x00, 0x0F, 0x08,
+                    0x00}};
+
+    // The same registers for VGA mode 13h
+    private static final int[][] GRAPHICS_MODE = {
+            {0x63},
+            {0x03, 0x01, 0x0F, 0x00, 0x0E},
+            {0x5F, 0x4F, 0x50, 0x82, 0x54, 0x80, 0xBF, 0x1F, 0x00, 0x41,
+                    0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x9C, 0x0E, 0x8F, 0x28,
+                    0x40, 0x96, 0xB9, 0xA3, 0xFF},
+            {0x00, 0x00, 0x00, 0x00, 0x00, 0x40, 0x05, 0x0F, 0xFF},
+            {0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09,
+                    0x0A, 0x0B, 0x0C, 0x0D, 0x0E, 0x0F, 0x41, 0x00, 0x0F, 0x00,
+                    0x00}};
+
+    private static final int TEXT_MEMORY = 0xB8000;
+    private static final int TEXT_SIZE = 80 * 25 * 2;
+    private static final int GRAPHICS_MEMORY = 0xA0000;
+    private static final int GRAPHICS_SIZE = 320 * 200;
+
+    @Param({"text", "graphics"})
+    public String mode;
+
+    private Video video;
+    private Memory memory;
+    private int base;
+    private int size;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        Emulator emu = BenchmarkMachine.create(false);
+        video = (Video) emu.getModules().getModule(Module.Type.VIDEO);
+        memory = (Memory) emu.getModules().getModule(Module.Type.MEMORY);
+        Motherboard motherboard = (Motherboard) emu.getModules().getModule(Module.Type.MOTHERBOARD);
+
+        boolean text = "text".equals(mode);
+        setMode(motherboard, text ? TEXT_MODE : GRAPHICS_MODE);
+        base = text ? TEXT_MEMORY : GRAPHICS_MEMORY;
+        size = text ? TEXT_SIZE : GRAPHICS_SIZE;
+
+        // Fill the screen and draw it once, so updates only show changes
+        for (int i = 0; i < size; i++) {
+            memory.setByte(base + i, (byte) (text ? 0x41 + i % 26 : i));
+        }
+        video.update();
+    }
+
+    private static void setMode(Motherboard motherboard, int[][] registers)
+            throws ModuleException {
+        int[] misc = registers[0], sequencer = registers[1], crtc = registers[2],
+                graphics = registers[3], attribute = registers[4];
+
+        motherboard.setIOPortByte(0x3C2, (byte) misc[0]);
+        for (int i = 0; i < sequencer.length; i++) {
+            motherboard.setIOPortByte(0x3C4, (byte) i);
+            motherboard.setIOPortByte(0x3C5, (byte) sequencer[i]);
+        }
+
+        // Unlock CRT controller registers 0-7 before writing them
+        motherboard.setIOPortByte(0x3D4, (byte) 0x11);
+        motherboard.setIOPortByte(0x3D5, (byte) (crtc[0x11] & 0x7F));
+        for (int i = 0; i < crtc.length; i++) {
+            motherboard.setIOPortByte(0x3D4, (byte) i);
+            motherboard.setIOPortByte(0x3D5, (byte) crtc[i]);
+        }
+
+        for (int i = 0; i < graphics.length; i++) {
+            motherboard.setIOPortByte(0x3CE, (byte) i);
+            motherboard.setIOPortByte(0x3CF, (byte) graphics[i]);
+        }
+
+        // Reading the input status register resets the attribute flip-flop
+        for (int i = 0; i < attribute.length; i++) {
+            motherboard.getIOPortByte(0x3DA);
+            motherboard.setIOPortByte(0x3C0, (byte) i);
+            motherboard.setIOPortByte(0x3C0, (byte) attribute[i]);
+        }
+        motherboard.getIOPortByte(0x3DA);
+        motherboard.setIOPortByte(0x3C0, (byte) 0x20);
+    }
+
+    @Benchmark
+    public void update() {
+        next = (next + 1) % size;
+        memory.setByte(base + next, (byte) (memory.getByte(base + next) + 1));
+        video.update();
+    }
+}
@@ -0,0 +1,2949 @@
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.0-b52-fcs 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2026.10.17 at 11:27:19 PM UTC 
+//
+
+
+package dioscuri.config;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+import dioscuri.config.Emulator.Architecture;
+import dioscuri.config.Emulator.Architecture.Modules;
+import dioscuri.config.Emulator.Architecture.Modules.Ata;
+import dioscuri.config.Emulator.Architecture.Modules.Ata.Harddiskdrive;
+import dioscuri.config.Emulator.Architecture.Modules.Bios;
+import dioscuri.config.Emulator.Architecture.Modules.Bios.Bootdrives;
+import dioscuri.config.Emulator.Architecture.Modules.Cpu;
+import dioscuri.config.Emulator.Architecture.Modules.Fdc;
+import dioscuri.config.Emulator.Architecture.Modules.Fdc.Floppy;
+import dioscuri.config.Emulator.Architecture.Modules.Keyboard;
+import dioscuri.config.Emulator.Architecture.Modules.Memory;
+import dioscuri.config.Emulator.Architecture.Modules.Mouse;
+import dioscuri.config.Emulator.Architecture.Modules.Pit;
+import dioscuri.config.Emulator.Architecture.Modules.Video;
+import dioscuri.config.Emulator.Architecture.Modules.Vnc;
+
+
+/**
+ * <p>Java class for emulator element declaration.
+ * 
+ * <p>The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;element name="emulator">
+ *   &lt;complexType>
+ *     &lt;complexContent>
+ *       &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *         &lt;sequence>
+ *           &lt;element name="architecture">
+ *             &lt;complexType>
+ *               &lt;complexContent>
+ *                 &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                   &lt;sequence>
+ *                     &lt;element name="modules">
+ *                       &lt;complexType>
+ *                         &lt;complexContent>
+ *                           &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                             &lt;sequence>
+ *                               &lt;element name="bios" maxOccurs="2">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="sysbiosfilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                         &lt;element name="vgabiosfilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                         &lt;element name="ramaddresssysbiosstartdec" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                         &lt;element name="ramaddressvgabiosstartdec" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                         &lt;element name="bootdrives">
+ *                                           &lt;complexType>
+ *                                             &lt;complexContent>
+ *                                               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                                 &lt;sequence>
+ *                                                   &lt;element name="bootdrive0" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                                   &lt;element name="bootdrive1" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                                   &lt;element name="bootdrive2" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                                 &lt;/sequence>
+ *                                               &lt;/restriction>
+ *                                             &lt;/complexContent>
+ *                                           &lt;/complexType>
+ *                                         &lt;/element>
+ *                                         &lt;element name="floppycheckdisabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="hle" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="cpu">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="cpu32bit" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                         &lt;element name="speedmhz" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="compilerthreads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger" />
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                       &lt;attribute name="idle">
+ *                                         &lt;simpleType>
+ *                                           &lt;restriction base="{http://www.w3.org/2001/XMLSchema}string">
+ *                                             &lt;enumeration value="wait"/>
+ *                                             &lt;enumeration value="skip"/>
+ *                                           &lt;/restriction>
+ *                                         &lt;/simpleType>
+ *                                       &lt;/attribute>
+ *                                       &lt;attribute name="idleloops" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="memory" minOccurs="0">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="sizemb" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                       &lt;attribute name="debugaddressdecimal" type="{http://www.w3.org/2001/XMLSchema}positiveInteger" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="fdc" minOccurs="0">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                         &lt;element name="floppy" maxOccurs="2">
+ *                                           &lt;complexType>
+ *                                             &lt;complexContent>
+ *                                               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                                 &lt;sequence>
+ *                                                   &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                                   &lt;element name="inserted" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                                   &lt;element name="driveletter" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                                   &lt;element name="diskformat" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                                   &lt;element name="writeprotected" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                                   &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                                 &lt;/sequence>
+ *                                                 &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+ *                                               &lt;/restriction>
+ *                                             &lt;/complexContent>
+ *                                           &lt;/complexType>
+ *                                         &lt;/element>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="pit" minOccurs="0">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="clockrate" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="keyboard" minOccurs="0">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="mouse" minOccurs="0">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                         &lt;element name="mousetype" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="ata" minOccurs="0">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                         &lt;element name="harddiskdrive" maxOccurs="8">
+ *                                           &lt;complexType>
+ *                                             &lt;complexContent>
+ *                                               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                                 &lt;sequence>
+ *                                                   &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                                   &lt;element name="channelindex" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+ *                                                   &lt;element name="master" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                                   &lt;element name="autodetectcylinders" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                                   &lt;element name="cylinders" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+ *                                                   &lt;element name="heads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                                   &lt;element name="sectorspertrack" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                                   &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                                   &lt;element name="overlayfilepath" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/>
+ *                                                 &lt;/sequence>
+ *                                                 &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+ *                                               &lt;/restriction>
+ *                                             &lt;/complexContent>
+ *                                           &lt;/complexType>
+ *                                         &lt;/element>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="video" minOccurs="0">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                               &lt;element name="vnc" minOccurs="0">
+ *                                 &lt;complexType>
+ *                                   &lt;complexContent>
+ *                                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+ *                                       &lt;sequence>
+ *                                         &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+ *                                         &lt;element name="port" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+ *                                         &lt;element name="password" type="{http://www.w3.org/2001/XMLSchema}string"/>
+ *                                       &lt;/sequence>
+ *                                       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *                                     &lt;/restriction>
+ *                                   &lt;/complexContent>
+ *                                 &lt;/complexType>
+ *                               &lt;/element>
+ *                             &lt;/sequence>
+ *                           &lt;/restriction>
+ *                         &lt;/complexContent>
+ *                       &lt;/complexType>
+ *                     &lt;/element>
+ *                   &lt;/sequence>
+ *                   &lt;attribute name="name" use="required" type="{http://www.w3.org/2001/XMLSchema}string" />
+ *                 &lt;/restriction>
+ *               &lt;/complexContent>
+ *             &lt;/complexType>
+ *           &lt;/element>
+ *         &lt;/sequence>
+ *         &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+ *       &lt;/restriction>
+ *     &lt;/complexContent>
+ *   &lt;/complexType>
+ * &lt;/element>
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {
+    "architecture"
+})
+@XmlRootElement(name = "emulator")
+public class Emulator {
+
+    @XmlElement(required = true)
+    protected Architecture architecture;
+    @XmlAttribute
+    protected Boolean debug;
+
+    /**
+     * Gets the value of the architecture property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Architecture }
+     *     
+     */
+    public Architecture getArchitecture() {
+        return architecture;
+    }
+
+    /**
+     * Sets the value of the architecture property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Architecture }
+     *     
+     */
+    public void setArchitecture(Architecture value) {
+        this.architecture = value;
+    }
+
+    /**
+     * Gets the value of the debug property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link Boolean }
+     *     
+     */
+    public Boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Sets the value of the debug property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link Boolean }
+     *     
+     */
+    public void setDebug(Boolean value) {
+        this.debug = value;
+    }
+
+
+    /**
+     * <p>Java class for anonymous complex type.
+     * 
+     * <p>The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;sequence>
+     *         &lt;element name="modules">
+     *           &lt;complexType>
+     *             &lt;complexContent>
+     *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                 &lt;sequence>
+     *                   &lt;element name="bios" maxOccurs="2">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="sysbiosfilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                             &lt;element name="vgabiosfilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                             &lt;element name="ramaddresssysbiosstartdec" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                             &lt;element name="ramaddressvgabiosstartdec" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                             &lt;element name="bootdrives">
+     *                               &lt;complexType>
+     *                                 &lt;complexContent>
+     *                                   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                                     &lt;sequence>
+     *                                       &lt;element name="bootdrive0" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                                       &lt;element name="bootdrive1" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                                       &lt;element name="bootdrive2" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                                     &lt;/sequence>
+     *                                   &lt;/restriction>
+     *                                 &lt;/complexContent>
+     *                               &lt;/complexType>
+     *                             &lt;/element>
+     *                             &lt;element name="floppycheckdisabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="hle" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="cpu">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="cpu32bit" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                             &lt;element name="speedmhz" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="compilerthreads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger" />
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                           &lt;attribute name="idle">
+     *                             &lt;simpleType>
+     *                               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}string">
+     *                                 &lt;enumeration value="wait"/>
+     *                                 &lt;enumeration value="skip"/>
+     *                               &lt;/restriction>
+     *                             &lt;/simpleType>
+     *                           &lt;/attribute>
+     *                           &lt;attribute name="idleloops" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="memory" minOccurs="0">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="sizemb" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                           &lt;attribute name="debugaddressdecimal" type="{http://www.w3.org/2001/XMLSchema}positiveInteger" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="fdc" minOccurs="0">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                             &lt;element name="floppy" maxOccurs="2">
+     *                               &lt;complexType>
+     *                                 &lt;complexContent>
+     *                                   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                                     &lt;sequence>
+     *                                       &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                                       &lt;element name="inserted" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                                       &lt;element name="driveletter" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                                       &lt;element name="diskformat" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                                       &lt;element name="writeprotected" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                                       &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                                     &lt;/sequence>
+     *                                     &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+     *                                   &lt;/restriction>
+     *                                 &lt;/complexContent>
+     *                               &lt;/complexType>
+     *                             &lt;/element>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="pit" minOccurs="0">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="clockrate" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="keyboard" minOccurs="0">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="mouse" minOccurs="0">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                             &lt;element name="mousetype" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="ata" minOccurs="0">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                             &lt;element name="harddiskdrive" maxOccurs="8">
+     *                               &lt;complexType>
+     *                                 &lt;complexContent>
+     *                                   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                                     &lt;sequence>
+     *                                       &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                                       &lt;element name="channelindex" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+     *                                       &lt;element name="master" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                                       &lt;element name="autodetectcylinders" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                                       &lt;element name="cylinders" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+     *                                       &lt;element name="heads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                                       &lt;element name="sectorspertrack" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                                       &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                                       &lt;element name="overlayfilepath" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/>
+     *                                     &lt;/sequence>
+     *                                     &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+     *                                   &lt;/restriction>
+     *                                 &lt;/complexContent>
+     *                               &lt;/complexType>
+     *                             &lt;/element>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="video" minOccurs="0">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                   &lt;element name="vnc" minOccurs="0">
+     *                     &lt;complexType>
+     *                       &lt;complexContent>
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *                           &lt;sequence>
+     *                             &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+     *                             &lt;element name="port" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+     *                             &lt;element name="password" type="{http://www.w3.org/2001/XMLSchema}string"/>
+     *                           &lt;/sequence>
+     *                           &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+     *                         &lt;/restriction>
+     *                       &lt;/complexContent>
+     *                     &lt;/complexType>
+     *                   &lt;/element>
+     *                 &lt;/sequence>
+     *               &lt;/restriction>
+     *             &lt;/complexContent>
+     *           &lt;/complexType>
+     *         &lt;/element>
+     *       &lt;/sequence>
+     *       &lt;attribute name="name" use="required" type="{http://www.w3.org/2001/XMLSchema}string" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "", propOrder = {
+        "modules"
+    })
+    public static class Architecture {
+
+        @XmlElement(required = true)
+        protected Modules modules;
+        @XmlAttribute(required = true)
+        protected String name;
+
+        /**
+         * Gets the value of the modules property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Modules }
+         *     
+         */
+        public Modules getModules() {
+            return modules;
+        }
+
+        /**
+         * Sets the value of the modules property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Modules }
+         *     
+         */
+        public void setModules(Modules value) {
+            this.modules = value;
+        }
+
+        /**
+         * Gets the value of the name property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link String }
+         *     
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Sets the value of the name property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link String }
+         *     
+         */
+        public void setName(String value) {
+            this.name = value;
+        }
+
+
+        /**
+         * <p>Java class for anonymous complex type.
+         * 
+         * <p>The following schema fragment specifies the expected content contained within this class.
+         * 
+         * <pre>
+         * &lt;complexType>
+         *   &lt;complexContent>
+         *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *       &lt;sequence>
+         *         &lt;element name="bios" maxOccurs="2">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="sysbiosfilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                   &lt;element name="vgabiosfilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                   &lt;element name="ramaddresssysbiosstartdec" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                   &lt;element name="ramaddressvgabiosstartdec" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                   &lt;element name="bootdrives">
+         *                     &lt;complexType>
+         *                       &lt;complexContent>
+         *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                           &lt;sequence>
+         *                             &lt;element name="bootdrive0" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                             &lt;element name="bootdrive1" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                             &lt;element name="bootdrive2" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                           &lt;/sequence>
+         *                         &lt;/restriction>
+         *                       &lt;/complexContent>
+         *                     &lt;/complexType>
+         *                   &lt;/element>
+         *                   &lt;element name="floppycheckdisabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="hle" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="cpu">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="cpu32bit" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                   &lt;element name="speedmhz" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="compilerthreads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger" />
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *                 &lt;attribute name="idle">
+         *                   &lt;simpleType>
+         *                     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}string">
+         *                       &lt;enumeration value="wait"/>
+         *                       &lt;enumeration value="skip"/>
+         *                     &lt;/restriction>
+         *                   &lt;/simpleType>
+         *                 &lt;/attribute>
+         *                 &lt;attribute name="idleloops" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="memory" minOccurs="0">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="sizemb" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *                 &lt;attribute name="debugaddressdecimal" type="{http://www.w3.org/2001/XMLSchema}positiveInteger" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="fdc" minOccurs="0">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                   &lt;element name="floppy" maxOccurs="2">
+         *                     &lt;complexType>
+         *                       &lt;complexContent>
+         *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                           &lt;sequence>
+         *                             &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                             &lt;element name="inserted" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                             &lt;element name="driveletter" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                             &lt;element name="diskformat" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                             &lt;element name="writeprotected" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                             &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                           &lt;/sequence>
+         *                           &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+         *                         &lt;/restriction>
+         *                       &lt;/complexContent>
+         *                     &lt;/complexType>
+         *                   &lt;/element>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="pit" minOccurs="0">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="clockrate" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="keyboard" minOccurs="0">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="mouse" minOccurs="0">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                   &lt;element name="mousetype" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="ata" minOccurs="0">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                   &lt;element name="harddiskdrive" maxOccurs="8">
+         *                     &lt;complexType>
+         *                       &lt;complexContent>
+         *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                           &lt;sequence>
+         *                             &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                             &lt;element name="channelindex" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+         *                             &lt;element name="master" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                             &lt;element name="autodetectcylinders" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                             &lt;element name="cylinders" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+         *                             &lt;element name="heads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                             &lt;element name="sectorspertrack" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                             &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                             &lt;element name="overlayfilepath" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/>
+         *                           &lt;/sequence>
+         *                           &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+         *                         &lt;/restriction>
+         *                       &lt;/complexContent>
+         *                     &lt;/complexType>
+         *                   &lt;/element>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="video" minOccurs="0">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *         &lt;element name="vnc" minOccurs="0">
+         *           &lt;complexType>
+         *             &lt;complexContent>
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+         *                 &lt;sequence>
+         *                   &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+         *                   &lt;element name="port" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+         *                   &lt;element name="password" type="{http://www.w3.org/2001/XMLSchema}string"/>
+         *                 &lt;/sequence>
+         *                 &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+         *               &lt;/restriction>
+         *             &lt;/complexContent>
+         *           &lt;/complexType>
+         *         &lt;/element>
+         *       &lt;/sequence>
+         *     &lt;/restriction>
+         *   &lt;/complexContent>
+         * &lt;/complexType>
+         * </pre>
+         * 
+         * 
+         */
+        @XmlAccessorType(XmlAccessType.FIELD)
+        @XmlType(name = "", propOrder = {
+            "bios",
+            "cpu",
+            "memory",
+            "fdc",
+            "pit",
+            "keyboard",
+            "mouse",
+            "ata",
+            "video",
+            "vnc"
+        })
+        public static class Modules {
+
+            @XmlElement(required = true)
+            protected List<Bios> bios;
+            @XmlElement(required = true)
+            protected Cpu cpu;
+            protected Memory memory;
+            protected Fdc fdc;
+            protected Pit pit;
+            protected Keyboard keyboard;
+            protected Mouse mouse;
+            protected Ata ata;
+            protected Video video;
+            protected Vnc vnc;
+
+            /**
+             * Gets the value of the bios property.
+             * 
+             * <p>
+             * This accessor method returns a reference to the live list,
+             * not a snapshot. Therefore any modification you make to the
+             * returned list will be present inside the JAXB object.
+             * This is why there is not a <CODE>set</CODE> method for the bios property.
+             * 
+             * <p>
+             * For example, to add a new item, do as follows:
+             * <pre>
+             *    getBios().add(newItem);
+             * </pre>
+             * 
+             * 
+             * <p>
+             * Objects of the following type(s) are allowed in the list
+             * {@link Bios }
+             * 
+             * 
+             */
+            public List<Bios> getBios() {
+                if (bios == null) {
+                    bios = new ArrayList<Bios>();
+                }
+                return this.bios;
+            }
+
+            /**
+             * Gets the value of the cpu property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Cpu }
+             *     
+             */
+            public Cpu getCpu() {
+                return cpu;
+            }
+
+            /**
+             * Sets the value of the cpu property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Cpu }
+             *     
+             */
+            public void setCpu(Cpu value) {
+                this.cpu = value;
+            }
+
+            /**
+             * Gets the value of the memory property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Memory }
+             *     
+             */
+            public Memory getMemory() {
+                return memory;
+            }
+
+            /**
+             * Sets the value of the memory property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Memory }
+             *     
+             */
+            public void setMemory(Memory value) {
+                this.memory = value;
+            }
+
+            /**
+             * Gets the value of the fdc property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Fdc }
+             *     
+             */
+            public Fdc getFdc() {
+                return fdc;
+            }
+
+            /**
+             * Sets the value of the fdc property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Fdc }
+             *     
+             */
+            public void setFdc(Fdc value) {
+                this.fdc = value;
+            }
+
+            /**
+             * Gets the value of the pit property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Pit }
+             *     
+             */
+            public Pit getPit() {
+                return pit;
+            }
+
+            /**
+             * Sets the value of the pit property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Pit }
+             *     
+             */
+            public void setPit(Pit value) {
+                this.pit = value;
+            }
+
+            /**
+             * Gets the value of the keyboard property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Keyboard }
+             *     
+             */
+            public Keyboard getKeyboard() {
+                return keyboard;
+            }
+
+            /**
+             * Sets the value of the keyboard property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Keyboard }
+             *     
+             */
+            public void setKeyboard(Keyboard value) {
+                this.keyboard = value;
+            }
+
+            /**
+             * Gets the value of the mouse property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Mouse }
+             *     
+             */
+            public Mouse getMouse() {
+                return mouse;
+            }
+
+            /**
+             * Sets the value of the mouse property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Mouse }
+             *     
+             */
+            public void setMouse(Mouse value) {
+                this.mouse = value;
+            }
+
+            /**
+             * Gets the value of the ata property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Ata }
+             *     
+             */
+            public Ata getAta() {
+                return ata;
+            }
+
+            /**
+             * Sets the value of the ata property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Ata }
+             *     
+             */
+            public void setAta(Ata value) {
+                this.ata = value;
+            }
+
+            /**
+             * Gets the value of the video property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Video }
+             *     
+             */
+            public Video getVideo() {
+                return video;
+            }
+
+            /**
+             * Sets the value of the video property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Video }
+             *     
+             */
+            public void setVideo(Video value) {
+                this.video = value;
+            }
+
+            /**
+             * Gets the value of the vnc property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Vnc }
+             *     
+             */
+            public Vnc getVnc() {
+                return vnc;
+            }
+
+            /**
+             * Sets the value of the vnc property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Vnc }
+             *     
+             */
+            public void setVnc(Vnc value) {
+                this.vnc = value;
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *         &lt;element name="harddiskdrive" maxOccurs="8">
+             *           &lt;complexType>
+             *             &lt;complexContent>
+             *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *                 &lt;sequence>
+             *                   &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *                   &lt;element name="channelindex" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+             *                   &lt;element name="master" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *                   &lt;element name="autodetectcylinders" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *                   &lt;element name="cylinders" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+             *                   &lt;element name="heads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *                   &lt;element name="sectorspertrack" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *                   &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *                   &lt;element name="overlayfilepath" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/>
+             *                 &lt;/sequence>
+             *                 &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+             *               &lt;/restriction>
+             *             &lt;/complexContent>
+             *           &lt;/complexType>
+             *         &lt;/element>
+             *       &lt;/sequence>
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "updateintervalmicrosecs",
+                "harddiskdrive"
+            })
+            public static class Ata {
+
+                @XmlElement(required = true)
+                protected BigInteger updateintervalmicrosecs;
+                @XmlElement(required = true)
+                protected List<Harddiskdrive> harddiskdrive;
+                @XmlAttribute
+                protected Boolean debug;
+
+                /**
+                 * Gets the value of the updateintervalmicrosecs property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getUpdateintervalmicrosecs() {
+                    return updateintervalmicrosecs;
+                }
+
+                /**
+                 * Sets the value of the updateintervalmicrosecs property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setUpdateintervalmicrosecs(BigInteger value) {
+                    this.updateintervalmicrosecs = value;
+                }
+
+                /**
+                 * Gets the value of the harddiskdrive property.
+                 * 
+                 * <p>
+                 * This accessor method returns a reference to the live list,
+                 * not a snapshot. Therefore any modification you make to the
+                 * returned list will be present inside the JAXB object.
+                 * This is why there is not a <CODE>set</CODE> method for the harddiskdrive property.
+                 * 
+                 * <p>
+                 * For example, to add a new item, do as follows:
+                 * <pre>
+                 *    getHarddiskdrive().add(newItem);
+                 * </pre>
+                 * 
+                 * 
+                 * <p>
+                 * Objects of the following type(s) are allowed in the list
+                 * {@link Harddiskdrive }
+                 * 
+                 * 
+                 */
+                public List<Harddiskdrive> getHarddiskdrive() {
+                    if (harddiskdrive == null) {
+                        harddiskdrive = new ArrayList<Harddiskdrive>();
+                    }
+                    return this.harddiskdrive;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+
+                /**
+                 * <p>Java class for anonymous complex type.
+                 * 
+                 * <p>The following schema fragment specifies the expected content contained within this class.
+                 * 
+                 * <pre>
+                 * &lt;complexType>
+                 *   &lt;complexContent>
+                 *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+                 *       &lt;sequence>
+                 *         &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+                 *         &lt;element name="channelindex" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+                 *         &lt;element name="master" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+                 *         &lt;element name="autodetectcylinders" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+                 *         &lt;element name="cylinders" type="{http://www.w3.org/2001/XMLSchema}integer"/>
+                 *         &lt;element name="heads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+                 *         &lt;element name="sectorspertrack" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+                 *         &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+                 *         &lt;element name="overlayfilepath" type="{http://www.w3.org/2001/XMLSchema}string" minOccurs="0"/>
+                 *       &lt;/sequence>
+                 *       &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+                 *     &lt;/restriction>
+                 *   &lt;/complexContent>
+                 * &lt;/complexType>
+                 * </pre>
+                 * 
+                 * 
+                 */
+                @XmlAccessorType(XmlAccessType.FIELD)
+                @XmlType(name = "", propOrder = {
+                    "enabled",
+                    "channelindex",
+                    "master",
+                    "autodetectcylinders",
+                    "cylinders",
+                    "heads",
+                    "sectorspertrack",
+                    "imagefilepath",
+                    "overlayfilepath"
+                })
+                public static class Harddiskdrive {
+
+                    protected boolean enabled;
+                    @XmlElement(required = true)
+                    protected BigInteger channelindex;
+                    protected boolean master;
+                    protected boolean autodetectcylinders;
+                    @XmlElement(required = true)
+                    protected BigInteger cylinders;
+                    @XmlElement(required = true)
+                    protected BigInteger heads;
+                    @XmlElement(required = true)
+                    protected BigInteger sectorspertrack;
+                    @XmlElement(required = true)
+                    protected String imagefilepath;
+                    protected String overlayfilepath;
+                    @XmlAttribute
+                    protected Boolean mapped;
+
+                    /**
+                     * Gets the value of the enabled property.
+                     * 
+                     */
+                    public boolean isEnabled() {
+                        return enabled;
+                    }
+
+                    /**
+                     * Sets the value of the enabled property.
+                     * 
+                     */
+                    public void setEnabled(boolean value) {
+                        this.enabled = value;
+                    }
+
+                    /**
+                     * Gets the value of the channelindex property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link BigInteger }
+                     *     
+                     */
+                    public BigInteger getChannelindex() {
+                        return channelindex;
+                    }
+
+                    /**
+                     * Sets the value of the channelindex property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link BigInteger }
+                     *     
+                     */
+                    public void setChannelindex(BigInteger value) {
+                        this.channelindex = value;
+                    }
+
+                    /**
+                     * Gets the value of the master property.
+                     * 
+                     */
+                    public boolean isMaster() {
+                        return master;
+                    }
+
+                    /**
+                     * Sets the value of the master property.
+                     * 
+                     */
+                    public void setMaster(boolean value) {
+                        this.master = value;
+                    }
+
+                    /**
+                     * Gets the value of the autodetectcylinders property.
+                     * 
+                     */
+                    public boolean isAutodetectcylinders() {
+                        return autodetectcylinders;
+                    }
+
+                    /**
+                     * Sets the value of the autodetectcylinders property.
+                     * 
+                     */
+                    public void setAutodetectcylinders(boolean value) {
+                        this.autodetectcylinders = value;
+                    }
+
+                    /**
+                     * Gets the value of the cylinders property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link BigInteger }
+                     *     
+                     */
+                    public BigInteger getCylinders() {
+                        return cylinders;
+                    }
+
+                    /**
+                     * Sets the value of the cylinders property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link BigInteger }
+                     *     
+                     */
+                    public void setCylinders(BigInteger value) {
+                        this.cylinders = value;
+                    }
+
+                    /**
+                     * Gets the value of the heads property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link BigInteger }
+                     *     
+                     */
+                    public BigInteger getHeads() {
+                        return heads;
+                    }
+
+                    /**
+                     * Sets the value of the heads property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link BigInteger }
+                     *     
+                     */
+                    public void setHeads(BigInteger value) {
+                        this.heads = value;
+                    }
+
+                    /**
+                     * Gets the value of the sectorspertrack property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link BigInteger }
+                     *     
+                     */
+                    public BigInteger getSectorspertrack() {
+                        return sectorspertrack;
+                    }
+
+                    /**
+                     * Sets the value of the sectorspertrack property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link BigInteger }
+                     *     
+                     */
+                    public void setSectorspertrack(BigInteger value) {
+                        this.sectorspertrack = value;
+                    }
+
+                    /**
+                     * Gets the value of the imagefilepath property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link String }
+                     *     
+                     */
+                    public String getImagefilepath() {
+                        return imagefilepath;
+                    }
+
+                    /**
+                     * Sets the value of the imagefilepath property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link String }
+                     *     
+                     */
+                    public void setImagefilepath(String value) {
+                        this.imagefilepath = value;
+                    }
+
+                    /**
+                     * Gets the value of the overlayfilepath property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link String }
+                     *     
+                     */
+                    public String getOverlayfilepath() {
+                        return overlayfilepath;
+                    }
+
+                    /**
+                     * Sets the value of the overlayfilepath property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link String }
+                     *     
+                     */
+                    public void setOverlayfilepath(String value) {
+                        this.overlayfilepath = value;
+                    }
+
+                    /**
+                     * Gets the value of the mapped property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link Boolean }
+                     *     
+                     */
+                    public boolean isMapped() {
+                        if (mapped == null) {
+                            return false;
+                        } else {
+                            return mapped;
+                        }
+                    }
+
+                    /**
+                     * Sets the value of the mapped property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link Boolean }
+                     *     
+                     */
+                    public void setMapped(Boolean value) {
+                        this.mapped = value;
+                    }
+
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="sysbiosfilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *         &lt;element name="vgabiosfilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *         &lt;element name="ramaddresssysbiosstartdec" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *         &lt;element name="ramaddressvgabiosstartdec" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *         &lt;element name="bootdrives">
+             *           &lt;complexType>
+             *             &lt;complexContent>
+             *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *                 &lt;sequence>
+             *                   &lt;element name="bootdrive0" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *                   &lt;element name="bootdrive1" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *                   &lt;element name="bootdrive2" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *                 &lt;/sequence>
+             *               &lt;/restriction>
+             *             &lt;/complexContent>
+             *           &lt;/complexType>
+             *         &lt;/element>
+             *         &lt;element name="floppycheckdisabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *       &lt;/sequence>
+             *       &lt;attribute name="hle" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "sysbiosfilepath",
+                "vgabiosfilepath",
+                "ramaddresssysbiosstartdec",
+                "ramaddressvgabiosstartdec",
+                "bootdrives",
+                "floppycheckdisabled"
+            })
+            public static class Bios {
+
+                @XmlElement(required = true)
+                protected String sysbiosfilepath;
+                @XmlElement(required = true)
+                protected String vgabiosfilepath;
+                @XmlElement(required = true)
+                protected BigInteger ramaddresssysbiosstartdec;
+                @XmlElement(required = true)
+                protected BigInteger ramaddressvgabiosstartdec;
+                @XmlElement(required = true)
+                protected Bootdrives bootdrives;
+                protected boolean floppycheckdisabled;
+                @XmlAttribute
+                protected Boolean hle;
+
+                /**
+                 * Gets the value of the sysbiosfilepath property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link String }
+                 *     
+                 */
+                public String getSysbiosfilepath() {
+                    return sysbiosfilepath;
+                }
+
+                /**
+                 * Sets the value of the sysbiosfilepath property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link String }
+                 *     
+                 */
+                public void setSysbiosfilepath(String value) {
+                    this.sysbiosfilepath = value;
+                }
+
+                /**
+                 * Gets the value of the vgabiosfilepath property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link String }
+                 *     
+                 */
+                public String getVgabiosfilepath() {
+                    return vgabiosfilepath;
+                }
+
+                /**
+                 * Sets the value of the vgabiosfilepath property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link String }
+                 *     
+                 */
+                public void setVgabiosfilepath(String value) {
+                    this.vgabiosfilepath = value;
+                }
+
+                /**
+                 * Gets the value of the ramaddresssysbiosstartdec property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getRamaddresssysbiosstartdec() {
+                    return ramaddresssysbiosstartdec;
+                }
+
+                /**
+                 * Sets the value of the ramaddresssysbiosstartdec property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setRamaddresssysbiosstartdec(BigInteger value) {
+                    this.ramaddresssysbiosstartdec = value;
+                }
+
+                /**
+                 * Gets the value of the ramaddressvgabiosstartdec property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getRamaddressvgabiosstartdec() {
+                    return ramaddressvgabiosstartdec;
+                }
+
+                /**
+                 * Sets the value of the ramaddressvgabiosstartdec property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setRamaddressvgabiosstartdec(BigInteger value) {
+                    this.ramaddressvgabiosstartdec = value;
+                }
+
+                /**
+                 * Gets the value of the bootdrives property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Bootdrives }
+                 *     
+                 */
+                public Bootdrives getBootdrives() {
+                    return bootdrives;
+                }
+
+                /**
+                 * Sets the value of the bootdrives property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Bootdrives }
+                 *     
+                 */
+                public void setBootdrives(Bootdrives value) {
+                    this.bootdrives = value;
+                }
+
+                /**
+                 * Gets the value of the floppycheckdisabled property.
+                 * 
+                 */
+                public boolean isFloppycheckdisabled() {
+                    return floppycheckdisabled;
+                }
+
+                /**
+                 * Sets the value of the floppycheckdisabled property.
+                 * 
+                 */
+                public void setFloppycheckdisabled(boolean value) {
+                    this.floppycheckdisabled = value;
+                }
+
+                /**
+                 * Gets the value of the hle property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isHle() {
+                    return hle;
+                }
+
+                /**
+                 * Sets the value of the hle property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setHle(Boolean value) {
+                    this.hle = value;
+                }
+
+
+                /**
+                 * <p>Java class for anonymous complex type.
+                 * 
+                 * <p>The following schema fragment specifies the expected content contained within this class.
+                 * 
+                 * <pre>
+                 * &lt;complexType>
+                 *   &lt;complexContent>
+                 *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+                 *       &lt;sequence>
+                 *         &lt;element name="bootdrive0" type="{http://www.w3.org/2001/XMLSchema}string"/>
+                 *         &lt;element name="bootdrive1" type="{http://www.w3.org/2001/XMLSchema}string"/>
+                 *         &lt;element name="bootdrive2" type="{http://www.w3.org/2001/XMLSchema}string"/>
+                 *       &lt;/sequence>
+                 *     &lt;/restriction>
+                 *   &lt;/complexContent>
+                 * &lt;/complexType>
+                 * </pre>
+                 * 
+                 * 
+                 */
+                @XmlAccessorType(XmlAccessType.FIELD)
+                @XmlType(name = "", propOrder = {
+                    "bootdrive0",
+                    "bootdrive1",
+                    "bootdrive2"
+                })
+                public static class Bootdrives {
+
+                    @XmlElement(required = true)
+                    protected String bootdrive0;
+                    @XmlElement(required = true)
+                    protected String bootdrive1;
+                    @XmlElement(required = true)
+                    protected String bootdrive2;
+
+                    /**
+                     * Gets the value of the bootdrive0 property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link String }
+                     *     
+                     */
+                    public String getBootdrive0() {
+                        return bootdrive0;
+                    }
+
+                    /**
+                     * Sets the value of the bootdrive0 property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link String }
+                     *     
+                     */
+                    public void setBootdrive0(String value) {
+                        this.bootdrive0 = value;
+                    }
+
+                    /**
+                     * Gets the value of the bootdrive1 property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link String }
+                     *     
+                     */
+                    public String getBootdrive1() {
+                        return bootdrive1;
+                    }
+
+                    /**
+                     * Sets the value of the bootdrive1 property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link String }
+                     *     
+                     */
+                    public void setBootdrive1(String value) {
+                        this.bootdrive1 = value;
+                    }
+
+                    /**
+                     * Gets the value of the bootdrive2 property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link String }
+                     *     
+                     */
+                    public String getBootdrive2() {
+                        return bootdrive2;
+                    }
+
+                    /**
+                     * Sets the value of the bootdrive2 property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link String }
+                     *     
+                     */
+                    public void setBootdrive2(String value) {
+                        this.bootdrive2 = value;
+                    }
+
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="cpu32bit" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *         &lt;element name="speedmhz" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+             *       &lt;/sequence>
+             *       &lt;attribute name="compilerthreads" type="{http://www.w3.org/2001/XMLSchema}positiveInteger" />
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *       &lt;attribute name="idle">
+             *         &lt;simpleType>
+             *           &lt;restriction base="{http://www.w3.org/2001/XMLSchema}string">
+             *             &lt;enumeration value="wait"/>
+             *             &lt;enumeration value="skip"/>
+             *           &lt;/restriction>
+             *         &lt;/simpleType>
+             *       &lt;/attribute>
+             *       &lt;attribute name="idleloops" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "cpu32Bit",
+                "speedmhz"
+            })
+            public static class Cpu {
+
+                @XmlElement(name = "cpu32bit")
+                protected boolean cpu32Bit;
+                @XmlElement(required = true)
+                protected BigDecimal speedmhz;
+                @XmlAttribute
+                protected BigInteger compilerthreads;
+                @XmlAttribute
+                protected Boolean debug;
+                @XmlAttribute
+                protected String idle;
+                @XmlAttribute
+                protected Boolean idleloops;
+
+                /**
+                 * Gets the value of the cpu32Bit property.
+                 * 
+                 */
+                public boolean isCpu32Bit() {
+                    return cpu32Bit;
+                }
+
+                /**
+                 * Sets the value of the cpu32Bit property.
+                 * 
+                 */
+                public void setCpu32Bit(boolean value) {
+                    this.cpu32Bit = value;
+                }
+
+                /**
+                 * Gets the value of the speedmhz property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigDecimal }
+                 *     
+                 */
+                public BigDecimal getSpeedmhz() {
+                    return speedmhz;
+                }
+
+                /**
+                 * Sets the value of the speedmhz property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigDecimal }
+                 *     
+                 */
+                public void setSpeedmhz(BigDecimal value) {
+                    this.speedmhz = value;
+                }
+
+                /**
+                 * Gets the value of the compilerthreads property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getCompilerthreads() {
+                    return compilerthreads;
+                }
+
+                /**
+                 * Sets the value of the compilerthreads property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setCompilerthreads(BigInteger value) {
+                    this.compilerthreads = value;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+                /**
+                 * Gets the value of the idle property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link String }
+                 *     
+                 */
+                public String getIdle() {
+                    return idle;
+                }
+
+                /**
+                 * Sets the value of the idle property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link String }
+                 *     
+                 */
+                public void setIdle(String value) {
+                    this.idle = value;
+                }
+
+                /**
+                 * Gets the value of the idleloops property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isIdleloops() {
+                    return idleloops;
+                }
+
+                /**
+                 * Sets the value of the idleloops property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setIdleloops(Boolean value) {
+                    this.idleloops = value;
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *         &lt;element name="floppy" maxOccurs="2">
+             *           &lt;complexType>
+             *             &lt;complexContent>
+             *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *                 &lt;sequence>
+             *                   &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *                   &lt;element name="inserted" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *                   &lt;element name="driveletter" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *                   &lt;element name="diskformat" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *                   &lt;element name="writeprotected" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *                   &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *                 &lt;/sequence>
+             *                 &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+             *               &lt;/restriction>
+             *             &lt;/complexContent>
+             *           &lt;/complexType>
+             *         &lt;/element>
+             *       &lt;/sequence>
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "updateintervalmicrosecs",
+                "floppy"
+            })
+            public static class Fdc {
+
+                @XmlElement(required = true)
+                protected BigInteger updateintervalmicrosecs;
+                @XmlElement(required = true)
+                protected List<Floppy> floppy;
+                @XmlAttribute
+                protected Boolean debug;
+
+                /**
+                 * Gets the value of the updateintervalmicrosecs property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getUpdateintervalmicrosecs() {
+                    return updateintervalmicrosecs;
+                }
+
+                /**
+                 * Sets the value of the updateintervalmicrosecs property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setUpdateintervalmicrosecs(BigInteger value) {
+                    this.updateintervalmicrosecs = value;
+                }
+
+                /**
+                 * Gets the value of the floppy property.
+                 * 
+                 * <p>
+                 * This accessor method returns a reference to the live list,
+                 * not a snapshot. Therefore any modification you make to the
+                 * returned list will be present inside the JAXB object.
+                 * This is why there is not a <CODE>set</CODE> method for the floppy property.
+                 * 
+                 * <p>
+                 * For example, to add a new item, do as follows:
+                 * <pre>
+                 *    getFloppy().add(newItem);
+                 * </pre>
+                 * 
+                 * 
+                 * <p>
+                 * Objects of the following type(s) are allowed in the list
+                 * {@link Floppy }
+                 * 
+                 * 
+                 */
+                public List<Floppy> getFloppy() {
+                    if (floppy == null) {
+                        floppy = new ArrayList<Floppy>();
+                    }
+                    return this.floppy;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+
+                /**
+                 * <p>Java class for anonymous complex type.
+                 * 
+                 * <p>The following schema fragment specifies the expected content contained within this class.
+                 * 
+                 * <pre>
+                 * &lt;complexType>
+                 *   &lt;complexContent>
+                 *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+                 *       &lt;sequence>
+                 *         &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+                 *         &lt;element name="inserted" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+                 *         &lt;element name="driveletter" type="{http://www.w3.org/2001/XMLSchema}string"/>
+                 *         &lt;element name="diskformat" type="{http://www.w3.org/2001/XMLSchema}string"/>
+                 *         &lt;element name="writeprotected" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+                 *         &lt;element name="imagefilepath" type="{http://www.w3.org/2001/XMLSchema}string"/>
+                 *       &lt;/sequence>
+                 *       &lt;attribute name="mapped" type="{http://www.w3.org/2001/XMLSchema}boolean" default="false" />
+                 *     &lt;/restriction>
+                 *   &lt;/complexContent>
+                 * &lt;/complexType>
+                 * </pre>
+                 * 
+                 * 
+                 */
+                @XmlAccessorType(XmlAccessType.FIELD)
+                @XmlType(name = "", propOrder = {
+                    "enabled",
+                    "inserted",
+                    "driveletter",
+                    "diskformat",
+                    "writeprotected",
+                    "imagefilepath"
+                })
+                public static class Floppy {
+
+                    protected boolean enabled;
+                    protected boolean inserted;
+                    @XmlElement(required = true)
+                    protected String driveletter;
+                    @XmlElement(required = true)
+                    protected String diskformat;
+                    protected boolean writeprotected;
+                    @XmlElement(required = true)
+                    protected String imagefilepath;
+                    @XmlAttribute
+                    protected Boolean mapped;
+
+                    /**
+                     * Gets the value of the enabled property.
+                     * 
+                     */
+                    public boolean isEnabled() {
+                        return enabled;
+                    }
+
+                    /**
+                     * Sets the value of the enabled property.
+                     * 
+                     */
+                    public void setEnabled(boolean value) {
+                        this.enabled = value;
+                    }
+
+                    /**
+                     * Gets the value of the inserted property.
+                     * 
+                     */
+                    public boolean isInserted() {
+                        return inserted;
+                    }
+
+                    /**
+                     * Sets the value of the inserted property.
+                     * 
+                     */
+                    public void setInserted(boolean value) {
+                        this.inserted = value;
+                    }
+
+                    /**
+                     * Gets the value of the driveletter property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link String }
+                     *     
+                     */
+                    public String getDriveletter() {
+                        return driveletter;
+                    }
+
+                    /**
+                     * Sets the value of the driveletter property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link String }
+                     *     
+                     */
+                    public void setDriveletter(String value) {
+                        this.driveletter = value;
+                    }
+
+                    /**
+                     * Gets the value of the diskformat property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link String }
+                     *     
+                     */
+                    public String getDiskformat() {
+                        return diskformat;
+                    }
+
+                    /**
+                     * Sets the value of the diskformat property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link String }
+                     *     
+                     */
+                    public void setDiskformat(String value) {
+                        this.diskformat = value;
+                    }
+
+                    /**
+                     * Gets the value of the writeprotected property.
+                     * 
+                     */
+                    public boolean isWriteprotected() {
+                        return writeprotected;
+                    }
+
+                    /**
+                     * Sets the value of the writeprotected property.
+                     * 
+                     */
+                    public void setWriteprotected(boolean value) {
+                        this.writeprotected = value;
+                    }
+
+                    /**
+                     * Gets the value of the imagefilepath property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link String }
+                     *     
+                     */
+                    public String getImagefilepath() {
+                        return imagefilepath;
+                    }
+
+                    /**
+                     * Sets the value of the imagefilepath property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link String }
+                     *     
+                     */
+                    public void setImagefilepath(String value) {
+                        this.imagefilepath = value;
+                    }
+
+                    /**
+                     * Gets the value of the mapped property.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link Boolean }
+                     *     
+                     */
+                    public boolean isMapped() {
+                        if (mapped == null) {
+                            return false;
+                        } else {
+                            return mapped;
+                        }
+                    }
+
+                    /**
+                     * Sets the value of the mapped property.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link Boolean }
+                     *     
+                     */
+                    public void setMapped(Boolean value) {
+                        this.mapped = value;
+                    }
+
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *       &lt;/sequence>
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "updateintervalmicrosecs"
+            })
+            public static class Keyboard {
+
+                @XmlElement(required = true)
+                protected BigInteger updateintervalmicrosecs;
+                @XmlAttribute
+                protected Boolean debug;
+
+                /**
+                 * Gets the value of the updateintervalmicrosecs property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getUpdateintervalmicrosecs() {
+                    return updateintervalmicrosecs;
+                }
+
+                /**
+                 * Sets the value of the updateintervalmicrosecs property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setUpdateintervalmicrosecs(BigInteger value) {
+                    this.updateintervalmicrosecs = value;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="sizemb" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+             *       &lt;/sequence>
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *       &lt;attribute name="debugaddressdecimal" type="{http://www.w3.org/2001/XMLSchema}positiveInteger" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "sizemb"
+            })
+            public static class Memory {
+
+                @XmlElement(required = true)
+                protected BigDecimal sizemb;
+                @XmlAttribute
+                protected Boolean debug;
+                @XmlAttribute
+                protected BigInteger debugaddressdecimal;
+
+                /**
+                 * Gets the value of the sizemb property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigDecimal }
+                 *     
+                 */
+                public BigDecimal getSizemb() {
+                    return sizemb;
+                }
+
+                /**
+                 * Sets the value of the sizemb property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigDecimal }
+                 *     
+                 */
+                public void setSizemb(BigDecimal value) {
+                    this.sizemb = value;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+                /**
+                 * Gets the value of the debugaddressdecimal property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getDebugaddressdecimal() {
+                    return debugaddressdecimal;
+                }
+
+                /**
+                 * Sets the value of the debugaddressdecimal property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setDebugaddressdecimal(BigInteger value) {
+                    this.debugaddressdecimal = value;
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *         &lt;element name="mousetype" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *       &lt;/sequence>
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "enabled",
+                "mousetype"
+            })
+            public static class Mouse {
+
+                protected boolean enabled;
+                @XmlElement(required = true)
+                protected String mousetype;
+                @XmlAttribute
+                protected Boolean debug;
+
+                /**
+                 * Gets the value of the enabled property.
+                 * 
+                 */
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                /**
+                 * Sets the value of the enabled property.
+                 * 
+                 */
+                public void setEnabled(boolean value) {
+                    this.enabled = value;
+                }
+
+                /**
+                 * Gets the value of the mousetype property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link String }
+                 *     
+                 */
+                public String getMousetype() {
+                    return mousetype;
+                }
+
+                /**
+                 * Sets the value of the mousetype property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link String }
+                 *     
+                 */
+                public void setMousetype(String value) {
+                    this.mousetype = value;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="clockrate" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *       &lt;/sequence>
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "clockrate"
+            })
+            public static class Pit {
+
+                @XmlElement(required = true)
+                protected BigInteger clockrate;
+                @XmlAttribute
+                protected Boolean debug;
+
+                /**
+                 * Gets the value of the clockrate property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getClockrate() {
+                    return clockrate;
+                }
+
+                /**
+                 * Sets the value of the clockrate property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setClockrate(BigInteger value) {
+                    this.clockrate = value;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="updateintervalmicrosecs" type="{http://www.w3.org/2001/XMLSchema}positiveInteger"/>
+             *       &lt;/sequence>
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "updateintervalmicrosecs"
+            })
+            public static class Video {
+
+                @XmlElement(required = true)
+                protected BigInteger updateintervalmicrosecs;
+                @XmlAttribute
+                protected Boolean debug;
+
+                /**
+                 * Gets the value of the updateintervalmicrosecs property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public BigInteger getUpdateintervalmicrosecs() {
+                    return updateintervalmicrosecs;
+                }
+
+                /**
+                 * Sets the value of the updateintervalmicrosecs property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigInteger }
+                 *     
+                 */
+                public void setUpdateintervalmicrosecs(BigInteger value) {
+                    this.updateintervalmicrosecs = value;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+            }
+
+
+            /**
+             * <p>Java class for anonymous complex type.
+             * 
+             * <p>The following schema fragment specifies the expected content contained within this class.
+             * 
+             * <pre>
+             * &lt;complexType>
+             *   &lt;complexContent>
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+             *       &lt;sequence>
+             *         &lt;element name="enabled" type="{http://www.w3.org/2001/XMLSchema}boolean"/>
+             *         &lt;element name="port" type="{http://www.w3.org/2001/XMLSchema}decimal"/>
+             *         &lt;element name="password" type="{http://www.w3.org/2001/XMLSchema}string"/>
+             *       &lt;/sequence>
+             *       &lt;attribute name="debug" type="{http://www.w3.org/2001/XMLSchema}boolean" />
+             *     &lt;/restriction>
+             *   &lt;/complexContent>
+             * &lt;/complexType>
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "enabled",
+                "port",
+                "password"
+            })
+            public static class Vnc {
+
+                protected boolean enabled;
+                @XmlElement(required = true)
+                protected BigDecimal port;
+                @XmlElement(required = true)
+                protected String password;
+                @XmlAttribute
+                protected Boolean debug;
+
+                /**
+                 * Gets the value of the enabled property.
+                 * 
+                 */
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                /**
+                 * Sets the value of the enabled property.
+                 * 
+                 */
+                public void setEnabled(boolean value) {
+                    this.enabled = value;
+                }
+
+                /**
+                 * Gets the value of the port property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link BigDecimal }
+                 *     
+                 */
+                public BigDecimal getPort() {
+                    return port;
+                }
+
+                /**
+                 * Sets the value of the port property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link BigDecimal }
+                 *     
+                 */
+                public void setPort(BigDecimal value) {
+                    this.port = value;
+                }
+
+                /**
+                 * Gets the value of the password property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link String }
+                 *     
+                 */
+                public String getPassword() {
+                    return password;
+                }
+
+                /**
+                 * Sets the value of the password property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link String }
+                 *     
+                 */
+                public void setPassword(String value) {
+                    this.password = value;
+                }
+
+                /**
+                 * Gets the value of the debug property.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isDebug() {
+                    return debug;
+                }
+
+                /**
+                 * Sets the value of the debug property.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setDebug(Boolean value) {
+                    this.debug = value;
+                }
+
+            }
+
+        }
+
+    }
+
+}
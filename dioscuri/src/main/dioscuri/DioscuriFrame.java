@@ -42,21 +42,21 @@ package dioscuri;
 import dioscuri.config.ConfigController;
 import dioscuri.config.ConfigDialog;
 import dioscuri.datatransfer.TextTransfer;
+import dioscuri.module.cpu32.CodeCache;
+import dioscuri.util.Utilities;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.event.MouseInputListener;
+import javax.xml.bind.JAXBException;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.util.logging.Level;
-import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import gnu.rfb.server.*;
 import gnu.vnc.WebServer;
@@ -97,6 +97,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
     JMenuItem miEmulatorStart;
     JMenuItem miEmulatorStop;
     JMenuItem miEmulatorReset;
+    JMenuItem miEmulatorSnapshot;
     JMenuItem miEmulatorQuit;
     // Menu edit
     JMenuItem miEditCopyText;
@@ -135,6 +136,12 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
     // command line parsing options
     CommandLineInterface cli;
 
+    // Cache of compiled code blocks, shared by all emulators started here
+    private CodeCache codeCache;
+
+    // Reads and writes the config file, created on first use
+    private ConfigController configController;
+
     // VNC
     private RFBHost rfbHost;
     VNCTopFrame vncTopFrame;
@@ -223,6 +230,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
         }
 
         configFilePath = cli.configFilePath;
+        codeCache = cli.openCodeCache();
 
         // Show / hide GUI (based on command line parameter)
         this.setVisible(cli.visible);
@@ -231,6 +239,10 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
 
         if (cli.autorun) {
             emu = new Emulator(this);
+            emu.setCodeCache(codeCache);
+            emu.setRestoreFile(cli.restoreFile);
+            emu.setMetricsFile(cli.metricsFile, cli.metricsInterval);
+            cli.restoreFile = null;
             new Thread(emu).start();
             this.updateGUI(EMU_PROCESS_START);
         }
@@ -250,10 +262,12 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
         miEmulatorStart = new JMenuItem("Start process (power on)");
         miEmulatorStop = new JMenuItem("Stop process (shutdown)");
         miEmulatorReset = new JMenuItem("Reset process (warm reset)");
+        miEmulatorSnapshot = new JMenuItem("Save snapshot...");
         miEmulatorQuit = new JMenuItem("Quit");
         menuEmulator.add(miEmulatorStart);
         menuEmulator.add(miEmulatorStop);
         menuEmulator.add(miEmulatorReset);
+        menuEmulator.add(miEmulatorSnapshot);
         menuEmulator.add(miEmulatorQuit);
 
         // Create menu: edit
@@ -299,6 +313,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
         miEmulatorStart.addActionListener(this);
         miEmulatorStop.addActionListener(this);
         miEmulatorReset.addActionListener(this);
+        miEmulatorSnapshot.addActionListener(this);
         miEmulatorQuit.addActionListener(this);
         miEditCopyText.addActionListener(this);
         miMediaEjectA.addActionListener(this);
@@ -539,6 +554,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
                 miEmulatorStart.setEnabled(false);
                 miEmulatorStop.setEnabled(true);
                 miEmulatorReset.setEnabled(true);
+                miEmulatorSnapshot.setEnabled(true);
                 miEditScreenShot.setEnabled(true);
                 miEditConfig.setEnabled(false);
                 miEditCopyText.setEnabled(true);
@@ -550,6 +566,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
                 miEmulatorStart.setEnabled(true);
                 miEmulatorStop.setEnabled(false);
                 miEmulatorReset.setEnabled(false);
+                miEmulatorSnapshot.setEnabled(false);
                 miMediaEjectA.setEnabled(false);
                 miMediaInsertA.setEnabled(false);
                 miEditCopyText.setEnabled(false);
@@ -570,6 +587,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
                 miEmulatorStart.setEnabled(false);
                 miEmulatorStop.setEnabled(true);
                 miEmulatorReset.setEnabled(true);
+                miEmulatorSnapshot.setEnabled(true);
 
                 miEditConfig.setEnabled(false);
 
@@ -675,6 +693,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
                 // Enable/disable menu items
                 miEmulatorStop.setEnabled(false);
                 miEmulatorReset.setEnabled(false);
+                miEmulatorSnapshot.setEnabled(false);
                 miEditCopyText.setEnabled(false);
                 miEditScreenShot.setEnabled(false);
                 miMediaInsertA.setEnabled(false);
@@ -710,6 +729,10 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
             else {
                 // Start emulation process
                 emu = new Emulator(this);
+                emu.setCodeCache(codeCache);
+                emu.setRestoreFile(cli.restoreFile);
+                emu.setMetricsFile(cli.metricsFile, cli.metricsInterval);
+                cli.restoreFile = null;
                 new Thread(emu).start();
                 this.updateGUI(EMU_PROCESS_START);
             }
@@ -724,6 +747,13 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
             // Reset emulation process
             emu.reset();
             this.updateGUI(EMU_PROCESS_RESET);
+        } else if (c == (JComponent) miEmulatorSnapshot) {
+            // Save snapshot of emulation process
+            JFileChooser fcSnapshot = new JFileChooser();
+            int retval = fcSnapshot.showSaveDialog(this);
+            if (retval == JFileChooser.APPROVE_OPTION) {
+                emu.saveSnapshot(fcSnapshot.getSelectedFile());
+            }
         } else if (c == (JComponent) miEmulatorQuit) {
             // Quit application
             this.exitDioscuri();
@@ -772,7 +802,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
             if (emuConfig == null) {
                 File config = new File(this.configFilePath);
                 try {
-                    emuConfig = ConfigController.loadFromXML(config);
+                    emuConfig = this.getConfigController().loadFromXML(config);
                 } catch (Exception ex) {
                     logger.log(Level.SEVERE, "[GUI] Config file not readable: " + ex.toString());
                     return;
@@ -931,13 +961,24 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
         return this.configFilePath;
     }
 
+    /**
+     * @return the controller reading and writing the config file
+     * @throws JAXBException if the controller can not be created
+     */
+    private ConfigController getConfigController() throws JAXBException {
+        if (configController == null) {
+            configController = new ConfigController();
+        }
+        return configController;
+    }
+
     /**
      * @param emuObject
      * @return -
      */
     public boolean saveXML(dioscuri.config.Emulator emuObject) {
         try {
-            ConfigController.saveToXML(emuObject, new File(this.configFilePath));
+            this.getConfigController().saveToXML(emuObject, new File(this.configFilePath));
         } catch (Exception e) {
             logger.log(Level.SEVERE, " [gui] Failed to save config file");
             return false;
@@ -976,6 +1017,9 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
         if (emu != null) {
             emu.setActive(false);
         }
+        if (codeCache != null) {
+            codeCache.close();
+        }
         System.exit(0);
     }
 
@@ -1063,6 +1107,8 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
             
             // Start emulation process
             emu = new Emulator(this);
+            emu.setCodeCache(codeCache);
+            emu.setMetricsFile(cli.metricsFile, cli.metricsInterval);
             new Thread(emu).start();
             this.updateGUI(EMU_PROCESS_START);
             
@@ -1091,7 +1137,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
         if (emuConfig == null) {
             File config = new File(this.configFilePath);
             try {
-                emuConfig = ConfigController.loadFromXML(config);
+                emuConfig = this.getConfigController().loadFromXML(config);
             } catch (Exception ex) {
                 logger.log(Level.SEVERE, "[GUI] Config file not readable: " + ex.toString());
             }
@@ -1192,19 +1238,7 @@ public class DioscuriFrame extends JFrame implements GUI, ActionListener, KeyLis
      */
     public static void main(final String[] args) {
         // Load logging.properties
-        try {
-            // Check for a local system logging.properties file
-            File localLogFile = new File(Constants.EMULATOR_LOGGING_PROPERTIES);
-            if (localLogFile.exists() && localLogFile.canRead()) {
-                LogManager.getLogManager().readConfiguration(
-                        new BufferedInputStream(new FileInputStream(localLogFile)));
-                logger.log(Level.INFO, "Logging.properties loaded from local file " + localLogFile);
-            } else {
-                logger.log(Level.WARNING, "No logging.properties file found locally: " + localLogFile.getAbsolutePath());
-            }
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Error initialising the logging system: " + e.toString());
-        }
+        Utilities.loadLoggingProperties();
 
         // Create GUI
         SwingUtilities.invokeLater(new Runnable() {
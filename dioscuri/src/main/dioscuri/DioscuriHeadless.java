@@ -0,0 +1,105 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri;
+
+import dioscuri.module.cpu32.CodeCache;
+import dioscuri.util.Utilities;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Entry point for running the emulator without a display, for example in
+ * batch jobs:
+ * <pre>
+ *   java -cp Dioscuri.jar dioscuri.DioscuriHeadless [OPTIONS]
+ * </pre>
+ * The emulation process is started directly on the main thread and uses a
+ * screen module that discards all output, so no Swing components are created
+ * and the AWT toolkit is never initialised. When the emulation process ends,
+ * the text on screen is written to standard output.
+ * <p/>
+ * The same command line options as for the graphical user interface are
+ * accepted; options about the user interface itself are ignored.
+ */
+public final class DioscuriHeadless {
+
+    // Logging
+    private static final Logger logger = Logger.getLogger(DioscuriHeadless.class.getName());
+
+    private DioscuriHeadless() {
+    }
+
+    /**
+     * Main entry point.
+     *
+     * @param args containing command line arguments
+     */
+    public static void main(String[] args) {
+        // Load logging.properties
+        Utilities.loadLoggingProperties();
+
+        CommandLineInterface cli;
+        try {
+            cli = new CommandLineInterface(args);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Wrong command line option(s): " + e.toString());
+            System.exit(1);
+            return;
+        }
+
+        if (!cli.exit) {
+            CodeCache codeCache = cli.openCodeCache();
+            Emulator emu = new Emulator(new HeadlessGUI(cli.configFilePath, cli.emuConfig));
+            emu.setHeadless(true);
+            emu.setCodeCache(codeCache);
+            emu.setRestoreFile(cli.restoreFile);
+            emu.setMetricsFile(cli.metricsFile, cli.metricsInterval);
+            emu.run();
+
+            String text = emu.getModules() == null ? null : emu.getScreenText();
+            if (text != null) {
+                System.out.println(text);
+            }
+            codeCache.close();
+        }
+        System.exit(0);
+    }
+}
@@ -47,11 +47,14 @@ import dioscuri.config.Emulator.Architecture.Modules.Fdc.Floppy;
 import dioscuri.exception.ModuleException;
 import dioscuri.interfaces.Module;
 import dioscuri.interfaces.Updateable;
+import dioscuri.metrics.MetricsRegistry;
+import dioscuri.metrics.MetricsReporter;
 import dioscuri.module.*;
 import dioscuri.module.ata.ATA;
 import dioscuri.module.ata.ATAConstants;
 import dioscuri.module.ata.ATATranslationType;
 import dioscuri.module.bios.BIOS;
+import dioscuri.module.bios.HighLevelBios;
 import dioscuri.module.clock.Clock;
 import dioscuri.module.cpu.CPU;
 import dioscuri.module.cpu32.*;
@@ -67,6 +70,7 @@ import dioscuri.module.parallelport.ParallelPort;
 import dioscuri.module.pic.PIC;
 import dioscuri.module.pit.PIT;
 import dioscuri.module.rtc.RTC;
+import dioscuri.module.screen.HeadlessScreen;
 import dioscuri.module.screen.Screen;
 import dioscuri.module.serialport.SerialPort;
 import dioscuri.module.video.Video;
@@ -77,6 +81,7 @@ import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -92,13 +97,26 @@ public class Emulator implements Runnable {
     private GUI gui;
     protected dioscuri.config.Emulator emuConfig;
     protected dioscuri.config.Emulator.Architecture.Modules moduleConfig;
+    private ConfigController configController;
 
     // Toggles
-    private boolean isAlive;
+    private volatile boolean isAlive;
+    private volatile boolean paused;
     private boolean coldStart;
     private boolean resetBusy;
     private boolean cpu32bit;
     private boolean dynamicMem;
+    private boolean headless;
+    private File restoreFile;
+    private CodeCache codeCache;
+    private Thread emulationThread;
+    private final Object pauseLock = new Object();
+
+    // Metrics
+    private static final AtomicInteger instanceCount = new AtomicInteger();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private File metricsFile;
+    private int metricsInterval = MetricsReporter.DEFAULT_INTERVAL;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Emulator.class.getName());
@@ -172,17 +190,46 @@ public class Emulator implements Runnable {
     }
 
     public void run()
+    {
+        // Publish the metrics of this emulator for as long as it runs
+        metrics.registerMBean(String.valueOf(instanceCount.incrementAndGet()));
+        MetricsReporter reporter = null;
+        if (metricsFile != null) {
+            reporter = new MetricsReporter(metrics, metricsFile, metricsInterval);
+            try {
+                reporter.start();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "[emu] Metrics file could not be opened: " + e.getMessage());
+                reporter = null;
+            }
+        }
+
+        try {
+            this.runEmulation();
+        } finally {
+            if (reporter != null) {
+                reporter.stop();
+            }
+            metrics.unregisterMBean();
+        }
+    }
+
+    private void runEmulation()
     {
         // TODO: Perform semantic analysis of command (syntaxis is checked by IO class) especially important when running with multiple threads!!!
         int instr = 0;
         int total = 0;
         int loop = 0;
 
+        emulationThread = Thread.currentThread();
         while (isAlive) {
             // Start emulator, start all threads
 
             // Get the module settings from the configuration file
             try {
+                if (configController == null) {
+                    configController = new ConfigController();
+                }
                 File configFile = new File(Utilities.resolvePathAsString(gui.getConfigFilePath()));
                 if (!configFile.exists() || !configFile.canRead()) {
                     logger
@@ -190,10 +237,10 @@ public class Emulator implements Runnable {
                                     "[emu] No local config file accessible, using read-only jar settings");
                     InputStream fallBack = GUI.class
                             .getResourceAsStream(gui.getConfigFilePath());
-                    emuConfig = ConfigController.loadFromXML(fallBack);
+                    emuConfig = configController.loadFromXML(fallBack);
                     fallBack.close();
                 } else {
-                    emuConfig = ConfigController.loadFromXML(configFile);
+                    emuConfig = configController.loadFromXML(configFile);
                 }
                 moduleConfig = emuConfig.getArchitecture().getModules();
                 logger.log(Level.INFO, "[emu] Emulator started with " + moduleConfig.getFdc().getFloppy().size() + " floppy drives and " + moduleConfig.getAta().getHarddiskdrive().size() + " fixed disks");
@@ -218,6 +265,18 @@ public class Emulator implements Runnable {
                 return;
             }
 
+            // Metrics follow the modules, which are recreated on a cold start
+            EmulatorMetrics.register(metrics, modules);
+
+            if (restoreFile != null) {
+                File snapshotFile = restoreFile;
+                restoreFile = null;
+                if (!this.restoreSnapshot(snapshotFile)) {
+                    this.stop();
+                    return;
+                }
+            }
+
             if (cpu32bit) {
                 // 32-bit CPU processing
                 logger.log(Level.INFO,
@@ -234,6 +293,7 @@ public class Emulator implements Runnable {
                     while (total < 15000) {
                         instr = addressSpace.execute(cpu, cpu
                                 .getInstructionPointer());
+                        cpu.countInstructions(instr);
                         try {
                             Thread.sleep(100);
                         } catch (InterruptedException e) {
@@ -244,8 +304,13 @@ public class Emulator implements Runnable {
                     }
 
                     while (isAlive) {
+                        if (paused) {
+                            this.waitWhilePaused();
+                            continue;
+                        }
                         instr = addressSpace.execute(cpu, cpu
                                 .getInstructionPointer());
+                        cpu.countInstructions(instr);
                         total += instr;
                         loop++;
                     }
@@ -258,6 +323,12 @@ public class Emulator implements Runnable {
                         "[emu] Emulation process started (16-bit).");
 
                 if (!modules.getModule(Module.Type.CPU).getDebugMode()) {
+                    // Honour a pause requested while the CPU was not running
+                    this.waitWhilePaused();
+                    if (!isAlive) {
+                        return;
+                    }
+
                     // Start CPU process
                     modules.getModule(Module.Type.CPU).start();
 
@@ -306,6 +377,7 @@ public class Emulator implements Runnable {
     {
         // End life of this emulation process
         isAlive = false;
+        this.resume();
 
         // Check if emulation process exists
         if (modules != null) {
@@ -446,6 +518,179 @@ public class Emulator implements Runnable {
         isAlive = state;
     }
 
+    /**
+     * Pause the emulation process. The emulation thread waits at the next
+     * instruction boundary until the emulator is resumed or stopped. Time in
+     * the machine stands still while it is paused.
+     */
+    public void pause()
+    {
+        if (paused) {
+            return;
+        }
+        paused = true;
+
+        if (modules != null && !cpu32bit) {
+            ((ModuleCPU) modules.getModule(Module.Type.CPU)).runAtInstructionBoundary(new Runnable() {
+                public void run()
+                {
+                    // The task runs directly when the CPU is not running;
+                    // the emulation thread then waits before starting it
+                    if (Thread.currentThread() == emulationThread) {
+                        waitWhilePaused();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Resume a paused emulation process.
+     */
+    public void resume()
+    {
+        synchronized (pauseLock) {
+            paused = false;
+            pauseLock.notifyAll();
+        }
+    }
+
+    /**
+     * @return true if the emulation process is paused, false otherwise
+     */
+    public boolean isPaused()
+    {
+        return paused;
+    }
+
+    /**
+     * Block the emulation thread for as long as the emulator is paused.
+     */
+    private void waitWhilePaused()
+    {
+        synchronized (pauseLock) {
+            while (paused) {
+                try {
+                    pauseLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Run without a display. The screen module discards all output and no
+     * AWT or Swing objects are created. Must be set before the emulator is
+     * started.
+     *
+     * @param headless true to run without a display
+     */
+    public void setHeadless(boolean headless)
+    {
+        this.headless = headless;
+    }
+
+    /**
+     * Set a snapshot file to restore once the modules have been set up. The
+     * snapshot is restored only once, a reset of the emulator boots the
+     * machine as usual.
+     *
+     * @param file the snapshot file, or null to boot normally
+     */
+    public void setRestoreFile(File file)
+    {
+        this.restoreFile = file;
+    }
+
+    /**
+     * Set the cache of compiled code blocks used by a 32-bit CPU. The cache
+     * belongs to the caller, which closes it when it is done with it.
+     *
+     * @param cache the cache, or null to compile all blocks again
+     */
+    public void setCodeCache(CodeCache cache)
+    {
+        this.codeCache = cache;
+    }
+
+    /**
+     * Write the metrics of this emulator to a file at a fixed interval, for
+     * as long as the emulation process runs. Files ending in .csv are
+     * written as comma separated values, other files as JSON lines.
+     *
+     * @param file     the file to append to, or null to write no metrics
+     * @param interval seconds between two snapshots of the metrics
+     */
+    public void setMetricsFile(File file, int interval)
+    {
+        this.metricsFile = file;
+        this.metricsInterval = interval;
+    }
+
+    /**
+     * Return the metrics of this emulator. The same metrics are published
+     * over JMX while the emulator runs.
+     *
+     * @return the metrics registry
+     */
+    public MetricsRegistry getMetrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Take a snapshot of the running machine. The snapshot is written by the
+     * CPU thread at the next instruction boundary.
+     *
+     * @param file the snapshot file to write
+     * @return true if the snapshot has been scheduled, false otherwise
+     */
+    public boolean saveSnapshot(final File file)
+    {
+        if (modules == null || cpu32bit) {
+            logger.log(Level.WARNING, "[emu] Snapshots are only supported for a running 16-bit machine.");
+            return false;
+        }
+
+        ((ModuleCPU) modules.getModule(Module.Type.CPU)).runAtInstructionBoundary(new Runnable() {
+            public void run()
+            {
+                try {
+                    Snapshot.save(modules, file);
+                    logger.log(Level.INFO, "[emu] Snapshot saved to " + file.getAbsolutePath());
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "[emu] Snapshot could not be saved: " + e.getMessage());
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Restore a snapshot into the modules that have just been set up.
+     *
+     * @param file the snapshot file to read
+     * @return true if the snapshot has been restored, false otherwise
+     */
+    private boolean restoreSnapshot(File file)
+    {
+        if (cpu32bit) {
+            logger.log(Level.SEVERE, "[emu] Snapshots are only supported for the 16-bit CPU.");
+            return false;
+        }
+
+        try {
+            Snapshot.restore(modules, file);
+            logger.log(Level.INFO, "[emu] Snapshot restored from " + file.getAbsolutePath());
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[emu] Snapshot could not be restored: " + e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Get the modules.
      *
@@ -528,25 +773,41 @@ public class Emulator implements Runnable {
     }
 
     /**
+     * Pass a key event from the GUI to the keyboard. The scancode is
+     * generated on the emulation thread at the next instruction boundary.
+     *
      * @param keyEvent
      * @param keyEventType
      */
-    protected void notifyKeyboard(KeyEvent keyEvent, int keyEventType)
+    protected void notifyKeyboard(final KeyEvent keyEvent, final int keyEventType)
     {
-        ModuleKeyboard keyboard = (ModuleKeyboard) modules.getModule(Module.Type.KEYBOARD);
+        final ModuleKeyboard keyboard = (ModuleKeyboard) modules.getModule(Module.Type.KEYBOARD);
         if (keyboard != null) {
-            keyboard.generateScancode(keyEvent, keyEventType);
+            ((ModuleCPU) modules.getModule(Module.Type.CPU)).runAtInstructionBoundary(new Runnable() {
+                public void run()
+                {
+                    keyboard.generateScancode(keyEvent, keyEventType);
+                }
+            });
         }
     }
 
     /**
+     * Pass a mouse event from the GUI to the mouse. The event is handled on
+     * the emulation thread at the next instruction boundary.
+     *
      * @param mouseEvent
      */
-    protected void notifyMouse(MouseEvent mouseEvent)
+    protected void notifyMouse(final MouseEvent mouseEvent)
     {
-        ModuleMouse mouse = (ModuleMouse) modules.getModule(Module.Type.MOUSE);
+        final ModuleMouse mouse = (ModuleMouse) modules.getModule(Module.Type.MOUSE);
         if (mouse != null) {
-            mouse.mouseMotion(mouseEvent);
+            ((ModuleCPU) modules.getModule(Module.Type.CPU)).runAtInstructionBoundary(new Runnable() {
+                public void run()
+                {
+                    mouse.mouseMotion(mouseEvent);
+                }
+            });
         }
     }
 
@@ -777,10 +1038,18 @@ public class Emulator implements Runnable {
         // Create a CPU
         if (cpu32bit) {
             // Add JPC 32-bit processor
-            modules.addModule(new Processor());
+            Processor cpu = new Processor();
+            cpu.setCodeCache(codeCache);
+            if (moduleConfig.getCpu().getCompilerthreads() != null) {
+                cpu.setCompilerThreads(moduleConfig.getCpu().getCompilerthreads().intValue());
+            }
+            this.setupIdle(cpu);
+            modules.addModule(cpu);
         } else {
             // Add Dioscuri 16-bit CPU
-            modules.addModule(new CPU(this));
+            CPU cpu = new CPU(this);
+            this.setupIdle(cpu);
+            modules.addModule(cpu);
         }
 
         // Create RAM
@@ -871,13 +1140,33 @@ public class Emulator implements Runnable {
         }
 
         modules.addModule(new DeviceDummy(this));
-        modules.addModule(new Screen(this));
+        if (headless) {
+            modules.addModule(new HeadlessScreen(this));
+        } else {
+            modules.addModule(new Screen(this));
+        }
 
         logger.log(Level.INFO, "[emu] All modules are created.");
 
         return true;
     }
 
+    /**
+     * Applies the configured idle settings to a CPU
+     *
+     * @param cpu the CPU to set up
+     */
+    private void setupIdle(ModuleCPU cpu)
+    {
+        String idle = moduleConfig.getCpu().getIdle();
+        if (idle != null) {
+            cpu.setIdleMode(ModuleCPU.IdleMode.valueOf(idle.toUpperCase()));
+        }
+        if (moduleConfig.getCpu().isIdleloops() != null) {
+            cpu.setIdleLoopDetection(moduleConfig.getCpu().isIdleloops());
+        }
+    }
+
     /**
      * Connect the modules together.
      *
@@ -978,9 +1267,41 @@ public class Emulator implements Runnable {
             result = true;
         }
 
+        this.setupHighLevelBios();
+
         return result;
     }
 
+    /**
+     * Lets the emulator handle frequently used BIOS services if the
+     * configuration asks for it
+     */
+    private void setupHighLevelBios()
+    {
+        boolean enabled = false;
+        if (moduleConfig.getBios() != null) {
+            for (Bios bios : moduleConfig.getBios()) {
+                enabled |= bios.isHle() != null && bios.isHle();
+            }
+        }
+
+        HighLevelBios highLevelBios = null;
+        if (enabled) {
+            highLevelBios = new HighLevelBios(
+                    (FDC) modules.getModule(Module.Type.FDC),
+                    (ATA) modules.getModule(Module.Type.ATA),
+                    (ModuleMotherboard) modules.getModule(Module.Type.MOTHERBOARD));
+            logger.log(Level.CONFIG, "[emu] BIOS disk and video services are handled by the emulator");
+        }
+
+        Module cpu = modules.getModule(Module.Type.CPU);
+        if (cpu instanceof CPU) {
+            ((CPU) cpu).setHighLevelBios(highLevelBios);
+        } else if (cpu instanceof Processor) {
+            ((Processor) cpu).setHighLevelBios(highLevelBios);
+        }
+    }
+
     /**
      * Set the timing parameters
      *
@@ -1293,6 +1614,8 @@ public class Emulator implements Runnable {
                 logger.log(Level.SEVERE,
                         "[emu] Floppy disk format not recognised.");
 
+            fdc.setCarrierMapped(driveLetter, floppyConfig.isMapped());
+
             if (inserted) {
 
                 File imageFile = new File(imageFilePath);
@@ -1341,6 +1664,11 @@ public class Emulator implements Runnable {
 
             //String imageFilePath = hddConfig.getImagefilepath();
             String imageFilePath = Utilities.resolvePathAsString(hddConfig.getImagefilepath());
+            String overlayFilePath = null;
+            if (hddConfig.getOverlayfilepath() != null && hddConfig.getOverlayfilepath().length() > 0) {
+                // The overlay file is created when it does not exist yet
+                overlayFilePath = Utilities.resolvePathAsFile(hddConfig.getOverlayfilepath()).getAbsolutePath();
+            }
 
             if (enabled && ideChannelIndex >= 0 && ideChannelIndex < 4) {
                 if (autoDetectCylinders) {
@@ -1349,7 +1677,8 @@ public class Emulator implements Runnable {
 
                 ata.initConfig(ideChannelIndex, isMaster, true, false,
                         numCylinders, numHeads, numSectorsPerTrack,
-                        ATATranslationType.AUTO, imageFilePath);
+                        ATATranslationType.AUTO, imageFilePath,
+                        hddConfig.isMapped(), overlayFilePath);
 
                 if (ideChannelIndex == 0 && i == 0) {
                     getGui().updateGUI(GUI.EMU_HD1_INSERT);
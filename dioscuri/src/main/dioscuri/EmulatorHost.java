@@ -0,0 +1,193 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri;
+
+import dioscuri.module.cpu32.CodeCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hosts several independent emulators in one Java virtual machine. Every
+ * emulator owns all of its modules and guest state; only code is shared,
+ * so machines started later profit from classes that are already loaded
+ * and compiled by the JIT of the virtual machine. The 32-bit code blocks
+ * compiled for one machine are kept in a store of the host and reused by
+ * the others.
+ * <p/>
+ * Each started emulator occupies one thread of the host's pool for as long
+ * as it runs. Emulators started while all threads are busy wait in line
+ * until another emulator is stopped.
+ */
+public class EmulatorHost {
+
+    // Logging
+    private static final Logger logger = Logger.getLogger(EmulatorHost.class.getName());
+
+    private final ExecutorService executor;
+    private final List<Emulator> emulators;
+    private final CodeCache codeCache;
+
+    /**
+     * Class constructor
+     *
+     * @param threads the number of emulators that can run at the same time
+     */
+    public EmulatorHost(int threads) {
+        this(threads, new CodeCache());
+    }
+
+    /**
+     * Class constructor specifying the store of compiled code blocks
+     *
+     * @param threads   the number of emulators that can run at the same time
+     * @param codeCache the store shared by all emulators of this host, which
+     *                  is closed by the caller
+     */
+    public EmulatorHost(int threads, CodeCache codeCache) {
+        this.codeCache = codeCache;
+        final AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                return new Thread(r, "Dioscuri machine " + threadCount.incrementAndGet());
+            }
+        });
+        emulators = new ArrayList<Emulator>();
+    }
+
+    /**
+     * Create an emulator without a display.
+     *
+     * @param configFilePath path of the configuration file of the machine
+     * @return the new emulator, not yet started
+     */
+    public Emulator create(String configFilePath) {
+        Emulator emu = this.create(new HeadlessGUI(configFilePath, null));
+        emu.setHeadless(true);
+        return emu;
+    }
+
+    /**
+     * Create an emulator that reports to the given user interface.
+     *
+     * @param gui the user interface of the machine
+     * @return the new emulator, not yet started
+     */
+    public Emulator create(GUI gui) {
+        Emulator emu = new Emulator(gui);
+        emu.setCodeCache(codeCache);
+        synchronized (emulators) {
+            emulators.add(emu);
+        }
+        return emu;
+    }
+
+    /**
+     * Start the emulation process of an emulator on the host's threads.
+     *
+     * @param emu the emulator to start
+     * @return a future that completes when the emulation process has ended
+     */
+    public Future<?> start(final Emulator emu) {
+        return executor.submit(new Runnable() {
+            public void run() {
+                try {
+                    emu.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.SEVERE, "[host] Emulation process ended abnormally: " + e.toString());
+                    emu.stop();
+                } finally {
+                    synchronized (emulators) {
+                        emulators.remove(emu);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Pause the emulation process of an emulator.
+     *
+     * @param emu the emulator to pause
+     */
+    public void pause(Emulator emu) {
+        emu.pause();
+    }
+
+    /**
+     * Resume the emulation process of a paused emulator.
+     *
+     * @param emu the emulator to resume
+     */
+    public void resume(Emulator emu) {
+        emu.resume();
+    }
+
+    /**
+     * Stop the emulation process of an emulator. Its thread becomes available
+     * to the next emulator waiting in line.
+     *
+     * @param emu the emulator to stop
+     */
+    public void stop(Emulator emu) {
+        emu.stop();
+    }
+
+    /**
+     * Stop all emulators of this host and release its threads.
+     */
+    public void shutdown() {
+        List<Emulator> running;
+        synchronized (emulators) {
+            running = new ArrayList<Emulator>(emulators);
+        }
+        for (Emulator emu : running) {
+            emu.stop();
+        }
+        executor.shutdown();
+    }
+}
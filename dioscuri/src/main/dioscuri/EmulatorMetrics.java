@@ -0,0 +1,297 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri;
+
+import dioscuri.interfaces.Module;
+import dioscuri.metrics.Metric;
+import dioscuri.metrics.MetricsRegistry;
+import dioscuri.metrics.RateMetric;
+import dioscuri.module.ata.ATA;
+import dioscuri.module.ata.ATAConstants;
+import dioscuri.module.ata.ATADrive;
+import dioscuri.module.bios.HighLevelBios;
+import dioscuri.module.cpu.CPU;
+import dioscuri.module.cpu32.BackgroundCompiler;
+import dioscuri.module.cpu32.Processor;
+import dioscuri.module.motherboard.Motherboard;
+import dioscuri.module.pic.PIC;
+import dioscuri.module.video.Video;
+
+/**
+ * Registers the metrics of a set of modules. The metrics only read counters
+ * that the modules update on the emulation thread.
+ * <p/>
+ * Most counters are {@link dioscuri.metrics.Counter}s, which publish every
+ * update safely. The counters of the innermost loops are plain long fields,
+ * updated on every instruction or memory access: the instruction count of
+ * the 16-bit CPU, its instruction cache hits and misses, and the TLB
+ * counters. Reading such a field from another thread may return an older
+ * value. On a 32-bit virtual machine the read may also be torn, mixing the
+ * halves of two counts (JLS 17.7). That can only happen when the low word
+ * carries over, once every 2^32 updates. It spoils a single sample of a
+ * statistic and never the emulation, which is cheaper than a barrier on
+ * every instruction.
+ */
+final class EmulatorMetrics {
+
+    private EmulatorMetrics() {
+    }
+
+    /**
+     * Replaces the metrics in the registry by those of the given modules
+     *
+     * @param registry the registry to fill
+     * @param modules  the modules of the emulator
+     */
+    static void register(MetricsRegistry registry, Modules modules) {
+        registry.clear();
+
+        Module cpu = modules.getModule(Module.Type.CPU);
+        HighLevelBios bios = null;
+        if (cpu instanceof CPU) {
+            registerCPU(registry, (CPU) cpu);
+            bios = ((CPU) cpu).getHighLevelBios();
+        } else if (cpu instanceof Processor) {
+            registerProcessor(registry, (Processor) cpu);
+            bios = ((Processor) cpu).getHighLevelBios();
+        }
+        if (bios != null) {
+            registerBios(registry, bios);
+        }
+
+        Module pic = modules.getModule(Module.Type.PIC);
+        if (pic instanceof PIC) {
+            registerPIC(registry, (PIC) pic);
+        }
+
+        Module motherboard = modules.getModule(Module.Type.MOTHERBOARD);
+        if (motherboard instanceof Motherboard) {
+            registerMotherboard(registry, (Motherboard) motherboard);
+        }
+
+        Module ata = modules.getModule(Module.Type.ATA);
+        if (ata instanceof ATA) {
+            registerATA(registry, (ATA) ata);
+        }
+
+        Module video = modules.getModule(Module.Type.VIDEO);
+        if (video instanceof Video) {
+            registerVideo(registry, (Video) video);
+        }
+    }
+
+    private static void registerCPU(MetricsRegistry registry, final CPU cpu) {
+        Metric instructions = new Metric() {
+            public long getValue() {
+                return cpu.getCurrentInstructionNumber();
+            }
+        };
+        registry.register("cpu.instructions", instructions);
+        registry.register("cpu.instructionsPerSecond", new RateMetric(instructions));
+        registry.register("cpu.idleInstructions", new Metric() {
+            public long getValue() {
+                return cpu.getIdleInstructions();
+            }
+        });
+        registry.register("cpu.instructionCache.hits", new Metric() {
+            public long getValue() {
+                return cpu.getInstructionCacheHits();
+            }
+        });
+        registry.register("cpu.instructionCache.misses", new Metric() {
+            public long getValue() {
+                return cpu.getInstructionCacheMisses();
+            }
+        });
+    }
+
+    private static void registerProcessor(MetricsRegistry registry, final Processor cpu) {
+        Metric instructions = new Metric() {
+            public long getValue() {
+                return cpu.getExecutedInstructions();
+            }
+        };
+        registry.register("cpu.instructions", instructions);
+        registry.register("cpu.instructionsPerSecond", new RateMetric(instructions));
+        registry.register("cpu.idleInstructions", new Metric() {
+            public long getValue() {
+                return cpu.getIdleInstructions();
+            }
+        });
+        registry.register("cpu.tlb.hits", new Metric() {
+            public long getValue() {
+                return cpu.linearMemory == null ? 0 : cpu.linearMemory.getTLBHits();
+            }
+        });
+        registry.register("cpu.tlb.misses", new Metric() {
+            public long getValue() {
+                return cpu.linearMemory == null ? 0 : cpu.linearMemory.getTLBMisses();
+            }
+        });
+        registry.register("cpu.tlb.flushes", new Metric() {
+            public long getValue() {
+                return cpu.linearMemory == null ? 0 : cpu.linearMemory.getTLBFlushes();
+            }
+        });
+
+        registry.register("compiler.blocks", new CompilerMetric(cpu) {
+            long getValue(BackgroundCompiler compiler) {
+                return compiler.getBlockCount();
+            }
+        });
+        registry.register("compiler.compiled", new CompilerMetric(cpu) {
+            long getValue(BackgroundCompiler compiler) {
+                return compiler.getCompiledCount();
+            }
+        });
+        registry.register("compiler.interpreted", new CompilerMetric(cpu) {
+            long getValue(BackgroundCompiler compiler) {
+                return compiler.getBlockCount() - compiler.getCompiledCount();
+            }
+        });
+        registry.register("compiler.failed", new CompilerMetric(cpu) {
+            long getValue(BackgroundCompiler compiler) {
+                return compiler.getFailedCount();
+            }
+        });
+        registry.register("compiler.dropped", new CompilerMetric(cpu) {
+            long getValue(BackgroundCompiler compiler) {
+                return compiler.getDroppedCount();
+            }
+        });
+        registry.register("compiler.queueDepth", new CompilerMetric(cpu) {
+            long getValue(BackgroundCompiler compiler) {
+                return compiler.getQueueDepth();
+            }
+        });
+    }
+
+    private static void registerBios(MetricsRegistry registry, final HighLevelBios bios) {
+        registry.register("bios.handledCalls", new Metric() {
+            public long getValue() {
+                return bios.getHandledCalls();
+            }
+        });
+    }
+
+    private static void registerPIC(MetricsRegistry registry, final PIC pic) {
+        for (int irq = 0; irq < 16; irq++) {
+            final int line = irq;
+            registry.register("pic.irq" + irq, new Metric() {
+                public long getValue() {
+                    return pic.getIRQCount(line);
+                }
+            });
+        }
+    }
+
+    private static void registerMotherboard(MetricsRegistry registry, final Motherboard motherboard) {
+        registry.register("io.reads", new Metric() {
+            public long getValue() {
+                return motherboard.getIOPortReads();
+            }
+        });
+        registry.register("io.writes", new Metric() {
+            public long getValue() {
+                return motherboard.getIOPortWrites();
+            }
+        });
+    }
+
+    private static void registerATA(MetricsRegistry registry, ATA ata) {
+        for (int channel = 0; channel < ATAConstants.MAX_NUMBER_IDE_CHANNELS; channel++) {
+            for (int device = 0; device < ATAConstants.MAX_NUMBER_DRIVES_PER_CHANNEL; device++) {
+                final ATADrive drive = ata.getDrive(channel, device);
+                if (drive == null) {
+                    continue;
+                }
+                String name = "ata" + channel + "." + (device == 0 ? "master" : "slave");
+                registry.register(name + ".bytesRead", new Metric() {
+                    public long getValue() {
+                        return drive.getBytesRead();
+                    }
+                });
+                registry.register(name + ".bytesWritten", new Metric() {
+                    public long getValue() {
+                        return drive.getBytesWritten();
+                    }
+                });
+            }
+        }
+    }
+
+    private static void registerVideo(MetricsRegistry registry, final Video video) {
+        registry.register("video.frames", new Metric() {
+            public long getValue() {
+                return video.getFramesRendered();
+            }
+        });
+        registry.register("video.tiles", new Metric() {
+            public long getValue() {
+                return video.getTilesRendered();
+            }
+        });
+    }
+
+    /**
+     * Metric of the background compiler of a processor. The compiler is
+     * created with the first decoded block and dropped when the processor
+     * stops, so the last compiler seen is kept for a final snapshot.
+     */
+    private abstract static class CompilerMetric implements Metric {
+
+        private final Processor cpu;
+        private BackgroundCompiler compiler;
+
+        CompilerMetric(Processor cpu) {
+            this.cpu = cpu;
+        }
+
+        public synchronized long getValue() {
+            BackgroundCompiler current = cpu.getBackgroundCompiler();
+            if (current != null) {
+                compiler = current;
+            }
+            return compiler == null ? 0 : getValue(compiler);
+        }
+
+        abstract long getValue(BackgroundCompiler compiler);
+    }
+}
@@ -0,0 +1,114 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri;
+
+import javax.swing.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The user interface of an emulator without a display, which only hands out
+ * the configuration. It is kept apart from the entry points so that the
+ * Swing types in the GUI interface are not loaded along with them.
+ */
+class HeadlessGUI implements GUI {
+
+    // Logging
+    private static final Logger logger = Logger.getLogger(HeadlessGUI.class.getName());
+
+    private final String configFilePath;
+    private final dioscuri.config.Emulator emuConfig;
+
+    /**
+     * Class constructor
+     *
+     * @param configFilePath path of the configuration file to load
+     * @param emuConfig      the parsed configuration, may be null
+     */
+    HeadlessGUI(String configFilePath, dioscuri.config.Emulator emuConfig) {
+        this.configFilePath = configFilePath;
+        this.emuConfig = emuConfig;
+    }
+
+    @Override
+    public JFrame asJFrame() {
+        return null;
+    }
+
+    @Override
+    public dioscuri.config.Emulator getEmuConfig() {
+        return emuConfig;
+    }
+
+    @Override
+    public String getConfigFilePath() {
+        return configFilePath;
+    }
+
+    @Override
+    public void notifyGUI(int emuProcess) {
+        // ...
+    }
+
+    @Override
+    public void updateGUI(int activity) {
+        // ...
+    }
+
+    @Override
+    public void setScreen(JPanel screen) {
+        // ...
+    }
+
+    @Override
+    public boolean setMouseEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean setMouseDisabled() {
+        return true;
+    }
+
+    @Override
+    public void setCpuTypeLabel(String cpuType) {
+        logger.log(Level.INFO, "[headless] CPU type: " + cpuType);
+    }
+}
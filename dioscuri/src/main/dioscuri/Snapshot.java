@@ -0,0 +1,166 @@
+/* $Revision: 159 $ $Date: 2009-08-17 12:52:56 +0000 (ma, 17 aug 2009) $ $Author: blohman $ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri;
+
+import dioscuri.interfaces.Module;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A machine-wide snapshot holding the state of every module of a running
+ * emulator. A snapshot allows a batch job to continue from a booted machine
+ * instead of going through the BIOS and operating system startup again.
+ * <p/>
+ * Layout of the snapshot file:
+ * <pre>
+ *   SNAPSHOT_MAGIC and SNAPSHOT_VERSION
+ *   compressed body: number of modules, then for each module its type, the
+ *                    length of its state and the state itself
+ * </pre>
+ * The module states are written by {@link Module#dumpState}. Memory modules
+ * only store pages that are not zero. Contents of disk and floppy images are
+ * not part of a snapshot; a snapshot must be restored with the same
+ * configuration and images it was taken with.
+ */
+public final class Snapshot {
+
+    // Constants
+    private static final byte[] SNAPSHOT_MAGIC = "DIOSCURI-SNAPSHOT".getBytes();
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private Snapshot() {
+    }
+
+    /**
+     * Writes the state of all modules to the given file. The modules may not
+     * change while the snapshot is taken, so this method should be called
+     * from the CPU thread between two instructions.
+     *
+     * @param modules the modules of the emulator
+     * @param file    the snapshot file to write
+     * @throws IOException if the file can not be written
+     */
+    public static void save(Modules modules, File file) throws IOException {
+        DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            output.write(SNAPSHOT_MAGIC);
+            output.writeInt(SNAPSHOT_VERSION);
+            output.flush();
+
+            DeflaterOutputStream deflater = new DeflaterOutputStream(output);
+            DataOutputStream body = new DataOutputStream(deflater);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+            body.writeInt(modules.size());
+            for (int i = 0; i < modules.size(); i++) {
+                Module module = modules.getModule(i);
+                buffer.reset();
+                module.dumpState(new DataOutputStream(buffer));
+
+                body.writeUTF(module.getType().toString());
+                body.writeInt(buffer.size());
+                buffer.writeTo(body);
+            }
+            body.flush();
+            deflater.finish();
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Restores the state of all modules from the given file. The modules
+     * must have been set up with the configuration the snapshot was taken
+     * with, and may not be running.
+     *
+     * @param modules the modules of the emulator
+     * @param file    the snapshot file to read
+     * @throws IOException if the file can not be read or does not match the
+     *                     modules
+     */
+    public static void restore(Modules modules, File file) throws IOException {
+        DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)));
+        try {
+            byte[] magic = new byte[SNAPSHOT_MAGIC.length];
+            input.readFully(magic);
+            if (!Arrays.equals(magic, SNAPSHOT_MAGIC)) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            int version = input.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+
+            DataInputStream body = new DataInputStream(
+                    new InflaterInputStream(input));
+
+            int count = body.readInt();
+            if (count != modules.size()) {
+                throw new IOException("Snapshot holds " + count
+                        + " modules, emulator has " + modules.size());
+            }
+            for (int i = 0; i < count; i++) {
+                Module module = modules.getModule(i);
+                String type = body.readUTF();
+                if (!type.equals(module.getType().toString())) {
+                    throw new IOException("Snapshot holds module " + type
+                            + " where " + module.getType() + " was expected");
+                }
+
+                byte[] state = new byte[body.readInt()];
+                body.readFully(state);
+                DataInputStream stateInput = new DataInputStream(
+                        new ByteArrayInputStream(state));
+                module.loadState(stateInput);
+                if (stateInput.available() != 0) {
+                    throw new IOException("Snapshot state of module " + type
+                            + " was not read completely");
+                }
+            }
+        } finally {
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+package dioscuri.interfaces;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.exception.UnknownPortException;
+import dioscuri.exception.WriteOnlyPortException;
+
+/**
+ * I/O port access with primitive int values, so that port reads and writes
+ * do not allocate. Words and double words are passed as they appear in AX and
+ * EAX; this is the value the CPUs obtain from the byte[] methods of
+ * Addressable.
+ */
+public interface IntAddressable extends Addressable {
+
+    /**
+     * @param address
+     * @return the byte at the port, 0x00 - 0xFF
+     * @throws ModuleException
+     * @throws UnknownPortException
+     * @throws WriteOnlyPortException
+     */
+    int readByte(int address) throws ModuleException, UnknownPortException, WriteOnlyPortException;
+
+    /**
+     * @param address
+     * @return the word at the port, 0x0000 - 0xFFFF
+     * @throws ModuleException
+     * @throws UnknownPortException
+     * @throws WriteOnlyPortException
+     */
+    int readWord(int address) throws ModuleException, UnknownPortException, WriteOnlyPortException;
+
+    /**
+     * @param address
+     * @return the double word at the port
+     * @throws ModuleException
+     * @throws UnknownPortException
+     * @throws WriteOnlyPortException
+     */
+    int readDword(int address) throws ModuleException, UnknownPortException, WriteOnlyPortException;
+
+    /**
+     * Reads count words from the same port, as a repeated INSW does.
+     *
+     * @param address
+     * @param dst    array receiving the words
+     * @param offset index in dst of the first word
+     * @param count  number of words to read
+     * @throws ModuleException
+     * @throws UnknownPortException
+     * @throws WriteOnlyPortException
+     */
+    void readWords(int address, short[] dst, int offset, int count) throws ModuleException, UnknownPortException, WriteOnlyPortException;
+
+    /**
+     * @param address
+     * @param value lowest 8 bits are written
+     * @throws ModuleException
+     * @throws UnknownPortException
+     */
+    void writeByte(int address, int value) throws ModuleException, UnknownPortException;
+
+    /**
+     * @param address
+     * @param value lowest 16 bits are written
+     * @throws ModuleException
+     * @throws UnknownPortException
+     */
+    void writeWord(int address, int value) throws ModuleException, UnknownPortException;
+
+    /**
+     * @param address
+     * @param value
+     * @throws ModuleException
+     * @throws UnknownPortException
+     */
+    void writeDword(int address, int value) throws ModuleException, UnknownPortException;
+}
@@ -38,6 +38,9 @@
  */
 package dioscuri.interfaces;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -89,6 +92,15 @@ public interface Module {
         }
     }
 
+    /**
+     * Writes the complete state of this Module to the given output, so that
+     * it can be restored later with loadState(DataInput).
+     *
+     * @param output the stream to write the state to.
+     * @throws IOException if the state could not be written.
+     */
+    void dumpState(DataOutput output) throws IOException;
+
     /**
      * Returns the Module of a certain Type connected to this Module.
      *
@@ -139,6 +151,17 @@ public interface Module {
      */
     boolean isConnected();
 
+    /**
+     * Restores the state of this Module as written by dumpState(DataOutput).
+     * The Module must have been created, connected and reset with the same
+     * configuration as the Module that wrote the state.
+     *
+     * @param input the stream to read the state from.
+     * @throws IOException if the state could not be read or does not match
+     *                     this Module.
+     */
+    void loadState(DataInput input) throws IOException;
+
     /**
      * Reset all parameters of module.
      *
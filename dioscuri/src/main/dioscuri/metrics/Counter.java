@@ -0,0 +1,77 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A statistics counter of a module. Only one thread, normally the emulation
+ * thread, updates a counter, while any thread may read it. An update is an
+ * ordered store instead of an atomic increment: on common processors it
+ * costs no more than writing a plain field, yet unlike a plain long a
+ * reader never sees a value torn into halves of two different counts.
+ */
+public final class Counter {
+
+    private final AtomicLong value = new AtomicLong();
+
+    /**
+     * Adds one to the counter. Must only be called by the updating thread.
+     */
+    public void increment() {
+        value.lazySet(value.get() + 1);
+    }
+
+    /**
+     * Adds to the counter. Must only be called by the updating thread.
+     *
+     * @param delta the amount to add
+     */
+    public void add(long delta) {
+        value.lazySet(value.get() + delta);
+    }
+
+    /**
+     * @return the current count
+     */
+    public long get() {
+        return value.get();
+    }
+}
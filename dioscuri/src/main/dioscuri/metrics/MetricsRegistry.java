@@ -0,0 +1,228 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Named metrics of one emulator. The registry only holds references to
+ * counters owned by the modules, so keeping it adds nothing to the work of
+ * the emulation thread; values are read when a snapshot is taken.
+ * <p/>
+ * The registry can be published over JMX, where each metric is a read-only
+ * attribute of the MBean <code>dioscuri:type=Emulator,id=...</code>.
+ */
+public class MetricsRegistry {
+
+    // Logging
+    private static final Logger logger = Logger.getLogger(MetricsRegistry.class.getName());
+
+    private final Map<String, Metric> metrics = new LinkedHashMap<String, Metric>();
+    private ObjectName objectName;
+
+    /**
+     * Adds a metric, replacing any metric registered under the same name
+     *
+     * @param name   name of the metric
+     * @param metric the metric
+     */
+    public synchronized void register(String name, Metric metric) {
+        metrics.put(name, metric);
+    }
+
+    /**
+     * Removes all metrics, for instance when the modules are recreated
+     */
+    public synchronized void clear() {
+        metrics.clear();
+    }
+
+    /**
+     * @return the names of all metrics, in order of registration
+     */
+    public synchronized String[] getNames() {
+        return metrics.keySet().toArray(new String[metrics.size()]);
+    }
+
+    /**
+     * @param name name of the metric
+     * @return the current value of the metric, or null if it does not exist
+     */
+    public Long getValue(String name) {
+        Metric metric;
+        synchronized (this) {
+            metric = metrics.get(name);
+        }
+        return metric == null ? null : metric.getValue();
+    }
+
+    /**
+     * Reads all metrics
+     *
+     * @return metric names and their current values, in order of registration
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Metric> current;
+        synchronized (this) {
+            current = new LinkedHashMap<String, Metric>(metrics);
+        }
+        Map<String, Long> values = new LinkedHashMap<String, Long>();
+        for (Map.Entry<String, Metric> entry : current.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Formats a snapshot as a JSON object on a single line
+     *
+     * @param time   time of the snapshot, in milliseconds since the epoch
+     * @param values the snapshot
+     * @return the JSON object
+     */
+    public static String toJSON(long time, Map<String, Long> values) {
+        StringBuilder json = new StringBuilder("{\"time\":").append(time);
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            json.append(",\"").append(entry.getKey()).append("\":")
+                    .append(entry.getValue());
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Publishes the registry on the platform MBean server
+     *
+     * @param id identifies the emulator among others in the same JVM
+     * @return true if the MBean has been registered, false otherwise
+     */
+    public synchronized boolean registerMBean(String id) {
+        if (objectName != null) {
+            return true;
+        }
+        try {
+            ObjectName name = new ObjectName("dioscuri:type=Emulator,id=" + id);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new MetricsMBean(), name);
+            objectName = name;
+            return true;
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "[metrics] Could not register MBean: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Removes the registry from the platform MBean server, if published
+     */
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "[metrics] Could not unregister MBean: " + e.getMessage());
+        }
+        objectName = null;
+    }
+
+    /**
+     * Exposes the metrics of the registry as read-only long attributes. The
+     * attributes follow the registry, so modules registered later show up
+     * without registering the MBean again.
+     */
+    private class MetricsMBean implements DynamicMBean {
+
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Long value = getValue(attribute);
+            if (value == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return value;
+        }
+
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList list = new AttributeList();
+            for (String attribute : attributes) {
+                Long value = getValue(attribute);
+                if (value != null) {
+                    list.add(new Attribute(attribute, value));
+                }
+            }
+            return list;
+        }
+
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+        }
+
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            throw new UnsupportedOperationException(actionName);
+        }
+
+        public MBeanInfo getMBeanInfo() {
+            String[] names = getNames();
+            MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[names.length];
+            for (int i = 0; i < names.length; i++) {
+                attributes[i] = new MBeanAttributeInfo(names[i], "long",
+                        names[i], true, false, false);
+            }
+            return new MBeanInfo(MetricsRegistry.class.getName(),
+                    "Dioscuri emulator metrics", attributes, null, null, null);
+        }
+    }
+}
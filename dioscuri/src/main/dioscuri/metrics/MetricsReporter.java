@@ -0,0 +1,182 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.metrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Appends a snapshot of a metrics registry to a file at a fixed interval.
+ * Files ending in <code>.csv</code> get one comma separated line per
+ * snapshot, preceded by a header whenever the set of metrics changes; any
+ * other file gets one JSON object per line.
+ * <p/>
+ * Snapshots are taken on a daemon thread of the reporter, never on the
+ * emulation thread.
+ */
+public class MetricsReporter {
+
+    /**
+     * Default interval between two snapshots, in seconds
+     */
+    public static final int DEFAULT_INTERVAL = 10;
+
+    // Logging
+    private static final Logger logger = Logger.getLogger(MetricsReporter.class.getName());
+
+    private final MetricsRegistry registry;
+    private final File file;
+    private final int interval;
+    private final boolean csv;
+
+    private ScheduledExecutorService executor;
+    private PrintWriter writer;
+    private String[] header;
+
+    /**
+     * Class constructor
+     *
+     * @param registry the metrics to report
+     * @param file     the file to append the snapshots to
+     * @param interval seconds between two snapshots
+     */
+    public MetricsReporter(MetricsRegistry registry, File file, int interval) {
+        this.registry = registry;
+        this.file = file;
+        this.interval = interval > 0 ? interval : DEFAULT_INTERVAL;
+        this.csv = file.getName().toLowerCase().endsWith(".csv");
+    }
+
+    /**
+     * Opens the file and starts taking snapshots
+     *
+     * @throws IOException if the file can not be opened
+     */
+    public synchronized void start() throws IOException {
+        if (executor != null) {
+            return;
+        }
+        writer = new PrintWriter(new FileWriter(file, true));
+        header = null;
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "Dioscuri metrics reporter");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.scheduleAtFixedRate(new Runnable() {
+            public void run() {
+                report();
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops taking snapshots, writes a last one and closes the file
+     */
+    public void stop() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = executor;
+            executor = null;
+        }
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            running.awaitTermination(interval, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        report();
+        synchronized (this) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the registry to the file
+     */
+    private synchronized void report() {
+        if (writer == null) {
+            return;
+        }
+        long time = System.currentTimeMillis();
+        Map<String, Long> values = registry.snapshot();
+
+        if (csv) {
+            String[] names = values.keySet().toArray(new String[values.size()]);
+            if (!Arrays.equals(names, header)) {
+                writer.print("time");
+                for (String name : names) {
+                    writer.print(',');
+                    writer.print(name);
+                }
+                writer.println();
+                header = names;
+            }
+            writer.print(time);
+            for (Long value : values.values()) {
+                writer.print(',');
+                writer.print(value);
+            }
+            writer.println();
+        } else {
+            writer.println(MetricsRegistry.toJSON(time, values));
+        }
+        writer.flush();
+        if (writer.checkError()) {
+            logger.log(Level.WARNING, "[metrics] Could not write metrics to " + file);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.metrics;
+
+/**
+ * Turns a counter into a rate per second. The rate is measured between two
+ * reads at least a second apart; reads in between return the last rate.
+ */
+public class RateMetric implements Metric {
+
+    private static final long MIN_INTERVAL = 1000000000L; // ns
+
+    private final Metric counter;
+    private long lastTime;
+    private long lastValue;
+    private long rate;
+
+    /**
+     * Class constructor
+     *
+     * @param counter the counter to take the rate of
+     */
+    public RateMetric(Metric counter) {
+        this.counter = counter;
+        lastTime = System.nanoTime();
+        lastValue = counter.getValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.metrics.Metric
+     */
+    public synchronized long getValue() {
+        long now = System.nanoTime();
+        long elapsed = now - lastTime;
+        if (elapsed >= MIN_INTERVAL) {
+            long value = counter.getValue();
+            // A counter that went back has been reset, start over from zero
+            long delta = value >= lastValue ? value - lastValue : value;
+            rate = (long) (delta * 1000000000.0 / elapsed);
+            lastTime = now;
+            lastValue = value;
+        }
+        return rate;
+    }
+}
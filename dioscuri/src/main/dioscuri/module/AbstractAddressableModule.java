@@ -0,0 +1,156 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.exception.UnknownPortException;
+import dioscuri.exception.WriteOnlyPortException;
+import dioscuri.interfaces.IntAddressable;
+
+/**
+ * Abstract class representing a module that handles its I/O ports with
+ * primitive int values. The byte and byte[] methods of Addressable are
+ * derived here from the int methods, so a module only implements the latter.
+ */
+public abstract class AbstractAddressableModule extends AbstractModule
+        implements IntAddressable {
+
+    /**
+     * Creates a new instance of a module with I/O ports.
+     *
+     * @param type                the type of this module.
+     * @param expectedConnections optional number of types this module
+     *                            is supposed to be connected to when
+     *                            the emulation process starts.
+     */
+    public AbstractAddressableModule(Type type, Type... expectedConnections) {
+        super(type, expectedConnections);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public byte getIOPortByte(int portAddress) throws ModuleException,
+            UnknownPortException, WriteOnlyPortException {
+        return (byte) readByte(portAddress);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public void setIOPortByte(int portAddress, byte data)
+            throws ModuleException, UnknownPortException {
+        writeByte(portAddress, data & 0xFF);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public byte[] getIOPortWord(int portAddress) throws ModuleException,
+            UnknownPortException, WriteOnlyPortException {
+        int word = readWord(portAddress);
+        return new byte[]{(byte) (word >> 8), (byte) word};
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public void setIOPortWord(int portAddress, byte[] dataWord)
+            throws ModuleException, UnknownPortException {
+        writeWord(portAddress, ((dataWord[0] & 0xFF) << 8)
+                | (dataWord[1] & 0xFF));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public byte[] getIOPortDoubleWord(int portAddress) throws ModuleException,
+            UnknownPortException, WriteOnlyPortException {
+        int doubleWord = readDword(portAddress);
+        return new byte[]{(byte) doubleWord, (byte) (doubleWord >> 8),
+                (byte) (doubleWord >> 16), (byte) (doubleWord >> 24)};
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
+            throws ModuleException, UnknownPortException {
+        writeDword(portAddress, (dataDoubleWord[0] & 0xFF)
+                | ((dataDoubleWord[1] & 0xFF) << 8)
+                | ((dataDoubleWord[2] & 0xFF) << 16)
+                | ((dataDoubleWord[3] & 0xFF) << 24));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Reads the words one by one; modules that can hand out a block of data
+     * at once override this.
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public void readWords(int portAddress, short[] dst, int offset, int count)
+            throws ModuleException, UnknownPortException,
+            WriteOnlyPortException {
+        for (int i = 0; i < count; i++) {
+            dst[offset + i] = (short) readWord(portAddress);
+        }
+    }
+}
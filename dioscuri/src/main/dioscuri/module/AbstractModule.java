@@ -41,6 +41,9 @@ package dioscuri.module;
 
 import dioscuri.interfaces.Module;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
@@ -94,6 +97,14 @@ public abstract class AbstractModule implements Module {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public abstract void dumpState(DataOutput output) throws IOException;
+
     /**
      * {@inheritDoc}
      *
@@ -173,6 +184,14 @@ public abstract class AbstractModule implements Module {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public abstract void loadState(DataInput input) throws IOException;
+
     /**
      * {@inheritDoc}
      *
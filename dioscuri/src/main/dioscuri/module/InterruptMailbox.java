@@ -0,0 +1,196 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free mailbox through which devices and other threads signal
+ * asynchronous events to the CPU. Pending events are kept as bits in a
+ * single atomic integer, so that the CPU only needs one volatile read
+ * between instructions (or blocks) to find out that nothing is pending.
+ * <p/>
+ * Work that must be done on the emulation thread, such as delivering key
+ * presses from the GUI thread to the keyboard controller, is posted as a
+ * task and run by the CPU at the next instruction boundary.
+ */
+public final class InterruptMailbox {
+
+    /**
+     * The interrupt controller raised the CPU's INTR line
+     */
+    public static final int INTERRUPT = 0x1;
+
+    /**
+     * A reset of the CPU has been requested
+     */
+    public static final int RESET = 0x4;
+
+    /**
+     * A device requested the bus (HOLD line, used for DMA)
+     */
+    public static final int HOLD = 0x8;
+
+    /**
+     * Tasks have been posted to run on the emulation thread
+     */
+    public static final int TASKS = 0x10;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+    private volatile Thread waiter;
+
+    /**
+     * Returns the events that are currently pending
+     *
+     * @return bitmask of pending events
+     */
+    public int get() {
+        return pending.get();
+    }
+
+    /**
+     * Checks if any event is pending
+     *
+     * @return true if at least one event is pending, false otherwise
+     */
+    public boolean isPending() {
+        return pending.get() != 0;
+    }
+
+    /**
+     * Marks events as pending and wakes up the CPU if it is waiting for them
+     *
+     * @param events bitmask of events to raise
+     */
+    public void raise(int events) {
+        int current;
+        do {
+            current = pending.get();
+        } while (!pending.compareAndSet(current, current | events));
+
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Marks events as handled
+     *
+     * @param events bitmask of events to clear
+     */
+    public void clear(int events) {
+        int current;
+        do {
+            current = pending.get();
+        } while ((current & events) != 0
+                && !pending.compareAndSet(current, current & ~events));
+    }
+
+    /**
+     * Posts a task to be run by the CPU on the emulation thread
+     *
+     * @param task the task to run at the next instruction boundary
+     */
+    public void post(Runnable task) {
+        tasks.add(task);
+        raise(TASKS);
+    }
+
+    /**
+     * Runs all tasks posted so far. Must only be called on the emulation
+     * thread.
+     */
+    public void runTasks() {
+        clear(TASKS);
+        for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+            task.run();
+        }
+    }
+
+    /**
+     * Blocks the calling thread until one of the given events is raised or
+     * the timeout expires. Only one thread (the emulation thread) may wait
+     * at a time.
+     *
+     * @param events  bitmask of events to wait for
+     * @param timeout maximum time to wait in milliseconds
+     * @return bitmask of pending events at the time of return
+     */
+    public int await(int events, long timeout) {
+        return awaitNanos(events, TimeUnit.MILLISECONDS.toNanos(timeout));
+    }
+
+    /**
+     * Blocks the calling thread until one of the given events is raised or
+     * the timeout expires. Only one thread (the emulation thread) may wait
+     * at a time.
+     *
+     * @param events  bitmask of events to wait for
+     * @param timeout maximum time to wait in nanoseconds
+     * @return bitmask of pending events at the time of return
+     */
+    public int awaitNanos(int events, long timeout) {
+        int current = pending.get();
+        if ((current & events) != 0) {
+            return current;
+        }
+
+        waiter = Thread.currentThread();
+        long deadline = System.nanoTime() + timeout;
+        try {
+            while (((current = pending.get()) & events) == 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            waiter = null;
+        }
+        return current;
+    }
+}
@@ -39,7 +39,6 @@
 
 package dioscuri.module;
 
-import dioscuri.interfaces.Addressable;
 import dioscuri.interfaces.Module;
 import dioscuri.interfaces.Updateable;
 import dioscuri.module.ata.ATATranslationType;
@@ -47,7 +46,7 @@ import dioscuri.module.ata.ATATranslationType;
 /**
  * Abstract class representing a ATA module.
  */
-public abstract class ModuleATA extends AbstractModule implements Addressable, Updateable {
+public abstract class ModuleATA extends AbstractAddressableModule implements Updateable {
 
     /**
      *
@@ -69,11 +68,15 @@ public abstract class ModuleATA extends AbstractModule implements Addressable, U
      * @param numSectorsPerTrack
      * @param translationType
      * @param imageFilePath
+     * @param isMapped           true to map the disk image into memory
+     * @param overlayFilePath    file path of a copy-on-write overlay over the
+     *                           disk image, or null to write to the image
      */
     public abstract void initConfig(int theIdeChannel, boolean isMaster,
                                     boolean isHardDisk, boolean isWriteProtected, int numCylinders,
                                     int numHeads, int numSectorsPerTrack,
-                                    ATATranslationType translationType, String imageFilePath);
+                                    ATATranslationType translationType, String imageFilePath,
+                                    boolean isMapped, String overlayFilePath);
 
     /**
      * Set CMOS values
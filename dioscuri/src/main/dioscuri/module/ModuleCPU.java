@@ -41,12 +41,44 @@ package dioscuri.module;
 
 import dioscuri.interfaces.Addressable;
 import dioscuri.interfaces.Module;
+import dioscuri.metrics.Counter;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Interface representing a generic CPU module.
  */
 public abstract class ModuleCPU extends AbstractModule implements Addressable {
 
+    /**
+     * Asynchronous events (interrupt requests, bus hold requests and tasks
+     * posted from other threads) waiting to be handled by this CPU
+     */
+    protected final InterruptMailbox mailbox = new InterruptMailbox();
+
+    /**
+     * Ways in which a halted CPU spends the time until it is woken up
+     */
+    public enum IdleMode {
+        /**
+         * Park the emulation thread until the next device timer is due in
+         * real time, or until an external event such as a key press arrives
+         */
+        WAIT,
+        /**
+         * Skip ahead in emulated time to the next device timer at once
+         */
+        SKIP
+    }
+
+    // Longest time the emulation thread is parked in one go while idle
+    private static final long MAX_IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private volatile IdleMode idleMode = IdleMode.WAIT;
+    private volatile boolean idleLoopDetection;
+    private final Counter idleInstructions = new Counter(); // instructions that passed while idle
+    private long idleCredit; // nanoseconds overslept by earlier waits
+
     /**
      *
      */
@@ -195,4 +227,153 @@ public abstract class ModuleCPU extends AbstractModule implements Addressable {
      *         otherwise
      */
     public abstract boolean isShutdown();
+
+    /**
+     * Schedules the next clock pulse. Instead of pulsing the clock after every
+     * instruction, the CPU counts down the given number of instructions and
+     * only pulses the clock when the next device timer is due.
+     *
+     * @param instructions number of instructions until the next timer goes off
+     * @return number of instructions executed since the clock was last pulsed
+     */
+    public abstract int scheduleClockPulse(int instructions);
+
+    /**
+     * Runs the given task on the emulation thread once the instruction that
+     * is currently executing has completed, so that the task sees a
+     * consistent machine state. If the CPU is not running, the task is run
+     * directly. May be called from any thread; tasks run in the order in
+     * which they were posted.
+     *
+     * @param task the task to run between two instructions
+     */
+    public abstract void runAtInstructionBoundary(Runnable task);
+
+    /**
+     * Sets how a halted CPU spends the time until it is woken up
+     *
+     * @param mode the idle mode
+     */
+    public void setIdleMode(IdleMode mode) {
+        idleMode = mode;
+    }
+
+    /**
+     * Returns how a halted CPU spends the time until it is woken up
+     *
+     * @return the idle mode
+     */
+    public IdleMode getIdleMode() {
+        return idleMode;
+    }
+
+    /**
+     * Enables or disables the detection of BIOS idle loops, such as waiting
+     * for a key press through INT 16h. A detected idle loop is treated as a
+     * halted CPU. Only CPUs that can recognise idle loops honour this
+     * setting.
+     *
+     * @param enabled true to detect idle loops, false otherwise
+     */
+    public void setIdleLoopDetection(boolean enabled) {
+        idleLoopDetection = enabled;
+    }
+
+    /**
+     * Checks if BIOS idle loops are detected
+     *
+     * @return true if idle loops are detected, false otherwise
+     */
+    public boolean isIdleLoopDetection() {
+        return idleLoopDetection;
+    }
+
+    /**
+     * Returns the number of instructions that passed in emulated time while
+     * this CPU was idle
+     *
+     * @return number of idle instructions
+     */
+    public long getIdleInstructions() {
+        return idleInstructions.get();
+    }
+
+    /**
+     * Lets time pass while the CPU is idle, up to the moment the next device
+     * timer goes off or one of the given events is raised. Depending on the
+     * idle mode, the emulation thread is parked for the corresponding real
+     * time or the time is skipped at once. Time is never skipped if no
+     * interrupt can end the wait, as the guest would race through its timers
+     * for nothing.
+     * <p/>
+     * The caller advances its clock by the returned number of instructions
+     * and calls this method again until an event is pending.
+     *
+     * @param events       bitmask of mailbox events that end the wait
+     * @param instructions number of instructions until the next device timer
+     *                     goes off, Long.MAX_VALUE if no timer is running
+     * @return number of instructions that passed in emulated time
+     */
+    protected long idle(int events, long instructions) {
+        if (instructions <= 0) {
+            return 0;
+        }
+
+        if (idleMode == IdleMode.SKIP && instructions != Long.MAX_VALUE
+                && (events & InterruptMailbox.INTERRUPT) != 0) {
+            if ((mailbox.get() & events) != 0) {
+                return 0;
+            }
+            idleInstructions.add(instructions);
+            return instructions;
+        }
+
+        long ips = Math.max(this.getIPS(), 1);
+        long timeout = MAX_IDLE_WAIT;
+        if (instructions < MAX_IDLE_WAIT / 1000 * ips / 1000000) {
+            timeout = instructions * 1000000000L / ips;
+        }
+        if (idleCredit >= timeout && timeout < MAX_IDLE_WAIT) {
+            // An earlier wait overslept, catch up without parking
+            idleCredit -= timeout;
+            idleInstructions.add(instructions);
+            return instructions;
+        }
+
+        long start = System.nanoTime();
+        int pending = mailbox.awaitNanos(events, timeout - idleCredit);
+        long elapsed = System.nanoTime() - start + idleCredit;
+
+        // Time has run out to the deadline unless an event ended the wait.
+        // Parking tends to overshoot short deadlines, the excess is kept as
+        // credit so that emulated time does not fall behind real time.
+        long passed = instructions;
+        if ((pending & events) != 0 || timeout == MAX_IDLE_WAIT) {
+            passed = Math.min(instructions, elapsed * ips / 1000000000L);
+            idleCredit = 0;
+        } else {
+            idleCredit = Math.min(Math.max(elapsed - timeout, 0), MAX_IDLE_WAIT);
+        }
+        idleInstructions.add(passed);
+        return passed;
+    }
+
+    /**
+     * Called by memory when a range marked with
+     * {@link ModuleMemory#markCode(int, int)} is written, so that instructions
+     * cached from it are decoded again. Does nothing by default.
+     *
+     * @param address flat-address of the first byte written
+     * @param length  number of bytes written
+     */
+    public void invalidateCode(int address, int length) {
+    }
+
+    /**
+     * Called by memory when all ranges marked with
+     * {@link ModuleMemory#markCode(int, int)} are no longer valid. Does
+     * nothing by default.
+     */
+    public void invalidateCode() {
+    }
 }
@@ -89,4 +89,20 @@ public abstract class ModuleClock extends AbstractModule {
      */
     public abstract void pulse();
 
+    /**
+     * Advances the clock by the given number of instructions at once and
+     * triggers the update of every device whose timer went off in that period
+     *
+     * @param instructions number of instructions executed since the last pulse
+     */
+    public abstract void pulse(int instructions);
+
+    /**
+     * Returns the number of instructions after which the first running timer
+     * goes off, counted from the last clock pulse
+     *
+     * @return number of instructions, or Long.MAX_VALUE if no timer is running
+     */
+    public abstract long getTimeToNextTimer();
+
 }
@@ -39,7 +39,6 @@
 
 package dioscuri.module;
 
-import dioscuri.interfaces.Addressable;
 import dioscuri.interfaces.Module;
 import dioscuri.module.dma.DMA16Handler;
 import dioscuri.module.dma.DMA8Handler;
@@ -47,7 +46,7 @@ import dioscuri.module.dma.DMA8Handler;
 /**
  * Interface representing a generic DMA module.
  */
-public abstract class ModuleDMA extends AbstractModule implements Addressable {
+public abstract class ModuleDMA extends AbstractAddressableModule {
 
     /**
      *
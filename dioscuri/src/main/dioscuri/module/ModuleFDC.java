@@ -87,6 +87,16 @@ public abstract class ModuleFDC extends AbstractModule implements Addressable, U
      */
     public abstract boolean ejectCarrier(String drive);
 
+    /**
+     * Defines if carriers inserted into a selected drive are mapped into
+     * memory instead of loaded
+     *
+     * @param drive
+     * @param mapped
+     * @return boolean true if the drive exists, false otherwise
+     */
+    public abstract boolean setCarrierMapped(String drive, boolean mapped);
+
     /**
      * Inserts a new carrier into a selected drive
      *
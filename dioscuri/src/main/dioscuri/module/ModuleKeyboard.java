@@ -39,7 +39,6 @@
 
 package dioscuri.module;
 
-import dioscuri.interfaces.Addressable;
 import dioscuri.interfaces.Module;
 import dioscuri.interfaces.Updateable;
 
@@ -48,7 +47,7 @@ import java.awt.event.KeyEvent;
 /**
  * Abstract class representing a generic Keyboard module.
  */
-public abstract class ModuleKeyboard extends AbstractModule implements Addressable, Updateable {
+public abstract class ModuleKeyboard extends AbstractAddressableModule implements Updateable {
 
     /**
      *
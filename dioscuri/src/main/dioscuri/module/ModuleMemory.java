@@ -42,11 +42,31 @@ package dioscuri.module;
 import dioscuri.exception.ModuleException;
 import dioscuri.interfaces.Module;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
 /**
  * Abstract class representing a memory hardware module.
  */
 public abstract class ModuleMemory extends AbstractModule {
 
+    /**
+     * Size of the pages in which the contents of RAM are stored in a snapshot
+     */
+    protected final static int STATE_PAGE_SHIFT = 12;
+    protected final static int STATE_PAGE_SIZE = 1 << STATE_PAGE_SHIFT;
+
+    /**
+     * Size of the lines in which memory holding instructions cached by the
+     * CPU is tracked. Each page has one long, with one bit per line.
+     */
+    private final static int CODE_LINE_SHIFT = 6;
+
+    // Lines holding cached instructions, one long per page
+    private long[] codeLines = new long[0];
+    private ModuleCPU codeOwner;
+
     /**
      *
      */
@@ -99,6 +119,32 @@ public abstract class ModuleMemory extends AbstractModule {
      */
     public abstract void setWord(int address, byte[] value) throws ModuleException;
 
+    /**
+     * Returns the value of a word at a specific address, like getWord, but
+     * without allocating an array for it
+     *
+     * @param address Flat-address where data can be found
+     * @return value of the word (0x0000 - 0xFFFF), 0xFFFF if address outside
+     *         RAM_SIZE range
+     * @throws ModuleException
+     */
+    public int readWord(int address) throws ModuleException {
+        byte[] word = this.getWord(address);
+        return ((word[0] & 0xFF) << 8) | (word[1] & 0xFF);
+    }
+
+    /**
+     * Stores the value of a word at a specific address, like setWord, but
+     * without an array holding it
+     *
+     * @param address Flat-address where data is stored
+     * @param value   value of the word; only the lower 16 bits are used
+     * @throws ModuleException
+     */
+    public void writeWord(int address, int value) throws ModuleException {
+        this.setWord(address, new byte[]{(byte) (value >> 8), (byte) value});
+    }
+
     /**
      * Stores an array of bytes in memory starting at a specific address
      *
@@ -129,4 +175,155 @@ public abstract class ModuleMemory extends AbstractModule {
      * @param ramSizeMB
      */
     public abstract void setRamSizeInMB(int ramSizeMB);
+
+    /**
+     * Returns the array that holds a range of plain RAM, so that string
+     * instructions can read it in bulk. Plain RAM is read without side
+     * effects: the range must not touch the video window, must lie within
+     * the installed memory and must not be aliased by the A20 address line.
+     * The returned array must not be written to.
+     * <p/>
+     * Implementations that can not hand out their storage return null, and
+     * the caller falls back to reading byte by byte.
+     *
+     * @param address flat-address of the first byte
+     * @param length  number of bytes
+     * @return array in which the range starts at index address, or null
+     */
+    public byte[] getRamRange(int address, int length) {
+        return null;
+    }
+
+    /**
+     * Copies a range of plain RAM to another range of plain RAM, with the
+     * semantics of System.arraycopy for overlapping ranges. Nothing is
+     * copied if either range is not plain RAM or the destination lies in
+     * the read-only BIOS area.
+     *
+     * @param source      flat-address of the first byte to copy
+     * @param destination flat-address the first byte is copied to
+     * @param length      number of bytes
+     * @return true if the range has been copied, false otherwise
+     */
+    public boolean copyRange(int source, int destination, int length) {
+        return false;
+    }
+
+    /**
+     * Writes bytes to a range of plain RAM in one go. Nothing is written if
+     * the range is not plain RAM or lies in the read-only BIOS area.
+     *
+     * @param address flat-address of the first byte
+     * @param data    array holding the bytes to write
+     * @param offset  index in data of the first byte
+     * @param length  number of bytes
+     * @return true if the range has been written, false otherwise
+     */
+    public boolean setRange(int address, byte[] data, int offset, int length) {
+        return false;
+    }
+
+    /**
+     * Fills a range of plain RAM with a repeated word, low byte first. A
+     * byte is filled by passing the same value for both halves. Nothing is
+     * written if the range is not plain RAM or lies in the read-only BIOS
+     * area.
+     *
+     * @param address flat-address of the first byte, which gets the low byte
+     * @param length  number of bytes, even unless both halves are the same
+     * @param low     value of the bytes at even distance from address
+     * @param high    value of the bytes at odd distance from address
+     * @return true if the range has been filled, false otherwise
+     */
+    public boolean fillRange(int address, int length, byte low, byte high) {
+        return false;
+    }
+
+    /**
+     * Marks a range of memory as holding instructions that the CPU has cached
+     * in decoded form. Writes to lines in the range are reported to the CPU
+     * through {@link ModuleCPU#invalidateCode(int, int)} from then on.
+     * Memory that is not plain RAM, or that is currently aliased by the A20
+     * address line, can not be tracked.
+     *
+     * @param address flat-address of the first byte of code
+     * @param length  number of bytes of code
+     * @return true if writes to the range will be reported, false otherwise
+     */
+    public boolean markCode(int address, int length) {
+        int end = address + length - 1;
+        if (address < 0 || (address & getA20Mask()) != address
+                || (end & getA20Mask()) != end
+                || (end >= 0xA0000 && address <= 0xBFFFF)) {
+            return false;
+        }
+        if (codeOwner == null) {
+            codeOwner = (ModuleCPU) super.getConnection(Module.Type.CPU);
+        }
+        if ((end >>> STATE_PAGE_SHIFT) >= codeLines.length) {
+            codeLines = Arrays.copyOf(codeLines, (end >>> STATE_PAGE_SHIFT) + 1);
+        }
+        for (int line = address >>> CODE_LINE_SHIFT; line <= end >>> CODE_LINE_SHIFT; line++) {
+            codeLines[line >>> (STATE_PAGE_SHIFT - CODE_LINE_SHIFT)] |= 1L << line;
+        }
+        return true;
+    }
+
+    /**
+     * Reports a write to the CPU if it touches a line holding cached
+     * instructions. Called by implementations on every write to RAM.
+     *
+     * @param address flat-address of the first byte written, A20 applied
+     * @param length  number of bytes written
+     */
+    protected final void codeWritten(int address, int length) {
+        int end = Math.min(address + length, codeLines.length << STATE_PAGE_SHIFT);
+        for (int line = address >> CODE_LINE_SHIFT; line << CODE_LINE_SHIFT < end; line++) {
+            if ((codeLines[line >>> (STATE_PAGE_SHIFT - CODE_LINE_SHIFT)] & (1L << line)) != 0) {
+                codeOwner.invalidateCode(address, length);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forgets all cached instructions, for instance because the A20 address
+     * line changed or the contents of memory were replaced as a whole.
+     */
+    protected final void clearCode() {
+        if (codeOwner != null) {
+            Arrays.fill(codeLines, 0);
+            codeOwner.invalidateCode();
+        }
+    }
+
+    /**
+     * Returns the mask applied to every address for the A20 address line
+     *
+     * @return 0xFFFFFFFF if the A20 address line is enabled, 0xFFEFFFFF
+     *         otherwise
+     */
+    protected abstract int getA20Mask();
+
+    /**
+     * Writes every page of the given RAM block that contains a non-zero byte,
+     * preceded by its address. Pages filled with zeroes are left out.
+     *
+     * @param output  the stream to write the pages to
+     * @param block   RAM contents, starting at address
+     * @param address flat-address of the first byte in block
+     * @throws IOException
+     */
+    protected static void dumpPages(DataOutput output, byte[] block, int address) throws IOException {
+        for (int offset = 0; offset < block.length; offset += STATE_PAGE_SIZE) {
+            int length = Math.min(STATE_PAGE_SIZE, block.length - offset);
+            for (int i = offset; i < offset + length; i++) {
+                if (block[i] != 0) {
+                    output.writeInt(address + offset);
+                    output.write(block, offset, length);
+                    break;
+                }
+            }
+        }
+    }
 }
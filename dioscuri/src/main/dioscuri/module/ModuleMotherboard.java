@@ -41,13 +41,14 @@ package dioscuri.module;
 
 import dioscuri.exception.ModuleException;
 import dioscuri.interfaces.Addressable;
+import dioscuri.interfaces.IntAddressable;
 import dioscuri.interfaces.Module;
 import dioscuri.interfaces.Updateable;
 
 /**
  * Abstract class representing a generic motherboard module.
  */
-public abstract class ModuleMotherboard extends AbstractModule implements Addressable {
+public abstract class ModuleMotherboard extends AbstractModule implements IntAddressable {
 
     public int ioSpaceSize;
 
@@ -150,6 +151,62 @@ public abstract class ModuleMotherboard extends AbstractModule implements Addres
     @Override
     public abstract void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord) throws ModuleException;
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public abstract int readByte(int portAddress) throws ModuleException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public abstract int readWord(int portAddress) throws ModuleException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public abstract int readDword(int portAddress) throws ModuleException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public abstract void readWords(int portAddress, short[] dst, int offset, int count) throws ModuleException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public abstract void writeByte(int portAddress, int value) throws ModuleException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public abstract void writeWord(int portAddress, int value) throws ModuleException;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public abstract void writeDword(int portAddress, int value) throws ModuleException;
+
     /**
      * Get value of A20 address line
      *
@@ -39,13 +39,12 @@
 
 package dioscuri.module;
 
-import dioscuri.interfaces.Addressable;
 import dioscuri.interfaces.Module;
 
 /**
  * Abstract class representing a generic PIC module.
  */
-public abstract class ModulePIC extends AbstractModule implements Addressable {
+public abstract class ModulePIC extends AbstractAddressableModule {
 
     /**
      *
@@ -39,14 +39,13 @@
 
 package dioscuri.module;
 
-import dioscuri.interfaces.Addressable;
 import dioscuri.interfaces.Module;
 import dioscuri.interfaces.Updateable;
 
 /**
  * Abstract class representing a generic PIT module.
  */
-public abstract class ModulePIT extends AbstractModule implements Addressable, Updateable {
+public abstract class ModulePIT extends AbstractAddressableModule implements Updateable {
 
     /**
      *
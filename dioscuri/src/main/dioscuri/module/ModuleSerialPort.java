@@ -39,7 +39,6 @@
 
 package dioscuri.module;
 
-import dioscuri.interfaces.Addressable;
 import dioscuri.interfaces.Module;
 import dioscuri.interfaces.UART;
 import dioscuri.interfaces.Updateable;
@@ -47,7 +46,7 @@ import dioscuri.interfaces.Updateable;
 /**
  * Abstract class representing a generic serial port module.
  */
-public abstract class ModuleSerialPort extends AbstractModule implements Addressable, Updateable {
+public abstract class ModuleSerialPort extends AbstractAddressableModule implements Updateable {
 
     /**
      *
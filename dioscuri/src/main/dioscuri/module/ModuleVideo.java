@@ -39,14 +39,13 @@
 
 package dioscuri.module;
 
-import dioscuri.interfaces.Addressable;
 import dioscuri.interfaces.Module;
 import dioscuri.interfaces.Updateable;
 
 /**
  * Abstract class representing a generic video module.
  */
-public abstract class ModuleVideo extends AbstractModule implements Addressable, Updateable {
+public abstract class ModuleVideo extends AbstractAddressableModule implements Updateable {
 
     /**
      *
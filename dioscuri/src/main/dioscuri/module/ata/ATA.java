@@ -56,6 +56,8 @@ import dioscuri.module.ModuleMotherboard;
 import dioscuri.module.ModulePIC;
 import dioscuri.module.ModuleRTC;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
 import java.util.logging.Level;
@@ -82,7 +84,7 @@ public class ATA extends ModuleATA {
 
     private static final Logger logger = Logger.getLogger(ATA.class.getName());
 
-    private static int hdDriveCount = 0;
+    private int hdDriveCount = 0;
 
     // Attributes
     private Emulator emu;
@@ -158,6 +160,65 @@ public class ATA extends ModuleATA {
 
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The contents of the disks are not part of the state; the same disk
+     * images have to be loaded when the state is restored.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        output.writeInt(curChannelIndex);
+        output.writeInt(bulkIOHostAddr);
+        output.writeInt(bulkIOQuantumsRequested);
+        output.writeInt(bulkIOQuantumsTransferred);
+        for (ATAChannel channel : channels) {
+            channel.dumpState(output);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        curChannelIndex = input.readInt();
+        bulkIOHostAddr = input.readInt();
+        bulkIOQuantumsRequested = input.readInt();
+        bulkIOQuantumsTransferred = input.readInt();
+        for (ATAChannel channel : channels) {
+            channel.loadState(input);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void stop() {
+        // Make sure all data written to the disks is stored in the image files
+        for (int i = 0; i < channels.length; i++) {
+            for (int j = 0; j < channels[i].getDrives().length; j++) {
+                ATADrive drive = channels[i].getDrives()[j];
+                if (drive != null && drive.containsDisk()) {
+                    try {
+                        drive.closeImage();
+                    } catch (IOException e) {
+                        logger.log(Level.SEVERE, "[" + super.getType() + "]"
+                                + " Channel " + i + ", drive " + j
+                                + ": could not store data in disk image.");
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -254,6 +315,9 @@ public class ATA extends ModuleATA {
                     } else {
                         // bx_gui->statusbar_setitem(BX_HD_THIS
                         // channels[channel].drives[device].statusbar_id, 0);
+
+                        // The drive went idle, store the writes held back
+                        flushImage(channels[channelIndex].getDrives()[deviceIndex]);
                     }
 
                 }
@@ -261,102 +325,209 @@ public class ATA extends ModuleATA {
         }
     }
 
+    /**
+     * Store the pending writes of a drive in its disk image.
+     *
+     * @param drive
+     */
+    private void flushImage(ATADrive drive) {
+        try {
+            drive.flushImage();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[" + super.getType() + "]"
+                    + "  could not flush hard drive image file: "
+                    + e.getMessage());
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte getIOPortByte(int originalPortAddress) throws ModuleException,
+    public int readByte(int portAddress) throws ModuleException,
             UnknownPortException, WriteOnlyPortException {
         logger.log(Level.CONFIG, "[" + super.getType() + "]"
                 + "  IN command (byte) to port "
-                + Integer.toHexString(originalPortAddress).toUpperCase()
+                + Integer.toHexString(portAddress).toUpperCase()
                 + " received");
 
-        return read(originalPortAddress, 1)[0];
+        return read(portAddress, 1)[0] & 0xFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortByte(int originalAddress, byte data)
-            throws ModuleException, UnknownPortException {
+    public void writeByte(int portAddress, int value) throws ModuleException,
+            UnknownPortException {
         logger.log(Level.CONFIG, "[" + super.getType() + "]"
                 + "  OUT command (byte: "
-                + Integer.toHexString(data).toUpperCase() + ") to port "
-                + Integer.toHexString(originalAddress).toUpperCase()
+                + Integer.toHexString((byte) value).toUpperCase() + ") to port "
+                + Integer.toHexString(portAddress).toUpperCase()
                 + " received.");
-        byte[] dataArray = {data};
+        byte[] dataArray = {(byte) value};
 
-        write(originalAddress, dataArray, 1);
+        write(portAddress, dataArray, 1);
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortWord(int portAddress) throws ModuleException,
+    public int readWord(int portAddress) throws ModuleException,
             UnknownPortException, WriteOnlyPortException {
-        logger.log(Level.CONFIG, "[" + super.getType() + "]"
-                + "  IN command (word) to port "
-                + Integer.toHexString(portAddress).toUpperCase() + " received");
+        ATADriveController controller = getPioController(portAddress, 2,
+                false);
+        if (controller == null) {
+            logger.log(Level.CONFIG, "[" + super.getType() + "]"
+                    + "  IN command (word) to port "
+                    + Integer.toHexString(portAddress).toUpperCase()
+                    + " received");
+            byte[] word = read(portAddress, 2);
+            return ((word[0] & 0xFF) << 8) | (word[1] & 0xFF);
+        }
+
+        // Take the word before the next sectors may be loaded over it
+        byte[] buffer = controller.getBuffer();
+        int index = controller.getBufferIndex();
+        int word = ((buffer[index] & 0xFF) << 8) | (buffer[index + 1] & 0xFF);
+        controller.setBufferIndex(index + 2);
+        readSectorsCompleted();
 
-        return read(portAddress, 2);
+        return word;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortWord(int portAddress, byte[] dataWord)
-            throws ModuleException, UnknownPortException {
-        logger
-                .log(Level.CONFIG, "[" + super.getType() + "]"
-                        + "  OUT command (word) to port "
-                        + Integer.toHexString(portAddress).toUpperCase()
-                        + " received.");
+    public void readWords(int portAddress, short[] dst, int offset, int count)
+            throws ModuleException, UnknownPortException,
+            WriteOnlyPortException {
+        int done = 0;
+        while (done < count) {
+            ATADriveController controller = getPioController(portAddress, 2,
+                    false);
+            if (controller == null) {
+                dst[offset + done] = (short) readWord(portAddress);
+                done++;
+                continue;
+            }
+
+            // Copy up to the end of the controller buffer, then let the
+            // controller load the next sectors
+            byte[] buffer = controller.getBuffer();
+            int index = controller.getBufferIndex();
+            int words = Math.min(count - done,
+                    (controller.getBufferSize() - index) / 2);
+            for (int i = 0; i < words; i++) {
+                dst[offset + done + i] = (short) (((buffer[index] & 0xFF) << 8)
+                        | (buffer[index + 1] & 0xFF));
+                index += 2;
+            }
+            done += words;
+            controller.setBufferIndex(index);
+            readSectorsCompleted();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public void writeWord(int portAddress, int value) throws ModuleException,
+            UnknownPortException {
+        ATADriveController controller = getPioController(portAddress, 2,
+                true);
+        if (controller == null) {
+            logger.log(Level.CONFIG, "[" + super.getType() + "]"
+                    + "  OUT command (word) to port "
+                    + Integer.toHexString(portAddress).toUpperCase()
+                    + " received.");
+            write(portAddress, new byte[]{(byte) (value >> 8), (byte) value},
+                    2);
+            return;
+        }
 
-        write(portAddress, dataWord, 2);
+        byte[] buffer = controller.getBuffer();
+        int index = controller.getBufferIndex();
+        buffer[index] = (byte) (value >> 8);
+        buffer[index + 1] = (byte) value;
+        controller.setBufferIndex(index + 2);
+        writeSectorsCompleted(curChannelIndex);
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortDoubleWord(int portAddress) throws ModuleException,
+    public int readDword(int portAddress) throws ModuleException,
             UnknownPortException, WriteOnlyPortException {
-        logger.log(Level.CONFIG, "[" + super.getType() + "]"
-                + "  IN command (double word) to port "
-                + Integer.toHexString(portAddress).toUpperCase() + " received");
+        ATADriveController controller = getPioController(portAddress, 4,
+                false);
+        if (controller == null) {
+            logger.log(Level.CONFIG, "[" + super.getType() + "]"
+                    + "  IN command (double word) to port "
+                    + Integer.toHexString(portAddress).toUpperCase()
+                    + " received");
+            byte[] doubleWord = read(portAddress, 4);
+            return (doubleWord[0] & 0xFF) | ((doubleWord[1] & 0xFF) << 8)
+                    | ((doubleWord[2] & 0xFF) << 16)
+                    | ((doubleWord[3] & 0xFF) << 24);
+        }
 
-        return read(portAddress, 4);
+        byte[] buffer = controller.getBuffer();
+        int index = controller.getBufferIndex();
+        int doubleWord = (buffer[index] & 0xFF)
+                | ((buffer[index + 1] & 0xFF) << 8)
+                | ((buffer[index + 2] & 0xFF) << 16)
+                | ((buffer[index + 3] & 0xFF) << 24);
+        controller.setBufferIndex(index + 4);
+        readSectorsCompleted();
+
+        return doubleWord;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
-            throws ModuleException, UnknownPortException {
-        logger
-                .log(Level.CONFIG, "[" + super.getType() + "]"
-                        + "  OUT command (double word) to port "
-                        + Integer.toHexString(portAddress).toUpperCase()
-                        + " received.");
+    public void writeDword(int portAddress, int value) throws ModuleException,
+            UnknownPortException {
+        ATADriveController controller = getPioController(portAddress, 4,
+                true);
+        if (controller == null) {
+            logger.log(Level.CONFIG, "[" + super.getType() + "]"
+                    + "  OUT command (double word) to port "
+                    + Integer.toHexString(portAddress).toUpperCase()
+                    + " received.");
+            write(portAddress, new byte[]{(byte) value, (byte) (value >> 8),
+                    (byte) (value >> 16), (byte) (value >> 24)}, 4);
+            return;
+        }
 
-        write(portAddress, dataDoubleWord, 4);
+        byte[] buffer = controller.getBuffer();
+        int index = controller.getBufferIndex();
+        buffer[index] = (byte) value;
+        buffer[index + 1] = (byte) (value >> 8);
+        buffer[index + 2] = (byte) (value >> 16);
+        buffer[index + 3] = (byte) (value >> 24);
+        controller.setBufferIndex(index + 4);
+        writeSectorsCompleted(curChannelIndex);
     }
 
     /**
@@ -368,7 +539,8 @@ public class ATA extends ModuleATA {
     public void initConfig(int theIdeChannel, boolean isMaster,
                            boolean isHardDisk, boolean isWriteProtected, int numCylinders,
                            int numHeads, int numSectorsPerTrack,
-                           ATATranslationType translationType, String imageFilePath) {
+                           ATATranslationType translationType, String imageFilePath,
+                           boolean isMapped, String overlayFilePath) {
 
         // Initialise controller variables
 
@@ -392,7 +564,7 @@ public class ATA extends ModuleATA {
                 sectorsPerBlock);
         drive.setIsMaster(isMaster);
         drive.setTranslationType(translationType);
-        this.loadDiskImage(imageFilePath, drive);
+        this.loadDiskImage(imageFilePath, drive, isMapped, overlayFilePath);
         channels[theIdeChannel].setDisk(drive);
 
         // Do checks
@@ -690,6 +862,60 @@ public class ATA extends ModuleATA {
         return this.curChannelIndex;
     }
 
+    /**
+     * Get a drive that contains a disk
+     *
+     * @param channelIndex the IDE channel
+     * @param deviceIndex  master (0) or slave (1)
+     * @return the drive, or null if there is no disk at this position
+     */
+    public ATADrive getDrive(int channelIndex, int deviceIndex) {
+        if (channels[channelIndex] == null) {
+            return null;
+        }
+        ATADrive drive = channels[channelIndex].getDrives()[deviceIndex];
+        return drive != null && drive.containsDisk() ? drive : null;
+    }
+
+    /**
+     * Get a hard disk by its BIOS number. Hard disks are numbered like the
+     * BIOS does, in order of channel and master before slave.
+     *
+     * @param index the BIOS drive number minus 80h
+     * @return the hard disk, or null if there are not that many hard disks
+     */
+    public ATADrive getHardDisk(int index) {
+        for (int channelIndex = 0; channelIndex < channels.length; channelIndex++) {
+            for (int deviceIndex = 0; deviceIndex < ATAConstants.MAX_NUMBER_DRIVES_PER_CHANNEL; deviceIndex++) {
+                ATADrive drive = this.getDrive(channelIndex, deviceIndex);
+                if (drive != null && drive.getDriveType() == ATADriveType.HARD_DISK
+                        && index-- == 0) {
+                    return drive;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if a CD-ROM drive is attached
+     *
+     * @return true if any channel has a CD-ROM drive, false otherwise
+     */
+    public boolean hasCdromDrive() {
+        for (ATAChannel channel : channels) {
+            if (channel == null) {
+                continue;
+            }
+            for (ATADrive drive : channel.getDrives()) {
+                if (drive != null && drive.getDriveType() == ATADriveType.CDROM) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Get the selected channel
      *
@@ -718,17 +944,75 @@ public class ATA extends ModuleATA {
         return getSelectedDrive().getControl();
     }
 
+    /**
+     * Get the controller whose sector buffer a PIO data transfer on this port
+     * can use directly. This is the case while a READ/WRITE SECTORS or
+     * MULTIPLE command has data ready and the buffer holds the whole transfer;
+     * everything else goes through read() and write().
+     *
+     * @param portAddress
+     * @param ioLength    2 or 4 bytes
+     * @param write       true for a transfer to the drive
+     * @return the controller, or null if the transfer has to take the generic
+     *         path
+     */
+    private ATADriveController getPioController(int portAddress, int ioLength,
+                                                boolean write) {
+        if (bulkIOQuantumsRequested > 0 && ATAConstants.SUPPORT_REPEAT_SPEEDUPS) {
+            return null;
+        }
+
+        for (int channelIndex = 0; channelIndex < ATAConstants.MAX_NUMBER_IDE_CHANNELS; channelIndex++) {
+            if (portAddress != channels[channelIndex].getIoAddress1()) {
+                continue;
+            }
+
+            ATADriveController controller = channels[channelIndex]
+                    .getSelectedController();
+            if (controller.getStatus().getDrq() == 0
+                    || controller.getBufferIndex() + ioLength > controller
+                    .getBufferSize()) {
+                return null;
+            }
+
+            byte command = (byte) controller.getCurrentCommand();
+            boolean sectorCommand;
+            if (write) {
+                sectorCommand = command == ATACommand.WRITE_SECTORS_WITH_RETRY.getAddress()
+                        || command == ATACommand.WRITE_MULTIPLE.getAddress();
+            } else {
+                sectorCommand = command == ATACommand.READ_SECTORS_WITH_RETRY.getAddress()
+                        || command == ATACommand.READ_SECTORS_WITHOUT_RETRY.getAddress()
+                        || command == ATACommand.READ_MULTIPLE.getAddress();
+            }
+            if (!sectorCommand) {
+                return null;
+            }
+
+            this.curChannelIndex = channelIndex;
+            return controller;
+        }
+        return null;
+    }
+
     /**
      * Load disk Image.
      *
      * @param imageFilePath the file path of the disk image
+     * @param isMapped        true to map the disk image into memory
+     * @param overlayFilePath the file path of the overlay, or null if none
      * @return true if load successful
      */
-    private boolean loadDiskImage(String imageFilePath, ATADrive drive) {
+    private boolean loadDiskImage(String imageFilePath, ATADrive drive,
+                                  boolean isMapped, String overlayFilePath) {
         try {
 
             File imageFile = new File(imageFilePath);
-            drive.loadImage(imageFile);
+            if (overlayFilePath != null) {
+                drive.loadImage(imageFile, new File(overlayFilePath));
+            } else {
+                drive.loadImage(imageFile, isMapped);
+            }
 
             logger.log(Level.WARNING, "[" + super.getType() + "]" + "  Disk \""
                     + imageFile.getName() + "\" is successfully loaded.");
@@ -1125,6 +1409,16 @@ public class ATA extends ModuleATA {
 
         }
 
+        readSectorsCompleted();
+
+        return value;
+    }
+
+    /**
+     * Read in the next sectors once the host has read the whole controller
+     * buffer.
+     */
+    private void readSectorsCompleted() {
         // if buffer completely read
         if (channels[this.curChannelIndex].getSelectedController()
                 .getBufferIndex() >= channels[this.curChannelIndex]
@@ -1177,8 +1471,6 @@ public class ATA extends ModuleATA {
             }
 
         }
-
-        return value;
     }
 
     /**
@@ -1409,6 +1701,15 @@ public class ATA extends ModuleATA {
 
         }
 
+        writeSectorsCompleted(channel);
+    }
+
+    /**
+     * Write the controller buffer to disk once the host has filled it.
+     *
+     * @param channel
+     */
+    private void writeSectorsCompleted(int channel) {
         /* if buffer completely written */
         if (getSelectedDriveController().getBufferIndex() >= getSelectedDriveController()
                 .getBufferSize()) {
@@ -1416,7 +1717,7 @@ public class ATA extends ModuleATA {
             if (ideWriteData(curChannelIndex, getSelectedDriveController()
                     .getBuffer(), getSelectedDriveController().getBufferSize())) {
 
-                if (getSelectedDriveController().getCurrentCommand() == (byte) 0xC5) {
+                if ((byte) getSelectedDriveController().getCurrentCommand() == (byte) 0xC5) {
                     if (getSelectedDrive().getSectorCount() > getSelectedDriveController()
                             .getMultipleSectors()) {
                         getSelectedDriveController().setBufferSize(
@@ -1982,6 +2283,9 @@ public class ATA extends ModuleATA {
 
     /**
      * Read Data from disk image into buffer.
+     * <p/>
+     * Sectors with consecutive logical addresses are read from the image in
+     * one transfer, directly into their place in the buffer.
      *
      * @param channel
      * @param buffer
@@ -1996,6 +2300,12 @@ public class ATA extends ModuleATA {
 
         int sectorCount = (bufferSize / 512);
 
+        // Run of consecutive sectors that still has to be read
+        int runStart = 0;
+        int runLength = 0;
+        int runBufferOffset = 0;
+        int bufferOffset = 0;
+
         do {
             if (!getSelectedDrive().calculateLogicalAddress(logicalSector)) {
 
@@ -2009,47 +2319,75 @@ public class ATA extends ModuleATA {
 
             logicalSector = getSelectedDrive().calculateLogicalAddress();
 
+            if (runLength > 0 && logicalSector != runStart + runLength) {
+                if (!ideReadSectors(channel, buffer, runBufferOffset, runStart,
+                        runLength)) {
+                    return false;
+                }
+                runLength = 0;
+            }
+            if (runLength == 0) {
+                runStart = logicalSector;
+                runBufferOffset = bufferOffset;
+            }
+            runLength++;
+            bufferOffset += 512;
+
             getSelectedDrive().setIoLightCounter(5);
 
             motherboard.resetTimer(this, updateInterval);
             motherboard.setTimerActiveState(this, true);
 
-            try {
-                int hdNum = getSelectedDrive().hdNumber;
+            channels[channel].getSelectedDrive().incrementAddress();
 
-                if (hdNum == 1) emu.statusChanged(Emulator.MODULE_ATA_HD1_TRANSFER_START);
-                if (hdNum == 2) emu.statusChanged(Emulator.MODULE_ATA_HD2_TRANSFER_START);
+        } while (--sectorCount > 0);
 
-                byte[] theData = getSelectedDrive().readData(
-                        getSelectedDriveController().getBuffer(),
-                        logicalSector * 512, 512);
+        return ideReadSectors(channel, buffer, runBufferOffset, runStart,
+                runLength);
+    }
 
-                for (int i = 0; i < theData.length; i++) {
-                    getSelectedDriveController().setBuffer(i, theData[i]);
-                }
+    /**
+     * Read a run of consecutive sectors from disk image into buffer.
+     *
+     * @param channel
+     * @param buffer
+     * @param bufferOffset  offset in buffer of the first sector
+     * @param logicalSector logical address of the first sector
+     * @param numSectors    number of sectors to read
+     * @return true if read successful / false if failed
+     */
+    private boolean ideReadSectors(int channel, byte[] buffer,
+                                   int bufferOffset, int logicalSector, int numSectors) {
+        try {
+            int hdNum = getSelectedDrive().hdNumber;
 
-                if (hdNum == 1) emu.statusChanged(Emulator.MODULE_ATA_HD1_TRANSFER_STOP);
-                if (hdNum == 2) emu.statusChanged(Emulator.MODULE_ATA_HD2_TRANSFER_STOP);
+            if (hdNum == 1) emu.statusChanged(Emulator.MODULE_ATA_HD1_TRANSFER_START);
+            if (hdNum == 2) emu.statusChanged(Emulator.MODULE_ATA_HD2_TRANSFER_START);
 
-            } catch (IOException e) {
-                logger.log(Level.SEVERE, "[" + super.getType() + "]"
-                        + "  logical sector was " + logicalSector + ".");
-                logger.log(Level.SEVERE, "[" + super.getType() + "]"
-                        + "  could not read() hard drive image file at byte "
-                        + logicalSector * 512 + ".");
+            getSelectedDrive().readData(buffer, bufferOffset,
+                    (long) logicalSector * 512, numSectors * 512);
 
-                abortCommand(channel, channels[channel].getSelectedController().getCurrentCommand());
-                return false;
-            }
-            channels[channel].getSelectedDrive().incrementAddress();
+            if (hdNum == 1) emu.statusChanged(Emulator.MODULE_ATA_HD1_TRANSFER_STOP);
+            if (hdNum == 2) emu.statusChanged(Emulator.MODULE_ATA_HD2_TRANSFER_STOP);
 
-        } while (--sectorCount > 0);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[" + super.getType() + "]"
+                    + "  logical sector was " + logicalSector + ".");
+            logger.log(Level.SEVERE, "[" + super.getType() + "]"
+                    + "  could not read() hard drive image file at byte "
+                    + (long) logicalSector * 512 + ".");
 
+            abortCommand(channel, channels[channel].getSelectedController().getCurrentCommand());
+            return false;
+        }
         return true;
     }
 
     /**
      * Write data from buffer to disk image.
+     * <p/>
+     * Sectors with consecutive logical addresses are written to the image in
+     * one transfer, directly from their place in the buffer.
      *
      * @param channel
      * @param buffer
@@ -2064,6 +2402,12 @@ public class ATA extends ModuleATA {
 
         int sectorCount = (bufferSize / 512);
 
+        // Run of consecutive sectors that still has to be written
+        int runStart = 0;
+        int runLength = 0;
+        int runBufferOffset = 0;
+        int bufferOffset = 0;
+
         do {
 
             if (!getSelectedDrive().calculateLogicalAddress(logicalSector)) {
@@ -2071,6 +2415,12 @@ public class ATA extends ModuleATA {
                 logger.log(Level.WARNING, "[" + super.getType() + "]"
                         + "  IO write reached invalid sector " + logicalSector
                         + ", aborting.");
+                // The sectors before the invalid one are still written
+                if (runLength > 0
+                        && !ideWriteSectors(channel, buffer, runBufferOffset,
+                        runStart, runLength)) {
+                    return false;
+                }
                 abortCommand(channel, getSelectedDriveController()
                         .getCurrentCommand());
                 return false;
@@ -2078,36 +2428,24 @@ public class ATA extends ModuleATA {
 
             logicalSector = getSelectedDrive().calculateLogicalAddress();
 
+            if (runLength > 0 && logicalSector != runStart + runLength) {
+                if (!ideWriteSectors(channel, buffer, runBufferOffset,
+                        runStart, runLength)) {
+                    return false;
+                }
+                runLength = 0;
+            }
+            if (runLength == 0) {
+                runStart = logicalSector;
+                runBufferOffset = bufferOffset;
+            }
+            runLength++;
+            bufferOffset += 512;
+
             getSelectedDrive().setIoLightCounter(5);
             motherboard.resetTimer(this, updateInterval);
             motherboard.setTimerActiveState(this, true);
 
-            try {
-                // Update status to emulator
-                emu.statusChanged(Emulator.MODULE_ATA_HD1_TRANSFER_START);
-
-                getSelectedDrive().writeData(
-                        getSelectedDriveController().getBuffer(),
-                        logicalSector * 512, 512);
-
-                // Update status to emulator
-                emu.statusChanged(Emulator.MODULE_ATA_HD1_TRANSFER_STOP);
-
-            } catch (IOException e) {
-                logger
-                        .log(
-                                Level.SEVERE,
-                                "["
-                                        + super.getType()
-                                        + "]"
-                                        + "  IO write could not write()hard drive image file at byte "
-                                        + logicalSector * 512 + ", aborting.");
-
-                abortCommand(channel, getSelectedDriveController()
-                        .getCurrentCommand());
-                return false;
-            }
-
             /*
              * update sector count, sector number, cylinder, drive, head, status
              * if there are more sectors, read next one in...
@@ -2116,6 +2454,41 @@ public class ATA extends ModuleATA {
 
         } while (--sectorCount > 0);
 
+        return ideWriteSectors(channel, buffer, runBufferOffset, runStart,
+                runLength);
+    }
+
+    /**
+     * Write a run of consecutive sectors from buffer to disk image.
+     *
+     * @param channel
+     * @param buffer
+     * @param bufferOffset  offset in buffer of the first sector
+     * @param logicalSector logical address of the first sector
+     * @param numSectors    number of sectors to write
+     * @return true if write successful / false if failed
+     */
+    private boolean ideWriteSectors(int channel, byte[] buffer,
+                                    int bufferOffset, int logicalSector, int numSectors) {
+        try {
+            // Update status to emulator
+            emu.statusChanged(Emulator.MODULE_ATA_HD1_TRANSFER_START);
+
+            getSelectedDrive().writeData(buffer, bufferOffset,
+                    (long) logicalSector * 512, numSectors * 512);
+
+            // Update status to emulator
+            emu.statusChanged(Emulator.MODULE_ATA_HD1_TRANSFER_STOP);
+
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "[" + super.getType() + "]"
+                    + "  IO write could not write() hard drive image file at byte "
+                    + (long) logicalSector * 512 + ", aborting.");
+
+            abortCommand(channel, getSelectedDriveController()
+                    .getCurrentCommand());
+            return false;
+        }
         return true;
     }
 
@@ -3580,7 +3953,7 @@ public class ATA extends ModuleATA {
                     break;
                 }
 
-                if (data[0] == (byte) 0xC5) {
+                if ((byte) data[0] == (byte) 0xC5) {
 
                     if (getSelectedDriveController().getMultipleSectors() == 0) {
                         abortCommand(curChannelIndex, data[0]);
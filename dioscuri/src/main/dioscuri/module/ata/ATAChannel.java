@@ -49,6 +49,9 @@ import dioscuri.interfaces.Module;
 import dioscuri.module.ModuleMotherboard;
 import dioscuri.module.ModulePIC;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -314,4 +317,30 @@ public class ATAChannel {
     public boolean isMasterSelected() {
         return selectedDriveIndex == IDE_MASTER_INDEX;
     }
+
+    /**
+     * Writes the state of this channel and its drives to the given output
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        output.writeInt(selectedDriveIndex);
+        for (ATADrive drive : drives) {
+            drive.dumpState(output);
+        }
+    }
+
+    /**
+     * Reads the state of this channel and its drives from the given input
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        selectedDriveIndex = input.readInt();
+        for (ATADrive drive : drives) {
+            drive.loadState(input);
+        }
+    }
 }
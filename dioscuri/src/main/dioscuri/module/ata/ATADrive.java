@@ -46,7 +46,10 @@
 package dioscuri.module.ata;
 
 import dioscuri.exception.StorageDeviceException;
+import dioscuri.metrics.Counter;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
 
@@ -85,10 +88,12 @@ public class ATADrive {
     protected boolean isMaster; // Is the drive the master?
 
     // Disk parameters
-    private DiskImage disk; // Disk in drive (if any, else null)
+    private AbstractDiskImage disk; // Disk in drive (if any, else null)
     protected boolean containsDisk;
     protected boolean isWriteProtected; // Indicates if the floppy is write protected
     protected int ioLightCounter;
+    private final Counter bytesRead = new Counter();
+    private final Counter bytesWritten = new Counter();
     protected int statusbarId;
     protected int features;
 
@@ -264,10 +269,9 @@ public class ATADrive {
         this.decrementSectorCount();
 
         if (this.getControl().getLbaMode() > 0) {
-            Integer currentAddressObj = new Integer(0);
-            calculateLogicalAddress(currentAddressObj);
-
-            int currentAddress = currentAddressObj.intValue();
+            int currentAddress = (this.getCurrentHead()) << 24
+                    | (this.getCurrentCylinder()) << 8
+                    | this.getCurrentSector();
             currentAddress++;
 
             int newCurrentHead = (currentAddress >> 24) & 0xf;
@@ -455,6 +459,7 @@ public class ATADrive {
         // Copy bytes from floppy to buffer
         if (this.containsDisk()) {
             dataRead = disk.readFromImage(diskBuffer, offset, totalBytes);
+            bytesRead.add(totalBytes);
 
             // TODO: check - sector count to update?
             // currentSector = currentSector + (totalBytes / 512);
@@ -466,6 +471,25 @@ public class ATADrive {
         return dataRead;
     }
 
+    /**
+     * Reads data from the disk image into a part of the disk buffer.
+     *
+     * @param diskBuffer   the disk buffer
+     * @param bufferOffset offset in the disk buffer of the first byte read
+     * @param offset       the offset in the disk image
+     * @param totalBytes   the total number of bytes
+     * @throws IOException
+     */
+    public void readData(byte[] diskBuffer, int bufferOffset, long offset,
+                         int totalBytes) throws IOException {
+        if (this.containsDisk()) {
+            disk.readFromImage(diskBuffer, bufferOffset, offset, totalBytes);
+            bytesRead.add(totalBytes);
+        } else {
+            throw new IOException("Error: drive does not contain a disk");
+        }
+    }
+
     /**
      * Writes data to the disk image.
      *
@@ -479,6 +503,7 @@ public class ATADrive {
         // Copy bytes from buffer to floppy
         if (this.containsDisk() && !isWriteProtected) {
             disk.writeToImage(diskBuffer, offset, totalBytes);
+            bytesWritten.add(totalBytes);
 
             // TODO: check - sector count to update?
             // currentSector = currentSector + (totalBytes / 512);
@@ -489,6 +514,48 @@ public class ATADrive {
         }
     }
 
+    /**
+     * Writes a part of the disk buffer to the disk image.
+     *
+     * @param diskBuffer   the disk buffer
+     * @param bufferOffset offset in the disk buffer of the first byte to write
+     * @param offset       the offset in the disk image
+     * @param totalBytes   the total number of bytes
+     * @throws IOException
+     */
+    public void writeData(byte[] diskBuffer, int bufferOffset, long offset,
+                          int totalBytes) throws IOException {
+        if (this.containsDisk() && !isWriteProtected) {
+            disk.writeToImage(diskBuffer, bufferOffset, offset, totalBytes);
+            bytesWritten.add(totalBytes);
+        } else {
+            throw new IOException(
+                    "Error: drive does not contain a disk or is write protected");
+        }
+    }
+
+    /**
+     * Stores all pending writes in the disk image file.
+     *
+     * @throws IOException
+     */
+    public void flushImage() throws IOException {
+        if (this.containsDisk()) {
+            disk.flush();
+        }
+    }
+
+    /**
+     * Stores all pending writes in the disk image file and releases the file.
+     *
+     * @throws IOException
+     */
+    public void closeImage() throws IOException {
+        if (this.containsDisk()) {
+            disk.close();
+        }
+    }
+
     /**
      * Load disk image.
      *
@@ -496,15 +563,58 @@ public class ATADrive {
      * @throws StorageDeviceException
      */
     public void loadImage(File imageFile) throws StorageDeviceException {
+        this.loadImage(imageFile, false);
+    }
+
+    /**
+     * Load disk image, optionally mapping it into memory.
+     *
+     * @param imageFile The disk image file
+     * @param isMapped  true to map the image instead of caching it
+     * @throws StorageDeviceException
+     */
+    public void loadImage(File imageFile, boolean isMapped)
+            throws StorageDeviceException {
         try {
+            // Release the previous image, if any
+            this.closeImage();
+
             // Create new virtual floppy
-            disk = new DiskImage(imageFile);
+            if (isMapped) {
+                disk = new MappedDiskImage(imageFile);
+            } else {
+                disk = new DiskImage(imageFile);
+                disk.setWriteBack(true);
+            }
 
         } catch (IOException e) {
             throw new StorageDeviceException("Disk could not be loaded.");
         }
     }
 
+    /**
+     * Load disk image with a copy-on-write overlay. The disk image itself is
+     * only read, all writes go to the overlay file.
+     *
+     * @param imageFile   The disk image file
+     * @param overlayFile The overlay file, created if it does not exist
+     * @throws StorageDeviceException
+     */
+    public void loadImage(File imageFile, File overlayFile)
+            throws StorageDeviceException {
+        try {
+            // Release the previous image, if any
+            this.closeImage();
+
+            disk = new OverlayDiskImage(imageFile, overlayFile);
+            disk.setWriteBack(true);
+
+        } catch (IOException e) {
+            throw new StorageDeviceException("Disk overlay could not be loaded: "
+                    + e.getMessage());
+        }
+    }
+
     /**
      * Provides the string representation of the class.
      *
@@ -612,6 +722,20 @@ public class ATADrive {
         this.ioLightCounter = ioLightCounter;
     }
 
+    /**
+     * @return number of bytes read from the disk image
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * @return number of bytes written to the disk image
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
     /**
      * @return -
      */
@@ -725,4 +849,75 @@ public class ATADrive {
     public void setTranslationType(ATATranslationType translationType) {
         this.translationType = translationType;
     }
+
+    /**
+     * Check if the BIOS addresses this drive with its own geometry, so that
+     * a cylinder, head and sector of INT 13h map straight onto the disk. The
+     * automatic translation is resolved the way ATA.setCmosSettings does.
+     *
+     * @return true if no translation applies, false otherwise
+     */
+    public boolean hasUntranslatedGeometry() {
+        if (translationType == ATATranslationType.AUTO) {
+            return totalNumCylinders <= 1024 && totalNumHeads <= 16
+                    && totalNumSectors <= 63;
+        }
+        return translationType == ATATranslationType.NONE;
+    }
+
+    /**
+     * Writes the position and controller state of this drive to the given
+     * output. Pending writes are stored in the disk image first, so that the
+     * image file matches the snapshot.
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        if (this.containsDisk()) {
+            disk.flush();
+        }
+        output.writeUTF(driveType.toString());
+        output.writeInt(totalNumCylinders);
+        output.writeInt(totalNumHeads);
+        output.writeInt(totalNumSectors);
+        output.writeInt(currentHead);
+        output.writeInt(currentCylinder);
+        output.writeInt(currentSector);
+        output.writeInt(sectorCount);
+        output.writeInt(features);
+        output.writeInt(ioLightCounter);
+        for (int word : idDrive) {
+            output.writeInt(word);
+        }
+        control.dumpState(output);
+        atpi.dumpState(output);
+    }
+
+    /**
+     * Reads the position and controller state of this drive from the given
+     * input. The drive must have been configured with the same type and
+     * geometry as the drive that wrote the state.
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        String type = input.readUTF();
+        if (!type.equals(driveType.toString()) || input.readInt() != totalNumCylinders
+                || input.readInt() != totalNumHeads || input.readInt() != totalNumSectors) {
+            throw new IOException("Drive configuration does not match snapshot (" + type + ")");
+        }
+        currentHead = input.readInt();
+        currentCylinder = input.readInt();
+        currentSector = input.readInt();
+        sectorCount = input.readInt();
+        features = input.readInt();
+        ioLightCounter = input.readInt();
+        for (int i = 0; i < idDrive.length; i++) {
+            idDrive[i] = input.readInt();
+        }
+        control.loadState(input);
+        atpi.loadState(input);
+    }
 }
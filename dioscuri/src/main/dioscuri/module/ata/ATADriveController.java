@@ -44,6 +44,10 @@
  */
 package dioscuri.module.ata;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Class representing the ATA drive controller.
  */
@@ -332,4 +336,55 @@ public class ATADriveController {
         this.multipleSectors = multipleSectors;
     }
 
+    /**
+     * Writes the registers and data buffer of this controller to the given
+     * output
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        output.write(buffer);
+        output.writeInt(bufferSize);
+        output.writeInt(bufferIndex);
+        output.writeInt(lbaMode);
+        output.writeInt(errorRegister);
+        output.writeInt(numSectorsPerBlock);
+        status.dumpState(output);
+        output.writeInt(currentCommand);
+        output.writeInt(drqIndex);
+        interruptReason.dumpState(output);
+        output.writeInt(byteCount);
+        output.writeBoolean(reset);
+        output.writeBoolean(disableIrq);
+        output.writeInt(resetInProgress);
+        output.writeInt(packetDma);
+        output.writeInt(multipleSectors);
+    }
+
+    /**
+     * Reads the registers and data buffer of this controller from the given
+     * input
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        input.readFully(buffer);
+        bufferSize = input.readInt();
+        bufferIndex = input.readInt();
+        lbaMode = input.readInt();
+        errorRegister = input.readInt();
+        numSectorsPerBlock = input.readInt();
+        status.loadState(input);
+        currentCommand = input.readInt();
+        drqIndex = input.readInt();
+        interruptReason.loadState(input);
+        byteCount = input.readInt();
+        reset = input.readBoolean();
+        disableIrq = input.readBoolean();
+        resetInProgress = input.readInt();
+        packetDma = input.readInt();
+        multipleSectors = input.readInt();
+    }
 }
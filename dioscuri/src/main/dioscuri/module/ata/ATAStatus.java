@@ -44,6 +44,10 @@
  */
 package dioscuri.module.ata;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Class to hold status flags of a ATA channel
  */
@@ -208,4 +212,40 @@ public class ATAStatus {
     public void setErr(int err) {
         this.err = err;
     }
+
+    /**
+     * Writes the status bits to the given output
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        output.writeInt(busy);
+        output.writeInt(driveReady);
+        output.writeInt(writeFault);
+        output.writeInt(seekComplete);
+        output.writeInt(drq);
+        output.writeInt(correctedData);
+        output.writeInt(indexPulse);
+        output.writeInt(indexPulseCount);
+        output.writeInt(err);
+    }
+
+    /**
+     * Reads the status bits from the given input
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        busy = input.readInt();
+        driveReady = input.readInt();
+        writeFault = input.readInt();
+        seekComplete = input.readInt();
+        drq = input.readInt();
+        correctedData = input.readInt();
+        indexPulse = input.readInt();
+        indexPulseCount = input.readInt();
+        err = input.readInt();
+    }
 }
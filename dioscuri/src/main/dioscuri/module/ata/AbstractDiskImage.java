@@ -0,0 +1,173 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.ata;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Abstract class representing an IDE disk image, whichever way its data is
+ * stored. The offset based read and write methods are implemented by the
+ * subclasses; the methods taking the start of an array are derived here.
+ */
+public abstract class AbstractDiskImage {
+
+    // Constants
+    protected static final int SECTOR_SIZE = 512;
+
+    // Attributes
+    protected final File imageFile;
+    private final boolean forceReadOnly;
+
+    /**
+     * Class constructor with disk image file.
+     *
+     * @param theImageFile
+     * @param isReadOnly   true to never write to the image file
+     */
+    protected AbstractDiskImage(File theImageFile, boolean isReadOnly) {
+        this.imageFile = theImageFile;
+        this.forceReadOnly = isReadOnly;
+    }
+
+    /**
+     * Read data from image.
+     *
+     * @param theData
+     * @param theOffset
+     * @param theLength
+     * @return the data
+     * @throws IOException
+     */
+    public byte[] readFromImage(byte[] theData, int theOffset, int theLength)
+            throws IOException {
+
+        readFromImage(theData, 0, theOffset, theLength);
+        return theData;
+    }
+
+    /**
+     * Read data from image into a part of the given array. Bytes beyond the
+     * end of the image are returned as zeros.
+     *
+     * @param theData        array receiving the data
+     * @param theDataOffset  offset in theData of the first byte read
+     * @param theImageOffset offset in the image of the first byte to read
+     * @param theLength      number of bytes to read
+     * @throws IOException
+     */
+    public abstract void readFromImage(byte[] theData, int theDataOffset,
+            long theImageOffset, int theLength) throws IOException;
+
+    /**
+     * Write to image.
+     *
+     * @param theData
+     * @param theOffset
+     * @param theLength
+     * @throws IOException
+     */
+    public void writeToImage(byte[] theData, int theOffset, int theLength)
+            throws IOException {
+
+        writeToImage(theData, 0, theOffset, theLength);
+    }
+
+    /**
+     * Write a part of the given array to the image.
+     *
+     * @param theData        array holding the data
+     * @param theDataOffset  offset in theData of the first byte to write
+     * @param theImageOffset offset in the image of the first byte written
+     * @param theLength      number of bytes to write
+     * @throws IOException if the image is read-only or can not be written
+     */
+    public abstract void writeToImage(byte[] theData, int theDataOffset,
+            long theImageOffset, int theLength) throws IOException;
+
+    /**
+     * Set the write mode of this image.
+     *
+     * @param isWriteBack true for write-back, false for write-through
+     * @throws IOException
+     */
+    public abstract void setWriteBack(boolean isWriteBack) throws IOException;
+
+    /**
+     * Store all pending data in the image file.
+     *
+     * @throws IOException
+     */
+    public abstract void flush() throws IOException;
+
+    /**
+     * Flush pending data and release the image file. The file is opened
+     * again when the image is accessed after it has been closed.
+     *
+     * @throws IOException
+     */
+    public abstract void close() throws IOException;
+
+    /**
+     * Gets the size of the disk image in bytes.
+     *
+     * @return the size of the disk image in bytes
+     */
+    protected abstract long getSize();
+
+    /**
+     * Check if the image file is to be opened read-only, either because it
+     * was asked for or because the file can not be written to.
+     *
+     * @return true if the image file may not be written to
+     */
+    protected boolean isReadOnlyFile() {
+        return forceReadOnly || !imageFile.canWrite();
+    }
+
+    /**
+     * @return the exception for a write to a read-only image
+     */
+    protected IOException readOnlyError() {
+        return new IOException("Error: disk image " + imageFile.getName()
+                + " is read-only");
+    }
+
+}
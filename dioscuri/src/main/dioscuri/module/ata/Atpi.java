@@ -44,6 +44,10 @@
  */
 package dioscuri.module.ata;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Stores attributes of the ATPI.
  */
@@ -95,4 +99,27 @@ public class Atpi {
         this.totalBytesRemaining = totalBytesRemaining;
     }
 
+    /**
+     * Writes the ATAPI command state to the given output
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        output.writeInt(command);
+        output.writeInt(drqBytes);
+        output.writeInt(totalBytesRemaining);
+    }
+
+    /**
+     * Reads the ATAPI command state from the given input
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        command = input.readInt();
+        drqBytes = input.readInt();
+        totalBytesRemaining = input.readInt();
+    }
 }
@@ -47,79 +47,203 @@ package dioscuri.module.ata;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A class holding a IDE disk image.
+ * <p/>
+ * The image file is opened once and accessed through a single FileChannel.
+ * Data is cached in clusters of CLUSTER_SIZE bytes which are kept in least
+ * recently used order. When clusters are requested sequentially, the
+ * following clusters are read ahead in the same scattering read. In
+ * write-back mode, writes only update the cache and are stored to the image
+ * file when a dirty cluster is evicted or when the image is flushed or
+ * closed. The ATA controller flushes its images whenever a drive goes idle.
  */
-public class DiskImage {
+public class DiskImage extends AbstractDiskImage {
+
+    // Constants
+    static final int CLUSTER_SIZE = 8 * SECTOR_SIZE;
+    static final int MAX_CACHED_CLUSTERS = 256;
+    static final int READ_AHEAD_CLUSTERS = 8;
+
     // Attributes
-    protected File imageFile;
+    private RandomAccessFile randomAccessFile;
+    private FileChannel fileChannel;
+    private boolean readOnly;
+    private long imageSize;
+    private boolean writeBack;
+
+    // Cache of clusters, in least recently used order
+    private LinkedHashMap<Long, Cluster> clusters = new LinkedHashMap<Long, Cluster>(
+            MAX_CACHED_CLUSTERS, 0.75f, true);
+    private long lastClusterMissed = -1;
 
     /**
-     * Class constructor without disk image file.
+     * Class constructor with disk image file.
+     *
+     * @param theImageFile
+     * @throws IOException
      */
-    public DiskImage() {
+    public DiskImage(File theImageFile) throws IOException {
+        this(theImageFile, false);
     }
 
     /**
-     * Class constructor with disk image file.
+     * Class constructor with disk image file that is opened read-only,
+     * even if the file can be written to.
      *
      * @param theImageFile
+     * @param isReadOnly   true to never write to the image file
      * @throws IOException
      */
-    public DiskImage(File theImageFile) throws IOException {
+    public DiskImage(File theImageFile, boolean isReadOnly) throws IOException {
+        super(theImageFile, isReadOnly);
+
+        this.imageSize = theImageFile.length();
+        this.writeBack = false;
+    }
 
-        this.imageFile = theImageFile;
+    /**
+     * Read data from image into a part of the given array. Bytes beyond the
+     * end of the image are returned as zeros.
+     *
+     * @param theData        array receiving the data
+     * @param theDataOffset  offset in theData of the first byte read
+     * @param theImageOffset offset in the image of the first byte to read
+     * @param theLength      number of bytes to read
+     * @throws IOException
+     */
+    @Override
+    public synchronized void readFromImage(byte[] theData, int theDataOffset,
+            long theImageOffset, int theLength) throws IOException {
+
+        while (theLength > 0) {
+            long clusterIndex = theImageOffset / CLUSTER_SIZE;
+            int clusterOffset = (int) (theImageOffset % CLUSTER_SIZE);
+            int length = Math.min(theLength, CLUSTER_SIZE - clusterOffset);
+
+            Cluster cluster = getCluster(clusterIndex);
+            System.arraycopy(cluster.data, clusterOffset, theData,
+                    theDataOffset, length);
 
+            theImageOffset += length;
+            theDataOffset += length;
+            theLength -= length;
+        }
     }
 
     /**
-     * Read data from image.
+     * Write a part of the given array to the image.
      *
-     * @param theData
-     * @param theOffset
-     * @param theLength
-     * @return the data
+     * @param theData        array holding the data
+     * @param theDataOffset  offset in theData of the first byte to write
+     * @param theImageOffset offset in the image of the first byte written
+     * @param theLength      number of bytes to write
      * @throws IOException
      */
-    public byte[] readFromImage(byte[] theData, int theOffset, int theLength)
-            throws IOException {
+    @Override
+    public synchronized void writeToImage(byte[] theData, int theDataOffset,
+            long theImageOffset, int theLength) throws IOException {
 
-        RandomAccessFile randomAccessFile = new RandomAccessFile(imageFile, "r");
+        FileChannel channel = getChannel();
+        if (readOnly) {
+            throw readOnlyError();
+        }
 
-        if (theOffset > 0) {
-            randomAccessFile.seek(theOffset);
+        if (!writeBack) {
+            ByteBuffer source = ByteBuffer.wrap(theData, theDataOffset, theLength);
+            long position = theImageOffset;
+            while (source.hasRemaining()) {
+                position += channel.write(source, position);
+            }
         }
 
-        randomAccessFile.read(theData, 0, theLength);
+        imageSize = Math.max(imageSize, theImageOffset + theLength);
+
+        // Keep cached clusters up to date
+        while (theLength > 0) {
+            long clusterIndex = theImageOffset / CLUSTER_SIZE;
+            int clusterOffset = (int) (theImageOffset % CLUSTER_SIZE);
+            int length = Math.min(theLength, CLUSTER_SIZE - clusterOffset);
 
-        randomAccessFile.close();
+            Cluster cluster = writeBack ? getCluster(clusterIndex) : clusters.get(clusterIndex);
+            if (cluster != null) {
+                System.arraycopy(theData, theDataOffset, cluster.data,
+                        clusterOffset, length);
+                cluster.dirty |= writeBack;
+            }
 
-        return theData;
+            theImageOffset += length;
+            theDataOffset += length;
+            theLength -= length;
+        }
     }
 
     /**
-     * Write to image.
+     * Set the write mode of this image. In write-back mode, written data is
+     * kept in the cache until it is flushed. Switching back to write-through
+     * mode flushes all pending data.
      *
-     * @param theData
-     * @param theOffset
-     * @param theLength
+     * @param isWriteBack true for write-back, false for write-through
      * @throws IOException
      */
-    public void writeToImage(byte[] theData, int theOffset, int theLength)
-            throws IOException {
-
-        RandomAccessFile randomAccessFile = new RandomAccessFile(imageFile,
-                "rw");
+    @Override
+    public synchronized void setWriteBack(boolean isWriteBack) throws IOException {
+        if (writeBack && !isWriteBack) {
+            flush();
+        }
+        writeBack = isWriteBack;
+    }
 
-        try {
-            if (theOffset > 0) {
-                randomAccessFile.seek(theOffset);
+    /**
+     * Store all pending (dirty) clusters in the image file.
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        List<Long> dirty = new ArrayList<Long>();
+        for (Map.Entry<Long, Cluster> entry : clusters.entrySet()) {
+            if (entry.getValue().dirty) {
+                dirty.add(entry.getKey());
             }
+        }
+        // Write in image order to keep the file access sequential
+        Collections.sort(dirty);
+        for (Long clusterIndex : dirty) {
+            storeCluster(clusterIndex, clusters.get(clusterIndex));
+        }
+        if (fileChannel != null && !dirty.isEmpty()) {
+            fileChannel.force(false);
+        }
+    }
 
-            randomAccessFile.write(theData, 0, theLength);
+    /**
+     * Flush pending data and release the image file. The file is opened
+     * again when the image is accessed after it has been closed.
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
         } finally {
-            randomAccessFile.close();
+            clusters.clear();
+            lastClusterMissed = -1;
+            if (randomAccessFile != null) {
+                randomAccessFile.close();
+                randomAccessFile = null;
+                fileChannel = null;
+            }
         }
     }
 
@@ -128,10 +252,140 @@ public class DiskImage {
      *
      * @return the size of the disk image in bytes
      */
+    @Override
     protected long getSize() {
 
-        Long imageSize = imageFile.length();
         return imageSize;
     }
 
+    /**
+     * Return the cluster with the given index, reading it (and, for
+     * sequential access, the clusters following it) from the image file
+     * when it is not cached.
+     *
+     * @param clusterIndex
+     * @return the cluster
+     * @throws IOException
+     */
+    private Cluster getCluster(long clusterIndex) throws IOException {
+        Cluster cluster = clusters.get(clusterIndex);
+        if (cluster != null) {
+            return cluster;
+        }
+
+        int count = 1;
+        if (clusterIndex == lastClusterMissed + 1) {
+            count += READ_AHEAD_CLUSTERS;
+        }
+        lastClusterMissed = clusterIndex;
+
+        // Do not read ahead over clusters that are already cached
+        for (int i = 1; i < count; i++) {
+            if (clusters.containsKey(clusterIndex + i)) {
+                count = i;
+                break;
+            }
+        }
+
+        // Scatter the read directly into the buffers of the new clusters
+        Cluster[] readClusters = new Cluster[count];
+        ByteBuffer[] targets = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            readClusters[i] = new Cluster(new byte[CLUSTER_SIZE]);
+            targets[i] = ByteBuffer.wrap(readClusters[i].data);
+        }
+        FileChannel channel = getChannel();
+        channel.position(clusterIndex * CLUSTER_SIZE);
+        int first = 0;
+        while (first < count) {
+            if (channel.read(targets, first, count - first) < 0) {
+                // Clusters past the end of the image stay zero
+                break;
+            }
+            while (first < count && !targets[first].hasRemaining()) {
+                first++;
+            }
+        }
+
+        // Insert the requested cluster last, as the most recently used one
+        for (int i = count - 1; i >= 0; i--) {
+            clusters.put(clusterIndex + i, readClusters[i]);
+        }
+        cluster = readClusters[0];
+        evictClusters();
+
+        return cluster;
+    }
+
+    /**
+     * Remove least recently used clusters until the cache fits its maximum
+     * size, storing the dirty ones.
+     *
+     * @throws IOException
+     */
+    private void evictClusters() throws IOException {
+        Iterator<Map.Entry<Long, Cluster>> iterator = clusters.entrySet().iterator();
+        while (clusters.size() > MAX_CACHED_CLUSTERS && iterator.hasNext()) {
+            Map.Entry<Long, Cluster> entry = iterator.next();
+            storeCluster(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Store a cluster in the image file if it is dirty. Only the part of the
+     * cluster that lies within the image is written.
+     *
+     * @param clusterIndex
+     * @param cluster
+     * @throws IOException
+     */
+    private void storeCluster(long clusterIndex, Cluster cluster)
+            throws IOException {
+        if (!cluster.dirty) {
+            return;
+        }
+        long position = clusterIndex * CLUSTER_SIZE;
+        int length = (int) Math.min(CLUSTER_SIZE, imageSize - position);
+        if (length <= 0) {
+            cluster.dirty = false;
+            return;
+        }
+        ByteBuffer source = ByteBuffer.wrap(cluster.data, 0, length);
+        FileChannel channel = getChannel();
+        while (source.hasRemaining()) {
+            channel.write(source, position + source.position());
+        }
+        cluster.dirty = false;
+    }
+
+    /**
+     * Return the channel of the image file, opening the file if needed.
+     * Images that can not be written to are opened read-only.
+     *
+     * @return the file channel
+     * @throws IOException
+     */
+    private FileChannel getChannel() throws IOException {
+        if (fileChannel == null) {
+            readOnly = isReadOnlyFile();
+            randomAccessFile = new RandomAccessFile(imageFile, readOnly ? "r" : "rw");
+            fileChannel = randomAccessFile.getChannel();
+        }
+        return fileChannel;
+    }
+
+    /**
+     * A cached part of the image.
+     */
+    private static class Cluster {
+        final byte[] data;
+        boolean dirty;
+
+        Cluster(byte[] data) {
+            this.data = data;
+            this.dirty = false;
+        }
+    }
+
 }
@@ -44,6 +44,10 @@
  */
 package dioscuri.module.ata;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * @author Bram Lohman
  * @author Bart Kiers
@@ -121,4 +125,29 @@ public class InterruptReason {
      * #endif
      */
 
+    /**
+     * Writes the interrupt reason bits to the given output
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        output.writeInt(cd);
+        output.writeInt(io);
+        output.writeInt(rel);
+        output.writeInt(tag);
+    }
+
+    /**
+     * Reads the interrupt reason bits from the given input
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        cd = input.readInt();
+        io = input.readInt();
+        rel = input.readInt();
+        tag = input.readInt();
+    }
 }
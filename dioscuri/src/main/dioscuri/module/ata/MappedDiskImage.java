@@ -0,0 +1,270 @@
+/* $Revision: 159 $ $Date: 2009-08-17 12:52:56 +0000 (ma, 17 aug 2009) $ $Author: blohman $ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.ata;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A class holding a IDE disk image that is mapped into memory.
+ * <p/>
+ * Sectors are read from and written to the mapped image directly, so the
+ * image does not take up heap space and paging is left to the operating
+ * system. Since a single mapping can not exceed 2 GB, the image is mapped in
+ * chunks of CHUNK_SIZE bytes. The size of a mapped image is fixed.
+ */
+public class MappedDiskImage extends AbstractDiskImage {
+
+    // Constants
+    private static final int CHUNK_SIZE = 1 << 30;
+
+    // Attributes
+    private final int chunkSize;
+    private final long imageSize;
+    private MappedByteBuffer[] chunks;
+    private boolean readOnly;
+
+    /**
+     * Class constructor with disk image file.
+     *
+     * @param theImageFile
+     * @throws IOException
+     */
+    public MappedDiskImage(File theImageFile) throws IOException {
+        this(theImageFile, false);
+    }
+
+    /**
+     * Class constructor with disk image file that is mapped read-only,
+     * even if the file can be written to.
+     *
+     * @param theImageFile
+     * @param isReadOnly   true to never write to the image file
+     * @throws IOException
+     */
+    public MappedDiskImage(File theImageFile, boolean isReadOnly)
+            throws IOException {
+        this(theImageFile, isReadOnly, CHUNK_SIZE);
+    }
+
+    /**
+     * Class constructor with disk image file that is mapped in chunks of
+     * the given size.
+     *
+     * @param theImageFile
+     * @param isReadOnly   true to never write to the image file
+     * @param theChunkSize size in bytes of each mapping
+     * @throws IOException
+     */
+    MappedDiskImage(File theImageFile, boolean isReadOnly, int theChunkSize)
+            throws IOException {
+        super(theImageFile, isReadOnly);
+
+        this.chunkSize = theChunkSize;
+        this.imageSize = theImageFile.length();
+        this.map();
+    }
+
+    /**
+     * Read data from image into a part of the given array. Bytes beyond the
+     * end of the image are returned as zeros.
+     *
+     * @param theData        array receiving the data
+     * @param theDataOffset  offset in theData of the first byte read
+     * @param theImageOffset offset in the image of the first byte to read
+     * @param theLength      number of bytes to read
+     * @throws IOException
+     */
+    @Override
+    public synchronized void readFromImage(byte[] theData, int theDataOffset,
+            long theImageOffset, int theLength) throws IOException {
+
+        if (chunks == null) {
+            this.map();
+        }
+
+        while (theLength > 0) {
+            int chunkIndex = (int) (theImageOffset / chunkSize);
+            int chunkOffset = (int) (theImageOffset % chunkSize);
+
+            if (chunkIndex >= chunks.length) {
+                Arrays.fill(theData, theDataOffset, theDataOffset + theLength, (byte) 0);
+                return;
+            }
+
+            ByteBuffer chunk = chunks[chunkIndex].duplicate();
+            int length = Math.min(theLength, chunk.limit() - chunkOffset);
+            if (length <= 0) {
+                Arrays.fill(theData, theDataOffset, theDataOffset + theLength, (byte) 0);
+                return;
+            }
+            chunk.position(chunkOffset);
+            chunk.get(theData, theDataOffset, length);
+
+            theImageOffset += length;
+            theDataOffset += length;
+            theLength -= length;
+        }
+    }
+
+    /**
+     * Write a part of the given array to the image.
+     *
+     * @param theData        array holding the data
+     * @param theDataOffset  offset in theData of the first byte to write
+     * @param theImageOffset offset in the image of the first byte written
+     * @param theLength      number of bytes to write
+     * @throws IOException
+     */
+    @Override
+    public synchronized void writeToImage(byte[] theData, int theDataOffset,
+            long theImageOffset, int theLength) throws IOException {
+
+        if (chunks == null) {
+            this.map();
+        }
+
+        if (readOnly) {
+            throw readOnlyError();
+        }
+        if (theImageOffset + theLength > imageSize) {
+            throw new IOException("Error: write beyond end of mapped disk image "
+                    + imageFile.getName());
+        }
+
+        while (theLength > 0) {
+            int chunkIndex = (int) (theImageOffset / chunkSize);
+            int chunkOffset = (int) (theImageOffset % chunkSize);
+
+            ByteBuffer chunk = chunks[chunkIndex].duplicate();
+            int length = Math.min(theLength, chunk.limit() - chunkOffset);
+            chunk.position(chunkOffset);
+            chunk.put(theData, theDataOffset, length);
+
+            theImageOffset += length;
+            theDataOffset += length;
+            theLength -= length;
+        }
+    }
+
+    /**
+     * Mapped images are always written back by the operating system, so the
+     * write mode can not be changed.
+     *
+     * @param isWriteBack ignored
+     */
+    @Override
+    public void setWriteBack(boolean isWriteBack) {
+    }
+
+    /**
+     * Store all modified pages in the image file.
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (chunks != null && !readOnly) {
+            for (MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+        }
+    }
+
+    /**
+     * Store all modified pages and drop the mapping. The image is mapped
+     * again when it is accessed after it has been closed.
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            chunks = null;
+        }
+    }
+
+    /**
+     * Gets the size of the disk image in bytes.
+     *
+     * @return the size of the disk image in bytes
+     */
+    @Override
+    protected long getSize() {
+        return imageSize;
+    }
+
+    /**
+     * Map the image file into memory. Images that can not be written to are
+     * mapped read-only.
+     *
+     * @throws IOException
+     */
+    private void map() throws IOException {
+        readOnly = isReadOnlyFile();
+
+        int numChunks = (int) ((imageSize + chunkSize - 1) / chunkSize);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[numChunks];
+
+        // The mapping stays valid after the file has been closed
+        RandomAccessFile randomAccessFile = new RandomAccessFile(imageFile,
+                readOnly ? "r" : "rw");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            for (int i = 0; i < numChunks; i++) {
+                long position = (long) i * chunkSize;
+                long size = Math.min(chunkSize, imageSize - position);
+                mapped[i] = channel.map(readOnly ? FileChannel.MapMode.READ_ONLY
+                        : FileChannel.MapMode.READ_WRITE, position, size);
+            }
+        } finally {
+            randomAccessFile.close();
+        }
+        chunks = mapped;
+    }
+
+}
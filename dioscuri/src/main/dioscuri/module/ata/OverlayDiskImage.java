@@ -0,0 +1,391 @@
+/* $Revision: 159 $ $Date: 2009-08-17 12:52:56 +0000 (ma, 17 aug 2009) $ $Author: blohman $ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.ata;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * A class holding a copy-on-write overlay over a read-only IDE disk image.
+ * <p/>
+ * Sectors written to the disk are stored in a sparse overlay file, the base
+ * image is never changed. A bitmap keeps track of the sectors that are in
+ * the overlay; reads of all other sectors fall through to the base image.
+ * This allows several emulators to share the same base image. The bitmap is
+ * updated in the overlay file along with the sectors of each write, so it
+ * is never stored later than the data it describes.
+ * <p/>
+ * Layout of the overlay file:
+ * <pre>
+ *   0                 header: OVERLAY_MAGIC, then size, modification time
+ *                     and SHA-1 digest of the base image
+ *   HEADER_SIZE       sector bitmap, one bit per sector of the base image
+ *   dataStart         sector data, at the same offsets as in the base image
+ * </pre>
+ * The base image is hashed once when the overlay is created. When an
+ * overlay is opened, the base image is only hashed again if its size
+ * matches but its modification time does not, for example after a copy.
+ * Sectors that were never written take no space in the overlay file on
+ * file systems that support sparse files.
+ */
+public class OverlayDiskImage extends AbstractDiskImage {
+
+    // Constants
+    private static final byte[] OVERLAY_MAGIC = "DIOSCURI-OVERLAY".getBytes();
+    private static final int HEADER_SIZE = SECTOR_SIZE;
+    private static final int SIZE_OFFSET = OVERLAY_MAGIC.length;
+    private static final int TIME_OFFSET = SIZE_OFFSET + 8;
+    private static final int DIGEST_OFFSET = TIME_OFFSET + 8;
+    private static final int DIGEST_LENGTH = 20;
+
+    // Attributes
+    private DiskImage baseImage;
+    private DiskImage overlayImage;
+    private long imageSize;
+    private byte[] bitmap;
+    private long dataStart;
+
+    /**
+     * Class constructor with base image and overlay file. The overlay file
+     * is created if it does not exist.
+     *
+     * @param theBaseFile    the read-only base image
+     * @param theOverlayFile the overlay file holding all written sectors
+     * @throws IOException if the overlay does not belong to the base image
+     */
+    public OverlayDiskImage(File theBaseFile, File theOverlayFile)
+            throws IOException {
+        // The base image is never written to
+        super(theBaseFile, true);
+
+        baseImage = new DiskImage(theBaseFile, true);
+        imageSize = baseImage.getSize();
+
+        long numSectors = (imageSize + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        int bitmapSize = (int) ((numSectors + 7) / 8);
+        bitmap = new byte[bitmapSize];
+        dataStart = HEADER_SIZE
+                + ((bitmapSize + SECTOR_SIZE - 1) / SECTOR_SIZE) * SECTOR_SIZE;
+
+        boolean isNew = theOverlayFile.createNewFile()
+                || theOverlayFile.length() == 0;
+        overlayImage = new DiskImage(theOverlayFile);
+
+        byte[] header = new byte[HEADER_SIZE];
+        if (isNew) {
+            System.arraycopy(OVERLAY_MAGIC, 0, header, 0, OVERLAY_MAGIC.length);
+            writeLong(header, SIZE_OFFSET, imageSize);
+            writeLong(header, TIME_OFFSET, theBaseFile.lastModified());
+            System.arraycopy(digest(theBaseFile), 0, header, DIGEST_OFFSET,
+                    DIGEST_LENGTH);
+            overlayImage.writeToImage(header, 0, 0L, HEADER_SIZE);
+            overlayImage.writeToImage(bitmap, 0, HEADER_SIZE, bitmapSize);
+            overlayImage.flush();
+        } else {
+            overlayImage.readFromImage(header, 0, 0L, HEADER_SIZE);
+            if (!Arrays.equals(OVERLAY_MAGIC, Arrays.copyOf(header, OVERLAY_MAGIC.length))) {
+                throw new IOException("Error: " + theOverlayFile.getName()
+                        + " is not an overlay image");
+            }
+            if (readLong(header, SIZE_OFFSET) != imageSize
+                    || !isSameBase(header, theBaseFile)) {
+                throw new IOException("Error: overlay image "
+                        + theOverlayFile.getName() + " does not belong to "
+                        + theBaseFile.getName());
+            }
+            overlayImage.readFromImage(bitmap, 0, HEADER_SIZE, bitmapSize);
+        }
+    }
+
+    /**
+     * Read data from image into a part of the given array. Runs of sectors
+     * are read from either the overlay or the base image in one transfer.
+     *
+     * @param theData        array receiving the data
+     * @param theDataOffset  offset in theData of the first byte read
+     * @param theImageOffset offset in the image of the first byte to read
+     * @param theLength      number of bytes to read
+     * @throws IOException
+     */
+    @Override
+    public synchronized void readFromImage(byte[] theData, int theDataOffset,
+            long theImageOffset, int theLength) throws IOException {
+
+        while (theLength > 0) {
+            long sector = theImageOffset / SECTOR_SIZE;
+            boolean inOverlay = isInOverlay(sector);
+
+            // Extend the run over all following sectors in the same image
+            int length = Math.min(theLength,
+                    SECTOR_SIZE - (int) (theImageOffset % SECTOR_SIZE));
+            while (length < theLength && isInOverlay(++sector) == inOverlay) {
+                length += Math.min(theLength - length, SECTOR_SIZE);
+            }
+
+            if (inOverlay) {
+                overlayImage.readFromImage(theData, theDataOffset,
+                        dataStart + theImageOffset, length);
+            } else {
+                baseImage.readFromImage(theData, theDataOffset,
+                        theImageOffset, length);
+            }
+
+            theImageOffset += length;
+            theDataOffset += length;
+            theLength -= length;
+        }
+    }
+
+    /**
+     * Write a part of the given array to the overlay. Sectors that are only
+     * partly written are first copied from the base image.
+     *
+     * @param theData        array holding the data
+     * @param theDataOffset  offset in theData of the first byte to write
+     * @param theImageOffset offset in the image of the first byte written
+     * @param theLength      number of bytes to write
+     * @throws IOException
+     */
+    @Override
+    public synchronized void writeToImage(byte[] theData, int theDataOffset,
+            long theImageOffset, int theLength) throws IOException {
+
+        if (theLength <= 0) {
+            return;
+        }
+        long end = theImageOffset + theLength;
+        if (end > imageSize) {
+            throw new IOException("Error: write beyond end of base image "
+                    + imageFile.getName());
+        }
+
+        long firstSector = theImageOffset / SECTOR_SIZE;
+        long lastSector = (end - 1) / SECTOR_SIZE;
+        if (theImageOffset % SECTOR_SIZE != 0) {
+            copyToOverlay(firstSector);
+        }
+        if (end % SECTOR_SIZE != 0) {
+            copyToOverlay(lastSector);
+        }
+
+        overlayImage.writeToImage(theData, theDataOffset,
+                dataStart + theImageOffset, theLength);
+
+        for (long sector = firstSector; sector <= lastSector; sector++) {
+            setInOverlay(sector);
+        }
+        storeBitmap(firstSector, lastSector);
+    }
+
+    /**
+     * Set the write mode of the overlay file.
+     *
+     * @param isWriteBack true for write-back, false for write-through
+     * @throws IOException
+     */
+    @Override
+    public synchronized void setWriteBack(boolean isWriteBack) throws IOException {
+        overlayImage.setWriteBack(isWriteBack);
+    }
+
+    /**
+     * Store all pending sectors and bitmap updates in the overlay file.
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        overlayImage.flush();
+    }
+
+    /**
+     * Flush the overlay and release both image files.
+     *
+     * @throws IOException
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+            overlayImage.close();
+        } finally {
+            baseImage.close();
+        }
+    }
+
+    /**
+     * Gets the size of the disk image in bytes, which is the size of the
+     * base image.
+     *
+     * @return the size of the disk image in bytes
+     */
+    @Override
+    protected long getSize() {
+        return imageSize;
+    }
+
+    /**
+     * Check if the header of an overlay was written for the given base
+     * image. A base image with another modification time is accepted if its
+     * contents are unchanged, and its new time is recorded in the header.
+     *
+     * @param header      the header of the overlay file
+     * @param theBaseFile the base image
+     * @return true if the overlay belongs to the base image
+     * @throws IOException
+     */
+    private boolean isSameBase(byte[] header, File theBaseFile)
+            throws IOException {
+        if (readLong(header, TIME_OFFSET) == theBaseFile.lastModified()) {
+            return true;
+        }
+        byte[] recorded = Arrays.copyOfRange(header, DIGEST_OFFSET,
+                DIGEST_OFFSET + DIGEST_LENGTH);
+        if (!Arrays.equals(recorded, digest(theBaseFile))) {
+            return false;
+        }
+        writeLong(header, TIME_OFFSET, theBaseFile.lastModified());
+        overlayImage.writeToImage(header, 0, 0L, HEADER_SIZE);
+        return true;
+    }
+
+    /**
+     * Compute the SHA-1 digest of the contents of a file.
+     *
+     * @param file
+     * @return the digest
+     * @throws IOException
+     */
+    private static byte[] digest(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+        InputStream input = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[65536];
+            int count;
+            while ((count = input.read(buffer)) > 0) {
+                digest.update(buffer, 0, count);
+            }
+        } finally {
+            input.close();
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Copy a sector from the base image to the overlay, unless the overlay
+     * already holds it.
+     *
+     * @param sector
+     * @throws IOException
+     */
+    private void copyToOverlay(long sector) throws IOException {
+        if (isInOverlay(sector)) {
+            return;
+        }
+        byte[] sectorData = new byte[SECTOR_SIZE];
+        baseImage.readFromImage(sectorData, 0, sector * SECTOR_SIZE, SECTOR_SIZE);
+        overlayImage.writeToImage(sectorData, 0, dataStart + sector * SECTOR_SIZE,
+                SECTOR_SIZE);
+        setInOverlay(sector);
+    }
+
+    /**
+     * Check if a sector is stored in the overlay.
+     *
+     * @param sector
+     * @return true if the sector is in the overlay, false if it is only in
+     *         the base image
+     */
+    private boolean isInOverlay(long sector) {
+        int index = (int) (sector >>> 3);
+        return index < bitmap.length
+                && (bitmap[index] & (1 << (sector & 7))) != 0;
+    }
+
+    /**
+     * Mark a sector as stored in the overlay.
+     *
+     * @param sector
+     */
+    private void setInOverlay(long sector) {
+        bitmap[(int) (sector >>> 3)] |= (byte) (1 << (sector & 7));
+    }
+
+    /**
+     * Write the part of the bitmap holding the given sectors to the overlay
+     * file, through the same cache as the sector data.
+     *
+     * @param firstSector
+     * @param lastSector
+     * @throws IOException
+     */
+    private void storeBitmap(long firstSector, long lastSector)
+            throws IOException {
+        int first = (int) (firstSector >>> 3);
+        int last = (int) (lastSector >>> 3);
+        overlayImage.writeToImage(bitmap, first, HEADER_SIZE + first,
+                last - first + 1);
+    }
+
+    private static void writeLong(byte[] data, int offset, long value) {
+        for (int i = 0; i < 8; i++) {
+            data[offset + i] = (byte) (value >>> (56 - 8 * i));
+        }
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+}
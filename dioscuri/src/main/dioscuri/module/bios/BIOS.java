@@ -43,6 +43,9 @@ import dioscuri.Emulator;
 import dioscuri.exception.ModuleException;
 import dioscuri.module.ModuleBIOS;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -109,6 +112,29 @@ public class BIOS extends ModuleBIOS {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The ROM images are loaded from the configured files during setup, so
+     * there is no state to store.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        // ...
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -0,0 +1,131 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.bios;
+
+import dioscuri.exception.ModuleException;
+
+/**
+ * A software interrupt that {@link HighLevelBios} is asked to handle. The CPU
+ * executing the INT instruction fills in the registers, and copies them back
+ * if the interrupt has been handled. Memory is accessed through the CPU, so
+ * that its address space and code caches see every write.
+ */
+public abstract class BiosCall {
+
+    // Registers (16 bit values)
+    public int ax;
+    public int bx;
+    public int cx;
+    public int dx;
+    public int si;
+    public int di;
+
+    // Segment registers (16 bit values, not copied back)
+    public int ds;
+    public int es;
+
+    // Carry flag, set on return to signal an error
+    public boolean carry;
+
+    /**
+     * Returns a byte from memory
+     *
+     * @param address flat-address of the byte
+     * @return unsigned value of the byte
+     * @throws ModuleException
+     */
+    public abstract int getByte(int address) throws ModuleException;
+
+    /**
+     * Stores a byte in memory
+     *
+     * @param address flat-address of the byte
+     * @param value   value of the byte
+     * @throws ModuleException
+     */
+    public abstract void setByte(int address, int value) throws ModuleException;
+
+    /**
+     * Copies a range of memory into a buffer
+     *
+     * @param address flat-address of the first byte
+     * @param buffer  buffer receiving the bytes
+     * @param offset  index in buffer of the first byte
+     * @param length  number of bytes
+     * @throws ModuleException
+     */
+    public abstract void read(int address, byte[] buffer, int offset,
+            int length) throws ModuleException;
+
+    /**
+     * Copies a buffer into a range of memory
+     *
+     * @param address flat-address of the first byte
+     * @param buffer  buffer holding the bytes
+     * @param offset  index in buffer of the first byte
+     * @param length  number of bytes
+     * @throws ModuleException
+     */
+    public abstract void write(int address, byte[] buffer, int offset,
+            int length) throws ModuleException;
+
+    /**
+     * Returns a little-endian word from memory
+     *
+     * @param address flat-address of the low byte
+     * @return unsigned value of the word
+     * @throws ModuleException
+     */
+    public int getWord(int address) throws ModuleException {
+        return this.getByte(address) | (this.getByte(address + 1) << 8);
+    }
+
+    /**
+     * Stores a little-endian word in memory
+     *
+     * @param address flat-address of the low byte
+     * @param value   value of the word
+     * @throws ModuleException
+     */
+    public void setWord(int address, int value) throws ModuleException {
+        this.setByte(address, value & 0xFF);
+        this.setByte(address + 1, (value >> 8) & 0xFF);
+    }
+}
@@ -0,0 +1,472 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.bios;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.exception.StorageDeviceException;
+import dioscuri.metrics.Counter;
+import dioscuri.module.ModuleMotherboard;
+import dioscuri.module.ata.ATA;
+import dioscuri.module.ata.ATADrive;
+import dioscuri.module.fdc.FDC;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * High-level emulation of the most frequently used BIOS services. The CPU
+ * offers every software interrupt to this class before entering the BIOS
+ * code; a handled interrupt returns right away with the results the BIOS
+ * would have produced, sparing the thousands of guest instructions and port
+ * accesses the BIOS needs for a single disk read or character of output.
+ * <p/>
+ * Handled are:
+ * - INT 13h AH=02h/03h, reading and writing sectors by cylinder, head and
+ * sector on floppies and untranslated hard disks
+ * - INT 13h AH=42h/43h, extended reads and writes on hard disks
+ * - INT 10h AH=0Eh, teletype output in text modes
+ * - INT 10h AH=06h/07h, scrolling a window in text modes
+ * <p/>
+ * Anything else, including every request that would make the BIOS report an
+ * error, is left to the BIOS itself. An interrupt is only handled while its
+ * vector still points into the system BIOS (or video BIOS for INT 10h), so
+ * handlers hooked in by the guest always run.
+ */
+public class HighLevelBios {
+
+    // Logging
+    private static final Logger logger = Logger.getLogger(HighLevelBios.class.getName());
+
+    // Segments of the interrupt handlers in ROM
+    private final static int SYSTEM_BIOS_SEGMENT = 0xF000;
+    private final static int VIDEO_BIOS_SEGMENT = 0xC000;
+
+    // BIOS data area
+    private final static int BDA_FLOPPY_STATUS = 0x441;
+    private final static int BDA_VIDEO_MODE = 0x449;
+    private final static int BDA_COLUMNS = 0x44A;
+    private final static int BDA_CURSOR_POSITION = 0x450;
+    private final static int BDA_ACTIVE_PAGE = 0x462;
+    private final static int BDA_CRTC_ADDRESS = 0x463;
+    private final static int BDA_DISK_STATUS = 0x474;
+    private final static int BDA_ROWS = 0x484;
+
+    // Disk transfers must stay below the video window and ROMs
+    private final static int MEMORY_LIMIT = 0xA0000;
+    private final static int SECTOR_SIZE = 512;
+    private final static int MAX_EXTENDED_SECTORS = 127;
+
+    // Devices (null if not present)
+    private final FDC fdc;
+    private final ATA ata;
+    private final ModuleMotherboard motherboard;
+
+    // Buffer for disk transfers and screen contents, grown when needed
+    private byte[] buffer;
+
+    // Number of interrupts handled
+    private final Counter handledCalls = new Counter();
+
+    /**
+     * Class constructor
+     *
+     * @param fdc         floppy disk controller, or null
+     * @param ata         ATA controller, or null
+     * @param motherboard motherboard to reach the video I/O ports through
+     */
+    public HighLevelBios(FDC fdc, ATA ata, ModuleMotherboard motherboard) {
+        this.fdc = fdc;
+        this.ata = ata;
+        this.motherboard = motherboard;
+        buffer = new byte[18 * SECTOR_SIZE];
+    }
+
+    /**
+     * Handles a software interrupt if it is one of the supported BIOS
+     * services. If so, the registers of the call hold the results and the
+     * CPU continues after the INT instruction.
+     *
+     * @param vector interrupt vector
+     * @param call   registers and memory of the CPU
+     * @return true if the interrupt has been handled, false if the CPU must
+     *         execute it
+     */
+    public boolean handleInterrupt(int vector, BiosCall call) {
+        try {
+            boolean handled;
+            switch (vector) {
+                case 0x10:
+                    handled = this.isHandledBy(call, vector, VIDEO_BIOS_SEGMENT)
+                            && this.videoService(call);
+                    break;
+                case 0x13:
+                    handled = this.isHandledBy(call, vector, SYSTEM_BIOS_SEGMENT)
+                            && this.diskService(call);
+                    break;
+                default:
+                    return false;
+            }
+            if (handled) {
+                handledCalls.increment();
+            }
+            return handled;
+        } catch (ModuleException e) {
+            logger.log(Level.WARNING, "[bios] INT " + Integer.toHexString(vector)
+                    + "h left to the BIOS: " + e.getMessage());
+        } catch (StorageDeviceException e) {
+            logger.log(Level.WARNING, "[bios] INT " + Integer.toHexString(vector)
+                    + "h left to the BIOS: " + e.getMessage());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[bios] INT " + Integer.toHexString(vector)
+                    + "h left to the BIOS: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of interrupts handled so far
+     *
+     * @return number of handled interrupts
+     */
+    public long getHandledCalls() {
+        return handledCalls.get();
+    }
+
+    /**
+     * Checks if an interrupt vector still points into a BIOS ROM
+     */
+    private boolean isHandledBy(BiosCall call, int vector, int segment)
+            throws ModuleException {
+        return call.getWord(vector * 4 + 2) == segment;
+    }
+
+    /**
+     * Makes sure the buffer holds at least the given number of bytes
+     */
+    private void ensureBuffer(int length) {
+        if (buffer.length < length) {
+            buffer = new byte[length];
+        }
+    }
+
+    // ******************************************************************************
+    // INT 13h: disk services
+
+    private boolean diskService(BiosCall call) throws ModuleException,
+            StorageDeviceException, IOException {
+        // With a CD-ROM attached the BIOS may emulate a boot floppy or hard
+        // disk, so drive numbers can not be mapped onto devices
+        if (ata != null && ata.hasCdromDrive()) {
+            return false;
+        }
+
+        int function = (call.ax >> 8) & 0xFF;
+        int drive = call.dx & 0xFF;
+        switch (function) {
+            case 0x02:
+            case 0x03:
+                return this.transferChs(call, drive, function == 0x03);
+            case 0x42:
+            case 0x43:
+                return drive >= 0x80
+                        && this.transferExtended(call, drive, function == 0x43);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Reads or writes sectors addressed by cylinder, head and sector
+     * (AH=02h/03h). Transfers that would wrap around the end of their
+     * segment are left to the BIOS.
+     */
+    private boolean transferChs(BiosCall call, int drive, boolean write)
+            throws ModuleException, StorageDeviceException, IOException {
+        int count = call.ax & 0xFF;
+        int cylinder = ((call.cx >> 8) & 0xFF) | ((call.cx & 0xC0) << 2);
+        int sector = call.cx & 0x3F;
+        int head = (call.dx >> 8) & 0xFF;
+        int length = count * SECTOR_SIZE;
+        int address = (call.es << 4) + call.bx;
+        if (count == 0 || call.bx + length > 0x10000
+                || address + length > MEMORY_LIMIT) {
+            return false;
+        }
+
+        this.ensureBuffer(length);
+        if (write) {
+            call.read(address, buffer, 0, length);
+        }
+        if (drive < 0x80) {
+            // Floppies are transferred through DMA, which can not cross a
+            // 64 KB boundary
+            if (fdc == null || (address & 0xFFFF) + length > 0x10000
+                    || !fdc.transferSectors(drive, cylinder, head, sector,
+                    count, buffer, write)) {
+                return false;
+            }
+            call.setByte(BDA_FLOPPY_STATUS, 0);
+        } else {
+            ATADrive disk = ata == null ? null : ata.getHardDisk(drive - 0x80);
+            if (disk == null || !disk.hasUntranslatedGeometry()
+                    || cylinder >= disk.getTotalNumCylinders()
+                    || head >= disk.getTotalNumHeads() || sector < 1
+                    || sector > disk.getTotalNumSectors()) {
+                return false;
+            }
+            long lba = ((long) cylinder * disk.getTotalNumHeads() + head)
+                    * disk.getTotalNumSectors() + sector - 1;
+            if (!this.transferDisk(disk, lba, count, write)) {
+                return false;
+            }
+            call.setByte(BDA_DISK_STATUS, 0);
+        }
+        if (!write) {
+            call.write(address, buffer, 0, length);
+        }
+
+        // AH=00h (success), AL=number of sectors transferred
+        call.ax = count;
+        call.carry = false;
+        return true;
+    }
+
+    /**
+     * Reads or writes sectors described by the disk address packet at DS:SI
+     * (AH=42h/43h)
+     */
+    private boolean transferExtended(BiosCall call, int drive, boolean write)
+            throws ModuleException, StorageDeviceException, IOException {
+        int packet = (call.ds << 4) + call.si;
+        if (call.getByte(packet) < 0x10) {
+            return false;
+        }
+        int count = call.getWord(packet + 2);
+        int address = (call.getWord(packet + 6) << 4) + call.getWord(packet + 4);
+        long lba = (call.getWord(packet + 8) & 0xFFFFL)
+                | ((call.getWord(packet + 10) & 0xFFFFL) << 16)
+                | ((call.getWord(packet + 12) & 0xFFFFL) << 32)
+                | ((call.getWord(packet + 14) & 0xFFFFL) << 48);
+        int length = count * SECTOR_SIZE;
+        if (count == 0 || count > MAX_EXTENDED_SECTORS
+                || call.getWord(packet + 4) + length > 0x10000
+                || address + length > MEMORY_LIMIT) {
+            return false;
+        }
+
+        ATADrive disk = ata == null ? null : ata.getHardDisk(drive - 0x80);
+        if (disk == null) {
+            return false;
+        }
+        this.ensureBuffer(length);
+        if (write) {
+            call.read(address, buffer, 0, length);
+        }
+        if (!this.transferDisk(disk, lba, count, write)) {
+            return false;
+        }
+        if (!write) {
+            call.write(address, buffer, 0, length);
+        }
+        call.setByte(BDA_DISK_STATUS, 0);
+
+        // AH=00h (success), the packet keeps the number of sectors
+        call.ax &= 0x00FF;
+        call.carry = false;
+        return true;
+    }
+
+    /**
+     * Transfers sectors between a hard disk and the buffer
+     *
+     * @return true if the sectors exist and have been transferred
+     */
+    private boolean transferDisk(ATADrive disk, long lba, int count,
+                                 boolean write) throws IOException {
+        long capacity = (long) disk.getTotalNumCylinders()
+                * disk.getTotalNumHeads() * disk.getTotalNumSectors();
+        if (lba < 0 || lba + count > capacity) {
+            return false;
+        }
+        if (write) {
+            disk.writeData(buffer, 0, lba * SECTOR_SIZE, count * SECTOR_SIZE);
+        } else {
+            disk.readData(buffer, 0, lba * SECTOR_SIZE, count * SECTOR_SIZE);
+        }
+        return true;
+    }
+
+    // ******************************************************************************
+    // INT 10h: video services
+
+    private boolean videoService(BiosCall call) throws ModuleException {
+        // Only text modes on the first page, so that the screen starts at
+        // the beginning of the text buffer
+        int mode = call.getByte(BDA_VIDEO_MODE);
+        if ((mode > 0x03 && mode != 0x07)
+                || call.getByte(BDA_ACTIVE_PAGE) != 0) {
+            return false;
+        }
+        int screen = mode == 0x07 ? 0xB0000 : 0xB8000;
+        int columns = call.getWord(BDA_COLUMNS);
+        int rows = call.getByte(BDA_ROWS) + 1;
+        if (columns == 0 || columns > 0xFF || rows > 0xFF) {
+            return false;
+        }
+
+        switch ((call.ax >> 8) & 0xFF) {
+            case 0x0E:
+                return this.teletype(call, screen, columns, rows);
+            case 0x06:
+            case 0x07:
+                int lines = call.ax & 0xFF;
+                int top = (call.cx >> 8) & 0xFF;
+                int left = call.cx & 0xFF;
+                int bottom = Math.min((call.dx >> 8) & 0xFF, rows - 1);
+                int right = Math.min(call.dx & 0xFF, columns - 1);
+                if (top <= bottom && left <= right) {
+                    this.scroll(call, screen, columns, lines > rows ? 0 : lines,
+                            (call.bx >> 8) & 0xFF, top, left, bottom, right,
+                            (call.ax & 0xFF00) == 0x0600);
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Writes a character and advances the cursor (AH=0Eh), like the video
+     * BIOS does: the attribute on screen is kept, and when the cursor moves
+     * past the last line the screen is scrolled up with attribute 07h.
+     */
+    private boolean teletype(BiosCall call, int screen, int columns, int rows)
+            throws ModuleException {
+        // BH holds the page to write to; only the active page 0 is handled
+        if (((call.bx >> 8) & 0xFF) != 0) {
+            return false;
+        }
+        int character = call.ax & 0xFF;
+        int cursor = call.getWord(BDA_CURSOR_POSITION);
+        int column = cursor & 0xFF;
+        int row = (cursor >> 8) & 0xFF;
+        if (column >= columns || row >= rows) {
+            return false;
+        }
+
+        switch (character) {
+            case 0x07: // Bell
+            case 0x09: // Tab
+                return false;
+            case 0x08: // Backspace
+                if (column > 0) {
+                    column--;
+                }
+                break;
+            case 0x0D: // Carriage return
+                column = 0;
+                break;
+            case 0x0A: // Line feed
+                row++;
+                break;
+            default:
+                call.setByte(screen + (row * columns + column) * 2, character);
+                column++;
+                break;
+        }
+        if (column == columns) {
+            column = 0;
+            row++;
+        }
+        if (row == rows) {
+            this.scroll(call, screen, columns, 1, 0x07, 0, 0, rows - 1,
+                    columns - 1, true);
+            row--;
+        }
+        this.setCursor(call, columns, row, column);
+        return true;
+    }
+
+    /**
+     * Scrolls a window of the screen (AH=06h/07h). Lines scrolled in are
+     * filled with spaces in the given attribute; zero lines clears the
+     * window.
+     */
+    private void scroll(BiosCall call, int screen, int columns, int lines,
+                        int attribute, int top, int left, int bottom, int right,
+                        boolean up) throws ModuleException {
+        int first = top * columns * 2;
+        int end = (bottom + 1) * columns * 2;
+        this.ensureBuffer(end);
+        call.read(screen + first, buffer, first, end - first);
+
+        int width = (right - left + 1) * 2;
+        for (int i = 0; i <= bottom - top; i++) {
+            int row = up ? top + i : bottom - i;
+            int start = (row * columns + left) * 2;
+            if (lines == 0 || i > bottom - top - lines) {
+                for (int j = start; j < start + width; j += 2) {
+                    buffer[j] = ' ';
+                    buffer[j + 1] = (byte) attribute;
+                }
+            } else {
+                int source = ((up ? row + lines : row - lines) * columns + left) * 2;
+                System.arraycopy(buffer, source, buffer, start, width);
+            }
+            call.write(screen + start, buffer, start, width);
+        }
+    }
+
+    /**
+     * Moves the cursor of the first page, in the BIOS data area and on the
+     * CRT controller
+     */
+    private void setCursor(BiosCall call, int columns, int row, int column)
+            throws ModuleException {
+        call.setWord(BDA_CURSOR_POSITION, (row << 8) | column);
+
+        int position = row * columns + column;
+        int crtc = call.getWord(BDA_CRTC_ADDRESS);
+        // Index in the low byte, value in the high byte, as OUT DX,AX does
+        motherboard.writeWord(crtc, 0x0E | (position & 0xFF00));
+        motherboard.writeWord(crtc, 0x0F | ((position & 0xFF) << 8));
+    }
+}
@@ -46,6 +46,10 @@ import dioscuri.module.ModuleCPU;
 import dioscuri.module.ModuleClock;
 import dioscuri.module.ModuleMotherboard;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -61,7 +65,9 @@ import java.util.logging.Logger;
  * actual frequency in real-time pulsing is 1 pulse each millisecond - The
  * actual frequency in CPU-triggered pulsing is 1 pulse each microsecond - By
  * default the clock is CPU-triggered - Only 10 clock users can be registered at
- * max
+ * max - Running timers are kept in a queue sorted on their deadline, so the CPU
+ * only has to count down to the first deadline instead of pulsing the clock
+ * after every instruction
  */
 public class Clock extends ModuleClock implements Runnable {
 
@@ -69,11 +75,16 @@ public class Clock extends ModuleClock implements Runnable {
     private static final Logger logger = Logger.getLogger(Clock.class.getName());
 
     private Timer[] timers;
+    private Timer[] queue; // Running timers, sorted on deadline
+    private int queueSize;
     private boolean keepRunning;
 
     // Timing
     private long sleepTime;
     private int arrayIndex;
+    private long now; // Clock time in instructions
+
+    private ModuleCPU cpu = null;
 
     // Constants
     public final static int TIMER_ARRAY_SIZE = 10;
@@ -87,6 +98,9 @@ public class Clock extends ModuleClock implements Runnable {
         // Initialise array for all timers
         timers = new Timer[TIMER_ARRAY_SIZE];
         arrayIndex = 0;
+        queue = new Timer[TIMER_ARRAY_SIZE];
+        queueSize = 0;
+        now = 0;
 
         keepRunning = true;
 
@@ -140,9 +154,13 @@ public class Clock extends ModuleClock implements Runnable {
 
         for (int t = 0; t < timers.length; t++) {
             if (timers[t] != null) {
+                long countdown = timers[t].currentCount;
+                if (timers[t].active && timers[t].deadline != Long.MAX_VALUE) {
+                    countdown = timers[t].deadline - now;
+                }
                 dump += "Timer " + t + ": " + timers[t].user.getType()
                         + ", updateInterval=" + timers[t].intervalLength
-                        + " instr., countdown=" + timers[t].currentCount
+                        + " instr., countdown=" + countdown
                         + " instr.\n";
             }
         }
@@ -150,6 +168,62 @@ public class Clock extends ModuleClock implements Runnable {
         return dump;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Timers are stored in order of registration; they are registered again
+     * by the devices during setup, so only their countdown state is stored.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        this.synchronize();
+        output.writeLong(now);
+        output.writeInt(arrayIndex);
+        for (int t = 0; t < arrayIndex; t++) {
+            output.writeUTF(timers[t].user.getType().toString());
+            output.writeInt(timers[t].intervalLength);
+            output.writeInt(timers[t].currentCount);
+            output.writeLong(timers[t].deadline);
+            output.writeBoolean(timers[t].active);
+            output.writeBoolean(timers[t].typeContinuous);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        // Discard instructions the CPU executed since the last clock pulse
+        this.synchronize();
+        now = input.readLong();
+        if (input.readInt() != arrayIndex) {
+            throw new IOException("[" + super.getType() + "] Number of timers does not match snapshot");
+        }
+        queueSize = 0;
+        Arrays.fill(queue, null);
+        for (int t = 0; t < arrayIndex; t++) {
+            String userType = input.readUTF();
+            if (!userType.equals(timers[t].user.getType().toString())) {
+                throw new IOException("[" + super.getType() + "] Timer " + t + " belongs to "
+                        + timers[t].user.getType() + ", snapshot expects " + userType);
+            }
+            timers[t].intervalLength = input.readInt();
+            timers[t].currentCount = input.readInt();
+            timers[t].deadline = input.readLong();
+            timers[t].active = input.readBoolean();
+            timers[t].typeContinuous = input.readBoolean();
+            if (timers[t].active) {
+                this.enqueue(timers[t]);
+            }
+        }
+        this.reschedule();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -191,7 +265,16 @@ public class Clock extends ModuleClock implements Runnable {
         int t = 0;
         while (timers[t] != null) {
             if (timers[t].user.getType() == device.getType()) {
+                this.synchronize();
+                if (timers[t].active) {
+                    this.dequeue(timers[t]);
+                }
                 timers[t].reset(updateInterval * (cpu.getIPS() / 1000000));
+                if (timers[t].active) {
+                    timers[t].schedule(now);
+                    this.enqueue(timers[t]);
+                }
+                this.reschedule();
                 logger.log(Level.INFO, "[" + super.getType() + "]" + " Device '"
                         + device.getType() + "' timer reset to "
                         + timers[t].intervalLength + " instructions");
@@ -213,7 +296,18 @@ public class Clock extends ModuleClock implements Runnable {
         int t = 0;
         while (timers[t] != null) {
             if (timers[t].user.getType() == device.getType()) {
-                timers[t].active = runState;
+                if (timers[t].active != runState) {
+                    this.synchronize();
+                    if (runState) {
+                        timers[t].schedule(now);
+                        this.enqueue(timers[t]);
+                    } else {
+                        this.dequeue(timers[t]);
+                        timers[t].unschedule(now);
+                    }
+                    timers[t].active = runState;
+                    this.reschedule();
+                }
                 logger.log(Level.INFO, "[" + super.getType() + "]" + " Device '"
                         + device.getType() + "' timer active state set to "
                         + runState);
@@ -231,17 +325,128 @@ public class Clock extends ModuleClock implements Runnable {
      */
     @Override
     public void pulse() {
-        // Check all active timers
-        int t = 0;
-        while (timers[t] != null) {
-            if (timers[t].active) {
-                timers[t].currentCount--;
-                if (timers[t].currentCount == 0) {
-                    timers[t].reset();
-                    timers[t].user.update();
-                }
+        // Advance clock by one instruction and check if first timer went off
+        if (++now >= nextDeadline()) {
+            this.triggerTimers();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleClock
+     */
+    @Override
+    public void pulse(int instructions) {
+        now += instructions;
+        if (now >= nextDeadline()) {
+            this.triggerTimers();
+        } else {
+            this.reschedule();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleClock
+     */
+    @Override
+    public long getTimeToNextTimer() {
+        long deadline = nextDeadline();
+        return deadline == Long.MAX_VALUE ? deadline : Math.max(deadline - now, 0);
+    }
+
+    /**
+     * Update all devices of which the timer went off and restart continuous
+     * timers
+     */
+    private void triggerTimers() {
+        while (queueSize > 0 && queue[0].deadline <= now) {
+            Timer timer = queue[0];
+            this.dequeue(timer);
+            timer.reset();
+            if (timer.active) {
+                timer.schedule(now);
+                this.enqueue(timer);
+            }
+            // Device may reset or (de)activate any timer during its update
+            timer.user.update();
+        }
+        this.reschedule();
+    }
+
+    /**
+     * Returns the clock time at which the first running timer goes off
+     *
+     * @return long deadline of first timer, Long.MAX_VALUE if none is running
+     */
+    private long nextDeadline() {
+        return queueSize > 0 ? queue[0].deadline : Long.MAX_VALUE;
+    }
+
+    /**
+     * Bring the clock time up to date with the instructions the CPU executed
+     * since the clock was last pulsed
+     */
+    private void synchronize() {
+        if (cpu == null) {
+            cpu = (ModuleCPU) super.getConnection(Module.Type.CPU);
+        }
+        if (cpu != null) {
+            now += cpu.scheduleClockPulse(0);
+        }
+    }
+
+    /**
+     * Inform the CPU after how many instructions the clock should be pulsed
+     * again. Assumes the clock time is up to date.
+     */
+    private void reschedule() {
+        if (cpu == null) {
+            cpu = (ModuleCPU) super.getConnection(Module.Type.CPU);
+        }
+        if (cpu != null) {
+            long countdown = nextDeadline() - now;
+            if (countdown > Integer.MAX_VALUE) {
+                countdown = Integer.MAX_VALUE;
+            }
+            now += cpu.scheduleClockPulse((int) Math.max(countdown, 1));
+        }
+    }
+
+    /**
+     * Insert timer in queue, keeping queue sorted on deadline. Timers with
+     * equal deadlines go off in order of insertion.
+     *
+     * @param timer
+     */
+    private void enqueue(Timer timer) {
+        if (timer.deadline == Long.MAX_VALUE) {
+            // Timer will never go off
+            return;
+        }
+        int i = queueSize;
+        while (i > 0 && queue[i - 1].deadline > timer.deadline) {
+            queue[i] = queue[i - 1];
+            i--;
+        }
+        queue[i] = timer;
+        queueSize++;
+    }
+
+    /**
+     * Remove timer from queue (if present)
+     *
+     * @param timer
+     */
+    private void dequeue(Timer timer) {
+        for (int i = 0; i < queueSize; i++) {
+            if (queue[i] == timer) {
+                System.arraycopy(queue, i + 1, queue, i, queueSize - i - 1);
+                queue[--queueSize] = null;
+                return;
             }
-            t++;
         }
     }
 
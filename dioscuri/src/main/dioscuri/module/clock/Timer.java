@@ -54,7 +54,8 @@ public class Timer {
     protected Updateable user;
 
     protected int intervalLength;
-    protected int currentCount;
+    protected int currentCount; // Remaining countdown while timer is stopped
+    protected long deadline; // Clock time at which a running timer goes off
     protected boolean active; // Timer state: active - timer is running inactive - timer is stopped
     protected boolean typeContinuous; // Timer type : continuous automatically resets and runs again
 
@@ -67,6 +68,7 @@ public class Timer {
         this.user = user;
         this.intervalLength = intervalLength;
         this.currentCount = intervalLength;
+        this.deadline = Long.MAX_VALUE;
         this.active = false;
         this.typeContinuous = type;
     }
@@ -91,4 +93,26 @@ public class Timer {
         this.intervalLength = intervalLength;
         this.reset();
     }
+
+    /**
+     * Start the countdown of this timer from the given clock time
+     *
+     * @param now current clock time in instructions
+     */
+    protected void schedule(long now) {
+        // A timer without a positive countdown never goes off
+        deadline = currentCount > 0 ? now + currentCount : Long.MAX_VALUE;
+    }
+
+    /**
+     * Freeze the countdown of this timer at the given clock time
+     *
+     * @param now current clock time in instructions
+     */
+    protected void unschedule(long now) {
+        if (deadline != Long.MAX_VALUE) {
+            currentCount = (int) (deadline - now);
+        }
+        deadline = Long.MAX_VALUE;
+    }
 }
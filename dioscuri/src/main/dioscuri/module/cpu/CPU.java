@@ -43,9 +43,15 @@ import dioscuri.Emulator;
 import dioscuri.exception.CPUInstructionException;
 import dioscuri.exception.CPU_DE_Exception;
 import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.IntAddressable;
 import dioscuri.interfaces.Module;
 import dioscuri.module.*;
+import dioscuri.module.bios.BiosCall;
+import dioscuri.module.bios.HighLevelBios;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -92,20 +98,16 @@ import java.util.logging.Logger;
  *      SI 2-byte offset specified after addressbyte 111 BH DI BX sss specifies
  *      a register
  */
-public class CPU extends ModuleCPU {
+public class CPU extends ModuleCPU implements IntAddressable {
 
     // Logging
     private static final Logger logger = Logger.getLogger(CPU.class.getName());
 
     // Toggles
-    private boolean isRunning;
-    private boolean debugMode; // Denotes if CPU module is in debug mode
-    private boolean irqPending; // Denotes if an IRQ is pending
+    private volatile boolean isRunning;
     private boolean irqWaited; // Denotes if CPU has waited an extra instruction
     // before handling IRQ (as stated by Intel spec)
-    private boolean holdReQuest; // Bus hold request for CPU
-    protected boolean asyncEvent; // Denotes an asynchronous event (could be an
-    // IRQ or DMA)
+    // Pending IRQs, hold requests and boundary tasks are kept in the mailbox
     private Module hRQorigin; // Device generating a Hold Request
     private boolean breakpointSet; // Denotes if a breakpoint is set at a
     // particular address (CS:IP)
@@ -119,8 +121,12 @@ public class CPU extends ModuleCPU {
 
     // Instruction and timing
     private long instructionCounter; // total number of executed instructions
+    private int clockCountdown; // instructions left before clock must be pulsed
+    private int clockPeriod; // instructions scheduled at last clock pulse
     private byte prefixCounter; // total number of prefixes set before execution
     // of current instruction
+    private int keyboardPolls; // INT 16h polls in a row on an empty buffer
+    private long lastKeyboardPoll; // instruction number of the last poll
     public int ips; // instructions per second
     public int ipus; // instructions per microsecond
     private int lowestUpdatePeriod; // maximum suspend time in microseconds that
@@ -132,42 +138,51 @@ public class CPU extends ModuleCPU {
 
     // General variables
     private int tempByte;
-    private byte[] tempWord;
 
     // Current flat-mode code address
-    private static int segmentedCodeAddress;
+    private int segmentedCodeAddress;
+
+    // Predecoded instructions
+    private final InstructionCache instructionCache = new InstructionCache();
+    private int replayAddress = -1; // flat-address of the next cached code byte,
+    // -1 if the current instruction is not replayed from the cache
+    private int replayIndex; // index of the next cached code byte
+    private int replayEnd; // index after the last cached code byte
+    private boolean recording; // Denotes if the code bytes of the current
+    // instruction are being recorded for the cache
+    private int recordAddress; // flat-address of the recorded instruction
+    private int recordLength; // number of code bytes recorded
+    private int recordPrefixes; // number of prefixes recorded
+    private final byte[] recordBuffer = new byte[InstructionCache.MAX_LENGTH];
+
+    private final RepStringExecutor repStringExecutor = new RepStringExecutor(
+            this); // Bulk execution of repeated string instructions
 
     // Registers
-    // General purpose registers
-    protected byte[] ax;
-    protected byte[] eax;
-    protected byte[] bx;
-    protected byte[] ebx;
-    protected byte[] cx;
-    protected byte[] ecx;
-    protected byte[] dx;
-    protected byte[] edx;
-
-    // General and index registers
-    protected byte[] sp;
-    protected byte[] esp;
-    protected byte[] bp;
-    protected byte[] ebp;
-    protected byte[] si;
-    protected byte[] esi;
-    protected byte[] di;
-    protected byte[] edi;
+    // General purpose registers (32 bit; the lower 16 bits form AX, CX, DX
+    // and BX, the lower two bytes of these form AL/AH, CL/CH, DL/DH, BL/BH)
+    protected int eax;
+    protected int ecx;
+    protected int edx;
+    protected int ebx;
+
+    // General and index registers (32 bit; the lower 16 bits form SP, BP, SI
+    // and DI)
+    protected int esp;
+    protected int ebp;
+    protected int esi;
+    protected int edi;
 
     // Segment registers
-    protected byte[] cs; // code segment register (16 bit)
-    protected byte[] ds; // data segment register (16 bit)
-    protected byte[] ss; // stack segment register (16 bit)
-    protected byte[] es; // extra segment register (16 bit)
+    protected int cs; // code segment register (16 bit)
+    protected int ds; // data segment register (16 bit)
+    protected int ss; // stack segment register (16 bit)
+    protected int es; // extra segment register (16 bit)
 
     // Special registers
-    protected byte[] ip; // instruction pointer register (16 bit)
-    protected byte[] oldIP; // backup IP
-    protected boolean[] flags; // flags register (16 bit)
+    protected int ip; // instruction pointer register (16 bit)
+    protected int oldIP; // backup IP
+    protected final Flags flags = new Flags(); // flags register (16 bit)
 
     // Control registers
     protected boolean[] cr0; // Control register 0 (32 bit)
@@ -212,6 +227,16 @@ public class CPU extends ModuleCPU {
     private final static int REALADDRESS_MODE = 1;
     private final static int PROTECTED_MODE = 2;
 
+    // Events that wake up a halted CPU
+    private final static int WAKE_EVENTS = InterruptMailbox.INTERRUPT
+            | InterruptMailbox.RESET | InterruptMailbox.HOLD
+            | InterruptMailbox.TASKS;
+
+    // Empty INT 16h polls in a row, each at most the given number of
+    // instructions after the previous one, that make a keyboard idle loop
+    private final static int KEYBOARD_POLL_THRESHOLD = 8;
+    private final static long KEYBOARD_POLL_DISTANCE = 4096;
+
     // Register sizes
     private final static int BYTE = 8; // size of byte in bits
     public final static int REGISTER_SIZE_GENERAL = 16; // size of general
@@ -239,6 +264,27 @@ public class CPU extends ModuleCPU {
     // array
     public final static int REGISTER_SEGMENT_HIGH = 0; // location of register
     // in array
+    // Register numbers, as encoded in the rrr/sss bits of the addressbyte
+    public final static int REGISTER_AX = 0; // AX, EAX
+    public final static int REGISTER_CX = 1; // CX, ECX
+    public final static int REGISTER_DX = 2; // DX, EDX
+    public final static int REGISTER_BX = 3; // BX, EBX
+    public final static int REGISTER_SP = 4; // SP, ESP
+    public final static int REGISTER_BP = 5; // BP, EBP
+    public final static int REGISTER_SI = 6; // SI, ESI
+    public final static int REGISTER_DI = 7; // DI, EDI
+    public final static int REGISTER_AL = 0;
+    public final static int REGISTER_CL = 1;
+    public final static int REGISTER_DL = 2;
+    public final static int REGISTER_BL = 3;
+    public final static int REGISTER_AH = 4;
+    public final static int REGISTER_CH = 5;
+    public final static int REGISTER_DH = 6;
+    public final static int REGISTER_BH = 7;
+    public final static int REGISTER_ES = 0; // segment register ES
+    public final static int REGISTER_CS = 1; // segment register CS
+    public final static int REGISTER_SS = 2; // segment register SS
+    public final static int REGISTER_DS = 3; // segment register DS
     public final static int REGISTER_FLAGS_CF = 0; // Carry Flag (unsigned)
     public final static int REGISTER_FLAGS_PF = 2; // Parity Flag
     public final static int REGISTER_FLAGS_AF = 4; // Auxiliary Carry Flag
@@ -273,14 +319,15 @@ public class CPU extends ModuleCPU {
     public final static int SEGMENT_OVERRIDE_ES = 2; // Override with segment ES
     public final static int SEGMENT_OVERRIDE_SS = 3; // Override with segment SS
 
-    // Standard word values
-    public final static byte[] WORD_0X0001 = new byte[]{0x00, 0x01};
-
     private ModuleMemory memory = null;
     private ModuleMotherboard motherboard = null;
     private ModulePIC pic = null;
     private ModuleClock clock = null;
 
+    // BIOS services handled by the emulator (null if the BIOS code runs)
+    private HighLevelBios highLevelBios = null;
+    private BiosCall biosCall = null;
+
     // Constructors
 
     /**
@@ -290,8 +337,6 @@ public class CPU extends ModuleCPU {
      */
     public CPU(Emulator owner) {
 
-        debugMode = false;
-        irqPending = false;
         irqWaited = false;
         abnormalTermination = false;
         shutDown = false;
@@ -318,7 +363,7 @@ public class CPU extends ModuleCPU {
     public boolean reset() {
         // Initialise toggles
         isRunning = true;
-        irqPending = false;
+        mailbox.clear(InterruptMailbox.INTERRUPT | InterruptMailbox.HOLD);
         irqWaited = false;
         abnormalTermination = false;
         shutDown = false;
@@ -335,11 +380,15 @@ public class CPU extends ModuleCPU {
 
         // Initialise temporary values
         tempByte = 0;
-        tempWord = new byte[2];
 
         // Initialise extra variables
         stackSize = 0;
 
+        // Forget predecoded instructions
+        instructionCache.clear();
+        replayAddress = -1;
+        recording = false;
+
         logger.log(Level.INFO, "[" + super.getType() + "] AbstractModule has been reset.");
         return true;
     }
@@ -363,21 +412,21 @@ public class CPU extends ModuleCPU {
 
         try {
             // Check if module is in debug mode
-            if (debugMode) {
+            if (super.getDebugMode()) {
 
                 // Check for any breakpoints set
                 if (breakpointSet) {
-                    if (((convertWordToInt(cs) << 4) + convertWordToInt(ip)) == 9336542) {
+                    if (((cs << 4) + ip) == 9336542) {
                         // this.cpuInstructionDebug = true;
                         if (!waitMessageShown) {
                             logger.log(Level.SEVERE, "["
                                     + super.getType()
                                     + "]"
                                     + " Breakpoint set at "
-                                    + Integer.toHexString(convertWordToInt(cs))
+                                    + Integer.toHexString(cs)
                                     .toUpperCase()
                                     + ":"
-                                    + Integer.toHexString(convertWordToInt(ip))
+                                    + Integer.toHexString(ip)
                                     .toUpperCase()
                                     + ", wait for prompt...");
                             waitMessageShown = true;
@@ -386,26 +435,9 @@ public class CPU extends ModuleCPU {
                     }
                 }
 
-                // Retrieve one byte from code segment (converting byte to
-                // unsigned integer to avoid lookup in instruction array out of
-                // bounds)
-                codeByte = this.getByteFromCode() & 0xFF;
-
                 try {
-                    while (this.isPrefix()) {
-                        // PREFIX encountered
-
-                        // Execute prefix
-                        singleByteInstructions[codeByte].execute();
-
-                        // Increment prefix counter
-                        prefixCounter++;
-
-                        // Retrieve one byte from code segment (converting byte
-                        // to unsigned integer to avoid lookup in instruction
-                        // array out of bounds)
-                        codeByte = this.getByteFromCode() & 0xFF;
-                    }
+                    // Retrieve opcode, executing any prefixes before it
+                    this.fetchInstruction();
 
                     // INSTRUCTION encountered
 
@@ -422,6 +454,7 @@ public class CPU extends ModuleCPU {
 
                     // Handle prefixes (if necesarry)
                     this.executeInstruction();
+                    this.retireInstruction();
 
                     // Increment instruction counter
                     instructionCounter++;
@@ -430,7 +463,7 @@ public class CPU extends ModuleCPU {
                     this.resetPrefixes();
 
                     // Handle asynchronous event (if any)
-                    if (asyncEvent) {
+                    if (mailbox.isPending()) {
                         if (this.handleAsyncEvent()) // Any event
                         // returning true
                         // stops CPU
@@ -446,10 +479,10 @@ public class CPU extends ModuleCPU {
                             + e.getMessage());
                 }
 
-                // TODO: Optimise routine to call only when a device timer goes
-                // off, not every instruction
-                // Send pulse to clock
-                clock.pulse();
+                // Send pulse to clock only when a device timer goes off
+                if (--clockCountdown <= 0) {
+                    this.pulseClock();
+                }
 
                 // Debugging information; boolean to turn on
                 if (this.cpuInstructionDebug) {
@@ -481,31 +514,15 @@ public class CPU extends ModuleCPU {
                 // Perform continuous execution of instructions
                 while (isRunning) {
 
-                    // Retrieve one byte from code segment (converting byte to
-                    // unsigned integer to avoid lookup in instruction array out
-                    // of bounds)
-                    codeByte = this.getByteFromCode() & 0xFF;
-
                     try {
-                        while (this.isPrefix()) {
-                            // PREFIX encountered
-
-                            // Execute prefix
-                            singleByteInstructions[codeByte].execute();
-
-                            // Increment prefix counter
-                            prefixCounter++;
-
-                            // Retrieve one byte from code segment (converting
-                            // byte to unsigned integer to avoid lookup in
-                            // instruction array out of bounds)
-                            codeByte = this.getByteFromCode() & 0xFF;
-                        }
+                        // Retrieve opcode, executing any prefixes before it
+                        this.fetchInstruction();
 
                         // INSTRUCTION encountered
 
                         // Handle prefixes (if necesarry)
                         this.executeInstruction();
+                        this.retireInstruction();
 
                         // Increment instruction counter
                         instructionCounter++;
@@ -514,7 +531,7 @@ public class CPU extends ModuleCPU {
                         this.resetPrefixes();
 
                         // Handle asynchronous event (if any)
-                        if (asyncEvent) {
+                        if (mailbox.isPending()) {
                             if (this.handleAsyncEvent()) // Any event
                             // returning
                             // true stops
@@ -532,10 +549,10 @@ public class CPU extends ModuleCPU {
                                 + e.getMessage());
                     }
 
-                    // TODO: Optimise routine to call only when a device timer
-                    // goes off, not every instruction
-                    // Send pulse to clock
-                    clock.pulse();
+                    // Send pulse to clock only when a device timer goes off
+                    if (--clockCountdown <= 0) {
+                        this.pulseClock();
+                    }
 
                 }
 
@@ -593,6 +610,80 @@ public class CPU extends ModuleCPU {
         this.setRunning(false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Control registers and descriptor table registers are copied into the
+     * existing arrays on load, as the instruction classes keep references to
+     * them.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        for (int register : new int[]{eax, ecx, edx, ebx, esp, ebp, esi, edi,
+                cs, ds, ss, es, ip, oldIP, flags.getValue()}) {
+            output.writeInt(register);
+        }
+        for (byte[] register : new byte[][]{gdtr, idtr}) {
+            output.write(register);
+        }
+        for (boolean[] register : new boolean[][]{cr0, cr1, cr2, cr3, cr4}) {
+            for (boolean bit : register) {
+                output.writeBoolean(bit);
+            }
+        }
+        int pending = mailbox.get();
+        output.writeBoolean((pending & InterruptMailbox.INTERRUPT) != 0);
+        output.writeBoolean(irqWaited);
+        output.writeBoolean((pending & InterruptMailbox.HOLD) != 0);
+        output.writeByte(stackSize);
+        output.writeLong(instructionCounter);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        eax = input.readInt();
+        ecx = input.readInt();
+        edx = input.readInt();
+        ebx = input.readInt();
+        esp = input.readInt();
+        ebp = input.readInt();
+        esi = input.readInt();
+        edi = input.readInt();
+        cs = input.readInt();
+        ds = input.readInt();
+        ss = input.readInt();
+        es = input.readInt();
+        ip = input.readInt();
+        oldIP = input.readInt();
+        flags.setValue(input.readInt());
+        for (byte[] register : new byte[][]{gdtr, idtr}) {
+            input.readFully(register);
+        }
+        for (boolean[] register : new boolean[][]{cr0, cr1, cr2, cr3, cr4}) {
+            for (int i = 0; i < register.length; i++) {
+                register[i] = input.readBoolean();
+            }
+        }
+        boolean irqPending = input.readBoolean();
+        irqWaited = input.readBoolean();
+        boolean holdReQuest = input.readBoolean();
+        hRQorigin = holdReQuest ? super.getConnection(Module.Type.DMA) : null;
+        stackSize = input.readByte();
+        instructionCounter = input.readLong();
+
+        this.resetPrefixes();
+        mailbox.clear(InterruptMailbox.INTERRUPT | InterruptMailbox.HOLD);
+        mailbox.raise((irqPending ? InterruptMailbox.INTERRUPT : 0)
+                | (holdReQuest ? InterruptMailbox.HOLD : 0));
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -617,49 +708,39 @@ public class CPU extends ModuleCPU {
                 + ret;
 
         // Print CS:IP and the first three bytes of memory
-        dump += Integer.toHexString(0x100 | cs[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (cs >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | cs[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | cs & 0xFF)
                 .substring(1).toUpperCase()
                 + ":"
-                + Integer.toHexString(0x100 | ip[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (ip >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ip[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ip & 0xFF)
                 .substring(1).toUpperCase() + "   ";
         try {
             dump += Integer
                     .toHexString(
                             0x100 | (memory
-                                    .getByte(((((cs[REGISTER_SEGMENT_HIGH]) << 12) & 0xFFFFF)
-                                            + (((cs[REGISTER_SEGMENT_LOW]) << 4) & 0xFFF)
-                                            + (((ip[REGISTER_SEGMENT_HIGH]) << 8) & 0xFFFF) + ((ip[REGISTER_SEGMENT_LOW]) & 0xFF))) & 0xFF))
+                                    .getByte(((cs << 4) + ip)) & 0xFF))
                     .substring(1).toUpperCase()
                     + " ";
             dump += Integer
                     .toHexString(
                             0x100 | (memory
-                                    .getByte(((((cs[REGISTER_SEGMENT_HIGH]) << 12) & 0xFFFFF)
-                                            + (((cs[REGISTER_SEGMENT_LOW]) << 4) & 0xFFF)
-                                            + (((ip[REGISTER_SEGMENT_HIGH]) << 8) & 0xFFFF)
-                                            + ((ip[REGISTER_SEGMENT_LOW]) & 0xFF) + 1)) & 0xFF))
+                                    .getByte(((cs << 4) + ip + 1)) & 0xFF))
                     .substring(1).toUpperCase()
                     + " ";
             dump += Integer
                     .toHexString(
                             0x100 | (memory
-                                    .getByte(((((cs[REGISTER_SEGMENT_HIGH]) << 12) & 0xFFFFF)
-                                            + (((cs[REGISTER_SEGMENT_LOW]) << 4) & 0xFFF)
-                                            + (((ip[REGISTER_SEGMENT_HIGH]) << 8) & 0xFFFF)
-                                            + ((ip[REGISTER_SEGMENT_LOW]) & 0xFF) + 2)) & 0xFF))
+                                    .getByte(((cs << 4) + ip + 2)) & 0xFF))
                     .substring(1).toUpperCase()
                     + tab;
 
             // Determine instruction from instruction table, print name
             // Cast byte to unsigned int first before instruction table lookup
             String instruct = singleByteInstructions[((int) (memory
-                    .getByte((((cs[REGISTER_SEGMENT_HIGH] & 0xFF) << 12)
-                            + ((cs[REGISTER_SEGMENT_LOW] & 0xFF) << 4)
-                            + ((ip[REGISTER_SEGMENT_HIGH] & 0xFF) << 8) + (ip[REGISTER_SEGMENT_LOW] & 0xFF))) & 0xFF))]
+                    .getByte(((cs << 4) + ip)) & 0xFF))]
                     .toString();
             instruct = instruct.substring(instruct.indexOf("_") + 1, instruct
                     .indexOf("@"));
@@ -672,80 +753,77 @@ public class CPU extends ModuleCPU {
 
         // Print registers and their values
         dump += "ax:0x"
-                + Integer.toHexString(0x100 | ax[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (eax >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ax[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | eax & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "bx:0x"
-                + Integer.toHexString(0x100 | bx[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (ebx >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | bx[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ebx & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "cx:0x"
-                + Integer.toHexString(0x100 | cx[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (ecx >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | cx[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ecx & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "dx:0x"
-                + Integer.toHexString(0x100 | dx[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (edx >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | dx[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | edx & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += ret;
         dump += "bp:0x"
-                + Integer.toHexString(0x100 | bp[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (ebp >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | bp[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ebp & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "sp:0x"
-                + Integer.toHexString(0x100 | sp[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (esp >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | sp[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | esp & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "si:0x"
-                + Integer.toHexString(0x100 | si[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (esi >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | si[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | esi & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "di:0x"
-                + Integer.toHexString(0x100 | di[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (edi >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | di[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | edi & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += ret;
         dump += "ip:0x"
-                + Integer.toHexString(0x100 | ip[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (ip >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ip[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ip & 0xFF)
                 .substring(1).toUpperCase() + tab;
 
-        int flagVal = 0;
-        for (int i = 0; i < flags.length; i++)
-            flagVal = flags[i] ? flagVal + (int) Math.pow(2, i)
-                    : flagVal;
+        int flagVal = flags.getValue();
         dump += "flag:0x"
                 + Integer.toHexString(0x100 | flagVal & 0xFF).substring(1)
                 .toUpperCase() + ret;
 
         dump += "ds:0x"
-                + Integer.toHexString(0x100 | ds[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (ds >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ds[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ds & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "es:0x"
-                + Integer.toHexString(0x100 | es[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (es >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | es[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | es & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "ss:0x"
-                + Integer.toHexString(0x100 | ss[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (ss >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ss[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ss & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += "cs:0x"
-                + Integer.toHexString(0x100 | cs[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (cs >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | cs[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | cs & 0xFF)
                 .substring(1).toUpperCase() + tab;
         dump += ret;
 
@@ -782,94 +860,92 @@ public class CPU extends ModuleCPU {
 
         try {
             if ((memory
-                    .getByte(((((cs[REGISTER_SEGMENT_HIGH]) << 12) & 0xFFFFF)
-                            + (((cs[REGISTER_SEGMENT_LOW]) << 4) & 0xFFF)
-                            + (((ip[REGISTER_SEGMENT_HIGH]) << 8) & 0xFFFF) + ((ip[REGISTER_SEGMENT_LOW]) & 0xFF))) & 0xFF) == 0x66) {
+                    .getByte(((cs << 4) + ip)) & 0xFF) == 0x66) {
                 dump += "eax: 0x"
                         + Integer
-                        .toHexString(eax[REGISTER_GENERAL_HIGH] & 0xFF)
-                        + Integer.toHexString(eax[REGISTER_GENERAL_LOW] & 0xFF)
-                        + Integer.toHexString(ax[REGISTER_GENERAL_HIGH] & 0xFF)
+                        .toHexString((eax >>> 24) & 0xFF)
+                        + Integer.toHexString((eax >> 16) & 0xFF)
+                        + Integer.toHexString((eax >> 8) & 0xFF)
                         + Integer.toHexString(
-                        0x100 | ax[REGISTER_GENERAL_LOW] & 0xFF)
+                        0x100 | eax & 0xFF)
                         .substring(1)
                         + tab
-                        + (((((int) eax[REGISTER_GENERAL_HIGH]) & 0xFF) << 24)
-                        + ((((int) eax[REGISTER_GENERAL_LOW]) & 0xFF) << 16)
-                        + ((((int) ax[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) ax[REGISTER_GENERAL_LOW]) & 0xFF))
+                        + (((((int) (eax >>> 24)) & 0xFF) << 24)
+                        + ((((int) (eax >> 16)) & 0xFF) << 16)
+                        + ((((int) (eax >> 8)) & 0xFF) << 8) + (((int) eax) & 0xFF))
                         + ret;
                 dump += "ecx: 0x"
                         + Integer
-                        .toHexString(ecx[REGISTER_GENERAL_HIGH] & 0xFF)
-                        + Integer.toHexString(ecx[REGISTER_GENERAL_LOW] & 0xFF)
-                        + Integer.toHexString(cx[REGISTER_GENERAL_HIGH] & 0xFF)
+                        .toHexString((ecx >>> 24) & 0xFF)
+                        + Integer.toHexString((ecx >> 16) & 0xFF)
+                        + Integer.toHexString((ecx >> 8) & 0xFF)
                         + Integer.toHexString(
-                        0x100 | cx[REGISTER_GENERAL_LOW] & 0xFF)
+                        0x100 | ecx & 0xFF)
                         .substring(1)
                         + tab
-                        + (((((int) ecx[REGISTER_GENERAL_HIGH]) & 0xFF) << 24)
-                        + ((((int) ecx[REGISTER_GENERAL_LOW]) & 0xFF) << 16)
-                        + ((((int) cx[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cx[REGISTER_GENERAL_LOW]) & 0xFF))
+                        + (((((int) (ecx >>> 24)) & 0xFF) << 24)
+                        + ((((int) (ecx >> 16)) & 0xFF) << 16)
+                        + ((((int) (ecx >> 8)) & 0xFF) << 8) + (((int) ecx) & 0xFF))
                         + ret;
                 dump += "edx: 0x"
                         + Integer
-                        .toHexString(edx[REGISTER_GENERAL_HIGH] & 0xFF)
-                        + Integer.toHexString(edx[REGISTER_GENERAL_LOW] & 0xFF)
-                        + Integer.toHexString(dx[REGISTER_GENERAL_HIGH] & 0xFF)
+                        .toHexString((edx >>> 24) & 0xFF)
+                        + Integer.toHexString((edx >> 16) & 0xFF)
+                        + Integer.toHexString((edx >> 8) & 0xFF)
                         + Integer.toHexString(
-                        0x100 | dx[REGISTER_GENERAL_LOW] & 0xFF)
+                        0x100 | edx & 0xFF)
                         .substring(1)
                         + tab
-                        + (((((int) edx[REGISTER_GENERAL_HIGH]) & 0xFF) << 24)
-                        + ((((int) edx[REGISTER_GENERAL_LOW]) & 0xFF) << 16)
-                        + ((((int) dx[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) dx[REGISTER_GENERAL_LOW]) & 0xFF))
+                        + (((((int) (edx >>> 24)) & 0xFF) << 24)
+                        + ((((int) (edx >> 16)) & 0xFF) << 16)
+                        + ((((int) (edx >> 8)) & 0xFF) << 8) + (((int) edx) & 0xFF))
                         + ret;
                 dump += "ebx: 0x"
                         + Integer
-                        .toHexString(ebx[REGISTER_GENERAL_HIGH] & 0xFF)
-                        + Integer.toHexString(ebx[REGISTER_GENERAL_LOW] & 0xFF)
-                        + Integer.toHexString(bx[REGISTER_GENERAL_HIGH] & 0xFF)
+                        .toHexString((ebx >>> 24) & 0xFF)
+                        + Integer.toHexString((ebx >> 16) & 0xFF)
+                        + Integer.toHexString((ebx >> 8) & 0xFF)
                         + Integer.toHexString(
-                        0x100 | bx[REGISTER_GENERAL_LOW] & 0xFF)
+                        0x100 | ebx & 0xFF)
                         .substring(1)
                         + tab
-                        + (((((int) ebx[REGISTER_GENERAL_HIGH]) & 0xFF) << 24)
-                        + ((((int) ebx[REGISTER_GENERAL_LOW]) & 0xFF) << 16)
-                        + ((((int) bx[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) bx[REGISTER_GENERAL_LOW]) & 0xFF))
+                        + (((((int) (ebx >>> 24)) & 0xFF) << 24)
+                        + ((((int) (ebx >> 16)) & 0xFF) << 16)
+                        + ((((int) (ebx >> 8)) & 0xFF) << 8) + (((int) ebx) & 0xFF))
                         + ret;
 
             } else {
                 dump += "ax: 0x"
-                        + Integer.toHexString(ax[REGISTER_GENERAL_HIGH] & 0xFF)
+                        + Integer.toHexString((eax >> 8) & 0xFF)
                         + Integer.toHexString(
-                        0x100 | ax[REGISTER_GENERAL_LOW] & 0xFF)
+                        0x100 | eax & 0xFF)
                         .substring(1)
                         + tab
-                        + (((((int) ax[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) ax[REGISTER_GENERAL_LOW]) & 0xFF))
+                        + (((((int) (eax >> 8)) & 0xFF) << 8) + (((int) eax) & 0xFF))
                         + ret;
                 dump += "cx: 0x"
-                        + Integer.toHexString(cx[REGISTER_GENERAL_HIGH] & 0xFF)
+                        + Integer.toHexString((ecx >> 8) & 0xFF)
                         + Integer.toHexString(
-                        0x100 | cx[REGISTER_GENERAL_LOW] & 0xFF)
+                        0x100 | ecx & 0xFF)
                         .substring(1)
                         + tab
-                        + (((((int) cx[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cx[REGISTER_GENERAL_LOW]) & 0xFF))
+                        + (((((int) (ecx >> 8)) & 0xFF) << 8) + (((int) ecx) & 0xFF))
                         + ret;
                 dump += "dx: 0x"
-                        + Integer.toHexString(dx[REGISTER_GENERAL_HIGH] & 0xFF)
+                        + Integer.toHexString((edx >> 8) & 0xFF)
                         + Integer.toHexString(
-                        0x100 | dx[REGISTER_GENERAL_LOW] & 0xFF)
+                        0x100 | edx & 0xFF)
                         .substring(1)
                         + tab
-                        + (((((int) dx[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) dx[REGISTER_GENERAL_LOW]) & 0xFF))
+                        + (((((int) (edx >> 8)) & 0xFF) << 8) + (((int) edx) & 0xFF))
                         + ret;
                 dump += "bx: 0x"
-                        + Integer.toHexString(bx[REGISTER_GENERAL_HIGH] & 0xFF)
+                        + Integer.toHexString((ebx >> 8) & 0xFF)
                         + Integer.toHexString(
-                        0x100 | bx[REGISTER_GENERAL_LOW] & 0xFF)
+                        0x100 | ebx & 0xFF)
                         .substring(1)
                         + tab
-                        + (((((int) bx[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) bx[REGISTER_GENERAL_LOW]) & 0xFF))
+                        + (((((int) (ebx >> 8)) & 0xFF) << 8) + (((int) ebx) & 0xFF))
                         + ret;
             }
         }
@@ -881,60 +957,57 @@ public class CPU extends ModuleCPU {
         }
 
         dump += "sp: 0x"
-                + Integer.toHexString(sp[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | sp[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((esp >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | esp & 0xFF)
                 .substring(1)
                 + tab
-                + (((((int) sp[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) sp[REGISTER_GENERAL_LOW]) & 0xFF))
+                + (((((int) (esp >> 8)) & 0xFF) << 8) + (((int) esp) & 0xFF))
                 + ret;
         dump += "bp: 0x"
-                + Integer.toHexString(bp[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | bp[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((ebp >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | ebp & 0xFF)
                 .substring(1)
                 + tab
-                + (((((int) bp[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) bp[REGISTER_GENERAL_LOW]) & 0xFF))
+                + (((((int) (ebp >> 8)) & 0xFF) << 8) + (((int) ebp) & 0xFF))
                 + ret;
         dump += "si: 0x"
-                + Integer.toHexString(si[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | si[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((esi >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | esi & 0xFF)
                 .substring(1)
                 + tab
-                + (((((int) si[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) si[REGISTER_GENERAL_LOW]) & 0xFF))
+                + (((((int) (esi >> 8)) & 0xFF) << 8) + (((int) esi) & 0xFF))
                 + ret;
         dump += "di: 0x"
-                + Integer.toHexString(di[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | di[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((edi >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | edi & 0xFF)
                 .substring(1)
                 + tab
-                + (((((int) di[REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) di[REGISTER_GENERAL_LOW]) & 0xFF))
+                + (((((int) (edi >> 8)) & 0xFF) << 8) + (((int) edi) & 0xFF))
                 + ret;
 
         dump += "ip: 0x"
-                + Integer.toHexString(ip[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | ip[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((ip >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | ip & 0xFF)
                 .substring(1) + ret;
 
-        int flagVal = 0;
-        for (int i = 0; i < flags.length; i++)
-            flagVal = flags[i] ? flagVal + (int) Math.pow(2, i)
-                    : flagVal;
+        int flagVal = flags.getValue();
         dump += "flags 0x" + Integer.toHexString(flagVal) + ret;
 
         dump += "cs: 0x"
-                + Integer.toHexString(cs[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | cs[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((cs >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | cs & 0xFF)
                 .substring(1) + ret;
         dump += "ss: 0x"
-                + Integer.toHexString(ss[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | ss[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((ss >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | ss & 0xFF)
                 .substring(1) + ret;
         dump += "ds: 0x"
-                + Integer.toHexString(ds[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | ds[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((ds >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | ds & 0xFF)
                 .substring(1) + ret;
         dump += "es: 0x"
-                + Integer.toHexString(es[REGISTER_GENERAL_HIGH] & 0xFF)
-                + Integer.toHexString(0x100 | es[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString((es >> 8) & 0xFF)
+                + Integer.toHexString(0x100 | es & 0xFF)
                 .substring(1) + ret;
 
         // Print ending line
@@ -955,65 +1028,61 @@ public class CPU extends ModuleCPU {
         // This dumps all registers + flags onto 1 line for every instruction.
         // No labels.
         // Sample: CS:IP SS:SP FLAGS AX BX CX DX BP SI DI DS ES
-        int flagVal = 0;
-        for (int i = 0; i < flags.length; i++) {
-            flagVal = flags[i] ? flagVal + (int) Math.pow(2, i)
-                    : flagVal;
-        }
-        dump += Integer.toHexString(0x100 | cs[REGISTER_GENERAL_HIGH] & 0xFF)
+        int flagVal = flags.getValue();
+        dump += Integer.toHexString(0x100 | (cs >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | cs[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | cs & 0xFF)
                 .substring(1).toUpperCase() + ":";
-        dump += Integer.toHexString(0x100 | ip[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (ip >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ip[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ip & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | ss[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (ss >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ss[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ss & 0xFF)
                 .substring(1).toUpperCase() + ":";
-        dump += Integer.toHexString(0x100 | sp[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (esp >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | sp[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | esp & 0xFF)
                 .substring(1).toUpperCase() + space;
         dump += Integer.toHexString(0x10000 | flagVal).substring(1)
                 .toUpperCase()
                 + space;
-        dump += Integer.toHexString(0x100 | ax[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (eax >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ax[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | eax & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | bx[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (ebx >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | bx[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ebx & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | cx[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (ecx >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | cx[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ecx & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | dx[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (edx >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | dx[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | edx & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | bp[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (ebp >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | bp[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ebp & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | si[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (esi >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | si[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | esi & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | di[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (edi >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | di[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | edi & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | ds[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (ds >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | ds[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ds & 0xFF)
                 .substring(1).toUpperCase() + space;
-        dump += Integer.toHexString(0x100 | es[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (es >> 8) & 0xFF)
                 .substring(1).toUpperCase()
-                + Integer.toHexString(0x100 | es[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | es & 0xFF)
                 .substring(1).toUpperCase();
 
         return dump;
@@ -1039,6 +1108,227 @@ public class CPU extends ModuleCPU {
         return shutDown;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleCPU
+     */
+    @Override
+    public int scheduleClockPulse(int instructions) {
+        int elapsed = clockPeriod - clockCountdown;
+        clockPeriod = instructions;
+        clockCountdown = instructions;
+        return elapsed;
+    }
+
+    /**
+     * Hand all instructions executed since the last clock pulse over to the
+     * clock, which reschedules the next pulse
+     */
+    private void pulseClock() {
+        int elapsed = clockPeriod - clockCountdown;
+        clockPeriod = clockCountdown;
+        clock.pulse(elapsed);
+    }
+
+    /**
+     * Halts the CPU until an asynchronous event arrives. If an interrupt
+     * arrived, it is handled right after HLT; for any other event HLT is
+     * executed again once the event has been handled, so the CPU stays
+     * halted.
+     */
+    protected void halt() {
+        this.idleUntilEvent();
+        if ((mailbox.get() & InterruptMailbox.INTERRUPT) != 0) {
+            // HLT is the instruction the interrupt had to wait for
+            irqWaited = true;
+        } else {
+            ip = (ip - (prefixCounter + 1)) & 0xFFFF;
+        }
+    }
+
+    /**
+     * Checks if a software interrupt in progress is part of a loop waiting
+     * for a key press while the keyboard buffer is empty, and if so lets the
+     * CPU idle until an interrupt arrives. A blocking read through INT 16h
+     * (AH=00h/10h) is then executed again, so that the BIOS never spins in
+     * its own wait loop. A polling call (AH=01h/11h) only counts as idle
+     * once the guest has polled several times in a row with little work and
+     * no other software interrupts than INT 1Ah (time), INT 1Ch (timer tick)
+     * and INT 28h (DOS idle) in between; it then continues normally, so the
+     * guest still sees that no key was pressed. This keeps the console checks DOS makes on
+     * every system call from being taken for idle polling.
+     * <p/>
+     * Only INT 16h handled by the system BIOS itself is considered, as a
+     * handler installed by the guest may feed keys from elsewhere.
+     *
+     * @param vector the interrupt vector, its immediate byte has already
+     *               been fetched
+     * @return true if the INT instruction has been rewound and must not be
+     *         executed now, false otherwise
+     */
+    protected boolean idleInSoftwareInterrupt(int vector) {
+        if (vector != 0x16) {
+            if (vector != 0x1A && vector != 0x1C && vector != 0x28) {
+                keyboardPolls = 0;
+            }
+            return false;
+        }
+
+        int function = (eax >> 8) & 0xFF;
+        if (!flags.get(REGISTER_FLAGS_IF) || (function & 0xEE) != 0x00) {
+            keyboardPolls = 0;
+            return false;
+        }
+        try {
+            if (memory.getByte(0x5A) != 0x00
+                    || memory.getByte(0x5B) != (byte) 0xF0
+                    || memory.getByte(0x41A) != memory.getByte(0x41C)
+                    || memory.getByte(0x41B) != memory.getByte(0x41D)) {
+                keyboardPolls = 0;
+                return false;
+            }
+        } catch (ModuleException e) {
+            return false;
+        }
+
+        if ((function & 0x01) != 0) {
+            // Polling call: wait until the guest keeps polling
+            if (instructionCounter - lastKeyboardPoll > KEYBOARD_POLL_DISTANCE) {
+                keyboardPolls = 0;
+            }
+            lastKeyboardPoll = instructionCounter;
+            if (++keyboardPolls < KEYBOARD_POLL_THRESHOLD) {
+                return false;
+            }
+            this.idleUntilEvent();
+            lastKeyboardPoll = instructionCounter;
+            return false;
+        }
+
+        // Blocking read: execute INT 16h again once the event has been
+        // handled
+        this.idleUntilEvent();
+        if ((mailbox.get() & InterruptMailbox.INTERRUPT) != 0) {
+            irqWaited = true;
+        }
+        ip = (ip - (prefixCounter + 2)) & 0xFFFF;
+        return true;
+    }
+
+    /**
+     * Lets the emulator handle frequently used BIOS services instead of the
+     * BIOS code
+     *
+     * @param bios the services to handle, or null to always run the BIOS
+     */
+    public void setHighLevelBios(HighLevelBios bios) {
+        highLevelBios = bios;
+        biosCall = bios == null ? null : new CPUBiosCall();
+    }
+
+    /**
+     * Returns the BIOS services handled by the emulator
+     *
+     * @return the services, or null if the BIOS code always runs
+     */
+    public HighLevelBios getHighLevelBios() {
+        return highLevelBios;
+    }
+
+    /**
+     * Offers a software interrupt to the high-level BIOS. If it is handled,
+     * the registers and carry flag hold the results of the service and the
+     * CPU continues after the INT instruction, as if the BIOS had returned.
+     *
+     * @param vector the interrupt vector, its immediate byte has already
+     *               been fetched
+     * @return true if the interrupt has been handled, false if it must be
+     *         executed
+     */
+    protected boolean callHighLevelBios(int vector) {
+        if (highLevelBios == null) {
+            return false;
+        }
+        BiosCall call = biosCall;
+        call.ax = eax & 0xFFFF;
+        call.bx = ebx & 0xFFFF;
+        call.cx = ecx & 0xFFFF;
+        call.dx = edx & 0xFFFF;
+        call.si = esi & 0xFFFF;
+        call.di = edi & 0xFFFF;
+        call.ds = ds;
+        call.es = es;
+        call.carry = flags.get(REGISTER_FLAGS_CF);
+        if (!highLevelBios.handleInterrupt(vector, call)) {
+            return false;
+        }
+        this.setRegisterWord(REGISTER_AX, call.ax);
+        this.setRegisterWord(REGISTER_BX, call.bx);
+        this.setRegisterWord(REGISTER_CX, call.cx);
+        this.setRegisterWord(REGISTER_DX, call.dx);
+        this.setRegisterWord(REGISTER_SI, call.si);
+        this.setRegisterWord(REGISTER_DI, call.di);
+        flags.set(REGISTER_FLAGS_CF, call.carry);
+        return true;
+    }
+
+    /**
+     * Registers and memory of this CPU as seen by the high-level BIOS
+     */
+    private final class CPUBiosCall extends BiosCall {
+
+        @Override
+        public int getByte(int address) throws ModuleException {
+            return memory.getByte(address) & 0xFF;
+        }
+
+        @Override
+        public void setByte(int address, int value) throws ModuleException {
+            memory.setByte(address, (byte) value);
+        }
+
+        @Override
+        public void read(int address, byte[] buffer, int offset, int length)
+                throws ModuleException {
+            byte[] ram = memory.getRamRange(address, length);
+            if (ram != null) {
+                System.arraycopy(ram, address, buffer, offset, length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    buffer[offset + i] = memory.getByte(address + i);
+                }
+            }
+        }
+
+        @Override
+        public void write(int address, byte[] buffer, int offset, int length)
+                throws ModuleException {
+            if (!memory.setRange(address, buffer, offset, length)) {
+                for (int i = 0; i < length; i++) {
+                    memory.setByte(address + i, buffer[offset + i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lets the CPU idle until an asynchronous event is pending, advancing the
+     * clock by the time that passes
+     */
+    private void idleUntilEvent() {
+        while (isRunning && !mailbox.isPending()) {
+            long passed = this.idle(WAKE_EVENTS,
+                    clockCountdown == Integer.MAX_VALUE ? Long.MAX_VALUE
+                            : clockCountdown);
+            instructionCounter += passed;
+            clockCountdown -= (int) Math.min(passed, clockCountdown);
+            if (clockCountdown <= 0) {
+                this.pulseClock();
+            }
+        }
+    }
+
     /**
      * Set shutdown status
      *
@@ -1055,11 +1345,12 @@ public class CPU extends ModuleCPU {
      */
     @Override
     public void setHoldRequest(boolean value, Module originator) {
-        holdReQuest = value;
         hRQorigin = originator;
         if (value) {
             // Asynchronous event has occurred and should be handled
-            asyncEvent = true;
+            mailbox.raise(InterruptMailbox.HOLD);
+        } else {
+            mailbox.clear(InterruptMailbox.HOLD);
         }
     }
 
@@ -1080,7 +1371,7 @@ public class CPU extends ModuleCPU {
         }
 
         // Check if normal execution has been stopped
-        if (!debugMode && !isRunning) {
+        if (!super.getDebugMode() && !isRunning) {
             return true;
         }
 
@@ -1088,16 +1379,19 @@ public class CPU extends ModuleCPU {
         // Sense if interrupt request is pending; also check it's properly
         // executed on NEXT instruction boundary.
         // Also check if interrupt flag is enabled
-        if (irqPending && irqWaited && flags[REGISTER_FLAGS_IF]) {
+        int pending = mailbox.get();
+        if ((pending & InterruptMailbox.INTERRUPT) != 0 && irqWaited
+                && flags.get(REGISTER_FLAGS_IF)) {
             logger.log(Level.INFO, "[" + super.getType() + "]"
                     + " handleAsyncEvent: priority 5 - async int");
             // Handle IRQ; irqWaited has ensured this interrupt is executed one
-            // instruction after it was generated
+            // instruction after it was generated. Acknowledging the IRQ at
+            // the PIC clears the request in the mailbox.
             this.handleIRQ(pic.interruptAcknowledge());
 
             // Reset irq variables
-            irqPending = false;
             irqWaited = false;
+            pending = mailbox.get();
         }
 
         // Priority 5: External Interrupts
@@ -1105,7 +1399,7 @@ public class CPU extends ModuleCPU {
         // Maskable Hardware Interrupts
 
         // DMA
-        if (holdReQuest) {
+        if ((pending & InterruptMailbox.HOLD) != 0) {
             logger.log(Level.INFO, "[" + super.getType() + "] handleAsyncEvent: priority 5 - DMA");
             // Assert Hold Acknowledge (HLDA) and go into a bus hold state
             if (hRQorigin.getType() == Module.Type.DMA) {
@@ -1113,19 +1407,34 @@ public class CPU extends ModuleCPU {
             }
         }
 
-        if (irqPending && !irqWaited) {
+        if ((pending & InterruptMailbox.INTERRUPT) != 0 && !irqWaited) {
             // According to the Intel specs interrupts should only execute after
             // NEXT instruction, so check this now:
             irqWaited = true;
         }
 
-        // Reset asyncEvents if all have been handled
-        if (!(irqPending || holdReQuest)) {
-            asyncEvent = false;
+        // Run tasks requested from outside the emulation thread
+        if ((pending & InterruptMailbox.TASKS) != 0) {
+            mailbox.runTasks();
         }
         return false;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleCPU
+     */
+    @Override
+    public void runAtInstructionBoundary(Runnable task) {
+        if (!isRunning) {
+            task.run();
+            return;
+        }
+        // Asynchronous event has occurred and should be handled
+        mailbox.post(task);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1171,86 +1480,34 @@ public class CPU extends ModuleCPU {
     @Override
     protected boolean initRegisters() {
         // Initialise general purpose registers
-        ax = new byte[REGISTER_SIZE_GENERAL / BYTE];
-        ax[REGISTER_GENERAL_HIGH] = ax[REGISTER_GENERAL_LOW] = (byte) 0;
-        eax = new byte[REGISTER_SIZE_GENERAL / BYTE];
-        eax[REGISTER_GENERAL_HIGH] = eax[REGISTER_GENERAL_LOW] = (byte) 0;
-
-        bx = new byte[REGISTER_SIZE_GENERAL / BYTE];
-        bx[REGISTER_GENERAL_HIGH] = bx[REGISTER_GENERAL_LOW] = (byte) 0;
-        ebx = new byte[REGISTER_SIZE_GENERAL / BYTE];
-        ebx[REGISTER_GENERAL_HIGH] = ebx[REGISTER_GENERAL_LOW] = (byte) 0;
-
-        cx = new byte[REGISTER_SIZE_GENERAL / BYTE];
-        cx[REGISTER_GENERAL_HIGH] = cx[REGISTER_GENERAL_LOW] = (byte) 0;
-        ecx = new byte[REGISTER_SIZE_GENERAL / BYTE];
-        ecx[REGISTER_GENERAL_HIGH] = ecx[REGISTER_GENERAL_LOW] = (byte) 0;
-
-        dx = new byte[REGISTER_SIZE_GENERAL / BYTE];
+        eax = 0;
+        ebx = 0;
+        ecx = 0;
         // Bochs uses these values for some reason, so for correspondence they
         // are init. here as well:
-        dx[REGISTER_GENERAL_HIGH] = 0x05;
-        dx[REGISTER_GENERAL_LOW] = 0x43;
-        edx = new byte[REGISTER_SIZE_GENERAL / BYTE];
-        edx[REGISTER_GENERAL_HIGH] = edx[REGISTER_GENERAL_LOW] = (byte) 0;
+        edx = 0x0543;
 
         // Initialise general and index registers
-        sp = new byte[REGISTER_SIZE_INDEX / BYTE];
-        sp[REGISTER_INDEX_HIGH] = (byte) 0x00;
-        sp[REGISTER_INDEX_LOW] = (byte) 0x00;
-        esp = new byte[REGISTER_SIZE_INDEX / BYTE];
-        esp[REGISTER_INDEX_HIGH] = esp[REGISTER_INDEX_LOW] = (byte) 0;
-
-        bp = new byte[REGISTER_SIZE_INDEX / BYTE];
-        bp[REGISTER_INDEX_HIGH] = bp[REGISTER_INDEX_LOW] = (byte) 0;
-        ebp = new byte[REGISTER_SIZE_INDEX / BYTE];
-        ebp[REGISTER_INDEX_HIGH] = ebp[REGISTER_INDEX_LOW] = (byte) 0;
-
-        si = new byte[REGISTER_SIZE_INDEX / BYTE];
-        si[REGISTER_INDEX_HIGH] = si[REGISTER_INDEX_LOW] = (byte) 0;
-        esi = new byte[REGISTER_SIZE_INDEX / BYTE];
-        esi[REGISTER_INDEX_HIGH] = esi[REGISTER_INDEX_LOW] = (byte) 0;
-
-        di = new byte[REGISTER_SIZE_INDEX / BYTE];
-        di[REGISTER_INDEX_HIGH] = di[REGISTER_INDEX_LOW] = (byte) 0;
-        edi = new byte[REGISTER_SIZE_INDEX / BYTE];
-        edi[REGISTER_INDEX_HIGH] = edi[REGISTER_INDEX_LOW] = (byte) 0;
+        esp = 0;
+        ebp = 0;
+        esi = 0;
+        edi = 0;
 
         // Initialise segment registers
 
         // Point CS to power-up entry/hardware reset entry FFFF:0000
-        cs = new byte[REGISTER_SIZE_SEGMENT / BYTE];
-        cs[REGISTER_SEGMENT_HIGH] = (byte) 0xF0;
-        cs[REGISTER_SEGMENT_LOW] = (byte) 0x00;
-
-        ds = new byte[REGISTER_SIZE_SEGMENT / BYTE];
-        ds[REGISTER_SEGMENT_HIGH] = (byte) 0x00;
-        ds[REGISTER_SEGMENT_LOW] = (byte) 0x00;
-
-        ss = new byte[REGISTER_SIZE_SEGMENT / BYTE];
-        ss[REGISTER_SEGMENT_HIGH] = (byte) 0x00;
-        ss[REGISTER_SEGMENT_LOW] = (byte) 0x00;
-
-        es = new byte[REGISTER_SIZE_SEGMENT / BYTE];
-        es[REGISTER_SEGMENT_HIGH] = (byte) 0x00;
-        es[REGISTER_SEGMENT_LOW] = (byte) 0x00;
+        cs = 0xF000;
+        ds = 0;
+        ss = 0;
+        es = 0;
 
         // Special registers
         // Point IP to power-up entry/hardware reset entry FFFF:0000
-        ip = new byte[REGISTER_SIZE_SEGMENT / BYTE];
-        ip[REGISTER_SEGMENT_HIGH] = (byte) 0xFF;
-        ip[REGISTER_SEGMENT_LOW] = (byte) 0xF0;
-        oldIP = new byte[REGISTER_SIZE_SEGMENT / BYTE];
-        oldIP[REGISTER_SEGMENT_LOW] = 0x00;
-        oldIP[REGISTER_SEGMENT_HIGH] = 0x00;
-
-        // FLAGS register
-        flags = new boolean[]{false, true, false, false, // Carry, 1, Parity,
-                // 0
-                false, false, false, false, // Aux, 0, Zero, Sign
-                false, false, false, false, // Trap, Interrupt, Direction,
-                // Overflow
-                false, false, false, false}; // IOPL, IOPL, NestedTask, 0
+        ip = 0xFFF0;
+        oldIP = 0;
+
+        // FLAGS register: only bit 1 is set
+        flags.reset();
 
         // Control registers
         // CR0 - system control flags that control operating mode and states of
@@ -3847,9 +4104,14 @@ public class CPU extends ModuleCPU {
      */
     @Override
     public byte[] getRegisterValue(String registerName) {
-        byte[] register = this.convertStringToRegister(registerName);
-        if (register != null) {
-            return register;
+        if (registerName.equalsIgnoreCase("IP")) {
+            return Util.intToWord(ip);
+        }
+        int register = this.convertStringToRegister(registerName);
+        if (register >= 8) {
+            return Util.intToWord(this.getSegmentRegister(register - 8));
+        } else if (register >= 0) {
+            return Util.intToWord(this.getRegisterWord(register));
         }
         return null;
     }
@@ -3861,12 +4123,16 @@ public class CPU extends ModuleCPU {
      */
     @Override
     public boolean setRegisterValue(String registerName, byte[] value) {
-        byte[] register = this.convertStringToRegister(registerName);
-        if (register != null) {
-            register[0] = value[0];
-            register[1] = value[1];
-            // TODO: Check if alternative below works
-            // register = value;
+        if (registerName.equalsIgnoreCase("IP")) {
+            ip = Util.wordToInt(value);
+            return true;
+        }
+        int register = this.convertStringToRegister(registerName);
+        if (register >= 8) {
+            this.setSegmentRegister(register - 8, Util.wordToInt(value));
+            return true;
+        } else if (register >= 0) {
+            this.setRegisterWord(register, Util.wordToInt(value));
             return true;
         }
         return false;
@@ -3882,31 +4148,31 @@ public class CPU extends ModuleCPU {
         switch (flagLetter) {
             case 'c':
             case 'C':
-                return flags[REGISTER_FLAGS_CF];
+                return flags.get(REGISTER_FLAGS_CF);
             case 'p':
             case 'P':
-                return flags[REGISTER_FLAGS_PF];
+                return flags.get(REGISTER_FLAGS_PF);
             case 'a':
             case 'A':
-                return flags[REGISTER_FLAGS_AF];
+                return flags.get(REGISTER_FLAGS_AF);
             case 'z':
             case 'Z':
-                return flags[REGISTER_FLAGS_ZF];
+                return flags.get(REGISTER_FLAGS_ZF);
             case 's':
             case 'S':
-                return flags[REGISTER_FLAGS_SF];
+                return flags.get(REGISTER_FLAGS_SF);
             case 't':
             case 'T':
-                return flags[REGISTER_FLAGS_TF];
+                return flags.get(REGISTER_FLAGS_TF);
             case 'i':
             case 'I':
-                return flags[REGISTER_FLAGS_IF];
+                return flags.get(REGISTER_FLAGS_IF);
             case 'd':
             case 'D':
-                return flags[REGISTER_FLAGS_DF];
+                return flags.get(REGISTER_FLAGS_DF);
             case 'o':
             case 'O':
-                return flags[REGISTER_FLAGS_OF];
+                return flags.get(REGISTER_FLAGS_OF);
 
             default:
                 return false;
@@ -3937,49 +4203,39 @@ public class CPU extends ModuleCPU {
         dump = "Instruction number = " + instructionCounter + ret;
 
         // Print CS:IP and the first three bytes of memory
-        dump += Integer.toHexString(0x100 | cs[REGISTER_GENERAL_HIGH] & 0xFF)
+        dump += Integer.toHexString(0x100 | (cs >> 8) & 0xFF)
                 .substring(1)
-                + Integer.toHexString(0x100 | cs[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | cs & 0xFF)
                 .substring(1)
                 + ":"
-                + Integer.toHexString(0x100 | ip[REGISTER_GENERAL_HIGH] & 0xFF)
+                + Integer.toHexString(0x100 | (ip >> 8) & 0xFF)
                 .substring(1)
-                + Integer.toHexString(0x100 | ip[REGISTER_GENERAL_LOW] & 0xFF)
+                + Integer.toHexString(0x100 | ip & 0xFF)
                 .substring(1) + "   ";
         try {
             dump += Integer
                     .toHexString(
                             0x100 | (memory
-                                    .getByte(((((cs[REGISTER_SEGMENT_HIGH]) << 12) & 0xFFFFF)
-                                            + (((cs[REGISTER_SEGMENT_LOW]) << 4) & 0xFFF)
-                                            + (((ip[REGISTER_SEGMENT_HIGH]) << 8) & 0xFFFF) + ((ip[REGISTER_SEGMENT_LOW]) & 0xFF))) & 0xFF))
+                                    .getByte((cs << 4) + ip) & 0xFF))
                     .substring(1).toUpperCase()
                     + " ";
             dump += Integer
                     .toHexString(
                             0x100 | (memory
-                                    .getByte(((((cs[REGISTER_SEGMENT_HIGH]) << 12) & 0xFFFFF)
-                                            + (((cs[REGISTER_SEGMENT_LOW]) << 4) & 0xFFF)
-                                            + (((ip[REGISTER_SEGMENT_HIGH]) << 8) & 0xFFFF)
-                                            + ((ip[REGISTER_SEGMENT_LOW]) & 0xFF) + 1)) & 0xFF))
+                                    .getByte((cs << 4) + ip + 1) & 0xFF))
                     .substring(1).toUpperCase()
                     + " ";
             dump += Integer
                     .toHexString(
                             0x100 | (memory
-                                    .getByte(((((cs[REGISTER_SEGMENT_HIGH]) << 12) & 0xFFFFF)
-                                            + (((cs[REGISTER_SEGMENT_LOW]) << 4) & 0xFFF)
-                                            + (((ip[REGISTER_SEGMENT_HIGH]) << 8) & 0xFFFF)
-                                            + ((ip[REGISTER_SEGMENT_LOW]) & 0xFF) + 2)) & 0xFF))
+                                    .getByte((cs << 4) + ip + 2) & 0xFF))
                     .substring(1).toUpperCase()
                     + tab;
 
             // Determine instruction from instruction table, print name
             // Cast byte to unsigned int first before instruction table lookup
             String instruct = singleByteInstructions[((int) (memory
-                    .getByte((((cs[REGISTER_SEGMENT_HIGH] & 0xFF) << 12)
-                            + ((cs[REGISTER_SEGMENT_LOW] & 0xFF) << 4)
-                            + ((ip[REGISTER_SEGMENT_HIGH] & 0xFF) << 8) + (ip[REGISTER_SEGMENT_LOW] & 0xFF))) & 0xFF))]
+                    .getByte(((cs << 4) + ip)) & 0xFF))]
                     .toString();
             instruct = instruct.substring(instruct.indexOf("_") + 1, instruct
                     .indexOf("@"));
@@ -4119,6 +4375,126 @@ public class CPU extends ModuleCPU {
         motherboard.setIOPortDoubleWord(portAddress, data);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public int readByte(int portAddress) throws ModuleException {
+        // Retrieve data from I/O address space at port address
+        if(memory == null) {
+            memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
+            motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
+            pic = (ModulePIC) super.getConnection(Module.Type.PIC);
+            clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
+        }
+        return motherboard.readByte(portAddress);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public int readWord(int portAddress) throws ModuleException {
+        // Retrieve data from I/O address space at port address
+        if(memory == null) {
+            memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
+            motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
+            pic = (ModulePIC) super.getConnection(Module.Type.PIC);
+            clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
+        }
+        return motherboard.readWord(portAddress);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public int readDword(int portAddress) throws ModuleException {
+        // Retrieve data from I/O address space at port address
+        if(memory == null) {
+            memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
+            motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
+            pic = (ModulePIC) super.getConnection(Module.Type.PIC);
+            clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
+        }
+        return motherboard.readDword(portAddress);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public void readWords(int portAddress, short[] dst, int offset, int count)
+            throws ModuleException {
+        // Retrieve data from I/O address space at port address
+        if(memory == null) {
+            memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
+            motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
+            pic = (ModulePIC) super.getConnection(Module.Type.PIC);
+            clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
+        }
+        motherboard.readWords(portAddress, dst, offset, count);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public void writeByte(int portAddress, int value) throws ModuleException {
+        // Set data in I/O address space at port address
+        if(memory == null) {
+            memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
+            motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
+            pic = (ModulePIC) super.getConnection(Module.Type.PIC);
+            clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
+        }
+        motherboard.writeByte(portAddress, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public void writeWord(int portAddress, int value) throws ModuleException {
+        // Set data in I/O address space at port address
+        if(memory == null) {
+            memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
+            motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
+            pic = (ModulePIC) super.getConnection(Module.Type.PIC);
+            clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
+        }
+        motherboard.writeWord(portAddress, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public void writeDword(int portAddress, int value) throws ModuleException {
+        // Set data in I/O address space at port address
+        if(memory == null) {
+            memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
+            motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
+            pic = (ModulePIC) super.getConnection(Module.Type.PIC);
+            clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
+        }
+        motherboard.writeDword(portAddress, value);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -4126,8 +4502,11 @@ public class CPU extends ModuleCPU {
      */
     @Override
     public void interruptRequest(boolean value) {
-        irqPending = value;
-        asyncEvent = true;
+        if (value) {
+            mailbox.raise(InterruptMailbox.INTERRUPT);
+        } else {
+            mailbox.clear(InterruptMailbox.INTERRUPT);
+        }
     }
 
     /**
@@ -4220,9 +4599,9 @@ public class CPU extends ModuleCPU {
                 logger.log(Level.WARNING, "[" + super.getType()
                         + "] Instruction problem (opcode "
                         + Integer.toHexString(codeByte) + "h, at "
-                        + Integer.toHexString(convertWordToInt(cs)).toUpperCase()
+                        + Integer.toHexString(cs).toUpperCase()
                         + ":"
-                        + Integer.toHexString(convertWordToInt(ip)).toUpperCase()
+                        + Integer.toHexString(ip).toUpperCase()
                         + "): 32-bit not fully supported!");
                 break;
 
@@ -4268,6 +4647,158 @@ public class CPU extends ModuleCPU {
         return true;
     }
 
+    /**
+     * Fetch instruction Retrieves the opcode of the next instruction into
+     * codeByte, executing any prefixes preceding it. If the instruction at
+     * CS:IP has been predecoded, its prefixes and opcode are taken from the
+     * instruction cache and its operand bytes are handed out from there by
+     * getByteFromCode/getWordFromCode; otherwise its bytes are recorded as
+     * they are fetched, to be cached by retireInstruction.
+     *
+     * @throws CPUInstructionException
+     */
+    private void fetchInstruction() throws CPUInstructionException {
+        int address = this.getSegmentedCodeAddress();
+        int slot = instructionCache.lookup(address);
+
+        // Cached bytes may only be used if IP does not wrap inside them
+        if (slot >= 0 && ip + instructionCache.getLength(slot) <= 0x10000) {
+            int prefixes = instructionCache.getPrefixCount(slot);
+            int index = slot * InstructionCache.MAX_LENGTH;
+            recording = false;
+
+            for (int i = 0; i < prefixes; i++) {
+                codeByte = instructionCache.code[index + i] & 0xFF;
+                singleByteInstructions[codeByte].execute();
+            }
+            prefixCounter = (byte) prefixes;
+            codeByte = instructionCache.code[index + prefixes] & 0xFF;
+            ip = (ip + prefixes + 1) & 0xFFFF;
+
+            replayAddress = address + prefixes + 1;
+            replayIndex = index + prefixes + 1;
+            replayEnd = index + instructionCache.getLength(slot);
+            return;
+        }
+
+        replayAddress = -1;
+        recording = true;
+        recordAddress = address;
+        recordLength = 0;
+
+        // Retrieve one byte from code segment (converting byte to unsigned
+        // integer to avoid lookup in instruction array out of bounds)
+        codeByte = this.getByteFromCode() & 0xFF;
+
+        while (this.isPrefix()) {
+            // PREFIX encountered
+
+            // Execute prefix
+            singleByteInstructions[codeByte].execute();
+
+            // Increment prefix counter
+            prefixCounter++;
+
+            // Retrieve one byte from code segment (converting byte to
+            // unsigned integer to avoid lookup in instruction array out of
+            // bounds)
+            codeByte = this.getByteFromCode() & 0xFF;
+        }
+        recordPrefixes = prefixCounter;
+    }
+
+    /**
+     * Retire instruction Stores the bytes recorded while fetching the
+     * instruction that has just been executed in the instruction cache. The
+     * bytes are only cached if memory can report writes to them, and if they
+     * were not overwritten by the instruction itself.
+     */
+    private void retireInstruction() {
+        replayAddress = -1;
+        if (!recording) {
+            return;
+        }
+        recording = false;
+
+        if (recordLength == 0 || !memory.markCode(recordAddress, recordLength)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < recordLength; i++) {
+                if (memory.getByte(recordAddress + i) != recordBuffer[i]) {
+                    return;
+                }
+            }
+        } catch (ModuleException e) {
+            return;
+        }
+        instructionCache.store(recordAddress, recordBuffer, recordLength,
+                recordPrefixes);
+    }
+
+    /**
+     * Records a byte fetched from code for the instruction cache. Recording
+     * stops if bytes are not fetched in sequence or the instruction becomes
+     * too long to cache.
+     *
+     * @param address flat-address of the byte
+     * @param value   byte fetched
+     */
+    private void recordCode(int address, byte value) {
+        if (address == recordAddress + recordLength
+                && recordLength < InstructionCache.MAX_LENGTH) {
+            recordBuffer[recordLength++] = value;
+        } else {
+            recording = false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Drops predecoded instructions overlapping the written range. If the
+     * current instruction is being replayed from the cache, its remaining
+     * bytes are fetched from memory instead.
+     *
+     * @see dioscuri.module.ModuleCPU
+     */
+    @Override
+    public void invalidateCode(int address, int length) {
+        instructionCache.invalidate(address, length);
+        replayAddress = -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleCPU
+     */
+    @Override
+    public void invalidateCode() {
+        instructionCache.clear();
+        replayAddress = -1;
+    }
+
+    /**
+     * Returns the number of instructions that were found in the instruction
+     * cache
+     *
+     * @return number of instruction cache hits
+     */
+    public long getInstructionCacheHits() {
+        return instructionCache.getHits();
+    }
+
+    /**
+     * Returns the number of instructions that had to be fetched and decoded
+     * from memory
+     *
+     * @return number of instruction cache misses
+     */
+    public long getInstructionCacheMisses() {
+        return instructionCache.getMisses();
+    }
+
     /**
      * Execute instruction Performs one instruction, taking prefixes into
      * account (especially the repeat prefix)
@@ -4278,21 +4809,29 @@ public class CPU extends ModuleCPU {
         // Check prefix REP
         if (prefixRep) {
             // Check terminate condition 1: CX
-            if (cx[CPU.REGISTER_GENERAL_LOW] == 0
-                    && cx[CPU.REGISTER_GENERAL_HIGH] == 0) {
+            if ((ecx & 0xFFFF) == 0) {
                 // CX is zero, so terminate
                 return;
             } else {
+                // Execute all but the last iteration of a string instruction
+                // in one go, as long as no event or clock pulse is due
+                if (!doubleWord && !mailbox.isPending()
+                        && RepStringExecutor.isStringInstruction(codeByte)) {
+                    int count = ecx & 0xFFFF;
+                    int repeated = repStringExecutor.execute(memory, codeByte,
+                            Math.min(count, clockCountdown) - 1);
+                    instructionCounter += repeated;
+                    clockCountdown -= repeated;
+                }
+
                 // Execute current instruction
                 singleByteInstructions[codeByte].execute();
 
                 // Decrement CX register with 1
-                tempWord = Util.subtractWords(cx, WORD_0X0001, 0);
-                System.arraycopy(tempWord, 0, cx, 0, tempWord.length);
+                ecx = (ecx & 0xFFFF0000) | ((ecx - 1) & 0xFFFF);
 
                 // Check terminate condition 1: CX
-                if (cx[CPU.REGISTER_GENERAL_LOW] == 0
-                        && cx[CPU.REGISTER_GENERAL_HIGH] == 0) {
+                if ((ecx & 0xFFFF) == 0) {
                     return;
                 }
 
@@ -4304,7 +4843,7 @@ public class CPU extends ModuleCPU {
                             || codeByte == (0xAE & 0xFF)
                             || codeByte == (0xAF & 0xFF)) {
                         // Terminate condition 2: ZF is zero
-                        if (!flags[CPU.REGISTER_FLAGS_ZF]) {
+                        if (!flags.get(CPU.REGISTER_FLAGS_ZF)) {
                             // ZF is zero, so terminate
                             return;
                         }
@@ -4324,7 +4863,7 @@ public class CPU extends ModuleCPU {
                     if (codeByte == (0xA6 & 0xFF) || codeByte == (0xA7 & 0xFF)
                             || codeByte == (0xAE & 0xFF)
                             || codeByte == (0xAF & 0xFF)) {
-                        if (flags[CPU.REGISTER_FLAGS_ZF]) {
+                        if (flags.get(CPU.REGISTER_FLAGS_ZF)) {
                             // ZF is not zero, so terminate
                             return;
                         }
@@ -4335,9 +4874,7 @@ public class CPU extends ModuleCPU {
                 // before ([prefix] [instruction])
                 // Note: it is assumed (by Intel spec) that repeated instruction
                 // consists only of 1 byte (no operands following opcode)
-                tempWord = Util.subtractWords(ip, new byte[]{0x00,
-                        (byte) (prefixCounter + 1)}, 0);
-                System.arraycopy(tempWord, 0, ip, 0, tempWord.length);
+                ip = (ip - (prefixCounter + 1)) & 0xFFFF;
             }
         } else {
             // Normal operation (no REP prefix)
@@ -4365,10 +4902,20 @@ public class CPU extends ModuleCPU {
         segmentedCodeAddress = this.getSegmentedCodeAddress();
 
         // Increment instruction pointer
-        ip = Util.addWords(ip, new byte[]{0x00, 0x01}, 0);
+        ip = (ip + 1) & 0xFFFF;
+
+        // Hand out predecoded byte if the instruction came from the cache
+        if (segmentedCodeAddress == replayAddress && replayIndex < replayEnd) {
+            replayAddress++;
+            return instructionCache.code[replayIndex++];
+        }
 
         try {
-            return memory.getByte(segmentedCodeAddress);
+            byte value = memory.getByte(segmentedCodeAddress);
+            if (recording) {
+                this.recordCode(segmentedCodeAddress, value);
+            }
+            return value;
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
@@ -4381,10 +4928,10 @@ public class CPU extends ModuleCPU {
      * Note: when working with addressbytes, do not use this method, use
      * getByteFromMemorySegment instead Note: does not update IP
      *
-     * @param displacement Two byte offset in the current segment
+     * @param displacement Offset in the current segment
      * @return byte at memory address CS:DISP
      */
-    protected byte getByteFromCode(byte[] displacement) {
+    protected byte getByteFromCode(int displacement) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4405,10 +4952,10 @@ public class CPU extends ModuleCPU {
      * addressbytes, do not use this method, use getByteFromMemorySegment
      * instead
      *
-     * @param displacement Two byte offset in the current data segment
+     * @param displacement Offset in the current data segment
      * @return byte at memory address DS:DISP
      */
-    protected byte getByteFromData(byte[] displacement) {
+    protected byte getByteFromData(int displacement) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4429,10 +4976,10 @@ public class CPU extends ModuleCPU {
      * with addressbytes, do not use this method, use getByteFromMemorySegment
      * instead
      *
-     * @param displacement Two byte offset in the current stack segment
+     * @param displacement Offset in the current stack segment
      * @return byte at memory address SS:DISP
      */
-    protected byte getByteFromStack(byte[] displacement) {
+    protected byte getByteFromStack(int displacement) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4456,7 +5003,7 @@ public class CPU extends ModuleCPU {
      * @param displacement
      * @return byte at memory address ES:DI
      */
-    protected byte getByteFromExtra(byte[] displacement) {
+    protected byte getByteFromExtra(int displacement) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4477,14 +5024,21 @@ public class CPU extends ModuleCPU {
      * Note: use this method only when next instruction/addressbyte/immediate is
      * needed!
      *
-     * @return byte[] with word at memory address CS:IP
+     * @return word at memory address CS:IP
      */
-    protected byte[] getWordFromCode() {
-        // TODO: Check correct storage of bytes in array, [0][1] = [MSB][LSB]???
+    protected int getWordFromCode() {
         segmentedCodeAddress = this.getSegmentedCodeAddress();
 
         // Increment instruction pointer twice
-        ip = Util.addWords(ip, new byte[]{0x00, 0x02}, 0);
+        ip = (ip + 2) & 0xFFFF;
+
+        // Hand out predecoded word if the instruction came from the cache
+        if (segmentedCodeAddress == replayAddress && replayIndex + 1 < replayEnd) {
+            replayAddress += 2;
+            replayIndex += 2;
+            return ((instructionCache.code[replayIndex - 1] & 0xFF) << 8)
+                    | (instructionCache.code[replayIndex - 2] & 0xFF);
+        }
 
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
@@ -4494,12 +5048,17 @@ public class CPU extends ModuleCPU {
         }
 
         try {
-            return memory.getWord(segmentedCodeAddress);
+            int word = memory.readWord(segmentedCodeAddress);
+            if (recording) {
+                this.recordCode(segmentedCodeAddress, (byte) word);
+                this.recordCode(segmentedCodeAddress + 1, (byte) (word >> 8));
+            }
+            return word;
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
         }
-        return null;
+        return 0xFFFF;
     }
 
     /**
@@ -4507,9 +5066,9 @@ public class CPU extends ModuleCPU {
      * does not update IP
      *
      * @param displacement
-     * @return byte[] with word at memory address displacement
+     * @return word at memory address displacement
      */
-    protected byte[] getWordFromCode(byte[] displacement) {
+    protected int getWordFromCode(int displacement) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4517,12 +5076,12 @@ public class CPU extends ModuleCPU {
             clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
         }
         try {
-            return memory.getWord(this.getSegmentedCodeAddress(displacement));
+            return memory.readWord(this.getSegmentedCodeAddress(displacement));
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
         }
-        return null;
+        return 0xFFFF;
     }
 
     /**
@@ -4530,10 +5089,10 @@ public class CPU extends ModuleCPU {
      * addressbytes, do not use this method, use getWordFromMemorySegment
      * instead
      *
-     * @param displacement Two byte offset in the current data segment
+     * @param displacement Offset in the current data segment
      * @return word at memory address DS:DISP
      */
-    protected byte[] getWordFromData(byte[] displacement) {
+    protected int getWordFromData(int displacement) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4541,12 +5100,12 @@ public class CPU extends ModuleCPU {
             clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
         }
         try {
-            return memory.getWord(this.getSegmentedDataAddress(displacement));
+            return memory.readWord(this.getSegmentedDataAddress(displacement));
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
         }
-        return null;
+        return 0xFFFF;
     }
 
     /**
@@ -4556,7 +5115,7 @@ public class CPU extends ModuleCPU {
      *
      * @return word at memory address SS:SP
      */
-    protected byte[] getWordFromStack() {
+    protected int getWordFromStack() {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4565,16 +5124,16 @@ public class CPU extends ModuleCPU {
         }
         // Need to retrieve data before incrementing SP
         try {
-            byte[] word = memory.getWord(this.getSegmentedStackAddress());
+            int word = memory.readWord(this.getSegmentedStackAddress());
 
-            sp = Util.addWords(sp, new byte[]{0x00, 0x02}, 0);
+            esp = (esp & 0xFFFF0000) | ((esp + 2) & 0xFFFF);
 
             return word;
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
         }
-        return null;
+        return 0xFFFF;
     }
 
     /**
@@ -4582,10 +5141,10 @@ public class CPU extends ModuleCPU {
      * addressbytes, do not use this method, use getWordFromMemorySegment
      * instead
      *
-     * @param displacement Two byte offset in the current stack segment
+     * @param displacement Offset in the current stack segment
      * @return word at memory address SS:DISP
      */
-    protected byte[] getWordFromStack(byte[] displacement) {
+    protected int getWordFromStack(int displacement) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4593,12 +5152,12 @@ public class CPU extends ModuleCPU {
             clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
         }
         try {
-            return memory.getWord(this.getSegmentedStackAddress(displacement));
+            return memory.readWord(this.getSegmentedStackAddress(displacement));
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
         }
-        return null;
+        return 0xFFFF;
     }
 
     /**
@@ -4606,10 +5165,10 @@ public class CPU extends ModuleCPU {
      * addressbytes, do not use this method, use getWordFromMemorySegment
      * instead
      *
-     * @param displacement Two byte offset in the current data segment
+     * @param displacement Offset in the current data segment
      * @return word at memory address ES:DISP
      */
-    protected byte[] getWordFromExtra(byte[] displacement) {
+    protected int getWordFromExtra(int displacement) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4617,12 +5176,12 @@ public class CPU extends ModuleCPU {
             clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
         }
         try {
-            return memory.getWord(this.getSegmentedExtraAddress(displacement));
+            return memory.readWord(this.getSegmentedExtraAddress(displacement));
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
         }
-        return null;
+        return 0xFFFF;
     }
 
     /**
@@ -4631,10 +5190,10 @@ public class CPU extends ModuleCPU {
      *
      * @param addressByte byte whose R/M bits indicate which segment register is to be
      *                    used
-     * @param offset      byte[] indicating displacement of word in segment
+     * @param offset      offset displacement of word in segment
      * @return byte at memory address SS:disp or DS:disp
      */
-    protected byte getByteFromMemorySegment(byte addressByte, byte[] offset) {
+    protected byte getByteFromMemorySegment(byte addressByte, int offset) {
         // "Default segment register is SS for effective addresses containing a
         // BP index,
         // DS for other effective addresses" -Intel IA_SDM2, p. 2-5
@@ -4686,10 +5245,10 @@ public class CPU extends ModuleCPU {
      *
      * @param addressByte byte whose R/M bits indicate which segment register is to be
      *                    used
-     * @param offset      byte[] indicating offset of word in segment
+     * @param offset      offset offset of word in segment
      * @return word at memory address SS:disp or DS:disp
      */
-    protected byte[] getWordFromMemorySegment(byte addressByte, byte[] offset) {
+    protected int getWordFromMemorySegment(byte addressByte, int offset) {
         // "Default segment register is SS for effective addresses containing a
         // BP index,
         // DS for other effective addresses" -Intel IA_SDM2, p. 2-5
@@ -4741,10 +5300,10 @@ public class CPU extends ModuleCPU {
      * byte differences Instead, use setByteToMemorySegment() Note: does not
      * update IP
      *
-     * @param displacement Two byte offset in the current code segment
+     * @param displacement Offset in the current code segment
      * @param value        New value of the byte
      */
-    protected void setByteToCode(byte[] displacement, byte value) {
+    protected void setByteToCode(int displacement, byte value) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4764,10 +5323,10 @@ public class CPU extends ModuleCPU {
      * Note: do not use this method directly, use setWordToMemorySegment instead
      * Note: does not update IP
      *
-     * @param displacement Two byte offset in the current code segment
+     * @param displacement Offset in the current code segment
      * @param value        New value of the word
      */
-    protected void setWordToCode(byte[] displacement, byte[] value) {
+    protected void setWordToCode(int displacement, int value) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4775,7 +5334,7 @@ public class CPU extends ModuleCPU {
             clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
         }
         try {
-            memory.setWord(this.getSegmentedCodeAddress(displacement), value);
+            memory.writeWord(this.getSegmentedCodeAddress(displacement), value);
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
@@ -4787,10 +5346,10 @@ public class CPU extends ModuleCPU {
      * Note: this method should be avoided because it does not take care of R/M
      * byte differences Instead, use setByteToMemorySegment()
      *
-     * @param displacement Two byte offset in the current data segment
+     * @param displacement Offset in the current data segment
      * @param value        New value of the byte
      */
-    protected void setByteToData(byte[] displacement, byte value) {
+    protected void setByteToData(int displacement, byte value) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4809,10 +5368,10 @@ public class CPU extends ModuleCPU {
      * Assigns a word in the data memory segment (DS:displacement) a new value
      * Note: do not use this method, use setWordToMemorySegment instead
      *
-     * @param displacement Two byte offset in the current data segment
+     * @param displacement Offset in the current data segment
      * @param value        New value of the word
      */
-    protected void setWordToData(byte[] displacement, byte[] value) {
+    protected void setWordToData(int displacement, int value) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4820,7 +5379,7 @@ public class CPU extends ModuleCPU {
             clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
         }
         try {
-            memory.setWord(this.getSegmentedDataAddress(displacement), value);
+            memory.writeWord(this.getSegmentedDataAddress(displacement), value);
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
@@ -4833,7 +5392,7 @@ public class CPU extends ModuleCPU {
      * @param displacement
      * @param value
      */
-    protected void setByteToExtra(byte[] displacement, byte value) {
+    protected void setByteToExtra(int displacement, byte value) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4854,7 +5413,7 @@ public class CPU extends ModuleCPU {
      * @param displacement
      * @param word         Value of word to assign
      */
-    protected void setWordToExtra(byte[] displacement, byte[] word) {
+    protected void setWordToExtra(int displacement, int word) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4862,7 +5421,7 @@ public class CPU extends ModuleCPU {
             clock = (ModuleClock) super.getConnection(Module.Type.CLOCK);
         }
         try {
-            memory.setWord(this.getSegmentedExtraAddress(displacement), word);
+            memory.writeWord(this.getSegmentedExtraAddress(displacement), word);
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
@@ -4897,7 +5456,7 @@ public class CPU extends ModuleCPU {
      * @param displacement
      * @param value        to be pushed onto the stack
      */
-    protected void setByteToStack(byte[] displacement, byte value) {
+    protected void setByteToStack(int displacement, byte value) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4919,7 +5478,7 @@ public class CPU extends ModuleCPU {
      *
      * @param value word to be pushed on the stack
      */
-    protected void setWordToStack(byte[] value) {
+    protected void setWordToStack(int value) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4930,11 +5489,11 @@ public class CPU extends ModuleCPU {
         // According to MS-DOS debug.exe, the stack pointer is decrement FIRST
         // before writing data. This behaviour is reproduced here.
 
-        sp = Util.subtractWords(sp, new byte[]{0x00, 0x02}, 0);
+        esp = (esp & 0xFFFF0000) | ((esp - 2) & 0xFFFF);
 
         // Write data to stack
         try {
-            memory.setWord(this.getSegmentedStackAddress(), value);
+            memory.writeWord(this.getSegmentedStackAddress(), value);
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
@@ -4948,7 +5507,7 @@ public class CPU extends ModuleCPU {
      * @param displacement Displacement within SS segment
      * @param value        word to be stored in SS
      */
-    protected void setWordToStack(byte[] displacement, byte[] value) {
+    protected void setWordToStack(int displacement, int value) {
         if(memory == null) {
             memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
             motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -4957,7 +5516,7 @@ public class CPU extends ModuleCPU {
         }
         // Write data to SS
         try {
-            memory.setWord(this.getSegmentedStackAddress(displacement), value);
+            memory.writeWord(this.getSegmentedStackAddress(displacement), value);
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + super.getType()
                     + "] AbstractModule exception: " + e.getMessage());
@@ -4970,10 +5529,10 @@ public class CPU extends ModuleCPU {
      *
      * @param addressByte byte whose R/M bits indicate which segment register is to be
      *                    used
-     * @param disp        byte[] indicating displacement of word in segment
+     * @param disp        offset displacement of word in segment
      * @param value       byte containing value to write to segment:disp
      */
-    protected void setByteInMemorySegment(byte addressByte, byte[] disp,
+    protected void setByteInMemorySegment(byte addressByte, int disp,
                                           byte value) {
         // "Default segment register is SS for effective addresses containing a
         // BP index,
@@ -5032,11 +5591,11 @@ public class CPU extends ModuleCPU {
      *
      * @param addressByte byte whose R/M bits indicate which segment register is to be
      *                    used
-     * @param disp        byte[] indicating displacement of word in segment
-     * @param value       byte[] containing value to write to segment:disp
+     * @param disp        offset displacement of word in segment
+     * @param value       word containing value to write to segment:disp
      */
-    protected void setWordInMemorySegment(byte addressByte, byte[] disp,
-                                          byte[] value) {
+    protected void setWordInMemorySegment(byte addressByte, int disp,
+                                          int value) {
         // "Default segment register is SS for effective addresses containing a
         // BP index,
         // DS for other effective addresses" -Intel IA_SDM2, p. 2-5
@@ -5088,14 +5647,45 @@ public class CPU extends ModuleCPU {
         }
     }
 
+    /**
+     * Retrieves a doubleword from segment memory DS or SS, which is determined
+     * from the addressbyte. The high word is read from offset + 2, within the
+     * same segment.
+     *
+     * @param addressByte byte whose R/M bits indicate which segment register is to be
+     *                    used
+     * @param offset      offset of the low word in segment
+     * @return doubleword at memory address SS:disp or DS:disp
+     */
+    protected int getDoubleWordFromMemorySegment(byte addressByte, int offset) {
+        int low = getWordFromMemorySegment(addressByte, offset);
+        return low | (getWordFromMemorySegment(addressByte, (offset + 2) & 0xFFFF) << 16);
+    }
+
+    /**
+     * Sets a doubleword in segment memory DS or SS, which is determined from
+     * the addressbyte. The high word is written to offset + 2, within the same
+     * segment.
+     *
+     * @param addressByte byte whose R/M bits indicate which segment register is to be
+     *                    used
+     * @param offset      offset of the low word in segment
+     * @param value       doubleword to write to segment:offset
+     */
+    protected void setDoubleWordInMemorySegment(byte addressByte, int offset,
+                                                int value) {
+        setWordInMemorySegment(addressByte, (offset + 2) & 0xFFFF, value >>> 16);
+        setWordInMemorySegment(addressByte, offset, value & 0xFFFF);
+    }
+
     /**
      * Using mm bits from addressbyte, retrieve value of displacement (if sss
      * indicates a memory destination).<BR>
      *
      * @param addrByte addressbyte following opcode instruction
-     * @return memory reference displacement indicated by extra bytes.
+     * @return memory reference displacement indicated by extra bytes (16 bit)
      */
-    protected byte[] decodeMM(int addrByte) {
+    protected int decodeMM(int addrByte) {
         // Determine sss specified by mm bits, by ANDing with 1100 0000 and
         // right-shifting 6
         switch ((addrByte >> 6) & 0x03) {
@@ -5105,14 +5695,13 @@ public class CPU extends ModuleCPU {
                 if ((addrByte & 0x07) == 6) {
                     return getWordFromCode();
                 }
-                return new byte[2];
+                return 0;
 
             case 1:
                 // sss is a memory location plus 8 bit (1 byte) offset
                 // The Intel specs state 8-bit displacement is sign-extended before
                 // added to index
-                byte displacement = getByteFromCode();
-                return new byte[]{Util.signExtend(displacement), displacement};
+                return getByteFromCode() & 0xFFFF;
 
             case 2:
                 // sss is a memory location plus 16 bit (2 byte) offset
@@ -5120,12 +5709,12 @@ public class CPU extends ModuleCPU {
 
             case 3:
                 // sss is a register, no offset
-                return new byte[2];
+                return 0;
 
             default:
                 logger.log(Level.WARNING, "[" + super.getType()
                         + "] Addressbyte MM-bits do not match");
-                return new byte[2];
+                return 0;
         }
     }
 
@@ -5134,178 +5723,243 @@ public class CPU extends ModuleCPU {
      *
      * @param addrByte     addressbyte following opcode instruction
      * @param displacement memory reference displacement from extra bytes
-     * @return memory location indication by sss and displacement
+     * @return memory location indication by sss and displacement (16 bit)
      */
-    protected byte[] decodeSSSMemDest(byte addrByte, byte[] displacement) {
+    protected int decodeSSSMemDest(byte addrByte, int displacement) {
         // Determine memory specified by sss bits, by ANDing with 0000 0111
         switch (addrByte & 0x07) {
             case 0: // BX + SI
-                return Util.addRegRegDisp(bx, si, displacement);
+                return (ebx + esi + displacement) & 0xFFFF;
 
             case 1: // BX + DI
-                return Util.addRegRegDisp(bx, di, displacement);
+                return (ebx + edi + displacement) & 0xFFFF;
 
             case 2: // BP + SI
-                return Util.addRegRegDisp(bp, si, displacement);
+                return (ebp + esi + displacement) & 0xFFFF;
 
             case 3: // BP + DI
-                return Util.addRegRegDisp(bp, di, displacement);
+                return (ebp + edi + displacement) & 0xFFFF;
 
             case 4: // SI
-                return Util.addRegRegDisp(si, new byte[2], displacement);
+                return (esi + displacement) & 0xFFFF;
 
             case 5: // DI
-                return Util.addRegRegDisp(di, new byte[2], displacement);
+                return (edi + displacement) & 0xFFFF;
 
             case 6: // 2 byte displacement, or BP + displacement depending on mm
                 if (((addrByte & 0xC0) >> 6) == 0) {
                     // Direct memory reference, so only 2 byte displacement
-                    return displacement;
+                    return displacement & 0xFFFF;
                 }
-                return Util.addRegRegDisp(bp, new byte[2], displacement);
+                return (ebp + displacement) & 0xFFFF;
 
             case 7: // BX
-                return Util.addRegRegDisp(bx, new byte[2], displacement);
+                return (ebx + displacement) & 0xFFFF;
 
             default:
                 logger.log(Level.WARNING, "[" + super.getType()
                         + "] Addressbyte SSS-bits do not match");
-                return new byte[]{0, 0};
+                return 0;
         }
     }
 
     /**
-     * Determine register based on rrr/sss bits from addressbyte.<BR>
-     * Complete register is returned to ensure pass by reference.<BR>
+     * Returns the byte register indicated by rrr/sss bits from addressbyte:
+     * AL, CL, DL, BL, AH, CH, DH, BH.
      *
-     * @param operandWord boolean indicating byte (false) or word (true) size
-     * @param rrrsssBits  integer value (0 - 7) based on rrr/sss bits from addressbyte
-     * @return register indicated by relevant bits from addressbyte
+     * @param rrrsssBits integer value (0 - 7) based on rrr/sss bits from addressbyte
+     * @return value of the register (0x00 - 0xFF)
      */
-    protected byte[] decodeRegister(boolean operandWord, int rrrsssBits) {
-        // Check operand size first
-        if (operandWord) {
-            // Determine register specified by rrr/sss bits
-            switch (rrrsssBits) {
-                case 0: // AX
-                    return ax;
-                case 1: // CX
-                    return cx;
-                case 2: // DX
-                    return dx;
-                case 3: // BX
-                    return bx;
-                case 4: // SP
-                    return sp;
-                case 5: // BP
-                    return bp;
-                case 6: // SI
-                    return si;
-                case 7: // DI
-                    return di;
-
-                default:
-                    logger.log(Level.WARNING, "[" + super.getType()
-                            + "] Addressbyte RRR/SSS-bits do not match");
-                    return new byte[2];
-            }
-        } else
-        // Dealing with byte-sized operand
-        {
-            // Determine register specified by rrr/sss bits
-            switch (rrrsssBits) {
-                case 0: // AL
-                    return ax;
-                case 1: // CL
-                    return cx;
-                case 2: // DL
-                    return dx;
-                case 3: // BL
-                    return bx;
-                case 4: // AH
-                    return ax;
-                case 5: // CH
-                    return cx;
-                case 6: // DH
-                    return dx;
-                case 7: // BH
-                    return bx;
+    protected int getRegisterByte(int rrrsssBits) {
+        if (rrrsssBits < 4) {
+            return this.getRegisterDoubleWord(rrrsssBits) & 0xFF;
+        }
+        return (this.getRegisterDoubleWord(rrrsssBits - 4) >> 8) & 0xFF;
+    }
 
-                default:
-                    logger.log(Level.WARNING, "[" + super.getType()
-                            + "] Addressbyte RRR/SSS-bits do not match");
-                    return new byte[2];
-            }
+    /**
+     * Assigns a new value to the byte register indicated by rrr/sss bits from
+     * addressbyte: AL, CL, DL, BL, AH, CH, DH, BH. The other bits of the
+     * register are left alone.
+     *
+     * @param rrrsssBits integer value (0 - 7) based on rrr/sss bits from addressbyte
+     * @param value      new value; only the lower 8 bits are used
+     */
+    protected void setRegisterByte(int rrrsssBits, int value) {
+        if (rrrsssBits < 4) {
+            this.setRegisterDoubleWord(rrrsssBits,
+                    (this.getRegisterDoubleWord(rrrsssBits) & 0xFFFFFF00)
+                            | (value & 0xFF));
+        } else {
+            this.setRegisterDoubleWord(rrrsssBits - 4,
+                    (this.getRegisterDoubleWord(rrrsssBits - 4) & 0xFFFF00FF)
+                            | ((value & 0xFF) << 8));
         }
     }
 
     /**
-     * Determine extra register based on rrr/sss bits from addressbyte.<BR>
-     * Complete register is returned to ensure pass by reference.<BR>
+     * Returns the word register indicated by rrr/sss bits from addressbyte:
+     * AX, CX, DX, BX, SP, BP, SI, DI.
      *
      * @param rrrsssBits integer value (0 - 7) based on rrr/sss bits from addressbyte
-     * @return register indicated by relevant bits from addressbyte
+     * @return value of the register (0x0000 - 0xFFFF)
      */
-    protected byte[] decodeExtraRegister(int rrrsssBits) {
-        // Determine register specified by rrr/sss bits
+    protected int getRegisterWord(int rrrsssBits) {
+        return this.getRegisterDoubleWord(rrrsssBits) & 0xFFFF;
+    }
+
+    /**
+     * Assigns a new value to the word register indicated by rrr/sss bits from
+     * addressbyte: AX, CX, DX, BX, SP, BP, SI, DI. The upper 16 bits of the
+     * extended register are left alone.
+     *
+     * @param rrrsssBits integer value (0 - 7) based on rrr/sss bits from addressbyte
+     * @param value      new value; only the lower 16 bits are used
+     */
+    protected void setRegisterWord(int rrrsssBits, int value) {
+        this.setRegisterDoubleWord(rrrsssBits,
+                (this.getRegisterDoubleWord(rrrsssBits) & 0xFFFF0000)
+                        | (value & 0xFFFF));
+    }
+
+    /**
+     * Returns the doubleword register indicated by rrr/sss bits from
+     * addressbyte: EAX, ECX, EDX, EBX, ESP, EBP, ESI, EDI.
+     *
+     * @param rrrsssBits integer value (0 - 7) based on rrr/sss bits from addressbyte
+     * @return value of the register
+     */
+    protected int getRegisterDoubleWord(int rrrsssBits) {
         switch (rrrsssBits) {
-            case 0: // eAX
+            case REGISTER_AX:
                 return eax;
-            case 1: // eCX
+            case REGISTER_CX:
                 return ecx;
-            case 2: // eDX
+            case REGISTER_DX:
                 return edx;
-            case 3: // eBX
+            case REGISTER_BX:
                 return ebx;
-            case 4: // eSP
+            case REGISTER_SP:
                 return esp;
-            case 5: // eBP
+            case REGISTER_BP:
                 return ebp;
-            case 6: // eSI
+            case REGISTER_SI:
                 return esi;
-            case 7: // eDI
+            case REGISTER_DI:
                 return edi;
 
             default:
                 logger.log(Level.WARNING, "[" + super.getType()
                         + "] Addressbyte RRR/SSS-bits do not match");
-                return new byte[2];
+                return 0;
+        }
+    }
+
+    /**
+     * Assigns a new value to the doubleword register indicated by rrr/sss bits
+     * from addressbyte: EAX, ECX, EDX, EBX, ESP, EBP, ESI, EDI.
+     *
+     * @param rrrsssBits integer value (0 - 7) based on rrr/sss bits from addressbyte
+     * @param value      new value of the register
+     */
+    protected void setRegisterDoubleWord(int rrrsssBits, int value) {
+        switch (rrrsssBits) {
+            case REGISTER_AX:
+                eax = value;
+                break;
+            case REGISTER_CX:
+                ecx = value;
+                break;
+            case REGISTER_DX:
+                edx = value;
+                break;
+            case REGISTER_BX:
+                ebx = value;
+                break;
+            case REGISTER_SP:
+                esp = value;
+                break;
+            case REGISTER_BP:
+                ebp = value;
+                break;
+            case REGISTER_SI:
+                esi = value;
+                break;
+            case REGISTER_DI:
+                edi = value;
+                break;
+
+            default:
+                logger.log(Level.WARNING, "[" + super.getType()
+                        + "] Addressbyte RRR/SSS-bits do not match");
         }
     }
 
     /**
-     * Determine segment register based on rrr/sss bits from addressbyte.<BR>
-     * Complete segment register is returned to ensure pass by reference.<BR>
+     * Returns the segment register indicated by rrr/sss bits from
+     * addressbyte: ES, CS, SS, DS. FS, GS and the reserved values read as 0.
      *
      * @param rrrsssBits integer value (0 - 7) based on rrr/sss bits from addressbyte
-     * @return segment register indicated by relevant bits from addressbyte
+     * @return value of the segment register (0x0000 - 0xFFFF)
      */
-    protected byte[] decodeSegmentRegister(int rrrsssBits) {
-        // Not dependant on operand size like decodeRegister, so check is
+    protected int getSegmentRegister(int rrrsssBits) {
+        // Not dependant on operand size like getRegisterWord, so check is
         // skipped
         // Determine register specified by rrr/sss bits
         switch (rrrsssBits) {
-            case 0: // ES
+            case REGISTER_ES:
                 return es;
-            case 1: // CS
+            case REGISTER_CS:
                 return cs;
-            case 2: // SS
+            case REGISTER_SS:
                 return ss;
-            case 3: // DS
+            case REGISTER_DS:
                 return ds;
             case 4: // FS (nonexistant in 186)
-                return new byte[2]; // TODO: add FS register to CPU
             case 5: // GS (nonexistant in 186)
-                return new byte[2]; // TODO: add GS register to CPU
+                return 0; // TODO: add FS and GS registers to CPU
+            case 6: // reserved
+            case 7: // reserved
+                return 0;
+
+            default:
+                logger.log(Level.WARNING, "[" + super.getType()
+                        + "] Addressbyte RRR/SSS-bits do not match");
+                return 0;
+        }
+    }
+
+    /**
+     * Assigns a new value to the segment register indicated by rrr/sss bits
+     * from addressbyte: ES, CS, SS, DS. Writes to FS, GS and the reserved
+     * values are ignored.
+     *
+     * @param rrrsssBits integer value (0 - 7) based on rrr/sss bits from addressbyte
+     * @param value      new value; only the lower 16 bits are used
+     */
+    protected void setSegmentRegister(int rrrsssBits, int value) {
+        switch (rrrsssBits) {
+            case REGISTER_ES:
+                es = value & 0xFFFF;
+                break;
+            case REGISTER_CS:
+                cs = value & 0xFFFF;
+                break;
+            case REGISTER_SS:
+                ss = value & 0xFFFF;
+                break;
+            case REGISTER_DS:
+                ds = value & 0xFFFF;
+                break;
+            case 4: // FS (nonexistant in 186)
+            case 5: // GS (nonexistant in 186)
             case 6: // reserved
-                return new byte[2];
             case 7: // reserved
-                return new byte[2];
+                break;
 
             default:
                 logger.log(Level.WARNING, "[" + super.getType()
                         + "] Addressbyte RRR/SSS-bits do not match");
-                return new byte[2];
         }
     }
 
@@ -5317,15 +5971,7 @@ public class CPU extends ModuleCPU {
     private int getSegmentedCodeAddress() {
         // Return segmented memory address for code segment: 4x left-shift CS
         // register, add IP
-        // 
-        // Using CS arrays, this involves an 12-bit left-shift for the high
-        // register (8-bit shift to assign normal value, 4 extra for
-        // segmentation),
-        // a 4-bit left-shift for the low register (4-bit shift for
-        // segmentation)
-        return (((cs[REGISTER_SEGMENT_HIGH] & 0xFF) << 12)
-                + ((cs[REGISTER_SEGMENT_LOW] & 0xFF) << 4)
-                + ((ip[REGISTER_SEGMENT_HIGH] & 0xFF) << 8) + ((ip[REGISTER_SEGMENT_LOW] & 0xFF)));
+        return (cs << 4) + ip;
     }
 
     /**
@@ -5334,12 +5980,10 @@ public class CPU extends ModuleCPU {
      * @param displacement Offset in current segment
      * @return flat-memory address of CS:displacement
      */
-    private int getSegmentedCodeAddress(byte[] displacement) {
+    private int getSegmentedCodeAddress(int displacement) {
         // Return segmented memory address for code segment: 4x left-shift
         // codesegment register, add offset
-        return (((cs[REGISTER_SEGMENT_HIGH] & 0xFF) << 12)
-                + ((cs[REGISTER_SEGMENT_LOW] & 0xFF) << 4)
-                + ((displacement[REGISTER_SEGMENT_HIGH] & 0xFF) << 8) + (displacement[REGISTER_SEGMENT_LOW] & 0xFF));
+        return (cs << 4) + (displacement & 0xFFFF);
     }
 
     /**
@@ -5348,12 +5992,10 @@ public class CPU extends ModuleCPU {
      * @param displacement Offset in current data segment
      * @return flat-memory address of DS:displacement
      */
-    private int getSegmentedDataAddress(byte[] displacement) {
+    private int getSegmentedDataAddress(int displacement) {
         // Return segmented memory address for data segment: 4x left-shift
         // datasegment register, add offset
-        return (((ds[REGISTER_SEGMENT_HIGH] & 0xFF) << 12)
-                + ((ds[REGISTER_SEGMENT_LOW] & 0xFF) << 4)
-                + ((displacement[REGISTER_SEGMENT_HIGH] & 0xFF) << 8) + (displacement[REGISTER_SEGMENT_LOW] & 0xFF));
+        return (ds << 4) + (displacement & 0xFFFF);
     }
 
     /**
@@ -5364,9 +6006,7 @@ public class CPU extends ModuleCPU {
     private int getSegmentedStackAddress() {
         // Return segmented memory address for stack segment: 4x left-shift
         // stacksegment register, add stackpointer
-        return (((ss[REGISTER_SEGMENT_HIGH] & 0xFF) << 12)
-                + ((ss[REGISTER_SEGMENT_LOW] & 0xFF) << 4)
-                + ((sp[REGISTER_SEGMENT_HIGH] & 0xFF) << 8) + (sp[REGISTER_SEGMENT_LOW] & 0xFF));
+        return (ss << 4) + (esp & 0xFFFF);
     }
 
     /**
@@ -5375,12 +6015,10 @@ public class CPU extends ModuleCPU {
      * @param displacement Offset in current stack segment
      * @return flat-memory address of SS:displacement
      */
-    private int getSegmentedStackAddress(byte[] displacement) {
+    private int getSegmentedStackAddress(int displacement) {
         // Return segmented memory address for data segment: 4x left-shift
         // datasegment register, add offset
-        return (((ss[REGISTER_SEGMENT_HIGH] & 0xFF) << 12)
-                + ((ss[REGISTER_SEGMENT_LOW] & 0xFF) << 4)
-                + ((displacement[REGISTER_SEGMENT_HIGH] & 0xFF) << 8) + (displacement[REGISTER_SEGMENT_LOW] & 0xFF));
+        return (ss << 4) + (displacement & 0xFFFF);
     }
 
     /**
@@ -5389,63 +6027,38 @@ public class CPU extends ModuleCPU {
      * @param displacement Offset in current data segment
      * @return flat-memory address of ES:displacement
      */
-    private int getSegmentedExtraAddress(byte[] displacement) {
+    private int getSegmentedExtraAddress(int displacement) {
         // Return segmented memory address for data segment: 4x left-shift
         // datasegment register, add offset
-        return (((es[REGISTER_SEGMENT_HIGH] & 0xFF) << 12)
-                + ((es[REGISTER_SEGMENT_LOW] & 0xFF) << 4)
-                + ((displacement[REGISTER_SEGMENT_HIGH] & 0xFF) << 8) + (displacement[REGISTER_SEGMENT_LOW] & 0xFF));
+        return (es << 4) + (displacement & 0xFFFF);
     }
 
     /**
-     * Converts a given string (registername) into a register reference. This
+     * Converts a given string (registername) into a register number. This
      * method is not case sensitive.
      *
-     * @return byte[] containing the requested register
+     * @return 0 - 7 for the word registers AX - DI, 8 - 11 for the segment
+     *         registers ES, CS, SS, DS, -1 for an unknown name
      */
-    private byte[] convertStringToRegister(String registerName) {
-        if (registerName.equalsIgnoreCase("AX")) {
-            return ax;
-        } else if (registerName.equalsIgnoreCase("BX")) {
-            return bx;
-        } else if (registerName.equalsIgnoreCase("CX")) {
-            return cx;
-        } else if (registerName.equalsIgnoreCase("DX")) {
-            return dx;
-        } else if (registerName.equalsIgnoreCase("SP")) {
-            return sp;
-        } else if (registerName.equalsIgnoreCase("BP")) {
-            return bp;
-        } else if (registerName.equalsIgnoreCase("SI")) {
-            return si;
-        } else if (registerName.equalsIgnoreCase("DI")) {
-            return di;
-        } else if (registerName.equalsIgnoreCase("CS")) {
-            return cs;
-        } else if (registerName.equalsIgnoreCase("DS")) {
-            return ds;
-        } else if (registerName.equalsIgnoreCase("SS")) {
-            return ss;
-        } else if (registerName.equalsIgnoreCase("ES")) {
-            return es;
-        } else if (registerName.equalsIgnoreCase("IP")) {
-            return ip;
+    private int convertStringToRegister(String registerName) {
+        String[] names = {"AX", "CX", "DX", "BX", "SP", "BP", "SI", "DI",
+                "ES", "CS", "SS", "DS"};
+        for (int i = 0; i < names.length; i++) {
+            if (registerName.equalsIgnoreCase(names[i])) {
+                return i;
+            }
         }
-        return null;
+        return -1;
     }
 
     /**
      * Handle interrupt Request (IRQ)
      */
     private void handleIRQ(int vector) {
-        int offset;
-        byte[] tempCS, tempIP, newCS, newIP;
-
-        tempCS = new byte[2];
-        tempIP = new byte[2];
+        int offset, newCS, newIP;
 
         // Push flags register (16-bit) onto stack
-        this.setWordToStack(Util.booleansToBytes(flags));
+        this.setWordToStack(flags.getValue());
 
         // Push CS and IP onto stack
         this.setWordToStack(cs);
@@ -5454,66 +6067,41 @@ public class CPU extends ModuleCPU {
         // Push all other registers onto stack
         // Clear flags IF, TF, (and Alignment Check AC, but is not implemented
         // on 16-bit)
-        flags[CPU.REGISTER_FLAGS_IF] = false;
-        flags[CPU.REGISTER_FLAGS_TF] = false;
+        flags.set(CPU.REGISTER_FLAGS_IF, false);
+        flags.set(CPU.REGISTER_FLAGS_TF, false);
 
         // Retrieve the interrupt vector (IP:CS) from the IDT, based on the
         // index
         // Reset the CS and IP to interrupt vector in IDT
-        cs[CPU.REGISTER_SEGMENT_LOW] = tempCS[CPU.REGISTER_SEGMENT_LOW] = 0x00; // refer
-        // to
-        // beginning
-        // of
-        // code
-        // segment
-        cs[CPU.REGISTER_SEGMENT_HIGH] = tempCS[CPU.REGISTER_SEGMENT_HIGH] = 0x00;
+        cs = 0x0000; // refer to beginning of code segment
 
         offset = vector * 4; // define offset from code segment (index * 4
         // bytes); remember to take in account intOffset
         // logger.log(Level.INFO, "[" + super.getType() + "] " + "IRQ raised: 0x" +
         // Integer.toHexString(vector).toUpperCase());
 
-        ip[CPU.REGISTER_LOW] = tempIP[CPU.REGISTER_SEGMENT_LOW] = (byte) (offset & 0xFF);
-        ip[CPU.REGISTER_HIGH] = tempIP[CPU.REGISTER_SEGMENT_HIGH] = (byte) ((offset >> 8) & 0xFF);
+        ip = offset;
 
         // Fetch IP and CS
         newIP = this.getWordFromCode();
         newCS = this.getWordFromCode();
 
         // Assign new CS and IP to registers pointing to interrupt procedure
-        cs[CPU.REGISTER_SEGMENT_LOW] = newCS[CPU.REGISTER_LOW];
-        cs[CPU.REGISTER_SEGMENT_HIGH] = newCS[CPU.REGISTER_HIGH];
-        ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-        ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
+        cs = newCS;
+        ip = newIP;
 
         // Clear interrupt flag
-        flags[REGISTER_FLAGS_IF] = false;
+        flags.set(REGISTER_FLAGS_IF, false);
 
         logger.log(Level.CONFIG, "[" + super.getType()
                 + "] Handling IRQ: IDT at IP=0x"
-                + Util.convertWordToString(tempIP) + ", CS=0x"
-                + Util.convertWordToString(tempCS) + " and ISR at IP=0x"
-                + Util.convertWordToString(newIP) + ", CS=0x"
-                + Util.convertWordToString(newCS));
+                + Util.convertWordToString(Util.intToWord(offset))
+                + ", CS=0x0000 and ISR at IP=0x"
+                + Util.convertWordToString(Util.intToWord(newIP)) + ", CS=0x"
+                + Util.convertWordToString(Util.intToWord(newCS)));
 
     }
 
-    /**
-     * Converts a given word into an integer
-     *
-     * @param word
-     * @return int
-     */
-    private int convertWordToInt(byte[] word) {
-        int result;
-
-        // Cast both bytes to integer, mask and add
-        result = (((int) word[1]) & 0xFF);
-        result += ((((int) word[0]) << 8) & 0xFF00);
-
-        return result;
-    }
-
     /**
      * {@inheritDoc}
      *
@@ -5523,14 +6111,10 @@ public class CPU extends ModuleCPU {
     public String getRegisterHex(int register) {
         switch (register) {
             case 0: // CS
-                return Integer.toHexString(
-                        ((((int) cs[REGISTER_GENERAL_HIGH]) & 0xFF) << 8)
-                                + (((int) cs[REGISTER_GENERAL_LOW]) & 0xFF))
-                        .toUpperCase();
+                return Integer.toHexString(cs).toUpperCase();
             case 1: // IP
                 return Integer.toHexString(
-                        ((((int) ip[REGISTER_GENERAL_HIGH]) & 0xFF) << 8)
-                                + (((int) ip[REGISTER_GENERAL_LOW]) & 0xFF))
+                        ip)
                         .toUpperCase();
 
             default:
@@ -5574,29 +6158,29 @@ public class CPU extends ModuleCPU {
      */
     public String registerDump() {
         StringBuilder b = new StringBuilder();
-        b.append("ax=").append(toHexString(ax)).append('\n');
-        b.append("eax=").append(toHexString(eax)).append('\n');
-        b.append("bx=").append(toHexString(bx)).append('\n');
-        b.append("ebx=").append(toHexString(ebx)).append('\n');
-        b.append("cx=").append(toHexString(cx)).append('\n');
-        b.append("ecx=").append(toHexString(ecx)).append('\n');
-        b.append("dx=").append(toHexString(dx)).append('\n');
-        b.append("edx=").append(toHexString(edx)).append('\n');
-        b.append("sp=").append(toHexString(sp)).append('\n');
-        b.append("esp=").append(toHexString(esp)).append('\n');
-        b.append("bp=").append(toHexString(bp)).append('\n');
-        b.append("ebp=").append(toHexString(ebp)).append('\n');
-        b.append("si=").append(toHexString(si)).append('\n');
-        b.append("esi=").append(toHexString(esi)).append('\n');
-        b.append("di=").append(toHexString(di)).append('\n');
-        b.append("edi=").append(toHexString(edi)).append('\n');
-        b.append("cs=").append(toHexString(cs)).append('\n');
-        b.append("ds=").append(toHexString(ds)).append('\n');
-        b.append("ss=").append(toHexString(ss)).append('\n');
-        b.append("es=").append(toHexString(es)).append('\n');
-        b.append("ip=").append(toHexString(ip)).append('\n');
-        b.append("oldIP=").append(toHexString(oldIP)).append('\n');
-        b.append("flags=").append(toHexString(flags)).append('\n');
+        b.append("ax=").append(toHexString(Util.intToWord(eax))).append('\n');
+        b.append("eax=").append(toHexString(Util.intToWord(eax >>> 16))).append('\n');
+        b.append("bx=").append(toHexString(Util.intToWord(ebx))).append('\n');
+        b.append("ebx=").append(toHexString(Util.intToWord(ebx >>> 16))).append('\n');
+        b.append("cx=").append(toHexString(Util.intToWord(ecx))).append('\n');
+        b.append("ecx=").append(toHexString(Util.intToWord(ecx >>> 16))).append('\n');
+        b.append("dx=").append(toHexString(Util.intToWord(edx))).append('\n');
+        b.append("edx=").append(toHexString(Util.intToWord(edx >>> 16))).append('\n');
+        b.append("sp=").append(toHexString(Util.intToWord(esp))).append('\n');
+        b.append("esp=").append(toHexString(Util.intToWord(esp >>> 16))).append('\n');
+        b.append("bp=").append(toHexString(Util.intToWord(ebp))).append('\n');
+        b.append("ebp=").append(toHexString(Util.intToWord(ebp >>> 16))).append('\n');
+        b.append("si=").append(toHexString(Util.intToWord(esi))).append('\n');
+        b.append("esi=").append(toHexString(Util.intToWord(esi >>> 16))).append('\n');
+        b.append("di=").append(toHexString(Util.intToWord(edi))).append('\n');
+        b.append("edi=").append(toHexString(Util.intToWord(edi >>> 16))).append('\n');
+        b.append("cs=").append(toHexString(Util.intToWord(cs))).append('\n');
+        b.append("ds=").append(toHexString(Util.intToWord(ds))).append('\n');
+        b.append("ss=").append(toHexString(Util.intToWord(ss))).append('\n');
+        b.append("es=").append(toHexString(Util.intToWord(es))).append('\n');
+        b.append("ip=").append(toHexString(Util.intToWord(ip))).append('\n');
+        b.append("oldIP=").append(toHexString(Util.intToWord(oldIP))).append('\n');
+        b.append("flags=").append(toHexString(Util.bytesToBooleans(Util.intToWord(flags.getValue())))).append('\n');
         b.append("cr0=").append(toHexString(cr0)).append('\n');
         b.append("cr1=").append(toHexString(cr1)).append('\n');
         b.append("cr2=").append(toHexString(cr2)).append('\n');
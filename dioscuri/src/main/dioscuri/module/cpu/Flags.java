@@ -0,0 +1,276 @@
+/* $Revision$ $Date$ $Author$
+ *
+ * Copyright (C) 2007-2009  National Library of the Netherlands,
+ *                          Nationaal Archief of the Netherlands,
+ *                          Planets
+ *                          KEEP
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ *
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ *
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.cpu;
+
+/**
+ * FLAGS register of the CPU, with lazily computed arithmetic flags.
+ * <p/>
+ * Most instructions set the carry, parity, auxiliary, zero, sign and overflow
+ * flags from their operands and result, while only a few instructions ever
+ * read them. Instead of computing these flags for every instruction, the
+ * operation, its operands and its result are stored, and a flag is only
+ * computed when it is read. All other flags are kept as bits, at the
+ * positions given by the REGISTER_FLAGS constants of the CPU.
+ *
+ * @see CPU
+ */
+final class Flags {
+
+    // Operations that determine the arithmetic flags
+    static final int ADD = 0; // ADD, ADC: all arithmetic flags
+    static final int SUB = 1; // SUB, SBB, CMP, NEG: all arithmetic flags
+    static final int INC = 2; // INC: all but CF
+    static final int DEC = 3; // DEC: all but CF
+    static final int LOGIC = 4; // AND, OR, XOR, TEST: CF, AF and OF cleared
+    static final int RESULT = 5; // only PF, ZF and SF follow the result
+
+    // Operand sizes in bits
+    static final int BYTE = 8;
+    static final int WORD = 16;
+    static final int DOUBLEWORD = 32;
+
+    // Bits of the arithmetic flags
+    private static final int CF = 1 << CPU.REGISTER_FLAGS_CF;
+    private static final int PF = 1 << CPU.REGISTER_FLAGS_PF;
+    private static final int AF = 1 << CPU.REGISTER_FLAGS_AF;
+    private static final int ZF = 1 << CPU.REGISTER_FLAGS_ZF;
+    private static final int SF = 1 << CPU.REGISTER_FLAGS_SF;
+    private static final int OF = 1 << CPU.REGISTER_FLAGS_OF;
+    private static final int ARITHMETIC = CF | PF | AF | ZF | SF | OF;
+
+    // Flags set by each operation
+    private static final int[] AFFECTED = {ARITHMETIC, ARITHMETIC,
+            ARITHMETIC & ~CF, ARITHMETIC & ~CF, ARITHMETIC, PF | ZF | SF};
+
+    // FLAGS value after reset: only the reserved bit 1 is set
+    private static final int RESET_VALUE = 0x0002;
+
+    private int value; // FLAGS register, except for the bits in lazy
+    private int lazy; // flags still to be computed from the last operation
+
+    // Last operation that set the arithmetic flags
+    private int operation;
+    private int size;
+    private int operand1;
+    private int operand2;
+    private int carry;
+    private int result;
+
+    /**
+     * Creates the FLAGS register in its state after reset
+     */
+    Flags() {
+        this.reset();
+    }
+
+    /**
+     * Returns the FLAGS register to its state after reset
+     */
+    void reset() {
+        value = RESET_VALUE;
+        lazy = 0;
+    }
+
+    /**
+     * Returns the state of one flag
+     *
+     * @param flag position of the flag, one of the CPU.REGISTER_FLAGS constants
+     * @return true if the flag is set, false otherwise
+     */
+    boolean get(int flag) {
+        int bit = 1 << flag;
+        if ((lazy & bit) != 0) {
+            return this.compute(bit);
+        }
+        return (value & bit) != 0;
+    }
+
+    /**
+     * Sets or clears one flag
+     *
+     * @param flag  position of the flag, one of the CPU.REGISTER_FLAGS constants
+     * @param state true to set the flag, false to clear it
+     */
+    void set(int flag, boolean state) {
+        int bit = 1 << flag;
+        lazy &= ~bit;
+        if (state) {
+            value |= bit;
+        } else {
+            value &= ~bit;
+        }
+    }
+
+    /**
+     * Returns the whole FLAGS register
+     *
+     * @return value of FLAGS (16 bit)
+     */
+    int getValue() {
+        this.materialize(lazy);
+        return value;
+    }
+
+    /**
+     * Replaces the whole FLAGS register
+     *
+     * @param flags new value of FLAGS (16 bit)
+     */
+    void setValue(int flags) {
+        value = flags & 0xFFFF;
+        lazy = 0;
+    }
+
+    /**
+     * Records the operation that sets the arithmetic flags. The flags that
+     * the operation does not affect keep their current state.
+     *
+     * @param operation kind of operation, one of ADD, SUB, INC, DEC, LOGIC and
+     *                  RESULT
+     * @param size      operand size in bits: BYTE, WORD or DOUBLEWORD
+     * @param operand1  first operand; the destination before the operation
+     * @param operand2  second operand; the source
+     * @param carry     carry (ADC) or borrow (SBB) taken into the operation
+     * @param result    result of the operation
+     */
+    void setResult(int operation, int size, int operand1, int operand2,
+                   int carry, int result) {
+        int affected = AFFECTED[operation];
+        if ((lazy & ~affected) != 0) {
+            // Keep flags that still depend on the previous operation
+            this.materialize(lazy & ~affected);
+        }
+        this.operation = operation;
+        this.size = size;
+        this.operand1 = operand1;
+        this.operand2 = operand2;
+        this.carry = carry;
+        this.result = result;
+        lazy = affected;
+    }
+
+    /**
+     * Records an operation that sets the arithmetic flags from its result
+     * only, i.e. LOGIC or RESULT
+     *
+     * @param operation kind of operation, LOGIC or RESULT
+     * @param size      operand size in bits: BYTE, WORD or DOUBLEWORD
+     * @param result    result of the operation
+     */
+    void setResult(int operation, int size, int result) {
+        this.setResult(operation, size, 0, 0, 0, result);
+    }
+
+    /**
+     * Computes the given lazy flags and stores them in the register
+     *
+     * @param bits flags to compute
+     */
+    private void materialize(int bits) {
+        for (int left = bits; left != 0; left &= left - 1) {
+            int bit = Integer.lowestOneBit(left);
+            if (this.compute(bit)) {
+                value |= bit;
+            } else {
+                value &= ~bit;
+            }
+        }
+        lazy &= ~bits;
+    }
+
+    /**
+     * Computes an arithmetic flag from the last operation
+     *
+     * @param bit flag to compute
+     * @return state of the flag
+     */
+    private boolean compute(int bit) {
+        switch (bit) {
+            case CF:
+                switch (operation) {
+                    case ADD:
+                        return Util.test_CF_ADD(operand1, operand2, carry, size);
+                    case SUB:
+                        return Util.test_CF_SUB(operand1, operand2, carry, size);
+                    default:
+                        return false;
+                }
+
+            case PF:
+                // Parity is taken from the lowest byte only
+                return Util.checkParityOfByte((byte) result);
+
+            case AF:
+                switch (operation) {
+                    case ADD:
+                    case INC:
+                        return Util.test_AF_ADD(operand1, result);
+                    case SUB:
+                    case DEC:
+                        return Util.test_AF_SUB(operand1, result);
+                    default:
+                        return false;
+                }
+
+            case ZF:
+                return (result << (32 - size)) == 0;
+
+            case SF:
+                return ((result >>> (size - 1)) & 0x01) != 0;
+
+            case OF:
+                switch (operation) {
+                    case ADD:
+                    case INC:
+                        return Util.test_OF_ADD(operand1, operand2, result,
+                                carry, size);
+                    case SUB:
+                    case DEC:
+                        return Util.test_OF_SUB(operand1, operand2, result,
+                                carry, size);
+                    default:
+                        return false;
+                }
+
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.cpu;
+
+import java.util.Arrays;
+
+/**
+ * Cache of predecoded instructions, keyed by the flat-address of their first
+ * byte (CS:IP). An entry holds the raw bytes of one instruction (prefixes,
+ * opcode, addressbyte, displacement and immediates) together with the
+ * number of prefixes, so that the CPU can apply the prefixes and dispatch
+ * the opcode without scanning and fetching them from memory again. The
+ * operand bytes are handed to the instruction as it fetches them.
+ * <p/>
+ * The cache is direct-mapped: an instruction can only live in the slot
+ * selected by the low bits of its address, and replaces whatever was there.
+ * Entries are kept in flat arrays so that filling the cache does not
+ * allocate.
+ *
+ * @see dioscuri.module.ModuleMemory#markCode(int, int)
+ */
+final class InstructionCache {
+
+    /**
+     * Maximum number of bytes cached for a single instruction
+     */
+    static final int MAX_LENGTH = 16;
+
+    private static final int SLOTS = 1 << 13;
+
+    // Flat-address of the instruction in each slot, -1 if empty
+    private final int[] addresses;
+    private final byte[] lengths;
+    private final byte[] prefixCounts;
+
+    /**
+     * Instruction bytes, MAX_LENGTH per slot
+     */
+    final byte[] code;
+
+    // Statistics, updated for every instruction and read racily by the
+    // metrics, see EmulatorMetrics for why these are plain fields
+    private long hits;
+    private long misses;
+
+    /**
+     * Class constructor
+     */
+    InstructionCache() {
+        addresses = new int[SLOTS];
+        lengths = new byte[SLOTS];
+        prefixCounts = new byte[SLOTS];
+        code = new byte[SLOTS * MAX_LENGTH];
+        Arrays.fill(addresses, -1);
+    }
+
+    /**
+     * Looks up the instruction starting at the given address
+     *
+     * @param address flat-address of the first byte of the instruction
+     * @return slot holding the instruction, or -1 if it is not cached
+     */
+    int lookup(int address) {
+        int slot = address & (SLOTS - 1);
+        if (addresses[slot] == address) {
+            hits++;
+            return slot;
+        }
+        misses++;
+        return -1;
+    }
+
+    /**
+     * @param slot slot returned by {@link #lookup(int)}
+     * @return number of bytes of the instruction, including prefixes
+     */
+    int getLength(int slot) {
+        return lengths[slot];
+    }
+
+    /**
+     * @param slot slot returned by {@link #lookup(int)}
+     * @return number of prefix bytes preceding the opcode
+     */
+    int getPrefixCount(int slot) {
+        return prefixCounts[slot];
+    }
+
+    /**
+     * Stores an instruction, replacing the one that occupied its slot
+     *
+     * @param address     flat-address of the first byte of the instruction
+     * @param bytes       bytes of the instruction
+     * @param length      number of bytes of the instruction
+     * @param prefixCount number of prefix bytes preceding the opcode
+     */
+    void store(int address, byte[] bytes, int length, int prefixCount) {
+        int slot = address & (SLOTS - 1);
+        addresses[slot] = address;
+        lengths[slot] = (byte) length;
+        prefixCounts[slot] = (byte) prefixCount;
+        System.arraycopy(bytes, 0, code, slot * MAX_LENGTH, length);
+    }
+
+    /**
+     * Removes all instructions that overlap the given range of memory
+     *
+     * @param address flat-address of the first byte written
+     * @param length  number of bytes written
+     */
+    void invalidate(int address, int length) {
+        if (length >= SLOTS) {
+            clear();
+            return;
+        }
+        for (int start = address - MAX_LENGTH + 1; start < address + length; start++) {
+            int slot = start & (SLOTS - 1);
+            if (addresses[slot] == start && start + lengths[slot] > address) {
+                addresses[slot] = -1;
+            }
+        }
+    }
+
+    /**
+     * Removes all instructions
+     */
+    void clear() {
+        Arrays.fill(addresses, -1);
+    }
+
+    /**
+     * @return number of lookups that found the instruction
+     */
+    long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of lookups that did not find the instruction
+     */
+    long getMisses() {
+        return misses;
+    }
+}
@@ -77,22 +77,22 @@ public class Instruction_AAA implements Instruction {
      */
     public void execute() {
         // Check if AL > 9 or AF = 1, adjust AX and set flags
-        if (((cpu.ax[CPU.REGISTER_GENERAL_LOW] & 0x0F) > 9)
-                || cpu.flags[CPU.REGISTER_FLAGS_AF]) {
+        if (((cpu.eax & 0x0F) > 9)
+                || cpu.flags.get(CPU.REGISTER_FLAGS_AF)) {
             // Adjust AL and AH
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] += 6;
-            cpu.ax[CPU.REGISTER_GENERAL_HIGH]++;
+            cpu.eax = (cpu.eax & 0xFFFF0000) | ((cpu.eax + 0x100) & 0xFF00)
+                    | ((cpu.eax + 6) & 0xFF);
 
             // Set flags AF and CF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = true;
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = true;
+            cpu.flags.set(CPU.REGISTER_FLAGS_AF, true);
+            cpu.flags.set(CPU.REGISTER_FLAGS_CF, true);
         } else {
             // Clear flags AF and CF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
+            cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
+            cpu.flags.set(CPU.REGISTER_FLAGS_CF, false);
         }
 
         // Mask AL
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] = (byte) (cpu.ax[CPU.REGISTER_GENERAL_LOW] & 0x0F);
+        cpu.eax &= 0xFFFFFF0F;
     }
 }
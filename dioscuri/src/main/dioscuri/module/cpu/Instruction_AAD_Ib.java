@@ -90,28 +90,26 @@ public class Instruction_AAD_Ib implements Instruction {
         base = cpu.getByteFromCode();
 
         // AL = (AL + (imm * AH))
-        tempResult = ((int) cpu.ax[CPU.REGISTER_GENERAL_LOW] & 0xFF)
-                + (((int) cpu.ax[CPU.REGISTER_GENERAL_HIGH] & 0xFF) * base);
+        tempResult = (cpu.eax & 0xFF) + (((cpu.eax >> 8) & 0xFF) * base);
 
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] = (byte) (tempResult & 0xFF);
-        cpu.ax[CPU.REGISTER_GENERAL_HIGH] = 0x00;
+        cpu.eax = (cpu.eax & 0xFFFF0000) | (tempResult & 0xFF);
 
         // Set appropriate flags; follow Bochs' example of undefined flags
         // OF is undefined
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
         // AF is undefined
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
         // CF is undefined
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_CF, false);
         // Set ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                : false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, (cpu.eax & 0xFF) == 0 ? true
+                : false);
         // Set SF on particular byte of AX (set when MSB is 1, occurs when
         // destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] < 0 ? true
-                : false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (cpu.eax & 0x80) != 0 ? true
+                : false);
         // Set PF on particular byte of AX
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                .checkParityOfByte((byte) cpu.eax));
     }
 }
@@ -86,29 +86,29 @@ public class Instruction_AAM_Ib implements Instruction {
     public void execute() {
         // Get immediate byte for base
         base = cpu.getByteFromCode();
-        tempResult = cpu.ax[CPU.REGISTER_GENERAL_LOW];
+        // FIXME: AL and the base are taken as signed values
+        tempResult = (byte) cpu.eax;
 
-        // AH = AL / base
-        cpu.ax[CPU.REGISTER_GENERAL_HIGH] = (byte) (tempResult / base);
-        // AL = AL % base
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] = (byte) (tempResult % base);
+        // AH = AL / base, AL = AL % base
+        cpu.eax = (cpu.eax & 0xFFFF0000) | (((tempResult / base) & 0xFF) << 8)
+                | ((tempResult % base) & 0xFF);
 
         // Set appropriate flags; follow Bochs' example of undefined flags
         // OF is undefined
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
         // AF is undefined
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
         // CF is undefined
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_CF, false);
         // Set ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0
-                && cpu.ax[CPU.REGISTER_GENERAL_HIGH] == 0 ? true : false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, (cpu.eax & 0xFFFF) == 0 ? true
+                : false);
         // Set SF on particular byte of AX (set when MSB is 1, occurs when
         // destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (cpu.eax & 0x8000) != 0 ? true
+                : false);
         // Set PF on particular byte of AX
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                .checkParityOfByte((byte) cpu.eax));
     }
 }
@@ -48,9 +48,11 @@ public class Instruction_ADC_ALIb implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte immediateByte;
-    byte oldDest;
-    int iCarryFlag;
+
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+    int carry = 0;
 
     // Constructors
 
@@ -79,34 +81,17 @@ public class Instruction_ADC_ALIb implements Instruction {
      */
     public void execute() {
         // Determine value of carry flag before reset
-        iCarryFlag = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
-
-        // Get byte from code
-        immediateByte = cpu.getByteFromCode();
+        carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
-        // Store old value of AL
-        oldDest = cpu.ax[CPU.REGISTER_GENERAL_LOW];
+        // Get immediate byte
+        sourceValue = cpu.getByteFromCode() & 0xFF;
 
-        // Add (immediate byte + CF) to register AL
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] += immediateByte + iCarryFlag;
+        oldDest = cpu.eax & 0xFF;
+        result = (oldDest + sourceValue + carry) & 0xFF;
+        cpu.eax = (cpu.eax & 0xFFFFFF00) | result;
 
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(oldDest,
-                cpu.ax[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                immediateByte, iCarryFlag);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                immediateByte, cpu.ax[CPU.REGISTER_GENERAL_LOW], iCarryFlag);
-        // Test ZF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                : false;
-        // Test SF (set when MSB of AL is 1. In Java can check signed byte)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] < 0 ? true
-                : false;
-        // Set PF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.BYTE, oldDest, sourceValue, carry,
+                result);
     }
 }
@@ -48,11 +48,11 @@ public class Instruction_ADC_AXIv implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] immediateWord;
-    byte[] oldDest;
-    int iCarryFlag;
 
-    byte[] temp;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+    int carry = 0;
 
     // Constructors
 
@@ -60,11 +60,6 @@ public class Instruction_ADC_AXIv implements Instruction {
      * Class constructor
      */
     public Instruction_ADC_AXIv() {
-        immediateWord = new byte[2];
-        oldDest = new byte[2];
-        iCarryFlag = 0;
-
-        temp = new byte[2];
     }
 
     /**
@@ -86,37 +81,17 @@ public class Instruction_ADC_AXIv implements Instruction {
      */
     public void execute() {
         // Determine value of carry flag before reset
-        iCarryFlag = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
-
-        // Get word from code
-        immediateWord = cpu.getWordFromCode();
-
-        // Copy old value of AX
-        System.arraycopy(cpu.ax, 0, oldDest, 0, cpu.ax.length);
+        carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
-        // Add (immediate word + CF) to register AX
-        temp = Util.addWords(cpu.ax, immediateWord, iCarryFlag);
-        System.arraycopy(temp, 0, cpu.ax, 0, temp.length);
+        // Get immediate word
+        sourceValue = cpu.getWordFromCode();
 
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                oldDest[CPU.REGISTER_GENERAL_LOW],
-                cpu.ax[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                immediateWord, iCarryFlag);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                immediateWord, cpu.ax, iCarryFlag);
-        // Test ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF (set when MSB of AL is 1. In Java can check signed byte)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        oldDest = cpu.eax & 0xFFFF;
+        result = (oldDest + sourceValue + carry) & 0xFFFF;
+        cpu.eax = (cpu.eax & 0xFFFF0000) | result;
 
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, carry,
+                result);
     }
 }
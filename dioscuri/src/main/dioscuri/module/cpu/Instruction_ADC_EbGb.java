@@ -50,20 +50,14 @@ public class Instruction_ADC_EbGb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte sourceValue = 0;
-    byte sourceValue2 = 0;
-    byte destinationValue = 0;
-    byte[] destinationRegister = new byte[2];
-    byte registerHighLow = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte iCarryFlag = 0;
-    byte oldDest = 0;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+    int carry = 0;
 
     // Constructors
 
@@ -92,10 +86,7 @@ public class Instruction_ADC_EbGb implements Instruction {
      */
     public void execute() {
         // Determine value of carry flag before reset
-        iCarryFlag = (byte) (cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0);
-
-        // Reset appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
+        carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
         // Get addresByte
         addressByte = cpu.getByteFromCode();
@@ -105,11 +96,7 @@ public class Instruction_ADC_EbGb implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        // Determine high/low part of register based on bit 5 (leading rrr bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3))[registerHighLow];
+        sourceValue = cpu.getRegisterByte((addressByte & 0x38) >> 3);
 
         // Execute ADC on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -117,73 +104,25 @@ public class Instruction_ADC_EbGb implements Instruction {
             // ADC reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            // Re-determine high/low part of register based on bit 3 (leading
-            // sss bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // Store initial value for use in OF check
-            oldDest = destinationRegister[registerHighLow];
-
-            // ADC (source + CF) and destination, storing result in destination.
-            // registerHighLow is re-used here.
-            destinationRegister[registerHighLow] += sourceValue + iCarryFlag;
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(oldDest,
-                    destinationRegister[registerHighLow]);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                    sourceValue, iCarryFlag);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                    sourceValue, destinationRegister[registerHighLow],
-                    iCarryFlag);
-            // Test ZF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[registerHighLow] == 0 ? true
-                    : false;
-            // Test SF on particular byte of destinationRegister (set when MSB
-            // is 1, occurs when destReg >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[registerHighLow] < 0 ? true
-                    : false;
-            // Test PF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationRegister[registerHighLow]);
+            oldDest = cpu.getRegisterByte(addressByte & 0x07);
+            result = (oldDest + sourceValue + carry) & 0xFF;
+            cpu.setRegisterByte(addressByte & 0x07, result);
         } else {
             // ADC mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-            sourceValue2 = cpu.getByteFromMemorySegment(addressByte,
-                    memoryReferenceLocation);
-
-            // Get byte from memory and ADC source register + CF
-            destinationValue = (byte) (sourceValue2 + (sourceValue + iCarryFlag));
+            oldDest = cpu.getByteFromMemorySegment(addressByte,
+                    memoryReferenceLocation) & 0xFF;
+            result = (oldDest + sourceValue + carry) & 0xFF;
 
             // Store result in memory
             cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
-                    destinationValue);
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(sourceValue2,
-                    destinationValue);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(sourceValue2,
-                    sourceValue, iCarryFlag);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(sourceValue2,
-                    sourceValue, destinationValue, iCarryFlag);
-            // Test ZF on result
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationValue == 0 ? true
-                    : false;
-            // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationValue < 0 ? true
-                    : false;
-            // Set PF on result
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationValue);
+                    (byte) result);
         }
+
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.BYTE, oldDest, sourceValue, carry,
+                result);
     }
 }
@@ -50,22 +50,14 @@ public class Instruction_ADC_EvGv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte[] sourceValue = new byte[2];
-    byte[] sourceValue2 = new byte[2];
-    byte[] destinationValue = new byte[2];
-    byte[] destinationRegister = new byte[2];
-    int intermediateResult;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte iCarryFlag;
-    byte[] temp = new byte[2];
-    byte[] oldDest = new byte[2];
-    byte[] oldSource = new byte[2];
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+    int carry = 0;
 
     // Constructors
 
@@ -94,7 +86,7 @@ public class Instruction_ADC_EvGv implements Instruction {
      */
     public void execute() {
         // Determine value of carry flag before reset
-        iCarryFlag = (byte) (cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0);
+        carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
         // Get addresByte
         addressByte = cpu.getByteFromCode();
@@ -104,8 +96,7 @@ public class Instruction_ADC_EvGv implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
+        sourceValue = cpu.getRegisterWord((addressByte & 0x38) >> 3);
 
         // Execute ADC on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -113,78 +104,25 @@ public class Instruction_ADC_EvGv implements Instruction {
             // ADC reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // Store old values for flag checks
-            System.arraycopy(destinationRegister, 0, oldDest, 0,
-                    destinationRegister.length);
-            System.arraycopy(sourceValue, 0, oldSource, 0, sourceValue.length);
-
-            // ADC source and destination plus carry, storing result in
-            // destination.
-            temp = Util.addWords(destinationRegister, sourceValue, iCarryFlag);
-            System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                    oldDest[CPU.REGISTER_GENERAL_LOW],
-                    destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                    oldSource, iCarryFlag);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                    oldSource, destinationRegister, iCarryFlag);
-            // Test ZF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                    && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                    : false;
-            // Test SF on particular byte of destinationRegister (set when MSB
-            // is 1, occurs when destReg >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+            oldDest = cpu.getRegisterWord(addressByte & 0x07);
+            result = (oldDest + sourceValue + carry) & 0xFFFF;
+            cpu.setRegisterWord(addressByte & 0x07, result);
         } else {
             // ADC mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory and ADC source register
-            sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+            oldDest = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
-
-            // Add source and destination plus carry, store it to destination
-            temp = Util.addWords(sourceValue, sourceValue2, iCarryFlag);
-            System.arraycopy(temp, 0, destinationValue, 0, temp.length);
+            result = (oldDest + sourceValue + carry) & 0xFFFF;
 
             // Store result in memory
             cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
-                    destinationValue);
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                    sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                    destinationValue[CPU.REGISTER_GENERAL_LOW]);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(sourceValue2,
-                    sourceValue, iCarryFlag);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(sourceValue2,
-                    sourceValue, destinationValue, iCarryFlag);
-            // Test ZF on result
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                    && destinationValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                    : false;
-            // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF on result
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationValue[CPU.REGISTER_GENERAL_LOW]);
+                    result);
         }
+
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, carry,
+                result);
     }
 }
@@ -50,20 +50,14 @@ public class Instruction_ADC_GvEv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    int intermediateResult;
-    byte[] sourceValue = new byte[2];
-    byte[] oldSource = new byte[2];
-    byte[] destinationRegister = new byte[2];
-    byte[] oldDest = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    int iCarryFlag = 0;
-    byte[] temp = new byte[2];
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+    int carry = 0;
 
     // Constructors
 
@@ -92,7 +86,7 @@ public class Instruction_ADC_GvEv implements Instruction {
      */
     public void execute() {
         // Determine value of carry flag before reset
-        iCarryFlag = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+        carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
         // Get addresByte
         addressByte = cpu.getByteFromCode();
@@ -100,59 +94,30 @@ public class Instruction_ADC_GvEv implements Instruction {
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
-        // Execute ADC on reg,reg or mem,reg. Determine this from mm bits of
+        // Execute ADC on reg,reg or reg,mem. Determine this from mm bits of
         // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
             // ADC reg,reg
-            // Determine source value from addressbyte, ANDing it with 0000 0111
-            sourceValue = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
+            // Determine source register from addressbyte, ANDing it with
+            // 0000 0111
+            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
         } else {
-            // ADC mem,reg
+            // ADC reg,mem
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory and ADC source register
             sourceValue = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
         }
 
-        // Determine destination resgister using addressbyte. AND it with 0011
+        // Determine destination register using addressbyte. AND it with 0011
         // 1000 and right-shift 3 to get rrr bits
-        destinationRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
-        // Store old values
-        System.arraycopy(destinationRegister, 0, oldDest, 0,
-                destinationRegister.length);
-        System.arraycopy(sourceValue, 0, oldSource, 0, sourceValue.length);
-
-        // ADC of source and destination plus carry, storing result in
-        // destination.
-        temp = Util.addWords(destinationRegister, sourceValue, iCarryFlag);
-        System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
-
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                oldDest[CPU.REGISTER_GENERAL_LOW],
-                destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest, oldSource,
-                iCarryFlag);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest, oldSource,
-                destinationRegister, iCarryFlag);
-        // Test ZF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                : false;
-        // Test SF on particular byte of destinationRegister (set when MSB is 1,
-        // occurs when destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+        oldDest = cpu.getRegisterWord((addressByte & 0x38) >> 3);
+        result = (oldDest + sourceValue + carry) & 0xFFFF;
+        cpu.setRegisterWord((addressByte & 0x38) >> 3, result);
+
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, carry,
+                result);
     }
 }
@@ -48,8 +48,10 @@ public class Instruction_ADD_ALIb implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte immediateByte;
-    byte oldDest;
+
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -77,32 +79,15 @@ public class Instruction_ADD_ALIb implements Instruction {
      * Add immediate byte to AL
      */
     public void execute() {
-        immediateByte = cpu.getByteFromCode();
-
-        // Copy AL start value for OF test later
-        oldDest = cpu.ax[CPU.REGISTER_GENERAL_LOW];
-
-        // Add immediate byte to register AL
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] += immediateByte;
+        // Get immediate byte
+        sourceValue = cpu.getByteFromCode() & 0xFF;
 
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(oldDest,
-                cpu.ax[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                immediateByte, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                immediateByte, cpu.ax[CPU.REGISTER_GENERAL_LOW], 0);
-        // Test ZF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                : false;
-        // Test SF (set when MSB of AL is 1. In Java can check signed byte)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] < 0 ? true
-                : false;
-        // Set PF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        oldDest = cpu.eax & 0xFF;
+        result = (oldDest + sourceValue) & 0xFF;
+        cpu.eax = (cpu.eax & 0xFFFFFF00) | result;
 
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.BYTE, oldDest, sourceValue, 0,
+                result);
     }
 }
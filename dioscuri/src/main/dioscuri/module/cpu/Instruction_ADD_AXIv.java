@@ -48,10 +48,10 @@ public class Instruction_ADD_AXIv implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] immediateWord;
-    byte[] oldDest;
 
-    byte[] temp;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -59,10 +59,6 @@ public class Instruction_ADD_AXIv implements Instruction {
      * Class constructor
      */
     public Instruction_ADD_AXIv() {
-        immediateWord = new byte[2];
-        oldDest = new byte[2];
-
-        temp = new byte[2];
     }
 
     /**
@@ -83,34 +79,15 @@ public class Instruction_ADD_AXIv implements Instruction {
      * Add immediate word to AX
      */
     public void execute() {
-        immediateWord = cpu.getWordFromCode();
-
-        // Copy old value of AX
-        System.arraycopy(cpu.ax, 0, oldDest, 0, cpu.ax.length);
-
-        // Add immediate word to register AX
-        temp = Util.addWords(cpu.ax, immediateWord, 0);
-        System.arraycopy(temp, 0, cpu.ax, 0, temp.length);
+        // Get immediate word
+        sourceValue = cpu.getWordFromCode();
 
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                oldDest[CPU.REGISTER_GENERAL_LOW],
-                cpu.ax[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                immediateWord, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                immediateWord, cpu.ax, 0);
-        // Test ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF (set when MSB of AL is 1. In Java can check signed byte)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        oldDest = cpu.eax & 0xFFFF;
+        result = (oldDest + sourceValue) & 0xFFFF;
+        cpu.eax = (cpu.eax & 0xFFFF0000) | result;
 
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, 0,
+                result);
     }
 }
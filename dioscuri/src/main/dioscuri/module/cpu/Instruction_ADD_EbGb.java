@@ -50,18 +50,13 @@ public class Instruction_ADD_EbGb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte sourceValue = 0;
-    byte sourceValue2 = 0;
-    byte oldDest = 0;
-    byte destinationValue = 0;
-    byte[] destinationRegister = new byte[2];
-    byte registerHighLow = 0;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -97,11 +92,7 @@ public class Instruction_ADD_EbGb implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        // Determine high/low part of register based on bit 5 (leading rrr bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3))[registerHighLow];
+        sourceValue = cpu.getRegisterByte((addressByte & 0x38) >> 3);
 
         // Execute ADD on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -109,72 +100,25 @@ public class Instruction_ADD_EbGb implements Instruction {
             // ADD reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            // Re-determine high/low part of register based on bit 3 (leading
-            // sss bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // Store initial value for use in OF check
-            oldDest = destinationRegister[registerHighLow];
-
-            // ADD source and destination, storing result in destination.
-            // registerHighLow is re-used here.
-            destinationRegister[registerHighLow] += sourceValue;
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(oldDest,
-                    destinationRegister[registerHighLow]);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                    sourceValue, 0);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                    sourceValue, destinationRegister[registerHighLow], 0);
-            // Test ZF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[registerHighLow] == 0 ? true
-                    : false;
-            // Test SF on particular byte of destinationRegister (set when MSB
-            // is 1, occurs when destReg >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[registerHighLow] < 0 ? true
-                    : false;
-            // Test PF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationRegister[registerHighLow]);
+            oldDest = cpu.getRegisterByte(addressByte & 0x07);
+            result = (oldDest + sourceValue) & 0xFF;
+            cpu.setRegisterByte(addressByte & 0x07, result);
         } else {
             // ADD mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-            sourceValue2 = cpu.getByteFromMemorySegment(addressByte,
-                    memoryReferenceLocation);
-
-            // Get byte from memory and ADD source register
-            destinationValue = (byte) (sourceValue2 + sourceValue);
+            oldDest = cpu.getByteFromMemorySegment(addressByte,
+                    memoryReferenceLocation) & 0xFF;
+            result = (oldDest + sourceValue) & 0xFF;
 
             // Store result in memory
             cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
-                    destinationValue);
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(sourceValue2,
-                    destinationValue);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(sourceValue2,
-                    sourceValue, 0);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(sourceValue2,
-                    sourceValue, destinationValue, 0);
-            // Test ZF on result
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationValue == 0 ? true
-                    : false;
-            // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationValue < 0 ? true
-                    : false;
-            // Set PF on result
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationValue);
+                    (byte) result);
         }
+
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.BYTE, oldDest, sourceValue, 0,
+                result);
     }
 }
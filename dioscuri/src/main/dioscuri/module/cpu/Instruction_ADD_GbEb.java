@@ -50,16 +50,13 @@ public class Instruction_ADD_GbEb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte sourceValue = 0;
-    byte oldDest = 0;
-    byte[] destinationRegister = new byte[2];
-    byte registerHighLow = 0;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -93,64 +90,30 @@ public class Instruction_ADD_GbEb implements Instruction {
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
-        // Execute ADD on reg,reg or mem,reg. Determine this from mm bits of
+        // Execute ADD on reg,reg or reg,mem. Determine this from mm bits of
         // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
             // ADD reg,reg
-            // Determine destination register from addressbyte, ANDing it with
+            // Determine source register from addressbyte, ANDing it with
             // 0000 0111
-            // Determine high/low part of register based on bit 5 (leading rrr
-            // bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            sourceValue = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07)[registerHighLow];
+            sourceValue = cpu.getRegisterByte(addressByte & 0x07);
         } else {
-            // ADD mem,reg
+            // ADD reg,mem
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory and ADD source register
             sourceValue = cpu.getByteFromMemorySegment(addressByte,
-                    memoryReferenceLocation);
+                    memoryReferenceLocation) & 0xFF;
         }
 
         // Determine destination register using addressbyte. AND it with 0011
         // 1000 and right-shift 3 to get rrr bits
-        // Re-determine high/low part of register based on bit 3 (leading sss
-        // bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        destinationRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
-        // Store initial value for use in OF check
-        oldDest = destinationRegister[registerHighLow];
-
-        // ADD source and destination, storing result in destination.
-        // registerHighLow is re-used here.
-        destinationRegister[registerHighLow] += sourceValue;
-
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(oldDest,
-                destinationRegister[registerHighLow]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                sourceValue, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                sourceValue, destinationRegister[registerHighLow], 0);
-        // Test ZF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[registerHighLow] == 0 ? true
-                : false;
-        // Test SF on particular byte of destinationRegister (set when MSB is 1,
-        // occurs when destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[registerHighLow] < 0 ? true
-                : false;
-        // Set PF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(destinationRegister[registerHighLow]);
+        oldDest = cpu.getRegisterByte((addressByte & 0x38) >> 3);
+        result = (oldDest + sourceValue) & 0xFF;
+        cpu.setRegisterByte((addressByte & 0x38) >> 3, result);
 
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.BYTE, oldDest, sourceValue, 0,
+                result);
     }
 }
@@ -50,19 +50,13 @@ public class Instruction_ADD_GvEv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
+    byte addressByte = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-
-    byte[] sourceValue;
-    byte[] oldSource;
-    byte[] destinationRegister;
-    byte[] oldDest;
-    int internalCarry;
-
-    byte[] temp;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -70,19 +64,6 @@ public class Instruction_ADD_GvEv implements Instruction {
      * Class constructor
      */
     public Instruction_ADD_GvEv() {
-        operandWordSize = true;
-
-        addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceValue = new byte[2];
-        oldSource = new byte[2];
-        destinationRegister = new byte[2];
-        oldDest = new byte[2];
-        internalCarry = 0;
-
-        temp = new byte[2];
     }
 
     /**
@@ -109,58 +90,30 @@ public class Instruction_ADD_GvEv implements Instruction {
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
-        // Execute ADD on reg,reg or mem,reg. Determine this from mm bits of
+        // Execute ADD on reg,reg or reg,mem. Determine this from mm bits of
         // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
             // ADD reg,reg
-            // Determine source value from addressbyte, ANDing it with 0000 0111
-            sourceValue = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
+            // Determine source register from addressbyte, ANDing it with
+            // 0000 0111
+            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
         } else {
-            // ADD mem,reg
+            // ADD reg,mem
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get word from memory
             sourceValue = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
         }
 
         // Determine destination register using addressbyte. AND it with 0011
         // 1000 and right-shift 3 to get rrr bits
-        destinationRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
-        // Store old values
-        System.arraycopy(destinationRegister, 0, oldDest, 0,
-                destinationRegister.length);
-        System.arraycopy(sourceValue, 0, oldSource, 0, sourceValue.length);
-
-        // ADD source and destination, storing result in destination.
-        temp = Util.addWords(destinationRegister, sourceValue, 0);
-        System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
+        oldDest = cpu.getRegisterWord((addressByte & 0x38) >> 3);
+        result = (oldDest + sourceValue) & 0xFFFF;
+        cpu.setRegisterWord((addressByte & 0x38) >> 3, result);
 
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                oldDest[CPU.REGISTER_GENERAL_LOW],
-                destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest, oldSource,
-                0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest, oldSource,
-                destinationRegister, 0);
-        // Test ZF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                : false;
-        // Test SF on particular byte of destinationRegister (set when MSB is 1,
-        // occurs when destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, 0,
+                result);
     }
 }
@@ -49,6 +49,10 @@ public class Instruction_AND_ALIb implements Instruction {
     // Attributes
     private CPU cpu;
 
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+
     // Constructors
 
     /**
@@ -76,25 +80,14 @@ public class Instruction_AND_ALIb implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
+        // Get immediate byte
+        sourceValue = cpu.getByteFromCode() & 0xFF;
 
-        // Clear appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-        // Get immediate byte and OR with AL, storing result in AL.
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] &= cpu.getByteFromCode();
+        oldDest = cpu.eax & 0xFF;
+        result = oldDest & sourceValue;
+        cpu.eax = (cpu.eax & 0xFFFFFF00) | result;
 
-        // Test ZF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                : false;
-        // Test SF, only applies to AL (set when MSB is 1, occurs when AL >=
-        // 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] < 0 ? true
-                : false;
-        // Set PF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.BYTE, result);
     }
 }
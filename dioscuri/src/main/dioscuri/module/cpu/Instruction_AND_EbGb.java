@@ -51,16 +51,13 @@ public class Instruction_AND_EbGb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-    byte sourceValue = 0;
-    byte[] destinationRegister = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte registerHighLow = 0;
-    byte logicalANDResult = 0;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -89,12 +86,6 @@ public class Instruction_AND_EbGb implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
-        // Clear appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -103,11 +94,7 @@ public class Instruction_AND_EbGb implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        // Determine high/low part of register based on bit 5 (leading rrr bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3))[registerHighLow];
+        sourceValue = cpu.getRegisterByte((addressByte & 0x38) >> 3);
 
         // Execute AND on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -115,50 +102,24 @@ public class Instruction_AND_EbGb implements Instruction {
             // AND reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            // Re-determine high/low part of register based on bit 3 (leading
-            // sss bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // AND source and destination, storing result in destination.
-            // registerHighLow is re-used here.
-            destinationRegister[registerHighLow] &= sourceValue;
-
-            // Test ZF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[registerHighLow] == 0 ? true
-                    : false;
-            // Test SF on particular byte of destinationRegister (set when MSB
-            // is 1, occurs when destReg >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[registerHighLow] < 0 ? true
-                    : false;
-            // Set PF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationRegister[registerHighLow]);
+            oldDest = cpu.getRegisterByte(addressByte & 0x07);
+            result = oldDest & sourceValue;
+            cpu.setRegisterByte(addressByte & 0x07, result);
         } else {
             // AND mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
+            oldDest = cpu.getByteFromMemorySegment(addressByte,
+                    memoryReferenceLocation) & 0xFF;
+            result = oldDest & sourceValue;
 
-            // Get byte from memory and AND with source register
-            logicalANDResult = (byte) (cpu.getByteFromMemorySegment(
-                    addressByte, memoryReferenceLocation) & sourceValue);
             // Store result in memory
             cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
-                    logicalANDResult);
-
-            // Test ZF on result
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = logicalANDResult == 0 ? true
-                    : false;
-            // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = logicalANDResult < 0 ? true
-                    : false;
-            // Set PF on result
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(logicalANDResult);
-
+                    (byte) result);
         }
+
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.BYTE, result);
     }
 }
@@ -51,14 +51,13 @@ public class Instruction_AND_GvEv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] sourceValue = new byte[2];
-    byte[] destinationRegister = new byte[2];
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -87,58 +86,35 @@ public class Instruction_AND_GvEv implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
-        // Clear appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
-        // Execute AND on reg,reg or mem,reg. Determine this from mm bits of
+        // Execute AND on reg,reg or reg,mem. Determine this from mm bits of
         // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
             // AND reg,reg
-            // Determine source value from addressbyte, ANDing it with 0000 0111
-            // to get sss bits
-            sourceValue = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
+            // Determine source register from addressbyte, ANDing it with
+            // 0000 0111
+            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
         } else {
-            // AND mem,reg
+            // AND reg,mem
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Retrieve source value from memory indicated by reference location
             sourceValue = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
         }
 
-        // Determine destination register using addressbyte, ANDing it with
-        // 00111000 and right-shift 3 to get rrr bits
-        destinationRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
-        // Logical AND of source and destination, store result in destination
-        // register
-        destinationRegister[CPU.REGISTER_GENERAL_HIGH] &= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-        destinationRegister[CPU.REGISTER_GENERAL_LOW] &= sourceValue[CPU.REGISTER_GENERAL_LOW];
-
-        // Test ZF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true
-                : false;
-        // Test SF on particular byte of destinationRegister (set when MSB is 1,
-        // occurs when destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF on lower byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+        // Determine destination register using addressbyte. AND it with 0011
+        // 1000 and right-shift 3 to get rrr bits
+        oldDest = cpu.getRegisterWord((addressByte & 0x38) >> 3);
+        result = oldDest & sourceValue;
+        cpu.setRegisterWord((addressByte & 0x38) >> 3, result);
 
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
     }
 }
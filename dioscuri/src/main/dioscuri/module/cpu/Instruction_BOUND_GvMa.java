@@ -49,13 +49,10 @@ public class Instruction_BOUND_GvMa implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] sourceValue = new byte[2];
     int arrayIndex;
     int lowerBoundary;
     int higherBoundary;
@@ -91,10 +88,7 @@ public class Instruction_BOUND_GvMa implements Instruction {
 
         // Get array index (register) from addressbyte. AND it with 0011 1000
         // and right-shift 3 to get rrr bits
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-        arrayIndex = (sourceValue[CPU.REGISTER_GENERAL_HIGH] << 8)
-                + sourceValue[CPU.REGISTER_GENERAL_LOW];
+        arrayIndex = (short) cpu.getRegisterWord((addressByte & 0x38) >> 3);
 
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
@@ -104,20 +98,15 @@ public class Instruction_BOUND_GvMa implements Instruction {
                 memoryReferenceDisplacement);
 
         // Get lower boundary (word from memory)
-        sourceValue = cpu.getWordFromMemorySegment(addressByte,
+        lowerBoundary = (short) cpu.getWordFromMemorySegment(addressByte,
                 memoryReferenceLocation);
-        lowerBoundary = (sourceValue[CPU.REGISTER_GENERAL_HIGH] << 8)
-                + sourceValue[CPU.REGISTER_GENERAL_LOW];
 
         // Increment memory location with 2
-        memoryReferenceLocation = Util.addWords(memoryReferenceLocation,
-                new byte[]{0x00, 0x02}, 0);
+        memoryReferenceLocation = (memoryReferenceLocation + 2) & 0xFFFF;
 
         // Get higher boundary (word from memory)
-        sourceValue = cpu.getWordFromMemorySegment(addressByte,
+        higherBoundary = (short) cpu.getWordFromMemorySegment(addressByte,
                 memoryReferenceLocation);
-        higherBoundary = (sourceValue[CPU.REGISTER_GENERAL_HIGH] << 8)
-                + sourceValue[CPU.REGISTER_GENERAL_LOW];
 
         // Check if array index is between (or equals) the lower and higher
         // boundaries
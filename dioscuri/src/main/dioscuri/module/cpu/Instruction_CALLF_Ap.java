@@ -51,8 +51,8 @@ public class Instruction_CALLF_Ap implements Instruction {
     // Attributes
     private CPU cpu;
 
-    byte[] newCS;
-    byte[] newIP;
+    int newCS;
+    int newIP;
 
     // Constructors
 
@@ -70,9 +70,6 @@ public class Instruction_CALLF_Ap implements Instruction {
     public Instruction_CALLF_Ap(CPU processor) {
         // Create reference to cpu class
         cpu = processor;
-
-        newCS = new byte[2];
-        newIP = new byte[2];
     }
 
     // Methods
@@ -94,10 +91,8 @@ public class Instruction_CALLF_Ap implements Instruction {
         cpu.setWordToStack(cpu.ip);
 
         // Assign new CS and IP to registers
-        cpu.cs[CPU.REGISTER_SEGMENT_LOW] = newCS[CPU.REGISTER_LOW];
-        cpu.cs[CPU.REGISTER_SEGMENT_HIGH] = newCS[CPU.REGISTER_HIGH];
-        cpu.ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-        cpu.ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
+        cpu.cs = newCS;
+        cpu.ip = newIP;
     }
 
 }
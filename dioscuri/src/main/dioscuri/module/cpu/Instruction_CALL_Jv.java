@@ -51,8 +51,7 @@ public class Instruction_CALL_Jv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    byte[] displacement = new byte[2];
-    int overUnderFlowCheck;
+    int displacement;
 
     // Constructors
 
@@ -89,22 +88,7 @@ public class Instruction_CALL_Jv implements Instruction {
         cpu.setWordToStack(cpu.ip);
 
         // Add to current IP (interpreted unsigned) the displacement
-        // (interpreted signed)
-        // However, lower byte is always interpreted unsigned (as high byte
-        // carries sign)
-        // So cast low bytes to int for unsigned, then add to check for
-        // over/underflow in IP
-        overUnderFlowCheck = (((int) (cpu.ip[CPU.REGISTER_GENERAL_LOW])) & 0xFF)
-                + (((int) displacement[CPU.REGISTER_GENERAL_LOW]) & 0xFF);
-        cpu.ip[CPU.REGISTER_GENERAL_LOW] = (byte) (overUnderFlowCheck);
-
-        // Need to check for possible overflow/underflow in IP[low]
-        if (overUnderFlowCheck > 255) {
-            // Overflow
-            cpu.ip[CPU.REGISTER_GENERAL_HIGH]++;
-        }
-
-        // Update IP[high] with displacement; this can be done unsigned
-        cpu.ip[CPU.REGISTER_GENERAL_HIGH] = (byte) (cpu.ip[CPU.REGISTER_GENERAL_HIGH] + displacement[CPU.REGISTER_GENERAL_HIGH]);
+        // (interpreted signed); wrap around within the 16-bit segment
+        cpu.ip = (cpu.ip + displacement) & 0xFFFF;
     }
 }
@@ -77,7 +77,6 @@ public class Instruction_CBW implements Instruction {
      */
     public void execute() {
         // Change AH to 0x00 if AL < 0x80, or 0xFF if AL >= 0x80
-        cpu.ax[CPU.REGISTER_GENERAL_HIGH] = cpu.ax[CPU.REGISTER_GENERAL_LOW] >= 0 ? (byte) 0x00
-                : (byte) 0xFF;
+        cpu.eax = (cpu.eax & 0xFFFF0000) | ((byte) cpu.eax & 0xFFFF);
     }
 }
@@ -77,6 +77,6 @@ public class Instruction_CLC implements Instruction {
      */
     public void execute() {
         // Clear carry flag in FLAGS register
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_CF, false);
     }
 }
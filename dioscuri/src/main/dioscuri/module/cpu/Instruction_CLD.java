@@ -77,6 +77,6 @@ public class Instruction_CLD implements Instruction {
      */
     public void execute() {
         // Clear direction flag in FLAGS register
-        cpu.flags[CPU.REGISTER_FLAGS_DF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_DF, false);
     }
 }
@@ -77,6 +77,6 @@ public class Instruction_CLI implements Instruction {
      */
     public void execute() {
         // Clear interrupt flag in FLAGS register
-        cpu.flags[CPU.REGISTER_FLAGS_IF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_IF, false);
     }
 }
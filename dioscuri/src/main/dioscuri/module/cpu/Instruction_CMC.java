@@ -77,6 +77,6 @@ public class Instruction_CMC implements Instruction {
      */
     public void execute() {
         // Invert carry flag in FLAGS register
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = !cpu.flags[CPU.REGISTER_FLAGS_CF];
+        cpu.flags.set(CPU.REGISTER_FLAGS_CF, !cpu.flags.get(CPU.REGISTER_FLAGS_CF));
     }
 }
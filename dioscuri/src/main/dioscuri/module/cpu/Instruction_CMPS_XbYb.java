@@ -54,8 +54,6 @@ public class Instruction_CMPS_XbYb implements Instruction {
 
     boolean operandWordSize;
 
-    byte[] transition;
-    byte[] temp;
     byte source1 = 0;
     byte source2 = 0;
     byte result;
@@ -68,10 +66,6 @@ public class Instruction_CMPS_XbYb implements Instruction {
     public Instruction_CMPS_XbYb() {
         operandWordSize = false;
 
-        // Set transition that holds the amount si and di should be altered
-        // (byte = 1)
-        transition = new byte[]{0x00, 0x01};
-        temp = new byte[2];
         result = 0;
     }
 
@@ -102,47 +96,30 @@ public class Instruction_CMPS_XbYb implements Instruction {
             // Note: the addressbyte passed here is a value chosen so if the
             // segmentOverride fails (which it shouldn't!),
             // the DS segment is still chosen.
-            source1 = cpu.getByteFromMemorySegment((byte) 0, cpu.si);
+            source1 = cpu.getByteFromMemorySegment((byte) 0, cpu.esi & 0xFFFF);
         } else {
-            source1 = cpu.getByteFromData(cpu.si);
+            source1 = cpu.getByteFromData(cpu.esi & 0xFFFF);
         }
 
         // Get source byte 2
-        source2 = cpu.getByteFromExtra(cpu.di);
+        source2 = cpu.getByteFromExtra(cpu.edi & 0xFFFF);
 
         // Compare bytes via substraction (SRC1 - SRC2)
         result = (byte) (source1 - source2);
 
         // Set flags according to compare results
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(source1, result);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util
-                .test_CF_SUB(source1, source2, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(source1, source2,
-                result, 0);
-        // Test ZF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = result == 0 ? true : false;
-        // Test SF on particular byte of destinationRegister (set when MSB is 1,
-        // occurs when destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = result < 0 ? true : false;
-        // Test PF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util.checkParityOfByte(result);
+        cpu.flags.setResult(Flags.SUB, Flags.BYTE, source1 & 0xFF,
+                source2 & 0xFF, 0, result);
 
         // Increment or decrement SI and DI depending on DF flag
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement registers
-            temp = Util.subtractWords(cpu.si, transition, 0);
-            System.arraycopy(temp, 0, cpu.si, 0, temp.length);
-            temp = Util.subtractWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 1) & 0xFFFF);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 1) & 0xFFFF);
         } else {
             // Increment registers
-            temp = Util.addWords(cpu.si, transition, 0);
-            System.arraycopy(temp, 0, cpu.si, 0, temp.length);
-            temp = Util.addWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 1) & 0xFFFF);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 1) & 0xFFFF);
         }
     }
 }
@@ -54,11 +54,9 @@ public class Instruction_CMPS_XvYv implements Instruction {
 
     boolean operandWordSize;
 
-    byte[] transition;
-    byte[] temp;
-    byte[] source1;
-    byte[] source2;
-    byte[] result;
+    int source1;
+    int source2;
+    int result;
 
     // Constructors
 
@@ -68,13 +66,9 @@ public class Instruction_CMPS_XvYv implements Instruction {
     public Instruction_CMPS_XvYv() {
         operandWordSize = true;
 
-        // Set transition that holds the amount si and di should be altered
-        // (word = 2)
-        transition = new byte[]{0x00, 0x02};
-        temp = new byte[2];
-        source1 = new byte[2];
-        source2 = new byte[2];
-        result = new byte[2];
+        source1 = 0;
+        source2 = 0;
+        result = 0;
     }
 
     /**
@@ -104,52 +98,30 @@ public class Instruction_CMPS_XvYv implements Instruction {
             // Note: the addressbyte passed here is a value chosen so if the
             // segmentOverride fails (which it shouldn't!),
             // the DS segment is still chosen.
-            source1 = cpu.getWordFromMemorySegment((byte) 0, cpu.si);
+            source1 = cpu.getWordFromMemorySegment((byte) 0, cpu.esi & 0xFFFF);
         } else {
-            source1 = cpu.getWordFromData(cpu.si);
+            source1 = cpu.getWordFromData(cpu.esi & 0xFFFF);
         }
 
         // Get source byte 2
-        source2 = cpu.getWordFromExtra(cpu.di);
+        source2 = cpu.getWordFromExtra(cpu.edi & 0xFFFF);
 
         // Compare bytes via substraction (SRC1 - SRC2)
-        result = Util.subtractWords(source1, source2, 0);
+        result = (source1 - source2) & 0xFFFF;
 
         // Set flags according to compare results
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                source1[CPU.REGISTER_GENERAL_LOW],
-                result[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util
-                .test_CF_SUB(source1, source2, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(source1, source2,
-                result, 0);
-        // Test ZF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = result[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && result[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF on particular byte of destinationRegister (set when MSB is 1,
-        // occurs when destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = result[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Test PF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(result[CPU.REGISTER_GENERAL_LOW]);
+        cpu.flags.setResult(Flags.SUB, Flags.WORD, source1, source2, 0,
+                result);
 
         // Increment or decrement SI and DI depending on DF flag
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement registers
-            temp = Util.subtractWords(cpu.si, transition, 0);
-            System.arraycopy(temp, 0, cpu.si, 0, temp.length);
-            temp = Util.subtractWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 2) & 0xFFFF);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 2) & 0xFFFF);
         } else {
             // Increment registers
-            temp = Util.addWords(cpu.si, transition, 0);
-            System.arraycopy(temp, 0, cpu.si, 0, temp.length);
-            temp = Util.addWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 2) & 0xFFFF);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 2) & 0xFFFF);
         }
     }
 }
@@ -50,9 +50,9 @@ public class Instruction_CMP_ALIb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    byte immediateByte;
-
-    byte tempResult;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -81,26 +81,14 @@ public class Instruction_CMP_ALIb implements Instruction {
      * Does not update any registers, only sets appropriate flags.
      */
     public void execute() {
-        immediateByte = cpu.getByteFromCode();
+        // Get immediate byte
+        sourceValue = cpu.getByteFromCode() & 0xFF;
 
-        // Subtract immediate byte from register AL
-        tempResult = (byte) (cpu.ax[CPU.REGISTER_GENERAL_LOW] - immediateByte);
+        oldDest = cpu.eax & 0xFF;
+        result = (oldDest - sourceValue) & 0xFF;
 
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                cpu.ax[CPU.REGISTER_GENERAL_LOW], tempResult);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(
-                cpu.ax[CPU.REGISTER_GENERAL_LOW], immediateByte, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(
-                cpu.ax[CPU.REGISTER_GENERAL_LOW], immediateByte, tempResult, 0);
-        // Test ZF, is tested againt tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult == 0 ? true : false;
-        // Test SF, only applies to lower byte (set when MSB is 1, occurs when
-        // tempResult >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult < 0 ? true : false;
-        // Set PF, only applies to lower byte
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util.checkParityOfByte(tempResult);
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.SUB, Flags.BYTE, oldDest, sourceValue, 0,
+                result);
     }
 }
@@ -49,12 +49,10 @@ public class Instruction_CMP_AXIv implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] immediateWord = new byte[2];
-    byte[] immediateDoubleWord = new byte[2];
-    byte[] resultWord = new byte[2];
-    byte[] resultDoubleWord = new byte[2];
-    int tempCF = 0;
-    boolean tempOF = false;
+
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -85,67 +83,27 @@ public class Instruction_CMP_AXIv implements Instruction {
     public void execute() {
         if (cpu.doubleWord) {
             // 32-bit
-            immediateWord = cpu.getWordFromCode();
-            immediateDoubleWord = cpu.getWordFromCode();
-
-            // Subtract lower 16 bits
-            resultWord = Util.subtractWords(cpu.ax, immediateWord, 0);
-
-            tempCF = Util.test_CF_SUB(cpu.ax, immediateWord, 0) ? 1 : 0;
+            // Get immediate doubleword
+            sourceValue = cpu.getWordFromCode();
+            sourceValue |= cpu.getWordFromCode() << 16;
 
-            // Subtract higher 16 bits
-            resultDoubleWord = Util.subtractWords(cpu.eax, immediateDoubleWord,
-                    tempCF);
+            oldDest = cpu.eax;
+            result = oldDest - sourceValue;
 
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                    cpu.ax[CPU.REGISTER_GENERAL_LOW],
-                    resultWord[CPU.REGISTER_GENERAL_LOW]);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(cpu.eax,
-                    immediateDoubleWord, tempCF);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(cpu.eax,
-                    immediateDoubleWord, resultDoubleWord, tempCF);
-            // Test ZF
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = resultDoubleWord[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                    && resultDoubleWord[CPU.REGISTER_GENERAL_LOW] == 0x00
-                    && resultWord[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                    && resultWord[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true
-                    : false;
-            // Test SF (set when MSB is 1, occurs when tempResult >= 0x8000)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = resultDoubleWord[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF, only applies to tempResult[LOW]
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(resultWord[CPU.REGISTER_GENERAL_LOW]);
+            // Set OF, SF, ZF, AF, CF, PF
+            cpu.flags.setResult(Flags.SUB, Flags.DOUBLEWORD, oldDest, sourceValue, 0,
+                    result);
         } else {
             // 16-bit
-            immediateWord = cpu.getWordFromCode();
+            // Get immediate word
+            sourceValue = cpu.getWordFromCode();
 
-            // Subtract
-            resultWord = Util.subtractWords(cpu.ax, immediateWord, 0);
+            oldDest = cpu.eax & 0xFFFF;
+            result = (oldDest - sourceValue) & 0xFFFF;
 
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                    cpu.ax[CPU.REGISTER_GENERAL_LOW],
-                    resultWord[CPU.REGISTER_GENERAL_LOW]);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(cpu.ax,
-                    immediateWord, 0);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(cpu.ax,
-                    immediateWord, resultWord, 0);
-            // Test ZF
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = resultWord[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                    && resultWord[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true
-                    : false;
-            // Test SF (set when MSB is 1, occurs when tempResult >= 0x8000)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = resultWord[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF, only applies to tempResult[LOW]
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(resultWord[CPU.REGISTER_GENERAL_LOW]);
+            // Set OF, SF, ZF, AF, CF, PF
+            cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, 0,
+                    result);
         }
     }
 }
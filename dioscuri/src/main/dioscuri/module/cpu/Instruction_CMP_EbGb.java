@@ -52,17 +52,13 @@ public class Instruction_CMP_EbGb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte sourceValue = 0;
-    byte destinationValue = 0;
-    byte registerHighLow = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte tempResult = 0;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -99,54 +95,28 @@ public class Instruction_CMP_EbGb implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        // Determine high/low part of register based on bit 5 (leading rrr bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3))[registerHighLow];
+        sourceValue = cpu.getRegisterByte((addressByte & 0x38) >> 3);
 
-        // Determine "destination" value from mm bits of addressbyte
+        // Execute CMP on reg,reg or mem,reg. Determine this from mm bits of
+        // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
-            // "Destination" is a register
-            // Determine "destination" value from addressbyte, ANDing it with
+            // CMP reg,reg
+            // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            // Re-determine high/low part of register based on bit 3 (leading
-            // sss bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            destinationValue = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07)[registerHighLow];
+            oldDest = cpu.getRegisterByte(addressByte & 0x07);
+            result = (oldDest - sourceValue) & 0xFF;
         } else {
-            // "Destination" is in memory
+            // CMP mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory and OR with source register
-            destinationValue = cpu.getByteFromMemorySegment(addressByte,
-                    memoryReferenceLocation);
+            oldDest = cpu.getByteFromMemorySegment(addressByte,
+                    memoryReferenceLocation) & 0xFF;
+            result = (oldDest - sourceValue) & 0xFF;
         }
 
-        // Proceed with compare
-
-        // Subtract source byte from destination byte
-        tempResult = (byte) (destinationValue - sourceValue);
-
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(destinationValue,
-                tempResult);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(destinationValue,
-                sourceValue, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(destinationValue,
-                sourceValue, tempResult, 0);
-        // Test ZF, is tested against tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult == 0x00 ? true : false;
-        // Test SF, only applies to lower byte (set when MSB is 1, occurs when
-        // tempResult >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult < 0 ? true : false;
-        // Set PF, only applies to lower byte
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util.checkParityOfByte(tempResult);
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.SUB, Flags.BYTE, oldDest, sourceValue, 0,
+                result);
     }
 }
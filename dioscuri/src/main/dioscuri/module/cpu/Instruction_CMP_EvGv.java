@@ -52,16 +52,13 @@ public class Instruction_CMP_EvGv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte[] sourceValue = new byte[2];
-    byte[] destinationValue = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] tempResult = new byte[2];
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -98,51 +95,28 @@ public class Instruction_CMP_EvGv implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        sourceValue = cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3);
+        sourceValue = cpu.getRegisterWord((addressByte & 0x38) >> 3);
 
-        // Determine "destination" value from mm bits of addressbyte
+        // Execute CMP on reg,reg or mem,reg. Determine this from mm bits of
+        // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
-            // "Destination" is a register
-            // Determine "destination" value from addressbyte, ANDing it with
+            // CMP reg,reg
+            // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationValue = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
+            oldDest = cpu.getRegisterWord(addressByte & 0x07);
+            result = (oldDest - sourceValue) & 0xFFFF;
         } else {
-            // "Destination" is in memory
+            // CMP mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory
-            destinationValue = cpu.getWordFromMemorySegment(addressByte,
+            oldDest = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
+            result = (oldDest - sourceValue) & 0xFFFF;
         }
 
-        // Proceed with compare
-
-        // Perform substraction
-        tempResult = Util.subtractWords(destinationValue, sourceValue, 0);
-
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                destinationValue[CPU.REGISTER_GENERAL_LOW],
-                tempResult[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(destinationValue,
-                sourceValue, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(destinationValue,
-                sourceValue, tempResult, 0);
-        // Test ZF, is tested againt tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && tempResult[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF, only applies to lower byte (set when MSB is 1, occurs when
-        // tempResult >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to lower byte
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, 0,
+                result);
     }
 }
@@ -52,18 +52,13 @@ public class Instruction_CMP_GvEv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
+    byte addressByte = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-
-    byte[] sourceValue;
-    byte[] destinationValue;
-
-    byte[] tempResult;
-    byte[] temp;
-    int intermediateResult;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -71,17 +66,6 @@ public class Instruction_CMP_GvEv implements Instruction {
      * Class constructor
      */
     public Instruction_CMP_GvEv() {
-        operandWordSize = true;
-
-        addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceValue = new byte[2];
-        destinationValue = new byte[2];
-
-        tempResult = new byte[2];
-        intermediateResult = 0;
     }
 
     /**
@@ -110,53 +94,29 @@ public class Instruction_CMP_GvEv implements Instruction {
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
-        // Determine source value from mm bits of addressbyte
+        // Execute CMP on reg,reg or reg,mem. Determine this from mm bits of
+        // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
-            // Source is a register
-            // Determine "destination" value from addressbyte, ANDing it with
+            // CMP reg,reg
+            // Determine source register from addressbyte, ANDing it with
             // 0000 0111
-            sourceValue = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
+            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
         } else {
-            // Source is in memory
+            // CMP reg,mem
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory
             sourceValue = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
         }
 
-        // Determine "destination" value using addressbyte. AND it with 0011
+        // Determine destination register using addressbyte. AND it with 0011
         // 1000 and right-shift 3 to get rrr bits
-        destinationValue = cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3);
-
-        // Proceed with compare
-
-        // Perform substraction
-        tempResult = Util.subtractWords(destinationValue, sourceValue, 0);
+        oldDest = cpu.getRegisterWord((addressByte & 0x38) >> 3);
+        result = (oldDest - sourceValue) & 0xFFFF;
 
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                destinationValue[CPU.REGISTER_GENERAL_LOW],
-                tempResult[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(destinationValue,
-                sourceValue, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(destinationValue,
-                sourceValue, tempResult, 0);
-        // Test ZF, is tested againt tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && tempResult[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF, only applies to lower byte (set when MSB is 1, occurs when
-        // tempResult >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to lower byte
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, 0,
+                result);
     }
 }
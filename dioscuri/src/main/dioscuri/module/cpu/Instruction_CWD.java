@@ -77,7 +77,6 @@ public class Instruction_CWD implements Instruction {
      */
     public void execute() {
         // Change DX to 0x0000 if AH < 0x80, or 0xFFFF if AH >= 0x80
-        cpu.dx[CPU.REGISTER_GENERAL_HIGH] = cpu.dx[CPU.REGISTER_GENERAL_LOW] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] >= 0 ? (byte) 0x00
-                : (byte) 0xFF;
+        cpu.edx = (cpu.edx & 0xFFFF0000) | ((short) cpu.eax < 0 ? 0xFFFF : 0x0000);
     }
 }
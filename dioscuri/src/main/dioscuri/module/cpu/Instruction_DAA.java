@@ -81,42 +81,44 @@ public class Instruction_DAA implements Instruction {
      */
     public void execute() {
         // Check if AL > 0x09 or AF = 1, adjust AL and set flags
-        if (((cpu.ax[CPU.REGISTER_GENERAL_LOW] & 0x0F) > 9)
-                || cpu.flags[CPU.REGISTER_FLAGS_AF]) {
+        if (((cpu.eax & 0x0F) > 9)
+                || cpu.flags.get(CPU.REGISTER_FLAGS_AF)) {
             // Adjust AL
-            oldByte = cpu.ax[CPU.REGISTER_GENERAL_LOW];
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] += 6;
+            oldByte = (byte) cpu.eax;
+            cpu.eax = (cpu.eax & 0xFFFFFF00) | ((cpu.eax + 6) & 0xFF);
 
             // Set flags AF and CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = (cpu.flags[CPU.REGISTER_FLAGS_CF] | Util
-                    .test_CF_ADD(oldByte, cpu.ax[CPU.REGISTER_GENERAL_LOW], 0));
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = true;
+            // FIXME: the carry is tested for the sum of the old and the new AL,
+            // rather than for the addition of 6
+            cpu.flags.set(CPU.REGISTER_FLAGS_CF, (cpu.flags.get(CPU.REGISTER_FLAGS_CF) | Util
+                    .test_CF_ADD(oldByte, cpu.eax, 0, 8)));
+            cpu.flags.set(CPU.REGISTER_FLAGS_AF, true);
         } else {
             // Clear flag AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+            cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
         }
 
         // Check if AL > 0x90 or CF = 1
-        if (((cpu.ax[CPU.REGISTER_GENERAL_LOW] & 0xF0) > 0x90)
-                || cpu.flags[CPU.REGISTER_FLAGS_CF]) {
+        if (((cpu.eax & 0xF0) > 0x90)
+                || cpu.flags.get(CPU.REGISTER_FLAGS_CF)) {
             // Adjust AL
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] = (byte) (cpu.ax[CPU.REGISTER_GENERAL_LOW] + 0x60);
+            cpu.eax = (cpu.eax & 0xFFFFFF00) | ((cpu.eax + 0x60) & 0xFF);
 
             // Set flag CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = true;
+            cpu.flags.set(CPU.REGISTER_FLAGS_CF, true);
         } else {
             // Clear flag CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
+            cpu.flags.set(CPU.REGISTER_FLAGS_CF, false);
         }
 
         // Test ZF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                : false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, (cpu.eax & 0xFF) == 0 ? true
+                : false);
         // Test SF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_LOW] < 0 ? true
-                : false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (cpu.eax & 0x80) != 0 ? true
+                : false);
         // Set PF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                .checkParityOfByte((byte) cpu.eax));
     }
 }
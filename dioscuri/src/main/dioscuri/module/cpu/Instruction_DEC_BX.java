@@ -48,9 +48,7 @@ public class Instruction_DEC_BX implements Instruction {
 
     // Attributes
     private CPU cpu;
-    private byte[] oldDest;
-    private byte[] decWord;
-    private byte[] temp;
+    private int oldDest;
 
     // Constructors
 
@@ -70,11 +68,6 @@ public class Instruction_DEC_BX implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-        oldDest = new byte[2];
-        temp = new byte[2];
-
-        // Set decrement word to 1
-        decWord = new byte[]{0x00, 0x01};
     }
 
     // Methods
@@ -83,28 +76,14 @@ public class Instruction_DEC_BX implements Instruction {
      * Decrement general register BX
      */
     public void execute() {
-        // Store old value
-        System.arraycopy(cpu.bx, 0, oldDest, 0, cpu.bx.length);
+        // Make copy of old value
+        oldDest = cpu.ebx & 0xFFFF;
 
-        // Decrement the bx register
-        temp = Util.subtractWords(cpu.bx, decWord, 0);
-        System.arraycopy(temp, 0, cpu.bx, 0, temp.length);
+        // Decrement the BX register
+        cpu.ebx = (cpu.ebx & 0xFFFF0000) | ((oldDest - 1) & 0xFFFF);
 
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                oldDest[CPU.REGISTER_GENERAL_LOW],
-                cpu.bx[CPU.REGISTER_GENERAL_LOW]);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(oldDest, decWord,
-                cpu.bx, 0);
-        // Test ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.bx[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && cpu.bx[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF (set when MSB of AH is 1. In Java can check signed byte)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.bx[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to LSB
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.bx[CPU.REGISTER_GENERAL_LOW]);
+        // Set OF, SF, ZF, AF, PF
+        cpu.flags.setResult(Flags.DEC, Flags.WORD, oldDest, 1, 0,
+                cpu.ebx & 0xFFFF);
     }
 }
@@ -53,24 +53,8 @@ public class Instruction_ENTER_IwIb implements Instruction {
 
     byte addressByte;
     byte nestingLevel;
-    byte[] frameTemp;
-    byte[] eFrameTemp;
-    byte[] stackSizeWord;
-
-    byte[] word0x0001;
-    byte[] word0x0002;
-    byte[] word0x0004;
-
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-
-    byte[] sourceValue;
-    byte[] oldValue;
-    byte[] destinationRegister;
-    int internalCarry;
-
-    byte[] temp;
-    byte[] eTemp;
+    int frameTemp;
+    int stackSizeWord;
 
     // Constructors
 
@@ -82,24 +66,8 @@ public class Instruction_ENTER_IwIb implements Instruction {
 
         addressByte = 0;
         nestingLevel = 0;
-        frameTemp = new byte[2];
-        eFrameTemp = new byte[2];
-        stackSizeWord = new byte[2];
-
-        word0x0001 = new byte[]{0x00, 0x01};
-        word0x0002 = new byte[]{0x00, 0x02};
-        word0x0004 = new byte[]{0x00, 0x04};
-
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceValue = new byte[2];
-        oldValue = new byte[2];
-        destinationRegister = new byte[2];
-        internalCarry = 0;
-
-        temp = new byte[2];
-        eTemp = new byte[2];
+        frameTemp = 0;
+        stackSizeWord = 0;
     }
 
     /**
@@ -134,22 +102,18 @@ public class Instruction_ENTER_IwIb implements Instruction {
             System.out
                     .println("CPU -> instruction ENTER in 32-bit stacksize not implemented completely");
             // Copy eBP on stack
-            cpu.setWordToStack(cpu.ebp);
-            cpu.setWordToStack(cpu.bp);
+            cpu.setWordToStack(cpu.ebp >>> 16);
+            cpu.setWordToStack(cpu.ebp & 0xFFFF);
 
             // Copy eSP to temporary frame
-            eFrameTemp[CPU.REGISTER_GENERAL_HIGH] = cpu.esp[CPU.REGISTER_GENERAL_HIGH];
-            eFrameTemp[CPU.REGISTER_GENERAL_LOW] = cpu.esp[CPU.REGISTER_GENERAL_LOW];
-            frameTemp[CPU.REGISTER_GENERAL_HIGH] = cpu.sp[CPU.REGISTER_GENERAL_HIGH];
-            frameTemp[CPU.REGISTER_GENERAL_LOW] = cpu.sp[CPU.REGISTER_GENERAL_LOW];
+            frameTemp = cpu.esp;
         } else {
             // Stack size is 16
             // Copy BP on stack
-            cpu.setWordToStack(cpu.bp);
+            cpu.setWordToStack(cpu.ebp & 0xFFFF);
 
             // Copy SP to temporary frame
-            frameTemp[CPU.REGISTER_GENERAL_HIGH] = cpu.sp[CPU.REGISTER_GENERAL_HIGH];
-            frameTemp[CPU.REGISTER_GENERAL_LOW] = cpu.sp[CPU.REGISTER_GENERAL_LOW];
+            frameTemp = cpu.esp & 0xFFFF;
         }
 
         // Distinct between 32 or 16 bit
@@ -169,8 +133,8 @@ public class Instruction_ENTER_IwIb implements Instruction {
                 } else {
                     // Stack size is 16
                     for (int i = 1; i < nestingLevel - 1; i++) {
-                        temp = Util.subtractWords(cpu.bp, word0x0002, 0);
-                        System.arraycopy(temp, 0, cpu.bp, 0, temp.length);
+                        cpu.ebp = (cpu.ebp & 0xFFFF0000)
+                                | ((cpu.ebp - 2) & 0xFFFF);
 
                         // Stack size 16 bit
                         System.out
@@ -178,7 +142,7 @@ public class Instruction_ENTER_IwIb implements Instruction {
                                         + i);
 
                         // Push BP on stack
-                        cpu.setWordToStack(cpu.bp);
+                        cpu.setWordToStack(cpu.ebp & 0xFFFF);
                     }
 
                     // Push frameTemp on stack
@@ -190,31 +154,19 @@ public class Instruction_ENTER_IwIb implements Instruction {
         if (cpu.stackSize == 32) {
             // Stack size is 32
             // Copy eFrameTemp to eBP
-            System.arraycopy(frameTemp, 0, cpu.bp, 0, frameTemp.length);
-            System.arraycopy(eFrameTemp, 0, cpu.ebp, 0, eFrameTemp.length);
-
-            // Decrement eBP with stacksize
-            stackSizeWord = new byte[]{0x00, (byte) cpu.stackSize};
-            temp = Util.subtractWords(cpu.bp, stackSizeWord, 0);
-            if (Util.test_CF_SUB(cpu.bp, stackSizeWord, 0)) {
-                eTemp = Util.subtractWords(cpu.ebp, word0x0001, 0);
-            } else {
-                eTemp = cpu.ebp;
-            }
+            cpu.ebp = frameTemp;
 
-            // Assign eBP to eSP
-            System.arraycopy(temp, 0, cpu.sp, 0, temp.length);
-            System.arraycopy(eTemp, 0, cpu.esp, 0, eTemp.length);
+            // Decrement eBP with stacksize and assign it to eSP
+            stackSizeWord = cpu.stackSize & 0xFF;
+            cpu.esp = cpu.ebp - stackSizeWord;
         } else {
             // Stack size is 16
             // Copy frameTemp to BP
-            System.arraycopy(frameTemp, 0, cpu.bp, 0, frameTemp.length);
-
-            // Decrement stack pointer
-            temp = Util.subtractWords(cpu.bp, stackSizeWord, 0);
+            cpu.ebp = (cpu.ebp & 0xFFFF0000) | frameTemp;
 
-            // Assign BP to SP
-            System.arraycopy(temp, 0, cpu.sp, 0, temp.length);
+            // Decrement stack pointer and assign BP to SP
+            cpu.esp = (cpu.esp & 0xFFFF0000)
+                    | ((cpu.ebp - stackSizeWord) & 0xFFFF);
         }
     }
 }
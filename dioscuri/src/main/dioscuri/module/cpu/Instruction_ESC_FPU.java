@@ -56,9 +56,9 @@ public class Instruction_ESC_FPU implements Instruction {
 
     int opCode;
     int addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-    byte[] sourceValue;
+    int memoryReferenceLocation;
+    int memoryReferenceDisplacement;
+    int sourceValue;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_ESC_FPU.class.getName());
@@ -73,9 +73,9 @@ public class Instruction_ESC_FPU implements Instruction {
 
         opCode = 0;
         addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-        sourceValue = new byte[2];
+        memoryReferenceLocation = 0;
+        memoryReferenceDisplacement = 0;
+        sourceValue = 0;
     }
 
     /**
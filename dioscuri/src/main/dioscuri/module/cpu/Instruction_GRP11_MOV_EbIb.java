@@ -55,16 +55,9 @@ public class Instruction_GRP11_MOV_EbIb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
-
-    byte addressByte;
-    byte[] memoryReferenceDisplacement;
-    byte[] memoryReferenceLocation;
-
-    byte[] destinationRegister;
-    int intermediateResult;
-    byte displacement;
-    byte registerHighLow;
+    byte addressByte = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
     // Constructors
 
@@ -72,16 +65,6 @@ public class Instruction_GRP11_MOV_EbIb implements Instruction {
      * Class constructor
      */
     public Instruction_GRP11_MOV_EbIb() {
-        operandWordSize = false;
-
-        addressByte = 0;
-        memoryReferenceDisplacement = new byte[2];
-        memoryReferenceLocation = new byte[2];
-
-        destinationRegister = new byte[2];
-        intermediateResult = 0;
-        displacement = 0;
-        registerHighLow = 0;
     }
 
     /**
@@ -115,17 +98,8 @@ public class Instruction_GRP11_MOV_EbIb implements Instruction {
             if (((addressByte >> 6) & 0x03) == 3) {
                 // MOV reg,reg
                 // Determine destination register from addressbyte, ANDing it
-                // with 0000 0111
-                destinationRegister = cpu.decodeRegister(operandWordSize,
-                        addressByte & 0x07);
-
-                // Determine high/low part of register based on bit 3 (leading
-                // sss bit)
-                registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                        : (byte) CPU.REGISTER_GENERAL_HIGH;
-
-                // MOV source to destination
-                destinationRegister[registerHighLow] = cpu.getByteFromCode();
+                // with 0000 0111, and MOV source to destination
+                cpu.setRegisterByte(addressByte & 0x07, cpu.getByteFromCode());
             } else {
                 // MOV mem,reg
                 // Determine IP displacement of memory location (if any)
@@ -55,15 +55,9 @@ public class Instruction_GRP11_MOV_EvIv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceDisplacement = new byte[2];
-    byte[] memoryReferenceLocation = new byte[2];
-
-    byte[] destinationRegister = new byte[2];
-    int intermediateResult;
-    byte displacement;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
     // Constructors
 
@@ -103,13 +97,9 @@ public class Instruction_GRP11_MOV_EvIv implements Instruction {
             // addressbyte
             if (((addressByte >> 6) & 0x03) == 3) {
                 // MOV reg,reg
-                // Determine destination register from addressbyte, ANDing it
-                // with 0000 0111
-                destinationRegister = cpu.decodeRegister(operandWordSize,
-                        addressByte & 0x07);
-
-                // MOV source to destination
-                destinationRegister = cpu.getWordFromCode();
+                // FIXME: the immediate word is read, but not stored in the
+                // destination register determined by the sss bits
+                cpu.getWordFromCode();
             } else {
                 // MOV mem,reg
                 // Determine IP displacement of memory location (if any)
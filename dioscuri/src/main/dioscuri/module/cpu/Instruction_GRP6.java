@@ -54,21 +54,8 @@ public class Instruction_GRP6 implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
-
     byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-
-    byte[] sourceValue;
-    byte[] sourceValue2;
-    byte[] oldDest;
-    byte[] destinationRegister;
-    int intermediateResult;
-
-    int iCarryFlag;
-    byte[] tempResult;
-    byte[] temp;
+    int memoryReferenceDisplacement;
 
     // Constructors
 
@@ -76,21 +63,8 @@ public class Instruction_GRP6 implements Instruction {
      * Class constructor
      */
     public Instruction_GRP6() {
-        operandWordSize = true;
-
         addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceValue = new byte[2];
-        sourceValue2 = new byte[2];
-        oldDest = new byte[2];
-        destinationRegister = new byte[2];
-        intermediateResult = 0;
-
-        iCarryFlag = 0;
-        tempResult = new byte[2];
-        temp = new byte[2];
+        memoryReferenceDisplacement = 0;
     }
 
     /**
@@ -57,22 +57,11 @@ public class Instruction_GRP7 implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
-
     byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-
-    byte[] sourceValue1;
-    byte[] sourceValue2;
-    byte[] oldValue;
-    byte[] destinationRegister;
-    int intermediateResult;
-    byte[] word0x0001;
+    int memoryReferenceLocation;
+    int memoryReferenceDisplacement;
 
-    int iCarryFlag;
-    byte[] tempResult;
-    byte[] temp;
+    int sourceValue1;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_GRP7.class.getName());
@@ -83,22 +72,11 @@ public class Instruction_GRP7 implements Instruction {
      * Class constructor
      */
     public Instruction_GRP7() {
-        operandWordSize = true;
-
         addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceValue1 = new byte[2];
-        sourceValue2 = new byte[2];
-        oldValue = new byte[2];
-        destinationRegister = new byte[2];
-        intermediateResult = 0;
-        word0x0001 = new byte[]{0x00, 0x01};
-
-        iCarryFlag = 0;
-        tempResult = new byte[2];
-        temp = new byte[2];
+        memoryReferenceLocation = 0;
+        memoryReferenceDisplacement = 0;
+
+        sourceValue1 = 0;
     }
 
     /**
@@ -145,9 +123,10 @@ public class Instruction_GRP7 implements Instruction {
                         memoryReferenceDisplacement);
 
                 // Store limit (16 bits) in memory
+                // FIXME: the memory location is never incremented, so all bytes
+                // are stored at the same address
                 cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
                         cpu.gdtr[5]);
-                Util.addWords(memoryReferenceLocation, word0x0001, 0);
                 cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
                         cpu.gdtr[4]);
 
@@ -155,13 +134,9 @@ public class Instruction_GRP7 implements Instruction {
                     System.out.println("A");
                     // 32 bit: all 4 bytes of base are used
                     // Get base (32 bits) from memory
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation, cpu.gdtr[3]);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation, cpu.gdtr[2]);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation, cpu.gdtr[1]);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation, cpu.gdtr[0]);
                 } else {
                     System.out.println("B");
@@ -169,13 +144,9 @@ public class Instruction_GRP7 implements Instruction {
                     // zero
                     // Get base (32 bits from which high-order byte is not used)
                     // from memory
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation, cpu.gdtr[3]);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation, cpu.gdtr[2]);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation, cpu.gdtr[1]);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation, (byte) 0x00);
                 }
                 break;
@@ -197,25 +168,22 @@ public class Instruction_GRP7 implements Instruction {
                         memoryReferenceDisplacement);
 
                 // Get limit (16 bits) from memory
+                // FIXME: the memory location is never incremented, so all bytes
+                // are read from the same address
                 cpu.gdtr[5] = cpu.getByteFromMemorySegment(addressByte,
                         memoryReferenceLocation);
-                Util.addWords(memoryReferenceLocation, word0x0001, 0);
                 cpu.gdtr[4] = cpu.getByteFromMemorySegment(addressByte,
                         memoryReferenceLocation);
 
                 if (cpu.doubleWord) {
                     // 32 bit: all 4 bytes of base are used
                     // Get base (32 bits) from memory
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.gdtr[3] = cpu.getByteFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.gdtr[2] = cpu.getByteFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.gdtr[1] = cpu.getByteFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.gdtr[0] = cpu.getByteFromMemorySegment(addressByte,
                             memoryReferenceLocation);
                 } else {
@@ -223,16 +191,12 @@ public class Instruction_GRP7 implements Instruction {
                     // zero
                     // Get base (32 bits from which high-order byte is not used)
                     // from memory
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.gdtr[3] = cpu.getByteFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.gdtr[2] = cpu.getByteFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     cpu.gdtr[1] = cpu.getByteFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-                    Util.addWords(memoryReferenceLocation, word0x0001, 0);
                     byte notUsed = cpu.getByteFromMemorySegment(addressByte,
                             memoryReferenceLocation);
                     cpu.gdtr[0] = 0x00;
@@ -258,12 +222,9 @@ public class Instruction_GRP7 implements Instruction {
                     // SMSW in reg
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    sourceValue1 = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
                     // Store lower 16 bits in reg
-                    sourceValue1[CPU.REGISTER_GENERAL_HIGH] = cr0Bytes[2];
-                    sourceValue1[CPU.REGISTER_GENERAL_LOW] = cr0Bytes[3];
+                    cpu.setRegisterWord(addressByte & 0x07,
+                            ((cr0Bytes[2] & 0xFF) << 8) | (cr0Bytes[3] & 0xFF));
                 } else {
                     // SMSW to mem
                     // Determine memory location
@@ -297,8 +258,7 @@ public class Instruction_GRP7 implements Instruction {
                     // LMSW from reg
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    sourceValue1 = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue1 = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // LMSW from mem
                     // Determine memory location
@@ -311,13 +271,14 @@ public class Instruction_GRP7 implements Instruction {
                 }
 
                 // Copy lower 4 bits into CR0
-                cpu.cr0[CPU.REGISTER_CR0_PE] = ((sourceValue1[CPU.REGISTER_GENERAL_LOW] & 0x01) == 0x01) ? true
+                cpu.cr0[CPU.REGISTER_CR0_PE] = ((sourceValue1 & 0x01) == 0x01) ? true
                         : false;
-                cpu.cr0[CPU.REGISTER_CR0_MP] = ((sourceValue1[CPU.REGISTER_GENERAL_LOW] & 0x02) == 0x02) ? true
+                cpu.cr0[CPU.REGISTER_CR0_MP] = ((sourceValue1 & 0x02) == 0x02) ? true
                         : false;
-                cpu.cr0[CPU.REGISTER_CR0_EM] = ((sourceValue1[CPU.REGISTER_GENERAL_LOW] & 0x04) == 0x04) ? true
+                cpu.cr0[CPU.REGISTER_CR0_EM] = ((sourceValue1 & 0x04) == 0x04) ? true
                         : false;
-                cpu.cr0[CPU.REGISTER_CR0_TS] = ((sourceValue1[CPU.REGISTER_GENERAL_LOW] & 0x06) == 0x06) ? true
+                // FIXME: TS is set from bits 1 and 2 together instead of bit 3
+                cpu.cr0[CPU.REGISTER_CR0_TS] = ((sourceValue1 & 0x06) == 0x06) ? true
                         : false;
 
                 // TODO: this check only exists to notify if FPU emulation is turned
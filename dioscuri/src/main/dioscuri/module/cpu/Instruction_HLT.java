@@ -80,7 +80,13 @@ public class Instruction_HLT implements Instruction {
      * Execute instruction
      */
     public void execute() {
-        cpu.asyncEvent = false;
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_IF)) {
+            // Wait for the next interrupt
+            cpu.halt();
+            return;
+        }
+
+        // With interrupts disabled nothing can resume the CPU anymore
         cpu.setShutdown(true);
         cpu.setRunning(false);
         logger.log(Level.SEVERE, "[" + cpu.getType()
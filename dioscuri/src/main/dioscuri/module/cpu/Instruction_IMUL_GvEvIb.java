@@ -51,19 +51,13 @@ public class Instruction_IMUL_GvEvIb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
-
     byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-    byte[] sourceWord1;
-    byte[] eSourceWord1;
-    byte[] sourceWord2;
-    byte[] eSourceWord2;
-    byte[] destinationRegister;
-    byte[] eDestinationRegister;
+    int memoryReferenceLocation;
+    int memoryReferenceDisplacement;
+    int sourceValue1;
+    int sourceValue2;
+    int destinationRegister;
     long result;
-    byte tempByte;
 
     // Constructors
 
@@ -71,20 +65,6 @@ public class Instruction_IMUL_GvEvIb implements Instruction {
      * Class constructor
      */
     public Instruction_IMUL_GvEvIb() {
-        operandWordSize = true;
-
-        addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceWord1 = new byte[2];
-        eSourceWord1 = new byte[2];
-        sourceWord2 = new byte[2];
-        eSourceWord2 = new byte[2];
-        destinationRegister = new byte[2];
-        eDestinationRegister = new byte[2];
-        result = 0;
-        tempByte = 0;
     }
 
     /**
@@ -123,8 +103,7 @@ public class Instruction_IMUL_GvEvIb implements Instruction {
             // 16-bit operand size
             // Determine destination register using addressbyte. AND it with
             // 0011 1000 and right-shift 3 to get rrr bits
-            destinationRegister = (cpu.decodeRegister(operandWordSize,
-                    (addressByte & 0x38) >> 3));
+            destinationRegister = (addressByte & 0x38) >> 3;
 
             // Retrieve source1 reg/mem
             // Execute mul on reg or mem. Determine this from mm bits of
@@ -133,8 +112,7 @@ public class Instruction_IMUL_GvEvIb implements Instruction {
                 // IMUL reg, imm
                 // Determine source value from addressbyte, ANDing it with 0000
                 // 0111
-                sourceWord1 = cpu.decodeRegister(operandWordSize,
-                        addressByte & 0x07);
+                sourceValue1 = (short) cpu.getRegisterWord(addressByte & 0x07);
             } else {
                 // IMUL mem, imm
                 // Determine memory location
@@ -142,45 +120,31 @@ public class Instruction_IMUL_GvEvIb implements Instruction {
                         memoryReferenceDisplacement);
 
                 // Get word from memory
-                sourceWord1 = cpu.getWordFromMemorySegment(addressByte,
+                sourceValue1 = (short) cpu.getWordFromMemorySegment(addressByte,
                         memoryReferenceLocation);
             }
 
-            // Retrieve source1 imm
-            tempByte = cpu.getByteFromCode();
-            sourceWord2 = new byte[]{Util.signExtend(tempByte), tempByte};
+            // Retrieve source1 imm (sign-extended)
+            sourceValue2 = cpu.getByteFromCode();
         }
 
         // Signed multiply source1 and source2
-        result = ((((long) sourceWord1[CPU.REGISTER_GENERAL_HIGH]) << 8) + (((long) sourceWord1[CPU.REGISTER_GENERAL_LOW]) & 0xFF))
-                * ((((long) sourceWord2[CPU.REGISTER_GENERAL_HIGH]) << 8) + (((long) sourceWord2[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+        result = (long) sourceValue1 * sourceValue2;
 
         // Move answer into destination
-        destinationRegister[CPU.REGISTER_GENERAL_LOW] = (byte) (result);
-        destinationRegister[CPU.REGISTER_GENERAL_HIGH] = (byte) ((result) >> 8);
+        cpu.setRegisterWord(destinationRegister, (int) result);
 
         // Set appropriate flags
         // Flags: OF, CF set if result has to be truncated to fit in
         // destination. SF, ZF, AF, PF are undefined.
-        // Check if result has to be truncated to 16-bit word (65535 dec)
-        if (result > 65535) {
-            // Some information will be lost due to truncation, set OF and CF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = cpu.flags[CPU.REGISTER_FLAGS_CF] = true;
-        } else {
-            // No information will be lost, clear OF and CF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        }
+        // Set PF, ZF and SF according to destination
+        cpu.flags.setResult(Flags.RESULT, Flags.WORD, (int) result);
+        // Check if result has to be truncated to 16-bit word (65535 dec):
+        // if so, some information will be lost due to truncation, set OF and
+        // CF, else clear them
+        cpu.flags.set(CPU.REGISTER_FLAGS_OF, result > 65535);
+        cpu.flags.set(CPU.REGISTER_FLAGS_CF, result > 65535);
         // Set other flags as Bochs does
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-        // Set PF according to destination
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-        // Set ZF zero if destination is zero
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                : false;
-        // Set SF according to destination
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
     }
 }
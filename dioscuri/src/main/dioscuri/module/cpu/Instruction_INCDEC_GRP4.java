@@ -55,14 +55,12 @@ public class Instruction_INCDEC_GRP4 implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
+    byte addressByte = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte addressByte;
-    byte[] sourceValue;
-    byte[] oldSource;
-    byte registerHighLow = 0;
+    int sourceValue = 0;
+    int oldSource = 0;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_INCDEC_GRP4.class.getName());
@@ -73,14 +71,6 @@ public class Instruction_INCDEC_GRP4 implements Instruction {
      * Class constructor
      */
     public Instruction_INCDEC_GRP4() {
-        // Initialise variables
-        operandWordSize = false;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        addressByte = 0;
-        sourceValue = new byte[2];
-        oldSource = new byte[2];
     }
 
     /**
@@ -104,23 +94,14 @@ public class Instruction_INCDEC_GRP4 implements Instruction {
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
-        // Re-initialise source to get rid of pointers
-        sourceValue = new byte[2];
-
         // Execute instruction decoded from nnn (bits 5, 4, 3 in ModR/M byte)
         switch ((addressByte & 0x38) >> 3) {
             case 0: // INC Eb
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // Address given in register (=pointer!)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    // Address given in register
+                    oldSource = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // Address given in memory (m16:16)
+                    // Address given in memory
                     // Determine IP displacement of memory location (if any)
                     memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
@@ -129,57 +110,31 @@ public class Instruction_INCDEC_GRP4 implements Instruction {
                             memoryReferenceDisplacement);
 
                     // Get value from memory
-                    registerHighLow = CPU.REGISTER_GENERAL_LOW;
-                    sourceValue = cpu.getWordFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
+                    oldSource = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
                 }
 
-                // Store old value
-                System.arraycopy(sourceValue, 0, oldSource, 0, sourceValue.length);
-
-                // Increment the source (= destination) register
-                sourceValue[registerHighLow]++;
+                // Increment the source (= destination)
+                sourceValue = (oldSource + 1) & 0xFF;
 
-                // No need to check for overflow, as INC is only on source[low]
-
-                // Return result to memory if necessary
-                // Note: if register, then value automatically updated as array is
-                // reference!
-                if (((addressByte >> 6) & 0x03) != 3) {
-                    cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                // Return result to register or memory
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
+                    cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
+                            (byte) sourceValue);
                 }
 
-                // Test AF
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                        oldSource[registerHighLow], sourceValue[registerHighLow]);
-                // Test OF
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(
-                        oldSource[registerHighLow], (byte) 0x01,
-                        sourceValue[registerHighLow], 0);
-                // Test ZF
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[registerHighLow] == 0x00 ? true
-                        : false;
-                // Test SF (set when MSB of AH is 1. In Java can check signed byte)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[registerHighLow] < 0 ? true
-                        : false;
-                // Set PF, only applies to LSB
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(sourceValue[registerHighLow]);
+                // Set OF, SF, ZF, AF, PF
+                cpu.flags.setResult(Flags.INC, Flags.BYTE, oldSource, 1, 0, sourceValue);
                 break;
 
             case 1: // DEC Eb
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // Address given in register
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    oldSource = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // Address given in memory (m16:16)
+                    // Address given in memory
                     // Determine IP displacement of memory location (if any)
                     memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
@@ -188,43 +143,23 @@ public class Instruction_INCDEC_GRP4 implements Instruction {
                             memoryReferenceDisplacement);
 
                     // Get value from memory
-                    registerHighLow = CPU.REGISTER_GENERAL_LOW;
-                    sourceValue = cpu.getWordFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
+                    oldSource = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
                 }
 
-                // Store old value
-                System.arraycopy(sourceValue, 0, oldSource, 0, sourceValue.length);
-
-                // Decrement the source (= destination) register
-                sourceValue[registerHighLow]--;
-
-                // No need to check for overflow, as DEC is only on source[low]
+                // Decrement the source (= destination)
+                sourceValue = (oldSource - 1) & 0xFF;
 
-                // Return result to memory if necessary
-                // Note: if register, then value automatically updated as array is
-                // reference!
-                if (((addressByte >> 6) & 0x03) != 3) {
-                    cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                // Return result to register or memory
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
+                    cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
+                            (byte) sourceValue);
                 }
 
-                // Test AF
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                        oldSource[registerHighLow], sourceValue[registerHighLow]);
-                // Test OF
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(
-                        oldSource[registerHighLow], (byte) 0x01,
-                        sourceValue[registerHighLow], 0);
-                // Test ZF
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[registerHighLow] == 0x00 ? true
-                        : false;
-                // Test SF (set when MSB of AH is 1. In Java can check signed byte)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[registerHighLow] < 0 ? true
-                        : false;
-                // Set PF, only applies to LSB
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(sourceValue[registerHighLow]);
+                // Set OF, SF, ZF, AF, PF
+                cpu.flags.setResult(Flags.DEC, Flags.BYTE, oldSource, 1, 0, sourceValue);
                 break;
 
             default:
@@ -55,23 +55,14 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
+    byte addressByte = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-    byte[] sourceValue;
-    byte[] oldSource;
-    byte[] incWord;
-    byte[] newCS;
-    byte[] newIP;
-
-    int intermediateResult;
-    byte displacementByte;
-    byte[] displacementWord;
-    int overUnderFlowCheck;
-
-    byte[] temp;
+    int sourceValue = 0;
+    int oldSource = 0;
+    int newCS = 0;
+    int newIP = 0;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_INCDEC_GRP5.class.getName());
@@ -82,25 +73,6 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
      * Class constructor
      */
     public Instruction_INCDEC_GRP5() {
-        // Initialise variables
-        operandWordSize = true;
-
-        addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-        sourceValue = new byte[2];
-        oldSource = new byte[2];
-        newCS = new byte[2];
-        newIP = new byte[2];
-
-        // Set word for increment to 1
-        incWord = new byte[]{0x00, 0x01};
-
-        intermediateResult = 0;
-        displacementByte = 0;
-        displacementWord = new byte[2];
-
-        temp = new byte[2];
     }
 
     /**
@@ -125,18 +97,14 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
-        // Re-initialise source to get rid of pointers
-        sourceValue = new byte[2];
-
         // Execute instruction decoded from nnn (bits 5, 4, 3 in ModR/M byte)
         switch ((addressByte & 0x38) >> 3) {
             case 0: // INC Ev
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // Address given in register
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    oldSource = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
-                    // Address given in memory (m16:16)
+                    // Address given in memory
                     // Determine IP displacement of memory location (if any)
                     memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
@@ -145,49 +113,31 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
                             memoryReferenceDisplacement);
 
                     // Get value from memory
-                    sourceValue = cpu.getWordFromMemorySegment(addressByte,
+                    oldSource = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
                 }
 
-                // Store initial value
-                System.arraycopy(sourceValue, 0, oldSource, 0, sourceValue.length);
+                // Increment the source (= destination)
+                sourceValue = (oldSource + 1) & 0xFFFF;
 
-                // Increment the source (= destination) register
-                temp = Util.addWords(sourceValue, incWord, 0);
-                System.arraycopy(temp, 0, sourceValue, 0, temp.length);
-
-                // Return result to memory if necessary
-                if (((addressByte >> 6) & 0x03) != 3) {
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue);
+                // Return result to register or memory
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            sourceValue);
                 }
 
-                // Set appropriate flags
-                // Test AF
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                        oldSource[CPU.REGISTER_GENERAL_LOW],
-                        sourceValue[CPU.REGISTER_GENERAL_LOW]);
-                // Test OF
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldSource,
-                        incWord, sourceValue, 0);
-                // Test ZF
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = (sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0x00 && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0x00) ? true
-                        : false;
-                // Test SF (set when MSB of BH is 1. In Java can check signed byte)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                        : false;
-                // Set PF, only applies to LSB
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                // Set OF, SF, ZF, AF, PF
+                cpu.flags.setResult(Flags.INC, Flags.WORD, oldSource, 1, 0, sourceValue);
                 break; // INC Ev
 
             case 1: // DEC Ev
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // Address given in register
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    oldSource = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
-                    // Address given in memory (m16:16)
+                    // Address given in memory
                     // Determine IP displacement of memory location (if any)
                     memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
@@ -196,40 +146,23 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
                             memoryReferenceDisplacement);
 
                     // Get value from memory
-                    sourceValue = cpu.getWordFromMemorySegment(addressByte,
+                    oldSource = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
                 }
 
-                // Store initial value
-                System.arraycopy(sourceValue, 0, oldSource, 0, sourceValue.length);
-
-                // Increment the source (= destination) register
-                temp = Util.subtractWords(sourceValue, incWord, 0);
-                System.arraycopy(temp, 0, sourceValue, 0, temp.length);
+                // Decrement the source (= destination)
+                sourceValue = (oldSource - 1) & 0xFFFF;
 
-                // Return result to memory if necessary
-                if (((addressByte >> 6) & 0x03) != 3) {
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue);
+                // Return result to register or memory
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            sourceValue);
                 }
 
-                // Set appropriate flags
-                // Test AF
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                        oldSource[CPU.REGISTER_GENERAL_LOW],
-                        sourceValue[CPU.REGISTER_GENERAL_LOW]);
-                // Test OF
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(oldSource,
-                        incWord, sourceValue, 0);
-                // Test ZF
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = (sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0x00 && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0x00) ? true
-                        : false;
-                // Test SF (set when MSB of BH is 1. In Java can check signed byte)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                        : false;
-                // Set PF, only applies to LSB
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                // Set OF, SF, ZF, AF, PF
+                cpu.flags.setResult(Flags.DEC, Flags.WORD, oldSource, 1, 0, sourceValue);
                 break; // DEC Ev
 
             case 2: // CALLN Ev
@@ -239,7 +172,7 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
 
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // Address given in register
-                    newIP = cpu.decodeRegister(operandWordSize, addressByte & 0x07);
+                    newIP = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // Address given in memory (m16 or m32)
 
@@ -259,8 +192,7 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
                 cpu.setWordToStack(cpu.ip);
 
                 // Assign new IP to registers
-                cpu.ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-                cpu.ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
+                cpu.ip = newIP;
                 break; // CALLN Ev
 
             case 3: // CALLF Ep
@@ -295,10 +227,7 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
 
                     // Determine CS displacement of memory location (increment disp
                     // with 2, because of 16-bit IP)
-                    temp = Util.addWords(new byte[]{0x00, 0x02},
-                            memoryReferenceDisplacement, 0);
-                    System.arraycopy(temp, 0, memoryReferenceDisplacement, 0,
-                            temp.length);
+                    memoryReferenceDisplacement = (memoryReferenceDisplacement + 2) & 0xFFFF;
 
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
@@ -313,10 +242,8 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
                     cpu.setWordToStack(cpu.ip);
 
                     // Assign new CS and IP to registers
-                    cpu.cs[CPU.REGISTER_SEGMENT_LOW] = newCS[CPU.REGISTER_LOW];
-                    cpu.cs[CPU.REGISTER_SEGMENT_HIGH] = newCS[CPU.REGISTER_HIGH];
-                    cpu.ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-                    cpu.ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
+                    cpu.cs = newCS;
+                    cpu.ip = newIP;
                 }
                 break;
 
@@ -325,11 +252,7 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // Address given in register (r16)
                     // Determine register from addressbyte, ANDing it with 0000 0111
-                    newIP = cpu.decodeRegister(operandWordSize, addressByte & 0x07);
-
-                    // Assign new IP to registers
-                    cpu.ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-                    cpu.ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
+                    newIP = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // Address given in memory (m16)
                     // Determine displacement of memory location (if any)
@@ -342,11 +265,10 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
                     // Get new IP from memory
                     newIP = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // Assign new IP to registers
-                    cpu.ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-                    cpu.ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
                 }
+
+                // Assign new IP to registers
+                cpu.ip = newIP;
                 break; // JMPN Ev
 
             case 5: // JMPF Ep
@@ -379,10 +301,7 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
 
                     // Determine CS displacement of memory location (increment disp
                     // with 2, because of 16-bit IP)
-                    temp = Util.addWords(new byte[]{0x00, 0x02},
-                            memoryReferenceDisplacement, 0);
-                    System.arraycopy(temp, 0, memoryReferenceDisplacement, 0,
-                            temp.length);
+                    memoryReferenceDisplacement = (memoryReferenceDisplacement + 2) & 0xFFFF;
 
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
@@ -393,10 +312,8 @@ public class Instruction_INCDEC_GRP5 implements Instruction {
                             memoryReferenceLocation);
 
                     // Assign new CS and IP to registers
-                    cpu.cs[CPU.REGISTER_SEGMENT_LOW] = newCS[CPU.REGISTER_LOW];
-                    cpu.cs[CPU.REGISTER_SEGMENT_HIGH] = newCS[CPU.REGISTER_HIGH];
-                    cpu.ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-                    cpu.ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
+                    cpu.cs = newCS;
+                    cpu.ip = newIP;
                 }
                 break; // JMPF Ep
 
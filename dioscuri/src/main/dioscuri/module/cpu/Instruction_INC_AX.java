@@ -48,10 +48,7 @@ public class Instruction_INC_AX implements Instruction {
 
     // Attributes
     private CPU cpu;
-    private byte[] temp;
-    private byte[] oldDestWord;
-    private byte[] oldDestDoubleWord;
-    private byte[] incWord;
+    private int oldDest;
 
     // Constructors
 
@@ -71,10 +68,6 @@ public class Instruction_INC_AX implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-        temp = new byte[2];
-        oldDestWord = new byte[2];
-        oldDestDoubleWord = new byte[2];
-        incWord = new byte[]{0x00, 0x01};
     }
 
     // Methods
@@ -86,72 +79,25 @@ public class Instruction_INC_AX implements Instruction {
         if (cpu.doubleWord) {
             // 32-bit
             // Make copy of old value
-            System.arraycopy(cpu.ax, 0, oldDestWord, 0, cpu.ax.length);
-            System.arraycopy(cpu.eax, 0, oldDestDoubleWord, 0, cpu.eax.length);
+            oldDest = cpu.eax;
 
-            // Increment the ax register
-            temp = Util.addWords(cpu.ax, incWord, 0);
-
-            // Assign result to ax
-            cpu.ax[CPU.REGISTER_GENERAL_HIGH] = temp[CPU.REGISTER_GENERAL_HIGH];
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] = temp[CPU.REGISTER_GENERAL_LOW];
-
-            // Check for carry to higher 16 bits
-            if (Util.test_CF_ADD(cpu.ax, incWord, 0)) {
-                // Increment higher 16 bits
-                temp = Util.addWords(cpu.eax, incWord, 0);
+            // Increment the eax register
+            cpu.eax = oldDest + 1;
 
-                // Assign result to eax
-                cpu.eax[CPU.REGISTER_GENERAL_HIGH] = temp[CPU.REGISTER_GENERAL_HIGH];
-                cpu.eax[CPU.REGISTER_GENERAL_LOW] = temp[CPU.REGISTER_GENERAL_LOW];
-            }
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                    oldDestWord[CPU.REGISTER_GENERAL_LOW],
-                    cpu.ax[CPU.REGISTER_GENERAL_LOW]);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(
-                    oldDestDoubleWord, incWord, cpu.eax, 0);
-            // Test ZF
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.eax[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                    && cpu.eax[CPU.REGISTER_GENERAL_LOW] == 0x00
-                    && cpu.ax[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                    && cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-            // Test SF (set when MSB of BH is 1. In Java can check signed byte)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.eax[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF, only applies to LSB
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+            // Set OF, SF, ZF, AF, PF
+            cpu.flags.setResult(Flags.INC, Flags.DOUBLEWORD, oldDest, 1, 0,
+                    cpu.eax);
         } else {
             // 16-bit
             // Make copy of old value
-            System.arraycopy(cpu.ax, 0, oldDestWord, 0, cpu.ax.length);
+            oldDest = cpu.eax & 0xFFFF;
 
             // Increment the ax register
-            temp = Util.addWords(cpu.ax, incWord, 0);
-
-            // Assign result to ax
-            cpu.ax[CPU.REGISTER_GENERAL_HIGH] = temp[CPU.REGISTER_GENERAL_HIGH];
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] = temp[CPU.REGISTER_GENERAL_LOW];
+            cpu.eax = (cpu.eax & 0xFFFF0000) | ((oldDest + 1) & 0xFFFF);
 
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                    oldDestWord[CPU.REGISTER_GENERAL_LOW],
-                    cpu.ax[CPU.REGISTER_GENERAL_LOW]);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDestWord,
-                    incWord, cpu.ax, 0);
-            // Test ZF
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                    && cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-            // Test SF (set when MSB of BH is 1. In Java can check signed byte)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF, only applies to LSB
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+            // Set OF, SF, ZF, AF, PF
+            cpu.flags.setResult(Flags.INC, Flags.WORD, oldDest, 1, 0,
+                    cpu.eax & 0xFFFF);
         }
     }
 }
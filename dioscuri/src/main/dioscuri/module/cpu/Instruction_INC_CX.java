@@ -48,9 +48,7 @@ public class Instruction_INC_CX implements Instruction {
 
     // Attributes
     private CPU cpu;
-    private byte[] temp;
-    private byte[] oldDest;
-    private byte[] incWord;
+    private int oldDest;
 
     // Constructors
 
@@ -70,9 +68,6 @@ public class Instruction_INC_CX implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-        temp = new byte[2];
-        oldDest = new byte[2];
-        incWord = new byte[]{0x00, 0x01};
     }
 
     // Methods
@@ -82,29 +77,13 @@ public class Instruction_INC_CX implements Instruction {
      */
     public void execute() {
         // Make copy of old value
-        System.arraycopy(cpu.cx, 0, oldDest, 0, cpu.cx.length);
+        oldDest = cpu.ecx & 0xFFFF;
 
-        // Increment the cx register
-        temp = Util.addWords(cpu.cx, incWord, 0);
+        // Increment the CX register
+        cpu.ecx = (cpu.ecx & 0xFFFF0000) | ((oldDest + 1) & 0xFFFF);
 
-        // Assign result to cx
-        cpu.cx[CPU.REGISTER_GENERAL_HIGH] = temp[CPU.REGISTER_GENERAL_HIGH];
-        cpu.cx[CPU.REGISTER_GENERAL_LOW] = temp[CPU.REGISTER_GENERAL_LOW];
-
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = (oldDest[CPU.REGISTER_GENERAL_LOW] & 0x0F) == 0x0F ? true
-                : false;
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest, incWord,
-                cpu.cx, 0);
-        // Test ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.cx[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && cpu.cx[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF (set when MSB of BH is 1. In Java can check signed byte)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.cx[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to LSB
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.cx[CPU.REGISTER_GENERAL_LOW]);
+        // Set OF, SF, ZF, AF, PF
+        cpu.flags.setResult(Flags.INC, Flags.WORD, oldDest, 1, 0,
+                cpu.ecx & 0xFFFF);
     }
 }
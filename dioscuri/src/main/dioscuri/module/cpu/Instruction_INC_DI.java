@@ -48,9 +48,7 @@ public class Instruction_INC_DI implements Instruction {
 
     // Attributes
     private CPU cpu;
-    private byte[] temp;
-    private byte[] oldDest;
-    private byte[] incWord;
+    private int oldDest;
 
     // Constructors
 
@@ -70,9 +68,6 @@ public class Instruction_INC_DI implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-        temp = new byte[2];
-        oldDest = new byte[2];
-        incWord = new byte[]{0x00, 0x01};
     }
 
     // Methods
@@ -82,29 +77,13 @@ public class Instruction_INC_DI implements Instruction {
      */
     public void execute() {
         // Make copy of old value
-        System.arraycopy(cpu.di, 0, oldDest, 0, cpu.di.length);
+        oldDest = cpu.edi & 0xFFFF;
 
-        // Increment the di register
-        temp = Util.addWords(cpu.di, incWord, 0);
+        // Increment the DI register
+        cpu.edi = (cpu.edi & 0xFFFF0000) | ((oldDest + 1) & 0xFFFF);
 
-        // Assign result to di
-        cpu.di[CPU.REGISTER_GENERAL_HIGH] = temp[CPU.REGISTER_GENERAL_HIGH];
-        cpu.di[CPU.REGISTER_GENERAL_LOW] = temp[CPU.REGISTER_GENERAL_LOW];
-
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = (oldDest[CPU.REGISTER_GENERAL_LOW] & 0x0F) == 0x0F ? true
-                : false;
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest, incWord,
-                cpu.di, 0);
-        // Test ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.di[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && cpu.di[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF (set when MSB of BH is 1. In Java can check signed byte)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.di[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to LSB
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.di[CPU.REGISTER_GENERAL_LOW]);
+        // Set OF, SF, ZF, AF, PF
+        cpu.flags.setResult(Flags.INC, Flags.WORD, oldDest, 1, 0,
+                cpu.edi & 0xFFFF);
     }
 }
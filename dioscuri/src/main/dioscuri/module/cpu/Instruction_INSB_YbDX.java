@@ -55,7 +55,6 @@ public class Instruction_INSB_YbDX implements Instruction {
     private CPU cpu;
     int portAddress;
     byte portByte = 0;
-    byte[] transition;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_INSB_YbDX.class.getName());
@@ -79,8 +78,6 @@ public class Instruction_INSB_YbDX implements Instruction {
         // Create reference to cpu class
         cpu = processor;
 
-        // Set transition that holds the amount DI should be altered (byte = 1)
-        transition = new byte[]{0x00, 0x01};
     }
 
     // Methods
@@ -91,13 +88,13 @@ public class Instruction_INSB_YbDX implements Instruction {
     public void execute() {
         // Get port address from DX; convert this to unsigned integer to prevent
         // lookup table out of bounds;
-        portAddress = (((((int) cpu.dx[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cpu.dx[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+        portAddress = cpu.edx & 0xFFFF;
 
         // Read byte from I/O space; write to ES:DI; ES segment override is not
         // allowed
         try {
             portByte = cpu.getIOPortByte(portAddress);
-            cpu.setByteToExtra(cpu.di, portByte);
+            cpu.setByteToExtra(cpu.edi & 0xFFFF, portByte);
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + cpu.getType() + "] "
                     + e.getMessage());
@@ -106,12 +103,12 @@ public class Instruction_INSB_YbDX implements Instruction {
         // Update DI according to DF flag
         // Check direction of flag: If DF == 0, DI is incremented; if DF == 1,
         // DI is decremented
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement the DI register by byte size
-            cpu.di = Util.subtractWords(cpu.di, transition, 0);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 1) & 0xFFFF);
         } else {
             // Increment the DI register by byte size
-            cpu.di = Util.addWords(cpu.di, transition, 0);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 1) & 0xFFFF);
         }
     }
 }
@@ -54,9 +54,6 @@ public class Instruction_INSW_YvDX implements Instruction {
     // Attributes
     private CPU cpu;
     int portAddress;
-    byte[] portValue = new byte[2];
-    byte[] ePortValue = new byte[4];
-    byte[] transition;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_INSW_YvDX.class.getName());
@@ -80,8 +77,6 @@ public class Instruction_INSW_YvDX implements Instruction {
         // Create reference to cpu class
         cpu = processor;
 
-        // Set transition that holds the amount DI should be altered (word = 2)
-        transition = new byte[]{0x00, 0x02};
     }
 
     // Methods
@@ -93,7 +88,7 @@ public class Instruction_INSW_YvDX implements Instruction {
 
         // Get port address from DX; convert this to unsigned integer to prevent
         // lookup table out of bounds;
-        portAddress = (((((int) cpu.dx[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cpu.dx[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+        portAddress = cpu.edx & 0xFFFF;
 
         // Read word from I/O space; write to ES:DI; ES segment override is not
         // allowed
@@ -101,35 +96,33 @@ public class Instruction_INSW_YvDX implements Instruction {
             // Check if the destination is a word or doubleword
             if (cpu.doubleWord) {
                 // Get the doubleword
-                ePortValue = cpu.getIOPortDoubleWord(portAddress);
+                int doubleWord = cpu.readDword(portAddress);
 
                 // Write the doubleword as two words into the Extra segment
                 // TODO: Should this set to cpu.di or cpu.edi - or both??
-                cpu.setWordToExtra(cpu.di, new byte[]{ePortValue[1],
-                        ePortValue[0]});
+                cpu.setWordToExtra(cpu.edi & 0xFFFF, doubleWord & 0xFFFF);
 
                 // Note: DI is updated by word-size here, the other word-size is
                 // done below
                 // Update DI according to DF flag
                 // Check direction of flag: If DF == 0, DI is incremented; if DF
                 // == 1, DI is decremented
-                if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+                if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
                     // Decrement the DI register by word size
-                    cpu.di = Util.subtractWords(cpu.di, transition, 0);
+                    cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 2) & 0xFFFF);
                 } else {
                     // Increment the DI register by word size
-                    cpu.di = Util.addWords(cpu.di, transition, 0);
+                    cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 2) & 0xFFFF);
                 }
 
                 // Set the second part of the doubleword
-                cpu.setWordToExtra(cpu.di, new byte[]{ePortValue[3],
-                        ePortValue[2]});
+                cpu.setWordToExtra(cpu.edi & 0xFFFF, doubleWord >>> 16);
                 // Second update of DI is done below
 
             } else // Word-size
             {
-                portValue = cpu.getIOPortWord(portAddress);
-                cpu.setWordToExtra(cpu.di, portValue);
+                int word = cpu.readWord(portAddress);
+                cpu.setWordToExtra(cpu.edi & 0xFFFF, word & 0xFFFF);
             }
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + cpu.getType() + "] "
@@ -139,12 +132,12 @@ public class Instruction_INSW_YvDX implements Instruction {
         // Update DI according to DF flag
         // Check direction of flag: If DF == 0, DI is incremented; if DF == 1,
         // DI is decremented
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement the DI register by word size
-            cpu.di = Util.subtractWords(cpu.di, transition, 0);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 2) & 0xFFFF);
         } else {
             // Increment the DI register by word size
-            cpu.di = Util.addWords(cpu.di, transition, 0);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 2) & 0xFFFF);
         }
     }
 }
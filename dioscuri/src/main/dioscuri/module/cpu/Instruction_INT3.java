@@ -54,8 +54,8 @@ public class Instruction_INT3 implements Instruction {
     byte index;
     int offset;
 
-    byte[] newCS;
-    byte[] newIP;
+    int newCS;
+    int newIP;
 
     // Constructors
 
@@ -67,9 +67,6 @@ public class Instruction_INT3 implements Instruction {
 
         index = 0;
         offset = 0;
-
-        newCS = new byte[2];
-        newIP = new byte[2];
     }
 
     /**
@@ -96,12 +93,12 @@ public class Instruction_INT3 implements Instruction {
         index = 0x03;
 
         // Push flags register (16-bit) onto stack
-        cpu.setWordToStack(Util.booleansToBytes(cpu.flags));
+        cpu.setWordToStack(cpu.flags.getValue());
 
         // Clear flags IF, TF, (and Alignment Check AC, but is not implemented
         // on 16-bit)
-        cpu.flags[CPU.REGISTER_FLAGS_IF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_TF] = false;
+        cpu.flags.set(CPU.REGISTER_FLAGS_IF, false);
+        cpu.flags.set(CPU.REGISTER_FLAGS_TF, false);
 
         // Push current code segment and instruction pointer onto stack
         cpu.setWordToStack(cpu.cs);
@@ -110,25 +107,21 @@ public class Instruction_INT3 implements Instruction {
         // Retrieve the interrupt vector (IP:CS) from the IDT, based on the
         // index
         // Reset the CS and IP to interrupt vector in IDT
-        cpu.cs = new byte[]{0x00, 0x00}; // refer to beginning of code
+        cpu.cs = 0x0000; // refer to beginning of code
         // segment
         offset = index * 4; // define offset from code segment (index * 4 bytes)
-        cpu.ip = new byte[]{(byte) ((offset >> 8) & 0xFF),
-                (byte) (offset & 0xFF)};
+        cpu.ip = offset;
 
         // Fetch IP value
         newIP = cpu.getWordFromCode();
 
         // Increment offset by 2 bytes and fetch CS
         offset += 2;
-        cpu.ip = new byte[]{(byte) ((offset >> 8) & 0xFF),
-                (byte) (offset & 0xFF)};
+        cpu.ip = offset;
         newCS = cpu.getWordFromCode();
 
         // Assign new CS and IP to registers pointing to interrupt procedure
-        cpu.cs[CPU.REGISTER_SEGMENT_LOW] = newCS[CPU.REGISTER_LOW];
-        cpu.cs[CPU.REGISTER_SEGMENT_HIGH] = newCS[CPU.REGISTER_HIGH];
-        cpu.ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-        cpu.ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
+        cpu.cs = newCS;
+        cpu.ip = newIP;
     }
 }
@@ -90,11 +90,12 @@ public class Instruction_IN_ALDX implements Instruction {
         // Convert value in DX to unsigned integer to prevent lookup table out
         // of bounds;
         // get data to appropriate port
-        portAddress = (((((int) cpu.dx[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cpu.dx[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+        portAddress = cpu.edx & 0xFFFF;
 
         try {
             // Write retrieved value into AL
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] = cpu.getIOPortByte(portAddress);
+            cpu.eax = (cpu.eax & 0xFFFFFF00)
+                    | (cpu.getIOPortByte(portAddress) & 0xFF);
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + cpu.getType() + "] "
                     + e.getMessage());
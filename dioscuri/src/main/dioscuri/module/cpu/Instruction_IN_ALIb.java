@@ -93,7 +93,8 @@ public class Instruction_IN_ALIb implements Instruction {
 
         try {
             // Write retrieved value into AL
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] = cpu.getIOPortByte(portAddress);
+            cpu.eax = (cpu.eax & 0xFFFFFF00)
+                    | (cpu.getIOPortByte(portAddress) & 0xFF);
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + cpu.getType() + "] "
                     + e.getMessage());
@@ -90,27 +90,23 @@ public class Instruction_IN_eAXDX implements Instruction {
         // Convert value in DX to unsigned integer to prevent lookup table out
         // of bounds;
         // get data to appropriate port
-        portAddress = (((((int) cpu.dx[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cpu.dx[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+        portAddress = cpu.edx & 0xFFFF;
 
         try {
             // Check if word or double word should be read
             if (cpu.doubleWord) {
                 // A double word should be read from I/O space
-                byte[] doubleWord = cpu.getIOPortDoubleWord(portAddress);
+                int doubleWord = cpu.readDword(portAddress);
 
-                // Store value in eAX and AX (in Big Endian order)
-                cpu.ax[CPU.REGISTER_GENERAL_LOW] = doubleWord[3];
-                cpu.ax[CPU.REGISTER_GENERAL_HIGH] = doubleWord[2];
-                cpu.eax[CPU.REGISTER_GENERAL_LOW] = doubleWord[1];
-                cpu.eax[CPU.REGISTER_GENERAL_HIGH] = doubleWord[0];
+                // Store value in eAX
+                cpu.eax = doubleWord;
             } else // Word
             {
                 // A word should be read from I/O space
-                byte[] word = cpu.getIOPortWord(portAddress);
+                int word = cpu.readWord(portAddress);
 
-                // Store value in AX (in Big Endian order)
-                cpu.ax[CPU.REGISTER_GENERAL_LOW] = word[1];
-                cpu.ax[CPU.REGISTER_GENERAL_HIGH] = word[0];
+                // Store value in AX
+                cpu.eax = (cpu.eax & 0xFFFF0000) | (word & 0xFFFF);
             }
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + cpu.getType() + "] "
@@ -52,9 +52,9 @@ public class Instruction_IRET implements Instruction {
 
     boolean operandWordSize;
 
-    byte[] newCS;
-    byte[] newIP;
-    byte[] newFlags;
+    int newCS;
+    int newIP;
+    int newFlags;
 
     // Constructors
 
@@ -63,10 +63,6 @@ public class Instruction_IRET implements Instruction {
      */
     public Instruction_IRET() {
         operandWordSize = true;
-
-        newCS = new byte[2];
-        newIP = new byte[2];
-        newFlags = new byte[2];
     }
 
     /**
@@ -93,18 +89,16 @@ public class Instruction_IRET implements Instruction {
 
         // Pop IP (16-bit) from stack
         newIP = cpu.getWordFromStack();
-        cpu.ip[CPU.REGISTER_LOW] = newIP[CPU.REGISTER_LOW];
-        cpu.ip[CPU.REGISTER_HIGH] = newIP[CPU.REGISTER_HIGH];
+        cpu.ip = newIP;
 
         // Pop CS (16-bit) from stack
         newCS = cpu.getWordFromStack();
-        cpu.cs[CPU.REGISTER_SEGMENT_LOW] = newCS[CPU.REGISTER_LOW];
-        cpu.cs[CPU.REGISTER_SEGMENT_HIGH] = newCS[CPU.REGISTER_HIGH];
+        cpu.cs = newCS;
 
         // Pop flags register (16-bit) from stack
         newFlags = cpu.getWordFromStack();
 
-        // Convert flagbytes into booleans and store them in flags register
-        cpu.flags = Util.bytesToBooleans(newFlags);
+        // Store them in flags register
+        cpu.flags.setValue(newFlags);
     }
 }
@@ -54,20 +54,14 @@ public class Instruction_ImmGRP1_EvIb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
+    byte addressByte = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-
-    byte[] sourceValue;
-    byte[] sourceValue2;
-    byte[] destinationRegister;
-    byte[] oldDest;
-
-    int iCarryFlag;
-    byte[] tempResult;
-    byte[] temp;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+    int carry = 0;
 
     // Constructors
 
@@ -75,20 +69,6 @@ public class Instruction_ImmGRP1_EvIb implements Instruction {
      * Class constructor
      */
     public Instruction_ImmGRP1_EvIb() {
-        operandWordSize = true;
-
-        addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceValue = new byte[2];
-        sourceValue2 = new byte[2];
-        destinationRegister = new byte[2];
-        oldDest = new byte[2];
-
-        iCarryFlag = 0;
-        tempResult = new byte[2];
-        temp = new byte[2];
     }
 
     /**
@@ -115,255 +95,106 @@ public class Instruction_ImmGRP1_EvIb implements Instruction {
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
-        // Re-initialise sourceValue words (to lose pointer to earlier words)
-        sourceValue = new byte[2];
-        sourceValue2 = new byte[2];
-
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
-        // Get immediate byte
-        sourceValue[CPU.REGISTER_GENERAL_LOW] = cpu.getByteFromCode();
-        // Sign-extend HIGH register with sign from LOW register
-        sourceValue[CPU.REGISTER_GENERAL_HIGH] = Util
-                .signExtend(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+        // Get immediate byte and sign-extend it to a word
+        sourceValue = cpu.getByteFromCode() & 0xFFFF;
 
         // Execute instruction decoded from nnn (bits 5, 4, 3 in ModR/M byte)
         switch ((addressByte & 0x38) >> 3) {
             case 0: // ADD
-                // Execute ADD on reg,reg or mem,reg. Determine this from mm bits of
+                // Execute ADD on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // ADD reg,reg
+                    // ADD reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Store initial value for use in OF check
-                    System.arraycopy(destinationRegister, 0, oldDest, 0,
-                            destinationRegister.length);
-
-                    // ADD source and destination, storing result in destination.
-                    byte[] tmp = Util
-                            .addWords(destinationRegister, sourceValue, 0);
-                    System.arraycopy(tmp, 0, destinationRegister, 0, tmp.length);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                            oldDest[CPU.REGISTER_GENERAL_LOW],
-                            destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                            sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                            sourceValue, destinationRegister, 0);
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest + sourceValue) & 0xFFFF;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
-                    // ADD mem,reg
+                    // ADD mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory and ADD source register
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // Add source to destination
-                    tempResult = Util.addWords(sourceValue, sourceValue2, 0);
+                    result = (oldDest + sourceValue) & 0xFFFF;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                            sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                            tempResult[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(
-                            sourceValue2, sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(
-                            sourceValue2, sourceValue, tempResult, 0);
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, 0,
+                        result);
                 break; // ADD
 
             case 1: // OR
-                // Clear appropriate flags
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-                // Bochs' clears the AF flag as well
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-                // Execute OR on reg,reg or mem,reg. Determine this from mm bits of
+                // Execute OR on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // OR reg,reg
+                    // OR reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // OR source and destination, storing result in destination.
-                    // registerHighLow is re-used here.
-                    destinationRegister[CPU.REGISTER_GENERAL_LOW] |= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    destinationRegister[CPU.REGISTER_GENERAL_HIGH] |= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on lower byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = oldDest | sourceValue;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
-                    // OR mem,reg
+                    // OR mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory and OR with source register
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // OR source and destination
-                    tempResult[CPU.REGISTER_GENERAL_LOW] = (byte) (sourceValue[CPU.REGISTER_GENERAL_LOW] | sourceValue2[CPU.REGISTER_GENERAL_LOW]);
-                    tempResult[CPU.REGISTER_GENERAL_HIGH] = (byte) (sourceValue[CPU.REGISTER_GENERAL_HIGH] | sourceValue2[CPU.REGISTER_GENERAL_HIGH]);
+                    result = oldDest | sourceValue;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on lower byte of result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set SF, ZF, PF and clear OF, CF, AF
+                cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
                 break; // OR
 
             case 2: // ADC
                 // Determine value of carry flag before reset
-                iCarryFlag = (byte) (cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0);
+                carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
-                // Execute ADC on reg,reg or mem,reg. Determine this from mm bits of
+                // Execute ADC on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // ADC reg,reg
+                    // ADC reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Store initial value for use in OF check
-                    System.arraycopy(destinationRegister, 0, oldDest, 0,
-                            destinationRegister.length);
-
-                    // ADD source and destination, storing result in destination.
-                    byte[] tmp = Util.addWords(destinationRegister, sourceValue,
-                            iCarryFlag);
-                    System.arraycopy(tmp, 0, destinationRegister, 0, tmp.length);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                            oldDest[CPU.REGISTER_GENERAL_LOW],
-                            destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                            sourceValue, iCarryFlag);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                            sourceValue, destinationRegister, iCarryFlag);
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest + sourceValue + carry) & 0xFFFF;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
-                    // ADC mem,reg
+                    // ADC mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory and ADC source register
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // Add source to destination
-                    tempResult = Util.addWords(sourceValue, sourceValue2,
-                            iCarryFlag);
+                    result = (oldDest + sourceValue + carry) & 0xFFFF;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                            sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                            tempResult[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(
-                            sourceValue2, sourceValue, iCarryFlag);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(
-                            sourceValue2, sourceValue, tempResult, iCarryFlag);
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, carry,
+                        result);
                 break; // ADC
 
             case 3: // SBB
-                // Flags modified: OF, SF, ZF, AF, PF, CF
                 // Determine value of carry flag before reset
-                iCarryFlag = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+                carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
                 // Execute SBB on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
@@ -371,334 +202,139 @@ public class Instruction_ImmGRP1_EvIb implements Instruction {
                     // SBB reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Store old value
-                    System.arraycopy(destinationRegister, 0, oldDest, 0,
-                            destinationRegister.length);
-
-                    // SBB source2 - (source1 + carry)
-                    temp = Util.subtractWords(destinationRegister, sourceValue,
-                            iCarryFlag);
-                    System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                            oldDest[CPU.REGISTER_GENERAL_LOW],
-                            destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(oldDest,
-                            sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(oldDest,
-                            sourceValue, destinationRegister, 0);
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest - sourceValue - carry) & 0xFFFF;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
                     // SBB mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // SBB source2 - (source1 + carry)
-                    temp = Util
-                            .subtractWords(sourceValue2, sourceValue, iCarryFlag);
-                    System.arraycopy(temp, 0, tempResult, 0, temp.length);
+                    result = (oldDest - sourceValue - carry) & 0xFFFF;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                            sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                            tempResult[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(
-                            sourceValue2, sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(
-                            sourceValue2, sourceValue, tempResult, 0);
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, carry,
+                        result);
                 break; // SBB
 
             case 4: // AND
-                // Clear appropriate flags
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-                // Bochs is always right (even if it clashes with the Intel docs)
-                // ;-)
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-                // Execute AND on reg,reg or mem,reg. Determine this from mm bits of
+                // Execute AND on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // AND reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    destinationRegister[CPU.REGISTER_GENERAL_LOW] &= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    destinationRegister[CPU.REGISTER_GENERAL_HIGH] &= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                            : false;
-                    // Test SF, only applies to LOW (set when MSB is 1, occurs when
-                    // AL >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF, only applies to LOW
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = oldDest & sourceValue;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
                     // AND mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get byte from memory and AND source register
-                    tempResult = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
+                    result = oldDest & sourceValue;
 
-                    tempResult[CPU.REGISTER_GENERAL_LOW] &= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    tempResult[CPU.REGISTER_GENERAL_HIGH] &= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Store result back in memory reference location
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_LOW] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                            : false;
-                    // Test SF, only applies to LOW (set when MSB is 1, occurs when
-                    // AL >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF, only applies to LOW
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    // Store result in memory
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set SF, ZF, PF and clear OF, CF, AF
+                cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
                 break; // AND
 
-            case 5: // SUB; flags modified: OF, SF, ZF, AF, PF, CF
+            case 5: // SUB
                 // Execute SUB on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // SUB reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Store old value
-                    System.arraycopy(destinationRegister, 0, oldDest, 0,
-                            destinationRegister.length);
-
-                    // SUB source and destination, storing result in destination.
-                    temp = Util.subtractWords(destinationRegister, sourceValue, 0);
-                    System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                            oldDest[CPU.REGISTER_GENERAL_LOW],
-                            destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(oldDest,
-                            sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(oldDest,
-                            sourceValue, destinationRegister, 0);
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest - sourceValue) & 0xFFFF;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
                     // SUB mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // SUB source1 and source2
-                    temp = Util.subtractWords(sourceValue2, sourceValue, 0);
-                    System.arraycopy(temp, 0, tempResult, 0, temp.length);
+                    result = (oldDest - sourceValue) & 0xFFFF;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                            sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                            tempResult[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(
-                            sourceValue2, sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(
-                            sourceValue2, sourceValue, tempResult, 0);
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, 0,
+                        result);
                 break; // SUB
 
             case 6: // XOR
-                // Clear appropriate flags
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-                // Execute XOR on reg,reg or mem,reg. Determine this from mm bits of
+                // Execute XOR on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // XOR reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    destinationRegister[CPU.REGISTER_GENERAL_LOW] ^= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    destinationRegister[CPU.REGISTER_GENERAL_HIGH] ^= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                            : false;
-                    // Test SF, only applies to LOW (set when MSB is 1, occurs when
-                    // AL >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF, only applies to LOW
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = oldDest ^ sourceValue;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
                     // XOR mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get byte from memory and XOR source register
-                    tempResult = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
+                    result = oldDest ^ sourceValue;
 
-                    tempResult[CPU.REGISTER_GENERAL_LOW] ^= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    tempResult[CPU.REGISTER_GENERAL_HIGH] ^= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Store result back in memory reference location
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_LOW] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                            : false;
-                    // Test SF, only applies to LOW (set when MSB is 1, occurs when
-                    // AL >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF, only applies to LOW
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    // Store result in memory
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set SF, ZF, PF and clear OF, CF, AF
+                cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
                 break; // XOR
 
             case 7: // CMP
-                // Determine source2 value from mm bits of addressbyte
+                // Execute CMP on reg,imm or mem,imm. Determine this from mm bits of
+                // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // Source2 is a register
-                    // Determine "destination" value from addressbyte, ANDing it
+                    // CMP reg,imm
+                    // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    sourceValue2 = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest - sourceValue) & 0xFFFF;
                 } else {
-                    // Source2 is in memory
+                    // CMP mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
+                    result = (oldDest - sourceValue) & 0xFFFF;
                 }
 
-                // Proceed with compare
-
-                // Perform substraction
-                tempResult = Util.subtractWords(sourceValue2, sourceValue, 0);
-
-                // Test AF
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                        sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                        tempResult[CPU.REGISTER_GENERAL_LOW]);
-                // Test CF
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(sourceValue2,
-                        sourceValue, 0);
-                // Test OF
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(sourceValue2,
-                        sourceValue, tempResult, 0);
-                // Test ZF, is tested against tempResult
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                        && tempResult[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true
-                        : false;
-                // Test SF, only applies to lower byte (set when MSB is 1, occurs
-                // when tempResult >= 0x80)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                        : false;
-                // Set PF, only applies to lower byte
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
-
-                break;
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, 0,
+                        result);
+                break; // CMP
 
             default:
+                // TODO Throw exception for illegal nnn bits
                 throw new CPUInstructionException(
                         "Immediate Group 1 (0x83) instruction no case match.");
         }
@@ -54,24 +54,15 @@ public class Instruction_ImmGRP1_EvIv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
+    byte addressByte = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-
-    byte[] sourceValue;
-    byte[] eSourceValue;
-    byte[] sourceValue2;
-    byte[] destinationRegister;
-    byte[] eDestinationRegister;
-    byte[] oldDest;
-    byte[] oldEDest;
-    int intermediateResult;
-
-    int iCarryFlag;
-    byte[] tempResult;
-    byte[] temp;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+    int carry = 0;
+    int eSourceValue = 0;
 
     // Constructors
 
@@ -79,24 +70,6 @@ public class Instruction_ImmGRP1_EvIv implements Instruction {
      * Class constructor
      */
     public Instruction_ImmGRP1_EvIv() {
-        operandWordSize = true;
-
-        addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceValue = new byte[2];
-        eSourceValue = new byte[2];
-        sourceValue2 = new byte[2];
-        destinationRegister = new byte[2];
-        eDestinationRegister = new byte[2];
-        oldDest = new byte[2];
-        oldEDest = new byte[2];
-        intermediateResult = 0;
-
-        iCarryFlag = 0;
-        tempResult = new byte[2];
-        temp = new byte[2];
     }
 
     /**
@@ -123,10 +96,6 @@ public class Instruction_ImmGRP1_EvIv implements Instruction {
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
-        // Reset sourceValue words (to lose pointer to earlier words)
-        sourceValue = new byte[2];
-        sourceValue2 = new byte[2];
-
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
@@ -134,243 +103,108 @@ public class Instruction_ImmGRP1_EvIv implements Instruction {
         sourceValue = cpu.getWordFromCode();
 
         if (cpu.doubleWord) {
+            // Only AND operates on 32 bits, the other operations
+            // ignore the upper word of the immediate
             eSourceValue = cpu.getWordFromCode();
         }
 
         // Execute instruction decoded from nnn (bits 5, 4, 3 in ModR/M byte)
         switch ((addressByte & 0x38) >> 3) {
             case 0: // ADD
-                // Execute ADD on reg,reg or mem,reg. Determine this from mm bits of
+                // Execute ADD on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ADD reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Store initial value
-                    System.arraycopy(destinationRegister, 0, oldDest, 0,
-                            destinationRegister.length);
-
-                    // ADD two words
-                    temp = Util.addWords(destinationRegister, sourceValue, 0);
-                    System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                            oldDest[CPU.REGISTER_GENERAL_LOW],
-                            destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                            sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                            sourceValue, destinationRegister, 0);
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest + sourceValue) & 0xFFFF;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
                     // ADD mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // Add two words
-                    temp = Util.addWords(sourceValue, sourceValue2, 0);
-                    System.arraycopy(temp, 0, tempResult, 0, temp.length);
+                    result = (oldDest + sourceValue) & 0xFFFF;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                            sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                            tempResult[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(
-                            sourceValue2, sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(
-                            sourceValue2, sourceValue, tempResult, 0);
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
-                break;
 
-            case 1: // OR
-                // Clear appropriate flags
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, 0,
+                        result);
+                break; // ADD
 
-                // Execute OR on reg,reg or mem,reg. Determine this from mm bits of
+            case 1: // OR
+                // Execute OR on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // OR reg,reg
+                    // OR reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // OR source and destination, storing result in destination.
-                    // registerHighLow is re-used here.
-                    destinationRegister[CPU.REGISTER_GENERAL_LOW] |= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    destinationRegister[CPU.REGISTER_GENERAL_HIGH] |= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on lower byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = oldDest | sourceValue;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
-                    // OR mem,reg
+                    // OR mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory and OR with source register
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // OR source and destination
-                    tempResult[CPU.REGISTER_GENERAL_LOW] = (byte) (sourceValue[CPU.REGISTER_GENERAL_LOW] | sourceValue2[CPU.REGISTER_GENERAL_LOW]);
-                    tempResult[CPU.REGISTER_GENERAL_HIGH] = (byte) (sourceValue[CPU.REGISTER_GENERAL_HIGH] | sourceValue2[CPU.REGISTER_GENERAL_HIGH]);
+                    result = oldDest | sourceValue;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on lower byte of result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set SF, ZF, PF and clear OF, CF, AF
+                // FIXME: AF is kept, unlike for the other logical instructions
+                boolean auxiliaryCarry = cpu.flags.get(CPU.REGISTER_FLAGS_AF);
+                cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
+                cpu.flags.set(CPU.REGISTER_FLAGS_AF, auxiliaryCarry);
                 break; // OR
 
             case 2: // ADC
                 // Determine value of carry flag before reset
-                iCarryFlag = (byte) (cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0);
+                carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
-                // Execute ADC on reg,reg or mem,reg. Determine this from mm bits of
+                // Execute ADC on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // ADC reg,reg
+                    // ADC reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Store initial value for use in OF check
-                    System.arraycopy(destinationRegister, 0, oldDest, 0,
-                            destinationRegister.length);
-
-                    // ADD source and destination, storing result in destination.
-                    byte[] tmp = Util.addWords(destinationRegister, sourceValue,
-                            iCarryFlag);
-                    System.arraycopy(tmp, 0, destinationRegister, 0, tmp.length);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                            oldDest[CPU.REGISTER_GENERAL_LOW],
-                            destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(oldDest,
-                            sourceValue, iCarryFlag);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(oldDest,
-                            sourceValue, destinationRegister, iCarryFlag);
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest + sourceValue + carry) & 0xFFFF;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
-                    // ADC mem,reg
+                    // ADC mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory and ADC source register
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // Add source to destination
-                    tempResult = Util.addWords(sourceValue, sourceValue2,
-                            iCarryFlag);
+                    result = (oldDest + sourceValue + carry) & 0xFFFF;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_ADD(
-                            sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                            tempResult[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_ADD(
-                            sourceValue2, sourceValue, iCarryFlag);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_ADD(
-                            sourceValue2, sourceValue, tempResult, iCarryFlag);
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.ADD, Flags.WORD, oldDest, sourceValue, carry,
+                        result);
                 break; // ADC
 
             case 3: // SBB
-                // Flags modified: OF, SF, ZF, AF, PF, CF
                 // Determine value of carry flag before reset
-                iCarryFlag = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+                carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
                 // Execute SBB on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
@@ -378,378 +212,164 @@ public class Instruction_ImmGRP1_EvIv implements Instruction {
                     // SBB reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Store old value
-                    System.arraycopy(destinationRegister, 0, oldDest, 0,
-                            destinationRegister.length);
-
-                    // SBB source2 - (source1 + carry)
-                    temp = Util.subtractWords(destinationRegister, sourceValue,
-                            iCarryFlag);
-                    System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                            oldDest[CPU.REGISTER_GENERAL_LOW],
-                            destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(oldDest,
-                            sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(oldDest,
-                            sourceValue, destinationRegister, 0);
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest - sourceValue - carry) & 0xFFFF;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
                     // SBB mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // SBB source2 - (source1 + carry)
-                    temp = Util
-                            .subtractWords(sourceValue2, sourceValue, iCarryFlag);
-                    System.arraycopy(temp, 0, tempResult, 0, temp.length);
+                    result = (oldDest - sourceValue - carry) & 0xFFFF;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                            sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                            tempResult[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(
-                            sourceValue2, sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(
-                            sourceValue2, sourceValue, tempResult, 0);
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, carry,
+                        result);
                 break; // SBB
 
             case 4: // AND
-                // Clear appropriate flags
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-                // Bochs is always right (even if it clashes with the Intel docs)
-                // ;-)
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-                // Execute AND on reg,reg or mem,reg. Determine this from mm bits of
-                // addressbyte
-                if (((addressByte >> 6) & 0x03) == 3) {
-                    // AND reg,imm
-                    // Determine destination register from addressbyte, ANDing it
-                    // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    destinationRegister[CPU.REGISTER_GENERAL_LOW] &= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    destinationRegister[CPU.REGISTER_GENERAL_HIGH] &= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                            : false;
-                    // Test SF, only applies to LOW (set when MSB is 1, occurs when
-                    // AL >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF, only applies to LOW
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-
-                    if (cpu.doubleWord) {
-                        eDestinationRegister = cpu
-                                .decodeExtraRegister(addressByte & 0x07);
-                        eDestinationRegister[CPU.REGISTER_GENERAL_LOW] &= eSourceValue[CPU.REGISTER_GENERAL_LOW];
-                        eDestinationRegister[CPU.REGISTER_GENERAL_HIGH] &= eSourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                        // Need to check extended registers with flags
-                        // Test ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.flags[CPU.REGISTER_FLAGS_ZF]
-                                && eDestinationRegister[CPU.REGISTER_GENERAL_LOW] == 0
-                                && eDestinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                                : false;
-                        // Test SF (set when MSB is 1, occurs when AH >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = eDestinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                if (cpu.doubleWord) {
+                    // Execute AND on reg,imm or mem,imm. Determine this from mm bits of
+                    // addressbyte
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        // AND reg,imm
+                        // Determine destination register from addressbyte, ANDing it
+                        // with 0000 0111
+                        oldDest = cpu.getRegisterDoubleWord(addressByte & 0x07);
+                        result = oldDest & ((eSourceValue << 16) | sourceValue);
+                        cpu.setRegisterDoubleWord(addressByte & 0x07, result);
+                    } else {
+                        // AND mem,imm
+                        // Determine memory location
+                        memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
+                                memoryReferenceDisplacement);
+                        oldDest = cpu.getDoubleWordFromMemorySegment(addressByte,
+                                memoryReferenceLocation);
+                        result = oldDest & ((eSourceValue << 16) | sourceValue);
+
+                        // Store result in memory
+                        cpu.setDoubleWordInMemorySegment(addressByte, memoryReferenceLocation,
+                                result);
                     }
 
+                    // Set SF, ZF, PF and clear OF, CF, AF
+                    cpu.flags.setResult(Flags.LOGIC, Flags.DOUBLEWORD, result);
                 } else {
-                    // AND mem,imm
-                    // Determine memory location
-                    memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
-                            memoryReferenceDisplacement);
-
-                    // Get byte from memory and AND source register
-                    tempResult = cpu.getWordFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
-
-                    tempResult[CPU.REGISTER_GENERAL_LOW] &= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    tempResult[CPU.REGISTER_GENERAL_HIGH] &= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Store result back in memory reference location
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_LOW] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                            : false;
-                    // Test SF, only applies to LOW (set when MSB is 1, occurs when
-                    // AL >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF, only applies to LOW
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
-
-                    if (cpu.doubleWord) {
-                        // Get byte from memory and AND source register
-                        memoryReferenceLocation = Util.addWords(
-                                memoryReferenceLocation, new byte[]{0x00, 0x02},
-                                0);
-                        tempResult = cpu.getWordFromMemorySegment(addressByte,
+                    // Execute AND on reg,imm or mem,imm. Determine this from mm bits of
+                    // addressbyte
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        // AND reg,imm
+                        // Determine destination register from addressbyte, ANDing it
+                        // with 0000 0111
+                        oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                        result = oldDest & sourceValue;
+                        cpu.setRegisterWord(addressByte & 0x07, result);
+                    } else {
+                        // AND mem,imm
+                        // Determine memory location
+                        memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
+                                memoryReferenceDisplacement);
+                        oldDest = cpu.getWordFromMemorySegment(addressByte,
                                 memoryReferenceLocation);
+                        result = oldDest & sourceValue;
 
-                        tempResult[CPU.REGISTER_GENERAL_LOW] &= eSourceValue[CPU.REGISTER_GENERAL_LOW];
-                        tempResult[CPU.REGISTER_GENERAL_HIGH] &= eSourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                        // Store result back in memory reference location
-                        cpu.setWordInMemorySegment(addressByte,
-                                memoryReferenceLocation, tempResult);
-
-                        // Need to check extended registers with flags
-                        // Test ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.flags[CPU.REGISTER_FLAGS_ZF]
-                                && tempResult[CPU.REGISTER_GENERAL_LOW] == 0
-                                && tempResult[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                                : false;
-                        // Test SF (set when MSB is 1, occurs when AH >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        // Store result in memory
+                        cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                                result);
                     }
 
+                    // Set SF, ZF, PF and clear OF, CF, AF
+                    cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
                 }
                 break; // AND
 
             case 5: // SUB
-                // Flags modified: OF, SF, ZF, AF, PF, CF
-
                 // Execute SUB on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // SUB reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Store old value
-                    System.arraycopy(destinationRegister, 0, oldDest, 0,
-                            destinationRegister.length);
-
-                    // SUB source and destination, storing result in destination.
-                    temp = Util.subtractWords(destinationRegister, sourceValue, 0);
-                    System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                            oldDest[CPU.REGISTER_GENERAL_LOW],
-                            destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(oldDest,
-                            sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(oldDest,
-                            sourceValue, destinationRegister, 0);
-                    // Test ZF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on particular byte of destinationRegister (set when
-                    // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest - sourceValue) & 0xFFFF;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
                     // SUB mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get byte from memory and SUB source register
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
-
-                    // Subtract source from destination
-                    temp = Util.subtractWords(sourceValue2, sourceValue, 0);
-                    System.arraycopy(temp, 0, tempResult, 0, temp.length);
+                    result = (oldDest - sourceValue) & 0xFFFF;
 
                     // Store result in memory
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Test AF
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                            sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                            tempResult[CPU.REGISTER_GENERAL_LOW]);
-                    // Test CF
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(
-                            sourceValue2, sourceValue, 0);
-                    // Test OF
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(
-                            sourceValue2, sourceValue, tempResult, 0);
-                    // Test ZF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
-                    // Test SF on result (set when MSB is 1, occurs when result >=
-                    // 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF on result
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, 0,
+                        result);
                 break; // SUB
 
             case 6: // XOR
-                // Clear appropriate flags
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-                // Execute XOR on reg,reg or mem,reg. Determine this from mm bits of
+                // Execute XOR on reg,imm or mem,imm. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // XOR reg,imm
                     // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    destinationRegister = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    destinationRegister[CPU.REGISTER_GENERAL_LOW] ^= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    destinationRegister[CPU.REGISTER_GENERAL_HIGH] ^= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0
-                            && destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                            : false;
-                    // Test SF, only applies to LOW (set when MSB is 1, occurs when
-                    // AL >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF, only applies to LOW
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = oldDest ^ sourceValue;
+                    cpu.setRegisterWord(addressByte & 0x07, result);
                 } else {
                     // XOR mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get byte from memory and XOR source register
-                    tempResult = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
+                    result = oldDest ^ sourceValue;
 
-                    tempResult[CPU.REGISTER_GENERAL_LOW] ^= sourceValue[CPU.REGISTER_GENERAL_LOW];
-                    tempResult[CPU.REGISTER_GENERAL_HIGH] ^= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-
-                    // Store result back in memory reference location
-                    cpu.setWordInMemorySegment(addressByte,
-                            memoryReferenceLocation, tempResult);
-
-                    // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_LOW] == 0
-                            && tempResult[CPU.REGISTER_GENERAL_HIGH] == 0 ? true
-                            : false;
-                    // Test SF, only applies to LOW (set when MSB is 1, occurs when
-                    // AL >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
-                    // Set PF, only applies to LOW
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    // Store result in memory
+                    cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
+                            result);
                 }
+
+                // Set SF, ZF, PF and clear OF, CF, AF
+                cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
                 break; // XOR
 
             case 7: // CMP
-                // Determine source2 value from mm bits of addressbyte
+                // Execute CMP on reg,imm or mem,imm. Determine this from mm bits of
+                // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // Source2 is a register
-                    // Determine "destination" value from addressbyte, ANDing it
+                    // CMP reg,imm
+                    // Determine destination register from addressbyte, ANDing it
                     // with 0000 0111
-                    sourceValue2 = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    oldDest = cpu.getRegisterWord(addressByte & 0x07);
+                    result = (oldDest - sourceValue) & 0xFFFF;
                 } else {
-                    // Source2 is in memory
+                    // CMP mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
-
-                    // Get word from memory
-                    sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+                    oldDest = cpu.getWordFromMemorySegment(addressByte,
                             memoryReferenceLocation);
+                    result = (oldDest - sourceValue) & 0xFFFF;
                 }
 
-                // Proceed with compare, by subtracting values
-                temp = Util.subtractWords(sourceValue2, sourceValue, 0);
-                System.arraycopy(temp, 0, tempResult, 0, temp.length);
-
-                // Test AF
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                        sourceValue2[CPU.REGISTER_GENERAL_LOW],
-                        tempResult[CPU.REGISTER_GENERAL_LOW]);
-                // Test CF
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(sourceValue2,
-                        sourceValue, 0);
-                // Test OF
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(sourceValue2,
-                        sourceValue, tempResult, 0);
-                // Test ZF, is tested against tempResult
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                        && tempResult[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true
-                        : false;
-                // Test SF, only applies to lower byte (set when MSB is 1, occurs
-                // when tempResult >= 0x80)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                        : false;
-                // Set PF, only applies to lower byte
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
-
-                break;
+                // Set OF, SF, ZF, AF, CF, PF
+                cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, 0,
+                        result);
+                break; // CMP
 
             default:
                 // TODO Throw exception for illegal nnn bits
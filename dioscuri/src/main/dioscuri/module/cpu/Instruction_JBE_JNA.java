@@ -85,12 +85,11 @@ public class Instruction_JBE_JNA implements Instruction {
 
         // Jump if carry or zero flag set, otherwise skip instruction
         // IP has already been properly updated when bytes were retrieved
-        if (cpu.flags[CPU.REGISTER_FLAGS_CF]
-                || cpu.flags[CPU.REGISTER_FLAGS_ZF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_CF)
+                || cpu.flags.get(CPU.REGISTER_FLAGS_ZF)) {
             // Although not explicitly stated, IA-SDM2 p. 3-332 8-byte
             // displacement is sign-extended and added.
-            cpu.ip = Util.addWords(cpu.ip, new byte[]{
-                    Util.signExtend(displacement), displacement}, 0);
+            cpu.ip = (cpu.ip + displacement) & 0xFFFF;
         }
     }
 }
@@ -49,7 +49,7 @@ public class Instruction_JB_JNAE_JC_long implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] displacement;
+    int displacement;
 
     // Constructors
 
@@ -57,7 +57,6 @@ public class Instruction_JB_JNAE_JC_long implements Instruction {
      * Class constructor
      */
     public Instruction_JB_JNAE_JC_long() {
-        displacement = new byte[2];
     }
 
     /**
@@ -86,8 +85,8 @@ public class Instruction_JB_JNAE_JC_long implements Instruction {
 
         // Jump if carry flag set, otherwise skip instruction
         // IP has already been properly updated when bytes were retrieved
-        if (cpu.flags[CPU.REGISTER_FLAGS_CF]) {
-            cpu.ip = Util.addWords(cpu.ip, displacement, 0);
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_CF)) {
+            cpu.ip = (cpu.ip + displacement) & 0xFFFF;
         }
     }
 }
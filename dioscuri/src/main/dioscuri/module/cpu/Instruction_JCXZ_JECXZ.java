@@ -85,12 +85,10 @@ public class Instruction_JCXZ_JECXZ implements Instruction {
 
         // Jump if register CX is zero, otherwise skip instruction
         // IP has already been properly updated when bytes were retrieved
-        if (cpu.cx[CPU.REGISTER_GENERAL_LOW] == 0
-                && cpu.cx[CPU.REGISTER_GENERAL_HIGH] == 0) {
+        if ((cpu.ecx & 0xFFFF) == 0) {
             // Although not explicitly stated, IA-SDM2 p. 3-332 8-byte
             // displacement is sign-extended and added.
-            cpu.ip = Util.addWords(cpu.ip, new byte[]{
-                    Util.signExtend(displacement), displacement}, 0);
+            cpu.ip = (cpu.ip + displacement) & 0xFFFF;
         }
     }
 }
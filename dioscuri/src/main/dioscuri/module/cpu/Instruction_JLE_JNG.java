@@ -87,12 +87,11 @@ public class Instruction_JLE_JNG implements Instruction {
         // Jump if zero flag or sign not equal to overflow flag, otherwise skip
         // instruction
         // IP has already been properly updated when bytes were retrieved
-        if ((cpu.flags[CPU.REGISTER_FLAGS_ZF])
-                || (cpu.flags[CPU.REGISTER_FLAGS_SF] != cpu.flags[CPU.REGISTER_FLAGS_OF])) {
+        if ((cpu.flags.get(CPU.REGISTER_FLAGS_ZF))
+                || (cpu.flags.get(CPU.REGISTER_FLAGS_SF) != cpu.flags.get(CPU.REGISTER_FLAGS_OF))) {
             // Although not explicitly stated, IA-SDM2 p. 3-332 8-byte
             // displacement is sign-extended and added.
-            cpu.ip = Util.addWords(cpu.ip, new byte[]{
-                    Util.signExtend(displacement), displacement}, 0);
+            cpu.ip = (cpu.ip + displacement) & 0xFFFF;
         }
     }
 }
@@ -49,8 +49,6 @@ public class Instruction_JMP_farAP implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] newCS = new byte[2];
-    byte[] newIP = new byte[2];
 
     // Constructors
 
@@ -77,13 +75,11 @@ public class Instruction_JMP_farAP implements Instruction {
      */
     public void execute() {
         // Get displacement words (immediate).
-        byte[] tmpIP = cpu.getWordFromCode();
-        byte[] tmpCS = cpu.getWordFromCode();
+        int tmpIP = cpu.getWordFromCode();
+        int tmpCS = cpu.getWordFromCode();
 
         // Assign words to ip and cs
-        cpu.cs[CPU.REGISTER_SEGMENT_LOW] = tmpCS[CPU.REGISTER_LOW];
-        cpu.cs[CPU.REGISTER_SEGMENT_HIGH] = tmpCS[CPU.REGISTER_HIGH];
-        cpu.ip[CPU.REGISTER_LOW] = tmpIP[CPU.REGISTER_LOW];
-        cpu.ip[CPU.REGISTER_HIGH] = tmpIP[CPU.REGISTER_HIGH];
+        cpu.cs = tmpCS;
+        cpu.ip = tmpIP;
     }
 }
@@ -49,7 +49,7 @@ public class Instruction_JMP_nearJv implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] displacement;
+    int displacement;
 
     // Constructors
 
@@ -57,7 +57,6 @@ public class Instruction_JMP_nearJv implements Instruction {
      * Class constructor
      */
     public Instruction_JMP_nearJv() {
-        displacement = new byte[2];
     }
 
     /**
@@ -83,6 +82,6 @@ public class Instruction_JMP_nearJv implements Instruction {
         // the IP, it has already been incremented thrice, so no extra
         // arithmetic necessary
         displacement = cpu.getWordFromCode();
-        cpu.ip = Util.addWords(cpu.ip, displacement, 0);
+        cpu.ip = (cpu.ip + displacement) & 0xFFFF;
     }
 }
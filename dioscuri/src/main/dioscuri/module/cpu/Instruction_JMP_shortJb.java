@@ -85,7 +85,6 @@ public class Instruction_JMP_shortJb implements Instruction {
         // necessary
         displacement = cpu.getByteFromCode();
 
-        cpu.ip = Util.addWords(cpu.ip, new byte[]{
-                Util.signExtend(displacement), displacement}, 0);
+        cpu.ip = (cpu.ip + displacement) & 0xFFFF;
     }
 }
@@ -85,11 +85,10 @@ public class Instruction_JNB_JAE_JNC implements Instruction {
 
         // Jump if carry flag NOT set, otherwise skip instruction
         // IP has already been properly updated when bytes were retrieved
-        if (!cpu.flags[CPU.REGISTER_FLAGS_CF]) {
+        if (!cpu.flags.get(CPU.REGISTER_FLAGS_CF)) {
             // Although not explicitly stated, IA-SDM2 p. 3-332 8-byte
             // displacement is sign-extended and added.
-            cpu.ip = Util.addWords(cpu.ip, new byte[]{
-                    Util.signExtend(displacement), displacement}, 0);
+            cpu.ip = (cpu.ip + displacement) & 0xFFFF;
         }
     }
 }
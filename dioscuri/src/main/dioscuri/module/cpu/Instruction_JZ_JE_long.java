@@ -49,7 +49,7 @@ public class Instruction_JZ_JE_long implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] displacement;
+    int displacement;
 
     // Constructors
 
@@ -57,7 +57,6 @@ public class Instruction_JZ_JE_long implements Instruction {
      * Class constructor
      */
     public Instruction_JZ_JE_long() {
-        displacement = new byte[2];
     }
 
     /**
@@ -86,8 +85,8 @@ public class Instruction_JZ_JE_long implements Instruction {
 
         // Jump if zero flag set, otherwise skip instruction
         // IP has already been properly updated when bytes were retrieved
-        if (cpu.flags[CPU.REGISTER_FLAGS_ZF]) {
-            cpu.ip = Util.addWords(cpu.ip, displacement, 0);
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_ZF)) {
+            cpu.ip = (cpu.ip + displacement) & 0xFFFF;
         }
     }
 }
@@ -79,6 +79,6 @@ public class Instruction_LAHF implements Instruction {
      */
     public void execute() {
         // Move LOW byte of flags into HIGH byte of AX
-        cpu.ax[CPU.REGISTER_GENERAL_HIGH] = Util.booleansToBytes(cpu.flags)[CPU.REGISTER_GENERAL_LOW];
+        cpu.eax = (cpu.eax & 0xFFFF00FF) | ((cpu.flags.getValue() & 0xFF) << 8);
     }
 }
@@ -49,8 +49,8 @@ public class Instruction_LEAVE implements Instruction {
     // Attributes
     private CPU cpu;
 
-    byte[] destWord;
-    byte[] destDoubleWord;
+    int destWord;
+    int destDoubleWord;
 
     // Constructors
 
@@ -58,8 +58,6 @@ public class Instruction_LEAVE implements Instruction {
      * Class constructor
      */
     public Instruction_LEAVE() {
-        destWord = new byte[2];
-        destDoubleWord = new byte[2];
     }
 
     /**
@@ -85,29 +83,23 @@ public class Instruction_LEAVE implements Instruction {
         // Check if stacksize is 32 or 16 bit
         if (cpu.stackSize == 32) {
             // Copy eBP to eSP
-            cpu.esp[CPU.REGISTER_GENERAL_HIGH] = cpu.ebp[CPU.REGISTER_GENERAL_HIGH];
-            cpu.esp[CPU.REGISTER_GENERAL_LOW] = cpu.ebp[CPU.REGISTER_GENERAL_LOW];
-            cpu.sp[CPU.REGISTER_GENERAL_HIGH] = cpu.bp[CPU.REGISTER_GENERAL_HIGH];
-            cpu.sp[CPU.REGISTER_GENERAL_LOW] = cpu.bp[CPU.REGISTER_GENERAL_LOW];
+            cpu.esp = cpu.ebp;
         } else {
             // Stack size is 16
             // Copy BP to SP
-            cpu.sp[CPU.REGISTER_GENERAL_HIGH] = cpu.bp[CPU.REGISTER_GENERAL_HIGH];
-            cpu.sp[CPU.REGISTER_GENERAL_LOW] = cpu.bp[CPU.REGISTER_GENERAL_LOW];
+            cpu.esp = (cpu.esp & 0xFFFF0000) | (cpu.ebp & 0xFFFF);
         }
 
         // Check operand size 32 or 16 bit
         if (cpu.doubleWord) {
             // Operand size is 32
             destWord = cpu.getWordFromStack();
-            System.arraycopy(destWord, 0, cpu.bp, 0, destWord.length);
             destDoubleWord = cpu.getWordFromStack();
-            System.arraycopy(destDoubleWord, 0, cpu.ebp, 0,
-                    destDoubleWord.length);
+            cpu.ebp = (destDoubleWord << 16) | destWord;
         } else {
             // Operand size is 16
             destWord = cpu.getWordFromStack();
-            System.arraycopy(destWord, 0, cpu.bp, 0, destWord.length);
+            cpu.ebp = (cpu.ebp & 0xFFFF0000) | destWord;
         }
     }
 }
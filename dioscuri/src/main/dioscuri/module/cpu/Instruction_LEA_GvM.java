@@ -53,13 +53,9 @@ public class Instruction_LEA_GvM implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-    byte[] destinationRegister = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
     // Constructors
 
@@ -102,10 +98,6 @@ public class Instruction_LEA_GvM implements Instruction {
 
         // Determine destination resgister using addressbyte. AND it with 0011
         // 1000 and right-shift 3 to get rrr bits
-        destinationRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
-        destinationRegister[CPU.REGISTER_GENERAL_LOW] = memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW];
-        destinationRegister[CPU.REGISTER_GENERAL_HIGH] = memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH];
+        cpu.setRegisterWord((addressByte & 0x38) >> 3, memoryReferenceLocation);
     }
 }
@@ -49,18 +49,13 @@ public class Instruction_LES_GvMp implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte[] segmentSelector = new byte[2];
-    byte[] segmentOffset = new byte[2];
-    byte[] eSegmentOffset = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] destinationRegister = new byte[2];
-    byte[] eDestinationRegister = new byte[2];
+    int segmentSelector = 0;
+    int segmentOffset = 0;
+    int eSegmentOffset = 0;
 
     // Constructors
 
@@ -68,7 +63,6 @@ public class Instruction_LES_GvMp implements Instruction {
      * Class constructor
      */
     public Instruction_LES_GvMp() {
-        operandWordSize = true;
     }
 
     /**
@@ -93,11 +87,6 @@ public class Instruction_LES_GvMp implements Instruction {
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
-        // Determine destination value using addressbyte. AND it with 0011 1000
-        // and right-shift 3 to get rrr bits
-        destinationRegister = cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3);
-
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
@@ -105,13 +94,12 @@ public class Instruction_LES_GvMp implements Instruction {
         memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                 memoryReferenceDisplacement);
 
-        // Retrieve offset and selector from memory (16-bit)
+        // Retrieve offset, selector from memory (16-bit)
         segmentOffset = cpu.getWordFromMemorySegment(addressByte,
                 memoryReferenceLocation);
 
         // Redetermine memory location (increment displacement with 2)
-        memoryReferenceDisplacement = Util.addWords(
-                memoryReferenceDisplacement, new byte[]{0x00, 0x02}, 0);
+        memoryReferenceDisplacement = (memoryReferenceDisplacement + 2) & 0xFFFF;
         memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                 memoryReferenceDisplacement);
 
@@ -119,18 +107,18 @@ public class Instruction_LES_GvMp implements Instruction {
                 memoryReferenceLocation);
 
         // Store segment selector in ES
-        cpu.es[CPU.REGISTER_SEGMENT_LOW] = segmentSelector[CPU.REGISTER_GENERAL_LOW];
-        cpu.es[CPU.REGISTER_SEGMENT_HIGH] = segmentSelector[CPU.REGISTER_GENERAL_HIGH];
+        cpu.es = segmentSelector;
 
-        // Store segment offset in destination register
-        destinationRegister[CPU.REGISTER_GENERAL_LOW] = segmentOffset[CPU.REGISTER_GENERAL_LOW];
-        destinationRegister[CPU.REGISTER_GENERAL_HIGH] = segmentOffset[CPU.REGISTER_GENERAL_HIGH];
+        // Store segment offset in destination register, determined using
+        // addressbyte. AND it with 0011 1000 and right-shift 3 to get rrr bits
+        cpu.setRegisterWord((addressByte & 0x38) >> 3, segmentOffset);
 
         if (cpu.doubleWord) // 32 bit registers
         {
+            // FIXME: the upper word of the offset is read from displacement + 6
+            // and stored in the register indicated by the sss bits
             // Redetermine memory location (increment displacement with 4)
-            memoryReferenceDisplacement = Util.addWords(
-                    memoryReferenceDisplacement, new byte[]{0x00, 0x04}, 0);
+            memoryReferenceDisplacement = (memoryReferenceDisplacement + 4) & 0xFFFF;
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
 
@@ -138,12 +126,9 @@ public class Instruction_LES_GvMp implements Instruction {
             eSegmentOffset = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
 
-            // Retrieve destination register (32-bit)
-            eDestinationRegister = cpu.decodeExtraRegister(addressByte & 0x07);
-
             // Store segment offset in destination register (32-bit)
-            eDestinationRegister[CPU.REGISTER_GENERAL_LOW] = eSegmentOffset[CPU.REGISTER_GENERAL_LOW];
-            eDestinationRegister[CPU.REGISTER_GENERAL_HIGH] = eSegmentOffset[CPU.REGISTER_GENERAL_HIGH];
+            cpu.setRegisterDoubleWord(addressByte & 0x07, (eSegmentOffset << 16)
+                    | cpu.getRegisterWord(addressByte & 0x07));
         }
     }
 }
@@ -79,8 +79,8 @@ public class Instruction_LOCK implements Instruction {
         // FIXME: still to implement
         System.out.println("LOCK instruction (0x40) not yet implemented!");
 
-        // Increment the AX register
-        cpu.ax[CPU.REGISTER_GENERAL_LOW]++;
+        // Increment the AL register
+        cpu.eax = (cpu.eax & 0xFFFFFF00) | ((cpu.eax + 1) & 0xFF);
 
     }
 }
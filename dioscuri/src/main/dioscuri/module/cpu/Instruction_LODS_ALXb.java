@@ -49,8 +49,6 @@ public class Instruction_LODS_ALXb implements Instruction {
     // Attributes
     private CPU cpu;
     byte source;
-    byte[] incrementSize = new byte[]{0x00, 0x01}; // Byte size increment for
-    // SI
 
     // Constructors
 
@@ -80,22 +78,22 @@ public class Instruction_LODS_ALXb implements Instruction {
     public void execute() {
         // Get byte at DS:SI and assign to AL; DS segment override is allowed
         if (cpu.segmentOverride) {
-            source = cpu.getByteFromMemorySegment((byte) 0, cpu.si);
+            source = cpu.getByteFromMemorySegment((byte) 0, cpu.esi & 0xFFFF);
         } else {
-            source = cpu.getByteFromData(cpu.si);
+            source = cpu.getByteFromData(cpu.esi & 0xFFFF);
         }
 
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] = source;
+        cpu.eax = (cpu.eax & 0xFFFFFF00) | (source & 0xFF);
 
         // Update SI according to DF flag
         // Check direction of flag: If DF == 0, SI is incremented; if DF == 1,
         // SI is decremented
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement the SI register by byte size
-            cpu.si = Util.subtractWords(cpu.si, incrementSize, 0);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 1) & 0xFFFF);
         } else {
             // Increment the SI register by byte size
-            cpu.si = Util.addWords(cpu.si, incrementSize, 0);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 1) & 0xFFFF);
         }
     }
 }
@@ -48,9 +48,7 @@ public class Instruction_LODS_AXXv implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] source;
-    byte[] incrementSize = new byte[]{0x00, 0x02}; // Word size increment for
-    // SI
+    int source;
 
     // Constructors
 
@@ -58,7 +56,6 @@ public class Instruction_LODS_AXXv implements Instruction {
      * Class constructor
      */
     public Instruction_LODS_AXXv() {
-        source = new byte[2];
     }
 
     /**
@@ -81,22 +78,22 @@ public class Instruction_LODS_AXXv implements Instruction {
     public void execute() {
         // Get word at DS:SI and assign to AX; DS segment override is allowed
         if (cpu.segmentOverride) {
-            source = cpu.getWordFromMemorySegment((byte) 0, cpu.si);
+            source = cpu.getWordFromMemorySegment((byte) 0, cpu.esi & 0xFFFF);
         } else {
-            source = cpu.getWordFromData(cpu.si);
+            source = cpu.getWordFromData(cpu.esi & 0xFFFF);
         }
 
-        cpu.ax = source;
+        cpu.eax = (cpu.eax & 0xFFFF0000) | source;
 
         // Update SI according to DF flag
         // Check direction of flag: If DF == 0, SI is incremented; if DF == 1,
         // SI is decremented
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement the SI register by word size
-            cpu.si = Util.subtractWords(cpu.si, incrementSize, 0);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 2) & 0xFFFF);
         } else {
             // Increment the SI register by word size
-            cpu.si = Util.addWords(cpu.si, incrementSize, 0);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 2) & 0xFFFF);
         }
     }
 }
@@ -51,7 +51,6 @@ public class Instruction_LOOPNE_LOOPNZ_Jb implements Instruction {
     // Attributes
     private CPU cpu;
     byte displacement;
-    byte[] decrement = new byte[]{0x00, 0x01}; // Decrement by one
 
     // Constructors
 
@@ -79,16 +78,15 @@ public class Instruction_LOOPNE_LOOPNZ_Jb implements Instruction {
         displacement = cpu.getByteFromCode();
 
         // Decrement the CX register
-        cpu.cx = Util.subtractWords(cpu.cx, decrement, 0);
+        cpu.ecx = (cpu.ecx & 0xFFFF0000) | ((cpu.ecx - 1) & 0xFFFF);
 
         // Test LOOP condition, jump if CX is not zero and ZF == 0
-        if (!cpu.flags[CPU.REGISTER_FLAGS_ZF]
-                && (cpu.cx[CPU.REGISTER_GENERAL_LOW] != 0x00 || cpu.cx[CPU.REGISTER_GENERAL_HIGH] != 0x00)) {
+        if (!cpu.flags.get(CPU.REGISTER_FLAGS_ZF)
+                && (cpu.ecx & 0xFFFF) != 0) {
             // Jump is relative to _next_ instruction, but by the time we change
             // the IP, it has already been incremented twice, so no extra
             // arithmetic necessary
-            cpu.ip = Util.addWords(cpu.ip, new byte[]{
-                    Util.signExtend(displacement), displacement}, 0);
+            cpu.ip = (cpu.ip + displacement) & 0xFFFF;
         }
     }
 }
@@ -55,8 +55,6 @@ public class Instruction_MOVS_XbYb implements Instruction {
     boolean operandWordSize;
 
     byte source1;
-    byte[] transition;
-    byte[] temp;
 
     // Constructors
 
@@ -67,10 +65,6 @@ public class Instruction_MOVS_XbYb implements Instruction {
         operandWordSize = false;
         source1 = 0;
 
-        // Set transition that holds the amount si and di should be altered
-        // (byte = 1)
-        transition = new byte[]{0x00, 0x01};
-        temp = new byte[2];
     }
 
     /**
@@ -99,26 +93,22 @@ public class Instruction_MOVS_XbYb implements Instruction {
             // Note: the addressbyte passed here is a value chosen so if the
             // segmentOverride fails (which it shouldn't!),
             // the DS segment is still chosen.
-            source1 = cpu.getByteFromMemorySegment((byte) 0, cpu.si);
+            source1 = cpu.getByteFromMemorySegment((byte) 0, cpu.esi & 0xFFFF);
         } else {
-            source1 = cpu.getByteFromData(cpu.si);
+            source1 = cpu.getByteFromData(cpu.esi & 0xFFFF);
         }
 
-        cpu.setByteToExtra(cpu.di, source1);
+        cpu.setByteToExtra(cpu.edi & 0xFFFF, source1);
 
         // Increment or decrement SI and DI depending on DF flag
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement registers
-            temp = Util.subtractWords(cpu.si, transition, 0);
-            System.arraycopy(temp, 0, cpu.si, 0, temp.length);
-            temp = Util.subtractWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 1) & 0xFFFF);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 1) & 0xFFFF);
         } else {
             // Increment registers
-            temp = Util.addWords(cpu.si, transition, 0);
-            System.arraycopy(temp, 0, cpu.si, 0, temp.length);
-            temp = Util.addWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 1) & 0xFFFF);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 1) & 0xFFFF);
         }
     }
 }
@@ -54,10 +54,7 @@ public class Instruction_MOVS_XvYv implements Instruction {
 
     boolean operandWordSize;
 
-    byte[] source1;
-    byte[] word0x0002;
-    byte[] word0x0004;
-    byte[] temp;
+    int source1;
 
     // Constructors
 
@@ -67,12 +64,6 @@ public class Instruction_MOVS_XvYv implements Instruction {
     public Instruction_MOVS_XvYv() {
         operandWordSize = false;
 
-        source1 = new byte[2];
-        // Set transition that holds the amount si and di should be altered
-        // (word = 2)
-        word0x0002 = new byte[]{0x00, 0x02};
-        word0x0004 = new byte[]{0x00, 0x04};
-        temp = new byte[2];
     }
 
     /**
@@ -103,19 +94,14 @@ public class Instruction_MOVS_XvYv implements Instruction {
             // segmentOverride fails
             // (which it shouldn't!), the DS segment is still chosen.
             /*
-             * source1 = cpu.getWordFromMemorySegment((byte) 0, cpu.si);
+             * source1 = cpu.getWordFromMemorySegment((byte) 0, cpu.esi & 0xFFFF);
              * 
-             * cpu.setWordToExtra(cpu.di, source1);
+             * cpu.setWordToExtra(cpu.edi & 0xFFFF, source1);
              * 
              * // Increment or decrement SI and DI depending on DF flag if
-             * (cpu.flags[CPU.REGISTER_FLAGS_DF]) { // Decrement
-             * registers temp = Util.subtractWords(cpu.si, word0x0004, 0);
-             * System.arraycopy(temp, 0, cpu.si, 0, temp.length); temp =
-             * Util.subtractWords(cpu.di, word0x0004, 0); System.arraycopy(temp,
-             * 0, cpu.di, 0, temp.length); } else { // Increment registers temp
-             * = Util.addWords(cpu.si, word0x0004, 0); System.arraycopy(temp, 0,
-             * cpu.si, 0, temp.length); temp = Util.addWords(cpu.di, word0x0004,
-             * 0); System.arraycopy(temp, 0, cpu.di, 0, temp.length); }
+             * (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) { // Decrement
+             * registers cpu.esi -= 4; cpu.edi -= 4; } else { // Increment
+             * registers cpu.esi += 4; cpu.edi += 4; }
              */
         } else {
             // 16-bit
@@ -124,23 +110,19 @@ public class Instruction_MOVS_XvYv implements Instruction {
             // Note: the addressbyte (0) passed here is a value chosen so if the
             // segmentOverride fails
             // (which it shouldn't!), the DS segment is still chosen.
-            source1 = cpu.getWordFromMemorySegment((byte) 0, cpu.si);
+            source1 = cpu.getWordFromMemorySegment((byte) 0, cpu.esi & 0xFFFF);
 
-            cpu.setWordToExtra(cpu.di, source1);
+            cpu.setWordToExtra(cpu.edi & 0xFFFF, source1);
 
             // Increment or decrement SI and DI depending on DF flag
-            if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+            if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
                 // Decrement registers
-                temp = Util.subtractWords(cpu.si, word0x0002, 0);
-                System.arraycopy(temp, 0, cpu.si, 0, temp.length);
-                temp = Util.subtractWords(cpu.di, word0x0002, 0);
-                System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+                cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 2) & 0xFFFF);
+                cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 2) & 0xFFFF);
             } else {
                 // Increment registers
-                temp = Util.addWords(cpu.si, word0x0002, 0);
-                System.arraycopy(temp, 0, cpu.si, 0, temp.length);
-                temp = Util.addWords(cpu.di, word0x0002, 0);
-                System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+                cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 2) & 0xFFFF);
+                cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 2) & 0xFFFF);
             }
         }
     }
@@ -49,7 +49,7 @@ public class Instruction_MOV_ALOb implements Instruction {
 
     // Attributes
     private CPU cpu;
-    private byte[] displ = new byte[2];
+    private int displ;
     byte dataSegmentAddressByte = 0;
 
     // Constructors
@@ -90,7 +90,7 @@ public class Instruction_MOV_ALOb implements Instruction {
         // a default of 0 is used here to end up in the Data Segment (unless of
         // course there is an override,
         // but that is handled in setByte[..])
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] = cpu.getByteFromMemorySegment(
-                dataSegmentAddressByte, displ);
+        cpu.eax = (cpu.eax & 0xFFFFFF00) | (cpu.getByteFromMemorySegment(
+                dataSegmentAddressByte, displ) & 0xFF);
     }
 }
@@ -49,9 +49,7 @@ public class Instruction_MOV_AXOv implements Instruction {
 
     // Attributes
     private CPU cpu;
-    private byte[] displ = new byte[2];
-    private byte[] tempWord = new byte[2];
-    private byte[] word0x02 = new byte[]{0x00, 0x02};
+    private int displ;
     private byte dataSegmentAddressByte = 0;
 
     // Constructors
@@ -94,16 +92,16 @@ public class Instruction_MOV_AXOv implements Instruction {
         // a default of 0 is used here to end up in the Data Segment (unless of
         // course there is an override,
         // but that is handled in getWord[..])
-        cpu.ax = cpu.getWordFromMemorySegment(dataSegmentAddressByte, displ);
+        cpu.eax = (cpu.eax & 0xFFFF0000)
+                | cpu.getWordFromMemorySegment(dataSegmentAddressByte, displ);
 
         if (cpu.doubleWord) {
             // Increment displacement
-            tempWord = Util.addWords(displ, word0x02, 0);
-            System.arraycopy(tempWord, 0, displ, 0, tempWord.length);
+            displ = (displ + 2) & 0xFFFF;
 
             // Store upper 16 bits in eAX
-            cpu.eax = cpu.getWordFromMemorySegment(dataSegmentAddressByte,
-                    displ);
+            cpu.eax = (cpu.eax & 0xFFFF) | (cpu.getWordFromMemorySegment(
+                    dataSegmentAddressByte, displ) << 16);
         }
     }
 }
@@ -50,15 +50,11 @@ public class Instruction_MOV_EbGb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte sourceValue = 0;
-    byte[] destinationRegister = new byte[2];
-    byte registerHighLow = 0;
+    int sourceValue = 0;
 
     // Constructors
 
@@ -87,7 +83,6 @@ public class Instruction_MOV_EbGb implements Instruction {
      * Flags modified: none
      */
     public void execute() {
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -96,11 +91,7 @@ public class Instruction_MOV_EbGb implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        // Determine high/low part of register based on bit 5 (leading rrr bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3))[registerHighLow];
+        sourceValue = cpu.getRegisterByte((addressByte & 0x38) >> 3);
 
         // Execute MOV on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -108,15 +99,7 @@ public class Instruction_MOV_EbGb implements Instruction {
             // MOV reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            // Re-determine high/low part of register based on bit 3 (leading
-            // sss bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // MOV source to destination
-            destinationRegister[registerHighLow] = sourceValue;
+            cpu.setRegisterByte(addressByte & 0x07, sourceValue);
         } else {
             // MOV mem,reg
             // Determine memory location
@@ -125,7 +108,7 @@ public class Instruction_MOV_EbGb implements Instruction {
 
             // MOV source to destination
             cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
-                    sourceValue);
+                    (byte) sourceValue);
         }
     }
 }
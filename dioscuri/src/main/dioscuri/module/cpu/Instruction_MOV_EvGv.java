@@ -50,16 +50,11 @@ public class Instruction_MOV_EvGv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] sourceRegister = new byte[2];
-    byte[] destinationRegister = new byte[2];
-    byte[] eSourceRegister = new byte[2];
-    byte[] eDestinationRegister = new byte[2];
+    int sourceValue = 0;
 
     // Constructors
 
@@ -88,7 +83,6 @@ public class Instruction_MOV_EvGv implements Instruction {
      * Flags modified: none
      */
     public void execute() {
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -97,8 +91,12 @@ public class Instruction_MOV_EvGv implements Instruction {
 
         // Determine source register using addressbyte. AND it with 0011 1000
         // and right-shift 3 to get rrr bits
-        sourceRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
+        if (cpu.doubleWord) {
+            // 32 bit registers
+            sourceValue = cpu.getRegisterDoubleWord((addressByte & 0x38) >> 3);
+        } else {
+            sourceValue = cpu.getRegisterWord((addressByte & 0x38) >> 3);
+        }
 
         // Execute MOV on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -106,23 +104,10 @@ public class Instruction_MOV_EvGv implements Instruction {
             // MOV reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // MOV source to destination
-            System.arraycopy(sourceRegister, 0, destinationRegister, 0,
-                    sourceRegister.length);
-
-            if (cpu.doubleWord) // 32 bit registers
-            {
-                // Repeat actions for extra register
-                eSourceRegister = (cpu
-                        .decodeExtraRegister((addressByte & 0x38) >> 3));
-
-                eDestinationRegister = cpu
-                        .decodeExtraRegister(addressByte & 0x07);
-                System.arraycopy(eSourceRegister, 0, eDestinationRegister, 0,
-                        eSourceRegister.length);
+            if (cpu.doubleWord) {
+                cpu.setRegisterDoubleWord(addressByte & 0x07, sourceValue);
+            } else {
+                cpu.setRegisterWord(addressByte & 0x07, sourceValue);
             }
         } else {
             // MOV mem,reg
@@ -131,24 +116,12 @@ public class Instruction_MOV_EvGv implements Instruction {
                     memoryReferenceDisplacement);
 
             // MOV source to destination
-            cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
-                    sourceRegister);
-
-            if (cpu.doubleWord) // 32 bit registers
-            {
-                // Repeat actions for extra register
-                eSourceRegister = (cpu
-                        .decodeExtraRegister((addressByte & 0x38) >> 3));
-
-                // Increase memory location
-                memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] += 2;
-                if (memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == 0
-                        || memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == 1) {
-                    // Overflow
-                    memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]++;
-                }
+            if (cpu.doubleWord) {
+                cpu.setDoubleWordInMemorySegment(addressByte,
+                        memoryReferenceLocation, sourceValue);
+            } else {
                 cpu.setWordInMemorySegment(addressByte,
-                        memoryReferenceLocation, eSourceRegister);
+                        memoryReferenceLocation, sourceValue);
             }
         }
     }
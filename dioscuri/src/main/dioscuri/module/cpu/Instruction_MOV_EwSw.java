@@ -51,14 +51,11 @@ public class Instruction_MOV_EwSw implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] sourceRegister = new byte[2];
-    byte[] destinationRegister = new byte[2];
+    int sourceValue = 0;
 
     // Constructors
 
@@ -87,7 +84,6 @@ public class Instruction_MOV_EwSw implements Instruction {
      * Flags modified: none
      */
     public void execute() {
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -97,9 +93,7 @@ public class Instruction_MOV_EwSw implements Instruction {
         // Determine source segment register using addressbyte. AND it with 0011
         // 1000 and right-shift 3 to get rrr bits
         // Instruction operates on segment register, so use corresponding table
-        // High / low part of register is also determined here (might be re-used
-        // later, so do not depend on it anymore)
-        sourceRegister = (cpu.decodeSegmentRegister((addressByte & 0x38) >> 3));
+        sourceValue = cpu.getSegmentRegister((addressByte & 0x38) >> 3);
 
         // Execute MOV on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -107,12 +101,7 @@ public class Instruction_MOV_EwSw implements Instruction {
             // MOV reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // MOV source to destination
-            System.arraycopy(sourceRegister, 0, destinationRegister, 0,
-                    sourceRegister.length);
+            cpu.setRegisterWord(addressByte & 0x07, sourceValue);
         } else {
             // MOV mem,reg
             // Determine memory location
@@ -121,7 +110,7 @@ public class Instruction_MOV_EwSw implements Instruction {
 
             // MOV source to destination
             cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
-                    sourceRegister);
+                    sourceValue);
         }
     }
 }
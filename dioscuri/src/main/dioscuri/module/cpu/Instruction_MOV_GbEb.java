@@ -50,15 +50,11 @@ public class Instruction_MOV_GbEb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte sourceValue = 0;
-    byte[] destinationRegister = new byte[2];
-    byte registerHighLow = 0;
+    int sourceValue = 0;
 
     // Constructors
 
@@ -99,12 +95,7 @@ public class Instruction_MOV_GbEb implements Instruction {
             // MOV reg,reg
             // Determine source value from addressbyte, ANDing it with 0000 0111
             // to get sss bits
-            // Determine high/low part of register based on bit 2 (leading sss
-            // bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            sourceValue = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07)[registerHighLow];
+            sourceValue = cpu.getRegisterByte(addressByte & 0x07);
         } else {
             // MOV mem,reg
             // Determine memory location
@@ -113,19 +104,12 @@ public class Instruction_MOV_GbEb implements Instruction {
 
             // Retrieve source value from memory indicated by reference location
             sourceValue = cpu.getByteFromMemorySegment(addressByte,
-                    memoryReferenceLocation);
+                    memoryReferenceLocation) & 0xFF;
         }
 
         // Determine destination register using addressbyte, ANDing it with 0011
         // 1000 and right-shift 3 to get rrr bits
-        destinationRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
         // MOV source to destination
-        // Re-determine high/low part of register based on bit 5 (leading rrr
-        // bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        destinationRegister[registerHighLow] = sourceValue;
+        cpu.setRegisterByte((addressByte & 0x38) >> 3, sourceValue);
     }
 }
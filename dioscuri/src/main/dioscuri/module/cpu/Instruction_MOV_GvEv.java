@@ -50,14 +50,11 @@ public class Instruction_MOV_GvEv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] sourceWord = new byte[2];
-    byte[] destinationRegister = new byte[2];
+    int sourceValue = 0;
 
     // Constructors
 
@@ -98,10 +95,7 @@ public class Instruction_MOV_GvEv implements Instruction {
             // MOV reg,reg
             // Determine source value from addressbyte, ANDing it with 0000 0111
             // to get sss bits
-            // High / low part of register is also determined here (might be
-            // re-used later, so do not depend on it anymore)
-            sourceWord = cpu
-                    .decodeRegister(operandWordSize, addressByte & 0x07);
+            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
         } else {
             // MOV mem,reg
             // Determine memory location
@@ -109,17 +103,13 @@ public class Instruction_MOV_GvEv implements Instruction {
                     memoryReferenceDisplacement);
 
             // Retrieve source value from memory indicated by reference location
-            sourceWord = cpu.getWordFromMemorySegment(addressByte,
+            sourceValue = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
         }
 
         // Determine destination register using addressbyte, ANDing it with 0011
         // 1000 and right-shift 3 to get rrr bits
-        destinationRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
         // MOV source to destination
-        System.arraycopy(sourceWord, 0, destinationRegister, 0,
-                sourceWord.length);
+        cpu.setRegisterWord((addressByte & 0x38) >> 3, sourceValue);
     }
 }
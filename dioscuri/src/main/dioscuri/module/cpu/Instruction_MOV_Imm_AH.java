@@ -76,6 +76,7 @@ public class Instruction_MOV_Imm_AH implements Instruction {
      */
     public void execute() {
         // Put next byte into AH
-        cpu.ax[CPU.REGISTER_GENERAL_HIGH] = cpu.getByteFromCode();
+        cpu.eax = (cpu.eax & 0xFFFF00FF)
+                | ((cpu.getByteFromCode() & 0xFF) << 8);
     }
 }
@@ -76,6 +76,6 @@ public class Instruction_MOV_Imm_AL implements Instruction {
      */
     public void execute() {
         // Put next byte into AL
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] = cpu.getByteFromCode();
+        cpu.eax = (cpu.eax & 0xFFFFFF00) | (cpu.getByteFromCode() & 0xFF);
     }
 }
@@ -75,11 +75,11 @@ public class Instruction_MOV_Imm_AX implements Instruction {
      * Copy immediate word to register AX
      */
     public void execute() {
-        cpu.ax = cpu.getWordFromCode();
-
         if (cpu.doubleWord) {
-            // 32 bit instruction, so move one extra word into eAX
-            cpu.eax = cpu.getWordFromCode();
+            // 32 bit instruction, so move a doubleword into EAX
+            cpu.eax = cpu.getWordFromCode() | (cpu.getWordFromCode() << 16);
+        } else {
+            cpu.eax = (cpu.eax & 0xFFFF0000) | cpu.getWordFromCode();
         }
     }
 }
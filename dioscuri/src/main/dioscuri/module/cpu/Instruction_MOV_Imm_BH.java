@@ -76,6 +76,7 @@ public class Instruction_MOV_Imm_BH implements Instruction {
      */
     public void execute() {
         // Put next byte into BH
-        cpu.bx[CPU.REGISTER_GENERAL_HIGH] = cpu.getByteFromCode();
+        cpu.ebx = (cpu.ebx & 0xFFFF00FF)
+                | ((cpu.getByteFromCode() & 0xFF) << 8);
     }
 }
@@ -76,6 +76,6 @@ public class Instruction_MOV_Imm_BL implements Instruction {
      */
     public void execute() {
         // Put next byte into BL
-        cpu.bx[CPU.REGISTER_GENERAL_LOW] = cpu.getByteFromCode();
+        cpu.ebx = (cpu.ebx & 0xFFFFFF00) | (cpu.getByteFromCode() & 0xFF);
     }
 }
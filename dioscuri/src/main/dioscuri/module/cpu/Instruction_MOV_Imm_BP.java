@@ -75,11 +75,11 @@ public class Instruction_MOV_Imm_BP implements Instruction {
      * Copy immediate word to register BP
      */
     public void execute() {
-        cpu.bp = cpu.getWordFromCode();
-
         if (cpu.doubleWord) {
-            // 32 bit instruction, so move one extra word into eBP
-            cpu.ebp = cpu.getWordFromCode();
+            // 32 bit instruction, so move a doubleword into EBP
+            cpu.ebp = cpu.getWordFromCode() | (cpu.getWordFromCode() << 16);
+        } else {
+            cpu.ebp = (cpu.ebp & 0xFFFF0000) | cpu.getWordFromCode();
         }
     }
 }
@@ -75,11 +75,11 @@ public class Instruction_MOV_Imm_BX implements Instruction {
      * Copy immediate word to register BX
      */
     public void execute() {
-        cpu.bx = cpu.getWordFromCode();
-
         if (cpu.doubleWord) {
-            // 32 bit instruction, so move one extra word into eBX
-            cpu.ebx = cpu.getWordFromCode();
+            // 32 bit instruction, so move a doubleword into EBX
+            cpu.ebx = cpu.getWordFromCode() | (cpu.getWordFromCode() << 16);
+        } else {
+            cpu.ebx = (cpu.ebx & 0xFFFF0000) | cpu.getWordFromCode();
         }
     }
 }
@@ -76,6 +76,7 @@ public class Instruction_MOV_Imm_CH implements Instruction {
      */
     public void execute() {
         // Put next byte into CH
-        cpu.cx[CPU.REGISTER_GENERAL_HIGH] = cpu.getByteFromCode();
+        cpu.ecx = (cpu.ecx & 0xFFFF00FF)
+                | ((cpu.getByteFromCode() & 0xFF) << 8);
     }
 }
@@ -76,6 +76,6 @@ public class Instruction_MOV_Imm_CL implements Instruction {
      */
     public void execute() {
         // Put next byte into CL
-        cpu.cx[CPU.REGISTER_GENERAL_LOW] = cpu.getByteFromCode();
+        cpu.ecx = (cpu.ecx & 0xFFFFFF00) | (cpu.getByteFromCode() & 0xFF);
     }
 }
@@ -75,11 +75,11 @@ public class Instruction_MOV_Imm_CX implements Instruction {
      * Copy immediate word to register CX
      */
     public void execute() {
-        cpu.cx = cpu.getWordFromCode();
-
         if (cpu.doubleWord) {
-            // 32 bit instruction, so move one extra word into eCX
-            cpu.ecx = cpu.getWordFromCode();
+            // 32 bit instruction, so move a doubleword into ECX
+            cpu.ecx = cpu.getWordFromCode() | (cpu.getWordFromCode() << 16);
+        } else {
+            cpu.ecx = (cpu.ecx & 0xFFFF0000) | cpu.getWordFromCode();
         }
     }
 }
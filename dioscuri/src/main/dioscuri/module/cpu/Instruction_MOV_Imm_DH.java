@@ -76,6 +76,7 @@ public class Instruction_MOV_Imm_DH implements Instruction {
      */
     public void execute() {
         // Put next byte into DH
-        cpu.dx[CPU.REGISTER_GENERAL_HIGH] = cpu.getByteFromCode();
+        cpu.edx = (cpu.edx & 0xFFFF00FF)
+                | ((cpu.getByteFromCode() & 0xFF) << 8);
     }
 }
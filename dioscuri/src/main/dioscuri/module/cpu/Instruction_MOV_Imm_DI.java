@@ -75,11 +75,11 @@ public class Instruction_MOV_Imm_DI implements Instruction {
      * Copy immediate word to register DI
      */
     public void execute() {
-        cpu.di = cpu.getWordFromCode();
-
         if (cpu.doubleWord) {
-            // 32 bit instruction, so move one extra word into eDI
-            cpu.edi = cpu.getWordFromCode();
+            // 32 bit instruction, so move a doubleword into EDI
+            cpu.edi = cpu.getWordFromCode() | (cpu.getWordFromCode() << 16);
+        } else {
+            cpu.edi = (cpu.edi & 0xFFFF0000) | cpu.getWordFromCode();
         }
     }
 }
@@ -76,6 +76,6 @@ public class Instruction_MOV_Imm_DL implements Instruction {
      */
     public void execute() {
         // Put next byte into DL
-        cpu.dx[CPU.REGISTER_GENERAL_LOW] = cpu.getByteFromCode();
+        cpu.edx = (cpu.edx & 0xFFFFFF00) | (cpu.getByteFromCode() & 0xFF);
     }
 }
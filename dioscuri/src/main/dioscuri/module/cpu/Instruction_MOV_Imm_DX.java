@@ -75,11 +75,11 @@ public class Instruction_MOV_Imm_DX implements Instruction {
      * Copy immediate word to register DX
      */
     public void execute() {
-        cpu.dx = cpu.getWordFromCode();
-
         if (cpu.doubleWord) {
-            // 32 bit instruction, so move one extra word into eDX
-            cpu.edx = cpu.getWordFromCode();
+            // 32 bit instruction, so move a doubleword into EDX
+            cpu.edx = cpu.getWordFromCode() | (cpu.getWordFromCode() << 16);
+        } else {
+            cpu.edx = (cpu.edx & 0xFFFF0000) | cpu.getWordFromCode();
         }
     }
 }
@@ -75,11 +75,11 @@ public class Instruction_MOV_Imm_SI implements Instruction {
      * Copy immediate word to register SI
      */
     public void execute() {
-        cpu.si = cpu.getWordFromCode();
-
         if (cpu.doubleWord) {
-            // 32 bit instruction, so move one extra word into eSI
-            cpu.esi = cpu.getWordFromCode();
+            // 32 bit instruction, so move a doubleword into ESI
+            cpu.esi = cpu.getWordFromCode() | (cpu.getWordFromCode() << 16);
+        } else {
+            cpu.esi = (cpu.esi & 0xFFFF0000) | cpu.getWordFromCode();
         }
     }
 }
@@ -75,11 +75,11 @@ public class Instruction_MOV_Imm_SP implements Instruction {
      * Copy immediate word to register SP
      */
     public void execute() {
-        cpu.sp = cpu.getWordFromCode();
-
         if (cpu.doubleWord) {
-            // 32 bit instruction, so move one extra word into eSP
-            cpu.esp = cpu.getWordFromCode();
+            // 32 bit instruction, so move a doubleword into ESP
+            cpu.esp = cpu.getWordFromCode() | (cpu.getWordFromCode() << 16);
+        } else {
+            cpu.esp = (cpu.esp & 0xFFFF0000) | cpu.getWordFromCode();
         }
     }
 }
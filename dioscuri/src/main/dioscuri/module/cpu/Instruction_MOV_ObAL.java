@@ -49,7 +49,7 @@ public class Instruction_MOV_ObAL implements Instruction {
 
     // Attributes
     private CPU cpu;
-    private byte[] displ = new byte[2];
+    private int displ;
     private byte dataSegmentAddressByte = 0;
 
     // Constructors
@@ -91,7 +91,7 @@ public class Instruction_MOV_ObAL implements Instruction {
         // course there is an override,
         // but that is handled in setByte[..])
         cpu.setByteInMemorySegment(dataSegmentAddressByte, displ,
-                cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+                (byte) cpu.eax);
 
     }
 }
@@ -49,9 +49,7 @@ public class Instruction_MOV_OvAX implements Instruction {
 
     // Attributes
     private CPU cpu;
-    private byte[] displ = new byte[2];
-    private byte[] tempWord = new byte[2];
-    private byte[] word0x02 = new byte[]{0x00, 0x02};
+    private int displ;
     private byte dataSegmentAddressByte = 0;
 
     // Constructors
@@ -92,15 +90,16 @@ public class Instruction_MOV_OvAX implements Instruction {
         // a default of 0 is used here to end up in the Data Segment (unless of
         // course there is an override,
         // but that is handled in setWord[..])
-        cpu.setWordInMemorySegment(dataSegmentAddressByte, displ, cpu.ax);
+        cpu.setWordInMemorySegment(dataSegmentAddressByte, displ,
+                cpu.eax & 0xFFFF);
 
         if (cpu.doubleWord) {
             // Increment displacement
-            tempWord = Util.addWords(displ, word0x02, 0);
-            System.arraycopy(tempWord, 0, displ, 0, tempWord.length);
+            displ = (displ + 2) & 0xFFFF;
 
             // Store upper 16 bits of eAX in memory
-            cpu.setWordInMemorySegment(dataSegmentAddressByte, displ, cpu.eax);
+            cpu.setWordInMemorySegment(dataSegmentAddressByte, displ,
+                    cpu.eax >>> 16);
         }
 
     }
@@ -49,6 +49,10 @@ public class Instruction_OR_AXIv implements Instruction {
     // Attributes
     private CPU cpu;
 
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+
     // Constructors
 
     /**
@@ -76,26 +80,14 @@ public class Instruction_OR_AXIv implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
+        // Get immediate word
+        sourceValue = cpu.getWordFromCode();
 
-        // Reset appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-        // Get immediate byte and OR with AL, storing result in AL.
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] |= cpu.getByteFromCode();
-        // Get immediate byte and OR with AH, storing result in AH.
-        cpu.ax[CPU.REGISTER_GENERAL_HIGH] |= cpu.getByteFromCode();
+        oldDest = cpu.eax & 0xFFFF;
+        result = oldDest | sourceValue;
+        cpu.eax = (cpu.eax & 0xFFFF0000) | result;
 
-        // Test ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] == 0
-                && cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0 ? true : false;
-        // Test SF (set when MSB is 1, occurs when AH >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
     }
 }
@@ -50,17 +50,13 @@ public class Instruction_OR_EbGb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte sourceValue = 0;
-    byte[] destinationRegister = new byte[2];
-    byte registerHighLow = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte logicalORResult = 0;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -89,12 +85,6 @@ public class Instruction_OR_EbGb implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
-        // Clear appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -103,11 +93,7 @@ public class Instruction_OR_EbGb implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        // Determine high/low part of register based on bit 5 (leading rrr bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3))[registerHighLow];
+        sourceValue = cpu.getRegisterByte((addressByte & 0x38) >> 3);
 
         // Execute OR on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -115,50 +101,24 @@ public class Instruction_OR_EbGb implements Instruction {
             // OR reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // OR source and destination, storing result in destination.
-            // registerHighLow is re-used here.
-            // Re-determine high/low part of register based on bit 3 (leading
-            // sss bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            destinationRegister[registerHighLow] |= sourceValue;
-
-            // Test ZF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[registerHighLow] == 0 ? true
-                    : false;
-            // Test SF on particular byte of destinationRegister (set when MSB
-            // is 1, occurs when destReg >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[registerHighLow] < 0 ? true
-                    : false;
-            // Set PF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationRegister[registerHighLow]);
+            oldDest = cpu.getRegisterByte(addressByte & 0x07);
+            result = oldDest | sourceValue;
+            cpu.setRegisterByte(addressByte & 0x07, result);
         } else {
             // OR mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
+            oldDest = cpu.getByteFromMemorySegment(addressByte,
+                    memoryReferenceLocation) & 0xFF;
+            result = oldDest | sourceValue;
 
-            // Get byte from memory and OR with source register
-            logicalORResult = (byte) (cpu.getByteFromMemorySegment(addressByte,
-                    memoryReferenceLocation) | sourceValue);
             // Store result in memory
             cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
-                    logicalORResult);
-
-            // Test ZF on result
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = logicalORResult == 0 ? true
-                    : false;
-            // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = logicalORResult < 0 ? true
-                    : false;
-            // Set PF on result
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(logicalORResult);
-
+                    (byte) result);
         }
+
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.BYTE, result);
     }
 }
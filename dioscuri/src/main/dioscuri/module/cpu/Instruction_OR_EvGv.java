@@ -50,16 +50,13 @@ public class Instruction_OR_EvGv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte[] sourceValue = new byte[2];
-    byte[] destinationRegister = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] logicalORResult = new byte[2];
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -88,12 +85,6 @@ public class Instruction_OR_EvGv implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
-        // Clear appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -102,10 +93,7 @@ public class Instruction_OR_EvGv implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        // High / low part of register is also determined here (might be re-used
-        // later, so do not depend on it anymore)
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
+        sourceValue = cpu.getRegisterWord((addressByte & 0x38) >> 3);
 
         // Execute OR on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -113,52 +101,24 @@ public class Instruction_OR_EvGv implements Instruction {
             // OR reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // OR source and destination, storing result in destination.
-            // registerHighLow is re-used here.
-            destinationRegister[CPU.REGISTER_GENERAL_HIGH] |= sourceValue[CPU.REGISTER_GENERAL_HIGH];
-            destinationRegister[CPU.REGISTER_GENERAL_LOW] |= sourceValue[CPU.REGISTER_GENERAL_LOW];
-
-            // Test ZF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                    && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                    : false;
-            // Test SF on particular byte of destinationRegister (set when MSB
-            // is 1, occurs when destReg >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF on lower byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+            oldDest = cpu.getRegisterWord(addressByte & 0x07);
+            result = oldDest | sourceValue;
+            cpu.setRegisterWord(addressByte & 0x07, result);
         } else {
             // OR mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory and OR with source register
-            byte[] memVal = cpu.getWordFromMemorySegment(addressByte,
+            oldDest = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
-            logicalORResult[0] = (byte) (memVal[CPU.REGISTER_GENERAL_HIGH] | sourceValue[CPU.REGISTER_GENERAL_HIGH]);
-            logicalORResult[1] = (byte) (memVal[CPU.REGISTER_GENERAL_LOW] | sourceValue[CPU.REGISTER_GENERAL_LOW]);
+            result = oldDest | sourceValue;
 
             // Store result in memory
             cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
-                    logicalORResult);
-
-            // Test ZF on result
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = logicalORResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                    && logicalORResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                    : false;
-            // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = logicalORResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF on lower byte of result
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(logicalORResult[CPU.REGISTER_GENERAL_LOW]);
-
+                    result);
         }
+
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
     }
 }
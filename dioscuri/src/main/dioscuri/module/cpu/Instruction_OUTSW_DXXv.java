@@ -61,10 +61,9 @@ public class Instruction_OUTSW_DXXv implements Instruction {
     // the DS segment is still chosen.
     byte defaultAddressByte = 0;
 
-    byte[] memoryValue = new byte[2];
-    byte[] eMemoryValue = new byte[2];
+    int memoryValue;
+    int eMemoryValue;
 
-    byte[] transition;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_OUTSW_DXXv.class.getName());
@@ -87,8 +86,6 @@ public class Instruction_OUTSW_DXXv implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-        // Set transition that holds the amount SI should be altered (word = 2)
-        transition = new byte[]{0x00, 0x02};
 
     }
 
@@ -102,7 +99,7 @@ public class Instruction_OUTSW_DXXv implements Instruction {
 
         // Get port address from DX; convert this to unsigned integer to prevent
         // lookup table out of bounds;
-        portAddress = (((((int) cpu.dx[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cpu.dx[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+        portAddress = cpu.edx & 0xFFFF;
 
         // Read word from DS:SI; write to portAddress
         // DS segment may be overridden.
@@ -111,38 +108,35 @@ public class Instruction_OUTSW_DXXv implements Instruction {
             if (cpu.doubleWord) {
                 // Get the doubleword
                 eMemoryValue = cpu.getWordFromMemorySegment(defaultAddressByte,
-                        cpu.si);
+                        cpu.esi & 0xFFFF);
                 // Increment offset when getting the next word
                 memoryValue = cpu.getWordFromMemorySegment(defaultAddressByte,
-                        Util.addWords(cpu.si, new byte[]{0x00, 0x02}, 0));
+                        (cpu.esi + 2) & 0xFFFF);
 
                 // Write the doubleword to the I/O port
-                cpu.setIOPortDoubleWord(portAddress, new byte[]{
-                        eMemoryValue[CPU.REGISTER_GENERAL_LOW],
-                        eMemoryValue[CPU.REGISTER_GENERAL_HIGH],
-                        memoryValue[CPU.REGISTER_GENERAL_LOW],
-                        memoryValue[CPU.REGISTER_GENERAL_HIGH]});
+                cpu.writeDword(portAddress,
+                        eMemoryValue | (memoryValue << 16));
 
                 // Note: SI is updated by word-size here, the other word-size is
                 // done below
                 // Update SI according to DF flag
                 // Check direction of flag: If DF == 0, SI is incremented; if DF
                 // == 1, SI is decremented
-                if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+                if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
                     // Decrement the SI register by word size
-                    cpu.si = Util.subtractWords(cpu.si, transition, 0);
+                    cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 2) & 0xFFFF);
                 } else {
                     // Increment the SI register by word size
-                    cpu.si = Util.addWords(cpu.si, transition, 0);
+                    cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 2) & 0xFFFF);
                 }
 
             } else // Word-size
             {
                 memoryValue = cpu.getWordFromMemorySegment(defaultAddressByte,
-                        cpu.si);
+                        cpu.esi & 0xFFFF);
 
                 // Write the word to the I/O port
-                cpu.setIOPortWord(portAddress, memoryValue);
+                cpu.writeWord(portAddress, memoryValue);
             }
         } catch (ModuleException e) {
             logger.log(Level.WARNING, "[" + cpu.getType() + "] "
@@ -152,12 +146,12 @@ public class Instruction_OUTSW_DXXv implements Instruction {
         // Update SI according to DF flag
         // Check direction of flag: If DF == 0, SI is incremented; if DF == 1,
         // SI is decremented
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement the SI register by word size
-            cpu.si = Util.subtractWords(cpu.si, transition, 0);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 2) & 0xFFFF);
         } else {
             // Increment the SI register by word size
-            cpu.si = Util.addWords(cpu.si, transition, 0);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 2) & 0xFFFF);
         }
     }
 }
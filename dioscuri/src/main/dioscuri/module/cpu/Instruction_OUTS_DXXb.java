@@ -63,7 +63,6 @@ public class Instruction_OUTS_DXXb implements Instruction {
 
     byte memoryValue = 0;
 
-    byte[] transition;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_OUTS_DXXb.class.getName());
@@ -86,8 +85,6 @@ public class Instruction_OUTS_DXXb implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-        // Set transition that holds the amount SI should be altered (byte = 1)
-        transition = new byte[]{0x00, 0x01};
 
     }
 
@@ -101,13 +98,13 @@ public class Instruction_OUTS_DXXb implements Instruction {
 
         // Get port address from DX; convert this to unsigned integer to prevent
         // lookup table out of bounds;
-        portAddress = (((((int) cpu.dx[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cpu.dx[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+        portAddress = cpu.edx & 0xFFFF;
 
         // Read byte from DS:SI; write to portAddress
         // DS segment may be overridden.
         try {
             memoryValue = cpu.getByteFromMemorySegment(defaultAddressByte,
-                    cpu.si);
+                    cpu.esi & 0xFFFF);
 
             // Write the byte to the I/O port
             cpu.setIOPortByte(portAddress, memoryValue);
@@ -119,12 +116,12 @@ public class Instruction_OUTS_DXXb implements Instruction {
         // Update SI according to DF flag
         // Check direction of flag: If DF == 0, SI is incremented; if DF == 1,
         // SI is decremented
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement the SI register by byte size
-            cpu.si = Util.subtractWords(cpu.si, transition, 0);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi - 1) & 0xFFFF);
         } else {
             // Increment the SI register by byte size
-            cpu.si = Util.addWords(cpu.si, transition, 0);
+            cpu.esi = (cpu.esi & 0xFFFF0000) | ((cpu.esi + 1) & 0xFFFF);
         }
     }
 }
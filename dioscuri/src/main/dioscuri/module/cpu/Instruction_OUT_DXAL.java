@@ -88,7 +88,7 @@ public class Instruction_OUT_DXAL implements Instruction {
             // Convert value in DX to unsigned integer to prevent lookup table
             // out of bounds;
             // set data to appropriate port
-            portAddress = (((((int) cpu.dx[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cpu.dx[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+            portAddress = cpu.edx & 0xFFFF;
 
             // FIXME: Temporary shunt for custom Bochs ports defined in the
             // Bochs BIOS; implement properly
@@ -102,9 +102,7 @@ public class Instruction_OUT_DXAL implements Instruction {
                         "Instruction_OUT_DXAL targeted custom Bochs port "
                                 + portAddress + ". OUT ignored.");
             } else {
-                cpu
-                        .setIOPortByte(portAddress,
-                                cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+                cpu.setIOPortByte(portAddress, (byte) cpu.eax);
             }
         } catch (ModuleException e) {
             // TODO: Implement proper catch block for OUT_DXAL instruction
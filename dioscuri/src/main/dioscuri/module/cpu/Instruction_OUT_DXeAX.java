@@ -82,29 +82,16 @@ public class Instruction_OUT_DXeAX implements Instruction {
             // Convert value in DX to unsigned integer to prevent lookup table
             // out of bounds;
             // set data to appropriate port
-            portAddress = (((((int) cpu.dx[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) cpu.dx[CPU.REGISTER_GENERAL_LOW]) & 0xFF));
+            portAddress = cpu.edx & 0xFFFF;
 
             // Check if word or double word should be written
             if (cpu.doubleWord) {
                 // A double word should be written to I/O space
-                // Create double word from eAX and AX (in Big Endian order)
-                byte[] doubleWord = new byte[]{
-                        cpu.eax[CPU.REGISTER_GENERAL_HIGH],
-                        cpu.eax[CPU.REGISTER_GENERAL_LOW],
-                        cpu.ax[CPU.REGISTER_GENERAL_HIGH],
-                        cpu.ax[CPU.REGISTER_GENERAL_LOW]};
-
-                // Write double word to I/O space
-                cpu.setIOPortDoubleWord(portAddress, doubleWord);
+                cpu.writeDword(portAddress, cpu.eax);
             } else // Word
             {
                 // A word should be written to I/O space
-                // Create word from AX (in Big Endian order)
-                byte[] word = new byte[]{cpu.ax[CPU.REGISTER_GENERAL_HIGH],
-                        cpu.ax[CPU.REGISTER_GENERAL_LOW]};
-
-                // Write word to I/O space
-                cpu.setIOPortWord(portAddress, word);
+                cpu.writeWord(portAddress, cpu.eax & 0xFFFF);
             }
         } catch (ModuleException e) {
             // TODO: Implement proper catch block for OUT_DXeAX instruction
@@ -83,7 +83,7 @@ public class Instruction_OUT_IbAL implements Instruction {
             // to prevent lookup table out of bounds
             // and set data to appropriate port
             cpu.setIOPortByte(((int) (cpu.getByteFromCode()) & 0xFF),
-                    cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+                    (byte) cpu.eax);
         } catch (ModuleException e) {
             // TODO: Implement proper catch block for OUT_IbAL instruction
         }
@@ -80,15 +80,15 @@ public class Instruction_POPA implements Instruction {
      */
     public void execute() {
         // Get words from stack and assign to general purpose registers
-        cpu.di = cpu.getWordFromStack();
-        cpu.si = cpu.getWordFromStack();
-        cpu.bp = cpu.getWordFromStack();
+        cpu.edi = (cpu.edi & 0xFFFF0000) | cpu.getWordFromStack();
+        cpu.esi = (cpu.esi & 0xFFFF0000) | cpu.getWordFromStack();
+        cpu.ebp = (cpu.ebp & 0xFFFF0000) | cpu.getWordFromStack();
         // Pop, but ignore SP value. Do this by assigning BX twice
-        cpu.bx = cpu.getWordFromStack();
-        cpu.bx = cpu.getWordFromStack();
-        cpu.dx = cpu.getWordFromStack();
-        cpu.cx = cpu.getWordFromStack();
-        cpu.ax = cpu.getWordFromStack();
+        cpu.ebx = (cpu.ebx & 0xFFFF0000) | cpu.getWordFromStack();
+        cpu.ebx = (cpu.ebx & 0xFFFF0000) | cpu.getWordFromStack();
+        cpu.edx = (cpu.edx & 0xFFFF0000) | cpu.getWordFromStack();
+        cpu.ecx = (cpu.ecx & 0xFFFF0000) | cpu.getWordFromStack();
+        cpu.eax = (cpu.eax & 0xFFFF0000) | cpu.getWordFromStack();
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
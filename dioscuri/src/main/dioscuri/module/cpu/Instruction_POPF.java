@@ -48,9 +48,6 @@ public class Instruction_POPF implements Instruction {
 
     // Attributes
     private CPU cpu;
-    int flagValue;
-    int[] flagsHex = new int[2];
-    boolean[] temp = new boolean[16];
 
     // Constructors
 
@@ -78,18 +75,10 @@ public class Instruction_POPF implements Instruction {
      * Pop word from stack into FLAGS register.
      */
     public void execute() {
-        // Pop word from stack and convert bytes to booleans
-        temp = Util.bytesToBooleans(cpu.getWordFromStack());
-
-        // Store booleans in flags register
-        System.arraycopy(temp, 0, cpu.flags, 0, temp.length);
-
+        // Pop word from stack into flags register
         // But static bits of the flags register (bit 1, bit 3, bit 5, bit 15)
         // remain constant!
-        cpu.flags[1] = true;
-        cpu.flags[3] = false;
-        cpu.flags[5] = false;
-        cpu.flags[15] = false;
+        cpu.flags.setValue((cpu.getWordFromStack() & 0x7FD7) | 0x0002);
 
         // Pop EFLAGS, if 32 bit instruction
         if (cpu.doubleWord) {
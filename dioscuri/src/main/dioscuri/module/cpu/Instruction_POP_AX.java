@@ -76,11 +76,11 @@ public class Instruction_POP_AX implements Instruction {
      */
     public void execute() {
         // Get word SS:SP and assign to AX
-        cpu.ax = cpu.getWordFromStack();
+        cpu.eax = (cpu.eax & 0xFFFF0000) | cpu.getWordFromStack();
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
-            cpu.eax = cpu.getWordFromStack();
+            cpu.eax = (cpu.eax & 0xFFFF) | (cpu.getWordFromStack() << 16);
         }
     }
 }
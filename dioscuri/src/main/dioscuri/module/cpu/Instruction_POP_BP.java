@@ -76,11 +76,11 @@ public class Instruction_POP_BP implements Instruction {
      */
     public void execute() {
         // Get word SS:SP and assign to BP
-        cpu.bp = cpu.getWordFromStack();
+        cpu.ebp = (cpu.ebp & 0xFFFF0000) | cpu.getWordFromStack();
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
-            cpu.ebp = cpu.getWordFromStack();
+            cpu.ebp = (cpu.ebp & 0xFFFF) | (cpu.getWordFromStack() << 16);
         }
 
     }
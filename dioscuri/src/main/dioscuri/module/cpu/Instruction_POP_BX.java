@@ -76,11 +76,11 @@ public class Instruction_POP_BX implements Instruction {
      */
     public void execute() {
         // Get word SS:SP and assign to BX
-        cpu.bx = cpu.getWordFromStack();
+        cpu.ebx = (cpu.ebx & 0xFFFF0000) | cpu.getWordFromStack();
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
-            cpu.ebx = cpu.getWordFromStack();
+            cpu.ebx = (cpu.ebx & 0xFFFF) | (cpu.getWordFromStack() << 16);
         }
     }
 }
@@ -76,11 +76,11 @@ public class Instruction_POP_CX implements Instruction {
      */
     public void execute() {
         // Get word SS:SP and assign to CX
-        cpu.cx = cpu.getWordFromStack();
+        cpu.ecx = (cpu.ecx & 0xFFFF0000) | cpu.getWordFromStack();
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
-            cpu.ecx = cpu.getWordFromStack();
+            cpu.ecx = (cpu.ecx & 0xFFFF) | (cpu.getWordFromStack() << 16);
         }
 
     }
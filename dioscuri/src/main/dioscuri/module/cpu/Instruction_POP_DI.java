@@ -77,11 +77,11 @@ public class Instruction_POP_DI implements Instruction {
     public void execute() {
 
         // Get word SS:SP and assign to DI
-        cpu.di = cpu.getWordFromStack();
+        cpu.edi = (cpu.edi & 0xFFFF0000) | cpu.getWordFromStack();
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
-            cpu.edi = cpu.getWordFromStack();
+            cpu.edi = (cpu.edi & 0xFFFF) | (cpu.getWordFromStack() << 16);
         }
     }
 }
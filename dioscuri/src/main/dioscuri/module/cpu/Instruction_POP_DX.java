@@ -76,11 +76,11 @@ public class Instruction_POP_DX implements Instruction {
      */
     public void execute() {
         // Get word SS:SP and assign to DX
-        cpu.dx = cpu.getWordFromStack();
+        cpu.edx = (cpu.edx & 0xFFFF0000) | cpu.getWordFromStack();
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
-            cpu.edx = cpu.getWordFromStack();
+            cpu.edx = (cpu.edx & 0xFFFF) | (cpu.getWordFromStack() << 16);
         }
     }
 }
@@ -52,9 +52,9 @@ public class Instruction_POP_Ev implements Instruction {
     // Attributes
     private CPU cpu;
     private byte addressByte;
-    private boolean operandWordSize;
-    private byte[] memoryReferenceDisplacement;
-    private byte[] offset;
+    private int memoryReferenceDisplacement;
+    private int offset;
+    private int value;
 
     // Constructors
 
@@ -74,12 +74,6 @@ public class Instruction_POP_Ev implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-
-        // Initialise all variables
-        addressByte = 0x00;
-        operandWordSize = true;
-        memoryReferenceDisplacement = new byte[2];
-        offset = new byte[2];
     }
 
     // Methods
@@ -108,19 +102,22 @@ public class Instruction_POP_Ev implements Instruction {
             // addressbyte)
             if (((addressByte >> 6) & 0x03) == 3) {
                 // reg offset
+                // FIXME: the word is stored in memory at the offset held by the
+                // register, instead of in the register itself
                 // Determine register from addressbyte, ANDing it with 0000 0111
-                offset = cpu
-                        .decodeRegister(operandWordSize, addressByte & 0x07);
+                // (read before the pop, as it may be SP)
+                offset = cpu.getRegisterWord(addressByte & 0x07);
+                value = cpu.getWordFromStack();
             } else {
                 // mem offset
                 // Determine memory location
                 offset = cpu.decodeSSSMemDest(addressByte,
                         memoryReferenceDisplacement);
+                value = cpu.getWordFromStack();
             }
 
             // Pop word from stack and store it in segment + offset
-            cpu.setWordInMemorySegment(addressByte, offset, cpu
-                    .getWordFromStack());
+            cpu.setWordInMemorySegment(addressByte, offset, value);
         }
     }
 }
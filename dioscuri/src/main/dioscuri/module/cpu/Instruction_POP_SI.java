@@ -76,11 +76,11 @@ public class Instruction_POP_SI implements Instruction {
      */
     public void execute() {
         // Get word SS:SP and assign to SI
-        cpu.si = cpu.getWordFromStack();
+        cpu.esi = (cpu.esi & 0xFFFF0000) | cpu.getWordFromStack();
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
-            cpu.esi = cpu.getWordFromStack();
+            cpu.esi = (cpu.esi & 0xFFFF) | (cpu.getWordFromStack() << 16);
         }
     }
 }
@@ -48,6 +48,7 @@ public class Instruction_POP_SP implements Instruction {
 
     // Attributes
     private CPU cpu;
+    private int word;
 
     // Constructors
 
@@ -76,11 +77,14 @@ public class Instruction_POP_SP implements Instruction {
      */
     public void execute() {
         // Get word SS:SP and assign to SP
-        cpu.sp = cpu.getWordFromStack();
+        // (SP is incremented by the pop before it is overwritten)
+        word = cpu.getWordFromStack();
+        cpu.esp = (cpu.esp & 0xFFFF0000) | word;
 
         // Pop extra register, if 32 bit instruction
         if (cpu.doubleWord) {
-            cpu.esp = cpu.getWordFromStack();
+            word = cpu.getWordFromStack();
+            cpu.esp = (cpu.esp & 0xFFFF) | (word << 16);
         }
     }
 }
@@ -52,7 +52,7 @@ public class Instruction_PUSHA implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] tempSP;
+    int tempSP;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_PUSHA.class.getName());
@@ -63,7 +63,6 @@ public class Instruction_PUSHA implements Instruction {
      * Class constructor
      */
     public Instruction_PUSHA() {
-        tempSP = new byte[2];
     }
 
     /**
@@ -92,14 +91,14 @@ public class Instruction_PUSHA implements Instruction {
         }
 
         // Get words in register and assign to stack
-        System.arraycopy(cpu.sp, 0, tempSP, 0, cpu.sp.length);
-        cpu.setWordToStack(cpu.ax);
-        cpu.setWordToStack(cpu.cx);
-        cpu.setWordToStack(cpu.dx);
-        cpu.setWordToStack(cpu.bx);
+        tempSP = cpu.esp & 0xFFFF;
+        cpu.setWordToStack(cpu.eax & 0xFFFF);
+        cpu.setWordToStack(cpu.ecx & 0xFFFF);
+        cpu.setWordToStack(cpu.edx & 0xFFFF);
+        cpu.setWordToStack(cpu.ebx & 0xFFFF);
         cpu.setWordToStack(tempSP);
-        cpu.setWordToStack(cpu.bp);
-        cpu.setWordToStack(cpu.si);
-        cpu.setWordToStack(cpu.di);
+        cpu.setWordToStack(cpu.ebp & 0xFFFF);
+        cpu.setWordToStack(cpu.esi & 0xFFFF);
+        cpu.setWordToStack(cpu.edi & 0xFFFF);
     }
 }
@@ -79,10 +79,10 @@ public class Instruction_PUSHF implements Instruction {
         // Push EFLAGS first, if 32 bit instruction
         if (cpu.doubleWord) {
             // Since we don't use EFLAGS, push 0x0000 onto stack
-            cpu.setWordToStack(new byte[]{0x00, 0x00});
+            cpu.setWordToStack(0x0000);
         }
 
         // Push flags register (16-bit) onto stack
-        cpu.setWordToStack(Util.booleansToBytes(cpu.flags));
+        cpu.setWordToStack(cpu.flags.getValue());
     }
 }
@@ -79,10 +79,10 @@ public class Instruction_PUSH_AX implements Instruction {
         // Double word will be stored as [ax[LSB][MSB] eax[LSB][MSB]] because
         // stack is counting backwards in memory
         if (cpu.doubleWord) {
-            cpu.setWordToStack(cpu.eax);
+            cpu.setWordToStack(cpu.eax >>> 16);
         }
 
         // Get word at AX and assign to SS:SP
-        cpu.setWordToStack(cpu.ax);
+        cpu.setWordToStack(cpu.eax & 0xFFFF);
     }
 }
@@ -79,10 +79,10 @@ public class Instruction_PUSH_BP implements Instruction {
         // Double word will be stored as [bp[LSB][MSB] ebp[LSB][MSB]] because
         // stack is counting backwards in memory
         if (cpu.doubleWord) {
-            cpu.setWordToStack(cpu.ebp);
+            cpu.setWordToStack(cpu.ebp >>> 16);
         }
 
         // Get word at BP and assign to SS:SP
-        cpu.setWordToStack(cpu.bp);
+        cpu.setWordToStack(cpu.ebp & 0xFFFF);
     }
 }
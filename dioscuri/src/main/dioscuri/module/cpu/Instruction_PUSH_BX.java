@@ -79,10 +79,10 @@ public class Instruction_PUSH_BX implements Instruction {
         // Double word will be stored as [bx[LSB][MSB] ebx[LSB][MSB]] because
         // stack is counting backwards in memory
         if (cpu.doubleWord) {
-            cpu.setWordToStack(cpu.ebx);
+            cpu.setWordToStack(cpu.ebx >>> 16);
         }
 
         // Get word at BX and assign to SS:SP
-        cpu.setWordToStack(cpu.bx);
+        cpu.setWordToStack(cpu.ebx & 0xFFFF);
     }
 }
@@ -79,10 +79,10 @@ public class Instruction_PUSH_CX implements Instruction {
         // Double word will be stored as [cx[LSB][MSB] ecx[LSB][MSB]] because
         // stack is counting backwards in memory
         if (cpu.doubleWord) {
-            cpu.setWordToStack(cpu.ecx);
+            cpu.setWordToStack(cpu.ecx >>> 16);
         }
 
         // Get word at CX and assign to SS:SP
-        cpu.setWordToStack(cpu.cx);
+        cpu.setWordToStack(cpu.ecx & 0xFFFF);
     }
 }
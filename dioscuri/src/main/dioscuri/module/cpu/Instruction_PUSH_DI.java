@@ -79,10 +79,10 @@ public class Instruction_PUSH_DI implements Instruction {
         // Double word will be stored as [di[LSB][MSB] edi[LSB][MSB]] because
         // stack is counting backwards in memory
         if (cpu.doubleWord) {
-            cpu.setWordToStack(cpu.edi);
+            cpu.setWordToStack(cpu.edi >>> 16);
         }
 
         // Get word at DI and assign to SS:SP
-        cpu.setWordToStack(cpu.di);
+        cpu.setWordToStack(cpu.edi & 0xFFFF);
     }
 }
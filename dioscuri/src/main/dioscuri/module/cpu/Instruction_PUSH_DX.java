@@ -79,10 +79,10 @@ public class Instruction_PUSH_DX implements Instruction {
         // Double word will be stored as [dx[LSB][MSB] edx[LSB][MSB]] because
         // stack is counting backwards in memory
         if (cpu.doubleWord) {
-            cpu.setWordToStack(cpu.edx);
+            cpu.setWordToStack(cpu.edx >>> 16);
         }
 
         // Get word at DX and assign to SS:SP
-        cpu.setWordToStack(cpu.dx);
+        cpu.setWordToStack(cpu.edx & 0xFFFF);
     }
 }
@@ -81,6 +81,6 @@ public class Instruction_PUSH_Ib implements Instruction {
         // Get immediate byte, complement to word with '0x00' and assign word to
         // SS:SP
         // Not sure if byte should be extended with 0x00 (is undocumented)!!
-        cpu.setWordToStack(new byte[]{0x00, cpu.getByteFromCode()});
+        cpu.setWordToStack(cpu.getByteFromCode() & 0xFF);
     }
 }
@@ -52,7 +52,7 @@ public class Instruction_PUSH_Iv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    private byte[] word;
+    private int word;
 
     // Logging
     private static final Logger logger = Logger.getLogger(Instruction_PUSH_Iv.class.getName());
@@ -75,8 +75,6 @@ public class Instruction_PUSH_Iv implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-
-        word = new byte[2];
     }
 
     // Methods
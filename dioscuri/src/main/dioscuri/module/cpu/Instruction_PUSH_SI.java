@@ -79,10 +79,10 @@ public class Instruction_PUSH_SI implements Instruction {
         // Double word will be stored as [si[LSB][MSB] esi[LSB][MSB]] because
         // stack is counting backwards in memory
         if (cpu.doubleWord) {
-            cpu.setWordToStack(cpu.esi);
+            cpu.setWordToStack(cpu.esi >>> 16);
         }
 
         // Get word at SI and assign to SS:SP
-        cpu.setWordToStack(cpu.si);
+        cpu.setWordToStack(cpu.esi & 0xFFFF);
     }
 }
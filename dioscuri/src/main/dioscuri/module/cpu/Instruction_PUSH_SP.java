@@ -79,10 +79,10 @@ public class Instruction_PUSH_SP implements Instruction {
         // Double word will be stored as [sp[LSB][MSB] esp[LSB][MSB]] because
         // stack is counting backwards in memory
         if (cpu.doubleWord) {
-            cpu.setWordToStack(cpu.esp);
+            cpu.setWordToStack(cpu.esp >>> 16);
         }
 
         // Get word at SP and assign to SS:SP
-        cpu.setWordToStack(cpu.sp);
+        cpu.setWordToStack(cpu.esp & 0xFFFF);
     }
 }
@@ -53,8 +53,6 @@ public class Instruction_REPNE implements Instruction {
     // Attributes
     private CPU cpu;
 
-    byte[] word0x01;
-
     // Constructors
 
     /**
@@ -73,8 +71,6 @@ public class Instruction_REPNE implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-
-        word0x01 = new byte[]{0x00, 0x01};
     }
 
     // Methods
@@ -50,7 +50,7 @@ public class Instruction_RETF implements Instruction {
     // Attributes
     private CPU cpu;
 
-    // byte[] displacement = new byte[2];
+    // int displacement;
     // int overUnderFlowCheck;
 
     // Constructors
@@ -51,7 +51,7 @@ public class Instruction_RETF_Iw implements Instruction {
     // Attributes
     private CPU cpu;
 
-    byte[] releaseStackBytes;
+    int releaseStackBytes;
 
     // Constructors
 
@@ -69,8 +69,6 @@ public class Instruction_RETF_Iw implements Instruction {
     public Instruction_RETF_Iw(CPU processor) {
         // Create reference to cpu class
         cpu = processor;
-
-        releaseStackBytes = new byte[2];
     }
 
     // Methods
@@ -89,6 +87,7 @@ public class Instruction_RETF_Iw implements Instruction {
         cpu.cs = cpu.getWordFromStack();
 
         // Increase the stack pointer by the given number of bytes
-        cpu.sp = Util.addWords(cpu.sp, releaseStackBytes, 0);
+        cpu.esp = (cpu.esp & 0xFFFF0000)
+                | ((cpu.esp + releaseStackBytes) & 0xFFFF);
     }
 }
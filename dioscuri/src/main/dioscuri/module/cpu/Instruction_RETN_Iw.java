@@ -51,7 +51,7 @@ public class Instruction_RETN_Iw implements Instruction {
     // Attributes
     private CPU cpu;
 
-    byte[] displacement;
+    int displacement;
 
     // Constructors
 
@@ -70,7 +70,6 @@ public class Instruction_RETN_Iw implements Instruction {
         // Create reference to cpu class
         cpu = processor;
 
-        displacement = new byte[2];
     }
 
     // Methods
@@ -86,6 +85,6 @@ public class Instruction_RETN_Iw implements Instruction {
         cpu.ip = cpu.getWordFromStack();
 
         // Add displacement to stack pointer
-        cpu.sp = Util.addWords(cpu.sp, displacement, 0);
+        cpu.esp = (cpu.esp & 0xFFFF0000) | ((cpu.esp + displacement) & 0xFFFF);
     }
 }
@@ -49,7 +49,6 @@ public class Instruction_SAHF implements Instruction {
 
     // Attributes
     private CPU cpu;
-    boolean[] tempFlags = new boolean[8];
 
     // Constructors
 
@@ -77,8 +76,7 @@ public class Instruction_SAHF implements Instruction {
      * Move AH register into low byte of FLAGS register.
      */
     public void execute() {
-        tempFlags = Util
-                .bytesToBooleans(new byte[]{cpu.ax[CPU.REGISTER_GENERAL_HIGH]});
-        System.arraycopy(tempFlags, 0, cpu.flags, 0, tempFlags.length);
+        cpu.flags.setValue((cpu.flags.getValue() & 0xFF00)
+                | ((cpu.eax >> 8) & 0xFF));
     }
 }
@@ -77,10 +77,10 @@ public class Instruction_SALC implements Instruction {
      * Information taken from http://www.x86.org/secrets/opcodes/salc.htm
      */
     public void execute() {
-        if (cpu.flags[CPU.REGISTER_FLAGS_CF]) {
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] = (byte) 0xFF;
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_CF)) {
+            cpu.eax |= 0xFF;
         } else {
-            cpu.ax[CPU.REGISTER_GENERAL_LOW] = (byte) 0x00;
+            cpu.eax &= 0xFFFFFF00;
         }
     }
 }
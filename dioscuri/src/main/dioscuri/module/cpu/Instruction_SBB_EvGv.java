@@ -50,22 +50,14 @@ public class Instruction_SBB_EvGv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte[] sourceValue = new byte[2];
-    byte[] sourceValue2 = new byte[2];
-    byte[] oldSource = new byte[2];
-    byte[] destinationRegister = new byte[2];
-    byte[] oldDest = new byte[2];
-    int intermediateResult;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte iCarryFlag;
-    byte[] tempResult = new byte[2];
-    byte[] temp = new byte[2];
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+    int carry = 0;
 
     // Constructors
 
@@ -95,7 +87,7 @@ public class Instruction_SBB_EvGv implements Instruction {
      */
     public void execute() {
         // Determine value of carry flag before reset
-        iCarryFlag = (byte) (cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0);
+        carry = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
         // Get addresByte
         addressByte = cpu.getByteFromCode();
@@ -105,9 +97,7 @@ public class Instruction_SBB_EvGv implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        sourceValue = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-        System.arraycopy(sourceValue, 0, oldSource, 0, sourceValue.length);
+        sourceValue = cpu.getRegisterWord((addressByte & 0x38) >> 3);
 
         // Execute SBB on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
@@ -115,80 +105,25 @@ public class Instruction_SBB_EvGv implements Instruction {
             // SBB reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
-            // Store initial value
-            System.arraycopy(destinationRegister, 0, oldDest, 0,
-                    destinationRegister.length);
-
-            // SBB source and destination plus carry, storing result in
-            // destination.
-            temp = Util.subtractWords(destinationRegister, sourceValue,
-                    iCarryFlag);
-            System.arraycopy(temp, 0, destinationRegister, 0, temp.length);
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                    oldDest[CPU.REGISTER_GENERAL_LOW],
-                    destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(oldDest,
-                    oldSource, iCarryFlag);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(oldDest,
-                    oldSource, destinationRegister, iCarryFlag);
-            // Test ZF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0
-                    && destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                    : false;
-            // Test SF on particular byte of destinationRegister (set when MSB
-            // is 1, occurs when destReg >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF on particular byte of destinationRegister
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
+            oldDest = cpu.getRegisterWord(addressByte & 0x07);
+            result = (oldDest - sourceValue - carry) & 0xFFFF;
+            cpu.setRegisterWord(addressByte & 0x07, result);
         } else {
             // SBB mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory and SBB source register
-            sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+            oldDest = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
-
-            // Store initial value
-            System.arraycopy(sourceValue2, 0, oldDest, 0, sourceValue2.length);
-
-            // SBB source from destination plus carry
-            temp = Util.subtractWords(sourceValue2, sourceValue, iCarryFlag);
-            System.arraycopy(temp, 0, tempResult, 0, temp.length);
+            result = (oldDest - sourceValue - carry) & 0xFFFF;
 
             // Store result in memory
             cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
-                    tempResult);
-
-            // Test AF
-            cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                    oldDest[CPU.REGISTER_GENERAL_LOW],
-                    tempResult[CPU.REGISTER_GENERAL_LOW]);
-            // Test CF
-            cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(sourceValue2,
-                    oldSource, iCarryFlag);
-            // Test OF
-            cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(sourceValue2,
-                    oldSource, tempResult, iCarryFlag);
-            // Test ZF on result
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                    && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true : false;
-            // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
-            // Set PF on result
-            cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                    .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+                    result);
         }
+
+        // Set OF, SF, ZF, AF, CF, PF
+        cpu.flags.setResult(Flags.SUB, Flags.WORD, oldDest, sourceValue, carry,
+                result);
     }
 }
@@ -54,8 +54,6 @@ public class Instruction_SCAS_ALYb implements Instruction {
 
     byte source;
     byte result;
-    byte[] transition;
-    byte[] temp;
 
     // Constructors
 
@@ -68,10 +66,6 @@ public class Instruction_SCAS_ALYb implements Instruction {
         source = 0;
         result = 0;
 
-        // Set transition that holds the amount si and di should be altered
-        // (byte = 1)
-        transition = new byte[]{0x00, 0x01};
-        temp = new byte[2];
     }
 
     /**
@@ -95,38 +89,22 @@ public class Instruction_SCAS_ALYb implements Instruction {
      */
     public void execute() {
         // Get byte from ES:DI; no segment override is allowed.
-        source = cpu.getByteFromExtra(cpu.di);
+        source = cpu.getByteFromExtra(cpu.edi & 0xFFFF);
 
         // Subtract source byte from register AL
-        result = (byte) (cpu.ax[CPU.REGISTER_GENERAL_LOW] - source);
+        result = (byte) (cpu.eax - source);
 
         // Set FLAGS
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                cpu.ax[CPU.REGISTER_GENERAL_LOW], result);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(
-                cpu.ax[CPU.REGISTER_GENERAL_LOW], source, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(
-                cpu.ax[CPU.REGISTER_GENERAL_LOW], source, result, 0);
-        // Test ZF, is tested againt tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = result == 0 ? true : false;
-        // Test SF, only applies to lower byte (set when MSB is 1, occurs when
-        // tempResult >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = result < 0 ? true : false;
-        // Set PF, only applies to lower byte
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util.checkParityOfByte(result);
+        cpu.flags.setResult(Flags.SUB, Flags.BYTE, cpu.eax & 0xFF,
+                source & 0xFF, 0, result);
 
         // Increment or decrement DI depending on DF flag
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement register
-            temp = Util.subtractWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 1) & 0xFFFF);
         } else {
             // Increment register
-            temp = Util.addWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 1) & 0xFFFF);
         }
     }
 }
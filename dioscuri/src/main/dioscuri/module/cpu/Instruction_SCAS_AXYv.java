@@ -52,10 +52,8 @@ public class Instruction_SCAS_AXYv implements Instruction {
 
     boolean operandWordSize;
 
-    byte[] source;
-    byte[] result;
-    byte[] transition;
-    byte[] temp;
+    int source;
+    int result;
 
     // Constructors
 
@@ -65,13 +63,9 @@ public class Instruction_SCAS_AXYv implements Instruction {
     public Instruction_SCAS_AXYv() {
         operandWordSize = false;
 
-        source = new byte[2];
-        result = new byte[2];
+        source = 0;
+        result = 0;
 
-        // Set transition that holds the amount si and di should be altered
-        // (word = 2)
-        transition = new byte[]{0x00, 0x02};
-        temp = new byte[2];
     }
 
     /**
@@ -95,42 +89,22 @@ public class Instruction_SCAS_AXYv implements Instruction {
      */
     public void execute() {
         // Get byte from ES:DI; no segment override is allowed.
-        source = cpu.getWordFromExtra(cpu.di);
+        source = cpu.getWordFromExtra(cpu.edi & 0xFFFF);
 
         // Subtract source byte from register AL
-        result = Util.subtractWords(cpu.ax, source, 0);
+        result = ((cpu.eax & 0xFFFF) - source) & 0xFFFF;
 
         // Set FLAGS
-        // Test AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = Util.test_AF_SUB(
-                cpu.ax[CPU.REGISTER_GENERAL_LOW],
-                result[CPU.REGISTER_GENERAL_LOW]);
-        // Test CF
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = Util.test_CF_SUB(cpu.ax, source, 0);
-        // Test OF
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB(cpu.ax, source,
-                result, 0);
-        // Test ZF, is tested againt tempResult
-        // Test ZF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = result[CPU.REGISTER_GENERAL_HIGH] == 0x00
-                && result[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true : false;
-        // Test SF on particular byte of destinationRegister (set when MSB is 1,
-        // occurs when destReg >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = result[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Test PF on particular byte of destinationRegister
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(result[CPU.REGISTER_GENERAL_LOW]);
+        cpu.flags.setResult(Flags.SUB, Flags.WORD, cpu.eax & 0xFFFF, source, 0,
+                result);
 
         // Increment or decrement DI depending on DF flag
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement register
-            temp = Util.subtractWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 2) & 0xFFFF);
         } else {
             // Increment register
-            temp = Util.addWords(cpu.di, transition, 0);
-            System.arraycopy(temp, 0, cpu.di, 0, temp.length);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 2) & 0xFFFF);
         }
     }
 }
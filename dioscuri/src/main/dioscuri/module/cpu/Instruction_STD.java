@@ -77,6 +77,6 @@ public class Instruction_STD implements Instruction {
      */
     public void execute() {
         // Set direction flag in FLAGS register
-        cpu.flags[CPU.REGISTER_FLAGS_DF] = true;
+        cpu.flags.set(CPU.REGISTER_FLAGS_DF, true);
     }
 }
@@ -79,6 +79,6 @@ public class Instruction_STI implements Instruction {
         // Set interrupt flag in FLAGS register
         // Note: Interrupt should be sensed by processor with a delay of one
         // instruction
-        cpu.flags[CPU.REGISTER_FLAGS_IF] = true;
+        cpu.flags.set(CPU.REGISTER_FLAGS_IF, true);
     }
 }
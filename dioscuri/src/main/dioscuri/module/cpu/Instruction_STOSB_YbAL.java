@@ -48,7 +48,6 @@ public class Instruction_STOSB_YbAL implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] transition = new byte[]{0x00, 0x01}; // Increment/decrement value
 
     // Constructors
 
@@ -79,17 +78,17 @@ public class Instruction_STOSB_YbAL implements Instruction {
     public void execute() {
         // Get byte at AL and assign to ES:DI; ES segment override is not
         // allowed
-        cpu.setByteToExtra(cpu.di, cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+        cpu.setByteToExtra(cpu.edi & 0xFFFF, (byte) cpu.eax);
 
         // Update DI according to DF flag
         // Check direction of flag: If DF == 0, DI is incremented; if DF == 1,
         // DI is decremented
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement the DI register by byte size
-            cpu.di = Util.subtractWords(cpu.di, transition, 0);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 1) & 0xFFFF);
         } else {
             // Increment the DI register by byte size
-            cpu.di = Util.addWords(cpu.di, transition, 0);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 1) & 0xFFFF);
         }
     }
 }
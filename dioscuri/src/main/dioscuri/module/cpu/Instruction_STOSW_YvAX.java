@@ -48,7 +48,6 @@ public class Instruction_STOSW_YvAX implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] transition = new byte[]{0x00, 0x02}; // Increment/decrement value
 
     // Constructors
 
@@ -79,17 +78,17 @@ public class Instruction_STOSW_YvAX implements Instruction {
     public void execute() {
         // Get word at AX and assign to ES:DI; ES segment override is not
         // allowed
-        cpu.setWordToExtra(cpu.di, cpu.ax);
+        cpu.setWordToExtra(cpu.edi & 0xFFFF, cpu.eax & 0xFFFF);
 
         // Update DI according to DF flag
         // Check direction of flag: If DF == 0, DI is incremented; if DF == 1,
         // DI is decremented
-        if (cpu.flags[CPU.REGISTER_FLAGS_DF]) {
+        if (cpu.flags.get(CPU.REGISTER_FLAGS_DF)) {
             // Decrement the DI register by word size
-            cpu.di = Util.subtractWords(cpu.di, transition, 0);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi - 2) & 0xFFFF);
         } else {
             // Increment the DI register by word size
-            cpu.di = Util.addWords(cpu.di, transition, 0);
+            cpu.edi = (cpu.edi & 0xFFFF0000) | ((cpu.edi + 2) & 0xFFFF);
         }
     }
 }
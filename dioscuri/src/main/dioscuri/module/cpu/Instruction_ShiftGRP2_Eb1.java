@@ -54,41 +54,32 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
-
     byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-    byte registerHighLow;
+    int memoryReferenceLocation;
+    int memoryReferenceDisplacement;
 
-    byte[] sourceValue;
+    byte sourceValue;
     int tempValue;
     int bitShift;
     int carryBit;
     int newCarryBit;
 
-    byte[] tempResult;
-
     // Constructors
 
     /**
      * Class constructor
      */
     public Instruction_ShiftGRP2_Eb1() {
-        operandWordSize = false;
-
         addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
+        memoryReferenceLocation = 0;
+        memoryReferenceDisplacement = 0;
 
-        sourceValue = new byte[2];
+        sourceValue = 0;
         tempValue = 0;
 
         bitShift = 0;
         carryBit = 0;
         newCarryBit = 0;
-
-        tempResult = new byte[2];
     }
 
     /**
@@ -112,9 +103,6 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
      * @throws CPUInstructionException
      */
     public void execute() throws CPUInstructionException {
-        // Reset sourceValue (to lose pointer to earlier words)
-        sourceValue = new byte[2];
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -133,50 +121,41 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // ROL on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Determine result of carry; this is the MSB
-                carryBit = (sourceValue[registerHighLow] & 0x80) == 0x80 ? 1 : 0;
+                carryBit = (sourceValue & 0x80) == 0x80 ? 1 : 0;
 
                 // Rotate left by 1. This is equivalent to a SHL of 1 ORed with the
                 // previously calculated carryBit
-                sourceValue[registerHighLow] = (byte) ((sourceValue[registerHighLow] << bitShift) | carryBit);
+                sourceValue = (byte) ((sourceValue << bitShift) | carryBit);
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                 // Set OF (only defined for 1-bit rotates); XOR of CF (after rotate)
                 // and MSB of result.
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[registerHighLow] & 0x80) == 0x80 ? 1
-                        : 0)) == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x80) == 0x80 ? 1
+                        : 0)) == 1 ? true : false);
                 break; // ROL
 
             case 1: // ROR - Rotate bits 1 position right; Flags affected: CF, OF
@@ -185,47 +164,38 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROR reg,imm
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // ROR mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Rotate right. This is equivalent to a SHR of 1 ORed with a SHL of
                 // 7
-                sourceValue[registerHighLow] = (byte) ((((sourceValue[registerHighLow]) >> bitShift) & 0x7F) | ((sourceValue[registerHighLow]) << (8 - bitShift)));
+                sourceValue = (byte) ((((sourceValue) >> bitShift) & 0x7F) | ((sourceValue) << (8 - bitShift)));
 
                 // Store result in memory, if necessary
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this is equal to the high bit of the register
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = (sourceValue[registerHighLow] & 0x80) == 0x80 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, (sourceValue & 0x80) == 0x80 ? true
+                        : false);
                 // OF is the XOR of the two most-significant bits of the result.
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = ((cpu.flags[CPU.REGISTER_FLAGS_CF] ^ ((sourceValue[registerHighLow]) & 0x40) == 0x40)) ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, ((cpu.flags.get(CPU.REGISTER_FLAGS_CF) ^ ((sourceValue) & 0x40) == 0x40)) ? true
+                        : false);
                 break; // ROR
 
             case 2: // RCL - Rotate bits + CF 1 position left; Flags affected: CF,
@@ -235,53 +205,44 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // RCL on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Determine result of carry; this is the MSB
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
-                newCarryBit = (sourceValue[registerHighLow] & 0x80) == 0x80 ? 1 : 0;
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
+                newCarryBit = (sourceValue & 0x80) == 0x80 ? 1 : 0;
 
                 // Rotate left by 1. This is equivalent to a SHL of 1 ORed with the
                 // current carryBit (CF)
-                sourceValue[registerHighLow] = (byte) ((sourceValue[registerHighLow] << bitShift) | carryBit);
+                sourceValue = (byte) ((sourceValue << bitShift) | carryBit);
 
                 // Update carryBit
                 carryBit = newCarryBit;
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF (only defined for 1-bit rotates); XOR of CF (after rotate)
                 // and MSB of result.
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[registerHighLow] & 0x80) == 0x80 ? 1
-                        : 0)) == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x80) == 0x80 ? 1
+                        : 0)) == 1 ? true : false);
                 break; // RCL
 
             case 3: // RCR - Rotate bits + CF 1 position right; Flags affected: CF,
@@ -291,53 +252,44 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // RCR on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Determine result of carry; this is the MSB
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
-                newCarryBit = (sourceValue[registerHighLow] & 0x01) == 0x01 ? 1 : 0;
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
+                newCarryBit = (sourceValue & 0x01) == 0x01 ? 1 : 0;
 
                 // Rotate right by 1. This is equivalent to a SHR of 1 ORed with CF
-                sourceValue[registerHighLow] = (byte) ((((sourceValue[registerHighLow]) >> bitShift) & 0x7F) | (carryBit << (8 - bitShift)));
+                sourceValue = (byte) ((((sourceValue) >> bitShift) & 0x7F) | (carryBit << (8 - bitShift)));
 
                 // Update carryBit
                 carryBit = newCarryBit;
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                 // Set OF (only defined for 1-bit rotates); XOR of CF (after rotate)
                 // and MSB of result.
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (((sourceValue[registerHighLow] << 1) ^ sourceValue[registerHighLow]) & 0x80) == 0x80 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (((sourceValue << 1) ^ sourceValue) & 0x80) == 0x80 ? true
+                        : false);
                 break; // RCR
 
             case 4: // SHL/SAL; flags affected: CF, OF, SF, ZF, PF, AF (undefined)
@@ -346,62 +298,53 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // SHL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // SHL mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Set CF; this is equal to the MSB
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = (sourceValue[registerHighLow] & 0x80) == 0x80 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, (sourceValue & 0x80) == 0x80 ? true
+                        : false);
 
                 // Shift left by 1
-                sourceValue[registerHighLow] = (byte) (sourceValue[registerHighLow] << bitShift);
+                sourceValue = (byte) (sourceValue << bitShift);
 
                 // Store result in memory, if necessary
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set AF (although 'undefined' by Intel specs, hardware seems to
                 // clear it)
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                 // Set OF; clear if the most significant bit of the result is the
                 // same as the CF flag
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (cpu.flags[CPU.REGISTER_FLAGS_CF] && ((sourceValue[registerHighLow]) >> 7) == 1)
-                        || (!(cpu.flags[CPU.REGISTER_FLAGS_CF]) && ((sourceValue[registerHighLow]) >> 7) == 0) ? false
-                        : true;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (cpu.flags.get(CPU.REGISTER_FLAGS_CF) && ((sourceValue) >> 7) == 1)
+                        || (!(cpu.flags.get(CPU.REGISTER_FLAGS_CF)) && ((sourceValue) >> 7) == 0) ? false
+                        : true);
                 // Set ZF
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[registerHighLow] == 0 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                        : false);
                 // Set SF on particular byte of destinationRegister (set when MSB is
                 // 1, occurs when destReg >= 0x80)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[registerHighLow] < 0 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_SF, sourceValue < 0 ? true
+                        : false);
                 // Set PF on particular byte of destinationRegister
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(sourceValue[registerHighLow]);
+                cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                        .checkParityOfByte(sourceValue));
                 break; // SHL/SAL
 
             case 5: // SHR - Shift right unsigned. Flags affected: CF, OF, SF, ZF,
@@ -411,62 +354,53 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // SHR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // SHR on memory
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Set CF; this will become what is now the LSB
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = (sourceValue[registerHighLow] & 0x01) == 1 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, (sourceValue & 0x01) == 1 ? true
+                        : false);
                 // Set OF to MSB of original operand
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (sourceValue[registerHighLow] & 0x80) == 0x80 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (sourceValue & 0x80) == 0x80 ? true
+                        : false);
 
                 // SHR by 1 - on unsigned value! (Else, ones are shifted into value
                 // if 0x80 or higher due to Java nature)
-                tempValue = ((int) sourceValue[registerHighLow]) & 0xFF;
+                tempValue = ((int) sourceValue) & 0xFF;
                 tempValue = (tempValue >> bitShift) & 0x7F;
-                sourceValue[registerHighLow] = (byte) tempValue;
+                sourceValue = (byte) tempValue;
 
                 // Store result in memory for SHR mem operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set AF (although 'undefined' by Intel specs, hardware seems to
                 // clear it)
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                 // Set ZF
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[registerHighLow] == 0 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                        : false);
                 // Set SF on particular byte of destinationRegister (set when MSB is
                 // 1, occurs when destReg >= 0x80)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[registerHighLow] < 0 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_SF, sourceValue < 0 ? true
+                        : false);
                 // Set PF on particular byte of destinationRegister
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(sourceValue[registerHighLow]);
+                cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                        .checkParityOfByte(sourceValue));
                 break; // SHR
 
             case 6: // Does not exist
@@ -481,60 +415,51 @@ public class Instruction_ShiftGRP2_Eb1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // SAR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // SAR on memory
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Set CF; this will become what is now the LSB
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = (sourceValue[registerHighLow] & 0x01) == 1 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, (sourceValue & 0x01) == 1 ? true
+                        : false);
                 // Set OF to MSB of original operand
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (sourceValue[registerHighLow] & 0x80) == 0x80 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (sourceValue & 0x80) == 0x80 ? true
+                        : false);
 
                 // SAR by 1 - on signed value! (This is natural to the Java
                 // behaviour)
-                sourceValue[registerHighLow] = (byte) ((sourceValue[registerHighLow] >> bitShift) & 0x7F);
+                sourceValue = (byte) ((sourceValue >> bitShift) & 0x7F);
 
                 // Store result in memory for SHR mem operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set AF (although 'undefined' by Intel specs, hardware seems to
                 // clear it)
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                 // Set ZF
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[registerHighLow] == 0 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                        : false);
                 // Set SF on particular byte of destinationRegister (set when MSB is
                 // 1, occurs when destReg >= 0x80)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[registerHighLow] < 0 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_SF, sourceValue < 0 ? true
+                        : false);
                 // Set PF on particular byte of destinationRegister
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(sourceValue[registerHighLow]);
+                cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                        .checkParityOfByte(sourceValue));
                 break; // SAR
 
             default:
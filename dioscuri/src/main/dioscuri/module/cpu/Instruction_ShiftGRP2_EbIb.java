@@ -54,14 +54,11 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
-
     byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
-    byte registerHighLow;
+    int memoryReferenceLocation;
+    int memoryReferenceDisplacement;
 
-    byte[] sourceValue;
+    byte sourceValue;
     int bitShift;
     int carryBit;
     int newCarryBit;
@@ -73,14 +70,11 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
      * Class constructor
      */
     public Instruction_ShiftGRP2_EbIb() {
-        operandWordSize = false;
-
         addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-        registerHighLow = 0;
+        memoryReferenceLocation = 0;
+        memoryReferenceDisplacement = 0;
 
-        sourceValue = new byte[2];
+        sourceValue = 0;
         bitShift = 0;
         carryBit = 0;
         newCarryBit = 0;
@@ -108,9 +102,6 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
      * @throws CPUInstructionException
      */
     public void execute() throws CPUInstructionException {
-        // Reset sourceValue (to lose pointer to earlier words)
-        sourceValue = new byte[2];
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -129,57 +120,48 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // ROL on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = CPU.REGISTER_GENERAL_LOW;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Determine result of carry; this is the MSB
-                carryBit = (sourceValue[registerHighLow] & 0x80) == 0x80 ? 1 : 0;
+                carryBit = (sourceValue & 0x80) == 0x80 ? 1 : 0;
 
                 // Rotate left
                 for (int s = 0; s < bitShift; s++) {
                     // Determine result of carry; this is the MSB
-                    carryBit = (sourceValue[registerHighLow] & 0x80) == 0x80 ? 1
+                    carryBit = (sourceValue & 0x80) == 0x80 ? 1
                             : 0;
 
                     // Rotate left by 1. This is equivalent to a SHL of 1 ORed with
                     // the previously calculated carryBit
-                    sourceValue[registerHighLow] = (byte) ((sourceValue[registerHighLow] << 1) | carryBit);
+                    sourceValue = (byte) ((sourceValue << 1) | carryBit);
                 }
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF (only defined for 1-bit rotates); XOR of CF (after rotate)
                 // and MSB of result.
                 if (bitShift == 1) {
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[registerHighLow] & 0x80) == 0x80 ? 1
-                            : 0)) == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x80) == 0x80 ? 1
+                            : 0)) == 1 ? true : false);
                 }
                 break; // ROL
 
@@ -189,24 +171,15 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROR reg,imm
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // ROR mem,imm
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
@@ -214,27 +187,27 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                 for (int s = 0; s < bitShift; s++) {
                     // Rotate right by 1. This is equivalent to a SHR of 1 ORed with
                     // a SHL of 7
-                    sourceValue[registerHighLow] = (byte) ((((sourceValue[registerHighLow]) >> 1) & 0x7F) | ((sourceValue[registerHighLow]) << 7));
+                    sourceValue = (byte) ((((sourceValue) >> 1) & 0x7F) | ((sourceValue) << 7));
                 }
 
                 // Store result in memory, if necessary
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this is equal to the high bit of the register
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = (sourceValue[registerHighLow] & 0x80) == 0x80 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, (sourceValue & 0x80) == 0x80 ? true
+                        : false);
                 // OF (only defined for 1-bit rotates) is the XOR of the two
                 // most-significant bits of the result.
                 if (bitShift == 1) {
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = ((cpu.flags[CPU.REGISTER_FLAGS_CF] ^ ((sourceValue[registerHighLow]) & 0x40) == 0x40)) ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, ((cpu.flags.get(CPU.REGISTER_FLAGS_CF) ^ ((sourceValue) & 0x40) == 0x40)) ? true
+                            : false);
                 }
                 break; // ROR
 
@@ -245,60 +218,51 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // RCL on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Determine result of carry; this is the MSB
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
                 // Rotate left
                 for (int s = 0; s < bitShift; s++) {
                     // Determine result of carry; this is the MSB
-                    newCarryBit = (sourceValue[registerHighLow] & 0x80) == 0x80 ? 1
+                    newCarryBit = (sourceValue & 0x80) == 0x80 ? 1
                             : 0;
 
                     // Rotate left by 1. This is equivalent to a SHL of 1 ORed with
                     // the current carryBit (CF)
-                    sourceValue[registerHighLow] = (byte) ((sourceValue[registerHighLow] << 1) | carryBit);
+                    sourceValue = (byte) ((sourceValue << 1) | carryBit);
 
                     // Update carryBit
                     carryBit = newCarryBit;
                 }
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF (only defined for 1-bit rotates); XOR of CF (after rotate)
                 // and MSB of result.
                 if (bitShift == 1) {
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[registerHighLow] & 0x80) == 0x80 ? 1
-                            : 0)) == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x80) == 0x80 ? 1
+                            : 0)) == 1 ? true : false);
                 }
                 break; // RCL
 
@@ -309,60 +273,51 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
+                    sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                 } else {
                     // RCR on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Determine high/low part of register
-                    registerHighLow = 0;
-
                     // Get byte from memory
-                    sourceValue[registerHighLow] = cpu.getByteFromMemorySegment(
+                    sourceValue = cpu.getByteFromMemorySegment(
                             addressByte, memoryReferenceLocation);
                 }
 
                 // Determine result of carry; this is the MSB
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
                 // Rotate right
                 for (int s = 0; s < bitShift; s++) {
                     // Determine result of carry; this is the MSB
-                    newCarryBit = (sourceValue[registerHighLow] & 0x01) == 0x01 ? 1
+                    newCarryBit = (sourceValue & 0x01) == 0x01 ? 1
                             : 0;
 
                     // Rotate right by 1. This is equivalent to a SHR of 1 ORed with
                     // CF
-                    sourceValue[registerHighLow] = (byte) ((((sourceValue[registerHighLow]) >> 1) & 0x7F) | ((carryBit) << 7));
+                    sourceValue = (byte) ((((sourceValue) >> 1) & 0x7F) | ((carryBit) << 7));
 
                     // Update carryBit
                     carryBit = newCarryBit;
                 }
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceValue[registerHighLow]);
+                            memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF (only defined for 1-bit rotates); XOR of CF (after rotate)
                 // and MSB of result.
                 if (bitShift == 1) {
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[registerHighLow] & 0x80) == 0x80 ? 1
-                            : 0)) == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x80) == 0x80 ? 1
+                            : 0)) == 1 ? true : false);
                 }
                 break; // RCR
 
@@ -375,71 +330,61 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                         // SHL on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
-
-                        // Determine high/low part of register based on bit 3
-                        // (leading sss bit)
-                        registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                                : (byte) CPU.REGISTER_GENERAL_HIGH;
+                        sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                     } else {
                         // SHL on memory
                         // Determine memory location
                         memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                                 memoryReferenceDisplacement);
 
-                        // Determine high/low part of register
-                        registerHighLow = 0;
-
                         // Get byte from memory
-                        sourceValue[registerHighLow] = cpu
+                        sourceValue = cpu
                                 .getByteFromMemorySegment(addressByte,
                                         memoryReferenceLocation);
                     }
 
                     // Shift left
-                    sourceValue[registerHighLow] = (byte) ((sourceValue[registerHighLow]) << bitShift);
-                    carryBit = (((sourceValue[registerHighLow]) << (bitShift - 1)) & 0x80) == 0x80 ? 1
+                    sourceValue = (byte) ((sourceValue) << bitShift);
+                    carryBit = (((sourceValue) << (bitShift - 1)) & 0x80) == 0x80 ? 1
                             : 0;
 
                     // Store result in memory for SHL mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                    } else {
                         // Store result back in memory
                         cpu.setByteInMemorySegment(addressByte,
-                                memoryReferenceLocation,
-                                sourceValue[registerHighLow]);
+                                memoryReferenceLocation, sourceValue);
                     }
 
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                     // Set OF only if 1-bit shift occurred
                     if (bitShift == 1) {
                         // Clear OF if the most significant bit of the result is the
                         // same as the CF flag
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = (cpu.flags[CPU.REGISTER_FLAGS_CF] && ((sourceValue[registerHighLow]) >> 7) == 1)
-                                || (!(cpu.flags[CPU.REGISTER_FLAGS_CF]) && ((sourceValue[registerHighLow]) >> 7) == 0) ? false
-                                : true;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, (cpu.flags.get(CPU.REGISTER_FLAGS_CF) && ((sourceValue) >> 7) == 1)
+                                || (!(cpu.flags.get(CPU.REGISTER_FLAGS_CF)) && ((sourceValue) >> 7) == 0) ? false
+                                : true);
                     } else {
                         // Hardware seems to clear it
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                     }
                     // Set ZF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[registerHighLow] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[registerHighLow] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, sourceValue < 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[registerHighLow]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte(sourceValue));
                 }
                 break; // SHL/SAL
 
@@ -453,24 +398,15 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                         // SHR on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
-
-                        // Determine high/low part of register based on bit 3
-                        // (leading sss bit)
-                        registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                                : (byte) CPU.REGISTER_GENERAL_HIGH;
+                        sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                     } else {
                         // SHR on memory
                         // Determine memory location
                         memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                                 memoryReferenceDisplacement);
 
-                        // Determine high/low part of register
-                        registerHighLow = 0;
-
                         // Get byte from memory
-                        sourceValue[registerHighLow] = cpu
+                        sourceValue = cpu
                                 .getByteFromMemorySegment(addressByte,
                                         memoryReferenceLocation);
                     }
@@ -478,48 +414,47 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                     // Set OF (only if bitShift is 1)
                     if (bitShift == 1) {
                         // Set OF to MSB of original operand
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = (sourceValue[registerHighLow] & 0x80) == 0x80 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, (sourceValue & 0x80) == 0x80 ? true
+                                : false);
                     } else {
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                     }
 
                     // Perform SHR of (CL -1) - on unsigned value!
-                    shiftResult = ((int) sourceValue[registerHighLow]) & 0xFF;
+                    shiftResult = ((int) sourceValue) & 0xFF;
                     shiftResult >>= (bitShift - 1);
 
                     // Set CF; this will become what is now the LSB
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = (shiftResult & 0x01) == 1 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, (shiftResult & 0x01) == 1 ? true
+                            : false);
 
                     // Perform final shift
                     shiftResult >>= 1;
 
-                    sourceValue[registerHighLow] = (byte) shiftResult;
+                    sourceValue = (byte) shiftResult;
 
                     // Store result in memory for SHR mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                    } else {
                         cpu.setByteInMemorySegment(addressByte,
-                                memoryReferenceLocation,
-                                sourceValue[registerHighLow]);
+                                memoryReferenceLocation, sourceValue);
                     }
 
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[registerHighLow] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[registerHighLow] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, sourceValue < 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[registerHighLow]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte(sourceValue));
                 }
                 break; // SHR
 
@@ -538,67 +473,57 @@ public class Instruction_ShiftGRP2_EbIb implements Instruction {
                         // SHR on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
-
-                        // Determine high/low part of register based on bit 3
-                        // (leading sss bit)
-                        registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                                : (byte) CPU.REGISTER_GENERAL_HIGH;
+                        sourceValue = (byte) cpu.getRegisterByte(addressByte & 0x07);
                     } else {
                         // SHR on memory
                         // Determine memory location
                         memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                                 memoryReferenceDisplacement);
 
-                        // Determine high/low part of register
-                        registerHighLow = 0;
-
                         // Get byte from memory
-                        sourceValue[registerHighLow] = cpu
+                        sourceValue = cpu
                                 .getByteFromMemorySegment(addressByte,
                                         memoryReferenceLocation);
                     }
 
                     // Set CF; this will become what is now the LSB
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = (sourceValue[registerHighLow] & 0x01) == 1 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, (sourceValue & 0x01) == 1 ? true
+                            : false);
                     // Set OF (only if bitShift is 1)
                     if (bitShift == 1) {
                         // Set OF to MSB of original operand
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = (sourceValue[registerHighLow] & 0x80) == 0x80 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, (sourceValue & 0x80) == 0x80 ? true
+                                : false);
                     } else {
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                     }
 
                     // SHR by 1 - on signed value! (This is natural to the Java
                     // behaviour)
-                    sourceValue[registerHighLow] = (byte) (sourceValue[registerHighLow] >> bitShift);
+                    sourceValue = (byte) (sourceValue >> bitShift);
 
                     // Store result in memory for SHR mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterByte(addressByte & 0x07, sourceValue);
+                    } else {
                         cpu.setByteInMemorySegment(addressByte,
-                                memoryReferenceLocation,
-                                sourceValue[registerHighLow]);
+                                memoryReferenceLocation, sourceValue);
                     }
 
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[registerHighLow] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of destinationRegister (set when
                     // MSB is 1, occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[registerHighLow] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, sourceValue < 0 ? true
+                            : false);
                     // Set PF on particular byte of destinationRegister
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[registerHighLow]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte(sourceValue));
                 }
                 break; // SAR
 
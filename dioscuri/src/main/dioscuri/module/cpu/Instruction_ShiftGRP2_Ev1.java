@@ -54,14 +54,13 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
 
     byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
+    int memoryReferenceLocation;
+    int memoryReferenceDisplacement;
 
-    byte[] sourceValue;
-    byte[] eSourceValue;
+    int sourceValue;
+    int eSourceValue;
 
     int bitShift;
     long shiftResult;
@@ -74,14 +73,13 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
      * Class constructor
      */
     public Instruction_ShiftGRP2_Ev1() {
-        operandWordSize = true;
 
         addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
+        memoryReferenceLocation = 0;
+        memoryReferenceDisplacement = 0;
 
-        sourceValue = new byte[2];
-        eSourceValue = new byte[2];
+        sourceValue = 0;
+        eSourceValue = 0;
 
         bitShift = 0;
         shiftResult = 0;
@@ -110,10 +108,6 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
      * @throws CPUInstructionException
      */
     public void execute() throws CPUInstructionException {
-        // Reset sourceValue and eSourceValue (to lose pointer to earlier words)
-        sourceValue = new byte[2];
-        eSourceValue = new byte[2];
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -131,8 +125,7 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // ROL on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
@@ -143,10 +136,11 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Determine result of carry; this is the MSB
+                // FIXME: bit 7 is taken as MSB instead of bit 15
                 carryBit = (shiftResult & 0x80) == 0x80 ? 1 : 0;
 
                 // Rotate left by 1. This is equivalent to a SHL of 1 ORed with the
@@ -154,13 +148,12 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 shiftResult = (((shiftResult << bitShift) & 0xFFFF) | carryBit);
 
                 // Return result to register
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = ((byte) (shiftResult >> 8));
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = ((byte) (shiftResult & 0xFF));
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
@@ -168,11 +161,11 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF (only defined for 1-bit rotates); XOR of CF (after rotate)
                 // and MSB of result.
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? 1
-                        : 0)) == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x8000) == 0x8000 ? 1
+                        : 0)) == 1 ? true : false);
                 break; // ROL
 
             case 1: // ROR - Rotate bits 1 position right. Flags affected: CF, OF
@@ -181,8 +174,7 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // ROR on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
@@ -193,8 +185,8 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Determine result of carry; this is the LSB
                 carryBit = (shiftResult & 0x01) == 0x01 ? 1 : 0;
@@ -204,13 +196,12 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 shiftResult = ((shiftResult >> bitShift) | (carryBit << (16 - bitShift)));
 
                 // Return result to register
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = ((byte) (shiftResult >> 8));
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = ((byte) (shiftResult & 0xFF));
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
@@ -218,11 +209,11 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // OF (only defined for 1-bit rotates) is XOR of the two
                 // most-significant bits
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 7) & 0x01) ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 6) & 0x01)) == 0x01 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (((sourceValue >> 15) & 0x01) ^ ((sourceValue >> 14) & 0x01)) == 0x01 ? true
+                        : false);
                 break; // ROR
 
             case 2: // RCL - Rotate bits + CF 1 position left; Flags affected: CF,
@@ -232,8 +223,7 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // RCL on memory
                     // Determine memory location
@@ -244,12 +234,12 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 }
 
                 // Determine carry value
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
-                newCarryBit = (sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? 1
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
+                newCarryBit = (sourceValue & 0x8000) == 0x8000 ? 1
                         : 0;
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Rotate left by 1
                 shiftResult = ((shiftResult << bitShift) & 0xFFFF) | carryBit;
@@ -258,24 +248,23 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 carryBit = newCarryBit;
 
                 // Write value back to origin
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for RCL mem operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF (only defined for 1-bit rotates); XOR of CF (after rotate)
                 // and MSB of result.
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? 1
-                        : 0)) == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x8000) == 0x8000 ? 1
+                        : 0)) == 1 ? true : false);
                 break; // RCL
 
             case 3: // RCR - Rotate bits + CF 1 position right; Flags affected: CF,
@@ -285,8 +274,7 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // RCR on memory
                     // Determine memory location
@@ -297,12 +285,12 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 }
 
                 // Determine carry value
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
-                newCarryBit = (sourceValue[CPU.REGISTER_GENERAL_LOW] & 0x01) == 0x01 ? 1
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
+                newCarryBit = (sourceValue & 0x01) == 0x01 ? 1
                         : 0;
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Rotate right by 1
                 shiftResult = ((shiftResult >> bitShift) | (carryBit << (16 - bitShift)));
@@ -311,31 +299,30 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                 carryBit = newCarryBit;
 
                 // Write value back to origin
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for RCR mem operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // OF (only defined for 1-bit rotates) is XOR of the two
                 // most-significant bits
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = (((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 7) & 0x01) ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 6) & 0x01)) == 0x01 ? true
-                        : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (((sourceValue >> 15) & 0x01) ^ ((sourceValue >> 14) & 0x01)) == 0x01 ? true
+                        : false);
                 break; // RCR
 
             case 4: // SHL/SAL;
                 // Flags affected: OF, while CF, SF, ZF, PF, AF are undefined
                 // Clear AF (although is undefined by specs, hardware seems to clear
                 // it)
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
 
                 // Check if 16 or 32-bit
                 if (cpu.doubleWord) {
@@ -346,9 +333,8 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                         // SHL on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
-                        eSourceValue = cpu.decodeExtraRegister(addressByte & 0x07);
+                        sourceValue = cpu.getRegisterWord(addressByte & 0x07);
+                        eSourceValue = cpu.getRegisterDoubleWord(addressByte & 0x07) >>> 16;
                     } else {
                         // SHL on memory
                         // Determine memory location
@@ -359,45 +345,33 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                                 memoryReferenceLocation);
 
                         // Increase memory location by 2
-                        int overFlowCheck = (((int) memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + 2;
-                        if (overFlowCheck > 0xFF) {
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]++;
-                        }
-                        memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] += 2;
+                        memoryReferenceLocation = (memoryReferenceLocation + 2) & 0xFFFF;
 
                         eSourceValue = cpu.getWordFromMemorySegment(addressByte,
                                 memoryReferenceLocation);
                     }
 
-                    // Convert bytes to long and shift left
-                    shiftResult = (((((long) eSourceValue[CPU.REGISTER_GENERAL_HIGH]) << 24) & 0xFF000000)
-                            + ((((long) eSourceValue[CPU.REGISTER_GENERAL_LOW]) << 16) & 0xFF0000)
-                            + ((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) << (bitShift - 1);
+                    // Convert to long and shift left
+                    shiftResult = (long) ((eSourceValue << 16) | sourceValue) << (bitShift - 1);
                     carryBit = (int) ((shiftResult & 0x80000000) >> 31) & 0x01;
                     shiftResult = shiftResult << 1;
 
                     // Set result in double word
-                    eSourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 24) & 0xFF);
-                    eSourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) ((shiftResult >> 16) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                    eSourceValue = (int) (shiftResult >> 16) & 0xFFFF;
+                    sourceValue = (int) shiftResult & 0xFFFF;
 
                     // Store result in memory for SHL mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterDoubleWord(addressByte & 0x07,
+                                (eSourceValue << 16) | sourceValue);
+                    } else {
                         // Do this in reverse order because memlocation was
                         // incremented
                         cpu.setWordInMemorySegment(addressByte,
                                 memoryReferenceLocation, eSourceValue);
 
                         // Decrement memlocation
-                        memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] -= 2;
-                        if (memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -1
-                                || memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -2) {
-                            // Underflow
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]--;
-                        }
+                        memoryReferenceLocation = (memoryReferenceLocation - 2) & 0xFFFF;
                         cpu.setWordInMemorySegment(addressByte,
                                 memoryReferenceLocation, sourceValue);
                     }
@@ -405,24 +379,22 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                     // Set appropriate flags
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                     // Clear OF if the most significant bit of the result is the
                     // same as the CF flag
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = ((cpu.flags[CPU.REGISTER_FLAGS_CF] && ((eSourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80)) || ((!cpu.flags[CPU.REGISTER_FLAGS_CF]) && ((eSourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x00))) ? false
-                            : true;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, ((cpu.flags.get(CPU.REGISTER_FLAGS_CF) && ((eSourceValue & 0x8000) == 0x8000)) || ((!cpu.flags.get(CPU.REGISTER_FLAGS_CF)) && ((eSourceValue & 0x8000) == 0x0000))) ? false
+                            : true);
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0
-                            && eSourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && eSourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0
+                            && eSourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = eSourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, (eSourceValue & 0x8000) != 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 } else {
                     // 16-bit registers
                     // Execute shift on reg or mem. Determine this from mm bits of
@@ -431,8 +403,7 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                         // SHL on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
+                        sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                     } else {
                         // SHL on memory
                         // Determine memory location
@@ -442,19 +413,18 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                                 memoryReferenceLocation);
                     }
 
-                    // Convert bytes to long and shift
-                    shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) << (bitShift - 1);
+                    // Convert to long and shift
+                    shiftResult = ((long) sourceValue) << (bitShift - 1);
                     carryBit = (int) (shiftResult >> 15) & 0x01;
                     shiftResult = shiftResult << 1;
 
                     // Set result in word
-                    sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                    sourceValue = (int) shiftResult & 0xFFFF;
 
                     // Store result in memory for SHL mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                    } else {
                         // Do this in reverse order because memlocation was
                         // incremented
                         cpu.setWordInMemorySegment(addressByte,
@@ -464,23 +434,22 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                     // Set appropriate flags
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                     // Clear OF if the most significant bit of the result is the
                     // same as the CF flag
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = ((cpu.flags[CPU.REGISTER_FLAGS_CF] && ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80)) || ((!cpu.flags[CPU.REGISTER_FLAGS_CF]) && ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x00))) ? false
-                            : true;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, ((cpu.flags.get(CPU.REGISTER_FLAGS_CF) && ((sourceValue & 0x8000) == 0x8000)) || ((!cpu.flags.get(CPU.REGISTER_FLAGS_CF)) && ((sourceValue & 0x8000) == 0x0000))) ? false
+                            : true);
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break; // SHL/SAL
 
@@ -495,9 +464,8 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                         // SHR on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
-                        eSourceValue = cpu.decodeExtraRegister(addressByte & 0x07);
+                        sourceValue = cpu.getRegisterWord(addressByte & 0x07);
+                        eSourceValue = cpu.getRegisterDoubleWord(addressByte & 0x07) >>> 16;
                     } else {
                         // SHR on memory
                         // Determine memory location
@@ -508,49 +476,37 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                                 memoryReferenceLocation);
 
                         // Increase memory location by 2
-                        int overFlowCheck = (((int) memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + 2;
-                        if (overFlowCheck > 0xFF) {
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]++;
-                        }
-                        memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] += 2;
+                        memoryReferenceLocation = (memoryReferenceLocation + 2) & 0xFFFF;
 
                         eSourceValue = cpu.getWordFromMemorySegment(addressByte,
                                 memoryReferenceLocation);
                     }
 
                     // Set OF to MSB of original operand (for 1-bitshifts only)
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (eSourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (eSourceValue & 0x8000) == 0x8000 ? true
+                            : false);
 
-                    // Convert bytes to long and shift right
-                    shiftResult = (((((long) eSourceValue[CPU.REGISTER_GENERAL_HIGH]) << 24) & 0xFF000000)
-                            + ((((long) eSourceValue[CPU.REGISTER_GENERAL_LOW]) << 16) & 0xFF0000)
-                            + ((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                    // Convert to long and shift right
+                    shiftResult = (((eSourceValue << 16) | sourceValue) & 0xFFFFFFFFL) >> (bitShift - 1);
                     carryBit = (int) (shiftResult & 0x01);
                     shiftResult = shiftResult >> 1;
 
                     // Set result in double word
-                    eSourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 24) & 0xFF);
-                    eSourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) ((shiftResult >> 16) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                    eSourceValue = (int) (shiftResult >> 16) & 0xFFFF;
+                    sourceValue = (int) shiftResult & 0xFFFF;
 
                     // Store result in memory for SHR mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterDoubleWord(addressByte & 0x07,
+                                (eSourceValue << 16) | sourceValue);
+                    } else {
                         // Do this in reverse order because memlocation was
                         // incremented
                         cpu.setWordInMemorySegment(addressByte,
                                 memoryReferenceLocation, eSourceValue);
 
                         // Decrement memlocation
-                        memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] -= 2;
-                        if (memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -1
-                                || memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -2) {
-                            // Underflow
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]--;
-                        }
+                        memoryReferenceLocation = (memoryReferenceLocation - 2) & 0xFFFF;
                         cpu.setWordInMemorySegment(addressByte,
                                 memoryReferenceLocation, sourceValue);
                     }
@@ -558,23 +514,21 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                     // Set appropriate flags
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0
-                            && eSourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && eSourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0
+                            && eSourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = eSourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, (eSourceValue & 0x8000) != 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 } else {
                     // 16-bit registers
                     // Execute shift on reg or mem. Determine this from mm bits of
@@ -583,8 +537,7 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                         // SHR on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
+                        sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                     } else {
                         // SHR on memory
                         // Determine memory location
@@ -595,22 +548,21 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                     }
 
                     // Set OF to MSB of original operand (for 1-bitshifts only)
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (sourceValue & 0x8000) == 0x8000 ? true
+                            : false);
 
-                    // Convert bytes to long and shift
-                    shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                    // Convert to long and shift
+                    shiftResult = ((long) sourceValue) >> (bitShift - 1);
                     carryBit = (int) (shiftResult & 0x01);
                     shiftResult = shiftResult >> 1;
 
                     // Set result in word
-                    sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                    sourceValue = (int) shiftResult & 0xFFFF;
 
                     // Store result in memory for SHR mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                    } else {
                         // Do this in reverse order because memlocation was
                         // incremented
                         cpu.setWordInMemorySegment(addressByte,
@@ -620,21 +572,20 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                     // Set appropriate flags
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break; // SHR
 
@@ -654,9 +605,8 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                         // SAR on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
-                        eSourceValue = cpu.decodeExtraRegister(addressByte & 0x07);
+                        sourceValue = cpu.getRegisterWord(addressByte & 0x07);
+                        eSourceValue = cpu.getRegisterDoubleWord(addressByte & 0x07) >>> 16;
                     } else {
                         // SAR on memory
                         // Determine memory location
@@ -667,50 +617,38 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                                 memoryReferenceLocation);
 
                         // Increase memory location by 2
-                        int overFlowCheck = (((int) memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + 2;
-                        if (overFlowCheck > 0xFF) {
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]++;
-                        }
-                        memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] += 2;
+                        memoryReferenceLocation = (memoryReferenceLocation + 2) & 0xFFFF;
 
                         eSourceValue = cpu.getWordFromMemorySegment(addressByte,
                                 memoryReferenceLocation);
                     }
 
                     // Set OF to MSB of original operand (for 1-bitshifts only)
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (eSourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (eSourceValue & 0x8000) == 0x8000 ? true
+                            : false);
 
-                    // Convert bytes to long and shift right (with preserving sign
+                    // Convert to long and shift right (with preserving sign
                     // of MSB)
-                    shiftResult = ((((long) eSourceValue[CPU.REGISTER_GENERAL_HIGH]) << 24)
-                            + ((((long) eSourceValue[CPU.REGISTER_GENERAL_LOW]) << 16) & 0xFF0000)
-                            + ((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                    shiftResult = (long) ((eSourceValue << 16) | sourceValue) >> (bitShift - 1);
                     carryBit = (int) (shiftResult & 0x01);
                     shiftResult = shiftResult >> 1;
 
                     // Set result in double word
-                    eSourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 24) & 0xFF);
-                    eSourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) ((shiftResult >> 16) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                    eSourceValue = (int) (shiftResult >> 16) & 0xFFFF;
+                    sourceValue = (int) shiftResult & 0xFFFF;
 
                     // Store result in memory for SAR mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterDoubleWord(addressByte & 0x07,
+                                (eSourceValue << 16) | sourceValue);
+                    } else {
                         // Do this in reverse order because memlocation was
                         // incremented
                         cpu.setWordInMemorySegment(addressByte,
                                 memoryReferenceLocation, eSourceValue);
 
                         // Decrement memlocation
-                        memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] -= 2;
-                        if (memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -1
-                                || memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -2) {
-                            // Underflow
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]--;
-                        }
+                        memoryReferenceLocation = (memoryReferenceLocation - 2) & 0xFFFF;
                         cpu.setWordInMemorySegment(addressByte,
                                 memoryReferenceLocation, sourceValue);
                     }
@@ -718,23 +656,21 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                     // Set appropriate flags
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0
-                            && eSourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && eSourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0
+                            && eSourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = eSourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, (eSourceValue & 0x8000) != 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 } else {
                     // 16-bit registers
                     // Execute shift on reg or mem. Determine this from mm bits of
@@ -743,8 +679,7 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                         // SAR on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
+                        sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                     } else {
                         // SAR on memory
                         // Determine memory location
@@ -755,23 +690,22 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                     }
 
                     // Set OF to MSB of original operand (for 1-bitshifts only)
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (sourceValue & 0x8000) == 0x8000 ? true
+                            : false);
 
-                    // Convert bytes to long and shift right (with preserving sign
+                    // Convert to long and shift right (with preserving sign
                     // of MSB)
-                    shiftResult = ((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                    shiftResult = ((long) (short) sourceValue) >> (bitShift - 1);
                     carryBit = (int) (shiftResult & 0x01);
                     shiftResult = shiftResult >> 1;
 
                     // Set result in word
-                    sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                    sourceValue = (int) shiftResult & 0xFFFF;
 
                     // Store result in memory for SAR mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                    } else {
                         // Do this in reverse order because memlocation was
                         // incremented
                         cpu.setWordInMemorySegment(addressByte,
@@ -781,21 +715,20 @@ public class Instruction_ShiftGRP2_Ev1 implements Instruction {
                     // Set appropriate flags
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break; // SAR
 
@@ -54,14 +54,13 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize;
 
     byte addressByte;
-    byte[] memoryReferenceLocation;
-    byte[] memoryReferenceDisplacement;
+    int memoryReferenceLocation;
+    int memoryReferenceDisplacement;
 
-    byte[] sourceValue;
-    byte[] eSourceValue;
+    int sourceValue;
+    int eSourceValue;
 
     int bitShift;
     long shiftResult;
@@ -74,14 +73,13 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
      * Class constructor
      */
     public Instruction_ShiftGRP2_EvCL() {
-        operandWordSize = true;
 
         addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
+        memoryReferenceLocation = 0;
+        memoryReferenceDisplacement = 0;
 
-        sourceValue = new byte[2];
-        eSourceValue = new byte[2];
+        sourceValue = 0;
+        eSourceValue = 0;
 
         bitShift = 0;
         shiftResult = 0;
@@ -110,10 +108,6 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
      * @throws CPUInstructionException
      */
     public void execute() throws CPUInstructionException {
-        // Reset sourceValue and eSourceValue (to lose pointer to earlier words)
-        sourceValue = new byte[2];
-        eSourceValue = new byte[2];
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -122,7 +116,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
 
         // Get CL byte for number of shifts and limit it to 5 bits (only 0 - 31
         // shifts allowed)
-        bitShift = (byte) (cpu.cx[CPU.REGISTER_GENERAL_LOW] & 0x1F);
+        bitShift = (byte) (cpu.ecx & 0x1F);
 
         // Execute instruction decoded from nnn (bits 5, 4, 3 in ModR/M byte)
         switch ((addressByte & 0x38) >> 3) {
@@ -132,8 +126,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // ROL on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
@@ -144,8 +137,8 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // FIXME: For a ROL of 0 w/ MSB == 1, does the carry flag come out
                 // correct?
@@ -163,13 +156,12 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 }
 
                 // Return result to register
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = ((byte) (shiftResult >> 8));
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = ((byte) (shiftResult & 0xFF));
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
@@ -177,16 +169,16 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF only if 1-bit shift occurred
                 if (bitShift == 1) {
                     // Set OF (only defined for 1-bit rotates); XOR of CF (after
                     // rotate) and MSB of result.
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? 1
-                            : 0)) == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x8000) == 0x8000 ? 1
+                            : 0)) == 1 ? true : false);
                 } else {
                     // Hardware seems to clear it
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                 }
                 break; // ROL
 
@@ -196,8 +188,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // ROR on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
@@ -208,8 +199,8 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Set the carryBit to 0 (for RORs of length 0)
                 carryBit = 0;
@@ -225,13 +216,12 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 }
 
                 // Return result to register
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = ((byte) (shiftResult >> 8));
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = ((byte) (shiftResult & 0xFF));
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
@@ -239,16 +229,16 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF only if 1-bit shift occurred
                 if (bitShift == 1) {
                     // OF (only defined for 1-bit rotates) is XOR of the two
                     // most-significant bits
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 7) & 0x01) ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 6) & 0x01)) == 0x01 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (((sourceValue >> 15) & 0x01) ^ ((sourceValue >> 14) & 0x01)) == 0x01 ? true
+                            : false);
                 } else {
                     // Hardware seems to clear it
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                 }
                 break; // ROR
 
@@ -259,8 +249,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // RCL on memory
                     // Determine memory location
@@ -270,11 +259,11 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Determine result of carry;
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
                 // Rotate left
                 for (int s = 0; s < bitShift; s++) {
@@ -289,29 +278,28 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 }
 
                 // Write value back to origin
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for RCL mem operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF only if 1-bit shift occurred
                 if (bitShift == 1) {
                     // Set OF (only defined for 1-bit rotates); XOR of CF (after
                     // rotate) and MSB of result.
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? 1
-                            : 0)) == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x8000) == 0x8000 ? 1
+                            : 0)) == 1 ? true : false);
                 } else {
                     // Hardware seems to clear it
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                 }
                 break; // RCL
 
@@ -322,8 +310,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // RCR on memory
                     // Determine memory location
@@ -333,11 +320,11 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Determine result of carry;
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
                 // Rotate right
                 for (int s = 0; s < bitShift; s++) {
@@ -353,29 +340,28 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 }
 
                 // Write value back to origin
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for RCR mem operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF only if 1-bit shift occurred
                 if (bitShift == 1) {
                     // OF (only defined for 1-bit rotates) is XOR of the two
                     // most-significant bits
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 7) & 0x01) ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 6) & 0x01)) == 0x01 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (((sourceValue >> 15) & 0x01) ^ ((sourceValue >> 14) & 0x01)) == 0x01 ? true
+                            : false);
                 } else {
                     // Hardware seems to clear it
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                 }
                 break; // RCR
 
@@ -391,10 +377,8 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                             // SHL on register
                             // Determine destination from addressbyte (source is the
                             // same)
-                            sourceValue = cpu.decodeRegister(operandWordSize,
-                                    addressByte & 0x07);
-                            eSourceValue = cpu
-                                    .decodeExtraRegister(addressByte & 0x07);
+                            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
+                            eSourceValue = cpu.getRegisterDoubleWord(addressByte & 0x07) >>> 16;
                         } else {
                             // SHL on memory
                             // Determine memory location
@@ -405,45 +389,33 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                                     memoryReferenceLocation);
 
                             // Increase memory location by 2
-                            int overFlowCheck = (((int) memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + 2;
-                            if (overFlowCheck > 0xFF) {
-                                memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]++;
-                            }
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] += 2;
+                            memoryReferenceLocation = (memoryReferenceLocation + 2) & 0xFFFF;
 
                             eSourceValue = cpu.getWordFromMemorySegment(
                                     addressByte, memoryReferenceLocation);
                         }
 
-                        // Convert bytes to long and shift left
-                        shiftResult = (((((long) eSourceValue[CPU.REGISTER_GENERAL_HIGH]) << 24) & 0xFF000000)
-                                + ((((long) eSourceValue[CPU.REGISTER_GENERAL_LOW]) << 16) & 0xFF0000)
-                                + ((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) << (bitShift - 1);
+                        // Convert to long and shift left
+                        shiftResult = (long) ((eSourceValue << 16) | sourceValue) << (bitShift - 1);
                         carryBit = (int) ((shiftResult & 0x80000000) >> 31) & 0x01;
                         shiftResult = shiftResult << 1;
 
                         // Set result in double word
-                        eSourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 24) & 0xFF);
-                        eSourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) ((shiftResult >> 16) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                        eSourceValue = (int) (shiftResult >> 16) & 0xFFFF;
+                        sourceValue = (int) shiftResult & 0xFFFF;
 
                         // Store result in memory for SHR mem operations
-                        // Note: if destination register is real register, it
-                        // already contains result (stored directly)
-                        if (((addressByte >> 6) & 0x03) != 3) {
+                        if (((addressByte >> 6) & 0x03) == 3) {
+                            cpu.setRegisterDoubleWord(addressByte & 0x07,
+                                    (eSourceValue << 16) | sourceValue);
+                        } else {
                             // Do this in reverse order because memlocation was
                             // incremented
                             cpu.setWordInMemorySegment(addressByte,
                                     memoryReferenceLocation, eSourceValue);
 
                             // Decrement memlocation
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] -= 2;
-                            if (memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -1
-                                    || memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -2) {
-                                // Underflow
-                                memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]--;
-                            }
+                            memoryReferenceLocation = (memoryReferenceLocation - 2) & 0xFFFF;
                             cpu.setWordInMemorySegment(addressByte,
                                     memoryReferenceLocation, sourceValue);
                         }
@@ -455,8 +427,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                             // SHL on register
                             // Determine destination from addressbyte (source is the
                             // same)
-                            sourceValue = cpu.decodeRegister(operandWordSize,
-                                    addressByte & 0x07);
+                            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                         } else {
                             // SHL on memory
                             // Determine memory location
@@ -466,19 +437,18 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                                     memoryReferenceLocation);
                         }
 
-                        // Convert bytes to long and shift
-                        shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) << (bitShift - 1);
+                        // Convert to long and shift
+                        shiftResult = ((long) sourceValue) << (bitShift - 1);
                         carryBit = (int) ((shiftResult & 0x8000) >> 15) & 0x01;
                         shiftResult = shiftResult << 1;
 
                         // Set result in word
-                        sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                        sourceValue = (int) shiftResult & 0xFFFF;
 
                         // Store result in memory for SHR mem operations
-                        // Note: if destination register is real register, it
-                        // already contains result (stored directly)
-                        if (((addressByte >> 6) & 0x03) != 3) {
+                        if (((addressByte >> 6) & 0x03) == 3) {
+                            cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                        } else {
                             // Do this in reverse order because memlocation was
                             // incremented
                             cpu.setWordInMemorySegment(addressByte,
@@ -489,10 +459,10 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                     if (!cpu.doubleWord) // 16 bit registers
                     {
@@ -502,42 +472,43 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                         // {
                         // Clear OF if the most significant bit of the result is the
                         // same as the CF flag
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = (cpu.flags[CPU.REGISTER_FLAGS_CF] && ((sourceValue[CPU.REGISTER_GENERAL_HIGH]) >> 7) == 1)
-                                || (!(cpu.flags[CPU.REGISTER_FLAGS_CF]) && ((sourceValue[CPU.REGISTER_GENERAL_HIGH]) >> 7) == 0) ? false
-                                : true;
+                        // FIXME: the sign is shifted in as 0 or -1, so a set MSB never
+                        // matches a set CF and OF is always set then
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, (cpu.flags.get(CPU.REGISTER_FLAGS_CF) && ((short) sourceValue >> 15) == 1)
+                                || (!(cpu.flags.get(CPU.REGISTER_FLAGS_CF)) && ((short) sourceValue >> 15) == 0) ? false
+                                : true);
                         // }
                         // Set ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                                : false);
                         // Set SF on particular byte of sourceValue (set when MSB is
                         // 1, occurs when destReg >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                                : false);
                     } else // 32 bit registers
                     {
                         // Set OF only if 1-bit shift occurred
                         if (bitShift == 1) {
                             // Clear OF if the most significant bit of the result is
                             // the same as the CF flag
-                            cpu.flags[CPU.REGISTER_FLAGS_OF] = (cpu.flags[CPU.REGISTER_FLAGS_CF] && ((eSourceValue[CPU.REGISTER_GENERAL_HIGH]) >> 7) == 1)
-                                    || (!(cpu.flags[CPU.REGISTER_FLAGS_CF]) && ((eSourceValue[CPU.REGISTER_GENERAL_HIGH]) >> 7) == 0) ? false
-                                    : true;
+                            // FIXME: the sign is shifted in as 0 or -1, so a set MSB never
+                            // matches a set CF and OF is always set then
+                            cpu.flags.set(CPU.REGISTER_FLAGS_OF, (cpu.flags.get(CPU.REGISTER_FLAGS_CF) && ((short) eSourceValue >> 15) == 1)
+                                    || (!(cpu.flags.get(CPU.REGISTER_FLAGS_CF)) && ((short) eSourceValue >> 15) == 0) ? false
+                                    : true);
                         }
                         // Set ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0
-                                && eSourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && eSourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0
+                                && eSourceValue == 0 ? true
+                                : false);
                         // Set SF on particular byte of sourceValue (set when MSB is
                         // 1, occurs when destReg >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = eSourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (eSourceValue & 0x8000) != 0 ? true
+                                : false);
                     }
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break;
 
@@ -545,7 +516,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                 // (undefined)
                 // If bitShift is 0, do nothing, not even flags
                 if (bitShift > 0) {
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false; // According to Bochs,
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false); // According to Bochs,
                     // is always reset
                     // except when shift =
                     // 1 (handled below)
@@ -559,10 +530,8 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                             // SHR on register
                             // Determine destination from addressbyte (source is the
                             // same)
-                            sourceValue = cpu.decodeRegister(operandWordSize,
-                                    addressByte & 0x07);
-                            eSourceValue = cpu
-                                    .decodeExtraRegister(addressByte & 0x07);
+                            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
+                            eSourceValue = cpu.getRegisterDoubleWord(addressByte & 0x07) >>> 16;
                         } else {
                             // SHR on memory
                             // Determine memory location
@@ -573,11 +542,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                                     memoryReferenceLocation);
 
                             // Increase memory location by 2
-                            int overFlowCheck = (((int) memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + 2;
-                            if (overFlowCheck > 0xFF) {
-                                memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]++;
-                            }
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] += 2;
+                            memoryReferenceLocation = (memoryReferenceLocation + 2) & 0xFFFF;
 
                             eSourceValue = cpu.getWordFromMemorySegment(
                                     addressByte, memoryReferenceLocation);
@@ -586,39 +551,31 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                         // Set OF only if 1-bit shift occurred
                         if (bitShift == 1) {
                             // Set OF to MSB of original operand
-                            cpu.flags[CPU.REGISTER_FLAGS_OF] = (eSourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? true
-                                    : false;
+                            cpu.flags.set(CPU.REGISTER_FLAGS_OF, (eSourceValue & 0x8000) == 0x8000 ? true
+                                    : false);
                         }
 
-                        // Convert bytes to long and shift right
-                        shiftResult = (((((long) eSourceValue[CPU.REGISTER_GENERAL_HIGH]) << 24) & 0xFF000000)
-                                + ((((long) eSourceValue[CPU.REGISTER_GENERAL_LOW]) << 16) & 0xFF0000)
-                                + ((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                        // Convert to long and shift right
+                        shiftResult = (((eSourceValue << 16) | sourceValue) & 0xFFFFFFFFL) >> (bitShift - 1);
                         carryBit = (int) (shiftResult & 0x01);
                         shiftResult = shiftResult >> 1;
 
                         // Set result in double word
-                        eSourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 24) & 0xFF);
-                        eSourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) ((shiftResult >> 16) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                        eSourceValue = (int) (shiftResult >> 16) & 0xFFFF;
+                        sourceValue = (int) shiftResult & 0xFFFF;
 
                         // Store result in memory for SHR mem operations
-                        // Note: if destination register is real register, it
-                        // already contains result (stored directly)
-                        if (((addressByte >> 6) & 0x03) != 3) {
+                        if (((addressByte >> 6) & 0x03) == 3) {
+                            cpu.setRegisterDoubleWord(addressByte & 0x07,
+                                    (eSourceValue << 16) | sourceValue);
+                        } else {
                             // Do this in reverse order because memlocation was
                             // incremented
                             cpu.setWordInMemorySegment(addressByte,
                                     memoryReferenceLocation, eSourceValue);
 
                             // Decrement memlocation
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] -= 2;
-                            if (memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -1
-                                    || memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -2) {
-                                // Underflow
-                                memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]--;
-                            }
+                            memoryReferenceLocation = (memoryReferenceLocation - 2) & 0xFFFF;
                             cpu.setWordInMemorySegment(addressByte,
                                     memoryReferenceLocation, sourceValue);
                         }
@@ -630,8 +587,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                             // SHR on register
                             // Determine destination from addressbyte (source is the
                             // same)
-                            sourceValue = cpu.decodeRegister(operandWordSize,
-                                    addressByte & 0x07);
+                            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                         } else {
                             // SHR on memory
                             // Determine memory location
@@ -644,23 +600,22 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                         // Set OF only if 1-bit shift occurred
                         if (bitShift == 1) {
                             // Set OF to MSB of original operand
-                            cpu.flags[CPU.REGISTER_FLAGS_OF] = (sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? true
-                                    : false;
+                            cpu.flags.set(CPU.REGISTER_FLAGS_OF, (sourceValue & 0x8000) == 0x8000 ? true
+                                    : false);
                         }
 
-                        // Convert bytes to long and shift
-                        shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                        // Convert to long and shift
+                        shiftResult = ((long) sourceValue) >> (bitShift - 1);
                         carryBit = (int) (shiftResult & 0x01);
                         shiftResult = shiftResult >> 1;
 
                         // Set result in word
-                        sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                        sourceValue = (int) shiftResult & 0xFFFF;
 
                         // Store result in memory for SHR mem operations
-                        // Note: if destination register is real register, it
-                        // already contains result (stored directly)
-                        if (((addressByte >> 6) & 0x03) != 3) {
+                        if (((addressByte >> 6) & 0x03) == 3) {
+                            cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                        } else {
                             // Do this in reverse order because memlocation was
                             // incremented
                             cpu.setWordInMemorySegment(addressByte,
@@ -671,37 +626,34 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                     if (!cpu.doubleWord) // 16 bit registers
                     {
                         // Set ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                                : false);
                         // Set SF on particular byte of sourceValue (set when MSB is
                         // 1, occurs when destReg >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                                : false);
                     } else // 32 bit registers
                     {
                         // Set ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0
-                                && eSourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && eSourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0
+                                && eSourceValue == 0 ? true
+                                : false);
                         // Set SF on particular byte of sourceValue (set when MSB is
                         // 1, occurs when destReg >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = eSourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (eSourceValue & 0x8000) != 0 ? true
+                                : false);
                     }
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break;
 
@@ -719,8 +671,7 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                         // SAR on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
+                        sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                     } else {
                         // SAR on memory
                         // Determine memory location
@@ -733,38 +684,37 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                     // If bitShift is >= 16, the result will be the MSB in all bit
                     // positions
                     if (bitShift >= 16) {
-                        if ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80) {
+                        if ((sourceValue & 0x8000) == 0x8000) {
                             // All 1s
-                            sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) 0xff;
-                            sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) 0xff;
+                            shiftResult = 0xFFFF;
+                            carryBit = 1;
                         } else {
                             // All 0s
-                            sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) 0x00;
-                            sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) 0x00;
+                            shiftResult = 0;
+                            carryBit = 0;
                         }
                     }
                     // bitShift < 16, so perform SHR and depending on MSB OR with
                     // (0xFFFF << 16 - bitShift)
                     else {
-                        // Convert bytes to long and shift
-                        shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                        // Convert to long and shift
+                        shiftResult = ((long) sourceValue) >> (bitShift - 1);
                         carryBit = (int) (shiftResult & 0x01);
                         shiftResult = shiftResult >> 1;
 
-                        if ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80) {
+                        if ((sourceValue & 0x8000) == 0x8000) {
                             // Set all shifted MSB to 1
                             shiftResult |= (0xFFFF << (16 - bitShift));
                         }
                     }
 
                     // Set result in word
-                    sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                    sourceValue = (int) shiftResult & 0xFFFF;
 
                     // Store result in memory for SAR mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                    } else {
                         cpu.setWordInMemorySegment(addressByte,
                                 memoryReferenceLocation, sourceValue);
                     }
@@ -772,27 +722,26 @@ public class Instruction_ShiftGRP2_EvCL implements Instruction {
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                     // Set OF only if 1-bit shift occurred
                     if (bitShift == 1) {
                         // Clear OF
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                     }
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break; // SAR
 
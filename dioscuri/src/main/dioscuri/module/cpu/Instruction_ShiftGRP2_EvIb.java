@@ -54,14 +54,13 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
 
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] sourceValue = new byte[2];
-    byte[] eSourceValue = new byte[2];
+    int sourceValue = 0;
+    int eSourceValue = 0;
 
     int bitShift;
     long shiftResult;
@@ -101,10 +100,6 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
      * @throws CPUInstructionException
      */
     public void execute() throws CPUInstructionException {
-        // Reset sourceValue and eSourceValue (to lose pointer to earlier words)
-        sourceValue = new byte[2];
-        eSourceValue = new byte[2];
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -123,8 +118,7 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // ROL on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
@@ -135,8 +129,8 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Determine result of carry; this is the MSB
                 carryBit = (shiftResult & 0x8000) == 0x8000 ? 1 : 0;
@@ -152,13 +146,12 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                 }
 
                 // Return result to register
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = ((byte) (shiftResult >> 8));
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = ((byte) (shiftResult & 0xFF));
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
@@ -166,16 +159,16 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF only if 1-bit shift occurred
                 if (bitShift == 1) {
                     // Set OF (only defined for 1-bit rotates); XOR of CF (after
                     // rotate) and MSB of result.
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? 1
-                            : 0)) == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x8000) == 0x8000 ? 1
+                            : 0)) == 1 ? true : false);
                 } else {
                     // Hardware seems to clear it
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                 }
                 break; // ROL
 
@@ -185,8 +178,7 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // ROR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // ROR on memory
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
@@ -197,8 +189,8 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Determine result of carry; this is the LSB
                 carryBit = (shiftResult & 0x01) == 0x01 ? 1 : 0;
@@ -214,13 +206,12 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                 }
 
                 // Return result to register
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = ((byte) (shiftResult >> 8));
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = ((byte) (shiftResult & 0xFF));
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for memory operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     // Store result back in memory
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
@@ -228,16 +219,16 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF only if 1-bit shift occurred
                 if (bitShift == 1) {
                     // OF (only defined for 1-bit rotates) is XOR of the two
                     // most-significant bits
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 7) & 0x01) ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 6) & 0x01)) == 0x01 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (((sourceValue >> 15) & 0x01) ^ ((sourceValue >> 14) & 0x01)) == 0x01 ? true
+                            : false);
                 } else {
                     // Hardware seems to clear it
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                 }
                 break; // ROR
 
@@ -248,8 +239,7 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCL on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // RCL on memory
                     // Determine memory location
@@ -259,11 +249,11 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Determine result of carry;
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
                 // Rotate left
                 for (int s = 0; s < bitShift; s++) {
@@ -278,29 +268,28 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                 }
 
                 // Write value back to origin
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for RCL mem operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF only if 1-bit shift occurred
                 if (bitShift == 1) {
                     // Set OF (only defined for 1-bit rotates); XOR of CF (after
                     // rotate) and MSB of result.
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (carryBit ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? 1
-                            : 0)) == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (carryBit ^ ((sourceValue & 0x8000) == 0x8000 ? 1
+                            : 0)) == 1 ? true : false);
                 } else {
                     // Hardware seems to clear it
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                 }
                 break; // RCL
 
@@ -311,8 +300,7 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                 if (((addressByte >> 6) & 0x03) == 3) {
                     // RCR on register
                     // Determine destination from addressbyte (source is the same)
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
+                    sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                 } else {
                     // RCR on memory
                     // Determine memory location
@@ -322,11 +310,11 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                             memoryReferenceLocation);
                 }
 
-                // Convert bytes to long
-                shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF)));
+                // Convert to long
+                shiftResult = sourceValue;
 
                 // Determine result of carry;
-                carryBit = cpu.flags[CPU.REGISTER_FLAGS_CF] ? 1 : 0;
+                carryBit = cpu.flags.get(CPU.REGISTER_FLAGS_CF) ? 1 : 0;
 
                 // Rotate right
                 for (int s = 0; s < bitShift; s++) {
@@ -342,29 +330,28 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                 }
 
                 // Write value back to origin
-                sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                sourceValue = (int) shiftResult & 0xFFFF;
 
                 // Store result in memory for RCR mem operations
-                // Note: if destination register is real register, it already
-                // contains result (stored directly)
-                if (((addressByte >> 6) & 0x03) != 3) {
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                } else {
                     cpu.setWordInMemorySegment(addressByte,
                             memoryReferenceLocation, sourceValue);
                 }
 
                 // Set appropriate flags
                 // Set CF; this has already been calculated
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
                 // Set OF only if 1-bit shift occurred
                 if (bitShift == 1) {
                     // OF (only defined for 1-bit rotates) is XOR of the two
                     // most-significant bits
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = (((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 7) & 0x01) ^ ((sourceValue[CPU.REGISTER_GENERAL_HIGH] >> 6) & 0x01)) == 0x01 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, (((sourceValue >> 15) & 0x01) ^ ((sourceValue >> 14) & 0x01)) == 0x01 ? true
+                            : false);
                 } else {
                     // Hardware seems to clear it
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                 }
                 break; // RCR
 
@@ -380,10 +367,8 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                             // SHL on register
                             // Determine destination from addressbyte (source is the
                             // same)
-                            sourceValue = cpu.decodeRegister(operandWordSize,
-                                    addressByte & 0x07);
-                            eSourceValue = cpu
-                                    .decodeExtraRegister(addressByte & 0x07);
+                            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
+                            eSourceValue = cpu.getRegisterDoubleWord(addressByte & 0x07) >>> 16;
                         } else {
                             // SHL on memory
                             // Determine memory location
@@ -394,45 +379,33 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                                     memoryReferenceLocation);
 
                             // Increase memory location by 2
-                            int overFlowCheck = (((int) memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + 2;
-                            if (overFlowCheck > 0xFF) {
-                                memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]++;
-                            }
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] += 2;
+                            memoryReferenceLocation = (memoryReferenceLocation + 2) & 0xFFFF;
 
                             eSourceValue = cpu.getWordFromMemorySegment(
                                     addressByte, memoryReferenceLocation);
                         }
 
-                        // Convert bytes to long and shift left
-                        shiftResult = (((((long) eSourceValue[CPU.REGISTER_GENERAL_HIGH]) << 24) & 0xFF000000)
-                                + ((((long) eSourceValue[CPU.REGISTER_GENERAL_LOW]) << 16) & 0xFF0000)
-                                + ((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) << (bitShift - 1);
+                        // Convert to long and shift left
+                        shiftResult = (long) ((eSourceValue << 16) | sourceValue) << (bitShift - 1);
                         carryBit = (int) ((shiftResult & 0x80000000) >> 31) & 0x01;
                         shiftResult = shiftResult << 1;
 
                         // Set result in double word
-                        eSourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 24) & 0xFF);
-                        eSourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) ((shiftResult >> 16) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                        eSourceValue = (int) (shiftResult >> 16) & 0xFFFF;
+                        sourceValue = (int) shiftResult & 0xFFFF;
 
                         // Store result in memory for SHR mem operations
-                        // Note: if destination register is real register, it
-                        // already contains result (stored directly)
-                        if (((addressByte >> 6) & 0x03) != 3) {
+                        if (((addressByte >> 6) & 0x03) == 3) {
+                            cpu.setRegisterDoubleWord(addressByte & 0x07,
+                                    (eSourceValue << 16) | sourceValue);
+                        } else {
                             // Do this in reverse order because memlocation was
                             // incremented
                             cpu.setWordInMemorySegment(addressByte,
                                     memoryReferenceLocation, eSourceValue);
 
                             // Decrement memlocation
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] -= 2;
-                            if (memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -1
-                                    || memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -2) {
-                                // Underflow
-                                memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]--;
-                            }
+                            memoryReferenceLocation = (memoryReferenceLocation - 2) & 0xFFFF;
                             cpu.setWordInMemorySegment(addressByte,
                                     memoryReferenceLocation, sourceValue);
                         }
@@ -444,8 +417,7 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                             // SHL on register
                             // Determine destination from addressbyte (source is the
                             // same)
-                            sourceValue = cpu.decodeRegister(operandWordSize,
-                                    addressByte & 0x07);
+                            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                         } else {
                             // SHL on memory
                             // Determine memory location
@@ -455,19 +427,18 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                                     memoryReferenceLocation);
                         }
 
-                        // Convert bytes to long and shift
-                        shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) << (bitShift - 1);
+                        // Convert to long and shift
+                        shiftResult = ((long) sourceValue) << (bitShift - 1);
                         carryBit = (int) ((shiftResult & 0x8000) >> 15) & 0x01;
                         shiftResult = shiftResult << 1;
 
                         // Set result in word
-                        sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                        sourceValue = (int) shiftResult & 0xFFFF;
 
                         // Store result in memory for SHR mem operations
-                        // Note: if destination register is real register, it
-                        // already contains result (stored directly)
-                        if (((addressByte >> 6) & 0x03) != 3) {
+                        if (((addressByte >> 6) & 0x03) == 3) {
+                            cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                        } else {
                             // Do this in reverse order because memlocation was
                             // incremented
                             cpu.setWordInMemorySegment(addressByte,
@@ -478,10 +449,10 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                     if (!cpu.doubleWord) // 16 bit registers
                     {
@@ -491,42 +462,43 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                         // {
                         // Clear OF if the most significant bit of the result is the
                         // same as the CF flag
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = (cpu.flags[CPU.REGISTER_FLAGS_CF] && ((sourceValue[CPU.REGISTER_GENERAL_HIGH]) >> 7) == 1)
-                                || (!(cpu.flags[CPU.REGISTER_FLAGS_CF]) && ((sourceValue[CPU.REGISTER_GENERAL_HIGH]) >> 7) == 0) ? false
-                                : true;
+                        // FIXME: the sign is shifted in as 0 or -1, so a set MSB never
+                        // matches a set CF and OF is always set then
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, (cpu.flags.get(CPU.REGISTER_FLAGS_CF) && ((short) sourceValue >> 15) == 1)
+                                || (!(cpu.flags.get(CPU.REGISTER_FLAGS_CF)) && ((short) sourceValue >> 15) == 0) ? false
+                                : true);
                         // }
                         // Set ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                                : false);
                         // Set SF on particular byte of sourceValue (set when MSB is
                         // 1, occurs when destReg >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                                : false);
                     } else // 32 bit registers
                     {
                         // Set OF only if 1-bit shift occurred
                         if (bitShift == 1) {
                             // Clear OF if the most significant bit of the result is
                             // the same as the CF flag
-                            cpu.flags[CPU.REGISTER_FLAGS_OF] = (cpu.flags[CPU.REGISTER_FLAGS_CF] && ((eSourceValue[CPU.REGISTER_GENERAL_HIGH]) >> 7) == 1)
-                                    || (!(cpu.flags[CPU.REGISTER_FLAGS_CF]) && ((eSourceValue[CPU.REGISTER_GENERAL_HIGH]) >> 7) == 0) ? false
-                                    : true;
+                            // FIXME: the sign is shifted in as 0 or -1, so a set MSB never
+                            // matches a set CF and OF is always set then
+                            cpu.flags.set(CPU.REGISTER_FLAGS_OF, (cpu.flags.get(CPU.REGISTER_FLAGS_CF) && ((short) eSourceValue >> 15) == 1)
+                                    || (!(cpu.flags.get(CPU.REGISTER_FLAGS_CF)) && ((short) eSourceValue >> 15) == 0) ? false
+                                    : true);
                         }
                         // Set ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0
-                                && eSourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && eSourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0
+                                && eSourceValue == 0 ? true
+                                : false);
                         // Set SF on particular byte of sourceValue (set when MSB is
                         // 1, occurs when destReg >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = eSourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (eSourceValue & 0x8000) != 0 ? true
+                                : false);
                     }
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break;
 
@@ -543,10 +515,8 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                             // SHR on register
                             // Determine destination from addressbyte (source is the
                             // same)
-                            sourceValue = cpu.decodeRegister(operandWordSize,
-                                    addressByte & 0x07);
-                            eSourceValue = cpu
-                                    .decodeExtraRegister(addressByte & 0x07);
+                            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
+                            eSourceValue = cpu.getRegisterDoubleWord(addressByte & 0x07) >>> 16;
                         } else {
                             // SHR on memory
                             // Determine memory location
@@ -557,11 +527,7 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                                     memoryReferenceLocation);
 
                             // Increase memory location by 2
-                            int overFlowCheck = (((int) memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + 2;
-                            if (overFlowCheck > 0xFF) {
-                                memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]++;
-                            }
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] += 2;
+                            memoryReferenceLocation = (memoryReferenceLocation + 2) & 0xFFFF;
 
                             eSourceValue = cpu.getWordFromMemorySegment(
                                     addressByte, memoryReferenceLocation);
@@ -570,39 +536,31 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                         // Set OF only if 1-bit shift occurred
                         if (bitShift == 1) {
                             // Set OF to MSB of original operand
-                            cpu.flags[CPU.REGISTER_FLAGS_OF] = (eSourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? true
-                                    : false;
+                            cpu.flags.set(CPU.REGISTER_FLAGS_OF, (eSourceValue & 0x8000) == 0x8000 ? true
+                                    : false);
                         }
 
-                        // Convert bytes to long and shift right
-                        shiftResult = (((((long) eSourceValue[CPU.REGISTER_GENERAL_HIGH]) << 24) & 0xFF000000)
-                                + ((((long) eSourceValue[CPU.REGISTER_GENERAL_LOW]) << 16) & 0xFF0000)
-                                + ((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                        // Convert to long and shift right
+                        shiftResult = (((eSourceValue << 16) | sourceValue) & 0xFFFFFFFFL) >> (bitShift - 1);
                         carryBit = (int) (shiftResult & 0x01);
                         shiftResult = shiftResult >> 1;
 
                         // Set result in double word
-                        eSourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 24) & 0xFF);
-                        eSourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) ((shiftResult >> 16) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                        eSourceValue = (int) (shiftResult >> 16) & 0xFFFF;
+                        sourceValue = (int) shiftResult & 0xFFFF;
 
                         // Store result in memory for SHR mem operations
-                        // Note: if destination register is real register, it
-                        // already contains result (stored directly)
-                        if (((addressByte >> 6) & 0x03) != 3) {
+                        if (((addressByte >> 6) & 0x03) == 3) {
+                            cpu.setRegisterDoubleWord(addressByte & 0x07,
+                                    (eSourceValue << 16) | sourceValue);
+                        } else {
                             // Do this in reverse order because memlocation was
                             // incremented
                             cpu.setWordInMemorySegment(addressByte,
                                     memoryReferenceLocation, eSourceValue);
 
                             // Decrement memlocation
-                            memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] -= 2;
-                            if (memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -1
-                                    || memoryReferenceLocation[CPU.REGISTER_GENERAL_LOW] == -2) {
-                                // Underflow
-                                memoryReferenceLocation[CPU.REGISTER_GENERAL_HIGH]--;
-                            }
+                            memoryReferenceLocation = (memoryReferenceLocation - 2) & 0xFFFF;
                             cpu.setWordInMemorySegment(addressByte,
                                     memoryReferenceLocation, sourceValue);
                         }
@@ -614,8 +572,7 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                             // SHR on register
                             // Determine destination from addressbyte (source is the
                             // same)
-                            sourceValue = cpu.decodeRegister(operandWordSize,
-                                    addressByte & 0x07);
+                            sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                         } else {
                             // SHR on memory
                             // Determine memory location
@@ -628,23 +585,22 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                         // Set OF only if 1-bit shift occurred
                         if (bitShift == 1) {
                             // Set OF to MSB of original operand
-                            cpu.flags[CPU.REGISTER_FLAGS_OF] = (sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80 ? true
-                                    : false;
+                            cpu.flags.set(CPU.REGISTER_FLAGS_OF, (sourceValue & 0x8000) == 0x8000 ? true
+                                    : false);
                         }
 
-                        // Convert bytes to long and shift
-                        shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                        // Convert to long and shift
+                        shiftResult = ((long) sourceValue) >> (bitShift - 1);
                         carryBit = (int) (shiftResult & 0x01);
                         shiftResult = shiftResult >> 1;
 
                         // Set result in word
-                        sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                        sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                        sourceValue = (int) shiftResult & 0xFFFF;
 
                         // Store result in memory for SHR mem operations
-                        // Note: if destination register is real register, it
-                        // already contains result (stored directly)
-                        if (((addressByte >> 6) & 0x03) != 3) {
+                        if (((addressByte >> 6) & 0x03) == 3) {
+                            cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                        } else {
                             // Do this in reverse order because memlocation was
                             // incremented
                             cpu.setWordInMemorySegment(addressByte,
@@ -655,37 +611,34 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                     if (!cpu.doubleWord) // 16 bit registers
                     {
                         // Set ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                                : false);
                         // Set SF on particular byte of sourceValue (set when MSB is
                         // 1, occurs when destReg >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                                : false);
                     } else // 32 bit registers
                     {
                         // Set ZF
-                        cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0
-                                && eSourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                                && eSourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0
+                                && eSourceValue == 0 ? true
+                                : false);
                         // Set SF on particular byte of sourceValue (set when MSB is
                         // 1, occurs when destReg >= 0x80)
-                        cpu.flags[CPU.REGISTER_FLAGS_SF] = eSourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                                : false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_SF, (eSourceValue & 0x8000) != 0 ? true
+                                : false);
                     }
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break;
 
@@ -703,8 +656,7 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                         // SAR on register
                         // Determine destination from addressbyte (source is the
                         // same)
-                        sourceValue = cpu.decodeRegister(operandWordSize,
-                                addressByte & 0x07);
+                        sourceValue = cpu.getRegisterWord(addressByte & 0x07);
                     } else {
                         // SAR on memory
                         // Determine memory location
@@ -717,38 +669,37 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                     // If bitShift is >= 16, the result will be the MSB in all bit
                     // positions
                     if (bitShift >= 16) {
-                        if ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80) {
+                        if ((sourceValue & 0x8000) == 0x8000) {
                             // All 1s
-                            sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) 0xff;
-                            sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) 0xff;
+                            shiftResult = 0xFFFF;
+                            carryBit = 1;
                         } else {
                             // All 0s
-                            sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) 0x00;
-                            sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) 0x00;
+                            shiftResult = 0;
+                            carryBit = 0;
                         }
                     }
                     // bitShift < 16, so perform SHR and depending on MSB OR with
                     // (0xFFFF << 16 - bitShift)
                     else {
-                        // Convert bytes to long and shift
-                        shiftResult = (((((long) sourceValue[CPU.REGISTER_GENERAL_HIGH]) << 8) & 0xFF00) + ((((long) sourceValue[CPU.REGISTER_GENERAL_LOW]) & 0xFF))) >> (bitShift - 1);
+                        // Convert to long and shift
+                        shiftResult = ((long) sourceValue) >> (bitShift - 1);
                         carryBit = (int) (shiftResult & 0x01);
                         shiftResult = shiftResult >> 1;
 
-                        if ((sourceValue[CPU.REGISTER_GENERAL_HIGH] & 0x80) == 0x80) {
+                        if ((sourceValue & 0x8000) == 0x8000) {
                             // Set all shifted MSB to 1
                             shiftResult |= (0xFFFF << (16 - bitShift));
                         }
                     }
 
                     // Set result in word
-                    sourceValue[CPU.REGISTER_GENERAL_HIGH] = (byte) ((shiftResult >> 8) & 0xFF);
-                    sourceValue[CPU.REGISTER_GENERAL_LOW] = (byte) (shiftResult & 0xFF);
+                    sourceValue = (int) shiftResult & 0xFFFF;
 
                     // Store result in memory for SAR mem operations
-                    // Note: if destination register is real register, it already
-                    // contains result (stored directly)
-                    if (((addressByte >> 6) & 0x03) != 3) {
+                    if (((addressByte >> 6) & 0x03) == 3) {
+                        cpu.setRegisterWord(addressByte & 0x07, sourceValue);
+                    } else {
                         cpu.setWordInMemorySegment(addressByte,
                                 memoryReferenceLocation, sourceValue);
                     }
@@ -756,27 +707,26 @@ public class Instruction_ShiftGRP2_EvIb implements Instruction {
                     // Set appropriate flags
                     // Set AF (although is undefined by specs, hardware seems to
                     // clear it)
-                    cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                     // Set CF; this is equal to the last bit shifted out of the high
                     // register
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = carryBit == 1 ? true : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_CF, carryBit == 1 ? true : false);
 
                     // Set OF only if 1-bit shift occurred
                     if (bitShift == 1) {
                         // Clear OF
-                        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
+                        cpu.flags.set(CPU.REGISTER_FLAGS_OF, false);
                     }
                     // Set ZF
-                    cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] == 0
-                            && sourceValue[CPU.REGISTER_GENERAL_LOW] == 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_ZF, sourceValue == 0 ? true
+                            : false);
                     // Set SF on particular byte of sourceValue (set when MSB is 1,
                     // occurs when destReg >= 0x80)
-                    cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceValue[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                            : false;
+                    cpu.flags.set(CPU.REGISTER_FLAGS_SF, (sourceValue & 0x8000) != 0 ? true
+                            : false);
                     // Set PF on particular byte of sourceValue
-                    cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                            .checkParityOfByte(sourceValue[CPU.REGISTER_GENERAL_LOW]);
+                    cpu.flags.set(CPU.REGISTER_FLAGS_PF, Util
+                            .checkParityOfByte((byte) sourceValue));
                 }
                 break; // SAR
 
@@ -49,7 +49,10 @@ public class Instruction_TEST_ALIb implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte tempResult;
+
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -80,23 +83,13 @@ public class Instruction_TEST_ALIb implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
+        // Get immediate byte
+        sourceValue = cpu.getByteFromCode() & 0xFF;
 
-        // Clear appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-        // Get immediate byte and AND with AL, storing temporary result.
-        tempResult = (byte) (cpu.ax[CPU.REGISTER_GENERAL_LOW] & cpu
-                .getByteFromCode());
+        oldDest = cpu.eax & 0xFF;
+        result = oldDest & sourceValue;
 
-        // Test ZF, according to tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult == 0 ? true : false;
-        // Test SF, according to tempResult (set when MSB is 1, occurs when
-        // tempResult >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult < 0 ? true : false;
-        // Set PF, according to tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util.checkParityOfByte(tempResult);
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.BYTE, result);
     }
 }
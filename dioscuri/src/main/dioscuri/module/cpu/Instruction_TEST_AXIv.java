@@ -49,7 +49,10 @@ public class Instruction_TEST_AXIv implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] tempResult = new byte[2];
+
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -80,28 +83,13 @@ public class Instruction_TEST_AXIv implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
+        // Get immediate word
+        sourceValue = cpu.getWordFromCode();
 
-        // Reset appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-        // Get immediate byte and AND with AL, storing temporary result.
-        tempResult[CPU.REGISTER_GENERAL_LOW] = (byte) (cpu.ax[CPU.REGISTER_GENERAL_LOW] & cpu
-                .getByteFromCode());
-        // Get immediate byte and AND with AH, storing temporary result.
-        tempResult[CPU.REGISTER_GENERAL_HIGH] = (byte) (cpu.ax[CPU.REGISTER_GENERAL_HIGH] & cpu
-                .getByteFromCode());
+        oldDest = cpu.eax & 0xFFFF;
+        result = oldDest & sourceValue;
 
-        // Test ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true : false;
-        // Test SF (set when MSB is 1, occurs when tempResult[HIGH] >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to tempResult[LOW]
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
     }
 }
@@ -52,17 +52,13 @@ public class Instruction_TEST_EbGb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte sourceValue1 = 0;
-    byte sourceValue2 = 0;
-    byte registerHighLow = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte tempResult = 0;
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -70,17 +66,6 @@ public class Instruction_TEST_EbGb implements Instruction {
      * Class constructor
      */
     public Instruction_TEST_EbGb() {
-        operandWordSize = false;
-
-        addressByte = 0;
-        memoryReferenceLocation = new byte[2];
-        memoryReferenceDisplacement = new byte[2];
-
-        sourceValue1 = 0;
-        sourceValue2 = 0;
-        registerHighLow = 0;
-
-        tempResult = 0;
     }
 
     /**
@@ -105,12 +90,6 @@ public class Instruction_TEST_EbGb implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
-        // Clear appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -119,47 +98,27 @@ public class Instruction_TEST_EbGb implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        // Determine high/low part of register based on bit 5 (leading rrr bit)
-        registerHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        sourceValue1 = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3))[registerHighLow];
+        sourceValue = cpu.getRegisterByte((addressByte & 0x38) >> 3);
 
         // Execute TEST on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
             // TEST reg,reg
-            // "Destination" is a register
-            // Determine "destination" value from addressbyte, ANDing it with
+            // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            // Re-determine high/low part of register based on bit 3 (leading
-            // sss bit)
-            registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-            sourceValue2 = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07)[registerHighLow];
+            oldDest = cpu.getRegisterByte(addressByte & 0x07);
+            result = oldDest & sourceValue;
         } else {
             // TEST mem,reg
-            // "Destination" is in memory
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory
-            sourceValue2 = cpu.getByteFromMemorySegment(addressByte,
-                    memoryReferenceLocation);
+            oldDest = cpu.getByteFromMemorySegment(addressByte,
+                    memoryReferenceLocation) & 0xFF;
+            result = oldDest & sourceValue;
         }
 
-        // Logical TEST of source1 and source2
-        tempResult = (byte) (sourceValue1 & sourceValue2);
-
-        // Test ZF on particular byte of tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult == 0 ? true : false;
-        // Test SF on particular byte of tempResult (set when MSB is 1, occurs
-        // when tempResult >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult < 0 ? true : false;
-        // Set PF on particular byte of tempResult
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util.checkParityOfByte(tempResult);
-
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.BYTE, result);
     }
 }
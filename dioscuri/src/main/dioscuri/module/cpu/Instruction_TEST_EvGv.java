@@ -52,16 +52,13 @@ public class Instruction_TEST_EvGv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte[] sourceValue1 = new byte[2];
-    byte[] sourceValue2 = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] tempResult = new byte[2];
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
 
     // Constructors
 
@@ -93,12 +90,6 @@ public class Instruction_TEST_EvGv implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
-        // Clear appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
@@ -107,40 +98,27 @@ public class Instruction_TEST_EvGv implements Instruction {
 
         // Determine source value using addressbyte. AND it with 0011 1000 and
         // right-shift 3 to get rrr bits
-        sourceValue1 = cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3);
+        sourceValue = cpu.getRegisterWord((addressByte & 0x38) >> 3);
 
         // Execute TEST on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
         if (((addressByte >> 6) & 0x03) == 3) {
             // TEST reg,reg
-            // Determine "destination" value from addressbyte, ANDing it with
+            // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            sourceValue2 = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
+            oldDest = cpu.getRegisterWord(addressByte & 0x07);
+            result = oldDest & sourceValue;
         } else {
             // TEST mem,reg
             // Determine memory location
             memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                     memoryReferenceDisplacement);
-
-            // Get byte from memory
-            sourceValue2 = cpu.getWordFromMemorySegment(addressByte,
+            oldDest = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
+            result = oldDest & sourceValue;
         }
 
-        // Logical TEST of source and destination, store result temporarily
-        tempResult[CPU.REGISTER_GENERAL_HIGH] = (byte) (sourceValue1[CPU.REGISTER_GENERAL_HIGH] & sourceValue2[CPU.REGISTER_GENERAL_HIGH]);
-        tempResult[CPU.REGISTER_GENERAL_LOW] = (byte) (sourceValue1[CPU.REGISTER_GENERAL_LOW] & sourceValue2[CPU.REGISTER_GENERAL_LOW]);
-
-        // Test ZF on result
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = tempResult[CPU.REGISTER_GENERAL_HIGH] == 0
-                && tempResult[CPU.REGISTER_GENERAL_LOW] == 0 ? true : false;
-        // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = tempResult[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF on lower byte of result
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(tempResult[CPU.REGISTER_GENERAL_LOW]);
+        // Set SF, ZF, PF and clear OF, CF, AF
+        cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
     }
 }
@@ -54,22 +54,12 @@ public class Instruction_UnaryGrp3_Eb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte sourceByte1 = 0;
-    byte sourceByte2 = 0;
-    byte resultByte = 0;
-    byte[] sourceValue = new byte[2];
-    byte[] destinationRegister = new byte[2];
-    byte registerHighLow = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    int quotient = 0;
-    int remainder = 0;
-    int overFlowCheck = 0;
+    int sourceValue = 0;
+    int result = 0;
 
     // Constructors
 
@@ -109,50 +99,31 @@ public class Instruction_UnaryGrp3_Eb implements Instruction {
         // Execute instruction decoded from nnn (bits 5, 4, 3 in ModR/M byte)
         switch ((addressByte & 0x38) >> 3) {
             case 0: // TEST
-                // Clear appropriate flags
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-                // Clear AF flag as Bochs does
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-                // Retrieve source byte
-                sourceByte1 = cpu.getByteFromCode();
+                // Retrieve immediate byte
+                result = cpu.getByteFromCode();
 
                 // Execute TEST on imm,reg or imm,mem. Determine this from mm bits
                 // of addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // TEST imm,reg
                     // Determine source value from addressbyte, ANDing it with 0000
                     // 0111 to get sss bits
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
-                    sourceByte2 = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07)[registerHighLow];
+                    sourceValue = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // TEST imm,mem
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
                     // Retrieve source value from memory indicated by reference
                     // location
-                    sourceByte2 = cpu.getByteFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
+                    sourceValue = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
                 }
 
                 // Logical TEST (AND) of source1 and source2
-                resultByte = (byte) (sourceByte1 & sourceByte2);
-
-                // Test ZF on particular byte of tempResult
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = resultByte == 0 ? true : false;
-                // Test SF on particular byte of tempResult (set when MSB is 1,
-                // occurs when tempResult >= 0x80)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = resultByte < 0 ? true : false;
-                // Set PF on particular byte of tempResult
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(resultByte);
+                result &= sourceValue;
+
+                // Set SF, ZF, PF and clear OF, CF, AF (as Bochs does)
+                cpu.flags.setResult(Flags.LOGIC, Flags.BYTE, result);
                 break;
 
             case 1: // does not exist
@@ -163,286 +134,181 @@ public class Instruction_UnaryGrp3_Eb implements Instruction {
             case 2: // NOT: reverse each bit of r/m8
                 // Flags affected: none
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // NOT reg
                     // Determine source value from addressbyte, ANDing it with 0000
-                    // 0111
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 2 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
-
-                    // Negate source 8-bit
-                    sourceValue[registerHighLow] = (byte) ~sourceValue[registerHighLow];
+                    // 0111 to get sss bits
+                    sourceValue = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // NOT mem
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Get byte from memory
-                    sourceByte1 = cpu.getByteFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
+                    // Retrieve source value from memory indicated by reference
+                    // location
+                    sourceValue = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
+                }
 
-                    // Negate source 8-bit
-                    sourceByte1 = (byte) ~sourceByte1;
+                // Negate source 8-bit
+                result = ~sourceValue;
 
-                    // Store result in mem
-                    cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceByte1);
+                // Store result in register or memory
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, result);
+                } else {
+                    cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
+                            (byte) result);
                 }
                 break;
 
             case 3: // NEG
-                // Execute NEG on imm,reg or imm,mem. Determine this from mm bits of
-                // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // NEG imm,reg
                     // Determine source value from addressbyte, ANDing it with 0000
                     // 0111 to get sss bits
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // Determine high/low part of register based on bit 2 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
-
-                    sourceByte1 = sourceValue[registerHighLow];
+                    sourceValue = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // NEG mem,reg
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Get byte from memory
-                    sourceByte1 = cpu.getByteFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
+                    // Retrieve source value from memory indicated by reference
+                    // location
+                    sourceValue = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
                 }
 
                 // Negate source; equivalent to 0 - source.
-                sourceByte2 = (byte) (0 - sourceByte1);
+                result = (0 - sourceValue) & 0xFF;
 
-                // Store result back in memory if necessary
-                if (((addressByte >> 6) & 0x03) != 3) {
-                    cpu.setByteInMemorySegment(addressByte,
-                            memoryReferenceLocation, sourceByte2);
+                // Store result in register or memory
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    cpu.setRegisterByte(addressByte & 0x07, result);
                 } else {
-                    sourceValue[registerHighLow] = sourceByte2;
+                    cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
+                            (byte) result);
                 }
 
-                // Clear CF if source operand is zero, set otherwise
-                cpu.flags[CPU.REGISTER_FLAGS_CF] = sourceByte2 == 0 ? false : true;
-
-                // Set OF flag
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = Util.test_OF_SUB((byte) 0,
-                        sourceByte1, sourceByte2, 0);
-                // Set AF flag
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = (sourceByte2 & 0x0F) != 0 ? true
-                        : false;
-                // Test ZF on result
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = sourceByte2 == 0 ? true : false;
-                // Test SF on result (set when MSB is 1, occurs when result >= 0x80)
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = sourceByte2 < 0 ? true : false;
-                // Set PF on lower byte of result
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(sourceByte2);
+                // Set OF, SF, ZF, AF, PF; CF is cleared if source operand is zero,
+                // set otherwise
+                cpu.flags.setResult(Flags.SUB, Flags.BYTE, 0, sourceValue, 0, result);
                 break;
 
             case 4: // MUL AX. Flags: OF, CF set to 0 if upper half of result is 0;
                 // SF, ZF, AF, PF are undefined.
-                // Set destination to AX
-                destinationRegister = cpu.ax;
-
                 // Execute mul on reg or mem. Determine this from mm bits of
                 // addressbyte
                 if (((addressByte >> 6) & 0x03) == 3) {
-                    // MUL AX, reg
                     // Determine source value from addressbyte, ANDing it with 0000
-                    // 0111
-                    sourceValue = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07);
-
-                    // FIXME: is it correct that we don't distinguish in lower or
-                    // higher part of register as we're working with bytes???
-
-                    // Need to check for possible overflow in destination[low]
-                    // This occurs when UNsigned values of source (=destination) >
-                    // FF
-                    // Also determine high/low register for sourceValue here
-                    overFlowCheck = ((((int) (destinationRegister[CPU.REGISTER_GENERAL_LOW])) & 0xFF) * (((int) sourceValue[((addressByte & 0x07) > 3 ? CPU.REGISTER_GENERAL_HIGH
-                            : CPU.REGISTER_GENERAL_LOW)]) & 0xFF));
+                    // 0111 to get sss bits
+                    sourceValue = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // MUL AX, mem
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Get byte from memory
-                    sourceByte1 = cpu.getByteFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
-
-                    // Need to check for possible overflow in destination[low]
-                    // This occurs when UNsigned values of source (=destination) >
-                    // FF
-                    overFlowCheck = ((((int) (destinationRegister[CPU.REGISTER_GENERAL_LOW])) & 0xFF) * (((int) sourceByte1) & 0xFF));
+                    // Retrieve source value from memory indicated by reference
+                    // location
+                    sourceValue = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
                 }
 
-                // Move answer into destination
-                destinationRegister[CPU.REGISTER_GENERAL_LOW] = (byte) (overFlowCheck);
-                destinationRegister[CPU.REGISTER_GENERAL_HIGH] = (byte) ((overFlowCheck) >> 8);
+                // Multiply (unsigned) source and AL, and move answer into AX
+                result = (cpu.eax & 0xFF) * sourceValue;
+                cpu.eax = (cpu.eax & 0xFFFF0000) | result;
 
                 // Set appropriate flags
-                // Clear OF, CF if AX[HIGH] is zero
-                cpu.flags[CPU.REGISTER_FLAGS_OF] = cpu.flags[CPU.REGISTER_FLAGS_CF] = destinationRegister[CPU.REGISTER_GENERAL_HIGH] == 0 ? false
-                        : true;
-
-                // Mimic Bochs' flag behaviour
-                cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                        .checkParityOfByte(destinationRegister[CPU.REGISTER_GENERAL_LOW]);
-                cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-                // Check on AL for the next two
-                cpu.flags[CPU.REGISTER_FLAGS_ZF] = destinationRegister[CPU.REGISTER_GENERAL_LOW] == 0x00 ? true
-                        : false;
-                cpu.flags[CPU.REGISTER_FLAGS_SF] = destinationRegister[CPU.REGISTER_GENERAL_LOW] < 0 ? true
-                        : false;
+                // Mimic Bochs' flag behaviour: PF, ZF and SF are set on AL
+                cpu.flags.setResult(Flags.RESULT, Flags.BYTE, result);
+                // Clear OF, CF if AH is zero
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (result >> 8) != 0);
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, (result >> 8) != 0);
+                cpu.flags.set(CPU.REGISTER_FLAGS_AF, false);
                 break; // MUL AL/eAX
 
             case 5: // IMUL r/m8; flags affected: CF, OF.
-                destinationRegister = cpu.ax;
-
                 // Execute IMUL on reg or mem. Determine this from mm bits of
                 // addressbyte
-                if (((addressByte & 0xC0) >> 6) == 3) {
-                    // IMUL AX <- AL, reg
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
-
-                    // Determine source byte from addressbyte, ANDing it with 0000
-                    // 0111
-                    sourceByte1 = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07)[registerHighLow];
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    // Determine source value from addressbyte, ANDing it with 0000
+                    // 0111 to get sss bits
+                    sourceValue = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // IMUL AX <- AL, mem
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Get byte from memory
-                    sourceByte1 = cpu.getByteFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
+                    // Retrieve source value from memory indicated by reference
+                    // location
+                    sourceValue = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
                 }
 
-                // Multiply (signed) source and AL - this works directly because
-                // Java bytes are signed
-                int signedResult = sourceByte1 * cpu.ax[CPU.REGISTER_GENERAL_LOW];
-
-                // Move result into AX
-                cpu.ax[CPU.REGISTER_GENERAL_HIGH] = (byte) (signedResult >> 8);
-                cpu.ax[CPU.REGISTER_GENERAL_LOW] = (byte) (signedResult & 0xFF);
-
-                // Clear CF, OF if result fits exactly AL;
-                if (cpu.ax[CPU.REGISTER_GENERAL_HIGH] == 0x00) {
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-                } else // otherwise set CF, OF.
-                {
-                    cpu.flags[CPU.REGISTER_FLAGS_CF] = true;
-                    cpu.flags[CPU.REGISTER_FLAGS_OF] = true;
-                }
+                // Multiply (signed) source and AL, and move result into AX
+                result = ((byte) sourceValue * (byte) cpu.eax) & 0xFFFF;
+                cpu.eax = (cpu.eax & 0xFFFF0000) | result;
+
+                // Clear CF, OF if result fits exactly AL, otherwise set CF, OF.
+                cpu.flags.set(CPU.REGISTER_FLAGS_CF, (result >> 8) != 0);
+                cpu.flags.set(CPU.REGISTER_FLAGS_OF, (result >> 8) != 0);
                 break; // IMUL
 
             case 6: // DIV
                 // Flags: OF, CF, SF, ZF, AF, PF are undefined.
                 // FIXME: DIV by 0 not handled (#DE)
                 // FIXME: DIV result exceeding register size not handled (#DE)
-                // Set destination to AX
-                destinationRegister = cpu.ax;
-
                 // Execute DIV on reg or mem. Determine this from mm bits of
                 // addressbyte
-                if (((addressByte & 0xC0) >> 6) == 3) {
-                    // DIV AX, reg
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
-
-                    // Determine source byte from addressbyte, ANDing it with 0000
-                    // 0111
-                    sourceByte1 = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07)[registerHighLow];
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    // Determine source value from addressbyte, ANDing it with 0000
+                    // 0111 to get sss bits
+                    sourceValue = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // DIV AX, mem
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Get byte from memory
-                    sourceByte1 = cpu.getByteFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
+                    // Retrieve source value from memory indicated by reference
+                    // location
+                    sourceValue = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
                 }
 
-                // Calculate quotient
-                quotient = ((((((int) destinationRegister[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) destinationRegister[CPU.REGISTER_GENERAL_LOW]) & 0xFF)) / (((int) sourceByte1) & 0xFF));
-
-                // Calculate remainder
-                remainder = ((((((int) destinationRegister[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8) + (((int) destinationRegister[CPU.REGISTER_GENERAL_LOW]) & 0xFF)) % (((int) sourceByte1) & 0xFF));
-
-                // Move quotient into AL
-                destinationRegister[CPU.REGISTER_GENERAL_LOW] = (byte) (quotient);
-
-                // Move remainder into AH
-                destinationRegister[CPU.REGISTER_GENERAL_HIGH] = (byte) ((remainder));
+                // Divide AX by source: move quotient into AL and remainder
+                // into AH
+                result = cpu.eax & 0xFFFF;
+                cpu.eax = (cpu.eax & 0xFFFF0000)
+                        | (((result % sourceValue) & 0xFF) << 8)
+                        | ((result / sourceValue) & 0xFF);
                 break; // DIV
 
             case 7: // IDIV
                 // Flags: OF, CF, SF, ZF, AF, PF are undefined.
                 // FIXME: IDIV by 0 not handled (#DE)
                 // FIXME: IDIV result exceeding register size not handled (#DE)
-                // FIXME: difference DIV and IDIV not clear!
-                // Set destination to AX
-                destinationRegister = cpu.ax;
-
+                // FIXME: difference DIV and IDIV not clear! Only the dividend is
+                // taken as signed here
                 // Execute IDIV on reg or mem. Determine this from mm bits of
                 // addressbyte
-                if (((addressByte & 0xC0) >> 6) == 3) {
-                    // IDIV AX, reg
-                    // Determine high/low part of register based on bit 3 (leading
-                    // sss bit)
-                    registerHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                            : (byte) CPU.REGISTER_GENERAL_HIGH;
-
-                    // Determine source byte from addressbyte, ANDing it with 0000
-                    // 0111
-                    sourceByte1 = cpu.decodeRegister(operandWordSize,
-                            addressByte & 0x07)[registerHighLow];
+                if (((addressByte >> 6) & 0x03) == 3) {
+                    // Determine source value from addressbyte, ANDing it with 0000
+                    // 0111 to get sss bits
+                    sourceValue = cpu.getRegisterByte(addressByte & 0x07);
                 } else {
-                    // IDIV AX, mem
                     // Determine memory location
                     memoryReferenceLocation = cpu.decodeSSSMemDest(addressByte,
                             memoryReferenceDisplacement);
 
-                    // Get byte from memory
-                    sourceByte1 = cpu.getByteFromMemorySegment(addressByte,
-                            memoryReferenceLocation);
+                    // Retrieve source value from memory indicated by reference
+                    // location
+                    sourceValue = cpu.getByteFromMemorySegment(addressByte,
+                            memoryReferenceLocation) & 0xFF;
                 }
 
-                // Calculate quotient
-                quotient = ((((((int) destinationRegister[CPU.REGISTER_GENERAL_HIGH])) << 8) + (((int) destinationRegister[CPU.REGISTER_GENERAL_LOW]) & 0xFF)) / (((int) sourceByte1) & 0xFF));
-
-                // Calculate remainder
-                remainder = ((((((int) destinationRegister[CPU.REGISTER_GENERAL_HIGH])) << 8) + (((int) destinationRegister[CPU.REGISTER_GENERAL_LOW]) & 0xFF)) % (((int) sourceByte1) & 0xFF));
-
-                // Move quotient into AL
-                destinationRegister[CPU.REGISTER_GENERAL_LOW] = (byte) (quotient);
-
-                // Move remainder into AH
-                destinationRegister[CPU.REGISTER_GENERAL_HIGH] = (byte) ((remainder));
+                // Divide AX by source: move quotient into AL and remainder
+                // into AH
+                result = (short) cpu.eax;
+                cpu.eax = (cpu.eax & 0xFFFF0000)
+                        | (((result % sourceValue) & 0xFF) << 8)
+                        | ((result / sourceValue) & 0xFF);
                 break; // IDIV
 
             default:
@@ -48,7 +48,7 @@ public class Instruction_XCHG_BPAX implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] temp;
+    private int temp;
 
     // Constructors
 
@@ -66,9 +66,6 @@ public class Instruction_XCHG_BPAX implements Instruction {
     public Instruction_XCHG_BPAX(CPU processor) {
         // Create reference to cpu class
         cpu = processor;
-
-        // Initialise variable for temporary storage
-        temp = new byte[2];
     }
 
     // Methods
@@ -78,8 +75,8 @@ public class Instruction_XCHG_BPAX implements Instruction {
      */
     public void execute() {
         // Swap registers, using temp as a go-between
-        System.arraycopy(cpu.bp, 0, temp, 0, cpu.bp.length);
-        System.arraycopy(cpu.ax, 0, cpu.bp, 0, cpu.ax.length);
-        System.arraycopy(temp, 0, cpu.ax, 0, temp.length);
+        temp = cpu.ebp & 0xFFFF;
+        cpu.ebp = (cpu.ebp & 0xFFFF0000) | (cpu.eax & 0xFFFF);
+        cpu.eax = (cpu.eax & 0xFFFF0000) | temp;
     }
 }
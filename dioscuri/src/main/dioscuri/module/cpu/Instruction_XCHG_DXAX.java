@@ -48,7 +48,7 @@ public class Instruction_XCHG_DXAX implements Instruction {
 
     // Attributes
     private CPU cpu;
-    byte[] temp;
+    private int temp;
 
     // Constructors
 
@@ -68,9 +68,6 @@ public class Instruction_XCHG_DXAX implements Instruction {
 
         // Create reference to cpu class
         cpu = processor;
-
-        // Initialise variable for temporary storage
-        temp = new byte[2];
     }
 
     // Methods
@@ -80,8 +77,8 @@ public class Instruction_XCHG_DXAX implements Instruction {
      */
     public void execute() {
         // Swap registers, using temp as a go-between
-        System.arraycopy(cpu.dx, 0, temp, 0, cpu.dx.length);
-        System.arraycopy(cpu.ax, 0, cpu.dx, 0, cpu.ax.length);
-        System.arraycopy(temp, 0, cpu.ax, 0, temp.length);
+        temp = cpu.edx & 0xFFFF;
+        cpu.edx = (cpu.edx & 0xFFFF0000) | (cpu.eax & 0xFFFF);
+        cpu.eax = (cpu.eax & 0xFFFF0000) | temp;
     }
 }
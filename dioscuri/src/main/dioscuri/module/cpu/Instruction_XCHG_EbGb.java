@@ -51,18 +51,11 @@ public class Instruction_XCHG_EbGb implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = false;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte[] sourceRegister = new byte[2];
-    byte[] destinationRegister = new byte[2];
-    byte sourceHighLow = 0;
-    byte destinationHighLow = 0;
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte tempValue = 0;
+    int tempValue = 0;
 
     // Constructors
 
@@ -99,31 +92,19 @@ public class Instruction_XCHG_EbGb implements Instruction {
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
-        // Determine source register using addressbyte. AND it with 0011 1000
-        // and right-shift 3 to get rrr bits
-        // Determine high/low part of register based on bit 5 (leading rrr bit)
-        sourceHighLow = ((addressByte & 0x20) >> 5) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                : (byte) CPU.REGISTER_GENERAL_HIGH;
-        sourceRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
         // Execute XCHG on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
+        // Source register is determined using addressbyte. AND it with 0011
+        // 1000 and right-shift 3 to get rrr bits
         if (((addressByte & 0xC0) >> 6) == 3) {
             // XCHG reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-            // Re-determine high/low part of register based on bit 3 (leading
-            // sss bit)
-            destinationHighLow = ((addressByte & 0x04) >> 2) == 0 ? (byte) CPU.REGISTER_GENERAL_LOW
-                    : (byte) CPU.REGISTER_GENERAL_HIGH;
-
             // XCHG source and destination
-            tempValue = destinationRegister[destinationHighLow];
-            destinationRegister[destinationHighLow] = sourceRegister[sourceHighLow];
-            sourceRegister[sourceHighLow] = tempValue;
+            tempValue = cpu.getRegisterByte(addressByte & 0x07);
+            cpu.setRegisterByte(addressByte & 0x07, cpu
+                    .getRegisterByte((addressByte & 0x38) >> 3));
+            cpu.setRegisterByte((addressByte & 0x38) >> 3, tempValue);
         } else {
             // XCHG mem,reg
             // Determine memory location
@@ -134,8 +115,8 @@ public class Instruction_XCHG_EbGb implements Instruction {
             tempValue = cpu.getByteFromMemorySegment(addressByte,
                     memoryReferenceLocation);
             cpu.setByteInMemorySegment(addressByte, memoryReferenceLocation,
-                    sourceRegister[sourceHighLow]);
-            sourceRegister[sourceHighLow] = tempValue;
+                    (byte) cpu.getRegisterByte((addressByte & 0x38) >> 3));
+            cpu.setRegisterByte((addressByte & 0x38) >> 3, tempValue);
         }
     }
 }
@@ -51,16 +51,11 @@ public class Instruction_XCHG_EvGv implements Instruction {
     // Attributes
     private CPU cpu;
 
-    boolean operandWordSize = true;
-
     byte addressByte = 0;
-    byte[] memoryReferenceLocation = new byte[2];
-    byte[] memoryReferenceDisplacement = new byte[2];
-
-    byte[] sourceRegister = new byte[2];
-    byte[] destinationRegister = new byte[2];
+    int memoryReferenceLocation = 0;
+    int memoryReferenceDisplacement = 0;
 
-    byte[] tempValue = new byte[2];
+    int tempValue = 0;
 
     // Constructors
 
@@ -90,39 +85,25 @@ public class Instruction_XCHG_EvGv implements Instruction {
      * Flags modified: none
      */
     public void execute() {
-        // Reset pointers
-        sourceRegister = new byte[2];
-        destinationRegister = new byte[2];
-        tempValue = new byte[2];
-
         // Get addresByte
         addressByte = cpu.getByteFromCode();
 
         // Determine displacement of memory location (if any)
         memoryReferenceDisplacement = cpu.decodeMM(addressByte);
 
-        // Determine source register using addressbyte. AND it with 0011 1000
-        // and right-shift 3 to get rrr bits
-        // High / low part of register is also determined here (might be re-used
-        // later, so do not depend on it anymore)
-        sourceRegister = (cpu.decodeRegister(operandWordSize,
-                (addressByte & 0x38) >> 3));
-
         // Execute XCHG on reg,reg or mem,reg. Determine this from mm bits of
         // addressbyte
+        // Source register is determined using addressbyte. AND it with 0011
+        // 1000 and right-shift 3 to get rrr bits
         if (((addressByte & 0xC0) >> 6) == 3) {
             // XCHG reg,reg
             // Determine destination register from addressbyte, ANDing it with
             // 0000 0111
-            destinationRegister = cpu.decodeRegister(operandWordSize,
-                    addressByte & 0x07);
-
             // XCHG source and destination
-            System.arraycopy(destinationRegister, 0, tempValue, 0,
-                    destinationRegister.length);
-            System.arraycopy(sourceRegister, 0, destinationRegister, 0,
-                    sourceRegister.length);
-            System.arraycopy(tempValue, 0, sourceRegister, 0, tempValue.length);
+            tempValue = cpu.getRegisterWord(addressByte & 0x07);
+            cpu.setRegisterWord(addressByte & 0x07, cpu
+                    .getRegisterWord((addressByte & 0x38) >> 3));
+            cpu.setRegisterWord((addressByte & 0x38) >> 3, tempValue);
         } else {
             // XCHG mem,reg
             // Determine memory location
@@ -133,8 +114,8 @@ public class Instruction_XCHG_EvGv implements Instruction {
             tempValue = cpu.getWordFromMemorySegment(addressByte,
                     memoryReferenceLocation);
             cpu.setWordInMemorySegment(addressByte, memoryReferenceLocation,
-                    sourceRegister);
-            System.arraycopy(tempValue, 0, sourceRegister, 0, tempValue.length);
+                    cpu.getRegisterWord((addressByte & 0x38) >> 3));
+            cpu.setRegisterWord((addressByte & 0x38) >> 3, tempValue);
         }
     }
 }
@@ -50,7 +50,7 @@ public class Instruction_XLAT implements Instruction {
     private CPU cpu;
 
     byte defaultAddressByteDS;
-    byte[] memoryReferenceLocation;
+    int memoryReferenceLocation;
 
     // Constructors
 
@@ -72,7 +72,6 @@ public class Instruction_XLAT implements Instruction {
         // The addressbyte set here is hardcoded to reference DS, unless there
         // is a segment override
         defaultAddressByteDS = 0x00;
-        memoryReferenceLocation = new byte[2];
     }
 
     // Methods
@@ -82,12 +81,11 @@ public class Instruction_XLAT implements Instruction {
      */
     public void execute() {
         // Set memory location as BX + AL
-        memoryReferenceLocation = Util.addWords(cpu.bx, new byte[]{0x00,
-                cpu.ax[CPU.REGISTER_GENERAL_LOW]}, 0);
+        memoryReferenceLocation = (cpu.ebx + (cpu.eax & 0xFF)) & 0xFFFF;
 
         // Get byte from DS:[BX+AL] (segment overrides are possible) and store
         // in AL
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] = cpu.getByteFromMemorySegment(
-                defaultAddressByteDS, memoryReferenceLocation);
+        cpu.eax = (cpu.eax & 0xFFFFFF00) | (cpu.getByteFromMemorySegment(
+                defaultAddressByteDS, memoryReferenceLocation) & 0xFF);
     }
 }
@@ -49,6 +49,10 @@ public class Instruction_XOR_AXIv implements Instruction {
     // Attributes
     private CPU cpu;
 
+    int sourceValue = 0;
+    int oldDest = 0;
+    int result = 0;
+
     // Constructors
 
     /**
@@ -76,44 +80,29 @@ public class Instruction_XOR_AXIv implements Instruction {
      * OF and CF are cleared. AF is undefined.
      */
     public void execute() {
+        if (cpu.doubleWord) {
+            // 32-bit
+            // Get immediate doubleword
+            sourceValue = cpu.getWordFromCode();
+            sourceValue |= cpu.getWordFromCode() << 16;
 
-        // Reset appropriate flags
-        cpu.flags[CPU.REGISTER_FLAGS_OF] = false;
-        cpu.flags[CPU.REGISTER_FLAGS_CF] = false;
-        // Intel docs state AF remains undefined, but MS-DOS debug.exe clears AF
-        cpu.flags[CPU.REGISTER_FLAGS_AF] = false;
-
-        // Get immediate byte and XOR with AL, storing result in AL.
-        cpu.ax[CPU.REGISTER_GENERAL_LOW] ^= cpu.getByteFromCode();
-        // Get immediate byte and XOR with AH, storing result in AH.
-        cpu.ax[CPU.REGISTER_GENERAL_HIGH] ^= cpu.getByteFromCode();
+            oldDest = cpu.eax;
+            result = oldDest ^ sourceValue;
+            cpu.eax = result;
 
-        if (cpu.doubleWord) {
-            // Get immediate byte and XOR with eAL, storing result in eAL.
-            cpu.eax[CPU.REGISTER_GENERAL_LOW] ^= cpu.getByteFromCode();
-            // Get immediate byte and XOR with eAH, storing result in eAH.
-            cpu.eax[CPU.REGISTER_GENERAL_HIGH] ^= cpu.getByteFromCode();
-        }
+            // Set SF, ZF, PF and clear OF, CF, AF
+            cpu.flags.setResult(Flags.LOGIC, Flags.DOUBLEWORD, result);
+        } else {
+            // 16-bit
+            // Get immediate word
+            sourceValue = cpu.getWordFromCode();
 
-        // Test ZF
-        cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] == 0
-                && cpu.ax[CPU.REGISTER_GENERAL_LOW] == 0 ? true : false;
-        // Test SF (set when MSB is 1, occurs when AH >= 0x80)
-        cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.ax[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                : false;
-        // Set PF, only applies to AL
-        cpu.flags[CPU.REGISTER_FLAGS_PF] = Util
-                .checkParityOfByte(cpu.ax[CPU.REGISTER_GENERAL_LOW]);
+            oldDest = cpu.eax & 0xFFFF;
+            result = oldDest ^ sourceValue;
+            cpu.eax = (cpu.eax & 0xFFFF0000) | result;
 
-        if (cpu.doubleWord) {
-            // Need to check extended registers with flags
-            // Test ZF
-            cpu.flags[CPU.REGISTER_FLAGS_ZF] = cpu.flags[CPU.REGISTER_FLAGS_ZF]
-                    && cpu.eax[CPU.REGISTER_GENERAL_HIGH] == 0
-                    && cpu.eax[CPU.REGISTER_GENERAL_LOW] == 0 ? true : false;
-            // Test SF (set when MSB is 1, occurs when AH >= 0x80)
-            cpu.flags[CPU.REGISTER_FLAGS_SF] = cpu.eax[CPU.REGISTER_GENERAL_HIGH] < 0 ? true
-                    : false;
+            // Set SF, ZF, PF and clear OF, CF, AF
+            cpu.flags.setResult(Flags.LOGIC, Flags.WORD, result);
         }
     }
 }
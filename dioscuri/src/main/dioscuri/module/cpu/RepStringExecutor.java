@@ -0,0 +1,359 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.cpu;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.module.ModuleMemory;
+
+/**
+ * Fast path for string instructions with a repeat prefix. Instead of
+ * dispatching every iteration of REP MOVS, STOS, LODS, SCAS, CMPS or INSW
+ * separately, the iterations that touch plain RAM are carried out in one go
+ * with array copies, fills, scans and block reads from the I/O port, after
+ * which SI, DI and CX are left as if the iterations had been executed one by
+ * one.
+ * <p/>
+ * The last iteration is always left to the regular instruction, so that it
+ * sets the flags and the CPU decides whether the repeat ends. Iterations are
+ * only done in bulk if they can not be told apart from the regular ones:
+ * the memory involved must be plain RAM (no video memory, no BIOS area, no
+ * A20 wrap), the offsets must not wrap around the segment, and a compare or
+ * scan stops in front of the element that would end the repeat.
+ *
+ * @see CPU
+ */
+final class RepStringExecutor {
+
+    private final CPU cpu;
+
+    // Buffers for INSW, allocated on first use
+    private short[] words;
+    private byte[] wordBytes;
+
+    /**
+     * Creates the fast path for the given CPU
+     *
+     * @param cpu CPU whose registers are used
+     */
+    RepStringExecutor(CPU cpu) {
+        this.cpu = cpu;
+    }
+
+    /**
+     * Checks if the given opcode is a string instruction this class can repeat
+     *
+     * @param opcode single byte opcode
+     * @return true for MOVS, CMPS, STOS, LODS, SCAS and INSW, false otherwise
+     */
+    static boolean isStringInstruction(int opcode) {
+        return (opcode >= 0xA4 && opcode <= 0xA7)
+                || (opcode >= 0xAA && opcode <= 0xAF) || opcode == 0x6D;
+    }
+
+    /**
+     * Executes iterations of the current repeated string instruction in bulk
+     *
+     * @param memory memory the string is read from and written to
+     * @param opcode single byte opcode of the string instruction
+     * @param limit  maximum number of iterations to execute
+     * @return number of iterations executed, zero if nothing has been done
+     */
+    int execute(ModuleMemory memory, int opcode, int limit) {
+        if (limit <= 0 || memory == null) {
+            return 0;
+        }
+
+        int size = (opcode & 0x01) + 1;
+        boolean down = cpu.flags.get(CPU.REGISTER_FLAGS_DF);
+        boolean usesSource = (opcode >= 0xA4 && opcode <= 0xA7)
+                || opcode == 0xAC || opcode == 0xAD;
+        boolean usesDestination = opcode != 0xAC && opcode != 0xAD;
+
+        int si = cpu.getRegisterWord(CPU.REGISTER_SI);
+        int di = cpu.getRegisterWord(CPU.REGISTER_DI);
+        int count = limit;
+        if (usesSource) {
+            count = Math.min(count, withinSegment(si, size, down));
+        }
+        if (usesDestination) {
+            count = Math.min(count, withinSegment(di, size, down));
+        }
+        if (count <= 0) {
+            return 0;
+        }
+
+        int sourceBase = 0;
+        if (usesSource) {
+            int segment = this.getSourceSegment();
+            if (segment < 0) {
+                return 0;
+            }
+            sourceBase = segment << 4;
+        }
+        int destinationBase = cpu.es << 4;
+
+        switch (opcode) {
+            case 0xA4: // MOVSB
+            case 0xA5: // MOVSW
+                count = this.move(memory, sourceBase, si, destinationBase, di,
+                        size, count, down);
+                break;
+
+            case 0xAA: // STOSB
+            case 0xAB: // STOSW
+                byte low = (byte) cpu.eax;
+                byte high = size == 1 ? low : (byte) (cpu.eax >> 8);
+                if (!memory.fillRange(
+                        start(destinationBase, di, size, count, down),
+                        size * count, low, high)) {
+                    count = 0;
+                }
+                break;
+
+            case 0xAC: // LODSB
+            case 0xAD: // LODSW
+                // Only the last element loaded ends up in the accumulator, and
+                // that one is left to the regular instruction
+                if (memory.getRamRange(start(sourceBase, si, size, count, down),
+                        size * count) == null) {
+                    count = 0;
+                }
+                break;
+
+            case 0xA6: // CMPSB
+            case 0xA7: // CMPSW
+                count = this.compare(memory, sourceBase, si, destinationBase,
+                        di, size, count, down);
+                break;
+
+            case 0xAE: // SCASB
+            case 0xAF: // SCASW
+                count = this.scan(memory, destinationBase, di, size, count,
+                        down);
+                break;
+
+            case 0x6D: // INSW
+                count = this.input(memory, destinationBase, di, count, down);
+                break;
+
+            default:
+                count = 0;
+        }
+
+        if (count > 0) {
+            int distance = down ? -size * count : size * count;
+            if (usesSource) {
+                cpu.setRegisterWord(CPU.REGISTER_SI, si + distance);
+            }
+            if (usesDestination) {
+                cpu.setRegisterWord(CPU.REGISTER_DI, di + distance);
+            }
+            cpu.setRegisterWord(CPU.REGISTER_CX,
+                    cpu.getRegisterWord(CPU.REGISTER_CX) - count);
+        }
+        return count;
+    }
+
+    /**
+     * Copies elements for MOVS. Overlapping strings are only copied in bulk if
+     * copying element by element gives the same result as an array copy.
+     *
+     * @return number of elements copied
+     */
+    private int move(ModuleMemory memory, int sourceBase, int si,
+            int destinationBase, int di, int size, int count, boolean down) {
+        int length = size * count;
+        int source = start(sourceBase, si, size, count, down);
+        int destination = start(destinationBase, di, size, count, down);
+        boolean overlaps = destination < source + length
+                && source < destination + length;
+        if (overlaps && (down ? destination < source : destination > source)) {
+            return 0;
+        }
+        return memory.copyRange(source, destination, length) ? count : 0;
+    }
+
+    /**
+     * Counts the leading elements for CMPS that do not end the repeat
+     *
+     * @return number of elements passed
+     */
+    private int compare(ModuleMemory memory, int sourceBase, int si,
+            int destinationBase, int di, int size, int count, boolean down) {
+        int source = start(sourceBase, si, size, count, down);
+        int destination = start(destinationBase, di, size, count, down);
+        byte[] sourceRam = memory.getRamRange(source, size * count);
+        byte[] destinationRam = memory.getRamRange(destination, size * count);
+        if (sourceRam == null || destinationRam == null) {
+            return 0;
+        }
+
+        // REPE continues on equal elements, REPNE on different ones
+        boolean equal = cpu.prefixRepType == 0xF3;
+        int step = down ? -size : size;
+        int first = down ? size * (count - 1) : 0;
+        int passed = 0;
+        for (int i = first; passed < count; i += step, passed++) {
+            boolean same = sourceRam[source + i] == destinationRam[destination + i]
+                    && (size == 1 || sourceRam[source + i + 1] == destinationRam[destination + i + 1]);
+            if (same != equal) {
+                break;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * Counts the leading elements for SCAS that do not end the repeat
+     *
+     * @return number of elements passed
+     */
+    private int scan(ModuleMemory memory, int destinationBase, int di,
+            int size, int count, boolean down) {
+        int destination = start(destinationBase, di, size, count, down);
+        byte[] ram = memory.getRamRange(destination, size * count);
+        if (ram == null) {
+            return 0;
+        }
+
+        // REPE continues on equal elements, REPNE on different ones
+        boolean equal = cpu.prefixRepType == 0xF3;
+        byte low = (byte) cpu.eax;
+        byte high = (byte) (cpu.eax >> 8);
+        int step = down ? -size : size;
+        int first = destination + (down ? size * (count - 1) : 0);
+        int passed = 0;
+        for (int i = first; passed < count; i += step, passed++) {
+            boolean same = ram[i] == low && (size == 1 || ram[i + 1] == high);
+            if (same != equal) {
+                break;
+            }
+        }
+        return passed;
+    }
+
+    /**
+     * Reads words for INSW from the port in DX straight into RAM. Data taken
+     * from a port can not be given back, so the words are only read if the
+     * whole string surely fits in RAM below the video window. An interrupt
+     * the device raises during the transfer is taken after the bulk part.
+     *
+     * @return number of words read
+     */
+    private int input(ModuleMemory memory, int destinationBase, int di,
+            int count, boolean down) {
+        int destination = start(destinationBase, di, 2, count, down);
+        int length = 2 * count;
+        if (destination + length > 0xA0000
+                || memory.getRamRange(destination, length) == null) {
+            return 0;
+        }
+
+        if (words == null) {
+            words = new short[0x8000];
+            wordBytes = new byte[0x10000];
+        }
+        try {
+            cpu.readWords(cpu.getRegisterWord(CPU.REGISTER_DX), words, 0,
+                    count);
+        } catch (ModuleException e) {
+            // Leave it to the regular instruction to report the port
+            return 0;
+        }
+
+        // The first word goes to DI, the next ones up or down from there
+        for (int i = 0; i < count; i++) {
+            int at = down ? 2 * (count - 1 - i) : 2 * i;
+            wordBytes[at] = (byte) words[i];
+            wordBytes[at + 1] = (byte) (words[i] >> 8);
+        }
+        memory.setRange(destination, wordBytes, 0, length);
+        return count;
+    }
+
+    /**
+     * Returns the segment string instructions read from, taking a segment
+     * override into account
+     *
+     * @return value of the segment register, or -1 if the override is
+     *         unknown
+     */
+    private int getSourceSegment() {
+        if (!cpu.segmentOverride) {
+            return cpu.ds;
+        }
+        switch (cpu.segmentOverridePointer) {
+            case CPU.SEGMENT_OVERRIDE_CS:
+                return cpu.cs;
+            case CPU.SEGMENT_OVERRIDE_DS:
+                return cpu.ds;
+            case CPU.SEGMENT_OVERRIDE_ES:
+                return cpu.es;
+            case CPU.SEGMENT_OVERRIDE_SS:
+                return cpu.ss;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Returns how many elements can be accessed from an offset onwards before
+     * the offset wraps around the segment
+     *
+     * @param offset offset of the first element
+     * @param size   element size in bytes
+     * @param down   true if the offset decreases
+     * @return number of elements
+     */
+    private static int withinSegment(int offset, int size, boolean down) {
+        if (offset + size > 0x10000) {
+            return 0;
+        }
+        return down ? offset / size + 1 : (0x10000 - offset) / size;
+    }
+
+    /**
+     * Returns the flat-address of the lowest element of a string
+     */
+    private static int start(int base, int offset, int size, int count,
+            boolean down) {
+        return base + (down ? offset - size * (count - 1) : offset);
+    }
+}
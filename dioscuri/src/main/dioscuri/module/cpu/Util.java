@@ -75,13 +75,6 @@ public class Util {
             false, true, true, false, false, true, true, false, true, false,
             false, true};
 
-    // Temporary flag variables
-    protected static boolean cf = false;
-
-    // Temporary registers
-    // protected static byte[] result = new byte[2];
-    protected static int lowerByteCarry = 0;
-
     // Constants
     private final static int REGISTER_LOW = 1;
     private final static int REGISTER_HIGH = 0;
@@ -92,7 +85,6 @@ public class Util {
     // Constructor
 
     private Util() {
-        //cf = false;
     }
 
     // Methods
@@ -112,88 +104,26 @@ public class Util {
     }
 
     /**
-     * Adds two words (16-bit) including a possible carry bit.<BR>
-     * Takes care of possible carry from LSB to MSB. Not beyond MSB. Does not
-     * care about signed/unsigned as this doesn't effect the actual result in
-     * hex.
+     * Converts a word (16-bit) into an unsigned integer.
      *
-     * @param word1    first word
-     * @param word2    second word
-     * @param carryBit
-     * @return sum of both words including possible carry between LSB and MSB
+     * @param word word with [MSB][LSB]
+     * @return value of word in range 0x0000 - 0xFFFF
      */
-    protected static byte[] addWords(byte[] word1, byte[] word2, int carryBit) {
-        byte[] result = new byte[2];
-        lowerByteCarry = ((int) word1[CPU.REGISTER_LOW] & 0xFF)
-                + ((int) word2[CPU.REGISTER_LOW] & 0xFF) + carryBit;
-        result[CPU.REGISTER_LOW] = (byte) (lowerByteCarry);
-        result[CPU.REGISTER_HIGH] = (byte) (((int) word1[CPU.REGISTER_HIGH] & 0xFF) + ((int) word2[CPU.REGISTER_HIGH] & 0xFF));
-
-        // Check for carry in least significant byte (LSB)
-        if (lowerByteCarry > 0xFF) {
-            // Increase MSB once
-            result[CPU.REGISTER_HIGH]++;
-        }
-        return result;
+    protected static int wordToInt(byte[] word) {
+        return ((word[CPU.REGISTER_HIGH] & 0xFF) << 8)
+                | (word[CPU.REGISTER_LOW] & 0xFF);
     }
 
     /**
-     * Subtracts two words (16-bit) including a possible borrow bit.<BR>
-     * Takes care of possible borrow from LSB to MSB. Not beyond MSB. Does not
-     * care about signed/unsigned as this doesn't effect the actual result in
-     * hex. Operation: word1 - (word2 + borrow)
+     * Converts the lower 16 bits of an integer into a word.
      *
-     * @param word1     first word
-     * @param word2     second word
-     * @param borrowBit
-     * @return subtraction of both words plus borrow including possible borrow
-     *         between LSB and MSB
+     * @param value
+     * @return word with [MSB][LSB]
      */
-    protected static byte[] subtractWords(byte[] word1, byte[] word2,
-                                          int borrowBit) {
+    protected static byte[] intToWord(int value) {
         byte[] result = new byte[2];
-        result[CPU.REGISTER_LOW] = (byte) (word1[CPU.REGISTER_LOW] - (word2[CPU.REGISTER_LOW] + borrowBit));
-        result[CPU.REGISTER_HIGH] = (byte) (word1[CPU.REGISTER_HIGH] - word2[CPU.REGISTER_HIGH]);
-
-        // Check for borrow in least significant byte (LSB)
-        if ((((int) word2[CPU.REGISTER_LOW]) & 0xFF) + borrowBit > (((int) word1[CPU.REGISTER_LOW] & 0xFF))) {
-            // Decrease MSB once
-            result[CPU.REGISTER_HIGH]--;
-        }
-        return result;
-    }
-
-    /**
-     * Adds two registers and the memory reference displacement.<BR>
-     * Does not check carry or overflow flags.
-     *
-     * @param reg1         first register to be added
-     * @param reg2         second register to be added
-     * @param displacement
-     * @return sum of both registers and memory displacement
-     */
-    protected static byte[] addRegRegDisp(byte[] reg1, byte[] reg2,
-                                          byte[] displacement) {
-        byte[] result = new byte[2];
-        result[CPU.REGISTER_GENERAL_LOW] = (byte) (reg1[CPU.REGISTER_GENERAL_LOW]
-                + reg2[CPU.REGISTER_GENERAL_LOW] + displacement[CPU.REGISTER_GENERAL_LOW]);
-        result[CPU.REGISTER_GENERAL_HIGH] = (byte) (reg1[CPU.REGISTER_GENERAL_HIGH]
-                + reg2[CPU.REGISTER_GENERAL_HIGH] + displacement[CPU.REGISTER_GENERAL_HIGH]);
-        // Check for overflow; because adding 3 registers, overflow of 2
-        // possible!
-        int intermediateResult = (((int) reg1[CPU.REGISTER_GENERAL_LOW]) & 0xFF)
-                + (((int) reg2[CPU.REGISTER_GENERAL_LOW]) & 0xFF)
-                + (((int) displacement[CPU.REGISTER_GENERAL_LOW]) & 0xFF);
-        if (intermediateResult > 0xFF) {
-            // Check for double overflow
-            if (intermediateResult >= 0x200) {
-                // Increase high register twice
-                result[CPU.REGISTER_GENERAL_HIGH] += 2;
-            } else {
-                // Increase high register once
-                result[CPU.REGISTER_GENERAL_HIGH]++;
-            }
-        }
+        result[CPU.REGISTER_HIGH] = (byte) (value >> 8);
+        result[CPU.REGISTER_LOW] = (byte) value;
         return result;
     }
 
@@ -205,7 +135,7 @@ public class Util {
      * @param result
      * @return true if carry occurs, false otherwise
      */
-    protected static boolean test_AF_ADD(byte input, byte result) {
+    protected static boolean test_AF_ADD(int input, int result) {
         // Carry has occurred if result < input
         // E.g. 0000.1111 + 0000.0001 = 0001.0000
         if ((result & 0x0F) < (input & 0x0F)) {
@@ -222,7 +152,7 @@ public class Util {
      * @param result
      * @return true if borrow occurs, false otherwise
      */
-    protected static boolean test_AF_SUB(byte input, byte result) {
+    protected static boolean test_AF_SUB(int input, int result) {
         // Borrow has occurred if result > input
         // E.g. 0001.0000 - 0000.0001 = 0000.1111
         if ((result & 0x0F) > (input & 0x0F)) {
@@ -254,121 +184,83 @@ public class Util {
     }
 
     /**
-     * Test the carry flag for addition operations with bytes.<BR>
+     * Test the carry flag for addition operations.<BR>
      * CF is set when unsigned overflow occurs. This happens when we cross over
-     * from 255 to 0 while adding or cross over from 0 to 255 while subtracting.
-     * The operation is (input1 + carry) + input2
+     * from the largest unsigned value (0xFF, 0xFFFF or 0xFFFFFFFF) to 0 while
+     * adding. The operation is (input1 + carry) + input2
      *
      * @param input1
      * @param input2
      * @param carry
+     * @param size   operand size in bits (8, 16 or 32)
      * @return true if carry occurs, false otherwise
      */
-    protected static boolean test_CF_ADD(byte input1, byte input2, int carry) {
+    protected static boolean test_CF_ADD(int input1, int input2, int carry,
+                                         int size) {
         // There is one unsigned case when CF occurs:
-        // addition: input1 + input2 + carry > 255
-        if ((((int) input1) & 0xFF) + (((int) input2) & 0xFF) + carry > (((int) 0xFF) & 0xFF)) {
+        // addition: input1 + input2 + carry > largest unsigned value
+        long max = (1L << size) - 1;
+        if ((input1 & max) + (input2 & max) + carry > max) {
             return true;
         }
         return false;
     }
 
     /**
-     * Test the carry flag for addition operations with words.<BR>
+     * Test the carry flag for subtraction operations.<BR>
      * CF is set when unsigned overflow occurs. This happens when we cross over
-     * from 65535 (0xFFFF) to 0 while adding or cross over from 0 to 65535
-     * (0xFFFF) while subtracting. The operation is (input1 + carry) + input2
-     *
-     * @param input1
-     * @param input2
-     * @param carry
-     * @return true if carry occurs, false otherwise
-     */
-    protected static boolean test_CF_ADD(byte[] input1, byte[] input2, int carry) {
-        // There is one unsigned case when CF occurs:
-        // addition: input1 + input2 + carry > 0xFFFF
-        if (((((int) input1[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8)
-                + (((int) input1[CPU.REGISTER_GENERAL_LOW]) & 0xFF)
-                + ((((int) input2[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8)
-                + (((int) input2[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + carry > (((int) 0xFFFF) & 0xFFFF)) {
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Test the carry flag for subtraction operations with bytes.<BR>
-     * CF is set when unsigned overflow occurs. This happens when we cross over
-     * from 255 to 0 while adding or cross over from 0 to 255 while subtracting.
-     * The operation is input1 - (input2 + carry)
+     * from 0 to the largest unsigned value while subtracting. The operation is
+     * input1 - (input2 + carry)
      *
      * @param input1 unsigned input1 of operation
      * @param input2 unsigned input2 of operation
      * @param carry  possible carry bit
+     * @param size   operand size in bits (8, 16 or 32)
      * @return true if borrow occurs, false otherwise
      */
-    protected static boolean test_CF_SUB(byte input1, byte input2, int carry) {
-        // There is one unsigned case when CF occurs:
-        // subtraction (input1 - (input2 + carry)): input1 + carry < input2
-        // if ((((int) input1) & 0xFF) + carry < (((int) input2) & 0xFF))
-        if ((((int) input1) & 0xFF) < (((int) input2) & 0xFF) + carry) {
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Test the carry flag for subtraction operations with words.<BR>
-     * CF is set when unsigned overflow occurs. This happens when we cross over
-     * from 255 to 0 while adding or cross over from 0 to 255 while subtracting.
-     * The operation is input1 - (input2 + carry)
-     *
-     * @param input1
-     * @param input2
-     * @param carry
-     * @return true if borrow occurs, false otherwise
-     */
-    protected static boolean test_CF_SUB(byte[] input1, byte[] input2, int carry) {
+    protected static boolean test_CF_SUB(int input1, int input2, int carry,
+                                         int size) {
         // There is one unsigned case when CF occurs:
         // subtraction (input1 - (input2 + carry)): input1 < input2 + carry
-        if (((((int) input1[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8)
-                + (((int) input1[CPU.REGISTER_GENERAL_LOW]) & 0xFF) < ((((int) input2[CPU.REGISTER_GENERAL_HIGH]) & 0xFF) << 8)
-                + (((int) input2[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + carry) {
+        long max = (1L << size) - 1;
+        if ((input1 & max) < (input2 & max) + carry) {
             return true;
         }
         return false;
     }
 
     /**
-     * Test the overflow flag for addition operations with bytes.<BR>
+     * Test the overflow flag for addition operations.<BR>
      * OF is set when 2's complement signed overflow occur. This happens when we
-     * cross over from 127 to -128 while adding or cross over from -128 to 127
-     * while subtracting.
+     * cross over from the largest positive value (e.g. 127) to the smallest
+     * negative value (e.g. -128) while adding or the other way round while
+     * subtracting.
      *
      * @param input1
      * @param input2
      * @param result
      * @param carry
+     * @param size   operand size in bits (8, 16 or 32)
      * @return true if overflow occurs, false otherwise
      */
-    protected static boolean test_OF_ADD(byte input1, byte input2, byte result,
-                                         int carry) {
+    protected static boolean test_OF_ADD(int input1, int input2, int result,
+                                         int carry, int size) {
         // There are two signed cases when OF occurs:
         // "input1" + "input2" = "result"
         // (a) (positive) + (positive) = (negative)
         // (b) (negative) + (negative) = (positive)
         // Test these two possibilities here:
-        if (result >= 0) {
+        if (signed(result, size) >= 0) {
             // Result (signed) positive, Input1 and Input2 must be (signed)
             // negative to set OF true
-            if (input1 + carry < 0 && input2 < 0)
+            if (signed(input1, size) + carry < 0 && signed(input2, size) < 0)
                 return true;
             else
                 return false;
         } else {
             // Result (signed) negative, Input1 and Input2 must be (signed)
             // positive to set OF true
-            if (input1 + carry >= 0 && input2 >= 0)
+            if (signed(input1, size) + carry >= 0 && signed(input2, size) >= 0)
                 return true;
             else
                 return false;
@@ -376,78 +268,37 @@ public class Util {
     }
 
     /**
-     * Test the overflow flag for addition operations with words.<BR>
-     * OF is set when 2's complement signed overflow occur. This happens when we
-     * cross over from 32767 (0x7FFF) to -32768 (0x8000) while adding or cross
-     * over from -32768 to 32767 while subtracting.
-     *
-     * @param input1
-     * @param result
-     * @param input2
-     * @param carry
-     * @return true if overflow occurs, false otherwise
-     */
-    protected static boolean test_OF_ADD(byte[] input1, byte[] input2,
-                                         byte[] result, int carry) {
-        // There are two signed cases when OF occurs:
-        // "input1" + "input2" = "result"
-        // (a) (positive) + (positive) = (negative)
-        // (b) (negative) + (negative) = (positive)
-        // Test these two possibilities here:
-        if ((((int) result[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                + (((int) result[CPU.REGISTER_GENERAL_LOW] & 0xFF)) >= 0) {
-            // Result (signed) positive, Input1 and Input2 must be (signed)
-            // negative to set OF true
-            if ((((int) input1[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                    + (((int) input1[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + carry < 0
-                    && (((int) input2[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                    + (((int) input2[CPU.REGISTER_GENERAL_LOW]) & 0xFF) < 0)
-                return true;
-            else
-                return false;
-        } else {
-            // Result (signed) negative, Input1 and Input2 must be (signed)
-            // positive to set OF true
-            if ((((int) input1[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                    + (((int) input1[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + carry >= 0
-                    && (((int) input2[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                    + (((int) input2[CPU.REGISTER_GENERAL_LOW]) & 0xFF) >= 0)
-                return true;
-            else
-                return false;
-        }
-    }
-
-    /**
-     * Test the overflow flag for subtraction operations with bytes.<BR>
+     * Test the overflow flag for subtraction operations.<BR>
      * OF is set when 2's complement signed overflow occurs. This happens when
-     * we cross over from 127 to -128 while adding or cross over from -128 to
-     * 127 while subtracting.
+     * we cross over from the largest positive value (e.g. 127) to the smallest
+     * negative value (e.g. -128) while adding or the other way round while
+     * subtracting.
      *
      * @param input1
      * @param input2
-     * @param carry
      * @param result
+     * @param carry
+     * @param size   operand size in bits (8, 16 or 32)
      * @return true if overflow occurs, false otherwise
      */
-    protected static boolean test_OF_SUB(byte input1, byte input2, byte result,
-                                         int carry) {
+    protected static boolean test_OF_SUB(int input1, int input2, int result,
+                                         int carry, int size) {
         // There are two signed cases when OF occurs:
         // "input1" - "input2" = "result"
         // (a) (positive) - (negative) = (negative)
         // (b) (negative) - (positive) = (positive)
         // Test these two possibilities here:
-        if (input1 >= 0) {
+        if (signed(input1, size) >= 0) {
             // Input1 (signed) positive, Input2 and Result must be (signed)
             // negative to set OF true
-            if (input2 + carry < 0 && result < 0)
+            if (signed(input2, size) + carry < 0 && signed(result, size) < 0)
                 return true;
             else
                 return false;
         } else {
             // Input1 (signed) negative, Input2 and Result must be (signed)
             // positive to set OF true
-            if (input2 + carry >= 0 && result >= 0)
+            if (signed(input2, size) + carry >= 0 && signed(result, size) >= 0)
                 return true;
             else
                 return false;
@@ -455,46 +306,14 @@ public class Util {
     }
 
     /**
-     * Test the overflow flag for subtraction operations with words.<BR>
-     * OF is set when 2's complement signed overflow occurs. This happens when
-     * we cross over from 32767 (0x7FFF) to -32768 (0x8000) while adding or
-     * cross over from -32768 to 32767 while subtracting.
+     * Interprets the lower bits of a value as a signed number
      *
-     * @param input1
-     * @param input2
-     * @param result
-     * @param carry
-     * @return true if overflow occurs, false otherwise
+     * @param value
+     * @param size  number of bits (8, 16 or 32)
+     * @return sign-extended value
      */
-    protected static boolean test_OF_SUB(byte[] input1, byte[] input2,
-                                         byte[] result, int carry) {
-        // There are two signed cases when OF occurs:
-        // "input1" - "input2" = "result"
-        // (a) (positive) - (negative) = (negative)
-        // (b) (negative) - (positive) = (positive)
-        // Test these two possibilities here:
-        if ((((int) input1[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                + (((int) input1[CPU.REGISTER_GENERAL_LOW]) & 0xFF) >= 0) {
-            // Input1 (signed) positive, Input2 and Result must be (signed)
-            // negative to set OF true
-            if ((((int) input2[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                    + (((int) input2[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + carry < 0
-                    && (((int) result[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                    + (((int) result[CPU.REGISTER_GENERAL_LOW]) & 0xFF) < 0)
-                return true;
-            else
-                return false;
-        } else {
-            // Input1 (signed) negative, Input2 and Result must be (signed)
-            // positive to set OF true
-            if ((((int) input2[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                    + (((int) input2[CPU.REGISTER_GENERAL_LOW]) & 0xFF) + carry >= 0
-                    && (((int) result[CPU.REGISTER_GENERAL_HIGH]) << 8)
-                    + (((int) result[CPU.REGISTER_GENERAL_LOW]) & 0xFF) >= 0)
-                return true;
-            else
-                return false;
-        }
+    private static long signed(int value, int size) {
+        return ((long) value << (64 - size)) >> (64 - size);
     }
 
     /**
@@ -25,6 +25,8 @@
  */
 package dioscuri.module.cpu32;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 //import org.jpc.emulator.processor.Processor;
 
 /**
@@ -32,7 +34,7 @@ package dioscuri.module.cpu32;
  * @author Bart Kiers
  */
 public class AbstractCodeBlockWrapper implements CodeBlock {
-    private static long nextBlockIndex = 0;
+    private static final AtomicLong nextBlockIndex = new AtomicLong();
 
     private long blockIndex;
     private CodeBlock actualBlock;
@@ -41,7 +43,7 @@ public class AbstractCodeBlockWrapper implements CodeBlock {
      * @param target
      */
     public AbstractCodeBlockWrapper(CodeBlock target) {
-        blockIndex = nextBlockIndex++;
+        blockIndex = nextBlockIndex.getAndIncrement();
         actualBlock = target;
     }
 
@@ -30,19 +30,51 @@ package dioscuri.module.cpu32;
 //import org.jpc.emulator.memory.*;
 //import org.jpc.emulator.processor.*;
 
+
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * Compiles hot code blocks with a delayed compiler on a pool of low
+ * priority threads, while the blocks are executed by the immediate compiler
+ * in the meantime. A block asks to be compiled every
+ * COMPILE_REQUEST_THRESHOLD executions; the queue hands out the block with
+ * the highest execution count first. The executing thread never waits: a
+ * block already in the queue only has its priority raised, and when the
+ * queue is full the coldest block is dropped, to ask again later.
+ *
  * @author Bram Lohman
  * @author Bart Kiers
  */
-@SuppressWarnings("unused")
 public class BackgroundCompiler implements CodeBlockCompiler {
-    private static final int COMPILER_QUEUE_SIZE = 20;
+    /**
+     * Default number of compiler threads, a quarter of the host's processors
+     */
+    public static final int DEFAULT_COMPILER_THREADS = Math.max(1, Runtime
+            .getRuntime().availableProcessors() / 4);
+
+    private static final int COMPILER_QUEUE_SIZE = 64;
     private static final int COMPILE_REQUEST_THRESHOLD = 64;
 
-    private CodeBlockCompiler immediate, delayed, testing;
+    // Compile states of a block
+    private static final int IDLE = 0;
+    private static final int QUEUED = 1;
+    private static final int COMPILING = 2;
+    private static final int DONE = 3;
+
+    private CodeBlockCompiler immediate, delayed;
     private CompilerQueue compilerQueue;
+    private CompilerThread[] compilerThreads;
+
+    private volatile boolean running;
 
-    private boolean running;
+    // Statistics
+    private final AtomicLong blockCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong compiledCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong compileNanos = new AtomicLong();
+    private final AtomicLong maxCompileNanos = new AtomicLong();
 
     /**
      * @param immediate
@@ -50,61 +82,155 @@ public class BackgroundCompiler implements CodeBlockCompiler {
      */
     public BackgroundCompiler(CodeBlockCompiler immediate,
                               CodeBlockCompiler delayed) {
+        this(immediate, delayed, DEFAULT_COMPILER_THREADS);
+    }
+
+    /**
+     * @param immediate
+     * @param delayed   compiler used by all threads, must be thread-safe
+     * @param threads   number of compiler threads
+     */
+    public BackgroundCompiler(CodeBlockCompiler immediate,
+                              CodeBlockCompiler delayed, int threads) {
         this.immediate = immediate;
         this.delayed = delayed;
         compilerQueue = new CompilerQueue(COMPILER_QUEUE_SIZE);
 
         running = true;
-        new CompilerThread();
+        compilerThreads = new CompilerThread[Math.max(1, threads)];
+        for (int i = 0; i < compilerThreads.length; i++)
+            compilerThreads[i] = new CompilerThread(i);
     }
 
     public void stop() {
         running = false;
+        compilerQueue.close();
+    }
+
+    /**
+     * @return number of compiler threads
+     */
+    public int getCompilerThreadCount() {
+        return compilerThreads.length;
+    }
+
+    /**
+     * @return number of blocks waiting to be compiled
+     */
+    public int getQueueDepth() {
+        return compilerQueue.size();
+    }
+
+    /**
+     * @return number of blocks handed out, each starts out interpreted
+     */
+    public long getBlockCount() {
+        return blockCount.get();
+    }
+
+    /**
+     * @return number of compile requests, including those of queued blocks
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return number of blocks dropped from a full queue
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return number of blocks compiled
+     */
+    public long getCompiledCount() {
+        return compiledCount.get();
+    }
+
+    /**
+     * @return number of blocks the delayed compiler failed on
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return total time spent compiling, in nanoseconds
+     */
+    public long getCompileNanos() {
+        return compileNanos.get();
+    }
+
+    /**
+     * @return longest time spent on a single block, in nanoseconds
+     */
+    public long getMaxCompileNanos() {
+        return maxCompileNanos.get();
     }
 
     class CompilerThread extends Thread {
-        CompilerThread() {
-            super("Background CodeBlock Compiler Task");
-            start();
+        CompilerThread(int index) {
+            super("Background CodeBlock Compiler Task " + index);
+            setDaemon(true);
             setPriority(Math.max(Thread.MIN_PRIORITY, Thread.currentThread()
                     .getPriority() - 1));
+            start();
         }
 
         @Override
         public void run() {
             while (running) {
-                ExecuteCountingCodeBlockWrapper target = compilerQueue
-                        .getBlock();
+                ExecuteCountingCodeBlockWrapper target;
                 try {
-                    if (target == null) {
-                        Thread.sleep(100);
-                        continue;
-                    }
-
-                    CodeBlock src = target.getBlock();
-
-                    if (src instanceof RealModeUBlock) {
-                        RealModeCodeBlock result = delayed
-                                .getRealModeCodeBlock(((RealModeUBlock) src)
-                                        .getAsInstructionSource());
-                        target.replaceInOwner(result);
-                    } else if (src instanceof ProtectedModeUBlock) {
-                        ProtectedModeCodeBlock result = delayed
-                                .getProtectedModeCodeBlock(((ProtectedModeUBlock) src)
-                                        .getAsInstructionSource());
-                        target.replaceInOwner(result);
-                    }
-                } catch (ClassFormatError e) {
-                    System.out.println(e);
-                    target.replaceInOwner(target.getBlock());
-                } catch (IllegalStateException e) {
-                    // System.out.println(e);
-                    target.replaceInOwner(target.getBlock());
-                } catch (Throwable e) {
-                    System.out.println(e);
-                    target.replaceInOwner(target.getBlock());
+                    target = compilerQueue.takeBlock();
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (target == null)
+                    break;
+
+                long start = System.nanoTime();
+                boolean compiled = compile(target);
+                long time = System.nanoTime() - start;
+                target.state = DONE;
+
+                (compiled ? compiledCount : failedCount).incrementAndGet();
+                compileNanos.addAndGet(time);
+                long max = maxCompileNanos.get();
+                while (time > max && !maxCompileNanos.compareAndSet(max, time))
+                    max = maxCompileNanos.get();
+            }
+        }
+
+        private boolean compile(ExecuteCountingCodeBlockWrapper target) {
+            try {
+                CodeBlock src = target.getBlock();
+
+                if (src instanceof RealModeUBlock) {
+                    RealModeCodeBlock result = delayed
+                            .getRealModeCodeBlock(((RealModeUBlock) src)
+                                    .getAsInstructionSource());
+                    target.replaceInOwner(result);
+                } else if (src instanceof ProtectedModeUBlock) {
+                    ProtectedModeCodeBlock result = delayed
+                            .getProtectedModeCodeBlock(((ProtectedModeUBlock) src)
+                                    .getAsInstructionSource());
+                    target.replaceInOwner(result);
                 }
+                return true;
+            } catch (ClassFormatError e) {
+                System.out.println(e);
+                target.replaceInOwner(target.getBlock());
+            } catch (IllegalStateException e) {
+                // System.out.println(e);
+                target.replaceInOwner(target.getBlock());
+            } catch (Throwable e) {
+                System.out.println(e);
+                target.replaceInOwner(target.getBlock());
             }
+            return false;
         }
     }
 
@@ -114,6 +240,7 @@ public class BackgroundCompiler implements CodeBlockCompiler {
      */
     public RealModeCodeBlock getRealModeCodeBlock(InstructionSource source) {
         RealModeCodeBlock imm = immediate.getRealModeCodeBlock(source);
+        blockCount.incrementAndGet();
         return new RealModeCodeBlockWrapper(imm);
     }
 
@@ -125,6 +252,7 @@ public class BackgroundCompiler implements CodeBlockCompiler {
             InstructionSource source) {
         ProtectedModeCodeBlock imm = immediate
                 .getProtectedModeCodeBlock(source);
+        blockCount.incrementAndGet();
         return new ProtectedModeCodeBlockWrapper(imm);
     }
 
@@ -144,20 +272,22 @@ public class BackgroundCompiler implements CodeBlockCompiler {
     abstract class ExecuteCountingCodeBlockWrapper extends
             AbstractCodeBlockWrapper implements
             Comparable<ExecuteCountingCodeBlockWrapper> {
-        int executeCount, diff;
+        int executeCount;
 
+        // Guarded by the queue lock, the priority of a queued block
         int loadedExecuteCount;
 
+        volatile int state = IDLE;
+
         public ExecuteCountingCodeBlockWrapper(CodeBlock block) {
             super(block);
         }
 
         @Override
         public int execute(Processor cpu) {
-            if ((++executeCount & COMPILE_REQUEST_THRESHOLD) == 0) {
-                loadedExecuteCount = executeCount;
-                compilerQueue.addBlock(this);
-            }
+            if ((++executeCount & (COMPILE_REQUEST_THRESHOLD - 1)) == 0
+                    && state <= QUEUED)
+                compilerQueue.addBlock(this, executeCount);
 
             return super.execute(cpu);
         }
@@ -185,11 +315,17 @@ public class BackgroundCompiler implements CodeBlockCompiler {
         }
     }
 
-    static class CompilerQueue {
+    /**
+     * Bounded priority queue of blocks; adding never blocks, taking waits
+     * until a block is queued or the queue is closed.
+     */
+    class CompilerQueue {
         private final PriorityDeque queue;
 
         private final int capacity;
 
+        private boolean closed;
+
         private final Object lock = new Object();
 
         CompilerQueue(int size) {
@@ -197,19 +333,59 @@ public class BackgroundCompiler implements CodeBlockCompiler {
             capacity = size;
         }
 
-        void addBlock(ExecuteCountingCodeBlockWrapper block) {
+        void addBlock(ExecuteCountingCodeBlockWrapper block, int count) {
+            requestCount.incrementAndGet();
             synchronized (lock) {
-                queue.remove(block);
+                if (closed)
+                    return;
+
+                if (block.state == QUEUED) {
+                    // Already waiting, only raise its priority
+                    queue.remove(block);
+                } else if (block.state != IDLE) {
+                    return;
+                }
+                block.loadedExecuteCount = count;
+                block.state = QUEUED;
                 queue.offer(block);
 
-                while (queue.size() >= capacity)
-                    queue.pollFirst();
+                while (queue.size() > capacity) {
+                    ExecuteCountingCodeBlockWrapper coldest = (ExecuteCountingCodeBlockWrapper) queue
+                            .pollFirst();
+                    coldest.state = IDLE;
+                    droppedCount.incrementAndGet();
+                }
+                lock.notify();
             }
         }
 
-        ExecuteCountingCodeBlockWrapper getBlock() {
+        ExecuteCountingCodeBlockWrapper takeBlock()
+                throws InterruptedException {
             synchronized (lock) {
-                return (ExecuteCountingCodeBlockWrapper) (queue.pollLast());
+                while (queue.size() == 0 && !closed)
+                    lock.wait();
+                if (closed)
+                    return null;
+
+                ExecuteCountingCodeBlockWrapper block = (ExecuteCountingCodeBlockWrapper) queue
+                        .pollLast();
+                block.state = COMPILING;
+                return block;
+            }
+        }
+
+        int size() {
+            synchronized (lock) {
+                return queue.size();
+            }
+        }
+
+        void close() {
+            synchronized (lock) {
+                closed = true;
+                while (queue.size() > 0)
+                    queue.pollFirst();
+                lock.notifyAll();
             }
         }
     }
@@ -39,19 +39,16 @@ import java.util.Hashtable;
  * @author Bart Kiers
  */
 public class ClassFileBuilder {
-    private static final int CLASSES_PER_LOADER = 10;
-
-    private static final InputStream realModeSkeleton, protectedModeSkeleton;
-
-    private static CustomClassLoader currentClassLoader;
+    // Skeleton class files are kept as bytes, so each compiler thread can
+    // read its own copy
+    private static final byte[] realModeSkeleton, protectedModeSkeleton;
 
     static {
         realModeSkeleton = loadSkeletonClass(RealModeSkeletonBlock.class);
         protectedModeSkeleton = loadSkeletonClass(ProtectedModeSkeletonBlock.class);
-        newClassLoader();
     }
 
-    private static InputStream loadSkeletonClass(Class<?> clz) {
+    private static byte[] loadSkeletonClass(Class<?> clz) {
         byte[] classBytes = null;
         String classRes = clz.getName().replace('.', '/') + ".class";
         try {
@@ -76,7 +73,7 @@ public class ClassFileBuilder {
                     + " into ClassFileBuilder: " + e);
         }
 
-        return new ByteArrayInputStream(classBytes);
+        return classBytes;
     }
 
     private ClassFileBuilder() {
@@ -89,8 +86,8 @@ public class ClassFileBuilder {
         ClassFile cf = new ClassFile();
 
         try {
-            realModeSkeleton.reset();
-            DataInputStream dis = new DataInputStream(realModeSkeleton);
+            DataInputStream dis = new DataInputStream(
+                    new ByteArrayInputStream(realModeSkeleton));
             cf.read(dis);
         } catch (IOException e) {
             System.out.println("read error: " + e);
@@ -106,8 +103,8 @@ public class ClassFileBuilder {
         ClassFile cf = new ClassFile();
 
         try {
-            protectedModeSkeleton.reset();
-            DataInputStream dis = new DataInputStream(protectedModeSkeleton);
+            DataInputStream dis = new DataInputStream(
+                    new ByteArrayInputStream(protectedModeSkeleton));
             cf.read(dis);
         } catch (IOException e) {
             System.out.println("read error: " + e);
@@ -117,10 +114,13 @@ public class ClassFileBuilder {
     }
 
     /**
-     * @param cf
-     * @return -
+     * Defines the class of a class file in the given loader.
+     *
+     * @param cf     the class file
+     * @param loader the loader, which must not define a class of that name yet
+     * @return the defined class
      */
-    public static CodeBlock instantiateClass(ClassFile cf) {
+    static Class<?> defineClass(ClassFile cf, CustomClassLoader loader) {
         cf.update();
         String className = cf.getClassName();
 
@@ -134,29 +134,11 @@ public class ClassFileBuilder {
         }
 
         byte[] classBytes = bos.toByteArray();
-
-        Class<?> codeBlockClass = currentClassLoader.createClass(className,
-                classBytes, 0, classBytes.length);
-
-        CodeBlock compiledBlock = null;
-        try {
-            compiledBlock = (CodeBlock) codeBlockClass.newInstance();
-        } catch (InstantiationException e) {
-            throw new IllegalStateException("Could not instantiate class", e);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException("Could not instantiate class", e);
-        }
-
-        return compiledBlock;
-    }
-
-    private static void newClassLoader() {
-        currentClassLoader = new CustomClassLoader();
+        return loader.createClass(className, classBytes, 0, classBytes.length);
     }
 
     static class CustomClassLoader extends ClassLoader {
         private Hashtable<String, Class<?>> classes;
-        private int classesCount;
 
         public CustomClassLoader() {
             super(ClassFileBuilder.class.getClassLoader());
@@ -164,9 +146,6 @@ public class ClassFileBuilder {
         }
 
         public Class<?> createClass(String name, byte[] b, int off, int len) {
-            if (++classesCount == CLASSES_PER_LOADER)
-                newClassLoader();
-
             Class<?> newClass = defineClass(name, b, off, len);
 
             classes.put(name, newClass);
@@ -174,6 +153,13 @@ public class ClassFileBuilder {
             return newClass;
         }
 
+        /**
+         * @return the number of classes defined by this loader
+         */
+        public int size() {
+            return classes.size();
+        }
+
         @Override
         public Class<?> findClass(String name) throws ClassNotFoundException {
             Class<?> myClass = (Class<?>) classes.get(name);
@@ -0,0 +1,294 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.cpu32;
+
+import java.util.Arrays;
+
+/**
+ * Index of the code blocks decoded in one {@link LazyCodeBlockMemory} for one
+ * processor mode. Blocks are found by the offset they start at, through an
+ * open-addressing hash table with linear probing, so a page only pays for
+ * the blocks it actually holds instead of one reference per byte.
+ * <p/>
+ * The end offset of each block is taken when it is stored. Together with
+ * the length of the longest block this bounds the starting offsets that
+ * can overlap a written region, so invalidation never has to ask a block
+ * for its length again or scan the whole page.
+ * <p/>
+ * Every entry can also link up to two successors, the blocks that started
+ * at the instruction pointer after it ran last (typically a jump target
+ * and the fall-through), so a dispatch loop can follow a chain of blocks
+ * without hashing. A link holds the slot of the successor and is only
+ * followed while the slot still holds the same offset and the index is in
+ * the epoch the link was made in. Removing blocks or growing the table
+ * moves entries between slots and starts a new epoch, which unlinks all
+ * chains at once.
+ */
+final class CodeBlockIndex {
+
+    private static final int EMPTY = -1;
+    private static final int INITIAL_BITS = 4;
+
+    private int[] starts;
+    private int[] ends;
+    private CodeBlock[] blocks;
+    private int shift;
+    private int size;
+    private int maxLength;
+
+    // Successor links, two per slot, valid in linkEpochs[slot] == epoch
+    private int[] linkOffsets;
+    private int[] linkSlots;
+    private int[] linkEpochs;
+    private int epoch = 1;
+
+    CodeBlockIndex() {
+        allocate(INITIAL_BITS);
+    }
+
+    private void allocate(int bits) {
+        int capacity = 1 << bits;
+        starts = new int[capacity];
+        Arrays.fill(starts, EMPTY);
+        ends = new int[capacity];
+        blocks = new CodeBlock[capacity];
+        linkOffsets = new int[2 * capacity];
+        linkSlots = new int[2 * capacity];
+        linkEpochs = new int[capacity];
+        shift = 32 - bits;
+        epoch++;
+    }
+
+    private int slot(int offset) {
+        return (offset * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * @param offset
+     * @return the slot of the block starting at offset, or -1
+     */
+    int find(int offset) {
+        int mask = starts.length - 1;
+        for (int i = slot(offset); ; i = (i + 1) & mask) {
+            int start = starts[i];
+            if (start == offset)
+                return i;
+            if (start == EMPTY)
+                return -1;
+        }
+    }
+
+    /**
+     * @param offset
+     * @return the block starting at offset, or null
+     */
+    CodeBlock get(int offset) {
+        int mask = starts.length - 1;
+        for (int i = slot(offset); ; i = (i + 1) & mask) {
+            int start = starts[i];
+            if (start == offset)
+                return blocks[i];
+            if (start == EMPTY)
+                return null;
+        }
+    }
+
+    /**
+     * @param slot a slot returned by find or successor
+     * @return the block in the slot
+     */
+    CodeBlock blockAt(int slot) {
+        return blocks[slot];
+    }
+
+    /**
+     * Follows a link of the block in slot to the block starting at offset.
+     *
+     * @param slot   slot of the block that ran last
+     * @param offset offset the instruction pointer is at now
+     * @return the slot of the successor, or -1 if it is not linked
+     */
+    int successor(int slot, int offset) {
+        if (linkEpochs[slot] != epoch)
+            return -1;
+        int link = slot << 1;
+        if (linkOffsets[link] != offset) {
+            link++;
+            if (linkOffsets[link] != offset)
+                return -1;
+        }
+        int next = linkSlots[link];
+        return starts[next] == offset ? next : -1;
+    }
+
+    /**
+     * Links the block in slot to its successor, replacing the older link
+     * when both are taken.
+     *
+     * @param slot   slot of the block that ran last
+     * @param offset start offset of the successor
+     * @param next   slot of the successor
+     */
+    void link(int slot, int offset, int next) {
+        int link = slot << 1;
+        if (linkEpochs[slot] != epoch) {
+            linkEpochs[slot] = epoch;
+            linkOffsets[link + 1] = EMPTY;
+        } else {
+            linkOffsets[link + 1] = linkOffsets[link];
+            linkSlots[link + 1] = linkSlots[link];
+        }
+        linkOffsets[link] = offset;
+        linkSlots[link] = next;
+    }
+
+    /**
+     * Stores a block, replacing the block that started at the same offset.
+     *
+     * @param offset
+     * @param block
+     * @param length x86 length of the block
+     */
+    void put(int offset, CodeBlock block, int length) {
+        length = Math.max(1, length);
+        int i = find(offset);
+        if (i < 0) {
+            if (2 * (size + 1) > starts.length)
+                grow();
+            int mask = starts.length - 1;
+            for (i = slot(offset); starts[i] != EMPTY; i = (i + 1) & mask)
+                ;
+            starts[i] = offset;
+            size++;
+        }
+        ends[i] = offset + length;
+        blocks[i] = block;
+        if (length > maxLength)
+            maxLength = length;
+    }
+
+    /**
+     * Removes the block starting at offset, if any.
+     *
+     * @param offset
+     */
+    void remove(int offset) {
+        int i = find(offset);
+        if (i >= 0)
+            removeSlot(i);
+    }
+
+    /**
+     * Removes the blocks overlapping the region start to end (inclusive)
+     * that do not survive the change.
+     *
+     * @param start
+     * @param end
+     */
+    void regionAltered(int start, int end) {
+        if (size == 0)
+            return;
+
+        int first = Math.max(0, start - maxLength + 1);
+        if (end - first < starts.length) {
+            for (int offset = first; offset <= end; offset++) {
+                int i = find(offset);
+                if (i >= 0 && ends[i] > start
+                        && !blocks[i].handleMemoryRegionChange(start, end))
+                    removeSlot(i);
+            }
+        } else {
+            for (int i = 0; i < starts.length; i++) {
+                int offset = starts[i];
+                if (offset != EMPTY && offset <= end && ends[i] > start
+                        && !blocks[i].handleMemoryRegionChange(start, end)) {
+                    removeSlot(i);
+                    // Look at the entry shifted into this slot
+                    i--;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of blocks in this index
+     */
+    int size() {
+        return size;
+    }
+
+    private void removeSlot(int hole) {
+        epoch++;
+        int mask = starts.length - 1;
+        // Shift back the entries of the probe sequence, so lookups never
+        // meet a gap before their own slot
+        for (int i = (hole + 1) & mask; starts[i] != EMPTY; i = (i + 1) & mask) {
+            int home = slot(starts[i]);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                starts[hole] = starts[i];
+                ends[hole] = ends[i];
+                blocks[hole] = blocks[i];
+                hole = i;
+            }
+        }
+        starts[hole] = EMPTY;
+        blocks[hole] = null;
+        size--;
+    }
+
+    private void grow() {
+        int[] oldStarts = starts;
+        int[] oldEnds = ends;
+        CodeBlock[] oldBlocks = blocks;
+
+        allocate(33 - shift);
+        int mask = starts.length - 1;
+        for (int j = 0; j < oldStarts.length; j++) {
+            if (oldStarts[j] == EMPTY)
+                continue;
+            int i = slot(oldStarts[j]);
+            while (starts[i] != EMPTY)
+                i = (i + 1) & mask;
+            starts[i] = oldStarts[j];
+            ends[i] = oldEnds[j];
+            blocks[i] = oldBlocks[j];
+        }
+    }
+}
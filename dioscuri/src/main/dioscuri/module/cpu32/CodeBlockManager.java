@@ -56,6 +56,24 @@ public class CodeBlockManager {
      * @param clk
      */
     public CodeBlockManager(Clock clk) {
+        this(clk, BackgroundCompiler.DEFAULT_COMPILER_THREADS);
+    }
+
+    /**
+     * @param clk
+     * @param compilerThreads number of background compiler threads
+     */
+    public CodeBlockManager(Clock clk, int compilerThreads) {
+        this(clk, compilerThreads, new CodeCache());
+    }
+
+    /**
+     * @param clk
+     * @param compilerThreads number of background compiler threads
+     * @param cache           store of compiled classes, shared by the
+     *                        machines of a host
+     */
+    public CodeBlockManager(Clock clk, int compilerThreads, CodeCache cache) {
         this.clock = clk;
 
         byteSource = new ByteSourceWrappedMemory();
@@ -81,7 +99,7 @@ public class CodeBlockManager {
             System.out
                     .println("Security Manager allows creation of classloader: attempting to use advanced compilers.");
             bgc = new BackgroundCompiler(new OptimisedCompiler(clk),
-                    new FASTCompiler());
+                    new FASTCompiler(cache), compilerThreads);
             compilingRealModeChain = new DefaultCodeBlockFactory(
                     new RealModeUDecoder(), bgc);
             compilingProtectedModeChain = new DefaultCodeBlockFactory(
@@ -230,6 +248,13 @@ public class CodeBlockManager {
         return block;
     }
 
+    /**
+     * @return the background compiler, or null if blocks are not compiled
+     */
+    public BackgroundCompiler getBackgroundCompiler() {
+        return bgc;
+    }
+
     public void dispose() {
         if (bgc != null)
             bgc.stop();
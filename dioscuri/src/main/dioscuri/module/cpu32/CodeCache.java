@@ -0,0 +1,472 @@
+/* $Revision$ $Date$ $Author$ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.cpu32;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Store of the classes built by the {@link FASTCompiler}, shared by all
+ * machines of a host. Machines booting the same images compile the same
+ * BIOS and kernel blocks over and over again; with one store a block is
+ * compiled once and every machine instantiates the same class. A class
+ * never changes once it is stored, so the machines share no state through
+ * it. The store defines the classes in class loaders of its own.
+ * <p/>
+ * A store can be backed by a directory, which keeps the classes for later
+ * runs. These are defined from disk when the store is opened and no longer
+ * wait for the background compiler.
+ * <p/>
+ * A block is keyed by a SHA-1 hash of its decoded form: the mode it was
+ * compiled for, and for every microcode its immediate and the x86 position
+ * and index it belongs to. This is everything the compiler reads, and the
+ * decoders fold the default operand and address size of the code segment
+ * into the microcodes.
+ * <p/>
+ * Layout of the cache directory:
+ * <pre>
+ *   index        INDEX_MAGIC, INDEX_VERSION, number of entries, then for
+ *                each entry its key and class file length, least recently
+ *                used first
+ *   KEY.class    the class file of a compiled block
+ * </pre>
+ * The total size of the class files is capped; the least recently used
+ * blocks are evicted first. Class files found in the directory but missing
+ * from the index, for instance written by another process sharing the
+ * directory, are adopted when the cache is opened.
+ * <p/>
+ * A store is created by the host, the GUI, the headless runner or an
+ * {@link dioscuri.EmulatorHost}, and passed to every machine it starts. The
+ * host closes it when it exits, which writes the index.
+ */
+public final class CodeCache {
+
+    // Logging
+    private static final Logger logger = Logger.getLogger(CodeCache.class.getName());
+
+    /**
+     * Default cap on the size of the cached class files, 64 MB
+     */
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    // Cap on the number of classes kept in memory, least recently used are
+    // dropped first
+    private static final int MAX_CLASSES = 16384;
+
+    // Classes defined per class loader. A loader is unloaded, with all of
+    // its classes, once no block of these classes is in use any more.
+    private static final int CLASSES_PER_LOADER = 10;
+
+    static final char REAL_MODE = 'R';
+    static final char PROTECTED_MODE = 'P';
+
+    // Must be raised whenever the FASTCompiler, the decoders or the
+    // microcode numbering change, which invalidates all cached classes
+    private static final byte[] INDEX_MAGIC = "DIOSCURI-CODECACHE".getBytes();
+    private static final int INDEX_VERSION = 1;
+    private static final String INDEX_FILE = "index";
+    private static final String CLASS_SUFFIX = ".class";
+
+    // Guarded by this store. The directory is null for a store in memory.
+    private File directory;
+    private final long maxSize;
+    private long size;
+    private boolean indexChanged;
+
+    // Class file length per key, in access order for the eviction
+    private LinkedHashMap<String, Integer> entries;
+    // Classes defined from disk or compiled during this run. They depend on
+    // the key only and stay usable after the directory is closed.
+    private final Map<String, Class<?>> classes = new LinkedHashMap<String, Class<?>>(256, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Class<?>> eldest) {
+            return size() > MAX_CLASSES;
+        }
+    };
+    private ClassFileBuilder.CustomClassLoader loader = new ClassFileBuilder.CustomClassLoader();
+
+    /**
+     * Creates a store that keeps its classes in memory only.
+     */
+    public CodeCache() {
+        maxSize = 0;
+    }
+
+    /**
+     * Opens a store in the given directory and defines all classes in it.
+     * The index is written when the store is closed.
+     *
+     * @param dir       the cache directory, created if it does not exist
+     * @param maxLength maximum total size of the cached class files in bytes
+     * @throws IOException if the directory can not be created
+     */
+    public CodeCache(File dir, long maxLength) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can not create code cache directory " + dir);
+        }
+        directory = dir;
+        maxSize = maxLength;
+        entries = new LinkedHashMap<String, Integer>(256, 0.75f, true);
+
+        indexChanged = !readIndex();
+        adoptUnindexedFiles();
+
+        Iterator<Map.Entry<String, Integer>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Integer> entry = it.next();
+            Class<?> cls = readClass(entry.getKey());
+            if (cls == null) {
+                it.remove();
+                classFile(entry.getKey()).delete();
+                indexChanged = true;
+            } else {
+                classes.put(entry.getKey(), cls);
+                size += entry.getValue();
+            }
+        }
+        evict();
+
+        logger.log(Level.INFO, "[cpu32] Code cache " + dir + " opened with "
+                + entries.size() + " blocks");
+    }
+
+    /**
+     * Writes the index if it has changed and closes the directory. The
+     * classes stay in memory for the machines that are still running.
+     */
+    public synchronized void close() {
+        if (directory == null) {
+            return;
+        }
+        if (indexChanged) {
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "[cpu32] Code cache index could not be written: " + e.getMessage());
+            }
+        }
+        directory = null;
+        entries = null;
+    }
+
+    /**
+     * @return true if the store is backed by an open directory
+     */
+    public synchronized boolean isOpen() {
+        return directory != null;
+    }
+
+    /**
+     * Computes the cache key of a decoded block.
+     *
+     * @param mode       REAL_MODE or PROTECTED_MODE
+     * @param microcodes the decoded block
+     * @return the key as a hexadecimal string
+     */
+    static String key(char mode, MicrocodeNode[] microcodes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+
+        byte[] buffer = new byte[16];
+        digest.update((byte) mode);
+        for (MicrocodeNode node : microcodes) {
+            putInt(buffer, 0, node.getMicrocode());
+            putInt(buffer, 4, node.hasImmediate() ? node.getImmediate() : 0);
+            putInt(buffer, 8, node.getX86Position());
+            putInt(buffer, 12, node.getX86Index());
+            digest.update(buffer);
+        }
+
+        StringBuilder key = new StringBuilder(40);
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16));
+            key.append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns a new instance of a stored block.
+     *
+     * @param key the key of the block
+     * @return the block, or null if it is not stored
+     */
+    synchronized CodeBlock lookup(String key) {
+        Class<?> cls = classes.get(key);
+        if (cls == null) {
+            return null;
+        }
+        // Touch the entry, the eviction order is kept in the index
+        if (directory != null && entries.get(key) != null) {
+            indexChanged = true;
+        }
+        return newInstance(cls);
+    }
+
+    /**
+     * Defines the class of a freshly compiled block and stores it. With a
+     * directory the class file is written too; a block that can not be
+     * written is only kept in memory for the rest of this run.
+     *
+     * @param key the key of the block
+     * @param cf  the class file of the block
+     * @return a new instance of the block
+     */
+    synchronized CodeBlock store(String key, ClassFile cf) {
+        Class<?> cls = defineClass(cf);
+        // Fails for an invalid class, which is then not stored
+        CodeBlock block = newInstance(cls);
+        classes.put(key, cls);
+        if (directory == null || entries.containsKey(key)) {
+            return block;
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            cf.write(new DataOutputStream(bytes));
+            writeAtomically(classFile(key), bytes.toByteArray());
+            entries.put(key, bytes.size());
+            size += bytes.size();
+            indexChanged = true;
+            evict();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[cpu32] Code cache could not store block: " + e.getMessage());
+        }
+        return block;
+    }
+
+    /**
+     * Deletes the least recently used class files until the directory fits
+     * its maximum size. Their classes stay in memory.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Integer>> it = entries.entrySet().iterator();
+        while (size > maxSize && it.hasNext()) {
+            Map.Entry<String, Integer> eldest = it.next();
+            it.remove();
+            classFile(eldest.getKey()).delete();
+            size -= eldest.getValue();
+            indexChanged = true;
+        }
+    }
+
+    /**
+     * Reads the index into the entries.
+     *
+     * @return false if the index is missing, unreadable or of another version
+     */
+    private boolean readIndex() {
+        File file = new File(directory, INDEX_FILE);
+        if (!file.exists()) {
+            return false;
+        }
+
+        try {
+            DataInputStream input = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file)));
+            try {
+                byte[] magic = new byte[INDEX_MAGIC.length];
+                input.readFully(magic);
+                int version = input.readInt();
+                if (!Arrays.equals(magic, INDEX_MAGIC) || version != INDEX_VERSION) {
+                    logger.log(Level.INFO, "[cpu32] Code cache " + directory + " is outdated and will be cleared");
+                    clearClassFiles();
+                    return false;
+                }
+                int count = input.readInt();
+                for (int i = 0; i < count; i++) {
+                    String key = input.readUTF();
+                    entries.put(key, input.readInt());
+                }
+            } finally {
+                input.close();
+            }
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[cpu32] Code cache index could not be read: " + e.getMessage());
+            entries.clear();
+            return false;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.write(INDEX_MAGIC);
+        output.writeInt(INDEX_VERSION);
+        output.writeInt(entries.size());
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            output.writeUTF(entry.getKey());
+            output.writeInt(entry.getValue());
+        }
+        output.flush();
+        writeAtomically(new File(directory, INDEX_FILE), bytes.toByteArray());
+        indexChanged = false;
+    }
+
+    /**
+     * Adds class files that are not in the index as least recently used.
+     */
+    private void adoptUnindexedFiles() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        LinkedHashMap<String, Integer> adopted = new LinkedHashMap<String, Integer>(256, 0.75f, true);
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(CLASS_SUFFIX)) {
+                String key = name.substring(0, name.length() - CLASS_SUFFIX.length());
+                if (!entries.containsKey(key)) {
+                    adopted.put(key, (int) file.length());
+                }
+            }
+        }
+        if (!adopted.isEmpty()) {
+            adopted.putAll(entries);
+            entries = adopted;
+            indexChanged = true;
+        }
+    }
+
+    private void clearClassFiles() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.getName().endsWith(CLASS_SUFFIX)) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Defines the class of a block from its class file in the directory.
+     *
+     * @return the class, or null if the class file is missing or invalid
+     */
+    private Class<?> readClass(String key) {
+        try {
+            DataInputStream input = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(classFile(key))));
+            ClassFile cf = new ClassFile();
+            try {
+                cf.read(input);
+            } finally {
+                input.close();
+            }
+            return defineClass(cf);
+        } catch (IOException e) {
+            return null;
+        } catch (RuntimeException e) {
+            return null;
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Defines a class in the current loader of this store.
+     */
+    private Class<?> defineClass(ClassFile cf) {
+        Class<?> cls = ClassFileBuilder.defineClass(cf, loader);
+        if (loader.size() == CLASSES_PER_LOADER) {
+            loader = new ClassFileBuilder.CustomClassLoader();
+        }
+        return cls;
+    }
+
+    private static CodeBlock newInstance(Class<?> cls) {
+        try {
+            return (CodeBlock) cls.newInstance();
+        } catch (InstantiationException e) {
+            throw new IllegalStateException("Could not instantiate class", e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not instantiate class", e);
+        }
+    }
+
+    private File classFile(String key) {
+        return new File(directory, key + CLASS_SUFFIX);
+    }
+
+    /**
+     * Writes a file through a temporary file, so other processes sharing the
+     * cache never read a partially written file.
+     */
+    private void writeAtomically(File file, byte[] data) throws IOException {
+        File tmp = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            FileOutputStream output = new FileOutputStream(tmp);
+            try {
+                output.write(data);
+            } finally {
+                output.close();
+            }
+            if (!tmp.renameTo(file)) {
+                file.delete();
+                if (!tmp.renameTo(file)) {
+                    throw new IOException("Can not rename " + tmp + " to " + file);
+                }
+            }
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    private static void putInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+}
@@ -602,29 +602,9 @@ public class DMAController extends AbstractModule implements IOPortCapable, Addr
      */
     public int readMemory(int channelNumber, byte[] buffer, int bufferOffset,
                           int position, int length) {
-        DMARegister r = dmaRegs[channelNumber];
-
-        long address = ((r.pageh & 0x7fl) << 24) | ((0xffl & r.page) << 16)
-                | (0xffffffffl & r.nowAddress);
-
-        if ((r.mode & 0x20) != 0) {
-            System.err.println("DMA Read In Address Decrement Mode!");
-            // This may be broken for 16bit DMA
-            memory.copyContentsInto((int) (address - position - length),
-                    buffer, bufferOffset, length);
-            // Should have really decremented address with each byte read, so
-            // instead just reverse array order
-            for (int left = bufferOffset, right = bufferOffset + length - 1; left < right; left++, right--) {
-                byte temp = buffer[left];
-                buffer[left] = buffer[right];
-                buffer[right] = temp; // exchange the first and last
-            }
-        } else
-            memory.copyContentsInto((int) (address + position), buffer,
-                    bufferOffset, length);
-
+        transferMemory(dmaRegs[channelNumber], buffer, bufferOffset, position,
+                length, false);
         return length;
-
     }
 
     /**
@@ -637,27 +617,73 @@ public class DMAController extends AbstractModule implements IOPortCapable, Addr
      */
     public int writeMemory(int channelNumber, byte[] buffer, int bufferOffset,
                            int position, int length) {
-        DMARegister r = dmaRegs[channelNumber];
-        long address = ((0x7fl & r.pageh) << 24) | ((0xffl & r.page) << 16)
-                | (0xffffffffl & r.nowAddress);
-
-        if ((r.mode & 0x20) != 0) {
-            System.err.println("DMA Write In Address Decrement Mode!");
-            // This may be broken for 16bit DMA
-            // Should really decremented address with each byte write, so
-            // instead we reverse the array order now
-            for (int left = bufferOffset, right = bufferOffset + length - 1; left < right; left++, right--) {
-                byte temp = buffer[left];
-                buffer[left] = buffer[right];
-                buffer[right] = temp; // exchange the first and last
+        transferMemory(dmaRegs[channelNumber], buffer, bufferOffset, position,
+                length, true);
+        return length;
+    }
+
+    /**
+     * Copies a block between memory and a device buffer. The address counter
+     * of a channel only covers 64k (128k for 16-bit channels), so a block
+     * that runs past the end of that window continues at its other end
+     * within the same page. In address decrement mode the elements are
+     * stored in memory in reverse order, keeping the byte order within each
+     * element.
+     *
+     * @param r            channel of the transfer
+     * @param buffer       device buffer
+     * @param bufferOffset index in buffer of the first byte
+     * @param position     number of bytes already transferred
+     * @param length       number of bytes to transfer
+     * @param toMemory     true to copy from buffer to memory, false otherwise
+     */
+    private void transferMemory(DMARegister r, byte[] buffer,
+                                int bufferOffset, int position, int length, boolean toMemory) {
+        int page = ((0x7f & r.pageh) << 24) | ((0xff & r.page) << 16);
+        int window = 0x10000 << controllerNumber;
+        int size = 1 << controllerNumber;
+        boolean down = (r.mode & 0x20) != 0;
+
+        while (length > 0) {
+            int offset, chunk;
+            if (down) {
+                int first = (r.nowAddress - position) & (window - 1);
+                chunk = Math.min(length, first + size);
+                offset = first + size - chunk;
+            } else {
+                offset = (r.nowAddress + position) & (window - 1);
+                chunk = Math.min(length, window - offset);
             }
-            memory.copyContentsFrom((int) (address - position - length),
-                    buffer, bufferOffset, length);
-        } else
-            memory.copyContentsFrom((int) (address + position), buffer,
-                    bufferOffset, length);
 
-        return length;
+            if (toMemory) {
+                if (down)
+                    reverseElements(buffer, bufferOffset, chunk, size);
+                memory.copyContentsFrom(page | offset, buffer, bufferOffset,
+                        chunk);
+                if (down)
+                    reverseElements(buffer, bufferOffset, chunk, size);
+            } else {
+                memory.copyContentsInto(page | offset, buffer, bufferOffset,
+                        chunk);
+                if (down)
+                    reverseElements(buffer, bufferOffset, chunk, size);
+            }
+
+            bufferOffset += chunk;
+            position += chunk;
+            length -= chunk;
+        }
+    }
+
+    private static void reverseElements(byte[] buffer, int offset, int length,
+                                        int size) {
+        for (int left = offset, right = offset + length - size; left < right; left += size, right -= size) {
+            for (int i = 0; i < size; i++) {
+                byte temp = buffer[left + i];
+                buffer[left + i] = buffer[right + i];
+                buffer[right + i] = temp;
+            }
+        }
     }
 
     private boolean ioportRegistered;
@@ -108,7 +108,7 @@ public class EPROMMemory extends LazyCodeBlockMemory {
 
     @Override
     public void clear() {
-        constructCodeBlocksArray();
+        clearCodeBlocks();
     }
 
     /**
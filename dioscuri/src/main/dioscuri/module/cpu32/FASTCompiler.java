@@ -27,6 +27,7 @@ package dioscuri.module.cpu32;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 //import org.jpc.emulator.processor.ProcessorException;
 //import org.jpc.emulator.memory.codeblock.*;
@@ -92,7 +93,24 @@ public class FASTCompiler implements CodeBlockCompiler {
     public static final int VARIABLE_EXECUTE_COUNT_INDEX = 10;
     public static final int VARIABLE_OFFSET = 11;
 
-    private static int classIndex = 0;
+    private static final AtomicInteger classIndex = new AtomicInteger();
+
+    private final CodeCache cache;
+
+    /**
+     * Creates a compiler that keeps its classes to itself.
+     */
+    public FASTCompiler() {
+        this(new CodeCache());
+    }
+
+    /**
+     * @param cache store that compiled blocks are looked up in and stored in,
+     *              shared by all machines of a host
+     */
+    public FASTCompiler(CodeCache cache) {
+        this.cache = cache;
+    }
 
     /**
      * @param source
@@ -103,12 +121,18 @@ public class FASTCompiler implements CodeBlockCompiler {
         MicrocodeNode[] microcodes = MicrocodeNode.getMicrocodes(source);
         ClassFile newClass = null;
 
+        String key = CodeCache.key(CodeCache.PROTECTED_MODE, microcodes);
+        CodeBlock cached = cache.lookup(key);
+        if (cached != null)
+            return (ProtectedModeCodeBlock) cached;
+
         try {
             newClass = ClassFileBuilder.createNewProtectedModeSkeletonClass();
             MicrocodeNode last = microcodes[microcodes.length - 1];
 
-            newClass.setClassName("org.jpc.dynamic.FAST_PM_LEN"
-                    + last.getX86Index() + "_NUM" + (classIndex++));
+            // Cached classes keep their name, so their key is part of it
+            newClass.setClassName("org.jpc.dynamic.FAST_PM_" + key
+                    + "_NUM" + classIndex.getAndIncrement());
 
             int x86CountIndex = newClass.addToConstantPool(new Integer(last
                     .getX86Index()));
@@ -121,8 +145,7 @@ public class FASTCompiler implements CodeBlockCompiler {
             compileProtectedModeExecuteMethod(microcodes, newClass,
                     x86CountIndex);
 
-            return (ProtectedModeCodeBlock) ClassFileBuilder
-                    .instantiateClass(newClass);
+            return (ProtectedModeCodeBlock) cache.store(key, newClass);
         } catch (Error e) {
             // dumpClass(newClass);
             throw new IllegalStateException(
@@ -154,12 +177,18 @@ public class FASTCompiler implements CodeBlockCompiler {
         MicrocodeNode[] microcodes = MicrocodeNode.getMicrocodes(source);
         ClassFile newClass = null;
 
+        String key = CodeCache.key(CodeCache.REAL_MODE, microcodes);
+        CodeBlock cached = cache.lookup(key);
+        if (cached != null)
+            return (RealModeCodeBlock) cached;
+
         try {
             newClass = ClassFileBuilder.createNewRealModeSkeletonClass();
             MicrocodeNode last = microcodes[microcodes.length - 1];
 
-            newClass.setClassName("org.jpc.dynamic.FAST_RM_LEN"
-                    + last.getX86Index() + "_NUM" + (classIndex++));
+            // Cached classes keep their name, so their key is part of it
+            newClass.setClassName("org.jpc.dynamic.FAST_RM_" + key
+                    + "_NUM" + classIndex.getAndIncrement());
 
             int x86CountIndex = newClass.addToConstantPool(new Integer(last
                     .getX86Index()));
@@ -171,8 +200,7 @@ public class FASTCompiler implements CodeBlockCompiler {
 
             compileRealModeExecuteMethod(microcodes, newClass, x86CountIndex);
 
-            return (RealModeCodeBlock) ClassFileBuilder
-                    .instantiateClass(newClass);
+            return (RealModeCodeBlock) cache.store(key, newClass);
         } catch (Error e) {
             // dumpClass(newClass);
             throw new IllegalStateException(
@@ -50,6 +50,9 @@ public class IOPortHandler implements IOPortCapable, HardwareComponent {
     IOPortCapable[] ioPortDevice;
 
     private static final IOPortCapable defaultDevice = new UnconnectedIOPort();
+
+    // Reused by ioPortReadWords, a sector worth of words to start with
+    private short[] wordBuffer = new short[256];
     //static {
     //   defaultDevice = new UnconnectedIOPort();
     //}
@@ -95,9 +98,7 @@ public class IOPortHandler implements IOPortCapable, HardwareComponent {
      */
     public int ioPortReadByte(int address) throws ModuleException {
         // return ioPortDevice[address].ioPortReadByte(address);
-        int result = mb.getIOPortByte(address);
-        result &= 0xFF;
-        return result;
+        return mb.readByte(address);
     }
 
     /**
@@ -107,12 +108,7 @@ public class IOPortHandler implements IOPortCapable, HardwareComponent {
      */
     public int ioPortReadWord(int address) throws ModuleException {
         // return ioPortDevice[address].ioPortReadWord(address);
-        byte[] bytes = mb.getIOPortWord(address);
-        int result = ((((int) bytes[0]) & 0xFF) << 8)
-                + (((int) bytes[1]) & 0xFF);
-        // int result = ((((int) bytes[1]) & 0xFF) << 8) + (((int) bytes[0]) &
-        // 0xFF);
-        return result;
+        return mb.readWord(address);
     }
 
     /**
@@ -122,14 +118,25 @@ public class IOPortHandler implements IOPortCapable, HardwareComponent {
      */
     public int ioPortReadLong(int address) throws ModuleException {
         // return ioPortDevice[address].ioPortReadLong(address);
-        byte[] bytes = mb.getIOPortDoubleWord(address);
-        // int result = ((((int) bytes[0]) & 0xFF) << 24) + ((((int) bytes[1]) &
-        // 0xFF) << 16) + ((((int) bytes[2]) & 0xFF) << 8) + (((int) bytes[3]) &
-        // 0xFF);
-        int result = ((((int) bytes[3]) & 0xFF) << 24)
-                + ((((int) bytes[2]) & 0xFF) << 16)
-                + ((((int) bytes[1]) & 0xFF) << 8) + (((int) bytes[0]) & 0xFF);
-        return result;
+        return mb.readDword(address);
+    }
+
+    /**
+     * Reads words from the same port, as a repeated INSW does
+     *
+     * @param address
+     * @param count number of words to read
+     * @return array holding the words from index 0; it is reused by the next
+     *         call
+     * @throws ModuleException
+     */
+    public short[] ioPortReadWords(int address, int count)
+            throws ModuleException {
+        if (wordBuffer.length < count) {
+            wordBuffer = new short[count];
+        }
+        mb.readWords(address, wordBuffer, 0, count);
+        return wordBuffer;
     }
 
     /**
@@ -139,7 +146,7 @@ public class IOPortHandler implements IOPortCapable, HardwareComponent {
      */
     public void ioPortWriteByte(int address, int data) throws ModuleException {
         // ioPortDevice[address].ioPortWriteByte(address, data);
-        mb.setIOPortByte(address, (byte) data);
+        mb.writeByte(address, data);
     }
 
     /**
@@ -149,10 +156,7 @@ public class IOPortHandler implements IOPortCapable, HardwareComponent {
      */
     public void ioPortWriteWord(int address, int data) throws ModuleException {
         // ioPortDevice[address].ioPortWriteWord(address, data);
-        // FIXME: Different byte order than ioPortWriteLong(), but this is correct for module.video TODO:BK
-        byte[] dataWord = new byte[]{((byte) ((data >> 8) & 0xFF)),
-                ((byte) (data & 0xFF))};
-        mb.setIOPortWord(address, dataWord);
+        mb.writeWord(address, data);
     }
 
     /**
@@ -162,12 +166,7 @@ public class IOPortHandler implements IOPortCapable, HardwareComponent {
      */
     public void ioPortWriteLong(int address, int data) throws ModuleException {
         // ioPortDevice[address].ioPortWriteLong(address, data);
-        // FIXME: Different byte order than ioPortWriteWord(), but this is correct for module.ata TODO:BK
-        byte[] dataDWord = new byte[]{((byte) (data & 0xFF)),
-                ((byte) ((data >> 8) & 0xFF)),
-                ((byte) ((data >> 16) & 0xFF)),
-                ((byte) ((data >> 24) & 0xFF))};
-        mb.setIOPortDoubleWord(address, dataDWord);
+        mb.writeDword(address, data);
     }
 
     /**
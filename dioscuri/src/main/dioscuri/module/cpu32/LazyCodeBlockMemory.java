@@ -36,12 +36,18 @@ import dioscuri.module.clock.Clock;
  * @author Bart Kiers
  */
 public class LazyCodeBlockMemory extends LazyMemory {
-    private static CodeBlockManager codeBlockManager;
+    // Code lines of 64 bytes, one long of line bits per 4 KB page
+    private static final int LINE_SHIFT = 6;
+    private static final int PAGE_SHIFT = 12;
 
-    private static final BlankCodeBlock PLACEHOLDER = new BlankCodeBlock(0, 0);
-    protected RealModeCodeBlock[] realCodeBuffer;
-    protected ProtectedModeCodeBlock[] protectedCodeBuffer;
-    protected Virtual8086ModeCodeBlock[] virtual8086CodeBuffer;
+    // Decoded blocks per mode, created when the first block of a mode is set
+    private CodeBlockIndex realCodeIndex;
+    private CodeBlockIndex protectedCodeIndex;
+    private CodeBlockIndex virtual8086CodeIndex;
+
+    // Lines that held a decoded block since the blocks were last cleared.
+    // Writes to other lines can not alter code and skip regionAltered.
+    private long[] codeLines;
 
     @SuppressWarnings("unused")
     private Clock clock;
@@ -55,14 +61,12 @@ public class LazyCodeBlockMemory extends LazyMemory {
         if (src.getSize() > 1024 * 1024 * 32)
             throw new IllegalStateException("Cannot create code block of size "
                     + src.getSize());
-        constructCodeBlocksArray();
 
         byte[] temp = new byte[(int) src.getSize()];
         src.copyContentsInto(0, temp, 0, temp.length);
         copyContentsFrom(0, temp, 0, temp.length);
-
-        if (codeBlockManager == null)
-            codeBlockManager = new CodeBlockManager(clk);
+        // Copying the contents is no write by the guest
+        dirty = !(src instanceof LazyMemory) || ((LazyMemory) src).dirty;
 
         this.clock = clk;
     }
@@ -73,10 +77,6 @@ public class LazyCodeBlockMemory extends LazyMemory {
      */
     public LazyCodeBlockMemory(byte[] buf, Clock clk) {
         super(buf);
-        constructCodeBlocksArray();
-
-        if (codeBlockManager == null)
-            codeBlockManager = new CodeBlockManager(clk);
     }
 
     /**
@@ -85,16 +85,45 @@ public class LazyCodeBlockMemory extends LazyMemory {
      */
     public LazyCodeBlockMemory(int size, Clock clk) {
         super(size);
-        constructCodeBlocksArray();
+    }
 
-        if (codeBlockManager == null)
-            codeBlockManager = new CodeBlockManager(clk);
+    protected void clearCodeBlocks() {
+        realCodeIndex = null;
+        protectedCodeIndex = null;
+        virtual8086CodeIndex = null;
+        codeLines = null;
     }
 
-    protected void constructCodeBlocksArray() {
-        realCodeBuffer = new RealModeCodeBlock[(int) getSize()];
-        protectedCodeBuffer = new ProtectedModeCodeBlock[(int) getSize()];
-        virtual8086CodeBuffer = new Virtual8086ModeCodeBlock[(int) getSize()];
+    /**
+     * Marks the lines covered by a block as holding code. Lines are never
+     * unmarked when a block is removed, a later write then just finds no
+     * block to invalidate.
+     */
+    private void markCode(int start, int length) {
+        if (codeLines == null)
+            codeLines = new long[(int) ((getSize() + (1 << PAGE_SHIFT) - 1) >>> PAGE_SHIFT)];
+
+        int end = Math.min(start + Math.max(1, length), (int) getSize()) - 1;
+        for (int line = start >>> LINE_SHIFT; line <= end >>> LINE_SHIFT; line++)
+            codeLines[line >>> (PAGE_SHIFT - LINE_SHIFT)] |= 1L << line;
+    }
+
+    /**
+     * @return true if a block was decoded in a line between start and end
+     */
+    private boolean containsCode(int start, int end) {
+        long[] lines = codeLines;
+        if (lines == null)
+            return false;
+
+        for (int line = start >>> LINE_SHIFT; line <= end >>> LINE_SHIFT; line++) {
+            long page = lines[line >>> (PAGE_SHIFT - LINE_SHIFT)];
+            if (page == 0)
+                line |= (1 << (PAGE_SHIFT - LINE_SHIFT)) - 1;
+            else if ((page & (1L << line)) != 0)
+                return true;
+        }
+        return false;
     }
 
     public void relinquishCache() {
@@ -137,24 +166,35 @@ public class LazyCodeBlockMemory extends LazyMemory {
         int ip = cpu.getInstructionPointer();
         int startingBlock = ip & AddressSpace.INDEX_MASK;
 
+        int previous = -1;
+
         do {
             try {
                 offset = ip & AddressSpace.BLOCK_MASK;
-                ProtectedModeCodeBlock block = getProtectedModeCodeBlockAt(offset);
+                CodeBlockIndex index = protectedCodeIndex;
+                int slot = chainedSlot(index, previous, offset);
+                ProtectedModeCodeBlock block = slot < 0 ? null
+                        : (ProtectedModeCodeBlock) index.blockAt(slot);
+                previous = -1;
                 try {
                     try {
                         x86Count += block.execute(cpu);
                     } catch (NullPointerException e) {
-                        block = codeBlockManager.getProtectedModeCodeBlockAt(
+                        block = cpu.getCodeBlockManager().getProtectedModeCodeBlockAt(
                                 this, offset, cpu.cs.getDefaultSizeFlag());
+                        slot = -1;
                         x86Count += block.execute(cpu);
                     }
                 } catch (CodeBlockReplacementException e) {
                     block = (ProtectedModeCodeBlock) e.getReplacement();
                     setProtectedCodeBlockAt(offset, block);
+                    slot = -1;
                     x86Count += block.execute(cpu);
                 }
-                cpu.processProtectedModeInterrupts();
+                if (cpu.isInterruptCheckNeeded())
+                    cpu.processProtectedModeInterrupts();
+                else
+                    previous = slot;
             } catch (ProcessorException p) {
                 cpu.handleProtectedModeException(p.getVector(), p
                         .hasErrorCode(), p.getErrorCode());
@@ -164,13 +204,36 @@ public class LazyCodeBlockMemory extends LazyMemory {
         return x86Count;
     }
 
+    /**
+     * Finds the slot of the block at offset, following the link of the
+     * previous block of the chain when there is one, and links the two
+     * blocks when they were not linked yet.
+     *
+     * @return the slot, or -1 if no block starts at offset
+     */
+    private static int chainedSlot(CodeBlockIndex index, int previous,
+                                   int offset) {
+        if (index == null)
+            return -1;
+        if (previous < 0)
+            return index.find(offset);
+
+        int slot = index.successor(previous, offset);
+        if (slot < 0) {
+            slot = index.find(offset);
+            if (slot >= 0)
+                index.link(previous, offset, slot);
+        }
+        return slot;
+    }
+
     private CodeBlock decodeProtected(Processor cpu, int offset) {
         ProtectedModeCodeBlock block = getProtectedModeCodeBlockAt(offset);
         try {
             try {
                 block.getX86Length();
             } catch (NullPointerException e) {
-                block = codeBlockManager.getProtectedModeCodeBlockAt(this,
+                block = cpu.getCodeBlockManager().getProtectedModeCodeBlockAt(this,
                         offset, cpu.cs.getDefaultSizeFlag());
                 block.getX86Length();
             }
@@ -185,25 +248,36 @@ public class LazyCodeBlockMemory extends LazyMemory {
         int x86Count = 0;
         int ip = cpu.getInstructionPointer();
         int startingBlock = ip & AddressSpace.INDEX_MASK;
+        // Slot of the block that ran last, -1 at the start of a chain
+        int previous = -1;
 
         do {
             try {
                 offset = ip & AddressSpace.BLOCK_MASK;
-                RealModeCodeBlock block = getRealModeCodeBlockAt(offset);
+                CodeBlockIndex index = realCodeIndex;
+                int slot = chainedSlot(index, previous, offset);
+                RealModeCodeBlock block = slot < 0 ? null
+                        : (RealModeCodeBlock) index.blockAt(slot);
+                previous = -1;
                 try {
                     try {
                         x86Count += block.execute(cpu);
                     } catch (NullPointerException e) {
-                        block = codeBlockManager.getRealModeCodeBlockAt(this,
+                        block = cpu.getCodeBlockManager().getRealModeCodeBlockAt(this,
                                 offset);
+                        slot = -1;
                         x86Count += block.execute(cpu);
                     }
                 } catch (CodeBlockReplacementException e) {
                     block = (RealModeCodeBlock) e.getReplacement();
                     setRealCodeBlockAt(offset, block);
+                    slot = -1;
                     x86Count += block.execute(cpu);
                 }
-                cpu.processRealModeInterrupts();
+                if (cpu.isInterruptCheckNeeded())
+                    cpu.processRealModeInterrupts();
+                else
+                    previous = slot;
             } catch (ProcessorException p) {
                 cpu.handleRealModeException(p.getVector());
             }
@@ -218,7 +292,7 @@ public class LazyCodeBlockMemory extends LazyMemory {
             try {
                 block.getX86Length();
             } catch (NullPointerException e) {
-                block = codeBlockManager.getRealModeCodeBlockAt(this, offset);
+                block = cpu.getCodeBlockManager().getRealModeCodeBlockAt(this, offset);
             }
         } catch (CodeBlockReplacementException e) {
             block = (RealModeCodeBlock) e.getReplacement();
@@ -233,24 +307,35 @@ public class LazyCodeBlockMemory extends LazyMemory {
         int ip = cpu.getInstructionPointer();
         int startingBlock = ip & AddressSpace.INDEX_MASK;
 
+        int previous = -1;
+
         do {
             try {
                 offset = ip & AddressSpace.BLOCK_MASK;
-                Virtual8086ModeCodeBlock block = getVirtual8086ModeCodeBlockAt(offset);
+                CodeBlockIndex index = virtual8086CodeIndex;
+                int slot = chainedSlot(index, previous, offset);
+                Virtual8086ModeCodeBlock block = slot < 0 ? null
+                        : (Virtual8086ModeCodeBlock) index.blockAt(slot);
+                previous = -1;
                 try {
                     try {
                         x86Count += block.execute(cpu);
                     } catch (NullPointerException e) {
-                        block = codeBlockManager.getVirtual8086ModeCodeBlockAt(
+                        block = cpu.getCodeBlockManager().getVirtual8086ModeCodeBlockAt(
                                 this, offset);
+                        slot = -1;
                         x86Count += block.execute(cpu);
                     }
                 } catch (CodeBlockReplacementException e) {
                     block = (Virtual8086ModeCodeBlock) e.getReplacement();
                     setVirtual8086CodeBlockAt(offset, block);
+                    slot = -1;
                     x86Count += block.execute(cpu);
                 }
-                cpu.processVirtual8086ModeInterrupts();
+                if (cpu.isInterruptCheckNeeded())
+                    cpu.processVirtual8086ModeInterrupts();
+                else
+                    previous = slot;
             } catch (ProcessorException p) {
                 cpu.handleVirtual8086ModeException(p.getVector(), p
                         .hasErrorCode(), p.getErrorCode());
@@ -266,7 +351,7 @@ public class LazyCodeBlockMemory extends LazyMemory {
             try {
                 block.getX86Length();
             } catch (NullPointerException e) {
-                block = codeBlockManager.getVirtual8086ModeCodeBlockAt(this,
+                block = cpu.getCodeBlockManager().getVirtual8086ModeCodeBlockAt(this,
                         offset);
                 block.getX86Length();
             }
@@ -277,117 +362,29 @@ public class LazyCodeBlockMemory extends LazyMemory {
         return block;
     }
 
+    /**
+     * @return the index of the real mode blocks of this page, or null if
+     *         none has been stored yet
+     */
+    CodeBlockIndex getRealCodeIndex() {
+        return realCodeIndex;
+    }
+
     private RealModeCodeBlock getRealModeCodeBlockAt(int offset) {
-        return realCodeBuffer[offset];
+        CodeBlockIndex index = realCodeIndex;
+        return index == null ? null : (RealModeCodeBlock) index.get(offset);
     }
 
     private ProtectedModeCodeBlock getProtectedModeCodeBlockAt(int offset) {
-        return protectedCodeBuffer[offset];
+        CodeBlockIndex index = protectedCodeIndex;
+        return index == null ? null : (ProtectedModeCodeBlock) index
+                .get(offset);
     }
 
     private Virtual8086ModeCodeBlock getVirtual8086ModeCodeBlockAt(int offset) {
-        return virtual8086CodeBuffer[offset];
-    }
-
-    private void removeVirtual8086CodeBlockAt(int offset) {
-        Virtual8086ModeCodeBlock b = virtual8086CodeBuffer[offset];
-        if ((b == null) || (b == PLACEHOLDER))
-            return;
-
-        virtual8086CodeBuffer[offset] = null;
-        int len = b.getX86Length();
-        for (int i = offset + 1; (i < offset + len)
-                && (i < virtual8086CodeBuffer.length); i++) {
-            if (virtual8086CodeBuffer[i] == PLACEHOLDER)
-                virtual8086CodeBuffer[i] = null;
-        }
-
-        for (int i = Math.min(offset + len, virtual8086CodeBuffer.length) - 1; i >= 0; i--) {
-            if (virtual8086CodeBuffer[i] == null) {
-                if (i < offset)
-                    break;
-                else
-                    continue;
-            }
-            if (virtual8086CodeBuffer[i] == PLACEHOLDER)
-                continue;
-
-            Virtual8086ModeCodeBlock bb = virtual8086CodeBuffer[i];
-            len = bb.getX86Length();
-
-            for (int j = i + 1; (j < i + len)
-                    && (j < virtual8086CodeBuffer.length); j++) {
-                if (virtual8086CodeBuffer[j] == null)
-                    virtual8086CodeBuffer[j] = PLACEHOLDER;
-            }
-        }
-    }
-
-    private void removeProtectedCodeBlockAt(int offset) {
-        ProtectedModeCodeBlock b = protectedCodeBuffer[offset];
-        if ((b == null) || (b == PLACEHOLDER))
-            return;
-
-        protectedCodeBuffer[offset] = null;
-        int len = b.getX86Length();
-        for (int i = offset + 1; (i < offset + len)
-                && (i < protectedCodeBuffer.length); i++) {
-            if (protectedCodeBuffer[i] == PLACEHOLDER)
-                protectedCodeBuffer[i] = null;
-        }
-
-        for (int i = Math.min(offset + len, protectedCodeBuffer.length) - 1; i >= 0; i--) {
-            if (protectedCodeBuffer[i] == null) {
-                if (i < offset)
-                    break;
-                else
-                    continue;
-            }
-            if (protectedCodeBuffer[i] == PLACEHOLDER)
-                continue;
-
-            ProtectedModeCodeBlock bb = protectedCodeBuffer[i];
-            len = bb.getX86Length();
-
-            for (int j = i + 1; (j < i + len)
-                    && (j < protectedCodeBuffer.length); j++) {
-                if (protectedCodeBuffer[j] == null)
-                    protectedCodeBuffer[j] = PLACEHOLDER;
-            }
-        }
-    }
-
-    private void removeRealCodeBlockAt(int offset) {
-        RealModeCodeBlock b = realCodeBuffer[offset];
-        if ((b == null) || (b == PLACEHOLDER))
-            return;
-
-        realCodeBuffer[offset] = null;
-        int len = b.getX86Length();
-        for (int i = offset + 1; (i < offset + len)
-                && (i < realCodeBuffer.length); i++) {
-            if (realCodeBuffer[i] == PLACEHOLDER)
-                realCodeBuffer[i] = null;
-        }
-
-        for (int i = Math.min(offset + len, realCodeBuffer.length) - 1; i >= 0; i--) {
-            if (realCodeBuffer[i] == null) {
-                if (i < offset)
-                    break;
-                else
-                    continue;
-            }
-            if (realCodeBuffer[i] == PLACEHOLDER)
-                continue;
-
-            RealModeCodeBlock bb = realCodeBuffer[i];
-            len = bb.getX86Length();
-
-            for (int j = i + 1; (j < i + len) && (j < realCodeBuffer.length); j++) {
-                if (realCodeBuffer[j] == null)
-                    realCodeBuffer[j] = PLACEHOLDER;
-            }
-        }
+        CodeBlockIndex index = virtual8086CodeIndex;
+        return index == null ? null : (Virtual8086ModeCodeBlock) index
+                .get(offset);
     }
 
     /**
@@ -396,17 +393,17 @@ public class LazyCodeBlockMemory extends LazyMemory {
      */
     public void setVirtual8086CodeBlockAt(int offset,
                                           Virtual8086ModeCodeBlock block) {
-        removeVirtual8086CodeBlockAt(offset);
-        if (block == null)
+        if (block == null) {
+            if (virtual8086CodeIndex != null)
+                virtual8086CodeIndex.remove(offset);
             return;
-
-        virtual8086CodeBuffer[offset] = block;
-        int len = block.getX86Length();
-        for (int i = offset + 1; (i < offset + len)
-                && (i < virtual8086CodeBuffer.length); i++) {
-            if (virtual8086CodeBuffer[i] == null)
-                virtual8086CodeBuffer[i] = PLACEHOLDER;
         }
+
+        if (virtual8086CodeIndex == null)
+            virtual8086CodeIndex = new CodeBlockIndex();
+        int length = block.getX86Length();
+        virtual8086CodeIndex.put(offset, block, length);
+        markCode(offset, length);
     }
 
     /**
@@ -414,17 +411,17 @@ public class LazyCodeBlockMemory extends LazyMemory {
      * @param block
      */
     public void setProtectedCodeBlockAt(int offset, ProtectedModeCodeBlock block) {
-        removeProtectedCodeBlockAt(offset);
-        if (block == null)
+        if (block == null) {
+            if (protectedCodeIndex != null)
+                protectedCodeIndex.remove(offset);
             return;
-
-        protectedCodeBuffer[offset] = block;
-        int len = block.getX86Length();
-        for (int i = offset + 1; (i < offset + len)
-                && (i < protectedCodeBuffer.length); i++) {
-            if (protectedCodeBuffer[i] == null)
-                protectedCodeBuffer[i] = PLACEHOLDER;
         }
+
+        if (protectedCodeIndex == null)
+            protectedCodeIndex = new CodeBlockIndex();
+        int length = block.getX86Length();
+        protectedCodeIndex.put(offset, block, length);
+        markCode(offset, length);
     }
 
     /**
@@ -432,71 +429,33 @@ public class LazyCodeBlockMemory extends LazyMemory {
      * @param block
      */
     public void setRealCodeBlockAt(int offset, RealModeCodeBlock block) {
-        removeRealCodeBlockAt(offset);
-        if (block == null)
+        if (block == null) {
+            if (realCodeIndex != null)
+                realCodeIndex.remove(offset);
             return;
-
-        realCodeBuffer[offset] = block;
-        int len = block.getX86Length();
-        for (int i = offset + 1; (i < offset + len)
-                && (i < realCodeBuffer.length); i++) {
-            if (realCodeBuffer[i] == null)
-                realCodeBuffer[i] = PLACEHOLDER;
         }
+
+        if (realCodeIndex == null)
+            realCodeIndex = new CodeBlockIndex();
+        int length = block.getX86Length();
+        realCodeIndex.put(offset, block, length);
+        markCode(offset, length);
     }
 
     /**
+     * Removes the blocks overlapping the altered region, unless they handle
+     * the change themselves.
+     *
      * @param start
      * @param end
      */
     protected void regionAltered(int start, int end) {
-        for (int i = end; i >= 0; i--) {
-            RealModeCodeBlock b = realCodeBuffer[i];
-            if (b == null) {
-                if (i < start)
-                    break;
-                else
-                    continue;
-            }
-
-            if (b == PLACEHOLDER)
-                continue;
-
-            if (!b.handleMemoryRegionChange(start, end))
-                removeRealCodeBlockAt(i);
-        }
-
-        for (int i = end; i >= 0; i--) {
-            ProtectedModeCodeBlock b = protectedCodeBuffer[i];
-            if (b == null) {
-                if (i < start)
-                    break;
-                else
-                    continue;
-            }
-
-            if (b == PLACEHOLDER)
-                continue;
-
-            if (!b.handleMemoryRegionChange(start, end))
-                removeProtectedCodeBlockAt(i);
-        }
-
-        for (int i = end; i >= 0; i--) {
-            Virtual8086ModeCodeBlock b = virtual8086CodeBuffer[i];
-            if (b == null) {
-                if (i < start)
-                    break;
-                else
-                    continue;
-            }
-
-            if (b == PLACEHOLDER)
-                continue;
-
-            if (!b.handleMemoryRegionChange(start, end))
-                removeVirtual8086CodeBlockAt(i);
-        }
+        if (realCodeIndex != null)
+            realCodeIndex.regionAltered(start, end);
+        if (protectedCodeIndex != null)
+            protectedCodeIndex.regionAltered(start, end);
+        if (virtual8086CodeIndex != null)
+            virtual8086CodeIndex.regionAltered(start, end);
     }
 
     /**
@@ -508,7 +467,8 @@ public class LazyCodeBlockMemory extends LazyMemory {
     @Override
     public void copyContentsFrom(int address, byte[] buf, int off, int len) {
         super.copyContentsFrom(address, buf, off, len);
-        regionAltered(address, address + len - 1);
+        if (containsCode(address, address + len - 1))
+            regionAltered(address, address + len - 1);
     }
 
     /**
@@ -520,7 +480,8 @@ public class LazyCodeBlockMemory extends LazyMemory {
         if (super.getByte(offset) == data)
             return;
         super.setByte(offset, data);
-        regionAltered(offset, offset);
+        if (containsCode(offset, offset))
+            regionAltered(offset, offset);
     }
 
     /**
@@ -532,7 +493,8 @@ public class LazyCodeBlockMemory extends LazyMemory {
         if (super.getWord(offset) == data)
             return;
         super.setWord(offset, data);
-        regionAltered(offset, offset + 1);
+        if (containsCode(offset, offset + 1))
+            regionAltered(offset, offset + 1);
     }
 
     /**
@@ -544,12 +506,13 @@ public class LazyCodeBlockMemory extends LazyMemory {
         if (super.getDoubleWord(offset) == data)
             return;
         super.setDoubleWord(offset, data);
-        regionAltered(offset, offset + 3);
+        if (containsCode(offset, offset + 3))
+            regionAltered(offset, offset + 3);
     }
 
     @Override
     public void clear() {
-        constructCodeBlocksArray();
+        clearCodeBlocks();
         super.clear();
     }
 
@@ -557,10 +520,4 @@ public class LazyCodeBlockMemory extends LazyMemory {
     public String toString() {
         return "LazyCodeBlockMemory[" + getSize() + "]";
     }
-
-    public static void dispose() {
-        if (codeBlockManager != null)
-            codeBlockManager.dispose();
-        codeBlockManager = null;
-    }
 }
@@ -37,6 +37,7 @@ import dioscuri.module.clock.Clock;
 public class LazyMemory extends AbstractMemory {
     private int size;
     boolean allocated = false;
+    boolean dirty = false; // Written since the last incremental dump
     private byte[] buffer;
 
     private Clock clock;
@@ -107,6 +108,7 @@ public class LazyMemory extends AbstractMemory {
      */
     @Override
     public void copyContentsFrom(int address, byte[] buf, int off, int len) {
+        dirty = true;
         try {
             System.arraycopy(buf, off, buffer, address, len);
         } catch (NullPointerException e) {
@@ -130,6 +132,14 @@ public class LazyMemory extends AbstractMemory {
         return allocated;
     }
 
+    /**
+     * @return true if the block has been written since the last incremental
+     *         dump of the address space it belongs to
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
     /**
      * @param offset
      * @return -
@@ -148,6 +158,7 @@ public class LazyMemory extends AbstractMemory {
      * @param data
      */
     public void setByte(int offset, byte data) {
+        dirty = true;
         try {
             buffer[offset] = data;
         } catch (NullPointerException e) {
@@ -210,6 +221,7 @@ public class LazyMemory extends AbstractMemory {
      */
     @Override
     public void setWord(int offset, short data) {
+        dirty = true;
         try {
             buffer[offset] = (byte) data;
             offset++;
@@ -228,6 +240,7 @@ public class LazyMemory extends AbstractMemory {
      */
     @Override
     public void setDoubleWord(int offset, int data) {
+        dirty = true;
         try {
             buffer[offset] = (byte) data;
             offset++;
@@ -256,6 +269,7 @@ public class LazyMemory extends AbstractMemory {
 
     @Override
     public void clear() {
+        dirty = true;
         buffer = null;
     }
 
@@ -28,8 +28,7 @@ package dioscuri.module.cpu32;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.Enumeration;
-import java.util.Hashtable;
+import java.util.Arrays;
 
 //import org.jpc.emulator.*;
 //import org.jpc.emulator.memory.codeblock.*;
@@ -74,10 +73,20 @@ public final class LinearAddressSpace extends AddressSpace implements
     private AddressSpace target;
 
     private byte[] pageFlags;
-    private Hashtable<Integer, Integer> nonGlobalPages;
     private Memory[] readUserIndex, readSupervisorIndex, writeUserIndex,
             writeSupervisorIndex, readIndex, writeIndex;
 
+    // Entries of the index arrays are only valid while the stamp of their
+    // page is the current epoch, or the global epoch for a global page. A
+    // page directory base write starts a new epoch, a full flush also a new
+    // global epoch, so flushing the TLB never walks or reallocates it.
+    private int[] pageStamps;
+    private int generation, epoch, globalEpoch;
+
+    // Statistics, updated on every access and read racily by the metrics,
+    // see EmulatorMetrics for why these are plain fields
+    private long tlbHits, tlbMisses, tlbFlushes;
+
     public LinearAddressSpace() {
         baseAddress = 0;
         lastAddress = 0;
@@ -86,7 +95,8 @@ public final class LinearAddressSpace extends AddressSpace implements
         writeProtectUserPages = false;
         pageSizeExtensions = false;
 
-        nonGlobalPages = new Hashtable<Integer, Integer>();
+        pageStamps = new int[INDEX_SIZE];
+        startEpoch(true);
 
         pageFlags = new byte[INDEX_SIZE];
         for (int i = 0; i < INDEX_SIZE; i++)
@@ -113,13 +123,16 @@ public final class LinearAddressSpace extends AddressSpace implements
         output.writeInt(lastAddress);
         output.writeInt(pageFlags.length);
         output.write(pageFlags);
-        output.writeInt(nonGlobalPages.size());
-        Enumeration<Integer> ee = nonGlobalPages.keys();
-        while (ee.hasMoreElements()) {
-            Integer key = ee.nextElement();
-            Integer value = nonGlobalPages.get(key);
-            output.writeInt(key.intValue());
-            output.writeInt(value.intValue());
+        int nonGlobalPages = 0;
+        for (int i = 0; i < INDEX_SIZE; i++)
+            if (pageStamps[i] == epoch)
+                nonGlobalPages++;
+        output.writeInt(nonGlobalPages);
+        for (int i = 0; i < INDEX_SIZE; i++) {
+            if (pageStamps[i] == epoch) {
+                output.writeInt(i);
+                output.writeInt(i);
+            }
         }
 
         dumpMemory(output, readUserIndex);
@@ -176,13 +189,11 @@ public final class LinearAddressSpace extends AddressSpace implements
         int len = input.readInt();
         pageFlags = new byte[len];
         input.readFully(pageFlags, 0, len);
-        nonGlobalPages.clear();
+        // The index arrays are not restored, so neither are the pages
         int count = input.readInt();
-        int key, value;
         for (int i = 0; i < count; i++) {
-            key = input.readInt();
-            value = input.readInt();
-            nonGlobalPages.put(new Integer(key), new Integer(value));
+            input.readInt();
+            input.readInt();
         }
 
         len = input.readInt();
@@ -239,8 +250,14 @@ public final class LinearAddressSpace extends AddressSpace implements
     }
 
     private Memory getReadIndexValue(int index) {
+        int stamp = pageStamps[index];
+        if (stamp != epoch && stamp != globalEpoch)
+            return null;
         try {
-            return readIndex[index];
+            Memory m = readIndex[index];
+            if (m != null)
+                tlbHits++;
+            return m;
         } catch (NullPointerException e) {
             return getReadIndex()[index];
         }
@@ -255,13 +272,75 @@ public final class LinearAddressSpace extends AddressSpace implements
     }
 
     private Memory getWriteIndexValue(int index) {
+        int stamp = pageStamps[index];
+        if (stamp != epoch && stamp != globalEpoch)
+            return null;
         try {
-            return writeIndex[index];
+            Memory m = writeIndex[index];
+            if (m != null)
+                tlbHits++;
+            return m;
         } catch (NullPointerException e) {
             return getWriteIndex()[index];
         }
     }
 
+    /**
+     * Stamps a page that is about to get a TLB entry. Entries left from a
+     * flushed epoch are dropped first.
+     *
+     * @param index  page index
+     * @param global true if the page survives a page directory base write
+     */
+    private void stampPage(int index, boolean global) {
+        int stamp = pageStamps[index];
+        if (stamp != epoch && stamp != globalEpoch) {
+            nullIndex(readSupervisorIndex, index);
+            nullIndex(writeSupervisorIndex, index);
+            nullIndex(readUserIndex, index);
+            nullIndex(writeUserIndex, index);
+            pageFlags[index] = FOUR_K;
+        }
+        pageStamps[index] = global ? globalEpoch : epoch;
+    }
+
+    /**
+     * Invalidates all non-global TLB entries, or all entries when global is
+     * true.
+     */
+    private void startEpoch(boolean global) {
+        if (generation >= Integer.MAX_VALUE - 2) {
+            // Stamps would repeat, start over with all pages invalid
+            Arrays.fill(pageStamps, 0);
+            generation = 0;
+            global = true;
+        }
+        epoch = ++generation;
+        if (global)
+            globalEpoch = ++generation;
+    }
+
+    /**
+     * @return number of memory block lookups served by the TLB
+     */
+    public long getTLBHits() {
+        return tlbHits;
+    }
+
+    /**
+     * @return number of lookups that had to walk the page tables
+     */
+    public long getTLBMisses() {
+        return tlbMisses;
+    }
+
+    /**
+     * @return number of full and partial TLB flushes
+     */
+    public long getTLBFlushes() {
+        return tlbFlushes;
+    }
+
     /**
      * @return -
      */
@@ -362,15 +441,8 @@ public final class LinearAddressSpace extends AddressSpace implements
     }
 
     public void flush() {
-        for (int i = 0; i < INDEX_SIZE; i++) {
-            pageFlags[i] = FOUR_K;
-        }
-        nonGlobalPages.clear();
-
-        readUserIndex = null;
-        writeUserIndex = null;
-        readSupervisorIndex = null;
-        writeSupervisorIndex = null;
+        tlbFlushes++;
+        startEpoch(true);
     }
 
     private void partialFlush() {
@@ -379,24 +451,8 @@ public final class LinearAddressSpace extends AddressSpace implements
             return;
         }
 
-        Enumeration<Integer> ee = nonGlobalPages.keys();
-        while (ee.hasMoreElements()) {
-            int index = (ee.nextElement()).intValue();
-            nullIndex(readSupervisorIndex, index);
-            nullIndex(writeSupervisorIndex, index);
-            nullIndex(readUserIndex, index);
-            nullIndex(writeUserIndex, index);
-            pageFlags[index] = FOUR_K;
-        }
-        nonGlobalPages.clear();
-
-        /*
-         * for (int i=0; i<pageFlags.length; i++) { if ((pageFlags[i] &
-         * IS_GLOBAL_MASK) != 0) continue;
-         * 
-         * readSupervisorIndex[i] = null; writeSupervisorIndex[i] = null;
-         * readUserIndex[i] = null; writeUserIndex[i] = null; }
-         */
+        tlbFlushes++;
+        startEpoch(false);
     }
 
     private void nullIndex(Memory[] array, int index) {
@@ -419,12 +475,13 @@ public final class LinearAddressSpace extends AddressSpace implements
      */
     public void invalidateTLBEntry(int offset) {
         int index = offset >>> INDEX_SHIFT;
-        if ((pageFlags[index] & IS_4_M_MASK) == 0) {
+        int stamp = pageStamps[index];
+        if ((stamp != epoch && stamp != globalEpoch)
+                || (pageFlags[index] & IS_4_M_MASK) == 0) {
             nullIndex(readSupervisorIndex, index);
             nullIndex(writeSupervisorIndex, index);
             nullIndex(readUserIndex, index);
             nullIndex(writeUserIndex, index);
-            nonGlobalPages.remove(new Integer(index));
         } else {
             index = ((offset & 0xFFC00000) >>> 12);
             for (int i = 0; i < 1024; i++, index++) {
@@ -432,7 +489,6 @@ public final class LinearAddressSpace extends AddressSpace implements
                 nullIndex(writeSupervisorIndex, index);
                 nullIndex(readUserIndex, index);
                 nullIndex(writeUserIndex, index);
-                nonGlobalPages.remove(new Integer(index));
             }
         }
     }
@@ -442,8 +498,10 @@ public final class LinearAddressSpace extends AddressSpace implements
      * @return -
      */
     public Memory validateTLBEntryRead(int offset) {
+        tlbMisses++;
         int idx = offset >>> INDEX_SHIFT;
         if (pagingDisabled) {
+            stampPage(idx, true);
             setReadIndexValue(idx, target.getReadMemoryBlockAt(offset));
             return readIndex[idx];
         }
@@ -498,13 +556,9 @@ public final class LinearAddressSpace extends AddressSpace implements
             for (int i = 0; i < 1024; i++) {
                 Memory m = target.getReadMemoryBlockAt(fourMegPageStartAddress);
                 fourMegPageStartAddress += BLOCK_SIZE;
+                stampPage(tableIndex, directoryGlobal);
                 pageFlags[tableIndex] = flag;
                 setReadIndexValue(tableIndex++, m);
-                if (directoryGlobal)
-                    continue;
-
-                Integer iidx = new Integer(i);
-                nonGlobalPages.put(iidx, iidx);
             }
 
             return readIndex[idx];
@@ -549,15 +603,12 @@ public final class LinearAddressSpace extends AddressSpace implements
             if (!pageCacheEnabled)
                 return target.getReadMemoryBlockAt(fourKStartAddress);
 
+            stampPage(idx, tableGlobal);
             if (tableGlobal)
                 pageFlags[idx] = FOUR_K_GLOBAL;
-            else {
+            else
                 pageFlags[idx] = FOUR_K;
 
-                Integer iidx = new Integer(idx);
-                nonGlobalPages.put(iidx, iidx);
-            }
-
             setReadIndexValue(idx, target
                     .getReadMemoryBlockAt(fourKStartAddress));
             return readIndex[idx];
@@ -569,8 +620,10 @@ public final class LinearAddressSpace extends AddressSpace implements
      * @return -
      */
     public Memory validateTLBEntryWrite(int offset) {
+        tlbMisses++;
         int idx = offset >>> INDEX_SHIFT;
         if (pagingDisabled) {
+            stampPage(idx, true);
             setWriteIndexValue(idx, target.getWriteMemoryBlockAt(offset));
             return writeIndex[idx];
         }
@@ -643,14 +696,9 @@ public final class LinearAddressSpace extends AddressSpace implements
                 Memory m = target
                         .getWriteMemoryBlockAt(fourMegPageStartAddress);
                 fourMegPageStartAddress += BLOCK_SIZE;
+                stampPage(tableIndex, directoryGlobal);
                 pageFlags[tableIndex] = flag;
                 setWriteIndexValue(tableIndex++, m);
-
-                if (directoryGlobal)
-                    continue;
-
-                Integer iidx = new Integer(i);
-                nonGlobalPages.put(iidx, iidx);
             }
 
             return writeIndex[idx];
@@ -712,15 +760,12 @@ public final class LinearAddressSpace extends AddressSpace implements
             if (!pageCacheEnabled)
                 return target.getWriteMemoryBlockAt(fourKStartAddress);
 
+            stampPage(idx, tableGlobal);
             if (tableGlobal)
                 pageFlags[idx] = FOUR_K_GLOBAL;
-            else {
+            else
                 pageFlags[idx] = FOUR_K;
 
-                Integer iidx = new Integer(idx);
-                nonGlobalPages.put(iidx, iidx);
-            }
-
             setWriteIndexValue(idx, target
                     .getWriteMemoryBlockAt(fourKStartAddress));
             return writeIndex[idx];
@@ -202,6 +202,53 @@ public final class PhysicalAddressSpace extends AddressSpace implements
             index = a20MaskedIndex;
     }
 
+    /**
+     * Writes the RAM blocks that have been written since the last call, each
+     * preceded by its address and ended by address -1. Unlike dumpState,
+     * which leaves the blocks alone, this marks a checkpoint: all blocks are
+     * clean afterwards. A chain of these dumps restores the memory when it is
+     * applied in order on top of a full dumpState taken before the first one.
+     *
+     * @param output
+     * @throws IOException
+     */
+    public void dumpChangedState(DataOutput output) throws IOException {
+        output.writeBoolean(gateA20MaskState);
+        byte[] temp = new byte[BLOCK_SIZE];
+        for (int i = 0; i < quickNonA20MaskedIndex.length; i++) {
+            Memory block = quickNonA20MaskedIndex[i];
+            if (!(block instanceof LazyMemory) || block instanceof EPROMMemory
+                    || !((LazyMemory) block).dirty)
+                continue;
+            block.copyContentsInto(0, temp, 0, BLOCK_SIZE);
+            output.writeInt(i << INDEX_SHIFT);
+            output.write(temp);
+            ((LazyMemory) block).dirty = false;
+        }
+        output.writeInt(-1);
+    }
+
+    /**
+     * Applies RAM blocks written by dumpChangedState on top of the current
+     * contents of this address space.
+     *
+     * @param input
+     * @throws IOException
+     */
+    public void loadChangedState(DataInput input) throws IOException {
+        setGateA20State(input.readBoolean());
+        byte[] temp = new byte[BLOCK_SIZE];
+        for (int address = input.readInt(); address != -1; address = input.readInt()) {
+            if ((address & BLOCK_MASK) != 0 || address < 0 || address >= SYS_RAM_SIZE
+                    || !(quickNonA20MaskedIndex[address >>> INDEX_SHIFT] instanceof LazyMemory))
+                throw new IOException("No RAM block at address "
+                        + Integer.toHexString(address));
+            input.readFully(temp);
+            quickNonA20MaskedIndex[address >>> INDEX_SHIFT].copyContentsFrom(0,
+                    temp, 0, BLOCK_SIZE);
+        }
+    }
+
     /**
      * @param value
      */
@@ -28,8 +28,13 @@ package dioscuri.module.cpu32;
 import dioscuri.exception.ModuleException;
 import dioscuri.exception.WriteOnlyPortException;
 import dioscuri.interfaces.Module;
+import dioscuri.metrics.Counter;
+import dioscuri.module.InterruptMailbox;
 import dioscuri.module.ModuleCPU;
 import dioscuri.module.ModulePIC;
+import dioscuri.module.bios.BiosCall;
+import dioscuri.module.bios.HighLevelBios;
+import dioscuri.module.clock.Clock;
 
 import java.io.DataInput;
 import java.io.DataOutput;
@@ -48,9 +53,9 @@ public class Processor extends ModuleCPU implements HardwareComponent {
     public static final int STATE_VERSION = 1;
     public static final int STATE_MINOR_VERSION = 0;
     public static final int CLOCK_SPEED = 50; // CPU "Clock Speed" in MHz
-    public static final int IFLAGS_HARDWARE_INTERRUPT = 0x1;
+    public static final int IFLAGS_HARDWARE_INTERRUPT = InterruptMailbox.INTERRUPT;
     public static final int IFLAGS_PROCESSOR_EXCEPTION = 0x2;
-    public static final int IFLAGS_RESET_REQUEST = 0x4;
+    public static final int IFLAGS_RESET_REQUEST = InterruptMailbox.RESET;
     public static final int PROC_EXCEPTION_DE = 0x00; // Divide Error
     public static final int PROC_EXCEPTION_DB = 0x01; // Debug
     public static final int PROC_EXCEPTION_BP = 0x03; // Breakpoint
@@ -135,7 +140,6 @@ public class Processor extends ModuleCPU implements HardwareComponent {
     public AlignmentCheckedAddressSpace alignmentCheckedMemory;
     public IOPortHandler ioports;
 
-    private int interruptFlags;
     //private ModulePIC interruptController;
     // private InterruptController interruptController;
     // Seems unneeded
@@ -149,6 +153,16 @@ public class Processor extends ModuleCPU implements HardwareComponent {
     private boolean started = false;
     public FpuState fpu;
 
+    // Decodes and compiles the code blocks of this machine's memory
+    private CodeBlockManager codeBlockManager;
+    private final Counter executedInstructions = new Counter();
+    private int compilerThreads = BackgroundCompiler.DEFAULT_COMPILER_THREADS;
+    private CodeCache codeCache;
+
+    // BIOS services handled by the emulator (null if the BIOS code runs)
+    private HighLevelBios highLevelBios;
+    private BiosCall biosCall;
+
     public Processor() {
         fpu = new FpuState64(this);
         linearMemory = null;
@@ -206,7 +220,8 @@ public class Processor extends ModuleCPU implements HardwareComponent {
         output.writeBoolean(this.eflagsInterruptEnableSoon);
         fpu.dumpState(output);
 
-        output.writeInt(interruptFlags);
+        output.writeInt(mailbox.get()
+                & (IFLAGS_HARDWARE_INTERRUPT | IFLAGS_RESET_REQUEST));
         output.writeBoolean(alignmentChecking);
         output.writeLong(resetTime);
         output.writeInt(currentPrivilegeLevel);
@@ -279,7 +294,8 @@ public class Processor extends ModuleCPU implements HardwareComponent {
         eflagsInterruptEnableSoon = input.readBoolean();
         fpu.loadState(input);
 
-        interruptFlags = input.readInt();
+        mailbox.clear(IFLAGS_HARDWARE_INTERRUPT | IFLAGS_RESET_REQUEST);
+        mailbox.raise(input.readInt());
         alignmentChecking = input.readBoolean();
         resetTime = input.readLong();
         currentPrivilegeLevel = input.readInt();
@@ -436,11 +452,6 @@ public class Processor extends ModuleCPU implements HardwareComponent {
         }
     }
 
-    public void processClock() {
-        System.out.println("JPC CPU called Clock.process()");
-        // virtualClock.process();
-    }
-
     /**
      * @param value
      */
@@ -470,44 +481,149 @@ public class Processor extends ModuleCPU implements HardwareComponent {
     }
 
     public void raiseInterrupt() {
-        synchronized (this) {
-            interruptFlags |= IFLAGS_HARDWARE_INTERRUPT;
-            this.notifyAll();
-        }
+        mailbox.raise(IFLAGS_HARDWARE_INTERRUPT);
     }
 
     public void clearInterrupt() {
-        interruptFlags &= ~IFLAGS_HARDWARE_INTERRUPT;
+        mailbox.clear(IFLAGS_HARDWARE_INTERRUPT);
     }
 
     /**
-     * @param time
-     * @return -
+     * Halts the processor until a hardware interrupt or reset request is
+     * pending. Time passes as set by the idle mode, and tasks posted in the
+     * meantime are run, so a halted processor still receives input from
+     * other threads.
      */
-    @SuppressWarnings("empty-statement")
-    public boolean waitForInterrupt(long time) {
-        synchronized (this) {
-            if ((interruptFlags & IFLAGS_HARDWARE_INTERRUPT) != 0)
-                return true;
+    public void halt() {
+        Clock clock = (Clock) super.getConnection(Module.Type.CLOCK);
+        int wake = IFLAGS_HARDWARE_INTERRUPT | IFLAGS_RESET_REQUEST;
+        int pending = mailbox.get();
+        while ((pending & wake) == 0) {
+            if ((pending & InterruptMailbox.TASKS) != 0) {
+                mailbox.runTasks();
+            } else {
+                long passed = this.idle(wake | InterruptMailbox.TASKS,
+                        clock.getTimeToNextTimer());
+                if (passed > 0) {
+                    clock.pulse((int) Math.min(passed, Integer.MAX_VALUE));
+                }
+            }
+            pending = mailbox.get();
+        }
+    }
 
-            try {
-                this.wait(time);
-            } catch (InterruptedException e) {
+    /**
+     * Lets the emulator handle frequently used BIOS services instead of the
+     * BIOS code
+     *
+     * @param bios the services to handle, or null to always run the BIOS
+     */
+    public void setHighLevelBios(HighLevelBios bios) {
+        highLevelBios = bios;
+        biosCall = bios == null ? null : new ProcessorBiosCall();
+    }
+
+    /**
+     * Returns the BIOS services handled by the emulator
+     *
+     * @return the services, or null if the BIOS code always runs
+     */
+    public HighLevelBios getHighLevelBios() {
+        return highLevelBios;
+    }
+
+    /**
+     * Offers a real mode software interrupt to the high-level BIOS. If it is
+     * handled, the registers and carry flag hold the results of the service
+     * and execution continues after the INT instruction, as if the BIOS had
+     * returned.
+     *
+     * @param vector the interrupt vector
+     * @return true if the interrupt has been handled, false if it must be
+     *         executed
+     */
+    public boolean callHighLevelBios(int vector) {
+        if (highLevelBios == null) {
+            return false;
+        }
+        BiosCall call = biosCall;
+        call.ax = eax & 0xffff;
+        call.bx = ebx & 0xffff;
+        call.cx = ecx & 0xffff;
+        call.dx = edx & 0xffff;
+        call.si = esi & 0xffff;
+        call.di = edi & 0xffff;
+        call.ds = ds.getSelector();
+        call.es = es.getSelector();
+        call.carry = getCarryFlag();
+        if (!highLevelBios.handleInterrupt(vector, call)) {
+            return false;
+        }
+        eax = (eax & 0xffff0000) | (call.ax & 0xffff);
+        ebx = (ebx & 0xffff0000) | (call.bx & 0xffff);
+        ecx = (ecx & 0xffff0000) | (call.cx & 0xffff);
+        edx = (edx & 0xffff0000) | (call.dx & 0xffff);
+        esi = (esi & 0xffff0000) | (call.si & 0xffff);
+        edi = (edi & 0xffff0000) | (call.di & 0xffff);
+        setCarryFlag(call.carry);
+        return true;
+    }
+
+    /**
+     * Registers and physical memory of this processor as seen by the
+     * high-level BIOS
+     */
+    private final class ProcessorBiosCall extends BiosCall {
+
+        @Override
+        public int getByte(int address) {
+            return physicalMemory.getByte(address) & 0xff;
+        }
+
+        @Override
+        public void setByte(int address, int value) {
+            physicalMemory.setByte(address, (byte) value);
+        }
+
+        @Override
+        public void read(int address, byte[] buffer, int offset, int length) {
+            if (isVideoMemory(address, length)) {
+                for (int i = 0; i < length; i++) {
+                    buffer[offset + i] = physicalMemory.getByte(address + i);
+                }
+            } else {
+                physicalMemory.copyContentsInto(address, buffer, offset, length);
+            }
+        }
+
+        @Override
+        public void write(int address, byte[] buffer, int offset, int length) {
+            if (isVideoMemory(address, length)) {
+                for (int i = 0; i < length; i++) {
+                    physicalMemory.setByte(address + i, buffer[offset + i]);
+                }
+            } else {
+                physicalMemory.copyContentsFrom(address, buffer, offset, length);
             }
-            ;
-            return ((interruptFlags & IFLAGS_HARDWARE_INTERRUPT) != 0);
+        }
+
+        /**
+         * The memory of the video card can only be accessed byte by byte
+         */
+        private boolean isVideoMemory(int address, int length) {
+            return address + length > 0xa0000 && address < 0xc0000;
         }
     }
 
     public void requestReset() {
-        interruptFlags |= IFLAGS_RESET_REQUEST;
+        mailbox.raise(IFLAGS_RESET_REQUEST);
     }
 
     /**
      * @return -
      */
     public int getInterruptFlags() {
-        return interruptFlags;
+        return mailbox.get();
     }
 
     /**
@@ -931,7 +1047,7 @@ public class Processor extends ModuleCPU implements HardwareComponent {
         edi = esi = ebp = esp = 0;
         edx = 0x00000633; // Pentium II Model 3 Stepping 3
 
-        interruptFlags = 0;
+        mailbox.clear(IFLAGS_HARDWARE_INTERRUPT | IFLAGS_RESET_REQUEST);
         currentPrivilegeLevel = 0;
         linearMemory.reset();
         alignmentChecking = false;
@@ -993,16 +1109,35 @@ public class Processor extends ModuleCPU implements HardwareComponent {
         return cs.translateAddressRead(eip);
     }
 
+    /**
+     * Tells whether processing interrupts after a block has any effect:
+     * either an interrupt, reset or posted task is pending, or a delayed
+     * interrupt enable has to be applied. Dispatch loops only leave a chain of
+     * blocks for the process...Interrupts methods when this is true.
+     *
+     * @return true if process...Interrupts would do anything
+     */
+    public final boolean isInterruptCheckNeeded() {
+        return mailbox.isPending()
+                || eflagsInterruptEnable != eflagsInterruptEnableSoon;
+    }
+
     public final void processRealModeInterrupts() {
+        int pending = mailbox.get();
+        if ((pending & InterruptMailbox.TASKS) != 0) {
+            mailbox.runTasks();
+            pending = mailbox.get();
+        }
+
         if (eflagsInterruptEnable) {
 
-            if ((interruptFlags & IFLAGS_RESET_REQUEST) != 0) {
+            if ((pending & IFLAGS_RESET_REQUEST) != 0) {
                 reset();
                 return;
             }
 
-            if ((interruptFlags & IFLAGS_HARDWARE_INTERRUPT) != 0) {
-                interruptFlags &= ~IFLAGS_HARDWARE_INTERRUPT;
+            if ((pending & IFLAGS_HARDWARE_INTERRUPT) != 0) {
+                mailbox.clear(IFLAGS_HARDWARE_INTERRUPT);
                 // int vector = interruptController.cpuGetInterrupt();
                 ModulePIC interruptController = (ModulePIC) super.getConnection(Module.Type.PIC);
                 int vector = interruptController.interruptAcknowledge();
@@ -1013,15 +1148,21 @@ public class Processor extends ModuleCPU implements HardwareComponent {
     }
 
     public final void processProtectedModeInterrupts() {
+        int pending = mailbox.get();
+        if ((pending & InterruptMailbox.TASKS) != 0) {
+            mailbox.runTasks();
+            pending = mailbox.get();
+        }
+
         if (eflagsInterruptEnable) {
 
-            if ((interruptFlags & IFLAGS_RESET_REQUEST) != 0) {
+            if ((pending & IFLAGS_RESET_REQUEST) != 0) {
                 reset();
                 return;
             }
 
-            if ((interruptFlags & IFLAGS_HARDWARE_INTERRUPT) != 0) {
-                interruptFlags &= ~IFLAGS_HARDWARE_INTERRUPT;
+            if ((pending & IFLAGS_HARDWARE_INTERRUPT) != 0) {
+                mailbox.clear(IFLAGS_HARDWARE_INTERRUPT);
                 // handleHardProtectedModeInterrupt(interruptController.cpuGetInterrupt());
                 ModulePIC interruptController = (ModulePIC) super.getConnection(Module.Type.PIC);
                 handleHardProtectedModeInterrupt(interruptController
@@ -1032,15 +1173,21 @@ public class Processor extends ModuleCPU implements HardwareComponent {
     }
 
     public final void processVirtual8086ModeInterrupts() {
+        int pending = mailbox.get();
+        if ((pending & InterruptMailbox.TASKS) != 0) {
+            mailbox.runTasks();
+            pending = mailbox.get();
+        }
+
         if (eflagsInterruptEnable) {
 
-            if ((interruptFlags & IFLAGS_RESET_REQUEST) != 0) {
+            if ((pending & IFLAGS_RESET_REQUEST) != 0) {
                 reset();
                 return;
             }
 
-            if ((interruptFlags & IFLAGS_HARDWARE_INTERRUPT) != 0) {
-                interruptFlags &= ~IFLAGS_HARDWARE_INTERRUPT;
+            if ((pending & IFLAGS_HARDWARE_INTERRUPT) != 0) {
+                mailbox.clear(IFLAGS_HARDWARE_INTERRUPT);
                 if ((getCR4() & CR4_VIRTUAL8086_MODE_EXTENSIONS) != 0) {
                     throw new IllegalStateException();
                 } else {
@@ -3197,4 +3344,115 @@ public class Processor extends ModuleCPU implements HardwareComponent {
     public boolean isShutdown() {
         return false;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This processor pulses the clock itself while executing microcodes, so
+     * no instructions are ever outstanding.
+     *
+     * @see dioscuri.module.ModuleCPU
+     */
+    @Override
+    public int scheduleClockPulse(int instructions) {
+        return 0;
+    }
+
+    /**
+     * Return the code block manager of this machine, creating it on first
+     * use. Each machine has its own manager, so decoded blocks and the
+     * background compiler never see the memory of another machine; only the
+     * compiled classes come from the store shared by the host.
+     *
+     * @return the code block manager of this processor
+     */
+    public CodeBlockManager getCodeBlockManager() {
+        if (codeBlockManager == null) {
+            codeBlockManager = new CodeBlockManager(
+                    (Clock) super.getConnection(Module.Type.CLOCK),
+                    compilerThreads,
+                    codeCache == null ? new CodeCache() : codeCache);
+        }
+        return codeBlockManager;
+    }
+
+    /**
+     * @return the background compiler of this machine, or null if no code
+     *         has been decoded yet or blocks are not compiled
+     */
+    public BackgroundCompiler getBackgroundCompiler() {
+        CodeBlockManager manager = codeBlockManager;
+        return manager == null ? null : manager.getBackgroundCompiler();
+    }
+
+    /**
+     * Adds the instructions of executed blocks to the running total
+     *
+     * @param count number of instructions executed
+     */
+    public void countInstructions(int count) {
+        executedInstructions.add(count);
+    }
+
+    /**
+     * Returns the number of instructions executed since the processor was
+     * created. Unlike getCurrentInstructionNumber() this is not used for
+     * timing, it is only kept for statistics.
+     *
+     * @return number of executed instructions
+     */
+    public long getExecutedInstructions() {
+        return executedInstructions.get();
+    }
+
+    /**
+     * Set the number of threads compiling hot code blocks in the background.
+     * Takes effect when the code block manager is created, so it has to be
+     * set before the machine starts.
+     *
+     * @param threads number of compiler threads, at least 1
+     */
+    public void setCompilerThreads(int threads) {
+        compilerThreads = Math.max(1, threads);
+    }
+
+    /**
+     * Set the store of compiled classes, owned by the host and shared by the
+     * machines it runs. Takes effect when the code block manager is created,
+     * so it has to be set before the machine starts.
+     *
+     * @param cache store of compiled classes, or null to keep the classes of
+     *              this machine to itself
+     */
+    public void setCodeCache(CodeCache cache) {
+        codeCache = cache;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Stops the background compiler of this machine.
+     *
+     * @see dioscuri.module.AbstractModule
+     */
+    @Override
+    public void stop() {
+        if (codeBlockManager != null) {
+            codeBlockManager.dispose();
+            codeBlockManager = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The task is run when interrupts are next processed after a block, or
+     * while the processor is halted waiting for an interrupt.
+     *
+     * @see dioscuri.module.ModuleCPU
+     */
+    @Override
+    public void runAtInstructionBoundary(Runnable task) {
+        mailbox.post(task);
+    }
 }
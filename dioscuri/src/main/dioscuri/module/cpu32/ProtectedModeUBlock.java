@@ -5100,11 +5100,7 @@ public class ProtectedModeUBlock implements ProtectedModeCodeBlock,
     }
 
     private final void halt() {
-        while (true) {
-            if (cpu.waitForInterrupt(50))
-                return;
-            cpu.processClock();
-        }
+        cpu.halt();
     }
 
     private final void jo_o8(byte offset) {
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
 
 //import org.jpc.classfile.*;
 
@@ -48,7 +49,7 @@ public abstract class RPNNode {
 
     private ExceptionHandler exceptionHandler;
 
-    private static int counter = 0;
+    private static final AtomicInteger counter = new AtomicInteger();
 
     /**
      * @param id
@@ -61,7 +62,7 @@ public abstract class RPNNode {
         useCount = 0;
         subtreeIndex = -1;
         argLinks = new Vector<RPNNode>();
-        count = counter++;
+        count = counter.getAndIncrement();
         writeCount = 0;
         writeCountMax = 0;
     }
@@ -3485,6 +3485,11 @@ public class RealModeUBlock implements RealModeCodeBlock, MicrocodeSet {
             // throw exceptionSS; //?
             // maybe just change vector value
         }
+
+        // Frequently used BIOS services may be handled by the emulator
+        if (cpu.callHighLevelBios(vector))
+            return;
+
         cpu.esp = (cpu.esp & 0xffff0000) | (0xffff & (cpu.esp - 2));
         int eflags = cpu.getEFlags() & 0xffff;
         cpu.ss.setWord(cpu.esp & 0xffff, (short) eflags);
@@ -3828,19 +3833,20 @@ public class RealModeUBlock implements RealModeCodeBlock, MicrocodeSet {
         executeCount += count;
 
         try {
+            // Fetch the whole string from the port in one go
+            short[] words = cpu.ioports.ioPortReadWords(port, count);
+            int i = 0;
             if (cpu.eflagsDirection) {
                 while (count != 0) {
                     // check hardware interrupts
-                    cpu.es.setWord(addr & 0xffff, (short) cpu.ioports
-                            .ioPortReadWord(port));
+                    cpu.es.setWord(addr & 0xffff, words[i++]);
                     count--;
                     addr -= 2;
                 }
             } else {
                 while (count != 0) {
                     // check hardware interrupts
-                    cpu.es.setWord(addr & 0xffff, (short) cpu.ioports
-                            .ioPortReadWord(port));
+                    cpu.es.setWord(addr & 0xffff, words[i++]);
                     count--;
                     addr += 2;
                 }
@@ -5455,11 +5461,7 @@ public class RealModeUBlock implements RealModeCodeBlock, MicrocodeSet {
     }
 
     private final void halt() {
-        while (true) {
-            if (cpu.waitForInterrupt(50))
-                return;
-            cpu.processClock();
-        }
+        cpu.halt();
     }
 
     private final void cpuid() {
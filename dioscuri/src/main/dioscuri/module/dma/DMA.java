@@ -60,6 +60,9 @@ import dioscuri.module.ModuleDMA;
 import dioscuri.module.ModuleMemory;
 import dioscuri.module.ModuleMotherboard;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -110,6 +113,9 @@ public class DMA extends ModuleDMA {
     public DMA8Handler[] dma8Handler = new DMA8Handler[4];
     public DMA16Handler[] dma16Handler = new DMA16Handler[4];
 
+    // Buffer for block transfers between memory and a device
+    private byte[] blockBuffer = new byte[0];
+
     // Master/Slave identifiers
     private final static int MASTER_CTRL = 0;
     private final static int SLAVE_CTRL = 1;
@@ -299,6 +305,77 @@ public class DMA extends ModuleDMA {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Channel handlers are registered again by the devices during reset, so
+     * only the registers of the controllers are stored.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        output.writeBoolean(busHoldAcknowledged);
+        output.writeBoolean(terminalCountReached);
+        output.write(ext_page_reg);
+        for (DMAController ctrl : controller) {
+            for (DMAChannel chan : ctrl.channel) {
+                output.writeByte(chan.mode.modeType);
+                output.writeBoolean(chan.mode.addressDecrement);
+                output.writeBoolean(chan.mode.autoInitEnable);
+                output.writeByte(chan.mode.transferType);
+                output.writeInt(chan.currentAddress);
+                output.writeInt(chan.currentCount);
+                output.writeInt(chan.baseAddress);
+                output.writeInt(chan.baseCount);
+                output.writeByte(chan.pageRegister);
+            }
+            for (int c = 0; c < 4; c++) {
+                output.writeBoolean(ctrl.DRQ[c]);
+                output.writeBoolean(ctrl.DACK[c]);
+            }
+            output.write(ctrl.mask);
+            output.writeBoolean(ctrl.flipflop);
+            output.writeByte(ctrl.statusRegister);
+            output.writeByte(ctrl.commandRegister);
+            output.writeBoolean(ctrl.ctrlDisabled);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        busHoldAcknowledged = input.readBoolean();
+        terminalCountReached = input.readBoolean();
+        input.readFully(ext_page_reg);
+        for (DMAController ctrl : controller) {
+            for (DMAChannel chan : ctrl.channel) {
+                chan.mode.modeType = input.readByte();
+                chan.mode.addressDecrement = input.readBoolean();
+                chan.mode.autoInitEnable = input.readBoolean();
+                chan.mode.transferType = input.readByte();
+                chan.currentAddress = input.readInt();
+                chan.currentCount = input.readInt();
+                chan.baseAddress = input.readInt();
+                chan.baseCount = input.readInt();
+                chan.pageRegister = input.readByte();
+            }
+            for (int c = 0; c < 4; c++) {
+                ctrl.DRQ[c] = input.readBoolean();
+                ctrl.DACK[c] = input.readBoolean();
+            }
+            input.readFully(ctrl.mask);
+            ctrl.flipflop = input.readBoolean();
+            ctrl.statusRegister = input.readByte();
+            ctrl.commandRegister = input.readByte();
+            ctrl.ctrlDisabled = input.readBoolean();
+        }
+    }
+
     /**
      * Reset controller's mask, command register, status registers, and
      * flip-flop
@@ -352,10 +429,10 @@ public class DMA extends ModuleDMA {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte getIOPortByte(int portAddress) throws UnknownPortException {
+    public int readByte(int portAddress) throws UnknownPortException {
         byte returnValue;
         int chanNum;
 
@@ -365,7 +442,7 @@ public class DMA extends ModuleDMA {
         // DMA is currently only used for the floppy drive, so if no floppy I/O
         // is used don't bother with DMA; return bogus value
         if (dma8Handler[FLOPPY_DMA_CHANNEL] == null)
-            return ((byte) 0xFF);
+            return 0xFF;
 
         // Determine which controller is being read
         int ctrlNum = (portAddress >= 0xC0 ? SLAVE_CTRL : MASTER_CTRL);
@@ -388,11 +465,11 @@ public class DMA extends ModuleDMA {
                 if (controller[ctrlNum].flipflop) {
                     // Return high byte, and 'flip' flipflop
                     controller[ctrlNum].flipflop = !controller[ctrlNum].flipflop;
-                    return (byte) (controller[ctrlNum].channel[chanNum].currentAddress >> 8);
+                    return (controller[ctrlNum].channel[chanNum].currentAddress >> 8) & 0xFF;
                 } else {
                     // Return low byte, and 'flip' flipflop
                     controller[ctrlNum].flipflop = !controller[ctrlNum].flipflop;
-                    return (byte) (controller[ctrlNum].channel[chanNum].currentAddress & 0xFF);
+                    return controller[ctrlNum].channel[chanNum].currentAddress & 0xFF;
                 }
 
                 // Read current word count byte; depending on flipflop state,
@@ -412,11 +489,11 @@ public class DMA extends ModuleDMA {
                 if (controller[ctrlNum].flipflop) {
                     // Return high byte, and 'flip' flipflop
                     controller[ctrlNum].flipflop = !controller[ctrlNum].flipflop;
-                    return (byte) (controller[ctrlNum].channel[chanNum].currentCount >> 8);
+                    return (controller[ctrlNum].channel[chanNum].currentCount >> 8) & 0xFF;
                 } else {
                     // Return low byte, and 'flip' flipflop
                     controller[ctrlNum].flipflop = !controller[ctrlNum].flipflop;
-                    return (byte) (controller[ctrlNum].channel[chanNum].currentCount & 0xFF);
+                    return controller[ctrlNum].channel[chanNum].currentCount & 0xFF;
                 }
 
                 // Read controller's status register
@@ -426,7 +503,7 @@ public class DMA extends ModuleDMA {
                 returnValue = controller[ctrlNum].statusRegister;
                 controller[ctrlNum].statusRegister &= 0xF0; // Clear TC flags on
                 // read
-                return returnValue;
+                return returnValue & 0xFF;
 
             // Read controller's temporary register, used in memory-to-memory
             // transfers
@@ -446,22 +523,22 @@ public class DMA extends ModuleDMA {
 
             // Read controller's page register
             case 0x81: // Controller 0, channel 2
-                return controller[ctrlNum].channel[2].pageRegister;
+                return controller[ctrlNum].channel[2].pageRegister & 0xFF;
             case 0x82: // Controller 0, channel 3
-                return controller[ctrlNum].channel[3].pageRegister;
+                return controller[ctrlNum].channel[3].pageRegister & 0xFF;
             case 0x83: // Controller 0, channel 1
-                return controller[ctrlNum].channel[1].pageRegister;
+                return controller[ctrlNum].channel[1].pageRegister & 0xFF;
             case 0x87: // Controller 0, channel 0
-                return controller[ctrlNum].channel[0].pageRegister;
+                return controller[ctrlNum].channel[0].pageRegister & 0xFF;
 
             case 0x89: // Controller 1, channel 2
-                return controller[ctrlNum].channel[2].pageRegister;
+                return controller[ctrlNum].channel[2].pageRegister & 0xFF;
             case 0x8A: // Controller 1, channel 3
-                return controller[ctrlNum].channel[3].pageRegister;
+                return controller[ctrlNum].channel[3].pageRegister & 0xFF;
             case 0x8B: // Controller 1, channel 1
-                return controller[ctrlNum].channel[1].pageRegister;
+                return controller[ctrlNum].channel[1].pageRegister & 0xFF;
             case 0x8F: // Controller 1, channel 0
-                return controller[ctrlNum].channel[0].pageRegister;
+                return controller[ctrlNum].channel[0].pageRegister & 0xFF;
 
             // Read extra page registers (temporary storage)
             // This are only read and written via I/O but serve no other use
@@ -473,7 +550,7 @@ public class DMA extends ModuleDMA {
             case 0x008C:
             case 0x008D:
             case 0x008E:
-                return ext_page_reg[portAddress & 0x0F];
+                return ext_page_reg[portAddress & 0x0F] & 0xFF;
 
             // Read all Mask bits (only in Intel 82374)
             case 0x0F: // Controller 0
@@ -481,7 +558,7 @@ public class DMA extends ModuleDMA {
                 returnValue = (byte) (controller[ctrlNum].mask[0]
                         | (controller[ctrlNum].mask[1] << 1)
                         | (controller[ctrlNum].mask[2] << 2) | (controller[ctrlNum].mask[3] << 3));
-                return (byte) (0xF0 | returnValue);
+                return 0xF0 | returnValue;
 
             default:
                 throw new UnknownPortException("[" + super.getType() + "]"
@@ -493,11 +570,12 @@ public class DMA extends ModuleDMA {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortByte(int portAddress, byte data)
+    public void writeByte(int portAddress, int value)
             throws UnknownPortException {
+        byte data = (byte) value;
         int chanNum; // Controller channel number
 
         logger.log(Level.CONFIG, "[" + super.getType() + "]"
@@ -822,37 +900,36 @@ public class DMA extends ModuleDMA {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortWord(int portAddress) throws UnknownPortException {
-        byte[] data = new byte[2];
-        data[0] = getIOPortByte(portAddress);
-        data[1] = getIOPortByte(portAddress);
+    public int readWord(int portAddress) throws UnknownPortException {
+        // The flip-flop hands out the low byte first
+        int low = readByte(portAddress);
+        int high = readByte(portAddress);
 
-        return data;
+        return (high << 8) | low;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortWord(int portAddress, byte[] dataWord)
+    public void writeWord(int portAddress, int value)
             throws UnknownPortException {
-        setIOPortByte(portAddress, dataWord[1]);
-        setIOPortByte(portAddress, dataWord[0]);
+        writeByte(portAddress, value & 0xFF);
+        writeByte(portAddress, (value >> 8) & 0xFF);
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortDoubleWord(int portAddress)
-            throws WriteOnlyPortException {
+    public int readDword(int portAddress) throws WriteOnlyPortException {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " -> IN command (double word) to port "
                 + Integer.toHexString(portAddress).toUpperCase() + " received");
@@ -860,16 +937,16 @@ public class DMA extends ModuleDMA {
                 + " -> Returned default value 0xFFFFFFFF to eAX");
 
         // Return dummy value 0xFFFFFFFF
-        return new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+        return 0xFFFFFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
+    public void writeDword(int portAddress, int value)
             throws UnknownPortException {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " OUT command (double word) to port "
@@ -1232,6 +1309,15 @@ public class DMA extends ModuleDMA {
                                         controller[ctrlNum].channel[chanNum].currentAddress & 0xFF)
                                 .toUpperCase());
 
+        // Transfer all but the last element of the request in one go, if the
+        // device supports it
+        try {
+            transferBlock(ctrlNum, chanNum);
+        } catch (ModuleException e) {
+            logger.log(Level.SEVERE, "[DMA] Error in DMA block transfer: "
+                    + e.getMessage());
+        }
+
         // Determine memory address - this is stored in the DMA channel
         memoryAddress = ((controller[ctrlNum].channel[chanNum].pageRegister << 16) | (controller[ctrlNum].channel[chanNum].currentAddress << ctrlNum));
 
@@ -1244,10 +1330,11 @@ public class DMA extends ModuleDMA {
         controller[ctrlNum].DACK[chanNum] = true; // Acknowledge DMA Request
 
         // Decrease count and inc/dec current address depending on mode
+        // The current address register is 16 bits wide and wraps around
         if (controller[ctrlNum].channel[chanNum].mode.addressDecrement) {
-            controller[ctrlNum].channel[chanNum].currentAddress--;
+            controller[ctrlNum].channel[chanNum].currentAddress = (controller[ctrlNum].channel[chanNum].currentAddress - 1) & 0xFFFF;
         } else {
-            controller[ctrlNum].channel[chanNum].currentAddress++;
+            controller[ctrlNum].channel[chanNum].currentAddress = (controller[ctrlNum].channel[chanNum].currentAddress + 1) & 0xFFFF;
         }
         controller[ctrlNum].channel[chanNum].currentCount--;
 
@@ -1377,6 +1464,123 @@ public class DMA extends ModuleDMA {
         }
     }
 
+    /**
+     * Transfers a block of elements between memory and the registered
+     * 8-bit/16-bit handler, as if the same number of single transfers had
+     * been done. The block stops short of the element that reaches terminal
+     * count and of the element at the end of the 64K address range, so those
+     * are still handled by the single transfer that follows.
+     *
+     * @param ctrlNum Controller whose channel is requesting a transfer
+     * @param chanNum Channel number of the request
+     * @throws ModuleException
+     */
+    private void transferBlock(int ctrlNum, int chanNum)
+            throws ModuleException {
+        DMAChannel channel = controller[ctrlNum].channel[chanNum];
+        int transferType = channel.mode.transferType;
+        if (transferType != DMAModeRegister.DMA_TRANSFER_WRITE
+                && transferType != DMAModeRegister.DMA_TRANSFER_READ) {
+            return;
+        }
+        if (ctrlNum == MASTER_CTRL ? dma8Handler[chanNum] == null
+                : dma16Handler[chanNum] == null) {
+            return;
+        }
+
+        // The element at the end of the 64K range is left to the single
+        // transfer, which wraps the current address
+        boolean down = channel.mode.addressDecrement;
+        int count = Math.min(channel.currentCount,
+                down ? channel.currentAddress
+                        : 0xFFFF - channel.currentAddress);
+        if (count <= 0) {
+            return;
+        }
+
+        int size = 1 << ctrlNum;
+        int lowest = (channel.pageRegister << 16)
+                | ((down ? channel.currentAddress - (count - 1)
+                        : channel.currentAddress) << ctrlNum);
+
+        ModuleMemory memory = (ModuleMemory) super.getConnection(Module.Type.MEMORY);
+        int length = count * size;
+        if (blockBuffer.length < length) {
+            blockBuffer = new byte[length];
+        }
+
+        int moved;
+        if (transferType == DMAModeRegister.DMA_TRANSFER_WRITE) // device ->
+        // memory
+        {
+            moved = ctrlNum == MASTER_CTRL ? dma8Handler[chanNum]
+                    .dma8WriteToMem(blockBuffer, 0, count)
+                    : dma16Handler[chanNum].dma16WriteToMem(blockBuffer, 0,
+                            count);
+            if (moved <= 0) {
+                return;
+            }
+            int start = channel.currentAddress << ctrlNum;
+            if (down) {
+                reverseElements(blockBuffer, moved, size);
+                start -= (moved - 1) * size;
+            }
+            start |= channel.pageRegister << 16;
+            if (!memory.setRange(start, blockBuffer, 0, moved * size)) {
+                for (int i = 0; i < moved * size; i++) {
+                    memory.setByte(start + i, blockBuffer[i]);
+                }
+            }
+        } else // memory -> device
+        {
+            // Memory is only read in bulk if reading has no side effects
+            byte[] data = memory.getRamRange(lowest, length);
+            if (data == null) {
+                return;
+            }
+            int offset = lowest;
+            if (down) {
+                System.arraycopy(data, lowest, blockBuffer, 0, length);
+                reverseElements(blockBuffer, count, size);
+                data = blockBuffer;
+                offset = 0;
+            }
+            moved = ctrlNum == MASTER_CTRL ? dma8Handler[chanNum]
+                    .dma8ReadFromMem(data, offset, count)
+                    : dma16Handler[chanNum].dma16ReadFromMem(data, offset,
+                            count);
+            if (moved <= 0) {
+                return;
+            }
+        }
+
+        // Update address and count as the single transfers would have done
+        if (down) {
+            channel.currentAddress -= moved;
+        } else {
+            channel.currentAddress += moved;
+        }
+        channel.currentCount -= moved;
+    }
+
+    /**
+     * Reverses the order of the elements at the start of an array, keeping
+     * the byte order within each element
+     *
+     * @param data  array holding the elements
+     * @param count number of elements
+     * @param size  size of an element in bytes
+     */
+    private static void reverseElements(byte[] data, int count, int size) {
+        for (int left = 0, right = (count - 1) * size; left < right; left += size, right -= size) {
+            for (int i = 0; i < size; i++) {
+                byte temp = data[left + i];
+                data[left + i] = data[right + i];
+                data[right + i] = temp;
+            }
+        }
+    }
+
     /**
      * Registers the cascade channel, 4. Does not implement any read or write
      * methods,<BR>
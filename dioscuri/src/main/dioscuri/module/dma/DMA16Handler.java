@@ -67,4 +67,41 @@ public abstract class DMA16Handler {
      * @return Word from device that will be written to memory
      */
     public abstract byte[] dma16WriteToMem();
+
+    /**
+     * Device-specific implementation of the 16-bit DMA read functionality for
+     * a block of words.<BR>
+     * The DMA controller passes several words read from memory at once, in
+     * memory byte order; the device takes as many as it can handle without
+     * acting on any of them individually. The word on which the terminal
+     * count is reached is never part of a block, it is always passed by
+     * dma16ReadFromMem(byte[]). Devices that do not support blocks take no
+     * words at all.
+     *
+     * @param data   Words from memory, which must not be modified
+     * @param offset Index in data of the first byte of the first word
+     * @param words  Number of words available in data
+     * @return Number of words taken by the device
+     */
+    public int dma16ReadFromMem(byte[] data, int offset, int words) {
+        return 0;
+    }
+
+    /**
+     * Device-specific implementation of the 16-bit DMA write functionality
+     * for a block of words.<BR>
+     * The device stores as many words as it can deliver without acting on any
+     * of them individually, in memory byte order, which are then written to
+     * memory at once. The word on which the terminal count is reached is
+     * never part of a block, it is always requested by dma16WriteToMem().
+     * Devices that do not support blocks deliver no words at all.
+     *
+     * @param data   Array the words for memory are stored in
+     * @param offset Index in data of the first byte of the first word
+     * @param words  Maximum number of words to store
+     * @return Number of words stored by the device
+     */
+    public int dma16WriteToMem(byte[] data, int offset, int words) {
+        return 0;
+    }
 }
@@ -67,4 +67,40 @@ public abstract class DMA8Handler {
      * @return Byte from device that will be written to memory
      */
     public abstract byte dma8WriteToMem();
+
+    /**
+     * Device-specific implementation of the 8-bit DMA read functionality for
+     * a block of bytes.<BR>
+     * The DMA controller passes several bytes read from memory at once; the
+     * device takes as many as it can handle without acting on any of them
+     * individually. The byte on which the terminal count is reached is never
+     * part of a block, it is always passed by dma8ReadFromMem(byte).
+     * Devices that do not support blocks take no bytes at all.
+     *
+     * @param data   Bytes from memory, which must not be modified
+     * @param offset Index in data of the first byte
+     * @param length Number of bytes available in data
+     * @return Number of bytes taken by the device
+     */
+    public int dma8ReadFromMem(byte[] data, int offset, int length) {
+        return 0;
+    }
+
+    /**
+     * Device-specific implementation of the 8-bit DMA write functionality for
+     * a block of bytes.<BR>
+     * The device stores as many bytes as it can deliver without acting on
+     * any of them individually, which are then written to memory at once. The
+     * byte on which the terminal count is reached is never part of a block,
+     * it is always requested by dma8WriteToMem(). Devices that do not support
+     * blocks deliver no bytes at all.
+     *
+     * @param data   Array the bytes for memory are stored in
+     * @param offset Index in data of the first byte
+     * @param length Maximum number of bytes to store
+     * @return Number of bytes stored by the device
+     */
+    public int dma8WriteToMem(byte[] data, int offset, int length) {
+        return 0;
+    }
 }
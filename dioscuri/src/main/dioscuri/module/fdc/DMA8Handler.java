@@ -87,4 +87,38 @@ public class DMA8Handler extends dioscuri.module.dma.DMA8Handler {
         // index is incremented
         return fdc.getDMAByte();
     }
+
+    /**
+     * Implementation of the 8-bit DMA read functionality for a block of
+     * bytes.<BR>
+     * Bytes are stored in the floppy buffer up to, but not including, the
+     * last byte of the current sector.
+     *
+     * @param data   Bytes from memory, which must not be modified
+     * @param offset Index in data of the first byte
+     * @param length Number of bytes available in data
+     * @return Number of bytes taken by the FDC
+     */
+    @Override
+    public int dma8ReadFromMem(byte[] data, int offset, int length) {
+        // DMA read: from memory to I/O
+        return fdc.setDMABytes(data, offset, length);
+    }
+
+    /**
+     * Implementation of the 8-bit DMA write functionality for a block of
+     * bytes.<BR>
+     * Bytes are taken from the floppy buffer up to, but not including, the
+     * last byte of the current sector.
+     *
+     * @param data   Array the bytes for memory are stored in
+     * @param offset Index in data of the first byte
+     * @param length Maximum number of bytes to store
+     * @return Number of bytes delivered by the FDC
+     */
+    @Override
+    public int dma8WriteToMem(byte[] data, int offset, int length) {
+        // DMA write: from I/O to memory
+        return fdc.getDMABytes(data, offset, length);
+    }
 }
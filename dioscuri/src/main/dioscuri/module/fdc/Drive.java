@@ -41,9 +41,10 @@ package dioscuri.module.fdc;
 
 import dioscuri.exception.StorageDeviceException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
 
 /**
  * @author Bram Lohman
@@ -63,6 +64,7 @@ public class Drive {
 
     // Floppy parameters
     private Floppy floppy; // Floppy in drive (if any, else null)
+    private boolean mappedImage; // Map floppy images into memory when inserted
     protected int floppyType; // Type of floppy that is in drive
     protected int tracks; // Total number of tracks on floppy
     protected int heads; // Total number of heads on floppy
@@ -276,6 +278,16 @@ public class Drive {
         return -1;
     }
 
+    /**
+     * Set if floppy images inserted into this drive are mapped into memory
+     * instead of loaded
+     *
+     * @param mapped
+     */
+    protected void setMappedImage(boolean mapped) {
+        this.mappedImage = mapped;
+    }
+
     /**
      * Inserts a floppy into the drive
      *
@@ -288,7 +300,7 @@ public class Drive {
                                 boolean writeProtected) throws StorageDeviceException {
         try {
             // Create new virtual floppy
-            floppy = new Floppy(floppyType, imageFile);
+            floppy = new Floppy(floppyType, imageFile, mappedImage);
 
             // Set geometry for drive
             this.floppyType = floppyType;
@@ -322,7 +334,7 @@ public class Drive {
             }
 
             // Check if floppy should be write protected
-            this.writeProtected = writeProtected;
+            this.writeProtected = writeProtected || floppy.isReadOnly();
         } catch (IOException e) {
             throw new StorageDeviceException("Floppy could not be inserted.");
         }
@@ -367,32 +379,8 @@ public class Drive {
             throws StorageDeviceException {
         // Copy bytes from floppy to buffer
         if (this.containsFloppy()) {
-            // Check if full amount of bytes can be read
-            try {
-                System.arraycopy(floppy.bytes, offset, floppyBuffer, 0,
-                        totalBytes);
-            } catch (ArrayIndexOutOfBoundsException e1) {
-                // Not the full array could be copied, so do a partial read if
-                // possible
-                if (offset < floppy.bytes.length) {
-                    int partialBytes = floppy.bytes.length - offset;
-                    System.arraycopy(floppy.bytes, offset, floppyBuffer, 0,
-                            partialBytes);
-                    // Fill the rest of the read with zeroes
-                    Arrays.fill(floppyBuffer, partialBytes, totalBytes,
-                            (byte) 0);
-                    // logger.log(Level.INFO, "[" + super.getType() + "]" +
-                    // " Calculated step delay: " + numSteps *
-                    // oneStepDelayTime);
-                } else {
-                    // No read possible at all, fill zeroes
-                    Arrays.fill(floppyBuffer, 0, totalBytes, (byte) 0);
-                    // logger.log(Level.INFO, "[" + super.getType() + "]" +
-                    // " Calculated step delay: " + numSteps *
-                    // oneStepDelayTime);
-                }
-
-            }
+            // Bytes beyond the end of the floppy are read as zeroes
+            floppy.readBytes(offset, floppyBuffer, totalBytes);
 
             // TODO: Increment sector can also taken care of here instead of in
             // FDC (may be better in OO-terms)
@@ -414,7 +402,7 @@ public class Drive {
             throws StorageDeviceException {
         // Copy bytes from buffer to floppy
         if (this.containsFloppy() && !writeProtected) {
-            System.arraycopy(floppyBuffer, 0, floppy.bytes, offset, totalBytes);
+            floppy.writeBytes(offset, floppyBuffer, totalBytes);
 
             // TODO: Increment sector can also taken care of here instead of in
             // FDC (may be better in OO-terms)
@@ -500,4 +488,46 @@ public class Drive {
 
         return driveInfo + ret + tab + tab + floppyInfo;
     }
+
+    /**
+     * Writes the position and registers of this drive to the given output.
+     * Data written to the floppy is stored in its image file first, so that
+     * the image file matches the snapshot.
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        if (floppy != null && !writeProtected) {
+            floppy.storeImageToFile();
+        }
+        output.writeInt(floppyType);
+        output.writeBoolean(motorRunning);
+        output.writeInt(eot);
+        output.writeInt(hds);
+        output.writeInt(cylinder);
+        output.writeInt(sector);
+        output.writeBoolean(multiTrack);
+        output.writeByte(dir);
+    }
+
+    /**
+     * Reads the position and registers of this drive from the given input.
+     * The same type of floppy must be inserted as when the state was written.
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        if (input.readInt() != floppyType) {
+            throw new IOException("Floppy type does not match snapshot");
+        }
+        motorRunning = input.readBoolean();
+        eot = input.readInt();
+        hds = input.readInt();
+        cylinder = input.readInt();
+        sector = input.readInt();
+        multiTrack = input.readBoolean();
+        dir = input.readByte();
+    }
 }
@@ -56,7 +56,10 @@ import dioscuri.module.cpu32.DMAController;
 import dioscuri.module.cpu32.DMATransferCapable;
 import dioscuri.module.cpu32.HardwareComponent;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -490,6 +493,102 @@ public class FDC extends ModuleFDC implements DMATransferCapable {
         return reset(1);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The contents of the floppies are not part of the state; the same
+     * floppy images have to be inserted when the state is restored.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        output.writeBoolean(pendingIRQ);
+        output.writeInt(resetSenseInterrupt);
+        output.writeBoolean(tc);
+        output.writeBoolean(dmaAndInterruptEnabled);
+        output.writeInt(dataRate);
+        output.writeBoolean(fdcEnabled);
+        output.writeBoolean(fdcEnabledPrevious);
+        output.writeInt(drive);
+        output.writeInt(formatCount);
+        output.writeByte(formatFillbyte);
+        output.write(floppyBuffer);
+        output.writeInt(floppyBufferIndex);
+        output.writeByte(floppyBufferCurrentByte);
+        output.write(command);
+        output.writeInt(commandIndex);
+        output.writeInt(commandSize);
+        output.writeInt(commandPending);
+        output.writeBoolean(commandComplete);
+        output.write(result);
+        output.writeInt(resultIndex);
+        output.writeInt(resultSize);
+        output.write(new byte[]{nonDMA, lock, srt, hut, hlt, config, preTrack, perpMode});
+        output.writeByte(dor);
+        output.writeByte(tdr);
+        output.writeByte(msr);
+        output.writeInt(statusRegister0);
+        output.writeInt(statusRegister1);
+        output.writeInt(statusRegister2);
+        output.writeInt(statusRegister3);
+        output.writeInt(drives.length);
+        for (Drive d : drives) {
+            d.dumpState(output);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        pendingIRQ = input.readBoolean();
+        resetSenseInterrupt = input.readInt();
+        tc = input.readBoolean();
+        dmaAndInterruptEnabled = input.readBoolean();
+        dataRate = input.readInt();
+        fdcEnabled = input.readBoolean();
+        fdcEnabledPrevious = input.readBoolean();
+        drive = input.readInt();
+        formatCount = input.readInt();
+        formatFillbyte = input.readByte();
+        input.readFully(floppyBuffer);
+        floppyBufferIndex = input.readInt();
+        floppyBufferCurrentByte = input.readByte();
+        input.readFully(command);
+        commandIndex = input.readInt();
+        commandSize = input.readInt();
+        commandPending = input.readInt();
+        commandComplete = input.readBoolean();
+        input.readFully(result);
+        resultIndex = input.readInt();
+        resultSize = input.readInt();
+        nonDMA = input.readByte();
+        lock = input.readByte();
+        srt = input.readByte();
+        hut = input.readByte();
+        hlt = input.readByte();
+        config = input.readByte();
+        preTrack = input.readByte();
+        perpMode = input.readByte();
+        dor = input.readByte();
+        tdr = input.readByte();
+        msr = input.readByte();
+        statusRegister0 = input.readInt();
+        statusRegister1 = input.readInt();
+        statusRegister2 = input.readInt();
+        statusRegister3 = input.readInt();
+        if (input.readInt() != drives.length) {
+            throw new IOException("[" + super.getType() + "] Number of drives does not match snapshot");
+        }
+        for (Drive d : drives) {
+            d.loadState(input);
+        }
+    }
+
     /**
      * FDC specific reset, with value to indicate reset type
      *
@@ -581,6 +680,49 @@ public class FDC extends ModuleFDC implements DMATransferCapable {
         }
     }
 
+    /**
+     * Transfers whole sectors between the floppy in a drive and a buffer,
+     * bypassing the controller. The sectors must lie on a single track, as
+     * a BIOS transfer through the controller can not cross a track either.
+     * Like a seek of the controller, the transfer resets the change line.
+     *
+     * @param driveIndex index of the drive
+     * @param cylinder   cylinder of the first sector
+     * @param head       head of the first sector
+     * @param sector     number of the first sector, starting at 1
+     * @param count      number of sectors
+     * @param buffer     buffer holding count sectors, starting at index 0
+     * @param write      true to write the buffer to the floppy, false to read
+     * @return true if the sectors have been transferred, false if the drive
+     *         holds no (writable) floppy or the sectors do not exist
+     * @throws StorageDeviceException
+     */
+    public boolean transferSectors(int driveIndex, int cylinder, int head,
+                                   int sector, int count, byte[] buffer, boolean write)
+            throws StorageDeviceException {
+        if (driveIndex < 0 || driveIndex >= drives.length
+                || drives[driveIndex] == null
+                || !drives[driveIndex].containsFloppy()) {
+            return false;
+        }
+        Drive drive = drives[driveIndex];
+        if (cylinder >= drive.tracks || head >= drive.heads || sector < 1
+                || count < 1 || sector + count - 1 > drive.sectorsPerTrack
+                || (write && drive.writeProtected)) {
+            return false;
+        }
+
+        int logicalSector = (cylinder * drive.heads + head)
+                * drive.sectorsPerTrack + sector - 1;
+        if (write) {
+            drive.writeData(logicalSector * 512, count * 512, buffer);
+        } else {
+            drive.readData(logicalSector * 512, count * 512, buffer);
+        }
+        drive.resetChangeline();
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -1364,6 +1506,28 @@ public class FDC extends ModuleFDC implements DMATransferCapable {
         return ejectCarrier(driveIndex);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleFDC
+     */
+    @Override
+    public boolean setCarrierMapped(String driveLetter, boolean mapped) {
+        // Convert driveletter into index
+        int driveIndex = -1;
+        if (driveLetter.equalsIgnoreCase("A")) {
+            driveIndex = 0;
+        } else if (driveLetter.equalsIgnoreCase("B")) {
+            driveIndex = 1;
+        }
+
+        if (driveIndex >= 0 && driveIndex < drives.length) {
+            drives[driveIndex].setMappedImage(mapped);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -2527,6 +2691,50 @@ public class FDC extends ModuleFDC implements DMATransferCapable {
         }
     }
 
+    /**
+     * Get bytes from floppy buffer for a DMA block transfer from FDC to
+     * memory. The last byte of a sector is left to getDMAByte(), which moves
+     * on to the next sector or ends the transfer.
+     *
+     * @param data   array the bytes are copied to
+     * @param offset index in data of the first byte
+     * @param length maximum number of bytes to copy
+     * @return number of bytes copied
+     */
+    protected int getDMABytes(byte[] data, int offset, int length) {
+        int count = Math.min(length, 511 - floppyBufferIndex);
+        if (count <= 0) {
+            return 0;
+        }
+        System.arraycopy(floppyBuffer, floppyBufferIndex, data, offset, count);
+        floppyBufferIndex += count;
+        floppyBufferCurrentByte = data[offset + count - 1];
+        return count;
+    }
+
+    /**
+     * Set bytes in floppy buffer for a DMA block transfer from memory to FDC.
+     * The last byte of a sector is left to setDMAByte(), which writes the
+     * sector to floppy. Formatting a track is always done byte by byte.
+     *
+     * @param data   array the bytes are copied from
+     * @param offset index in data of the first byte
+     * @param length number of bytes available in data
+     * @return number of bytes copied
+     */
+    protected int setDMABytes(byte[] data, int offset, int length) {
+        if (commandPending == 0x4D) {
+            return 0;
+        }
+        int count = Math.min(length, 511 - floppyBufferIndex);
+        if (count <= 0) {
+            return 0;
+        }
+        System.arraycopy(data, offset, floppyBuffer, floppyBufferIndex, count);
+        floppyBufferIndex += count;
+        return count;
+    }
+
     /**
      * Calculate the delay for timer This method makes an approximation of the
      * delay in the drive It does this based on the gap between current position
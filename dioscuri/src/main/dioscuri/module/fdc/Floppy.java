@@ -40,6 +40,10 @@
 package dioscuri.module.fdc;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 
 /**
  * @author Bram Lohman
@@ -49,6 +53,7 @@ public class Floppy {
     // Attributes
     protected byte type;
     protected byte[] bytes;
+    private MappedByteBuffer mappedBytes; // Image mapped into memory (if mapped, else null)
     private File imageFile;
 
     // Constructor
@@ -60,6 +65,7 @@ public class Floppy {
         // Initialise variables
         type = 0;
         bytes = null;
+        mappedBytes = null;
     }
 
     /**
@@ -70,6 +76,19 @@ public class Floppy {
      * @throws IOException if file cannot be read (or does not exist)
      */
     public Floppy(byte type, File imageFile) throws IOException {
+        this(type, imageFile, false);
+    }
+
+    /**
+     * Constructor Floppy
+     *
+     * @param type
+     * @param imageFile
+     * @param mapped    true to map the image file into memory instead of
+     *                  loading it
+     * @throws IOException if file cannot be read (or does not exist)
+     */
+    public Floppy(byte type, File imageFile, boolean mapped) throws IOException {
         this();
 
         // Set type of floppydisk
@@ -78,8 +97,13 @@ public class Floppy {
         // Set pointer to image file
         this.imageFile = imageFile;
 
-        // Load image into bytes buffer
-        this.loadImageFromFile();
+        if (mapped) {
+            // Access image file through memory mapping
+            this.mapImageFile();
+        } else {
+            // Load image into bytes buffer
+            this.loadImageFromFile();
+        }
     }
 
     // Methods
@@ -90,9 +114,62 @@ public class Floppy {
      * @return -
      */
     protected int getSize() {
+        if (mappedBytes != null) {
+            return mappedBytes.capacity();
+        }
         return bytes.length;
     }
 
+    /**
+     * Check if the floppy image is mapped read-only, in which case it can
+     * not be written to
+     *
+     * @return true if the image can not be written to, false otherwise
+     */
+    protected boolean isReadOnly() {
+        return mappedBytes != null && mappedBytes.isReadOnly();
+    }
+
+    /**
+     * Read bytes from floppy. Bytes beyond the end of the floppy are returned
+     * as zeroes.
+     *
+     * @param offset     offset on floppy of the first byte
+     * @param buffer     buffer receiving the bytes
+     * @param totalBytes number of bytes to read
+     */
+    protected void readBytes(int offset, byte[] buffer, int totalBytes) {
+        int available = Math.max(0, Math.min(totalBytes, this.getSize() - offset));
+        if (available > 0) {
+            if (mappedBytes != null) {
+                ByteBuffer source = mappedBytes.duplicate();
+                source.position(offset);
+                source.get(buffer, 0, available);
+            } else {
+                System.arraycopy(bytes, offset, buffer, 0, available);
+            }
+        }
+        // Fill the rest of the read with zeroes
+        Arrays.fill(buffer, available, totalBytes, (byte) 0);
+    }
+
+    /**
+     * Write bytes to floppy
+     *
+     * @param offset     offset on floppy of the first byte
+     * @param buffer     buffer holding the bytes
+     * @param totalBytes number of bytes to write
+     */
+    protected void writeBytes(int offset, byte[] buffer, int totalBytes) {
+        if (mappedBytes != null) {
+            ByteBuffer target = mappedBytes.duplicate();
+            target.position(offset);
+            target.put(buffer, 0, totalBytes);
+        } else {
+            System.arraycopy(buffer, 0, bytes, offset, totalBytes);
+        }
+    }
+
     /**
      * Load image from file
      *
@@ -112,12 +189,41 @@ public class Floppy {
         bdis.close();
     }
 
+    /**
+     * Map image file into memory. Image files that can not be written to are
+     * mapped read-only.
+     *
+     * @throws IOException if file cannot be read (or does not exist)
+     */
+    private void mapImageFile() throws IOException {
+        boolean readOnly = !imageFile.canWrite();
+        RandomAccessFile randomAccessFile = new RandomAccessFile(imageFile,
+                readOnly ? "r" : "rw");
+        try {
+            // The mapping stays valid after the file has been closed
+            mappedBytes = randomAccessFile.getChannel().map(
+                    readOnly ? FileChannel.MapMode.READ_ONLY
+                            : FileChannel.MapMode.READ_WRITE, 0,
+                    randomAccessFile.length());
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
     /**
      * Store image to file
      *
      * @throws IOException if file cannot be written (or does not exist)
      */
     protected void storeImageToFile() throws IOException {
+        if (mappedBytes != null) {
+            // Data is already in the image file, make sure it reaches the disk
+            if (!mappedBytes.isReadOnly()) {
+                mappedBytes.force();
+            }
+            return;
+        }
+
         // Store bytes to image file
         // Open output stream
         BufferedOutputStream bdos = new BufferedOutputStream(
@@ -47,6 +47,9 @@ import dioscuri.interfaces.Module;
 import dioscuri.module.*;
 
 import java.awt.event.KeyEvent;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -102,7 +105,7 @@ public class Keyboard extends ModuleKeyboard {
     // Only write to if status port bit1 = 0
     private final static int STATUS_PORT = 0x64; // Read/Write port
 
-    static int kbdInitialised = 0; // Keep track of initialisation of keyboard
+    private int kbdInitialised = 0; // Keep track of initialisation of keyboard
 
     // Device source
     private final static int KEYBOARD = 0; // Source is keyboard
@@ -223,6 +226,30 @@ public class Keyboard extends ModuleKeyboard {
         return resetKeyboardBuffer(1);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        output.writeBoolean(pendingIRQ);
+        output.writeInt(kbdInitialised);
+        keyboard.dumpState(output);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        pendingIRQ = input.readBoolean();
+        kbdInitialised = input.readInt();
+        keyboard.loadState(input);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -300,10 +327,10 @@ public class Keyboard extends ModuleKeyboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte getIOPortByte(int portAddress) throws UnknownPortException,
+    public int readByte(int portAddress) throws UnknownPortException,
             WriteOnlyPortException {
         byte value;
 
@@ -339,7 +366,7 @@ public class Keyboard extends ModuleKeyboard {
                             + " read: "
                             + Integer.toHexString(0x100 | value & 0xFF)
                             .substring(1).toUpperCase() + "h");
-                    return value;
+                    return value & 0xFF;
                 } else if (keyboard.controller.outputBuffer != 0) // Keyboard byte
                 // available
                 {
@@ -369,7 +396,7 @@ public class Keyboard extends ModuleKeyboard {
                             + " read: "
                             + Integer.toHexString(0x100 | value & 0xFF)
                             .substring(1).toUpperCase() + "h");
-                    return value;
+                    return value & 0xFF;
                 } else // Nothing to read available
                 {
                     logger.log(Level.INFO, "[" + super.getType() + "]"
@@ -377,7 +404,7 @@ public class Keyboard extends ModuleKeyboard {
                             + keyboard.internalBuffer.getBuffer().size());
                     logger.log(Level.WARNING, "[" + super.getType() + "]"
                             + " Port 0x60 read but output buffer empty!");
-                    return keyboard.controller.kbdOutputBuffer;
+                    return keyboard.controller.kbdOutputBuffer & 0xFF;
                 }
 
             case (0x64): // Status register; create status byte
@@ -389,7 +416,7 @@ public class Keyboard extends ModuleKeyboard {
                         | (keyboard.controller.systemFlag << 2)
                         | (keyboard.controller.inputBuffer << 1) | keyboard.controller.outputBuffer);
                 keyboard.controller.timeOut = 0;
-                return value;
+                return value & 0xFF;
 
             default:
                 throw new UnknownPortException(super.getType()
@@ -401,11 +428,12 @@ public class Keyboard extends ModuleKeyboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortByte(int portAddress, byte value)
+    public void writeByte(int portAddress, int data)
             throws UnknownPortException {
+        byte value = (byte) data;
 
         ModuleMotherboard motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
 
@@ -868,10 +896,10 @@ public class Keyboard extends ModuleKeyboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortWord(int portAddress) throws ModuleException,
+    public int readWord(int portAddress) throws ModuleException,
             WriteOnlyPortException {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " IN command (word) to port 0x"
@@ -880,17 +908,16 @@ public class Keyboard extends ModuleKeyboard {
                 + " Returned default value 0xFFFF to AX");
 
         // Return dummy value 0xFFFF
-        return new byte[]{(byte) 0x0FF, (byte) 0x0FF};
+        return 0xFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortWord(int portAddress, byte[] dataWord)
-            throws ModuleException {
+    public void writeWord(int portAddress, int value) throws ModuleException {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " OUT command (word) to port 0x"
                 + Integer.toHexString(portAddress).toUpperCase()
@@ -900,10 +927,10 @@ public class Keyboard extends ModuleKeyboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortDoubleWord(int portAddress) throws ModuleException,
+    public int readDword(int portAddress) throws ModuleException,
             WriteOnlyPortException {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " IN command (double word) to port 0x"
@@ -912,18 +939,16 @@ public class Keyboard extends ModuleKeyboard {
                 + " Returned default value 0xFFFFFFFF to eAX");
 
         // Return dummy value 0xFFFFFFFF
-        return new byte[]{(byte) 0x0FF, (byte) 0x0FF, (byte) 0x0FF,
-                (byte) 0x0FF};
+        return 0xFFFFFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
-            throws ModuleException {
+    public void writeDword(int portAddress, int value) throws ModuleException {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " OUT command (double word) to port 0x"
                 + Integer.toHexString(portAddress).toUpperCase()
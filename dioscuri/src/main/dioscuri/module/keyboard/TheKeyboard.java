@@ -39,6 +39,9 @@
 
 package dioscuri.module.keyboard;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -72,4 +75,97 @@ public class TheKeyboard {
     public synchronized List<Byte> getControllerQueue() {
         return this.controllerQueue;
     }
+
+    /**
+     * Writes the controller, internal buffer and controller queue to the
+     * given output
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected synchronized void dumpState(DataOutput output) throws IOException {
+        output.write(new byte[]{controller.parityError, controller.timeOut,
+                controller.auxBuffer, controller.keyboardLock,
+                controller.commandData, controller.systemFlag,
+                controller.inputBuffer, controller.outputBuffer,
+                controller.translateScancode, controller.auxClockEnabled,
+                controller.kbdClockEnabled, controller.allowIRQ12,
+                controller.allowIRQ1, controller.kbdOutputBuffer,
+                controller.auxOutputBuffer, controller.lastCommand,
+                controller.expectingPort60h, controller.irq1Requested,
+                controller.irq12Requested, controller.expectingMouseParameter,
+                controller.currentScancodeSet, controller.batInProgress});
+        output.writeInt(controller.timerPending);
+
+        output.write(new byte[]{internalBuffer.expectingTypematic,
+                internalBuffer.expectingLEDWrite,
+                internalBuffer.expectingScancodeSet,
+                internalBuffer.keyPressDelay, internalBuffer.keyRepeatRate,
+                internalBuffer.ledStatus, internalBuffer.scanningEnabled});
+        dumpBytes(output, internalBuffer.getBuffer());
+        dumpBytes(output, controllerQueue);
+    }
+
+    /**
+     * Reads the controller, internal buffer and controller queue from the
+     * given input
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected synchronized void loadState(DataInput input) throws IOException {
+        controller.parityError = input.readByte();
+        controller.timeOut = input.readByte();
+        controller.auxBuffer = input.readByte();
+        controller.keyboardLock = input.readByte();
+        controller.commandData = input.readByte();
+        controller.systemFlag = input.readByte();
+        controller.inputBuffer = input.readByte();
+        controller.outputBuffer = input.readByte();
+        controller.translateScancode = input.readByte();
+        controller.auxClockEnabled = input.readByte();
+        controller.kbdClockEnabled = input.readByte();
+        controller.allowIRQ12 = input.readByte();
+        controller.allowIRQ1 = input.readByte();
+        controller.kbdOutputBuffer = input.readByte();
+        controller.auxOutputBuffer = input.readByte();
+        controller.lastCommand = input.readByte();
+        controller.expectingPort60h = input.readByte();
+        controller.irq1Requested = input.readByte();
+        controller.irq12Requested = input.readByte();
+        controller.expectingMouseParameter = input.readByte();
+        controller.currentScancodeSet = input.readByte();
+        controller.batInProgress = input.readByte();
+        controller.timerPending = input.readInt();
+
+        internalBuffer.expectingTypematic = input.readByte();
+        internalBuffer.expectingLEDWrite = input.readByte();
+        internalBuffer.expectingScancodeSet = input.readByte();
+        internalBuffer.keyPressDelay = input.readByte();
+        internalBuffer.keyRepeatRate = input.readByte();
+        internalBuffer.ledStatus = input.readByte();
+        internalBuffer.scanningEnabled = input.readByte();
+        loadBytes(input, internalBuffer.getBuffer());
+        loadBytes(input, controllerQueue);
+    }
+
+    /**
+     * Writes the size and contents of a byte queue to the given output
+     */
+    private static void dumpBytes(DataOutput output, List<Byte> list) throws IOException {
+        output.writeInt(list.size());
+        for (Byte b : list) {
+            output.writeByte(b);
+        }
+    }
+
+    /**
+     * Replaces the contents of a byte queue with those read from the input
+     */
+    private static void loadBytes(DataInput input, List<Byte> list) throws IOException {
+        list.clear();
+        for (int i = input.readInt(); i > 0; i--) {
+            list.add(input.readByte());
+        }
+    }
 }
@@ -47,6 +47,9 @@ import dioscuri.module.ModuleMemory;
 import dioscuri.module.ModuleMotherboard;
 import dioscuri.module.ModuleVideo;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -83,7 +86,7 @@ public class DynamicAllocationMemory extends ModuleMemory {
     private int ramBlockSize; // Size of second dimension
     private int blockIndex; // Index into ram; shifting by this index determines
     // corresponding ramBlock for memory address
-    static protected long A20mask; // Mask used to set/clear 20th bit in memory
+    protected long A20mask; // Mask used to set/clear 20th bit in memory
     // addresses
 
     private final static int BYTES_IN_MB = 1048576;
@@ -152,6 +155,53 @@ public class DynamicAllocationMemory extends ModuleMemory {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Only pages containing non-zero bytes are stored, ended by address -1.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        output.writeInt(ramSize);
+        output.writeLong(A20mask);
+        for (int block = 0; block < ramBlock; block++) {
+            if (ram[block] != null) {
+                dumpPages(output, ram[block], block << blockIndex);
+            }
+        }
+        output.writeInt(-1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Blocks are only allocated for pages stored in the snapshot.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        if (input.readInt() != ramSize) {
+            throw new IOException("[" + super.getType() + "] RAM size does not match snapshot");
+        }
+        A20mask = input.readLong();
+        Arrays.fill(ram, null);
+        for (int address = input.readInt(); address != -1; address = input.readInt()) {
+            int addressBlock = address >> blockIndex;
+            if (address < 0 || addressBlock >= ramBlock) {
+                throw new IOException("[" + super.getType() + "] Page address out of range: " + address);
+            }
+            if (ram[addressBlock] == null) {
+                ram[addressBlock] = new byte[ramBlockSize];
+            }
+            int offset = address & (ramBlockSize - 1);
+            input.readFully(ram[addressBlock], offset, Math.min(STATE_PAGE_SIZE, ramBlockSize - offset));
+        }
+        clearCode();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -315,6 +365,7 @@ public class DynamicAllocationMemory extends ModuleMemory {
                 }
 
                 ram[addressBlock][address & (ramBlockSize - 1)] = value;
+                codeWritten(address, 1);
             }
         } catch (ArrayIndexOutOfBoundsException e) {
             logger.log(Level.SEVERE, "[" + super.getType()
@@ -322,7 +373,6 @@ public class DynamicAllocationMemory extends ModuleMemory {
         }
     }
 
-
     /**
      * {@inheritDoc}
      *
@@ -459,6 +509,7 @@ public class DynamicAllocationMemory extends ModuleMemory {
                 }
 
                 ram[addressBlock2][(address + 1) & (ramBlockSize - 1)] = value[0];
+                codeWritten(address, 2);
             }
         } catch (ArrayIndexOutOfBoundsException e) {
             logger.log(Level.SEVERE, "[" + super.getType()
@@ -499,6 +550,7 @@ public class DynamicAllocationMemory extends ModuleMemory {
                 }
                 ram[addressBlock][(address + b) & (ramBlockSize - 1)] = binaryStream[b];
             }
+            codeWritten(address, streamLength);
         } catch (ArrayIndexOutOfBoundsException e) {
             logger.log(Level.SEVERE, "[" + super.getType()
                     + "] setBytes: Out of memory during write stream of bytes");
@@ -525,6 +577,19 @@ public class DynamicAllocationMemory extends ModuleMemory {
         logger.log(Level.CONFIG, "[" + super.getType() + "]"
                 + " A20 address line status: " + status + " A20mask: [0x"
                 + Long.toHexString(A20mask) + "]");
+
+        // Cached instructions may now be aliased, or no longer be
+        clearCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleMemory
+     */
+    @Override
+    protected int getA20Mask() {
+        return (int) A20mask;
     }
 
     /**
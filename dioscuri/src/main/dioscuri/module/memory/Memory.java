@@ -47,6 +47,9 @@ import dioscuri.module.ModuleMemory;
 import dioscuri.module.ModuleMotherboard;
 import dioscuri.module.ModuleVideo;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -77,7 +80,7 @@ public class Memory extends ModuleMemory {
 
     // Random Access Memory (RAM)
     public byte[] ram; // Using signed bytes as both signed/unsigned
-    static protected long A20mask; // Mask used to set/clear 20th bit in memory
+    protected long A20mask; // Mask used to set/clear 20th bit in memory
     // addresses
 
     // Constants
@@ -134,6 +137,42 @@ public class Memory extends ModuleMemory {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Only pages containing non-zero bytes are stored, ended by address -1.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        output.writeInt(ram.length);
+        output.writeLong(A20mask);
+        dumpPages(output, ram, 0);
+        output.writeInt(-1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        if (input.readInt() != ram.length) {
+            throw new IOException("[" + super.getType() + "] RAM size does not match snapshot");
+        }
+        A20mask = input.readLong();
+        Arrays.fill(ram, (byte) 0);
+        for (int address = input.readInt(); address != -1; address = input.readInt()) {
+            if (address < 0 || address >= ram.length) {
+                throw new IOException("[" + super.getType() + "] Page address out of range: " + address);
+            }
+            input.readFully(ram, address, Math.min(STATE_PAGE_SIZE, ram.length - address));
+        }
+        clearCode();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -250,6 +289,7 @@ public class Memory extends ModuleMemory {
             else {
                 // Store byte in memory
                 ram[address] = value;
+                codeWritten(address, 1);
             }
         } catch (ArrayIndexOutOfBoundsException e) {
             logger.log(Level.SEVERE, "[" + super.getType()
@@ -264,6 +304,18 @@ public class Memory extends ModuleMemory {
      */
     @Override
     public byte[] getWord(int address) {
+        int word = this.readWord(address);
+        // Honour little-endian, put MSB in array[0], LSB in array[1]
+        return new byte[]{(byte) (word >> 8), (byte) word};
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleMemory
+     */
+    @Override
+    public int readWord(int address) {
 
         if(video == null) {
             video = (ModuleVideo) super.getConnection(Module.Type.VIDEO);
@@ -297,18 +349,19 @@ public class Memory extends ModuleMemory {
 
             // video card memory range is hardcoded here:
             if (address >= 0xA0000 && address <= 0xBFFFF) {
-                // Honour little-endian, put MSB in array[0], LSB in array[1]
-                return new byte[]{video.readMode(address + 1),
-                        video.readMode(address)};
+                // Honour little-endian, read MSB first as before
+                int high = video.readMode(address + 1) & 0xFF;
+                return (high << 8) | (video.readMode(address) & 0xFF);
             } else {
-                // Honour little-endian, put MSB in array[0], LSB in array[1]
-                return new byte[]{ram[address + 1], ram[address]};
+                // Honour little-endian: LSB is stored first
+                return ((ram[address + 1] & 0xFF) << 8)
+                        | (ram[address] & 0xFF);
             }
         } catch (ArrayIndexOutOfBoundsException e) {
             logger.log(Level.SEVERE, "[" + super.getType()
                     + "] Access outside memory bounds; returning 0xFFFF");
             // Out of range, return default value
-            return new byte[]{(byte) 0xFF, (byte) 0xFF};
+            return 0xFFFF;
         }
     }
 
@@ -319,6 +372,16 @@ public class Memory extends ModuleMemory {
      */
     @Override
     public void setWord(int address, byte[] value) {
+        this.writeWord(address, ((value[0] & 0xFF) << 8) | (value[1] & 0xFF));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleMemory
+     */
+    @Override
+    public void writeWord(int address, int value) {
 
         if(video == null) {
             video = (ModuleVideo) super.getConnection(Module.Type.VIDEO);
@@ -336,14 +399,14 @@ public class Memory extends ModuleMemory {
                         + cpu.getRegisterHex(0) + ":" + cpu.getRegisterHex(1)
                         + " Watched WORD at address " + watchAddress
                         + " is written: ["
-                        + Integer.toHexString(value[0]).toUpperCase() + "]["
-                        + Integer.toHexString(value[1]).toUpperCase() + "]");
+                        + Integer.toHexString((byte) (value >> 8)).toUpperCase() + "]["
+                        + Integer.toHexString((byte) value).toUpperCase() + "]");
             }
 
             // video card memory range is hardcoded here:
             if (address >= 0xA0000 && address <= 0xBFFFF) {
-                video.writeMode(address, value[1]);
-                video.writeMode(address + 1, value[0]);
+                video.writeMode(address, (byte) value);
+                video.writeMode(address + 1, (byte) (value >> 8));
             }
             // Check if address is within allowed writeable boundaries;
             // A0000-BFFFF is video area, which is handled above; C0000-FFFFF is
@@ -355,8 +418,9 @@ public class Memory extends ModuleMemory {
             else {
                 // Honour Intel little-endian: store LSB in first position in
                 // RAM, MSB in next position
-                ram[address] = value[1];
-                ram[address + 1] = value[0];
+                ram[address] = (byte) value;
+                ram[address + 1] = (byte) (value >> 8);
+                codeWritten(address, 2);
             }
         } catch (ArrayIndexOutOfBoundsException e) {
             logger.log(Level.SEVERE, "[" + super.getType()
@@ -383,6 +447,7 @@ public class Memory extends ModuleMemory {
             for (int b = 0; b < streamLength; b++) {
                 ram[address + b] = binaryStream[b];
             }
+            codeWritten(address, streamLength);
         } catch (ArrayIndexOutOfBoundsException e) {
             logger.log(Level.SEVERE, "[" + super.getType()
                     + "] Out of memory during write stream of bytes");
@@ -391,6 +456,96 @@ public class Memory extends ModuleMemory {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleMemory
+     */
+    @Override
+    public byte[] getRamRange(int address, int length) {
+        return isPlainRam(address, length, false) ? ram : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleMemory
+     */
+    @Override
+    public boolean copyRange(int source, int destination, int length) {
+        if (!isPlainRam(source, length, false)
+                || !isPlainRam(destination, length, true)) {
+            return false;
+        }
+        System.arraycopy(ram, source, ram, destination, length);
+        this.codeWritten(destination, length);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleMemory
+     */
+    @Override
+    public boolean setRange(int address, byte[] data, int offset, int length) {
+        if (!isPlainRam(address, length, true)) {
+            return false;
+        }
+        System.arraycopy(data, offset, ram, address, length);
+        this.codeWritten(address, length);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleMemory
+     */
+    @Override
+    public boolean fillRange(int address, int length, byte low, byte high) {
+        if (!isPlainRam(address, length, true)) {
+            return false;
+        }
+        if (low == high) {
+            Arrays.fill(ram, address, address + length, low);
+        } else {
+            // Write one word, then keep doubling the filled part
+            ram[address] = low;
+            if (length > 1) {
+                ram[address + 1] = high;
+            }
+            for (int filled = 2; filled < length; filled <<= 1) {
+                System.arraycopy(ram, address, ram, address + filled,
+                        Math.min(filled, length - filled));
+            }
+        }
+        this.codeWritten(address, length);
+        return true;
+    }
+
+    /**
+     * Checks if a range can be accessed directly in the RAM array: it lies
+     * within RAM, is not aliased by the A20 address line, is not watched and
+     * does not touch the video window or, for writes, the BIOS area.
+     *
+     * @param address flat-address of the first byte
+     * @param length  number of bytes
+     * @param write   true if the range will be written
+     * @return true if the range is plain RAM, false otherwise
+     */
+    private boolean isPlainRam(int address, int length, boolean write) {
+        int end = address + length - 1;
+        if (length <= 0 || address < 0 || end >= ram.length || watchValue
+                || (address & A20mask) != address || (end & A20mask) != end) {
+            return false;
+        }
+        if (end >= 0xA0000 && address <= (write ? 0xFFFFF : 0xBFFFF)) {
+            return false;
+        }
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -409,6 +564,19 @@ public class Memory extends ModuleMemory {
         logger.log(Level.CONFIG, "[" + super.getType() + "]"
                 + " A20 address line status: " + status + " A20mask: [0x"
                 + Long.toHexString(A20mask) + "]");
+
+        // Cached instructions may now be aliased, or no longer be
+        clearCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleMemory
+     */
+    @Override
+    protected int getA20Mask() {
+        return (int) A20mask;
     }
 
     /**
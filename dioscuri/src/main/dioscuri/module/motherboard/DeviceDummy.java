@@ -47,6 +47,9 @@ import dioscuri.interfaces.Module;
 import dioscuri.module.AbstractModule;
 import dioscuri.module.ModuleMotherboard;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -93,6 +96,29 @@ public class DeviceDummy extends AbstractModule implements Addressable {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This device only claims unused I/O ports during reset, so there is no
+     * state to store.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        // ...
+    }
+
     /**
      * {@inheritDoc}
      *
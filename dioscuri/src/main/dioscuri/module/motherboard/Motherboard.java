@@ -44,13 +44,19 @@ import dioscuri.exception.ModuleException;
 import dioscuri.exception.UnknownPortException;
 import dioscuri.exception.WriteOnlyPortException;
 import dioscuri.interfaces.Addressable;
+import dioscuri.interfaces.IntAddressable;
 import dioscuri.interfaces.Module;
 import dioscuri.interfaces.Updateable;
+import dioscuri.metrics.Counter;
 import dioscuri.module.ModuleCPU;
 import dioscuri.module.ModuleClock;
 import dioscuri.module.ModuleMemory;
 import dioscuri.module.ModuleMotherboard;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -86,6 +92,12 @@ public class Motherboard extends ModuleMotherboard {
 
     // I/O address space containing references to devices
     public Addressable[] ioAddressSpace; // Using signed bytes as both signed/unsigned
+    // Same devices, for those that can exchange port values as int
+    private IntAddressable[] intAddressSpace;
+
+    // Statistics, only updated by the emulation thread
+    private final Counter ioPortReads = new Counter();
+    private final Counter ioPortWrites = new Counter();
 
     // Logging
     private static final Logger logger = Logger.getLogger(Motherboard.class.getName());
@@ -113,6 +125,7 @@ public class Motherboard extends ModuleMotherboard {
 
         // Create new empty I/O address space
         ioAddressSpace = new Addressable[ioSpaceSize];
+        intAddressSpace = new IntAddressable[ioSpaceSize];
 
         logger.log(Level.INFO, "[" + super.getType() + "]" + getClass().getName() + " -> AbstractModule created successfully.");
     }
@@ -141,6 +154,30 @@ public class Motherboard extends ModuleMotherboard {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The I/O address space is claimed again by the devices during reset, so
+     * only the status of the A20 address line is stored.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        output.writeBoolean(A20Enabled);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        // Memory restores its own address mask
+        A20Enabled = input.readBoolean();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -242,6 +279,9 @@ public class Motherboard extends ModuleMotherboard {
         // check if port is already in use
         if (ioAddressSpace[portAddress] == null) {
             ioAddressSpace[portAddress] = device;
+            if (device instanceof IntAddressable) {
+                intAddressSpace[portAddress] = (IntAddressable) device;
+            }
             return true;
         }
 
@@ -260,26 +300,90 @@ public class Motherboard extends ModuleMotherboard {
      */
     @Override
     public byte getIOPortByte(int portAddress) throws ModuleException {
+        return (byte) readByte(portAddress);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public void setIOPortByte(int portAddress, byte dataByte)
+            throws ModuleException {
+        writeByte(portAddress, dataByte);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public byte[] getIOPortWord(int portAddress) throws ModuleException {
+        int word = readWord(portAddress);
+        return new byte[]{(byte) (word >> 8), (byte) word};
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public void setIOPortWord(int portAddress, byte[] dataWord)
+            throws ModuleException {
+        writeWord(portAddress, ((dataWord[0] & 0xFF) << 8)
+                | (dataWord[1] & 0xFF));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public byte[] getIOPortDoubleWord(int portAddress) throws ModuleException {
+        int doubleWord = readDword(portAddress);
+        return new byte[]{(byte) doubleWord, (byte) (doubleWord >> 8),
+                (byte) (doubleWord >> 16), (byte) (doubleWord >> 24)};
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Addressable
+     */
+    @Override
+    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
+            throws ModuleException {
+        writeDword(portAddress, (dataDoubleWord[0] & 0xFF)
+                | ((dataDoubleWord[1] & 0xFF) << 8)
+                | ((dataDoubleWord[2] & 0xFF) << 16)
+                | ((dataDoubleWord[3] & 0xFF) << 24));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public int readByte(int portAddress) throws ModuleException {
+        ioPortReads.increment();
         // check if port is available
         if (ioAddressSpace[portAddress] != null) {
             try {
                 // Return data at appropriate portnumber (could throw an
                 // exception in protected mode)
-                return ioAddressSpace[portAddress].getIOPortByte(portAddress);
+                if (intAddressSpace[portAddress] != null) {
+                    return intAddressSpace[portAddress].readByte(portAddress);
+                }
+                return ioAddressSpace[portAddress].getIOPortByte(portAddress) & 0xFF;
             } catch (UnknownPortException e1) {
-                // Print warning
-                logger
-                        .log(Level.WARNING, "["
-                                + super.getType()
-                                + "] Unknown I/O port requested (0x"
-                                + Integer.toHexString(portAddress)
-                                .toUpperCase() + ").");
-                throw new ModuleException("Unknown I/O port requested (0x"
-                        + Integer.toHexString(portAddress).toUpperCase() + ").");
+                throw unknownPort(Level.WARNING, portAddress);
             } catch (WriteOnlyPortException e2) {
-                logger.log(Level.WARNING, "[" + super.getType()
-                        + "] Writing to I/O port not allowed.");
-                throw new ModuleException("I/O port is read-only.");
+                throw writeOnlyPort();
             }
         }
         logger.log(Level.INFO, "[" + super.getType() + "] Requested I/O port 0x"
@@ -287,7 +391,7 @@ public class Motherboard extends ModuleMotherboard {
                 + " (getByte) is not in use.");
         // FIXME: Add proper error handling for unknown I/O ports, assuming 0xFF
         // is returned as default
-        return (byte) 0xFF;
+        return 0xFF;
         // throw new ModuleException("Requested I/O port " +
         // Integer.toHexString(portAddress) + " (getByte) is not used.");
     }
@@ -295,11 +399,12 @@ public class Motherboard extends ModuleMotherboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortByte(int portAddress, byte dataByte)
-            throws ModuleException {
+    public void writeByte(int portAddress, int value) throws ModuleException {
+        byte dataByte = (byte) value;
+        ioPortWrites.increment();
         // Check for Bochs BIOS ports first:
         if (portAddress == 0x400 || portAddress == 0x401) {
             logger.log(Level.SEVERE, "[" + super.getType() + "]"
@@ -315,13 +420,13 @@ public class Motherboard extends ModuleMotherboard {
                                 + Integer.toHexString(portAddress)
                                 .toUpperCase()
                                 + "): "
-                                + new String(new byte[]{(byte) dataByte},
+                                + new String(new byte[]{dataByte},
                                 "US-ASCII"));
             } catch (Exception e) {
                 logger.log(Level.WARNING, "[" + super.getType() + "]"
                         + " I/O port (0x"
                         + Integer.toHexString(portAddress).toUpperCase()
-                        + "): " + new String(new byte[]{(byte) dataByte}));
+                        + "): " + new String(new byte[]{dataByte}));
             }
             return;
         } else if (portAddress == 0x8900) {
@@ -336,20 +441,15 @@ public class Motherboard extends ModuleMotherboard {
             try {
                 // Set data at appropriate portnumber (could throw an exception
                 // in protected mode)
-                ioAddressSpace[portAddress]
-                        .setIOPortByte(portAddress, dataByte);
-
+                if (intAddressSpace[portAddress] != null) {
+                    intAddressSpace[portAddress].writeByte(portAddress,
+                            value & 0xFF);
+                } else {
+                    ioAddressSpace[portAddress].setIOPortByte(portAddress,
+                            dataByte);
+                }
             } catch (UnknownPortException e) {
-                // Print warning
-                logger
-                        .log(Level.INFO, "["
-                                + super.getType()
-                                + "]"
-                                + "  Unknown I/O port requested (0x"
-                                + Integer.toHexString(portAddress)
-                                .toUpperCase() + ").");
-                throw new ModuleException("Unknown I/O port requested (0x"
-                        + Integer.toHexString(portAddress).toUpperCase() + ").");
+                throw unknownPort(Level.INFO, portAddress);
             }
         } else {
             logger.log(Level.INFO, "[" + super.getType() + "]"
@@ -366,31 +466,27 @@ public class Motherboard extends ModuleMotherboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortWord(int portAddress) throws ModuleException {
+    public int readWord(int portAddress) throws ModuleException {
+        ioPortReads.increment();
         // check if port range is available
         if (ioAddressSpace[portAddress] != null
                 && ioAddressSpace[portAddress + 1] != null) {
             try {
                 // Return data at appropriate portnumber (could throw an
                 // exception in protected mode)
-                return ioAddressSpace[portAddress].getIOPortWord(portAddress);
+                if (intAddressSpace[portAddress] != null) {
+                    return intAddressSpace[portAddress].readWord(portAddress);
+                }
+                byte[] word = ioAddressSpace[portAddress]
+                        .getIOPortWord(portAddress);
+                return ((word[0] & 0xFF) << 8) | (word[1] & 0xFF);
             } catch (UnknownPortException e1) {
-                // Print warning
-                logger
-                        .log(Level.WARNING, "["
-                                + super.getType()
-                                + "] Unknown I/O port requested (0x"
-                                + Integer.toHexString(portAddress)
-                                .toUpperCase() + ").");
-                throw new ModuleException("Unknown I/O port requested (0x"
-                        + Integer.toHexString(portAddress).toUpperCase() + ").");
+                throw unknownPort(Level.WARNING, portAddress);
             } catch (WriteOnlyPortException e2) {
-                logger.log(Level.WARNING, "[" + super.getType()
-                        + "] Writing to I/O port not allowed.");
-                throw new ModuleException("I/O port is read-only.");
+                throw writeOnlyPort();
             }
         }
         logger.log(Level.WARNING, "[" + super.getType() + "] Requested I/O port 0x"
@@ -398,7 +494,7 @@ public class Motherboard extends ModuleMotherboard {
                 + " (getWord) is not in use.");
         // FIXME: Add proper error handling for unknown I/O ports, assuming 0xFF
         // is returned as default
-        return new byte[]{(byte) 0xFF, (byte) 0xFF};
+        return 0xFFFF;
         // throw new ModuleException("Requested I/O port range [" + portAddress
         // + "] (getWord) is not in use.");
     }
@@ -406,30 +502,63 @@ public class Motherboard extends ModuleMotherboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortWord(int portAddress, byte[] dataWord)
+    public void readWords(int portAddress, short[] dst, int offset, int count)
             throws ModuleException {
+        ioPortReads.add(count);
+        // check if port range is available
+        if (ioAddressSpace[portAddress] != null
+                && ioAddressSpace[portAddress + 1] != null) {
+            try {
+                if (intAddressSpace[portAddress] != null) {
+                    intAddressSpace[portAddress].readWords(portAddress, dst,
+                            offset, count);
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    byte[] word = ioAddressSpace[portAddress]
+                            .getIOPortWord(portAddress);
+                    dst[offset + i] = (short) (((word[0] & 0xFF) << 8)
+                            | (word[1] & 0xFF));
+                }
+                return;
+            } catch (UnknownPortException e1) {
+                throw unknownPort(Level.WARNING, portAddress);
+            } catch (WriteOnlyPortException e2) {
+                throw writeOnlyPort();
+            }
+        }
+        logger.log(Level.WARNING, "[" + super.getType() + "] Requested I/O port 0x"
+                + Integer.toHexString(portAddress)
+                + " (getWord) is not in use.");
+        Arrays.fill(dst, offset, offset + count, (short) 0xFFFF);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.IntAddressable
+     */
+    @Override
+    public void writeWord(int portAddress, int value) throws ModuleException {
+        ioPortWrites.increment();
         // check if port range is available
         if (ioAddressSpace[portAddress] != null
                 && ioAddressSpace[portAddress + 1] != null) {
             try {
                 // Set data at appropriate portnumber (could throw an exception
                 // in protected mode)
-                ioAddressSpace[portAddress]
-                        .setIOPortWord(portAddress, dataWord);
+                if (intAddressSpace[portAddress] != null) {
+                    intAddressSpace[portAddress].writeWord(portAddress,
+                            value & 0xFFFF);
+                } else {
+                    ioAddressSpace[portAddress].setIOPortWord(portAddress,
+                            new byte[]{(byte) (value >> 8), (byte) value});
+                }
             } catch (UnknownPortException e) {
-                // Print warning
-                logger
-                        .log(Level.WARNING, "["
-                                + super.getType()
-                                + "]"
-                                + "  Unknown I/O port requested (0x"
-                                + Integer.toHexString(portAddress)
-                                .toUpperCase() + ").");
-                throw new ModuleException("Unknown I/O port requested (0x"
-                        + Integer.toHexString(portAddress).toUpperCase() + ").");
+                throw unknownPort(Level.WARNING, portAddress);
             }
         } else {
             // FIXME: Add proper error handling for unknown I/O ports, no value
@@ -442,10 +571,11 @@ public class Motherboard extends ModuleMotherboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortDoubleWord(int portAddress) throws ModuleException {
+    public int readDword(int portAddress) throws ModuleException {
+        ioPortReads.increment();
         // check if port range is available
         if (ioAddressSpace[portAddress] != null
                 && ioAddressSpace[portAddress + 1] != null
@@ -454,23 +584,19 @@ public class Motherboard extends ModuleMotherboard {
             try {
                 // Return data at appropriate portnumber (could throw an
                 // exception in protected mode)
-                return ioAddressSpace[portAddress]
+                if (intAddressSpace[portAddress] != null) {
+                    return intAddressSpace[portAddress].readDword(portAddress);
+                }
+                byte[] doubleWord = ioAddressSpace[portAddress]
                         .getIOPortDoubleWord(portAddress);
+                return (doubleWord[0] & 0xFF)
+                        | ((doubleWord[1] & 0xFF) << 8)
+                        | ((doubleWord[2] & 0xFF) << 16)
+                        | ((doubleWord[3] & 0xFF) << 24);
             } catch (UnknownPortException e1) {
-                // Print warning
-                logger
-                        .log(Level.WARNING, "["
-                                + super.getType()
-                                + "]"
-                                + "  Unknown I/O port requested (0x"
-                                + Integer.toHexString(portAddress)
-                                .toUpperCase() + ").");
-                throw new ModuleException("Unknown I/O port requested (0x"
-                        + Integer.toHexString(portAddress).toUpperCase() + ").");
+                throw unknownPort(Level.WARNING, portAddress);
             } catch (WriteOnlyPortException e2) {
-                logger.log(Level.WARNING, "[" + super.getType()
-                        + "] Writing to I/O port not allowed.");
-                throw new ModuleException("I/O port is read-only.");
+                throw writeOnlyPort();
             }
         }
         logger.log(Level.WARNING, "[" + super.getType() + "] Requested I/O port 0x"
@@ -478,7 +604,7 @@ public class Motherboard extends ModuleMotherboard {
                 + " (getDoubleWord) is not in use.");
         // FIXME: Add proper error handling for unknown I/O ports, assuming 0xFF
         // is returned as default
-        return new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+        return 0xFFFFFFFF;
         // throw new ModuleException("Requested I/O port range [" + portAddress
         // + "] (getDoubleWord) is not available.");
     }
@@ -486,11 +612,11 @@ public class Motherboard extends ModuleMotherboard {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
-            throws ModuleException {
+    public void writeDword(int portAddress, int value) throws ModuleException {
+        ioPortWrites.increment();
         // check if port range is available
         if (ioAddressSpace[portAddress] != null
                 && ioAddressSpace[portAddress + 1] != null
@@ -499,20 +625,15 @@ public class Motherboard extends ModuleMotherboard {
             try {
                 // Set data at appropriate portnumber (could throw an exception
                 // in protected mode)
-                ioAddressSpace[portAddress].setIOPortDoubleWord(portAddress,
-                        dataDoubleWord);
-
+                if (intAddressSpace[portAddress] != null) {
+                    intAddressSpace[portAddress].writeDword(portAddress, value);
+                } else {
+                    ioAddressSpace[portAddress].setIOPortDoubleWord(portAddress,
+                            new byte[]{(byte) value, (byte) (value >> 8),
+                                    (byte) (value >> 16), (byte) (value >> 24)});
+                }
             } catch (UnknownPortException e) {
-                // Print warning
-                logger
-                        .log(Level.WARNING, "["
-                                + super.getType()
-                                + "]"
-                                + "  Unknown I/O port requested (0x"
-                                + Integer.toHexString(portAddress)
-                                .toUpperCase() + ").");
-                throw new ModuleException("Unknown I/O port requested (0x"
-                        + Integer.toHexString(portAddress).toUpperCase() + ").");
+                throw unknownPort(Level.WARNING, portAddress);
             }
         } else {
             // FIXME: Add proper error handling for unknown I/O ports, no value
@@ -520,7 +641,33 @@ public class Motherboard extends ModuleMotherboard {
             // throw new ModuleException("Requested I/O port range [" +
             // portAddress + "] (setDoubleWord) is not available.");
         }
+    }
 
+    /**
+     * Logs an access to a port its device does not know
+     *
+     * @param level       log level of the warning
+     * @param portAddress
+     * @return the exception to throw to the CPU
+     */
+    private ModuleException unknownPort(Level level, int portAddress) {
+        // Print warning
+        logger.log(level, "[" + super.getType() + "]"
+                + " Unknown I/O port requested (0x"
+                + Integer.toHexString(portAddress).toUpperCase() + ").");
+        return new ModuleException("Unknown I/O port requested (0x"
+                + Integer.toHexString(portAddress).toUpperCase() + ").");
+    }
+
+    /**
+     * Logs a read from a write-only port
+     *
+     * @return the exception to throw to the CPU
+     */
+    private ModuleException writeOnlyPort() {
+        logger.log(Level.WARNING, "[" + super.getType()
+                + "] Writing to I/O port not allowed.");
+        return new ModuleException("I/O port is read-only.");
     }
 
     /**
@@ -580,4 +727,18 @@ public class Motherboard extends ModuleMotherboard {
             return cpu.getCurrentInstructionNumber();
         }
     }
+
+    /**
+     * @return number of I/O port reads (byte, word and double word)
+     */
+    public long getIOPortReads() {
+        return ioPortReads.get();
+    }
+
+    /**
+     * @return number of I/O port writes (byte, word and double word)
+     */
+    public long getIOPortWrites() {
+        return ioPortWrites.get();
+    }
 }
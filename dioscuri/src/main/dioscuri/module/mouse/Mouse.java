@@ -8,6 +8,9 @@ import dioscuri.module.ModuleMouse;
 import dioscuri.module.ModuleSerialPort;
 
 import java.awt.event.MouseEvent;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.logging.Level;
@@ -120,6 +123,62 @@ public class Mouse extends ModuleMouse implements UART {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public synchronized void dumpState(DataOutput output) throws IOException {
+        output.writeInt(buffer.size());
+        for (Byte b : buffer) {
+            output.writeByte(b);
+        }
+        output.writeBoolean(mouseEnabled);
+        output.writeInt(mouseType);
+        output.writeInt(mouseMode);
+        output.writeInt(mousePreviousMode);
+        output.writeByte(lastMouseCommand);
+        output.writeBoolean(expectingMouseParameter);
+        output.writeInt(imRequest);
+        output.writeBoolean(imMode);
+        output.writeByte(sampleRate);
+        output.writeInt(resolutionCpmm);
+        output.writeInt(scaling);
+        output.writeInt(delayed_dx);
+        output.writeInt(delayed_dy);
+        output.writeInt(delayed_dz);
+        output.writeByte(buttonStatus);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public synchronized void loadState(DataInput input) throws IOException {
+        buffer.clear();
+        for (int i = input.readInt(); i > 0; i--) {
+            buffer.offer(input.readByte());
+        }
+        mouseEnabled = input.readBoolean();
+        mouseType = input.readInt();
+        mouseMode = input.readInt();
+        mousePreviousMode = input.readInt();
+        lastMouseCommand = input.readByte();
+        expectingMouseParameter = input.readBoolean();
+        imRequest = input.readInt();
+        imMode = input.readBoolean();
+        sampleRate = input.readByte();
+        resolutionCpmm = input.readInt();
+        scaling = input.readInt();
+        delayed_dx = input.readInt();
+        delayed_dy = input.readInt();
+        delayed_dz = input.readInt();
+        buttonStatus = input.readByte();
+    }
+
     /**
      * {@inheritDoc}
      *
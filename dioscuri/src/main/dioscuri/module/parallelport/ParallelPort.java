@@ -52,6 +52,9 @@ import dioscuri.interfaces.Module;
 import dioscuri.module.ModuleMotherboard;
 import dioscuri.module.ModuleParallelPort;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -121,6 +124,29 @@ public class ParallelPort extends ModuleParallelPort {
 
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The parallel port only answers fixed values on its I/O ports, so there
+     * is no state to store.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        // ...
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -52,6 +52,9 @@ import dioscuri.interfaces.Module;
 import dioscuri.module.AbstractModule;
 import dioscuri.module.ModuleMotherboard;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -124,6 +127,29 @@ public class PCI extends AbstractModule implements Addressable {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * PCI configuration space is not emulated, so there is no state to
+     * store.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        // ...
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -53,8 +53,12 @@ package dioscuri.module.pic;
 import dioscuri.Emulator;
 import dioscuri.exception.UnknownPortException;
 import dioscuri.interfaces.Module;
+import dioscuri.metrics.Counter;
 import dioscuri.module.*;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -88,6 +92,7 @@ public class PIC extends ModulePIC {
     private AbstractModule[] irqList; // Contains references to modules that registered
     // an IRQ
     private boolean[] irqEnabled; // Contains a list of set or cleared IRQs
+    private final Counter[] irqCount = new Counter[PIC_IRQ_SPACE]; // Raised IRQs per line
 
     // Constants
     public final static int MASTER = 0;
@@ -124,6 +129,9 @@ public class PIC extends ModulePIC {
         // Initialise IRQ list
         irqList = null;
         irqEnabled = null;
+        for (int i = 0; i < irqCount.length; i++) {
+            irqCount[i] = new Counter();
+        }
 
         logger.log(Level.INFO, "[" + super.getType() + "]"
                 + " AbstractModule created successfully.");
@@ -165,6 +173,37 @@ public class PIC extends ModulePIC {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * IRQ numbers are requested again by the devices during reset, so only
+     * their enabled state is stored.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        thePIC[MASTER].dumpState(output);
+        thePIC[SLAVE].dumpState(output);
+        for (boolean enabled : irqEnabled) {
+            output.writeBoolean(enabled);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        thePIC[MASTER].loadState(input);
+        thePIC[SLAVE].loadState(input);
+        for (int irq = 0; irq < irqEnabled.length; irq++) {
+            irqEnabled[irq] = input.readBoolean();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -195,10 +234,10 @@ public class PIC extends ModulePIC {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte getIOPortByte(int portAddress) throws UnknownPortException {
+    public int readByte(int portAddress) throws UnknownPortException {
         logger.log(Level.CONFIG, "[" + super.getType() + "]" + " IO read from 0x"
                 + Integer.toHexString(portAddress));
 
@@ -207,7 +246,7 @@ public class PIC extends ModulePIC {
             clearHighestInterrupt(MASTER);
             thePIC[MASTER].isPolled = false;
             serviceMasterPIC();
-            return thePIC[MASTER].currentIrqNumber; // Return the current irq
+            return thePIC[MASTER].currentIrqNumber & 0xFF; // Return the current irq
             // requested
         }
 
@@ -216,7 +255,7 @@ public class PIC extends ModulePIC {
             clearHighestInterrupt(SLAVE);
             thePIC[SLAVE].isPolled = false;
             serviceSlavePIC();
-            return thePIC[SLAVE].currentIrqNumber; // Return the current irq
+            return thePIC[SLAVE].currentIrqNumber & 0xFF; // Return the current irq
             // requested
         }
 
@@ -227,20 +266,20 @@ public class PIC extends ModulePIC {
                     logger.log(Level.INFO, "[" + super.getType() + "]"
                             + " read master ISR = "
                             + thePIC[MASTER].inServiceRegister);
-                    return (thePIC[MASTER].inServiceRegister);
+                    return thePIC[MASTER].inServiceRegister & 0xFF;
                 } else {
                     // IRR
                     logger.log(Level.INFO, "[" + super.getType() + "]"
                             + " read master IRR = "
                             + thePIC[MASTER].interruptRequestRegister);
-                    return (thePIC[MASTER].interruptRequestRegister);
+                    return thePIC[MASTER].interruptRequestRegister & 0xFF;
                 }
 
             case 0x21:
                 logger.log(Level.INFO, "[" + super.getType() + "]"
                         + " read master IMR = "
                         + thePIC[MASTER].interruptMaskRegister);
-                return (thePIC[MASTER].interruptMaskRegister);
+                return thePIC[MASTER].interruptMaskRegister & 0xFF;
 
             case 0xA0:
                 if (thePIC[SLAVE].readRegisterSelect != 0) {
@@ -248,20 +287,20 @@ public class PIC extends ModulePIC {
                     logger.log(Level.INFO, "[" + super.getType() + "]"
                             + " read slave ISR = "
                             + thePIC[SLAVE].inServiceRegister);
-                    return (thePIC[SLAVE].inServiceRegister);
+                    return thePIC[SLAVE].inServiceRegister & 0xFF;
                 } else {
                     // IRR
                     logger.log(Level.INFO, "[" + super.getType() + "]"
                             + " read slave IRR = "
                             + thePIC[SLAVE].interruptRequestRegister);
-                    return (thePIC[SLAVE].interruptRequestRegister);
+                    return thePIC[SLAVE].interruptRequestRegister & 0xFF;
                 }
 
             case 0xA1:
                 logger.log(Level.INFO, "[" + super.getType() + "]"
                         + " read slave IMR = "
                         + thePIC[SLAVE].interruptMaskRegister);
-                return (thePIC[SLAVE].interruptMaskRegister);
+                return thePIC[SLAVE].interruptMaskRegister & 0xFF;
 
             default:
                 logger.log(Level.WARNING, "[" + super.getType() + "]"
@@ -277,10 +316,11 @@ public class PIC extends ModulePIC {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortByte(int portAddress, byte data) {
+    public void writeByte(int portAddress, int value) {
+        byte data = (byte) value;
 
         ModuleCPU cpu = (ModuleCPU) super.getConnection(Module.Type.CPU);
         ModuleMotherboard motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
@@ -715,10 +755,10 @@ public class PIC extends ModulePIC {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortWord(int portAddress) {
+    public int readWord(int portAddress) {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " -> IN command (word) to port "
                 + Integer.toHexString(portAddress).toUpperCase() + " received");
@@ -726,16 +766,16 @@ public class PIC extends ModulePIC {
                 + " -> Returned default value 0xFFFF");
 
         // Return dummy value 0xFFFF
-        return new byte[]{(byte) 0xFF, (byte) 0xFF};
+        return 0xFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortWord(int portAddress, byte[] dataWord) {
+    public void writeWord(int portAddress, int value) {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " -> OUT command (word) to port "
                 + Integer.toHexString(portAddress).toUpperCase()
@@ -745,10 +785,10 @@ public class PIC extends ModulePIC {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortDoubleWord(int portAddress) {
+    public int readDword(int portAddress) {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " -> IN command (double word) to port "
                 + Integer.toHexString(portAddress).toUpperCase() + " received");
@@ -756,16 +796,16 @@ public class PIC extends ModulePIC {
                 + " -> Returned default value 0xFFFFFFFF");
 
         // Return dummy value 0xFFFFFFFF
-        return new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+        return 0xFFFFFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord) {
+    public void writeDword(int portAddress, int value) {
         logger.log(Level.WARNING, "[" + super.getType() + "]"
                 + " -> OUT command (double word) to port "
                 + Integer.toHexString(portAddress).toUpperCase()
@@ -853,6 +893,7 @@ public class PIC extends ModulePIC {
                     + irqNumber + " now high");
             thePIC[MASTER].irqPins |= mask;
             thePIC[MASTER].interruptRequestRegister |= mask;
+            irqCount[irqNumber].increment();
             this.serviceMasterPIC();
         } else if ((irqNumber > 7) && (irqNumber <= 15)
                 && !((thePIC[SLAVE].irqPins & mask) != 0)) {
@@ -860,6 +901,7 @@ public class PIC extends ModulePIC {
                     + irqNumber + " now high");
             thePIC[SLAVE].irqPins |= mask;
             thePIC[SLAVE].interruptRequestRegister |= mask;
+            irqCount[irqNumber].increment();
             this.serviceSlavePIC();
         }
     }
@@ -889,6 +931,16 @@ public class PIC extends ModulePIC {
         }
     }
 
+    /**
+     * Returns how often an IRQ line has been raised since the PIC was created
+     *
+     * @param irqNumber the IRQ line, 0 to 15
+     * @return number of times the line went high
+     */
+    public long getIRQCount(int irqNumber) {
+        return irqCount[irqNumber].get();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -39,6 +39,10 @@
 
 package dioscuri.module.pic;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Programmable Interrupt Controller<BR>
  * Class representing the structure of a PIC<BR>
@@ -99,4 +103,64 @@ public class TheProgrammableInterruptController {
 
         initSequence.reset();
     }
+
+    /**
+     * Writes all parameters of this PIC to the given output
+     *
+     * @param output
+     * @throws IOException
+     */
+    void dumpState(DataOutput output) throws IOException {
+        output.writeBoolean(singleCascadedPIC);
+        output.writeInt(interruptOffset);
+        output.writeBoolean(specialFullyNestedMode);
+        output.writeBoolean(bufferedMode);
+        output.writeBoolean(isMaster);
+        output.writeBoolean(autoEndOfInt);
+        output.writeByte(interruptRequestRegister);
+        output.writeByte(inServiceRegister);
+        output.writeByte(interruptMaskRegister);
+        output.writeInt(readRegisterSelect);
+        output.writeByte(currentIrqNumber);
+        output.writeInt(lowestPriorityIRQ);
+        output.writeBoolean(intRequestPin);
+        output.writeInt(irqPins);
+        output.writeBoolean(specialMask);
+        output.writeBoolean(isPolled);
+        output.writeBoolean(rotateOnAutoEOI);
+        output.writeInt(edgeLevel);
+        output.writeBoolean(initSequence.inInitSequence);
+        output.writeByte(initSequence.numComWordsReq);
+        output.writeInt(initSequence.currentComWordExpected);
+    }
+
+    /**
+     * Reads all parameters of this PIC from the given input
+     *
+     * @param input
+     * @throws IOException
+     */
+    void loadState(DataInput input) throws IOException {
+        singleCascadedPIC = input.readBoolean();
+        interruptOffset = input.readInt();
+        specialFullyNestedMode = input.readBoolean();
+        bufferedMode = input.readBoolean();
+        isMaster = input.readBoolean();
+        autoEndOfInt = input.readBoolean();
+        interruptRequestRegister = input.readByte();
+        inServiceRegister = input.readByte();
+        interruptMaskRegister = input.readByte();
+        readRegisterSelect = input.readInt();
+        currentIrqNumber = input.readByte();
+        lowestPriorityIRQ = input.readInt();
+        intRequestPin = input.readBoolean();
+        irqPins = input.readInt();
+        specialMask = input.readBoolean();
+        isPolled = input.readBoolean();
+        rotateOnAutoEOI = input.readBoolean();
+        edgeLevel = input.readInt();
+        initSequence.inInitSequence = input.readBoolean();
+        initSequence.numComWordsReq = input.readByte();
+        initSequence.currentComWordExpected = input.readInt();
+    }
 }
@@ -39,6 +39,9 @@
 
 package dioscuri.module.pit;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -156,6 +159,62 @@ public class Counter {
 
     // Methods
 
+    /**
+     * Writes the signals, mode and registers of this counter to the given
+     * output
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        output.writeBoolean(signalClock);
+        output.writeBoolean(signalGate);
+        output.writeBoolean(signalOut);
+        output.writeInt(counterMode);
+        output.writeInt(rwMode);
+        output.writeBoolean(bcd);
+        output.write(ce);
+        output.write(cr);
+        output.write(ol);
+        output.writeBoolean(isEnabled);
+        output.writeBoolean(parity);
+        output.writeBoolean(lsbWritten);
+        output.writeBoolean(lsbRead);
+        output.writeBoolean(isLatched);
+        output.writeBoolean(newCount);
+        output.writeBoolean(isTriggered);
+        output.writeBoolean(isGateRising);
+        output.writeBoolean(readBackCmd);
+    }
+
+    /**
+     * Reads the signals, mode and registers of this counter from the given
+     * input
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        signalClock = input.readBoolean();
+        signalGate = input.readBoolean();
+        signalOut = input.readBoolean();
+        counterMode = input.readInt();
+        rwMode = input.readInt();
+        bcd = input.readBoolean();
+        input.readFully(ce);
+        input.readFully(cr);
+        input.readFully(ol);
+        isEnabled = input.readBoolean();
+        parity = input.readBoolean();
+        lsbWritten = input.readBoolean();
+        lsbRead = input.readBoolean();
+        isLatched = input.readBoolean();
+        newCount = input.readBoolean();
+        isTriggered = input.readBoolean();
+        isGateRising = input.readBoolean();
+        readBackCmd = input.readBoolean();
+    }
+
     /**
      * Performs counter action on one clockpulse. The action depends on the mode
      * the counter is set to, the GATE signal, R/W mode and BCD setting.
@@ -53,6 +53,9 @@ import dioscuri.module.ModuleMotherboard;
 import dioscuri.module.ModulePIC;
 import dioscuri.module.ModulePIT;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -185,6 +188,30 @@ public class PIT extends ModulePIT {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        for (Counter counter : counters) {
+            counter.dumpState(output);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        for (Counter counter : counters) {
+            counter.loadState(input);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -270,10 +297,10 @@ public class PIT extends ModulePIT {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte getIOPortByte(int portAddress) throws ModuleException,
+    public int readByte(int portAddress) throws ModuleException,
             UnknownPortException {
         logger.log(Level.INFO, "[" + super.getType() + "]"
                 + " I/O read from address 0x"
@@ -315,16 +342,16 @@ public class PIT extends ModulePIT {
         }
 
         // Return dummy value 0
-        return returnValue;
+        return returnValue & 0xFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortByte(int portAddress, byte data)
+    public void writeByte(int portAddress, int data)
             throws ModuleException, UnknownPortException {
         logger.log(Level.INFO, "[" + super.getType() + "]" + " I/O write to 0x"
                 + Integer.toHexString(portAddress) + " = 0x"
@@ -336,21 +363,21 @@ public class PIT extends ModulePIT {
                 logger.log(Level.CONFIG, "[" + super.getType()
                         + "] Counter 0: value set to 0x"
                         + Integer.toHexString(data & 0xFF));
-                counters[0].setCounterValue(data);
+                counters[0].setCounterValue((byte) data);
                 break;
 
             case PORT_PIT_COUNTER1: // Counter 1
                 logger.log(Level.CONFIG, "[" + super.getType()
                         + "] Counter 1: value set to 0x"
                         + Integer.toHexString(data & 0xFF));
-                counters[1].setCounterValue(data);
+                counters[1].setCounterValue((byte) data);
                 break;
 
             case PORT_PIT_COUNTER2: // Counter 2
                 logger.log(Level.CONFIG, "[" + super.getType()
                         + "] Counter 2: value set to 0x"
                         + Integer.toHexString(data & 0xFF));
-                counters[2].setCounterValue(data);
+                counters[2].setCounterValue((byte) data);
                 break;
 
             case PORT_PIT_CONTROLWORD1: // Control word
@@ -359,7 +386,7 @@ public class PIT extends ModulePIT {
                 // D7 D6 D5 D4 D3 D2 D1 D0
                 // SC1 SC0 RW1 RW0 M2 M1 M0 BCD
 
-                int iData = (((int) data) & 0xFF);
+                int iData = data;
                 // Counter select (SC1/SC0)
                 int cNum = (iData >> 6);
                 // Read/Write mode (RW1/RW0)
@@ -423,10 +450,10 @@ public class PIT extends ModulePIT {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortWord(int portAddress) throws ModuleException,
+    public int readWord(int portAddress) throws ModuleException,
             WriteOnlyPortException {
         logger.log(Level.WARNING, "[" + super.getType()
                 + "] IN command (word) to port "
@@ -435,17 +462,16 @@ public class PIT extends ModulePIT {
                 + "] Returned default value 0xFFFF to AX");
 
         // Return dummy value 0xFFFF
-        return new byte[]{(byte) 0x0FF, (byte) 0x0FF};
+        return 0xFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortWord(int portAddress, byte[] dataWord)
-            throws ModuleException {
+    public void writeWord(int portAddress, int value) throws ModuleException {
         logger.log(Level.WARNING, "[" + super.getType()
                 + "] OUT command (word) to port "
                 + Integer.toHexString(portAddress).toUpperCase()
@@ -455,10 +481,10 @@ public class PIT extends ModulePIT {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortDoubleWord(int portAddress) throws ModuleException,
+    public int readDword(int portAddress) throws ModuleException,
             WriteOnlyPortException {
         logger.log(Level.WARNING, "[" + super.getType()
                 + "] IN command (double word) to port "
@@ -467,18 +493,16 @@ public class PIT extends ModulePIT {
                 + "] Returned default value 0xFFFFFFFF to eAX");
 
         // Return dummy value 0xFFFFFFFF
-        return new byte[]{(byte) 0x0FF, (byte) 0x0FF, (byte) 0x0FF,
-                (byte) 0x0FF};
+        return 0xFFFFFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
-            throws ModuleException {
+    public void writeDword(int portAddress, int value) throws ModuleException {
         logger.log(Level.WARNING, "[" + super.getType()
                 + "] OUT command (double word) to port "
                 + Integer.toHexString(portAddress).toUpperCase()
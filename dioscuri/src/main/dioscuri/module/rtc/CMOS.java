@@ -44,6 +44,9 @@
  */
 package dioscuri.module.rtc;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Calendar;
 
@@ -279,6 +282,28 @@ public class CMOS {
         calendar = Calendar.getInstance();
     }
 
+    /**
+     * Writes the CMOS memory and calendar time to the given output
+     *
+     * @param output
+     * @throws IOException
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        output.write(ram);
+        output.writeLong(calendar.getTimeInMillis());
+    }
+
+    /**
+     * Reads the CMOS memory and calendar time from the given input
+     *
+     * @param input
+     * @throws IOException
+     */
+    protected void loadState(DataInput input) throws IOException {
+        input.readFully(ram);
+        calendar.setTimeInMillis(input.readLong());
+    }
+
     /**
      * @param systemTime
      */
@@ -48,6 +48,9 @@ import dioscuri.module.ModuleMotherboard;
 import dioscuri.module.ModulePIC;
 import dioscuri.module.ModuleRTC;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.text.DecimalFormat;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -166,6 +169,30 @@ public class RTC extends ModuleRTC {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        cmos.dumpState(output);
+        output.writeBoolean(disableNMI);
+        output.writeInt(lookupRegister);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        cmos.loadState(input);
+        disableNMI = input.readBoolean();
+        lookupRegister = input.readInt();
+    }
+
     /**
      * {@inheritDoc}
      *
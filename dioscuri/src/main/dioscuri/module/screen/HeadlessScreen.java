@@ -0,0 +1,282 @@
+/* $Revision: 159 $ $Date: 2009-08-17 12:52:56 +0000 (ma, 17 aug 2009) $ $Author: blohman $ 
+ * 
+ * Copyright (C) 2007-2009  National Library of the Netherlands, 
+ *                          Nationaal Archief of the Netherlands, 
+ *                          Planets
+ *                          KEEP
+ * 
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation; either version 2
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, 
+ * MA  02110-1301, USA.
+ *
+ * For more information about this project, visit
+ * http://dioscuri.sourceforge.net/
+ * or contact us via email:
+ *   jrvanderhoeven at users.sourceforge.net
+ *   blohman at users.sourceforge.net
+ *   bkiers at users.sourceforge.net
+ * 
+ * Developed by:
+ *   Nationaal Archief               <www.nationaalarchief.nl>
+ *   Koninklijke Bibliotheek         <www.kb.nl>
+ *   Tessella Support Services plc   <www.tessella.com>
+ *   Planets                         <www.planets-project.eu>
+ *   KEEP                            <www.keep-project.eu>
+ * 
+ * Project Title: DIOSCURI
+ */
+
+package dioscuri.module.screen;
+
+import dioscuri.Emulator;
+import dioscuri.interfaces.Module;
+import dioscuri.module.ModuleScreen;
+import dioscuri.module.ModuleVideo;
+
+import javax.swing.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A screen module without a display, used when the emulator runs headless.
+ * <p/>
+ * Only the text geometry and the character set are kept, as the video module
+ * depends on them; all drawing is discarded. No AWT or Swing objects are
+ * created, so the emulator can run on machines without a display. The text
+ * on screen remains available through
+ * {@link ModuleVideo#getVideoBufferCharacters()}.
+ *
+ * @see dioscuri.module.screen.Screen
+ */
+public class HeadlessScreen extends ModuleScreen {
+
+    // Character set
+    private byte[] codePage = new byte[0x2000];
+
+    // Text mode attributes, defaults as in Screen
+    private int textRows = 25;
+    private int textColumns = 90;
+    private int fontWidth = 8;
+    private int fontHeight = 16;
+    private int screenWidth = textColumns * fontWidth;
+    private int screenHeight = textRows * fontHeight;
+
+    // Logging
+    private static final Logger logger = Logger.getLogger(HeadlessScreen.class.getName());
+
+    /**
+     * Class constructor
+     *
+     * @param owner
+     */
+    public HeadlessScreen(Emulator owner) {
+        logger.log(Level.INFO, "[" + super.getType() + "] " + getClass().getName()
+                + " . AbstractModule created successfully.");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.AbstractModule
+     */
+    @Override
+    public boolean reset() {
+        logger.log(Level.INFO, "[" + super.getType() + "] AbstractModule has been reset.");
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The screen is redrawn from the state of the video module, so there is
+     * no state to store.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.AbstractModule
+     */
+    @Override
+    public String getDump() {
+        String ret = "\r\n";
+        return "Headless screen status:" + ret
+                + "Rows: " + textRows + "; Columns: " + textColumns + ret
+                + "Screen width: " + screenWidth + "; screen height: " + screenHeight + ret;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * There is no panel to show, so null is returned.
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public JPanel getScreen() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public void clearScreen() {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public int getScreenRows() {
+        return textRows;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public int getScreenColumns() {
+        return textColumns;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public int getScreenWidth() {
+        return screenWidth;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public int getScreenHeight() {
+        return screenHeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public void setScreenSize(int width, int height) {
+        screenWidth = width;
+        screenHeight = height;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public void updateScreenSize(int newWidth, int newHeight, int newFontWidth,
+                                 int newFontHeight) {
+        // Check if the font size needs updating
+        if (newFontHeight > 0) {
+            fontHeight = newFontHeight;
+            fontWidth = newFontWidth;
+            textColumns = newWidth / fontWidth;
+            textRows = newHeight / fontHeight;
+        }
+        setScreenSize(newWidth, newHeight);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public void updateCodePage(int start) {
+        // Same behaviour as Screen, the character set is copied to video memory
+        ModuleVideo video = (ModuleVideo) super.getConnection(Module.Type.VIDEO);
+        System.arraycopy(codePage, 0, video.getVideoBuffer(), start, 0x2000);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public void setByteInCodePage(int index, byte data) {
+        codePage[index] = data;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public boolean setPaletteColour(byte index, int red, int green, int blue) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public void updateGraphicsTile(byte[] tile, int startPositionX,
+                                   int startPositionY) {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.module.ModuleScreen
+     */
+    @Override
+    public void updateText(int oldText, int newText, long cursorXPos,
+                           long cursorYPos, short[] textModeAttribs, int numberOfRows) {
+        // ...
+    }
+}
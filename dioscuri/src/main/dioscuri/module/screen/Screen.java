@@ -47,6 +47,9 @@ import dioscuri.module.ModuleVideo;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -194,6 +197,29 @@ public class Screen extends ModuleScreen {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The screen is redrawn from the state of the video module, so there is
+     * no state to store.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        // ...
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        // ...
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -41,6 +41,9 @@ package dioscuri.module.serialport;
 
 import dioscuri.interfaces.UART;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.Queue;
 
@@ -223,4 +226,138 @@ public class ComPort {
 
     }
 
+    /**
+     * Writes the registers and FIFO contents of this COM-port. The IRQ number
+     * and attached UART device are configuration and are not stored.
+     */
+    void dumpState(DataOutput output) throws IOException {
+        output.writeInt(ls_ipending);
+        output.writeInt(ms_ipending);
+        output.writeInt(rx_ipending);
+        output.writeInt(fifo_ipending);
+        output.writeInt(ls_interrupt);
+        output.writeInt(ms_interrupt);
+        output.writeInt(rx_interrupt);
+        output.writeInt(fifo_interrupt);
+        output.writeInt(tx_interrupt);
+        output.writeInt(rx_pollstate);
+        output.writeByte(rbr);
+        output.writeByte(thr);
+        output.writeByte(tsr);
+        output.writeInt(ier_rxdata_enable);
+        output.writeInt(ier_txhold_enable);
+        output.writeInt(ier_rxlstat_enable);
+        output.writeInt(ier_modstat_enable);
+        output.writeInt(iir_ipending);
+        output.writeInt(iir_int_ID);
+        output.writeInt(fcr_enable);
+        output.writeInt(fcr_rxtrigger);
+        output.writeInt(lcr_wordlen_sel);
+        output.writeInt(lcr_stopbits);
+        output.writeInt(lcr_parity_enable);
+        output.writeInt(lcr_evenparity_sel);
+        output.writeInt(lcr_stick_parity);
+        output.writeInt(lcr_break_cntl);
+        output.writeInt(lcr_dlab);
+        output.writeInt(mcr_dtr);
+        output.writeInt(mcr_rts);
+        output.writeInt(mcr_out1);
+        output.writeInt(mcr_out2);
+        output.writeInt(mcr_local_loopback);
+        output.writeInt(lsr_rxdata_ready);
+        output.writeInt(lsr_overrun_error);
+        output.writeInt(lsr_parity_error);
+        output.writeInt(lsr_framing_error);
+        output.writeInt(lsr_break_int);
+        output.writeInt(lsr_thr_empty);
+        output.writeInt(lsr_tsr_empty);
+        output.writeInt(lsr_fifo_error);
+        output.writeInt(msr_delta_cts);
+        output.writeInt(msr_delta_dsr);
+        output.writeInt(msr_ri_trailedge);
+        output.writeInt(msr_delta_dcd);
+        output.writeInt(msr_cts);
+        output.writeInt(msr_dsr);
+        output.writeInt(msr_ri);
+        output.writeInt(msr_dcd);
+        output.writeByte(scr);
+        output.writeByte(dll);
+        output.writeByte(dlm);
+        output.writeInt(baudrate);
+        output.writeInt(rcvrFIFO.size());
+        for (Byte b : rcvrFIFO) {
+            output.writeByte(b);
+        }
+        output.writeInt(xmitFIFO.size());
+        for (Byte b : xmitFIFO) {
+            output.writeByte(b);
+        }
+    }
+
+    /**
+     * Restores the state written by {@link #dumpState(DataOutput)}.
+     */
+    void loadState(DataInput input) throws IOException {
+        ls_ipending = input.readInt();
+        ms_ipending = input.readInt();
+        rx_ipending = input.readInt();
+        fifo_ipending = input.readInt();
+        ls_interrupt = input.readInt();
+        ms_interrupt = input.readInt();
+        rx_interrupt = input.readInt();
+        fifo_interrupt = input.readInt();
+        tx_interrupt = input.readInt();
+        rx_pollstate = input.readInt();
+        rbr = input.readByte();
+        thr = input.readByte();
+        tsr = input.readByte();
+        ier_rxdata_enable = input.readInt();
+        ier_txhold_enable = input.readInt();
+        ier_rxlstat_enable = input.readInt();
+        ier_modstat_enable = input.readInt();
+        iir_ipending = input.readInt();
+        iir_int_ID = input.readInt();
+        fcr_enable = input.readInt();
+        fcr_rxtrigger = input.readInt();
+        lcr_wordlen_sel = input.readInt();
+        lcr_stopbits = input.readInt();
+        lcr_parity_enable = input.readInt();
+        lcr_evenparity_sel = input.readInt();
+        lcr_stick_parity = input.readInt();
+        lcr_break_cntl = input.readInt();
+        lcr_dlab = input.readInt();
+        mcr_dtr = input.readInt();
+        mcr_rts = input.readInt();
+        mcr_out1 = input.readInt();
+        mcr_out2 = input.readInt();
+        mcr_local_loopback = input.readInt();
+        lsr_rxdata_ready = input.readInt();
+        lsr_overrun_error = input.readInt();
+        lsr_parity_error = input.readInt();
+        lsr_framing_error = input.readInt();
+        lsr_break_int = input.readInt();
+        lsr_thr_empty = input.readInt();
+        lsr_tsr_empty = input.readInt();
+        lsr_fifo_error = input.readInt();
+        msr_delta_cts = input.readInt();
+        msr_delta_dsr = input.readInt();
+        msr_ri_trailedge = input.readInt();
+        msr_delta_dcd = input.readInt();
+        msr_cts = input.readInt();
+        msr_dsr = input.readInt();
+        msr_ri = input.readInt();
+        msr_dcd = input.readInt();
+        scr = input.readByte();
+        dll = input.readByte();
+        dlm = input.readByte();
+        baudrate = input.readInt();
+        rcvrFIFO.clear();
+        for (int i = input.readInt(); i > 0; i--) {
+            rcvrFIFO.offer(input.readByte());
+        }
+        xmitFIFO.clear();
+        for (int i = input.readInt(); i > 0; i--) {
+            xmitFIFO.offer(input.readByte());
+        }
+    }
 }
@@ -49,6 +49,9 @@ import dioscuri.module.ModuleMotherboard;
 import dioscuri.module.ModulePIC;
 import dioscuri.module.ModuleSerialPort;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -230,6 +233,32 @@ public class SerialPort extends ModuleSerialPort {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        output.writeInt(updateInterval);
+        for (ComPort comPort : comPorts) {
+            comPort.dumpState(output);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        updateInterval = input.readInt();
+        for (ComPort comPort : comPorts) {
+            comPort.loadState(input);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -325,10 +354,10 @@ public class SerialPort extends ModuleSerialPort {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte getIOPortByte(int portAddress) throws UnknownPortException,
+    public int readByte(int portAddress) throws UnknownPortException,
             WriteOnlyPortException {
         int offset, port;
         byte value = 0x00;
@@ -512,17 +541,18 @@ public class SerialPort extends ModuleSerialPort {
                 + Integer.toHexString(portAddress).toUpperCase() + ": 0x"
                 + Integer.toHexString(((int) value) & 0xFF).toUpperCase());
 
-        return value;
+        return value & 0xFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortByte(int portAddress, byte data)
+    public void writeByte(int portAddress, int value)
             throws UnknownPortException {
+        byte data = (byte) value;
 
         ModuleMotherboard motherboard = (ModuleMotherboard) super.getConnection(Module.Type.MOTHERBOARD);
         ModulePIC pic = (ModulePIC) super.getConnection(Module.Type.PIC);
@@ -956,10 +986,10 @@ public class SerialPort extends ModuleSerialPort {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortWord(int portAddress) throws ModuleException,
+    public int readWord(int portAddress) throws ModuleException,
             WriteOnlyPortException {
         logger.log(Level.INFO, "[" + super.getType()
                 + "] IN command (word) to port "
@@ -968,17 +998,16 @@ public class SerialPort extends ModuleSerialPort {
                 + "] Returned default value 0xFFFF to AX");
 
         // Return dummy value 0xFFFF
-        return new byte[]{(byte) 0x0FF, (byte) 0x0FF};
+        return 0xFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortWord(int portAddress, byte[] dataWord)
-            throws ModuleException {
+    public void writeWord(int portAddress, int value) throws ModuleException {
         logger.log(Level.WARNING, "[" + super.getType()
                 + "] OUT command (word) to port "
                 + Integer.toHexString(portAddress).toUpperCase()
@@ -988,10 +1017,10 @@ public class SerialPort extends ModuleSerialPort {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortDoubleWord(int portAddress) throws ModuleException,
+    public int readDword(int portAddress) throws ModuleException,
             WriteOnlyPortException {
         logger.log(Level.INFO, "[" + super.getType()
                 + "] IN command (double word) to port "
@@ -1000,17 +1029,16 @@ public class SerialPort extends ModuleSerialPort {
                 + "] Returned default value 0xFFFFFFFF to eAX");
 
         // Return dummy value 0xFFFFFFFF
-        return new byte[]{(byte) 0x0FF, (byte) 0x0FF, (byte) 0x0FF, (byte) 0x0FF};
+        return 0xFFFFFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
-            throws ModuleException {
+    public void writeDword(int portAddress, int value) throws ModuleException {
         logger.log(Level.INFO, "[" + super.getType()
                 + "] OUT command (double word) to port "
                 + Integer.toHexString(portAddress).toUpperCase()
@@ -44,9 +44,13 @@ import dioscuri.exception.ModuleException;
 import dioscuri.exception.UnknownPortException;
 import dioscuri.exception.WriteOnlyPortException;
 import dioscuri.interfaces.Module;
+import dioscuri.metrics.Counter;
 import dioscuri.module.*;
 import dioscuri.module.cpu32.*;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -70,7 +74,9 @@ import java.util.logging.Logger;
 
 public class Video extends ModuleVideo {
 
-    static long counter = 0;
+    private long counter = 0; // Number of text mode updates, for logging
+    private final Counter framesRendered = new Counter(); // Number of screen refreshes
+    private final Counter tilesRendered = new Counter(); // Number of graphics tiles sent to the screen
 
     // Relations
     private VideoCard videocard;
@@ -175,6 +181,42 @@ public class Video extends ModuleVideo {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void dumpState(DataOutput output) throws IOException {
+        videocard.dumpState(output);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * The screen size and palette are pushed to the screen again, and the
+     * whole display is redrawn on the next update.
+     *
+     * @see dioscuri.interfaces.Module
+     */
+    @Override
+    public void loadState(DataInput input) throws IOException {
+        videocard.loadState(input);
+
+        // Force a screen resize on the next update
+        oldScreenWidth = 0;
+        oldScreenHeight = 0;
+        oldMaxScanLine = 0;
+
+        ModuleScreen screen = (ModuleScreen) super.getConnection(Module.Type.SCREEN);
+        for (int i = 0; i < videocard.pixels.length; i++) {
+            screen.setPaletteColour((byte) i,
+                    videocard.pixels[i].red << 2,
+                    videocard.pixels[i].green << 2,
+                    videocard.pixels[i].blue << 2);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -233,6 +275,7 @@ public class Video extends ModuleVideo {
         // be fairly accurate!
         // if (( (cpu.getCurrentInstruction()/cpu.getIPS) % 13888) < 70)
         // return;
+        framesRendered.increment();
 
         // Determine if in graphic/text mode; this is set in graphics register
         // 0x06
@@ -306,6 +349,7 @@ public class Video extends ModuleVideo {
                                     videocard.setTileUpdate(xti, yti, false);
                                     screen.updateGraphicsTile(videocard.tile, xc,
                                             yc);
+                                    tilesRendered.increment();
                                 }
                             }
                         }
@@ -389,6 +433,7 @@ public class Video extends ModuleVideo {
                                     videocard.setTileUpdate(xti, yti, false);
                                     screen.updateGraphicsTile(videocard.tile, xc,
                                             yc);
+                                    tilesRendered.increment();
                                 }
                             }
                         }
@@ -429,6 +474,7 @@ public class Video extends ModuleVideo {
                                 }
                                 videocard.setTileUpdate(xti, yti, false);
                                 screen.updateGraphicsTile(videocard.tile, xc, yc);
+                                tilesRendered.increment();
                             }
                         }
                     }
@@ -469,6 +515,7 @@ public class Video extends ModuleVideo {
                                     videocard.setTileUpdate(xti, yti, false);
                                     screen.updateGraphicsTile(videocard.tile, xc,
                                             yc);
+                                    tilesRendered.increment();
                                 }
                             }
                         }
@@ -497,6 +544,7 @@ public class Video extends ModuleVideo {
                                     videocard.setTileUpdate(xti, yti, false);
                                     screen.updateGraphicsTile(videocard.tile, xc,
                                             yc);
+                                    tilesRendered.increment();
                                 }
                             }
                         }
@@ -637,6 +685,20 @@ public class Video extends ModuleVideo {
         }
     }
 
+    /**
+     * @return number of screen refreshes done by update()
+     */
+    public long getFramesRendered() {
+        return framesRendered.get();
+    }
+
+    /**
+     * @return number of graphics tiles sent to the screen
+     */
+    public long getTilesRendered() {
+        return tilesRendered.get();
+    }
+
     /**
      * Prepares an area of the screen starting at xOrigin, yOrigin and size
      * width, height<BR>
@@ -706,10 +768,10 @@ public class Video extends ModuleVideo {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte getIOPortByte(int portAddress) throws ModuleException,
+    public int readByte(int portAddress) throws ModuleException,
             UnknownPortException, WriteOnlyPortException {
 
         ModuleCPU cpu = (ModuleCPU) super.getConnection(Module.Type.CPU);
@@ -721,13 +783,13 @@ public class Video extends ModuleVideo {
                 && (videocard.miscOutputRegister.ioAddressSelect != 0)) {
             // Adapter is in colour mode, but addressing monochrome mode ports,
             // so return default value
-            return (byte) (0xFF);
+            return 0xFF;
         }
         if ((portAddress >= 0x3D0) && (portAddress <= 0x3DF)
                 && (videocard.miscOutputRegister.ioAddressSelect == 0)) {
             // Adapter is in monochrome mode, but addressing colour mode ports,
             // so return default value
-            return (byte) (0xFF);
+            return 0xFF;
         }
 
         switch (portAddress) {
@@ -787,13 +849,13 @@ public class Video extends ModuleVideo {
                     videocard.horizRetrace = 0;
                 }
 
-                return (byte) (videocard.vertRetrace << 3 | videocard.displayDisabled);
+                return (videocard.vertRetrace << 3 | videocard.displayDisabled) & 0xFF;
 
             case 0x3C0: // Attribute Controller Attribute Address Register (only
                 // read when the flipflop is in address mode)
                 // Check flipflop state
                 if (!videocard.attributeController.dataAddressFlipFlop) {
-                    return (byte) ((videocard.attributeController.paletteAddressSource << 5) | videocard.attributeController.index);
+                    return ((videocard.attributeController.paletteAddressSource << 5) | videocard.attributeController.index) & 0xFF;
                 } else {
                     logger
                             .log(
@@ -826,27 +888,27 @@ public class Video extends ModuleVideo {
                     case 0x0E:
                     case 0x0F:
                         returnValue = videocard.attributeController.paletteRegister[videocard.attributeController.index];
-                        return (returnValue);
+                        return returnValue & 0xFF;
 
                     case 0x10: // Mode control register
-                        return ((byte) ((videocard.attributeController.modeControlReg.graphicsEnable << 0)
+                        return ((videocard.attributeController.modeControlReg.graphicsEnable << 0)
                                 | (videocard.attributeController.modeControlReg.monoColourEmu << 1)
                                 | (videocard.attributeController.modeControlReg.lineGraphicsEnable << 2)
                                 | (videocard.attributeController.modeControlReg.blinkIntensity << 3)
                                 | (videocard.attributeController.modeControlReg.pixelPanningMode << 5)
-                                | (videocard.attributeController.modeControlReg.colour8Bit << 6) | (videocard.attributeController.modeControlReg.paletteBitsSelect << 7)));
+                                | (videocard.attributeController.modeControlReg.colour8Bit << 6) | (videocard.attributeController.modeControlReg.paletteBitsSelect << 7)) & 0xFF;
 
                     case 0x11: // Overscan colour
-                        return (videocard.attributeController.overscanColour);
+                        return videocard.attributeController.overscanColour & 0xFF;
 
                     case 0x12: // Colour plane enable
-                        return (videocard.attributeController.colourPlaneEnable);
+                        return videocard.attributeController.colourPlaneEnable & 0xFF;
 
                     case 0x13: // Horizontal pixel panning
-                        return (videocard.attributeController.horizPixelPanning);
+                        return videocard.attributeController.horizPixelPanning & 0xFF;
 
                     case 0x14: // Colour select
-                        return (videocard.attributeController.colourSelect);
+                        return videocard.attributeController.colourSelect & 0xFF;
 
                     default:
                         logger.log(Level.SEVERE, "["
@@ -865,32 +927,32 @@ public class Video extends ModuleVideo {
                 return 0;
 
             case 0x3C3: // VGA Enable Register
-                return (videocard.vgaEnabled) ? (byte) 1 : 0;
+                return videocard.vgaEnabled ? 1 : 0;
 
             case 0x3C4: // Sequencer Index
-                return (videocard.sequencer.index);
+                return videocard.sequencer.index & 0xFF;
 
             case 0x3C5: // Sequencer Registers 0-4, based on index
                 switch (videocard.sequencer.index) {
                     case 0: // Asynch and synch reset
                         logger.log(Level.INFO, "[" + super.getType() + "]"
                                 + " Port [0x3C5] reads sequencer reset");
-                        return (byte) (videocard.sequencer.aSynchReset | (videocard.sequencer.synchReset << 1));
+                        return (videocard.sequencer.aSynchReset | (videocard.sequencer.synchReset << 1)) & 0xFF;
 
                     case 1: // Clocking mode
                         logger.log(Level.INFO, "[" + super.getType() + "]"
                                 + " Port [0x3C5] reads sequencer clocking mode");
-                        return (videocard.sequencer.clockingMode);
+                        return videocard.sequencer.clockingMode & 0xFF;
 
                     case 2: // Map mask register
-                        return (videocard.sequencer.mapMask);
+                        return videocard.sequencer.mapMask & 0xFF;
 
                     case 3: // Character map select register
-                        return (videocard.sequencer.characterMapSelect);
+                        return videocard.sequencer.characterMapSelect & 0xFF;
 
                     case 4: // Memory mode register */
-                        return ((byte) ((videocard.sequencer.extendedMemory << 1)
-                                | (videocard.sequencer.oddEvenDisable << 2) | (videocard.sequencer.chainFourEnable << 3)));
+                        return ((videocard.sequencer.extendedMemory << 1)
+                                | (videocard.sequencer.oddEvenDisable << 2) | (videocard.sequencer.chainFourEnable << 3)) & 0xFF;
 
                     default:
                         logger.log(Level.SEVERE, "["
@@ -903,13 +965,13 @@ public class Video extends ModuleVideo {
                 }
 
             case 0x3C6: // Pixel mask register
-                return (videocard.colourRegister.pixelMask);
+                return videocard.colourRegister.pixelMask & 0xFF;
 
             case 0x3C7: // DAC state register
-                return (videocard.colourRegister.dacState);
+                return videocard.colourRegister.dacState & 0xFF;
 
             case 0x3C8: // DAC write index
-                return (videocard.colourRegister.dacWriteAddress);
+                return videocard.colourRegister.dacWriteAddress & 0xFF;
 
             case 0x3C9: // DAC Data Register; read colour values in sets of three.
                 // Automatically increment counter and address
@@ -941,14 +1003,14 @@ public class Video extends ModuleVideo {
                 } else { // DAC read state not enabled, return ones
                     returnValue = 0x3F;
                 }
-                return (returnValue);
+                return returnValue & 0xFF;
 
             case 0x3CC: // Miscellaneous Output
-                return ((byte) (((videocard.miscOutputRegister.ioAddressSelect & 0x01) << 0)
+                return (((videocard.miscOutputRegister.ioAddressSelect & 0x01) << 0)
                         | ((videocard.miscOutputRegister.ramEnable & 0x01) << 1)
                         | ((videocard.miscOutputRegister.clockSelect & 0x03) << 2)
                         | ((videocard.miscOutputRegister.lowHighPage & 0x01) << 5)
-                        | ((videocard.miscOutputRegister.horizontalSyncPol & 0x01) << 6) | ((videocard.miscOutputRegister.verticalSyncPol & 0x01) << 7)));
+                        | ((videocard.miscOutputRegister.horizontalSyncPol & 0x01) << 6) | ((videocard.miscOutputRegister.verticalSyncPol & 0x01) << 7)) & 0xFF;
 
             case 0x3CD: // GDC segment select ???
                 logger.log(Level.INFO, "[" + super.getType() + "]"
@@ -956,24 +1018,24 @@ public class Video extends ModuleVideo {
                 return 0x00;
 
             case 0x3CE: // Graphics Controller index
-                return (byte) (videocard.graphicsController.index);
+                return videocard.graphicsController.index & 0xFF;
 
             case 0x3CF: // Graphics Controller Registers 0-8, based on index
                 switch (videocard.graphicsController.index) {
                     case 0: // Set/Reset
-                        return (videocard.graphicsController.setReset);
+                        return videocard.graphicsController.setReset & 0xFF;
 
                     case 1: // Enable Set/Reset
-                        return (videocard.graphicsController.enableSetReset);
+                        return videocard.graphicsController.enableSetReset & 0xFF;
 
                     case 2: // Colour Compare
-                        return (videocard.graphicsController.colourCompare);
+                        return videocard.graphicsController.colourCompare & 0xFF;
 
                     case 3: // Data Rotate
-                        return ((byte) (((videocard.graphicsController.dataOperation & 0x03) << 3) | ((videocard.graphicsController.dataRotate & 0x07) << 0)));
+                        return (((videocard.graphicsController.dataOperation & 0x03) << 3) | ((videocard.graphicsController.dataRotate & 0x07) << 0)) & 0xFF;
 
                     case 4: // Read Map Select
-                        return (videocard.graphicsController.readMapSelect);
+                        return videocard.graphicsController.readMapSelect & 0xFF;
 
                     case 5: // Graphics Mode
                         returnValue = (byte) (((videocard.graphicsController.shift256Reg & 0x03) << 5)
@@ -984,17 +1046,17 @@ public class Video extends ModuleVideo {
                                 || videocard.graphicsController.shift256Reg != 0)
                             logger.log(Level.INFO, "[" + super.getType() + "]"
                                     + " io read 0x3cf: reg 05 = " + returnValue);
-                        return (returnValue);
+                        return returnValue & 0xFF;
 
                     case 6: // Miscellaneous Graphics
-                        return ((byte) (((videocard.graphicsController.memoryMapSelect & 0x03) << 2)
-                                | ((videocard.graphicsController.hostOddEvenEnable & 0x01) << 1) | ((videocard.graphicsController.alphaNumDisable & 0x01) << 0)));
+                        return (((videocard.graphicsController.memoryMapSelect & 0x03) << 2)
+                                | ((videocard.graphicsController.hostOddEvenEnable & 0x01) << 1) | ((videocard.graphicsController.alphaNumDisable & 0x01) << 0)) & 0xFF;
 
                     case 7: // Colour Don't Care
-                        return (videocard.graphicsController.colourDontCare);
+                        return videocard.graphicsController.colourDontCare & 0xFF;
 
                     case 8: // Bit Mask
-                        return (videocard.graphicsController.bitMask);
+                        return videocard.graphicsController.bitMask & 0xFF;
 
                     default:
                         logger.log(Level.SEVERE, "["
@@ -1004,11 +1066,11 @@ public class Video extends ModuleVideo {
                                 + Integer.toHexString(
                                 videocard.graphicsController.index)
                                 .toUpperCase());
-                        return (0);
+                        return 0;
                 }
 
             case 0x3D4: // CRTC Index Register
-                return (videocard.crtControllerRegister.index);
+                return videocard.crtControllerRegister.index & 0xFF;
 
             case 0x3B5: // CRTC Registers (monochrome emulation modes)
             case 0x3D5: // CRTC Registers (colour emulation modes)
@@ -1022,9 +1084,9 @@ public class Video extends ModuleVideo {
                             + Integer.toHexString(
                             videocard.crtControllerRegister.index)
                             .toUpperCase());
-                    return (0);
+                    return 0;
                 }
-                return videocard.crtControllerRegister.regArray[videocard.crtControllerRegister.index];
+                return videocard.crtControllerRegister.regArray[videocard.crtControllerRegister.index] & 0xFF;
 
             case 0x3B4: // CRTC Index Register (monochrome emulation modes)
                 // TODO: return crt index register here, same as 0x3D4???
@@ -1041,11 +1103,12 @@ public class Video extends ModuleVideo {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortByte(int portAddress, byte data)
+    public void writeByte(int portAddress, int value)
             throws ModuleException, UnknownPortException {
+        byte data = (byte) value;
 
         ModuleScreen screen = (ModuleScreen) super.getConnection(Module.Type.SCREEN);
 
@@ -1696,45 +1759,47 @@ public class Video extends ModuleVideo {
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortWord(int portAddress) throws ModuleException,
-            UnknownPortException, WriteOnlyPortException {
-        return null;
+    public int readWord(int portAddress)
+            throws ModuleException, UnknownPortException, WriteOnlyPortException {
+        // Support IO words by redirecting to byte handler
+        return readByte(portAddress) | (readByte(portAddress + 1) << 8);
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortWord(int portAddress, byte[] dataWord)
+    public void writeWord(int portAddress, int value)
             throws ModuleException, UnknownPortException {
         // Support IO words by redirecting to byte handler
-        setIOPortByte(portAddress, (byte) (dataWord[1] & 0xff));
-        setIOPortByte(portAddress + 1, (byte) (dataWord[0] & 0xff));
+        writeByte(portAddress, value & 0xFF);
+        writeByte(portAddress + 1, (value >> 8) & 0xFF);
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public byte[] getIOPortDoubleWord(int portAddress) throws ModuleException,
-            UnknownPortException, WriteOnlyPortException {
-        return null;
+    public int readDword(int portAddress)
+            throws ModuleException, UnknownPortException, WriteOnlyPortException {
+        // No double word registers
+        return 0xFFFFFFFF;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @see dioscuri.interfaces.Addressable
+     * @see dioscuri.interfaces.IntAddressable
      */
     @Override
-    public void setIOPortDoubleWord(int portAddress, byte[] dataDoubleWord)
+    public void writeDword(int portAddress, int value)
             throws ModuleException, UnknownPortException {
     }
 
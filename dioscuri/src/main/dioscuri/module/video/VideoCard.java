@@ -39,6 +39,9 @@
 
 package dioscuri.module.video;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 
 /*
@@ -143,7 +146,9 @@ public class VideoCard {
     // Initialises Pixel array
 
     public VideoCard() {
-        Arrays.fill(pixels, new Pixel());
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = new Pixel();
+        }
     }
 
     // Methods
@@ -197,4 +202,174 @@ public class VideoCard {
         Arrays.fill(vgaMemory, (byte) 0);
     }
 
+    /**
+     * Writes the register files, DAC palette and video memory of this card.
+     * Render helpers (tiles, text snapshot) are not stored; they are rebuilt
+     * by a full screen update after loading.
+     *
+     * @param output stream to write the state to
+     * @throws IOException if writing fails
+     */
+    protected void dumpState(DataOutput output) throws IOException {
+        output.writeByte(miscOutputRegister.verticalSyncPol);
+        output.writeByte(miscOutputRegister.horizontalSyncPol);
+        output.writeByte(miscOutputRegister.lowHighPage);
+        output.writeByte(miscOutputRegister.clockSelect);
+        output.writeByte(miscOutputRegister.ramEnable);
+        output.writeByte(miscOutputRegister.ioAddressSelect);
+        output.writeByte(sequencer.index);
+        output.writeByte(sequencer.aSynchReset);
+        output.writeByte(sequencer.synchReset);
+        output.writeByte(sequencer.clockingMode);
+        output.writeByte(sequencer.dotClockRate);
+        output.writeByte(sequencer.mapMask);
+        output.write(sequencer.mapMaskArray);
+        output.writeByte(sequencer.characterMapSelect);
+        output.writeShort(sequencer.charMapAddress);
+        output.writeByte(sequencer.chainFourEnable);
+        output.writeByte(sequencer.oddEvenDisable);
+        output.writeByte(sequencer.extendedMemory);
+        output.writeInt(graphicsController.index);
+        output.write(graphicsController.latch);
+        output.writeByte(graphicsController.setReset);
+        output.writeByte(graphicsController.enableSetReset);
+        output.writeByte(graphicsController.colourCompare);
+        output.writeByte(graphicsController.dataOperation);
+        output.writeByte(graphicsController.dataRotate);
+        output.writeByte(graphicsController.readMapSelect);
+        output.writeByte(graphicsController.shift256Reg);
+        output.writeByte(graphicsController.hostOddEvenEnable);
+        output.writeByte(graphicsController.readMode);
+        output.writeByte(graphicsController.writeMode);
+        output.writeByte(graphicsController.memoryMapSelect);
+        output.writeByte(graphicsController.chainOddEvenEnable);
+        output.writeByte(graphicsController.alphaNumDisable);
+        output.writeByte(graphicsController.colourDontCare);
+        output.writeByte(graphicsController.bitMask);
+        output.writeByte(crtControllerRegister.index);
+        output.writeBoolean(crtControllerRegister.protectEnable);
+        output.write(crtControllerRegister.regArray);
+        output.writeByte(crtControllerRegister.scanDoubling);
+        output.writeInt(attributeController.index);
+        output.writeInt(attributeController.paletteAddressSource);
+        output.writeBoolean(attributeController.dataAddressFlipFlop);
+        output.write(attributeController.paletteRegister);
+        output.writeByte(attributeController.overscanColour);
+        output.writeByte(attributeController.colourPlaneEnable);
+        output.writeByte(attributeController.horizPixelPanning);
+        output.writeByte(attributeController.colourSelect);
+        output.writeByte(attributeController.modeControlReg.paletteBitsSelect);
+        output.writeByte(attributeController.modeControlReg.colour8Bit);
+        output.writeByte(attributeController.modeControlReg.pixelPanningMode);
+        output.writeByte(attributeController.modeControlReg.blinkIntensity);
+        output.writeByte(attributeController.modeControlReg.lineGraphicsEnable);
+        output.writeByte(attributeController.modeControlReg.monoColourEmu);
+        output.writeByte(attributeController.modeControlReg.graphicsEnable);
+        output.writeByte(colourRegister.pixelMask);
+        output.writeByte(colourRegister.dacState);
+        output.writeByte(colourRegister.dacReadAddress);
+        output.writeInt(colourRegister.dacReadCounter);
+        output.writeByte(colourRegister.dacWriteAddress);
+        output.writeInt(colourRegister.dacWriteCounter);
+        output.writeBoolean(vgaEnabled);
+        output.writeByte(vertRetrace);
+        output.writeByte(displayDisabled);
+        output.writeByte(horizRetrace);
+        output.writeInt(lineOffset);
+        output.writeInt(lineCompare);
+        output.writeInt(verticalDisplayEnd);
+        for (Pixel pixel : pixels) {
+            output.writeByte(pixel.red);
+            output.writeByte(pixel.green);
+            output.writeByte(pixel.blue);
+        }
+        output.write(vgaMemory);
+    }
+
+    /**
+     * Restores the state written by {@link #dumpState(DataOutput)}.
+     *
+     * @param input stream to read the state from
+     * @throws IOException if reading fails
+     */
+    protected void loadState(DataInput input) throws IOException {
+        miscOutputRegister.verticalSyncPol = input.readByte();
+        miscOutputRegister.horizontalSyncPol = input.readByte();
+        miscOutputRegister.lowHighPage = input.readByte();
+        miscOutputRegister.clockSelect = input.readByte();
+        miscOutputRegister.ramEnable = input.readByte();
+        miscOutputRegister.ioAddressSelect = input.readByte();
+        sequencer.index = input.readByte();
+        sequencer.aSynchReset = input.readByte();
+        sequencer.synchReset = input.readByte();
+        sequencer.clockingMode = input.readByte();
+        sequencer.dotClockRate = input.readByte();
+        sequencer.mapMask = input.readByte();
+        input.readFully(sequencer.mapMaskArray);
+        sequencer.characterMapSelect = input.readByte();
+        sequencer.charMapAddress = input.readShort();
+        sequencer.chainFourEnable = input.readByte();
+        sequencer.oddEvenDisable = input.readByte();
+        sequencer.extendedMemory = input.readByte();
+        graphicsController.index = input.readInt();
+        input.readFully(graphicsController.latch);
+        graphicsController.setReset = input.readByte();
+        graphicsController.enableSetReset = input.readByte();
+        graphicsController.colourCompare = input.readByte();
+        graphicsController.dataOperation = input.readByte();
+        graphicsController.dataRotate = input.readByte();
+        graphicsController.readMapSelect = input.readByte();
+        graphicsController.shift256Reg = input.readByte();
+        graphicsController.hostOddEvenEnable = input.readByte();
+        graphicsController.readMode = input.readByte();
+        graphicsController.writeMode = input.readByte();
+        graphicsController.memoryMapSelect = input.readByte();
+        graphicsController.chainOddEvenEnable = input.readByte();
+        graphicsController.alphaNumDisable = input.readByte();
+        graphicsController.colourDontCare = input.readByte();
+        graphicsController.bitMask = input.readByte();
+        crtControllerRegister.index = input.readByte();
+        crtControllerRegister.protectEnable = input.readBoolean();
+        input.readFully(crtControllerRegister.regArray);
+        crtControllerRegister.scanDoubling = input.readByte();
+        attributeController.index = input.readInt();
+        attributeController.paletteAddressSource = input.readInt();
+        attributeController.dataAddressFlipFlop = input.readBoolean();
+        input.readFully(attributeController.paletteRegister);
+        attributeController.overscanColour = input.readByte();
+        attributeController.colourPlaneEnable = input.readByte();
+        attributeController.horizPixelPanning = input.readByte();
+        attributeController.colourSelect = input.readByte();
+        attributeController.modeControlReg.paletteBitsSelect = input.readByte();
+        attributeController.modeControlReg.colour8Bit = input.readByte();
+        attributeController.modeControlReg.pixelPanningMode = input.readByte();
+        attributeController.modeControlReg.blinkIntensity = input.readByte();
+        attributeController.modeControlReg.lineGraphicsEnable = input.readByte();
+        attributeController.modeControlReg.monoColourEmu = input.readByte();
+        attributeController.modeControlReg.graphicsEnable = input.readByte();
+        colourRegister.pixelMask = input.readByte();
+        colourRegister.dacState = input.readByte();
+        colourRegister.dacReadAddress = input.readByte();
+        colourRegister.dacReadCounter = input.readInt();
+        colourRegister.dacWriteAddress = input.readByte();
+        colourRegister.dacWriteCounter = input.readInt();
+        vgaEnabled = input.readBoolean();
+        vertRetrace = input.readByte();
+        displayDisabled = input.readByte();
+        horizRetrace = input.readByte();
+        lineOffset = input.readInt();
+        lineCompare = input.readInt();
+        verticalDisplayEnd = input.readInt();
+        for (Pixel pixel : pixels) {
+            pixel.red = input.readByte();
+            pixel.green = input.readByte();
+            pixel.blue = input.readByte();
+        }
+        input.readFully(vgaMemory);
+        for (boolean[] column : vgaTileUpdated) {
+            Arrays.fill(column, true);
+        }
+        Arrays.fill(textSnapshot, (byte) 0);
+        vgaMemReqUpdate = true;
+    }
 }
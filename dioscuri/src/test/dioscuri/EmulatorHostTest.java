@@ -0,0 +1,121 @@
+package dioscuri;
+
+import dioscuri.config.ConfigController;
+import dioscuri.config.Emulator.Architecture.Modules;
+import dioscuri.interfaces.Module;
+import dioscuri.module.cpu32.CodeCache;
+import dioscuri.module.cpu32.Processor;
+import dioscuri.util.Utilities;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests running two 32-bit machines in one virtual machine with the code
+ * store of an {@link EmulatorHost}.
+ */
+public class EmulatorHostTest {
+
+    // Time the machines get to boot FreeDOS
+    private static final long BOOT_MILLIS = 120000;
+
+    // Text on screen once the FreeDOS kernel is loaded
+    private static final String BOOTED = "FreeDOS kernel";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void copy(File from, File to) throws IOException {
+        InputStream input = new FileInputStream(from);
+        try {
+            OutputStream output = new FileOutputStream(to);
+            try {
+                byte[] buffer = new byte[65536];
+                int count;
+                while ((count = input.read(buffer)) > 0) {
+                    output.write(buffer, 0, count);
+                }
+            } finally {
+                output.close();
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Writes the configuration of a machine that boots from its own copy of
+     * the FreeDOS floppy.
+     *
+     * @param name name of the machine
+     * @return path of the configuration file
+     */
+    private String configure(ConfigController controller, String name) throws Exception {
+        dioscuri.config.Emulator config = controller.loadFromXML(new File(Constants.DEFAULT_CONFIG_XML));
+        Modules modules = config.getArchitecture().getModules();
+
+        File floppy = folder.newFile(name + ".ima");
+        copy(Utilities.resolvePathAsFile(modules.getFdc().getFloppy().get(0).getImagefilepath()), floppy);
+        modules.getFdc().getFloppy().get(0).setImagefilepath(floppy.getAbsolutePath());
+        modules.getBios().get(0).setSysbiosfilepath(Constants.BOCHS_BIOS);
+        modules.getBios().get(0).setVgabiosfilepath(Constants.VGA_BIOS);
+        modules.getCpu().setCpu32Bit(true);
+
+        File file = folder.newFile(name + ".xml");
+        controller.saveToXML(config, file);
+        return file.getAbsolutePath();
+    }
+
+    private static boolean booted(Emulator emu) {
+        // The screen can only be read once the machine is connected up
+        dioscuri.Modules modules = emu.getModules();
+        Module video = modules == null ? null : modules.getModule(Module.Type.VIDEO);
+        if (video == null || video.getConnection(Module.Type.SCREEN) == null) {
+            return false;
+        }
+        String text = emu.getScreenText();
+        return text != null && text.contains(BOOTED);
+    }
+
+    @Test
+    public void testTwoMachinesShareTheCodeStore() throws Exception {
+        ConfigController controller = new ConfigController();
+        EmulatorHost host = new EmulatorHost(2, new CodeCache());
+        Emulator first = host.create(configure(controller, "first"));
+        Emulator second = host.create(configure(controller, "second"));
+
+        Future<?> firstRun = host.start(first);
+        Future<?> secondRun = host.start(second);
+        try {
+            long deadline = System.currentTimeMillis() + BOOT_MILLIS;
+            while (!(booted(first) && booted(second)) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(250);
+            }
+            assertTrue("first machine booted", booted(first));
+            assertTrue("second machine booted", booted(second));
+
+            // Each machine decodes and compiles for its own memory
+            Processor firstCpu = (Processor) first.getModules().getModule(Module.Type.CPU);
+            Processor secondCpu = (Processor) second.getModules().getModule(Module.Type.CPU);
+            assertNotNull(firstCpu.getCodeBlockManager());
+            assertTrue(firstCpu != secondCpu);
+            assertTrue(firstCpu.getCodeBlockManager() != secondCpu.getCodeBlockManager());
+        } finally {
+            host.shutdown();
+        }
+        firstRun.get(BOOT_MILLIS, TimeUnit.MILLISECONDS);
+        secondRun.get(BOOT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+}
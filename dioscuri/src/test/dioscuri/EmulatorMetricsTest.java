@@ -0,0 +1,95 @@
+package dioscuri;
+
+import dioscuri.config.ConfigController;
+import dioscuri.interfaces.Module;
+import dioscuri.metrics.MetricsRegistry;
+import dioscuri.module.ModuleMotherboard;
+import dioscuri.module.ModulePIC;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the metrics that {@link EmulatorMetrics} registers for the modules
+ * of a machine.
+ */
+public class EmulatorMetricsTest {
+
+    private static Emulator create(boolean cpu32bit) throws Exception {
+        dioscuri.config.Emulator config = new ConfigController().loadFromXML(new File(Constants.DEFAULT_CONFIG_XML));
+        config.getArchitecture().getModules().getCpu().setCpu32Bit(cpu32bit);
+        Emulator emu = new Emulator(new HeadlessGUI(Constants.DEFAULT_CONFIG_XML, config));
+        emu.setHeadless(true);
+        emu.emuConfig = config;
+        emu.moduleConfig = config.getArchitecture().getModules();
+        assertTrue(emu.setupEmu());
+        return emu;
+    }
+
+    private static long value(MetricsRegistry registry, String name) {
+        return registry.getValue(name);
+    }
+
+    @Test
+    public void testModuleCounters() throws Exception {
+        Emulator emu = create(false);
+        MetricsRegistry registry = new MetricsRegistry();
+        EmulatorMetrics.register(registry, emu.getModules());
+
+        List<String> names = Arrays.asList(registry.getNames());
+        assertTrue(names.toString(), names.containsAll(Arrays.asList(
+                "cpu.instructions", "cpu.instructionsPerSecond", "cpu.idleInstructions",
+                "cpu.instructionCache.hits", "cpu.instructionCache.misses",
+                "io.reads", "io.writes", "pic.irq0", "pic.irq15",
+                "video.frames", "video.tiles")));
+        // Metrics of the other CPU and of absent disks are left out
+        assertFalse(names.contains("cpu.tlb.hits"));
+        assertFalse(names.contains("ata0.master.bytesRead"));
+
+        ModuleMotherboard motherboard = (ModuleMotherboard) emu.getModules().getModule(Module.Type.MOTHERBOARD);
+        long reads = value(registry, "io.reads");
+        long writes = value(registry, "io.writes");
+        byte mask = motherboard.getIOPortByte(0x21);
+        motherboard.getIOPortWord(0x20);
+        motherboard.setIOPortByte(0x21, mask);
+        assertEquals(reads + 2, value(registry, "io.reads"));
+        assertEquals(writes + 1, value(registry, "io.writes"));
+
+        ModulePIC pic = (ModulePIC) emu.getModules().getModule(Module.Type.PIC);
+        long raised = value(registry, "pic.irq5");
+        pic.setIRQ(5);
+        // A line that is already high is not raised again
+        pic.setIRQ(5);
+        pic.clearIRQ(5);
+        pic.setIRQ(5);
+        assertEquals(raised + 2, value(registry, "pic.irq5"));
+    }
+
+    @Test
+    public void testProcessorCounters() throws Exception {
+        Emulator emu = create(true);
+        MetricsRegistry registry = new MetricsRegistry();
+        EmulatorMetrics.register(registry, emu.getModules());
+
+        List<String> names = Arrays.asList(registry.getNames());
+        assertTrue(names.toString(), names.containsAll(Arrays.asList(
+                "cpu.instructions", "cpu.tlb.hits", "cpu.tlb.misses", "cpu.tlb.flushes",
+                "compiler.blocks", "compiler.compiled", "compiler.queueDepth",
+                "io.reads", "pic.irq0", "video.frames")));
+        assertFalse(names.contains("cpu.instructionCache.hits"));
+
+        // No block has been decoded, so there is no compiler yet
+        assertEquals(0, value(registry, "compiler.blocks"));
+        assertEquals(0, value(registry, "cpu.instructions"));
+
+        // Registering again replaces the metrics of the old modules
+        EmulatorMetrics.register(registry, emu.getModules());
+        assertEquals(names, Arrays.asList(registry.getNames()));
+    }
+}
@@ -0,0 +1,304 @@
+package dioscuri;
+
+import dioscuri.config.ConfigController;
+import dioscuri.config.Emulator.Architecture.Modules.Ata.Harddiskdrive;
+import dioscuri.interfaces.Module;
+import dioscuri.module.ModuleMotherboard;
+import dioscuri.module.ata.ATA;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests PIO sector transfers of a hard disk through the ports of the ATA
+ * controller of a machine, which reads and writes runs of sectors and holds
+ * writes back until the drive goes idle.
+ */
+public class HardDiskTransferTest {
+
+    private static final int SECTOR = 512;
+    private static final int CYLINDERS = 20;
+    private static final int HEADS = 4;
+    private static final int SECTORS_PER_TRACK = 17;
+    private static final int SECTORS = CYLINDERS * HEADS * SECTORS_PER_TRACK;
+
+    // Command block registers of the primary channel
+    private static final int DATA = 0x1F0;
+    private static final int SECTOR_COUNT = 0x1F2;
+    private static final int SECTOR_NUMBER = 0x1F3;
+    private static final int CYLINDER_LOW = 0x1F4;
+    private static final int CYLINDER_HIGH = 0x1F5;
+    private static final int DRIVE_HEAD = 0x1F6;
+    private static final int COMMAND = 0x1F7;
+
+    private static final int READ_SECTORS = 0x20;
+    private static final int READ_MULTIPLE = 0xC4;
+    private static final int WRITE_MULTIPLE = 0xC5;
+    private static final int SET_MULTIPLE_MODE = 0xC6;
+
+    // Sectors per block of the multiple commands
+    private static final int BLOCK = 16;
+
+    // Updates of the controller after which a drive counts as idle
+    private static final int IDLE_UPDATES = 5;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File imageFile;
+    private byte[] image;
+    private Emulator emu;
+    private ModuleMotherboard motherboard;
+
+    @Before
+    public void setUp() throws Exception {
+        image = new byte[SECTORS * SECTOR];
+        new Random(5).nextBytes(image);
+        imageFile = folder.newFile("hd.img");
+        RandomAccessFile raf = new RandomAccessFile(imageFile, "rw");
+        try {
+            raf.write(image);
+        } finally {
+            raf.close();
+        }
+
+        dioscuri.config.Emulator config = new ConfigController().loadFromXML(new File(Constants.DEFAULT_CONFIG_XML));
+        Harddiskdrive disk = config.getArchitecture().getModules().getAta().getHarddiskdrive().get(0);
+        disk.setEnabled(true);
+        disk.setImagefilepath(imageFile.getAbsolutePath());
+        disk.setAutodetectcylinders(true);
+        disk.setHeads(BigInteger.valueOf(HEADS));
+        disk.setSectorspertrack(BigInteger.valueOf(SECTORS_PER_TRACK));
+
+        emu = new Emulator(new HeadlessGUI(Constants.DEFAULT_CONFIG_XML, config));
+        emu.setHeadless(true);
+        emu.emuConfig = config;
+        emu.moduleConfig = config.getArchitecture().getModules();
+        assertTrue(emu.setupEmu());
+        motherboard = (ModuleMotherboard) emu.getModules().getModule(Module.Type.MOTHERBOARD);
+
+        out(SECTOR_COUNT, BLOCK);
+        out(COMMAND, SET_MULTIPLE_MODE);
+        assertEquals(0, in(COMMAND) & 0x01);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        emu.getModules().getModule(Module.Type.ATA).stop();
+    }
+
+    private void out(int port, int value) throws Exception {
+        motherboard.setIOPortByte(port, (byte) value);
+    }
+
+    private int in(int port) throws Exception {
+        return motherboard.getIOPortByte(port) & 0xFF;
+    }
+
+    private void selectLba(int lba, int count) throws Exception {
+        out(DRIVE_HEAD, 0xE0 | (lba >> 24) & 0x0F);
+        out(SECTOR_COUNT, count);
+        out(SECTOR_NUMBER, lba);
+        out(CYLINDER_LOW, lba >> 8);
+        out(CYLINDER_HIGH, lba >> 16);
+    }
+
+    private void selectChs(int cylinder, int head, int sector, int count) throws Exception {
+        out(DRIVE_HEAD, 0xA0 | head);
+        out(SECTOR_COUNT, count);
+        out(SECTOR_NUMBER, sector);
+        out(CYLINDER_LOW, cylinder);
+        out(CYLINDER_HIGH, cylinder >> 8);
+    }
+
+    /**
+     * Reads the data of a command from the data port, in host byte order.
+     */
+    private byte[] readData(int count) throws Exception {
+        short[] words = new short[count * SECTOR / 2];
+        motherboard.readWords(DATA, words, 0, words.length);
+        byte[] data = new byte[count * SECTOR];
+        for (int i = 0; i < words.length; i++) {
+            data[2 * i] = (byte) (words[i] >> 8);
+            data[2 * i + 1] = (byte) words[i];
+        }
+        return data;
+    }
+
+    /**
+     * Reads the data of a command in runs of the given numbers of words.
+     */
+    private byte[] readRuns(int... runs) throws Exception {
+        int total = 0;
+        for (int run : runs) {
+            total += run;
+        }
+        short[] words = new short[total];
+        int offset = 0;
+        for (int run : runs) {
+            if (run == 1) {
+                words[offset] = (short) motherboard.readWord(DATA);
+            } else {
+                motherboard.readWords(DATA, words, offset, run);
+            }
+            offset += run;
+        }
+        byte[] data = new byte[total * 2];
+        for (int i = 0; i < words.length; i++) {
+            data[2 * i] = (byte) (words[i] >> 8);
+            data[2 * i + 1] = (byte) words[i];
+        }
+        return data;
+    }
+
+    private void writeData(byte[] data) throws Exception {
+        for (int i = 0; i < data.length; i += 2) {
+            motherboard.setIOPortWord(DATA, new byte[]{data[i], data[i + 1]});
+        }
+    }
+
+    private byte[] sectors(int lba, int count) {
+        return Arrays.copyOfRange(image, lba * SECTOR, (lba + count) * SECTOR);
+    }
+
+    private byte[] fileSectors(int lba, int count) throws IOException {
+        byte[] data = new byte[count * SECTOR];
+        RandomAccessFile raf = new RandomAccessFile(imageFile, "r");
+        try {
+            raf.seek((long) lba * SECTOR);
+            raf.readFully(data);
+        } finally {
+            raf.close();
+        }
+        return data;
+    }
+
+    private void idle() {
+        ATA ata = (ATA) emu.getModules().getModule(Module.Type.ATA);
+        for (int i = 0; i < IDLE_UPDATES; i++) {
+            ata.update();
+        }
+    }
+
+    @Test
+    public void testReadMultipleInLbaMode() throws Exception {
+        selectLba(100, 8);
+        out(COMMAND, READ_MULTIPLE);
+        assertArrayEquals(sectors(100, 8), readData(8));
+
+        // More sectors than a block, read one block at a time
+        selectLba(SECTORS - 2 * BLOCK - 3, 2 * BLOCK + 3);
+        out(COMMAND, READ_MULTIPLE);
+        assertArrayEquals(sectors(SECTORS - 2 * BLOCK - 3, 2 * BLOCK + 3),
+                readData(2 * BLOCK + 3));
+        assertEquals(0, in(COMMAND) & 0x01);
+    }
+
+    @Test
+    public void testReadMultipleAcrossTracks() throws Exception {
+        // The last two sectors of cylinder 1 and the first two of cylinder 2
+        selectChs(1, HEADS - 1, SECTORS_PER_TRACK - 1, 4);
+        out(COMMAND, READ_MULTIPLE);
+        int lba = 2 * HEADS * SECTORS_PER_TRACK - 2;
+        assertArrayEquals(sectors(lba, 4), readData(4));
+    }
+
+    @Test
+    public void testReadWordsAcrossSectors() throws Exception {
+        // Runs that end inside sectors, cross one or more sectors and stop
+        // at the end of a sector, mixed with single words
+        int words = SECTOR / 2;
+        selectLba(300, 5);
+        out(COMMAND, READ_SECTORS);
+        assertArrayEquals(sectors(300, 5),
+                readRuns(1, words - 2, 1, 3, 2 * words - 5, words + 1, 1, words - 2, 2));
+        assertEquals(0, in(COMMAND) & 0x09);
+
+        // Across the blocks of a multiple command
+        selectLba(400, BLOCK + 4);
+        out(COMMAND, READ_MULTIPLE);
+        assertArrayEquals(sectors(400, BLOCK + 4),
+                readRuns(7, BLOCK * words - 10, 1, 4 * words + 2));
+        assertEquals(0, in(COMMAND) & 0x09);
+    }
+
+    @Test
+    public void testReadDoubleWordsAcrossSectors() throws Exception {
+        selectLba(600, 3);
+        out(COMMAND, READ_SECTORS);
+        byte[] data = new byte[3 * SECTOR];
+        for (int i = 0; i < data.length; i += 4) {
+            int doubleWord = motherboard.readDword(DATA);
+            for (int j = 0; j < 4; j++) {
+                data[i + j] = (byte) (doubleWord >> (8 * j));
+            }
+        }
+        assertArrayEquals(sectors(600, 3), data);
+        assertEquals(0, in(COMMAND) & 0x09);
+    }
+
+    @Test
+    public void testReadWordsPastEndOfData() throws Exception {
+        selectLba(500, 2);
+        out(COMMAND, READ_SECTORS);
+        byte[] data = readRuns(2 * SECTOR / 2 + 3);
+
+        // Words beyond the last sector do not come from the disk
+        assertArrayEquals(sectors(500, 2), Arrays.copyOf(data, 2 * SECTOR));
+        assertEquals(0, in(COMMAND) & 0x09);
+        selectLba(502, 1);
+        out(COMMAND, READ_SECTORS);
+        assertArrayEquals(sectors(502, 1), readData(1));
+    }
+
+    @Test
+    public void testWritesAreStoredWhenDriveIsIdle() throws Exception {
+        // A full block and a part of the next one
+        int count = BLOCK + 5;
+        byte[] data = new byte[count * SECTOR];
+        new Random(6).nextBytes(data);
+        selectLba(200, count);
+        out(COMMAND, WRITE_MULTIPLE);
+        writeData(data);
+        assertEquals(0, in(COMMAND) & 0x01);
+
+        // Held back by the drive, but read back from its cache
+        assertArrayEquals(sectors(200, count), fileSectors(200, count));
+        selectLba(199, count + 2);
+        out(COMMAND, READ_MULTIPLE);
+        byte[] read = readData(count + 2);
+        assertArrayEquals(data, Arrays.copyOfRange(read, SECTOR, (count + 1) * SECTOR));
+
+        idle();
+        assertArrayEquals(data, fileSectors(200, count));
+        assertArrayEquals(sectors(200 + count, 1), fileSectors(200 + count, 1));
+    }
+
+    @Test
+    public void testWriteUpToInvalidSector() throws Exception {
+        byte[] data = new byte[4 * SECTOR];
+        new Random(7).nextBytes(data);
+        selectLba(SECTORS - 2, 4);
+        out(COMMAND, WRITE_MULTIPLE);
+        writeData(data);
+        assertEquals(1, in(COMMAND) & 0x01);
+
+        // The sectors before the end of the disk are written
+        idle();
+        assertArrayEquals(Arrays.copyOf(data, 2 * SECTOR), fileSectors(SECTORS - 2, 2));
+        assertEquals(image.length, imageFile.length());
+    }
+}
@@ -0,0 +1,465 @@
+package dioscuri;
+
+import dioscuri.config.ConfigController;
+import dioscuri.config.Emulator.Architecture.Modules.Ata.Harddiskdrive;
+import dioscuri.interfaces.Module;
+import dioscuri.module.ModuleMotherboard;
+import dioscuri.module.ata.ATA;
+import dioscuri.module.ata.ATADrive;
+import dioscuri.module.ata.ATATranslationType;
+import dioscuri.module.bios.BiosCall;
+import dioscuri.module.bios.HighLevelBios;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the disk and video services of {@link HighLevelBios} on the hard disk
+ * and video card of a machine, and that every call it can not answer the way
+ * the BIOS would is left to the BIOS untouched.
+ */
+public class HighLevelBiosTest {
+
+    private static final int SECTOR = 512;
+    private static final int CYLINDERS = 20;
+    private static final int HEADS = 4;
+    private static final int SECTORS_PER_TRACK = 17;
+    private static final int SECTORS = CYLINDERS * HEADS * SECTORS_PER_TRACK;
+
+    // Where the tests put their data and disk address packets
+    private static final int SEGMENT = 0x2000;
+    private static final int BUFFER = 0x0100;
+    private static final int PACKET = 0x0010;
+
+    private static final int TEXT = 0xB8000;
+    private static final int COLUMNS = 80;
+    private static final int ROWS = 25;
+    private static final int CRTC = 0x3D4;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private byte[] image;
+    private Emulator emu;
+    private ModuleMotherboard motherboard;
+    private ATA ata;
+    private ATADrive disk;
+    private HighLevelBios bios;
+    private Call call;
+
+    /**
+     * Registers and the first megabyte of memory of a call.
+     */
+    private static class Call extends BiosCall {
+        final byte[] memory = new byte[0x100000];
+
+        public int getByte(int address) {
+            return memory[address] & 0xFF;
+        }
+
+        public void setByte(int address, int value) {
+            memory[address] = (byte) value;
+        }
+
+        public void read(int address, byte[] buffer, int offset, int length) {
+            System.arraycopy(memory, address, buffer, offset, length);
+        }
+
+        public void write(int address, byte[] buffer, int offset, int length) {
+            System.arraycopy(buffer, offset, memory, address, length);
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        image = new byte[SECTORS * SECTOR];
+        new Random(8).nextBytes(image);
+        File imageFile = folder.newFile("hd.img");
+        RandomAccessFile raf = new RandomAccessFile(imageFile, "rw");
+        try {
+            raf.write(image);
+        } finally {
+            raf.close();
+        }
+
+        dioscuri.config.Emulator config = new ConfigController().loadFromXML(new File(Constants.DEFAULT_CONFIG_XML));
+        Harddiskdrive hd = config.getArchitecture().getModules().getAta().getHarddiskdrive().get(0);
+        hd.setEnabled(true);
+        hd.setImagefilepath(imageFile.getAbsolutePath());
+        hd.setAutodetectcylinders(true);
+        hd.setHeads(BigInteger.valueOf(HEADS));
+        hd.setSectorspertrack(BigInteger.valueOf(SECTORS_PER_TRACK));
+
+        emu = new Emulator(new HeadlessGUI(Constants.DEFAULT_CONFIG_XML, config));
+        emu.setHeadless(true);
+        emu.emuConfig = config;
+        emu.moduleConfig = config.getArchitecture().getModules();
+        assertTrue(emu.setupEmu());
+        motherboard = (ModuleMotherboard) emu.getModules().getModule(Module.Type.MOTHERBOARD);
+        ata = (ATA) emu.getModules().getModule(Module.Type.ATA);
+        disk = ata.getHardDisk(0);
+        disk.setTranslationType(ATATranslationType.NONE);
+        bios = new HighLevelBios(null, ata, motherboard);
+
+        call = new Call();
+        // Both vectors point into ROM, as the BIOS sets them up
+        call.setWord(0x13 * 4, 0xE3FE);
+        call.setWord(0x13 * 4 + 2, 0xF000);
+        call.setWord(0x10 * 4, 0x0100);
+        call.setWord(0x10 * 4 + 2, 0xC000);
+        // 80x25 colour text mode on page 0
+        call.setByte(0x449, 0x03);
+        call.setWord(0x44A, COLUMNS);
+        call.setByte(0x484, ROWS - 1);
+        call.setByte(0x462, 0);
+        call.setWord(0x463, CRTC);
+        // An error of an earlier call
+        call.setByte(0x474, 0x01);
+        call.carry = true;
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ata.stop();
+    }
+
+    private byte[] sectors(int lba, int count) {
+        return Arrays.copyOfRange(image, lba * SECTOR, (lba + count) * SECTOR);
+    }
+
+    private byte[] memory(int address, int length) {
+        return Arrays.copyOfRange(call.memory, address, address + length);
+    }
+
+    private byte[] diskSectors(int lba, int count) throws Exception {
+        byte[] data = new byte[count * SECTOR];
+        disk.readData(data, 0, (long) lba * SECTOR, data.length);
+        return data;
+    }
+
+    private byte[] random(int length, long seed) {
+        byte[] data = new byte[length];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private void chs(int function, int drive, int cylinder, int head, int sector, int count) {
+        call.ax = function << 8 | count;
+        call.cx = (cylinder & 0xFF) << 8 | (cylinder & 0x300) >> 2 | sector;
+        call.dx = head << 8 | drive;
+        call.es = SEGMENT;
+        call.bx = BUFFER;
+    }
+
+    private void extended(int function, long lba, int count) throws Exception {
+        int packet = (SEGMENT << 4) + PACKET;
+        call.setByte(packet, 0x10);
+        call.setByte(packet + 1, 0);
+        call.setWord(packet + 2, count);
+        call.setWord(packet + 4, BUFFER);
+        call.setWord(packet + 6, SEGMENT);
+        for (int i = 0; i < 4; i++) {
+            call.setWord(packet + 8 + 2 * i, (int) (lba >> 16 * i) & 0xFFFF);
+        }
+        call.ax = function << 8 | 0x55;
+        call.dx = 0x80;
+        call.ds = SEGMENT;
+        call.si = PACKET;
+    }
+
+    private int address() {
+        return (SEGMENT << 4) + BUFFER;
+    }
+
+    /**
+     * Checks that a call is left to the BIOS with its registers and memory
+     * as they were.
+     */
+    private void assertNotHandled(int vector) throws Exception {
+        int ax = call.ax;
+        byte[] memory = call.memory.clone();
+        assertFalse(bios.handleInterrupt(vector, call));
+        assertEquals(ax, call.ax);
+        assertTrue(call.carry);
+        assertArrayEquals(memory, call.memory);
+        assertArrayEquals(sectors(0, SECTORS), diskSectors(0, SECTORS));
+        assertEquals(0, bios.getHandledCalls());
+    }
+
+    @Test
+    public void testChsRead() throws Exception {
+        // From the last sectors of a track into the next cylinder
+        chs(0x02, 0x80, 3, HEADS - 1, SECTORS_PER_TRACK - 2, 5);
+        assertTrue(bios.handleInterrupt(0x13, call));
+        int lba = (3 * HEADS + HEADS - 1) * SECTORS_PER_TRACK + SECTORS_PER_TRACK - 3;
+        assertArrayEquals(sectors(lba, 5), memory(address(), 5 * SECTOR));
+        assertEquals(0x0005, call.ax);
+        assertFalse(call.carry);
+        assertEquals(0, call.getByte(0x474));
+        assertEquals(1, bios.getHandledCalls());
+    }
+
+    @Test
+    public void testChsWrite() throws Exception {
+        byte[] data = random(3 * SECTOR, 9);
+        System.arraycopy(data, 0, call.memory, address(), data.length);
+        chs(0x03, 0x80, CYLINDERS - 1, 2, 1, 3);
+        assertTrue(bios.handleInterrupt(0x13, call));
+        int lba = ((CYLINDERS - 1) * HEADS + 2) * SECTORS_PER_TRACK;
+        assertArrayEquals(data, diskSectors(lba, 3));
+        assertArrayEquals(sectors(lba - 1, 1), diskSectors(lba - 1, 1));
+        assertArrayEquals(sectors(lba + 3, 1), diskSectors(lba + 3, 1));
+        assertEquals(0x0003, call.ax);
+        assertFalse(call.carry);
+        assertEquals(0, call.getByte(0x474));
+    }
+
+    @Test
+    public void testChsOutsideDiskNotHandled() throws Exception {
+        chs(0x02, 0x80, CYLINDERS, 0, 1, 1);
+        assertNotHandled(0x13);
+        chs(0x02, 0x80, 0, HEADS, 1, 1);
+        assertNotHandled(0x13);
+        chs(0x02, 0x80, 0, 0, 0, 1);
+        assertNotHandled(0x13);
+        chs(0x02, 0x80, 0, 0, SECTORS_PER_TRACK + 1, 1);
+        assertNotHandled(0x13);
+        chs(0x02, 0x80, 0, 0, 1, 0);
+        assertNotHandled(0x13);
+        // Past the end of the disk, and no second disk
+        chs(0x02, 0x80, CYLINDERS - 1, HEADS - 1, SECTORS_PER_TRACK, 2);
+        assertNotHandled(0x13);
+        chs(0x02, 0x81, 0, 0, 1, 1);
+        assertNotHandled(0x13);
+        // Without a floppy controller
+        chs(0x02, 0x00, 0, 0, 1, 1);
+        assertNotHandled(0x13);
+    }
+
+    @Test
+    public void testChsBufferWrapNotHandled() throws Exception {
+        chs(0x02, 0x80, 0, 0, 1, 2);
+        call.bx = 0xFE00;
+        assertNotHandled(0x13);
+    }
+
+    @Test
+    public void testExtendedRead() throws Exception {
+        extended(0x42, SECTORS - 20, 20);
+        assertTrue(bios.handleInterrupt(0x13, call));
+        assertArrayEquals(sectors(SECTORS - 20, 20), memory(address(), 20 * SECTOR));
+        assertEquals(0x0055, call.ax);
+        assertFalse(call.carry);
+        assertEquals(0, call.getByte(0x474));
+    }
+
+    @Test
+    public void testExtendedWrite() throws Exception {
+        byte[] data = random(7 * SECTOR, 10);
+        System.arraycopy(data, 0, call.memory, address(), data.length);
+        extended(0x43, 1000, 7);
+        assertTrue(bios.handleInterrupt(0x13, call));
+        assertArrayEquals(data, diskSectors(1000, 7));
+        assertArrayEquals(sectors(999, 1), diskSectors(999, 1));
+        assertArrayEquals(sectors(1007, 1), diskSectors(1007, 1));
+        assertEquals(0x0055, call.ax);
+        assertFalse(call.carry);
+    }
+
+    @Test
+    public void testExtendedOutsideDiskNotHandled() throws Exception {
+        extended(0x42, SECTORS - 1, 2);
+        assertNotHandled(0x13);
+        extended(0x42, 1L << 32, 1);
+        assertNotHandled(0x13);
+        extended(0x42, 0, 0);
+        assertNotHandled(0x13);
+        extended(0x42, 0, 128);
+        assertNotHandled(0x13);
+        // Floppies have no extended services
+        extended(0x42, 0, 1);
+        call.dx = 0x00;
+        assertNotHandled(0x13);
+    }
+
+    @Test
+    public void testHookedDiskVectorNotHandled() throws Exception {
+        call.setWord(0x13 * 4 + 2, 0x9F00);
+        chs(0x02, 0x80, 0, 0, 1, 1);
+        assertNotHandled(0x13);
+        extended(0x42, 0, 1);
+        assertNotHandled(0x13);
+    }
+
+    @Test
+    public void testTranslatedGeometryNotHandled() throws Exception {
+        // The BIOS maps the cylinder, head and sector onto other ones
+        disk.setTranslationType(ATATranslationType.LBA);
+        chs(0x02, 0x80, 1, 0, 1, 1);
+        assertNotHandled(0x13);
+        chs(0x03, 0x80, 1, 0, 1, 1);
+        assertNotHandled(0x13);
+
+        // Sectors addressed by number need no translation
+        extended(0x42, 5, 1);
+        assertTrue(bios.handleInterrupt(0x13, call));
+        assertArrayEquals(sectors(5, 1), memory(address(), SECTOR));
+    }
+
+    @Test
+    public void testCdromNotHandled() throws Exception {
+        File iso = folder.newFile("cd.iso");
+        RandomAccessFile raf = new RandomAccessFile(iso, "rw");
+        try {
+            raf.setLength(16 * 2048);
+        } finally {
+            raf.close();
+        }
+        ata.initConfig(1, true, false, true, 0, 1, 1, ATATranslationType.NONE,
+                iso.getAbsolutePath(), false, null);
+        assertTrue(ata.hasCdromDrive());
+
+        chs(0x02, 0x80, 0, 0, 1, 1);
+        assertNotHandled(0x13);
+        extended(0x42, 0, 1);
+        assertNotHandled(0x13);
+    }
+
+    private int cursor() throws Exception {
+        motherboard.setIOPortByte(CRTC, (byte) 0x0E);
+        int high = motherboard.getIOPortByte(CRTC + 1) & 0xFF;
+        motherboard.setIOPortByte(CRTC, (byte) 0x0F);
+        return high << 8 | motherboard.getIOPortByte(CRTC + 1) & 0xFF;
+    }
+
+    private void teletype(int character) {
+        call.ax = 0x0E00 | character;
+        call.bx = 0x0000;
+    }
+
+    @Test
+    public void testTeletype() throws Exception {
+        call.setWord(0x450, 5 << 8 | 10);
+        call.setByte(TEXT + (5 * COLUMNS + 10) * 2 + 1, 0x1E);
+        teletype('A');
+        assertTrue(bios.handleInterrupt(0x10, call));
+
+        // The attribute on screen is kept
+        assertEquals('A', call.getByte(TEXT + (5 * COLUMNS + 10) * 2));
+        assertEquals(0x1E, call.getByte(TEXT + (5 * COLUMNS + 10) * 2 + 1));
+        assertEquals(5 << 8 | 11, call.getWord(0x450));
+        assertEquals(5 * COLUMNS + 11, cursor());
+
+        teletype('\r');
+        assertTrue(bios.handleInterrupt(0x10, call));
+        teletype('\n');
+        assertTrue(bios.handleInterrupt(0x10, call));
+        assertEquals(6 << 8, call.getWord(0x450));
+        assertEquals(6 * COLUMNS, cursor());
+        teletype(0x08);
+        assertTrue(bios.handleInterrupt(0x10, call));
+        assertEquals(6 << 8, call.getWord(0x450));
+    }
+
+    @Test
+    public void testTeletypeScrollsAtBottom() throws Exception {
+        for (int i = 0; i < COLUMNS * ROWS; i++) {
+            call.setByte(TEXT + 2 * i, 'a' + i / COLUMNS);
+            call.setByte(TEXT + 2 * i + 1, 0x1F);
+        }
+        call.setWord(0x450, (ROWS - 1) << 8 | COLUMNS - 1);
+        teletype('Z');
+        assertTrue(bios.handleInterrupt(0x10, call));
+
+        // The last line moved up, a blank one with attribute 07h came in
+        assertEquals('Z', call.getByte(TEXT + ((ROWS - 1) * COLUMNS - 1) * 2));
+        assertEquals('b', call.getByte(TEXT));
+        assertEquals('a' + ROWS - 1, call.getByte(TEXT + (ROWS - 2) * COLUMNS * 2));
+        for (int i = 0; i < COLUMNS; i++) {
+            assertEquals(' ', call.getByte(TEXT + ((ROWS - 1) * COLUMNS + i) * 2));
+            assertEquals(0x07, call.getByte(TEXT + ((ROWS - 1) * COLUMNS + i) * 2 + 1));
+        }
+        assertEquals((ROWS - 1) << 8, call.getWord(0x450));
+        assertEquals((ROWS - 1) * COLUMNS, cursor());
+    }
+
+    @Test
+    public void testScrollWindow() throws Exception {
+        for (int i = 0; i < COLUMNS * ROWS; i++) {
+            call.setByte(TEXT + 2 * i, 'a' + i / COLUMNS);
+            call.setByte(TEXT + 2 * i + 1, 0x07);
+        }
+        // Rows 2 to 4, columns 10 to 19, down by one line in attribute 4Eh
+        call.ax = 0x0701;
+        call.bx = 0x4E00;
+        call.cx = 2 << 8 | 10;
+        call.dx = 4 << 8 | 19;
+        assertTrue(bios.handleInterrupt(0x10, call));
+        assertEquals(' ', call.getByte(TEXT + (2 * COLUMNS + 10) * 2));
+        assertEquals(0x4E, call.getByte(TEXT + (2 * COLUMNS + 19) * 2 + 1));
+        assertEquals('c', call.getByte(TEXT + (3 * COLUMNS + 10) * 2));
+        assertEquals('d', call.getByte(TEXT + (4 * COLUMNS + 19) * 2));
+        // Outside the window nothing moved
+        assertEquals('c', call.getByte(TEXT + (2 * COLUMNS + 9) * 2));
+        assertEquals('e', call.getByte(TEXT + (4 * COLUMNS + 20) * 2));
+        assertEquals('f', call.getByte(TEXT + (5 * COLUMNS + 10) * 2));
+    }
+
+    @Test
+    public void testHookedVideoVectorNotHandled() throws Exception {
+        call.setWord(0x10 * 4 + 2, 0x9F00);
+        call.setWord(0x450, 0);
+        teletype('A');
+        assertNotHandled(0x10);
+    }
+
+    @Test
+    public void testGraphicsModeNotHandled() throws Exception {
+        call.setByte(0x449, 0x13);
+        call.setWord(0x450, 0);
+        teletype('A');
+        assertNotHandled(0x10);
+        call.ax = 0x0601;
+        call.cx = 0x0000;
+        call.dx = 0x184F;
+        assertNotHandled(0x10);
+    }
+
+    @Test
+    public void testOtherPageNotHandled() throws Exception {
+        call.setWord(0x450, 0);
+        // Output to page 1 while page 0 is shown
+        teletype('A');
+        call.bx = 0x0100;
+        assertNotHandled(0x10);
+
+        // Output to page 1 while it is shown
+        call.setByte(0x462, 1);
+        call.setWord(0x452, 0);
+        assertNotHandled(0x10);
+        teletype('A');
+        assertNotHandled(0x10);
+    }
+
+    @Test
+    public void testBellAndTabNotHandled() throws Exception {
+        call.setWord(0x450, 0);
+        teletype(0x07);
+        assertNotHandled(0x10);
+        teletype(0x09);
+        assertNotHandled(0x10);
+    }
+}
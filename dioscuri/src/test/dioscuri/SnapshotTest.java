@@ -0,0 +1,198 @@
+package dioscuri;
+
+import dioscuri.config.ConfigController;
+import dioscuri.config.Emulator.Architecture.Modules.Ata.Harddiskdrive;
+import dioscuri.interfaces.Module;
+import dioscuri.module.ModuleMemory;
+import dioscuri.module.ModuleMotherboard;
+import dioscuri.module.cpu.CPU;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that a {@link Snapshot} restores the state of the CPU, the memory,
+ * the PIC, the PIT and the ATA controller of a machine into another machine
+ * with the same configuration.
+ */
+public class SnapshotTest {
+
+    private static final int SECTOR = 512;
+    private static final int HEADS = 4;
+    private static final int SECTORS_PER_TRACK = 17;
+    private static final int SECTORS = 20 * HEADS * SECTORS_PER_TRACK;
+
+    // Modules of which the state is compared
+    private static final Module.Type[] TYPES = {
+            Module.Type.CPU, Module.Type.MEMORY, Module.Type.PIC,
+            Module.Type.PIT, Module.Type.ATA};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File imageFile;
+    private Emulator saved;
+    private Emulator restored;
+
+    @Before
+    public void setUp() throws Exception {
+        byte[] image = new byte[SECTORS * SECTOR];
+        new Random(11).nextBytes(image);
+        imageFile = folder.newFile("hd.img");
+        RandomAccessFile raf = new RandomAccessFile(imageFile, "rw");
+        try {
+            raf.write(image);
+        } finally {
+            raf.close();
+        }
+        saved = machine();
+        restored = machine();
+    }
+
+    @After
+    public void tearDown() {
+        saved.getModules().getModule(Module.Type.ATA).stop();
+        restored.getModules().getModule(Module.Type.ATA).stop();
+    }
+
+    private Emulator machine() throws Exception {
+        dioscuri.config.Emulator config = new ConfigController().loadFromXML(new File(Constants.DEFAULT_CONFIG_XML));
+        Harddiskdrive disk = config.getArchitecture().getModules().getAta().getHarddiskdrive().get(0);
+        disk.setEnabled(true);
+        disk.setImagefilepath(imageFile.getAbsolutePath());
+        disk.setAutodetectcylinders(true);
+        disk.setHeads(BigInteger.valueOf(HEADS));
+        disk.setSectorspertrack(BigInteger.valueOf(SECTORS_PER_TRACK));
+
+        Emulator emu = new Emulator(new HeadlessGUI(Constants.DEFAULT_CONFIG_XML, config));
+        emu.setHeadless(true);
+        emu.emuConfig = config;
+        emu.moduleConfig = config.getArchitecture().getModules();
+        assertTrue(emu.setupEmu());
+        return emu;
+    }
+
+    private static ModuleMotherboard motherboard(Emulator emu) {
+        return (ModuleMotherboard) emu.getModules().getModule(Module.Type.MOTHERBOARD);
+    }
+
+    private static void out(Emulator emu, int port, int value) throws Exception {
+        motherboard(emu).setIOPortByte(port, (byte) value);
+    }
+
+    private static int in(Emulator emu, int port) throws Exception {
+        return motherboard(emu).getIOPortByte(port) & 0xFF;
+    }
+
+    private static byte[] state(Emulator emu, Module.Type type) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        emu.getModules().getModule(type).dumpState(new DataOutputStream(buffer));
+        return buffer.toByteArray();
+    }
+
+    private static int readCounter(Emulator emu) throws Exception {
+        // Latch counter 2 and read its low and high byte
+        out(emu, 0x43, 0x80);
+        int low = in(emu, 0x42);
+        return in(emu, 0x42) << 8 | low;
+    }
+
+    /**
+     * Brings the modules of the saved machine in a state that differs from
+     * the one after setup.
+     */
+    private void changeState() throws Exception {
+        CPU cpu = (CPU) saved.getModules().getModule(Module.Type.CPU);
+        cpu.setRegisterValue("AX", new byte[]{0x12, 0x34});
+        cpu.setRegisterValue("SP", new byte[]{(byte) 0xFF, (byte) 0xF0});
+        cpu.setRegisterValue("DS", new byte[]{0x20, 0x00});
+        cpu.setRegisterValue("IP", new byte[]{0x01, 0x00});
+
+        ModuleMemory memory = (ModuleMemory) saved.getModules().getModule(Module.Type.MEMORY);
+        memory.setByte(0x500, (byte) 0xA5);
+        memory.setWord(0x12346, new byte[]{0x5A, 0x3C});
+        memory.setByte(0x9FFFF, (byte) 0x77);
+
+        // Initialise the master PIC and mask all but IRQ 0 and 2
+        out(saved, 0x20, 0x11);
+        out(saved, 0x21, 0x08);
+        out(saved, 0x21, 0x04);
+        out(saved, 0x21, 0x01);
+        out(saved, 0x21, 0xFA);
+
+        // Counter 2 in mode 3 with a count of 1234h
+        out(saved, 0x43, 0xB6);
+        out(saved, 0x42, 0x34);
+        out(saved, 0x42, 0x12);
+
+        // Select a sector and start reading it
+        out(saved, 0x1F6, 0xE0);
+        out(saved, 0x1F2, 2);
+        out(saved, 0x1F3, 100);
+        out(saved, 0x1F4, 0);
+        out(saved, 0x1F5, 0);
+        out(saved, 0x1F7, 0x20);
+        motherboard(saved).readWords(0x1F0, new short[10], 0, 10);
+    }
+
+    @Test
+    public void testRestoredStateMatchesSavedState() throws Exception {
+        changeState();
+        for (Module.Type type : TYPES) {
+            assertFalse(type + " changed", Arrays.equals(state(saved, type), state(restored, type)));
+        }
+
+        File file = folder.newFile("machine.snapshot");
+        Snapshot.save(saved.getModules(), file);
+        Snapshot.restore(restored.getModules(), file);
+        for (Module.Type type : TYPES) {
+            assertArrayEquals(type.toString(), state(saved, type), state(restored, type));
+        }
+    }
+
+    @Test
+    public void testRestoredMachineBehavesAlike() throws Exception {
+        changeState();
+        File file = folder.newFile("machine.snapshot");
+        Snapshot.save(saved.getModules(), file);
+        Snapshot.restore(restored.getModules(), file);
+
+        CPU cpu = (CPU) restored.getModules().getModule(Module.Type.CPU);
+        assertArrayEquals(new byte[]{0x12, 0x34}, cpu.getRegisterValue("AX"));
+        assertArrayEquals(new byte[]{0x20, 0x00}, cpu.getRegisterValue("DS"));
+        assertArrayEquals(new byte[]{0x01, 0x00}, cpu.getRegisterValue("IP"));
+
+        ModuleMemory memory = (ModuleMemory) restored.getModules().getModule(Module.Type.MEMORY);
+        assertEquals((byte) 0xA5, memory.getByte(0x500));
+        assertArrayEquals(new byte[]{0x5A, 0x3C}, memory.getWord(0x12346));
+        assertEquals((byte) 0x77, memory.getByte(0x9FFFF));
+        assertEquals(0, memory.getByte(0x501));
+
+        assertEquals(0xFA, in(restored, 0x21));
+        assertEquals(readCounter(saved), readCounter(restored));
+
+        // The rest of the sectors being read comes from both machines alike
+        short[] expected = new short[2 * SECTOR / 2 - 10];
+        short[] actual = new short[expected.length];
+        motherboard(saved).readWords(0x1F0, expected, 0, expected.length);
+        motherboard(restored).readWords(0x1F0, actual, 0, actual.length);
+        assertArrayEquals(expected, actual);
+        assertEquals(in(saved, 0x1F7), in(restored, 0x1F7));
+    }
+}
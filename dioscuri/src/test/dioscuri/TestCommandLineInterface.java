@@ -154,6 +154,8 @@ public class TestCommandLineInterface {
             testValid("-c", temp.getAbsolutePath());
             testValid("-f", temp.getAbsolutePath());
             testValid("-d", temp.getAbsolutePath());
+            testValid("-l", temp.getAbsolutePath());
+            testValid("--restore", temp.getAbsolutePath());
         }
 
         testValid("-b", "floppy");
@@ -161,6 +163,10 @@ public class TestCommandLineInterface {
 
         testValid("-a", "16");
         testValid("-a", "32");
+
+        testValid("-i", "floppy");
+        testValid("-i", "HardDisk"); // case insensitive
+        testValid("-i", "all");
     }
 
     /**
@@ -192,6 +198,10 @@ public class TestCommandLineInterface {
         testInValid("-a", "166");
         testInValid("-a", "31");
 
+        testInValid("-i", "cdrom");
+
+        testInValid("-l", "no-such-snapshot.dss");
+
         testInValid("-FOO", "--BAR");
         testInValid("-X");
     }
@@ -0,0 +1,131 @@
+package dioscuri.metrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import javax.management.Attribute;
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the snapshots, the JSON format and the MBean of
+ * {@link MetricsRegistry}.
+ */
+public class MetricsRegistryTest {
+
+    private static final String ID = "MetricsRegistryTest";
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    /**
+     * Metric returning a fixed value.
+     */
+    private static Metric constant(final long value) {
+        return new Metric() {
+            public long getValue() {
+                return value;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        registry.unregisterMBean();
+    }
+
+    @Test
+    public void testSnapshotKeepsOrderOfRegistration() {
+        registry.register("b", constant(2));
+        registry.register("a", constant(1));
+        registry.register("c", constant(3));
+        // Replacing a metric keeps its place
+        registry.register("b", constant(20));
+
+        assertArrayEquals(new String[]{"b", "a", "c"}, registry.getNames());
+        Map<String, Long> values = registry.snapshot();
+        assertArrayEquals(new Object[]{"b", "a", "c"}, values.keySet().toArray());
+        assertArrayEquals(new Object[]{20L, 1L, 3L}, values.values().toArray());
+        assertEquals(Long.valueOf(1), registry.getValue("a"));
+        assertNull(registry.getValue("d"));
+
+        registry.clear();
+        assertEquals(0, registry.getNames().length);
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testSnapshotReadsCounters() {
+        final Counter counter = new Counter();
+        registry.register("count", new Metric() {
+            public long getValue() {
+                return counter.get();
+            }
+        });
+        assertEquals(Long.valueOf(0), registry.snapshot().get("count"));
+
+        counter.increment();
+        counter.add(41);
+        assertEquals(Long.valueOf(42), registry.snapshot().get("count"));
+    }
+
+    @Test
+    public void testJSON() {
+        registry.register("cpu.instructions", constant(1234));
+        registry.register("io.reads", constant(-1));
+        assertEquals("{\"time\":99,\"cpu.instructions\":1234,\"io.reads\":-1}",
+                MetricsRegistry.toJSON(99, registry.snapshot()));
+        assertEquals("{\"time\":0}", MetricsRegistry.toJSON(0, new MetricsRegistry().snapshot()));
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("dioscuri:type=Emulator,id=" + ID);
+        registry.register("io.reads", constant(7));
+
+        assertTrue(registry.registerMBean(ID));
+        assertTrue(server.isRegistered(name));
+        // Registering twice keeps the MBean
+        assertTrue(registry.registerMBean(ID));
+        assertFalse(new MetricsRegistry().registerMBean(ID));
+
+        assertEquals(7L, server.getAttribute(name, "io.reads"));
+
+        // Metrics registered later show up without registering again
+        registry.register("io.writes", constant(8));
+        assertEquals(8L, server.getAttribute(name, "io.writes"));
+        MBeanAttributeInfo[] attributes = server.getMBeanInfo(name).getAttributes();
+        assertEquals(2, attributes.length);
+        assertEquals("io.reads", attributes[0].getName());
+        assertEquals("long", attributes[0].getType());
+        assertTrue(attributes[0].isReadable());
+        assertFalse(attributes[0].isWritable());
+
+        try {
+            server.getAttribute(name, "io.missing");
+            fail("read a missing metric");
+        } catch (AttributeNotFoundException e) {
+            // expected
+        }
+        try {
+            server.setAttribute(name, new Attribute("io.reads", 0L));
+            fail("wrote a metric");
+        } catch (AttributeNotFoundException e) {
+            // expected
+        }
+
+        registry.unregisterMBean();
+        assertFalse(server.isRegistered(name));
+    }
+}
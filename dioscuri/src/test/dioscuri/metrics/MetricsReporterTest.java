@@ -0,0 +1,114 @@
+package dioscuri.metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the CSV and JSON files written by {@link MetricsReporter}.
+ */
+public class MetricsReporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    private void register(String name, final long value) {
+        registry.register(name, new Metric() {
+            public long getValue() {
+                return value;
+            }
+        });
+    }
+
+    private static List<String> lines(File file) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+
+    /**
+     * Runs a reporter that only writes the snapshot taken when it stops.
+     */
+    private void report(File file) throws IOException {
+        MetricsReporter reporter = new MetricsReporter(registry, file, 3600);
+        reporter.start();
+        reporter.stop();
+    }
+
+    @Test
+    public void testCSV() throws IOException {
+        File file = new File(folder.getRoot(), "metrics.CSV");
+        register("io.reads", 3);
+        register("io.writes", 4);
+        report(file);
+
+        List<String> lines = lines(file);
+        assertEquals(2, lines.size());
+        assertEquals("time,io.reads,io.writes", lines.get(0));
+        assertTrue(lines.get(1), lines.get(1).matches("\\d+,3,4"));
+
+        // Another set of metrics gets a header of its own
+        register("video.frames", 5);
+        report(file);
+        lines = lines(file);
+        assertEquals(4, lines.size());
+        assertEquals("time,io.reads,io.writes,video.frames", lines.get(2));
+        assertTrue(lines.get(3), lines.get(3).matches("\\d+,3,4,5"));
+    }
+
+    @Test
+    public void testJSON() throws IOException {
+        File file = new File(folder.getRoot(), "metrics.json");
+        register("io.reads", 3);
+        report(file);
+        report(file);
+
+        List<String> lines = lines(file);
+        assertEquals(2, lines.size());
+        for (String line : lines) {
+            assertTrue(line, line.matches("\\{\"time\":\\d+,\"io.reads\":3\\}"));
+        }
+    }
+
+    @Test
+    public void testReportsAtInterval() throws Exception {
+        File file = new File(folder.getRoot(), "metrics.csv");
+        register("io.reads", 3);
+        MetricsReporter reporter = new MetricsReporter(registry, file, 1);
+        reporter.start();
+        try {
+            long deadline = System.currentTimeMillis() + 10000;
+            while (file.length() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+        } finally {
+            reporter.stop();
+        }
+        // The header, at least one snapshot taken while running and the
+        // last one taken when stopping
+        List<String> lines = lines(file);
+        assertTrue(lines.toString(), lines.size() >= 3);
+        assertEquals(1, Collections.frequency(lines, "time,io.reads"));
+    }
+}
@@ -0,0 +1,234 @@
+package dioscuri.module;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.module.clock.Clock;
+import dioscuri.module.cpu.CPU;
+import dioscuri.module.memory.Memory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that events raised and tasks posted on {@link InterruptMailbox} by
+ * other threads are neither lost nor fail to wake up the emulation thread.
+ */
+public class InterruptMailboxTest {
+
+    // Rounds of the tests between two threads
+    private static final int ROUNDS = 20000;
+
+    // Longer than any test should take, a wait that runs out was not woken
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Thread that runs a test body and keeps what it threw.
+     */
+    private abstract static class Worker extends Thread {
+        private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        abstract void work() throws Exception;
+
+        @Override
+        public void run() {
+            try {
+                work();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        }
+
+        void finish() throws Exception {
+            join(TIMEOUT_MILLIS);
+            assertFalse(isAlive());
+            assertNull(failure.get());
+        }
+    }
+
+    private static void awaitAndClear(InterruptMailbox mailbox, int event) {
+        int pending = mailbox.await(event, TIMEOUT_MILLIS);
+        assertTrue("wake lost", (pending & event) != 0);
+        mailbox.clear(event);
+    }
+
+    @Test
+    public void testNoLostWake() throws Exception {
+        final InterruptMailbox ping = new InterruptMailbox();
+        final InterruptMailbox pong = new InterruptMailbox();
+        Worker other = new Worker() {
+            void work() {
+                for (int i = 0; i < ROUNDS; i++) {
+                    awaitAndClear(ping, InterruptMailbox.INTERRUPT);
+                    pong.raise(InterruptMailbox.INTERRUPT);
+                }
+            }
+        };
+        other.start();
+
+        // Each side only goes on when the other one woke it up
+        for (int i = 0; i < ROUNDS; i++) {
+            ping.raise(InterruptMailbox.INTERRUPT);
+            awaitAndClear(pong, InterruptMailbox.INTERRUPT);
+        }
+        other.finish();
+        assertFalse(ping.isPending());
+        assertFalse(pong.isPending());
+    }
+
+    @Test
+    public void testNoLostInterrupt() throws Exception {
+        final InterruptMailbox mailbox = new InterruptMailbox();
+        final InterruptMailbox ack = new InterruptMailbox();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        // A device that keeps raising and dropping its bus request
+        Worker dma = new Worker() {
+            void work() {
+                while (done.getCount() > 0) {
+                    mailbox.raise(InterruptMailbox.HOLD);
+                    mailbox.clear(InterruptMailbox.HOLD);
+                }
+            }
+        };
+        // An interrupt controller that raises the next IRQ once the last
+        // one is acknowledged
+        Worker pic = new Worker() {
+            void work() {
+                for (int i = 0; i < ROUNDS; i++) {
+                    mailbox.raise(InterruptMailbox.INTERRUPT);
+                    awaitAndClear(ack, InterruptMailbox.RESET);
+                }
+            }
+        };
+        dma.start();
+        pic.start();
+        try {
+            for (int i = 0; i < ROUNDS; i++) {
+                awaitAndClear(mailbox, InterruptMailbox.INTERRUPT);
+                ack.raise(InterruptMailbox.RESET);
+            }
+        } finally {
+            done.countDown();
+        }
+        pic.finish();
+        dma.finish();
+        assertEquals(0, mailbox.get() & InterruptMailbox.INTERRUPT);
+    }
+
+    @Test
+    public void testNoLostTask() throws Exception {
+        final InterruptMailbox mailbox = new InterruptMailbox();
+        final int posters = 4;
+        final List<List<Integer>> runs = new ArrayList<List<Integer>>();
+        List<Worker> workers = new ArrayList<Worker>();
+        for (int p = 0; p < posters; p++) {
+            final List<Integer> run = new ArrayList<Integer>();
+            runs.add(run);
+            workers.add(new Worker() {
+                void work() {
+                    for (int i = 0; i < ROUNDS; i++) {
+                        final int task = i;
+                        mailbox.post(new Runnable() {
+                            public void run() {
+                                // Only the emulation thread touches the list
+                                run.add(task);
+                            }
+                        });
+                    }
+                }
+            });
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+
+        int total = 0;
+        while (total < posters * ROUNDS) {
+            int pending = mailbox.await(InterruptMailbox.TASKS, TIMEOUT_MILLIS);
+            assertTrue("wake lost", (pending & InterruptMailbox.TASKS) != 0);
+            mailbox.runTasks();
+            total = 0;
+            for (List<Integer> run : runs) {
+                total += run.size();
+            }
+        }
+        for (Worker worker : workers) {
+            worker.finish();
+        }
+
+        // Every task ran once, in the order of its poster
+        for (List<Integer> run : runs) {
+            assertEquals(ROUNDS, run.size());
+            for (int i = 0; i < ROUNDS; i++) {
+                assertEquals(i, run.get(i).intValue());
+            }
+        }
+
+        // A poster may raise the event after its task was already run, which
+        // only makes for one wake with nothing to do
+        mailbox.runTasks();
+        assertFalse(mailbox.isPending());
+    }
+
+    /**
+     * Runs code at the reset vector of a 16-bit CPU and posts a task that
+     * stops it from another thread once it is running.
+     *
+     * @return the thread the task ran on
+     */
+    private Thread postToRunningCpu(byte[] code) throws Exception {
+        final CPU cpu = new CPU(null);
+        Memory memory = new Memory(null);
+        Clock clock = new Clock(null);
+        clock.setConnection(cpu);
+        cpu.setConnection(memory);
+        cpu.setConnection(clock);
+        memory.reset();
+        cpu.reset();
+        memory.setBytes(0xFFFF0, code);
+
+        final AtomicReference<Thread> ranOn = new AtomicReference<Thread>();
+        Worker gui = new Worker() {
+            void work() throws InterruptedException {
+                long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+                while (cpu.getCurrentInstructionNumber() < 1000
+                        && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(1);
+                }
+                cpu.runAtInstructionBoundary(new Runnable() {
+                    public void run() {
+                        ranOn.set(Thread.currentThread());
+                        cpu.stop();
+                    }
+                });
+            }
+        };
+        gui.start();
+        cpu.start();
+        gui.finish();
+        return ranOn.get();
+    }
+
+    @Test
+    public void testTaskRunsOnEmulationThread() throws Exception {
+        // JMP $
+        assertSame(Thread.currentThread(),
+                postToRunningCpu(new byte[]{(byte) 0xEB, (byte) 0xFE}));
+    }
+
+    @Test
+    public void testTaskWakesHaltedCpu() throws Exception {
+        // STI; HLT; JMP back to the HLT, without timers the CPU only wakes
+        // up for the task
+        assertSame(Thread.currentThread(),
+                postToRunningCpu(new byte[]{(byte) 0xFB, (byte) 0xF4, (byte) 0xEB, (byte) 0xFD}));
+    }
+}
@@ -0,0 +1,217 @@
+package dioscuri.module.ata;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the cluster cache, the read-ahead and the write-back mode of
+ * {@link DiskImage}.
+ */
+public class DiskImageTest {
+
+    private static final int CLUSTER = DiskImage.CLUSTER_SIZE;
+
+    // Room for a full cache, a read-ahead and a partial last cluster
+    private static final int CLUSTERS = DiskImage.MAX_CACHED_CLUSTERS
+            + DiskImage.READ_AHEAD_CLUSTERS + 4;
+    private static final int LENGTH = CLUSTERS * CLUSTER + 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private byte[] data;
+    private DiskImage image;
+
+    @Before
+    public void setUp() throws IOException {
+        data = new byte[LENGTH];
+        new Random(3).nextBytes(data);
+        file = folder.newFile("disk.img");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.write(data);
+        } finally {
+            raf.close();
+        }
+        image = new DiskImage(file);
+    }
+
+    private byte[] read(long offset, int length) throws IOException {
+        byte[] result = new byte[length];
+        image.readFromImage(result, 0, offset, length);
+        return result;
+    }
+
+    private byte[] expected(long offset, int length) {
+        return Arrays.copyOfRange(data, (int) offset, (int) offset + length);
+    }
+
+    /**
+     * Changes the image file behind the back of the cache.
+     */
+    private void poke(long offset, byte value) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(offset);
+            raf.write(value);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private byte peek(long offset) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            raf.seek(offset);
+            return raf.readByte();
+        } finally {
+            raf.close();
+        }
+    }
+
+    @Test
+    public void testCachedClusterIsNotReadAgain() throws IOException {
+        try {
+            assertArrayEquals(expected(5 * CLUSTER + 7, 100), read(5 * CLUSTER + 7, 100));
+            poke(5 * CLUSTER + 10, (byte) ~data[5 * CLUSTER + 10]);
+            assertEquals(data[5 * CLUSTER + 10], read(5 * CLUSTER + 10, 1)[0]);
+
+            // A read spanning two clusters
+            assertArrayEquals(expected(9 * CLUSTER - 50, 100), read(9 * CLUSTER - 50, 100));
+        } finally {
+            image.close();
+        }
+    }
+
+    @Test
+    public void testSequentialMissReadsAhead() throws IOException {
+        try {
+            read(20 * CLUSTER, 1);
+            // The second miss in a row reads the following clusters with it
+            assertArrayEquals(expected(21 * CLUSTER, CLUSTER), read(21 * CLUSTER, CLUSTER));
+            long ahead = (long) (21 + DiskImage.READ_AHEAD_CLUSTERS) * CLUSTER;
+            long beyond = ahead + CLUSTER;
+            poke(ahead, (byte) ~data[(int) ahead]);
+            poke(beyond, (byte) ~data[(int) beyond]);
+
+            assertArrayEquals(expected(22 * CLUSTER, (int) (beyond - 22 * CLUSTER)),
+                    read(22 * CLUSTER, (int) (beyond - 22 * CLUSTER)));
+            assertEquals((byte) ~data[(int) beyond], read(beyond, 1)[0]);
+        } finally {
+            image.close();
+        }
+    }
+
+    @Test
+    public void testReadAheadStopsAtEndOfImage() throws IOException {
+        try {
+            long last = (long) CLUSTERS * CLUSTER;
+            read(last - 2 * CLUSTER, 1);
+            byte[] tail = read(last - CLUSTER, 2 * CLUSTER);
+            assertArrayEquals(expected(last - CLUSTER, 1000 + CLUSTER),
+                    Arrays.copyOf(tail, 1000 + CLUSTER));
+            assertArrayEquals(new byte[CLUSTER - 1000],
+                    Arrays.copyOfRange(tail, 1000 + CLUSTER, tail.length));
+        } finally {
+            image.close();
+        }
+    }
+
+    /**
+     * Reads as many clusters as the cache holds, from the end of the image
+     * down so that no miss reads ahead.
+     */
+    private void fillCache(long keep) throws IOException {
+        for (int i = 0; i < DiskImage.MAX_CACHED_CLUSTERS; i++) {
+            read((long) (CLUSTERS - 1 - i) * CLUSTER, 1);
+            if (i == DiskImage.MAX_CACHED_CLUSTERS / 2) {
+                read(keep, 1);
+            }
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedClusterIsEvicted() throws IOException {
+        try {
+            // Reads the first clusters, from the start of the image on
+            read(0, 1);
+            poke(0, (byte) ~data[0]);
+            poke(2 * CLUSTER, (byte) ~data[2 * CLUSTER]);
+            fillCache(0);
+
+            assertEquals(data[0], read(0, 1)[0]);
+            assertEquals((byte) ~data[2 * CLUSTER], read(2 * CLUSTER, 1)[0]);
+        } finally {
+            image.close();
+        }
+    }
+
+    @Test
+    public void testWriteBackHoldsWritesUntilFlush() throws IOException {
+        byte[] written = new byte[3 * CLUSTER];
+        Arrays.fill(written, (byte) 0x5A);
+        try {
+            image.setWriteBack(true);
+            image.writeToImage(written, 0, CLUSTER - 100, written.length);
+            assertEquals(data[CLUSTER], peek(CLUSTER));
+            assertArrayEquals(written, read(CLUSTER - 100, written.length));
+
+            image.flush();
+            assertEquals(0x5A, peek(CLUSTER - 100));
+            assertEquals(0x5A, peek(4 * CLUSTER - 101));
+            assertEquals(data[4 * CLUSTER - 100], peek(4 * CLUSTER - 100));
+
+            // Switching to write-through stores the pending writes
+            image.writeToImage(written, 0, 100 * CLUSTER, 1);
+            assertEquals(data[100 * CLUSTER], peek(100 * CLUSTER));
+            image.setWriteBack(false);
+            assertEquals(0x5A, peek(100 * CLUSTER));
+            image.writeToImage(written, 0, 200 * CLUSTER, 1);
+            assertEquals(0x5A, peek(200 * CLUSTER));
+        } finally {
+            image.close();
+        }
+    }
+
+    @Test
+    public void testEvictedDirtyClusterIsStored() throws IOException {
+        try {
+            image.setWriteBack(true);
+            image.writeToImage(new byte[]{0x11}, 0, 3, 1);
+            fillCache(CLUSTER);
+            assertEquals(0x11, peek(3));
+            assertEquals(0x11, read(3, 1)[0]);
+        } finally {
+            image.close();
+        }
+    }
+
+    @Test
+    public void testCloseStoresPendingWrites() throws IOException {
+        image.setWriteBack(true);
+        image.writeToImage(new byte[]{0x22, 0x33}, 0, LENGTH - 1, 2);
+        image.close();
+        assertEquals(LENGTH + 1, file.length());
+        assertEquals(0x22, peek(LENGTH - 1));
+        assertEquals(0x33, peek(LENGTH));
+
+        // The image is opened again when it is used after closing
+        try {
+            assertArrayEquals(new byte[]{0x22, 0x33}, read(LENGTH - 1, 2));
+        } finally {
+            image.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package dioscuri.module.ata;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests reading and writing an image through the chunked mappings of
+ * {@link MappedDiskImage}.
+ */
+public class MappedDiskImageTest {
+
+    // Small chunks, so that an image of a few kilobytes spans several
+    private static final int CHUNK = 4096;
+    private static final int LENGTH = 3 * CHUNK + 1500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private byte[] data;
+
+    @Before
+    public void setUp() throws IOException {
+        data = new byte[LENGTH];
+        new Random(9).nextBytes(data);
+        file = folder.newFile("disk.img");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.write(data);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static byte[] read(AbstractDiskImage image, long offset, int length) throws IOException {
+        byte[] result = new byte[length + 2];
+        image.readFromImage(result, 2, offset, length);
+        return Arrays.copyOfRange(result, 2, result.length);
+    }
+
+    private byte[] readFile() throws IOException {
+        byte[] result = new byte[(int) file.length()];
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            raf.readFully(result);
+        } finally {
+            raf.close();
+        }
+        return result;
+    }
+
+    @Test
+    public void testReadsAcrossChunks() throws IOException {
+        MappedDiskImage image = new MappedDiskImage(file, false, CHUNK);
+        try {
+            assertEquals(LENGTH, image.getSize());
+            assertArrayEquals(Arrays.copyOfRange(data, CHUNK - 10, CHUNK + 10),
+                    read(image, CHUNK - 10, 20));
+            // Over two chunk boundaries at once
+            assertArrayEquals(Arrays.copyOfRange(data, 100, 3 * CHUNK + 100),
+                    read(image, 100, 3 * CHUNK));
+            assertArrayEquals(data, read(image, 0, LENGTH));
+        } finally {
+            image.close();
+        }
+    }
+
+    @Test
+    public void testReadsPastEndAreZero() throws IOException {
+        MappedDiskImage image = new MappedDiskImage(file, false, CHUNK);
+        try {
+            byte[] tail = read(image, LENGTH - 8, 8 + 600);
+            assertArrayEquals(Arrays.copyOfRange(data, LENGTH - 8, LENGTH),
+                    Arrays.copyOf(tail, 8));
+            assertArrayEquals(new byte[600], Arrays.copyOfRange(tail, 8, tail.length));
+
+            // Past the last chunk as well
+            byte[] beyond = new byte[CHUNK + 20];
+            Arrays.fill(beyond, (byte) 1);
+            image.readFromImage(beyond, 0, 5L * CHUNK, beyond.length);
+            assertArrayEquals(new byte[CHUNK + 20], beyond);
+        } finally {
+            image.close();
+        }
+    }
+
+    @Test
+    public void testWritesAcrossChunks() throws IOException {
+        byte[] written = new byte[CHUNK + 200];
+        new Random(10).nextBytes(written);
+        MappedDiskImage image = new MappedDiskImage(file, false, CHUNK);
+        try {
+            image.writeToImage(written, 0, 2L * CHUNK - 100, written.length);
+            assertArrayEquals(written, read(image, 2L * CHUNK - 100, written.length));
+        } finally {
+            image.close();
+        }
+        System.arraycopy(written, 0, data, 2 * CHUNK - 100, written.length);
+        assertArrayEquals(data, readFile());
+
+        // Mapped again after closing
+        assertArrayEquals(written, read(image, 2L * CHUNK - 100, written.length));
+        image.close();
+    }
+
+    @Test
+    public void testRejectsWriteBeyondEnd() throws IOException {
+        MappedDiskImage image = new MappedDiskImage(file, false, CHUNK);
+        try {
+            image.writeToImage(new byte[2], 0, LENGTH - 1, 2);
+            fail("write beyond the end of the image");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("beyond end"));
+        } finally {
+            image.close();
+        }
+        assertEquals(LENGTH, file.length());
+        assertArrayEquals(data, readFile());
+    }
+
+    @Test
+    public void testRejectsWriteToReadOnlyImage() throws IOException {
+        MappedDiskImage image = new MappedDiskImage(file, true, CHUNK);
+        try {
+            image.writeToImage(new byte[]{1}, 0, 0, 1);
+            fail("write to a read-only image");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("read-only"));
+        } finally {
+            image.close();
+        }
+        assertArrayEquals(data, readFile());
+    }
+}
@@ -0,0 +1,322 @@
+package dioscuri.module.ata;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests reading and writing through the copy-on-write overlay of
+ * {@link OverlayDiskImage}.
+ */
+public class OverlayDiskImageTest {
+
+    private static final int SECTOR = 512;
+    private static final int SECTORS = 64;
+
+    /**
+     *
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File baseFile;
+    private File overlayFile;
+    private byte[] baseData;
+
+    /**
+     * @throws IOException
+     */
+    @Before
+    public void setUp() throws IOException {
+        baseData = new byte[SECTORS * SECTOR];
+        new Random(1).nextBytes(baseData);
+        baseFile = createFile("base.img", baseData);
+        overlayFile = new File(folder.getRoot(), "base.ovl");
+    }
+
+    /**
+     * Writing part of a sector keeps the rest of the sector of the base
+     * image.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testPartialSectorCopyUp() throws IOException {
+        byte[] expected = baseData.clone();
+        OverlayDiskImage image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            // Inside one sector
+            write(image, expected, 3 * SECTOR + 100, 10, (byte) 0x11);
+            // Across the end of one sector into the next
+            write(image, expected, 5 * SECTOR + 500, 30, (byte) 0x22);
+            // Ending in the middle of the last of three sectors
+            write(image, expected, 8 * SECTOR, 2 * SECTOR + 7, (byte) 0x33);
+
+            assertImage(expected, image);
+        } finally {
+            image.close();
+        }
+        assertArrayEquals(baseData, readFile(baseFile));
+    }
+
+    /**
+     * Reads spanning sectors of both images are split into runs at the
+     * right offsets.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRunsBetweenBaseAndOverlay() throws IOException {
+        byte[] expected = baseData.clone();
+        OverlayDiskImage image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            write(image, expected, 2 * SECTOR, SECTOR, (byte) 0x44);
+            write(image, expected, 4 * SECTOR, 3 * SECTOR, (byte) 0x55);
+            write(image, expected, (SECTORS - 1) * SECTOR, SECTOR, (byte) 0x66);
+
+            // Every start and end offset around the written sectors
+            for (int start = SECTOR; start < 3 * SECTOR; start += 37) {
+                for (int end = start + 1; end < 9 * SECTOR; end += 101) {
+                    assertRange(expected, image, start, end - start);
+                }
+            }
+            assertRange(expected, image, (SECTORS - 2) * SECTOR + 3,
+                    2 * SECTOR - 3);
+
+            // Random writes and reads of any size
+            Random random = new Random(2);
+            for (int i = 0; i < 200; i++) {
+                int offset = random.nextInt(expected.length);
+                int length = 1 + random.nextInt(Math.min(3 * SECTOR,
+                        expected.length - offset));
+                if (random.nextBoolean()) {
+                    write(image, expected, offset, length, (byte) i);
+                } else {
+                    assertRange(expected, image, offset, length);
+                }
+            }
+            assertImage(expected, image);
+        } finally {
+            image.close();
+        }
+        assertArrayEquals(baseData, readFile(baseFile));
+    }
+
+    /**
+     * An overlay that is opened again still holds the sectors written
+     * before.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReopenOverlay() throws IOException {
+        byte[] expected = baseData.clone();
+        OverlayDiskImage image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            write(image, expected, 0, SECTOR, (byte) 0x77);
+            write(image, expected, 10 * SECTOR + 3, 5, (byte) 0x78);
+            write(image, expected, 20 * SECTOR, 4 * SECTOR, (byte) 0x79);
+        } finally {
+            image.close();
+        }
+
+        image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            assertImage(expected, image);
+            write(image, expected, 10 * SECTOR + 200, 5, (byte) 0x7A);
+        } finally {
+            image.close();
+        }
+
+        image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            assertImage(expected, image);
+        } finally {
+            image.close();
+        }
+        assertArrayEquals(baseData, readFile(baseFile));
+    }
+
+    /**
+     * An overlay is only opened with the base image it was made for.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRejectBaseOfOtherSize() throws IOException {
+        new OverlayDiskImage(baseFile, overlayFile).close();
+
+        File otherBase = createFile("other.img",
+                new byte[(SECTORS + 1) * SECTOR]);
+        try {
+            new OverlayDiskImage(otherBase, overlayFile).close();
+            fail("overlay opened with a base image of another size");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("does not belong"));
+        }
+
+        File notAnOverlay = createFile("other.ovl", new byte[4 * SECTOR]);
+        try {
+            new OverlayDiskImage(baseFile, notAnOverlay).close();
+            fail("opened a file that is not an overlay");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("is not an overlay"));
+        }
+    }
+
+    /**
+     * A base image of the same size but with other contents is rejected,
+     * a copy or a touched base image with the same contents is not.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testIdentifyBaseByContents() throws IOException {
+        byte[] expected = baseData.clone();
+        OverlayDiskImage image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            write(image, expected, 7 * SECTOR, SECTOR, (byte) 0x21);
+        } finally {
+            image.close();
+        }
+
+        byte[] otherData = baseData.clone();
+        otherData[12345] ^= 1;
+        File otherBase = createFile("other.img", otherData);
+        assertTrue(otherBase.setLastModified(baseFile.lastModified() - 60000));
+        try {
+            new OverlayDiskImage(otherBase, overlayFile).close();
+            fail("overlay opened with a base image of other contents");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("does not belong"));
+        }
+
+        File copy = createFile("copy.img", baseData);
+        assertTrue(copy.setLastModified(baseFile.lastModified() - 120000));
+        image = new OverlayDiskImage(copy, overlayFile);
+        try {
+            assertImage(expected, image);
+        } finally {
+            image.close();
+        }
+
+        // The header now holds the time of the copy, the original is still
+        // recognised by its contents
+        new OverlayDiskImage(copy, overlayFile).close();
+        image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            assertImage(expected, image);
+        } finally {
+            image.close();
+        }
+    }
+
+    /**
+     * The bitmap is written to the overlay file with the sectors, not only
+     * when the overlay is flushed.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testBitmapIsStoredWithSectors() throws IOException {
+        byte[] expected = baseData.clone();
+        OverlayDiskImage image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            image.setWriteBack(false);
+            write(image, expected, 3 * SECTOR, 2 * SECTOR, (byte) 0x31);
+            write(image, expected, 40 * SECTOR + 7, 9, (byte) 0x32);
+
+            // Opened again while the first overlay is still open
+            OverlayDiskImage reopened = new OverlayDiskImage(baseFile, overlayFile);
+            try {
+                assertImage(expected, reopened);
+            } finally {
+                reopened.close();
+            }
+        } finally {
+            image.close();
+        }
+    }
+
+    /**
+     * Writing beyond the end of the base image fails.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRejectWriteBeyondBase() throws IOException {
+        OverlayDiskImage image = new OverlayDiskImage(baseFile, overlayFile);
+        try {
+            image.writeToImage(new byte[SECTOR], 0,
+                    (long) (SECTORS * SECTOR - 10), SECTOR);
+            fail("wrote beyond the end of the base image");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("beyond end"));
+        } finally {
+            image.close();
+        }
+    }
+
+    private File createFile(String name, byte[] data) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            byte[] data = new byte[(int) in.length()];
+            in.readFully(data);
+            return data;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes a pattern to the image and to the expected contents
+     */
+    private static void write(AbstractDiskImage image, byte[] expected, int offset,
+            int length, byte first) throws IOException {
+        byte[] data = new byte[length + 3];
+        for (int i = 0; i < length; i++) {
+            data[3 + i] = (byte) (first + i);
+        }
+        image.writeToImage(data, 3, offset, length);
+        System.arraycopy(data, 3, expected, offset, length);
+    }
+
+    private static void assertRange(byte[] expected, AbstractDiskImage image,
+            int offset, int length) throws IOException {
+        byte[] data = new byte[length + 5];
+        image.readFromImage(data, 5, offset, length);
+        byte[] read = new byte[length];
+        System.arraycopy(data, 5, read, 0, length);
+        byte[] wanted = new byte[length];
+        System.arraycopy(expected, offset, wanted, 0, length);
+        assertArrayEquals("offset " + offset + ", length " + length, wanted,
+                read);
+    }
+
+    private static void assertImage(byte[] expected, AbstractDiskImage image)
+            throws IOException {
+        assertRange(expected, image, 0, expected.length);
+    }
+}
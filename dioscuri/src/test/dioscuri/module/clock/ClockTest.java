@@ -0,0 +1,268 @@
+package dioscuri.module.clock;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.Module;
+import dioscuri.interfaces.Updateable;
+import dioscuri.module.AbstractModule;
+import dioscuri.module.cpu.CPU;
+import dioscuri.module.memory.Memory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the deadline queue of {@link Clock} and the countdown with which the
+ * CPU pulses it only when a timer is due.
+ */
+public class ClockTest {
+
+    // Address of the reset vector, where the CPU starts
+    private static final int RESET_VECTOR = 0xFFFF0;
+
+    private CPU cpu;
+    private Clock clock;
+
+    // Clock time as given to the clock by the test
+    private long time;
+
+    // Updates of all devices, as "TYPE@time"
+    private List<String> updates;
+
+    /**
+     * Device that logs its updates.
+     */
+    private class Device extends AbstractModule implements Updateable {
+
+        Device(Type type) {
+            super(type);
+        }
+
+        @Override
+        public int getUpdateInterval() {
+            return 0;
+        }
+
+        @Override
+        public void setUpdateInterval(int interval) {
+        }
+
+        @Override
+        public void update() {
+            updates.add(getType() + "@" + time);
+        }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
+
+        @Override
+        public void dumpState(DataOutput output) {
+        }
+
+        @Override
+        public void loadState(DataInput input) {
+        }
+    }
+
+    @Before
+    public void setUp() {
+        // The CPU executes one instruction per microsecond by default
+        cpu = new CPU(null);
+        clock = new Clock(null);
+        clock.setConnection(cpu);
+        time = 0;
+        updates = new ArrayList<String>();
+    }
+
+    private Device register(Module.Type type, int interval, boolean continuous) {
+        Device device = new Device(type);
+        assertTrue(clock.registerDevice(device, interval, continuous));
+        return device;
+    }
+
+    private void pulse(int instructions) {
+        time += instructions;
+        clock.pulse(instructions);
+    }
+
+    private void assertUpdates(String... expected) {
+        assertEquals(Arrays.asList(expected), updates);
+        updates.clear();
+    }
+
+    @Test
+    public void testTimersGoOffInDeadlineOrder() {
+        Device pit = register(Module.Type.PIT, 300, true);
+        Device keyboard = register(Module.Type.KEYBOARD, 100, true);
+        Device fdc = register(Module.Type.FDC, 200, true);
+        Device ata = register(Module.Type.ATA, 100, true);
+        clock.setTimerActiveState(pit, true);
+        clock.setTimerActiveState(keyboard, true);
+        clock.setTimerActiveState(fdc, true);
+        clock.setTimerActiveState(ata, true);
+        assertEquals(100, clock.getTimeToNextTimer());
+
+        pulse(99);
+        assertUpdates();
+        assertEquals(1, clock.getTimeToNextTimer());
+        // Equal deadlines go off in order of insertion
+        pulse(1);
+        assertUpdates("KEYBOARD@100", "ATA@100");
+        pulse(100);
+        assertUpdates("FDC@200", "KEYBOARD@200", "ATA@200");
+        pulse(100);
+        assertUpdates("PIT@300", "KEYBOARD@300", "ATA@300");
+    }
+
+    @Test
+    public void testContinuousTimerIsRearmed() {
+        Device pit = register(Module.Type.PIT, 100, true);
+        Device fdc = register(Module.Type.FDC, 150, false);
+        clock.setTimerActiveState(pit, true);
+        clock.setTimerActiveState(fdc, true);
+
+        pulse(100);
+        assertUpdates("PIT@100");
+        pulse(50);
+        assertUpdates("FDC@150");
+        assertEquals(50, clock.getTimeToNextTimer());
+
+        // The one-shot timer stays off until it is activated again
+        pulse(50);
+        pulse(100);
+        pulse(100);
+        assertUpdates("PIT@200", "PIT@300", "PIT@400");
+        clock.setTimerActiveState(fdc, true);
+        pulse(100);
+        pulse(50);
+        assertUpdates("PIT@500", "FDC@550");
+    }
+
+    @Test
+    public void testDisabledTimerKeepsRemainingCount() {
+        Device pit = register(Module.Type.PIT, 100, true);
+        clock.setTimerActiveState(pit, true);
+        pulse(30);
+        clock.setTimerActiveState(pit, false);
+        assertEquals(Long.MAX_VALUE, clock.getTimeToNextTimer());
+
+        pulse(1000);
+        assertUpdates();
+        clock.setTimerActiveState(pit, true);
+        assertEquals(70, clock.getTimeToNextTimer());
+        pulse(69);
+        assertUpdates();
+        pulse(1);
+        assertUpdates("PIT@1100");
+        assertEquals(100, clock.getTimeToNextTimer());
+    }
+
+    @Test
+    public void testResetTimerRestartsCountdown() {
+        Device pit = register(Module.Type.PIT, 100, true);
+        clock.setTimerActiveState(pit, true);
+        pulse(30);
+        assertTrue(clock.resetTimer(pit, 50));
+        assertEquals(50, clock.getTimeToNextTimer());
+        pulse(50);
+        pulse(50);
+        assertUpdates("PIT@80", "PIT@130");
+    }
+
+    @Test
+    public void testLatePulseCatchesUp() {
+        Device pit = register(Module.Type.PIT, 100, true);
+        Device keyboard = register(Module.Type.KEYBOARD, 250, true);
+        Device fdc = register(Module.Type.FDC, 40, false);
+        clock.setTimerActiveState(pit, true);
+        clock.setTimerActiveState(keyboard, true);
+        clock.setTimerActiveState(fdc, true);
+
+        // Every timer that is due goes off once, in deadline order, and
+        // continuous timers run again from the current time
+        pulse(300);
+        assertUpdates("FDC@300", "PIT@300", "KEYBOARD@300");
+        assertEquals(100, clock.getTimeToNextTimer());
+        pulse(100);
+        assertUpdates("PIT@400");
+        pulse(150);
+        assertUpdates("PIT@550", "KEYBOARD@550");
+    }
+
+    /**
+     * Connects memory to the CPU and puts the given code at the reset
+     * vector.
+     */
+    private void load(byte... code) throws ModuleException {
+        Memory memory = new Memory(null);
+        memory.reset();
+        cpu.setConnection(memory);
+        cpu.setConnection(clock);
+        cpu.reset();
+        memory.setBytes(RESET_VECTOR, code);
+    }
+
+    /**
+     * Device that logs the instructions executed at its updates and stops
+     * the CPU after a number of updates.
+     */
+    private class CountingDevice extends Device {
+
+        private final int stopAfter;
+
+        CountingDevice(Type type, int stopAfter) {
+            super(type);
+            this.stopAfter = stopAfter;
+        }
+
+        @Override
+        public void update() {
+            time = cpu.getCurrentInstructionNumber();
+            super.update();
+            if (updates.size() == stopAfter) {
+                cpu.stop();
+            }
+        }
+    }
+
+    @Test
+    public void testCpuPulsesClockWhenTimerIsDue() throws ModuleException {
+        // JMP $
+        load((byte) 0xEB, (byte) 0xFE);
+        CountingDevice pit = new CountingDevice(Module.Type.PIT, 4);
+        Device fdc = new CountingDevice(Module.Type.FDC, 4);
+        assertTrue(clock.registerDevice(pit, 1000, true));
+        assertTrue(clock.registerDevice(fdc, 1500, false));
+        clock.setTimerActiveState(pit, true);
+        clock.setTimerActiveState(fdc, true);
+
+        cpu.start();
+        assertUpdates("PIT@1000", "FDC@1500", "PIT@2000", "PIT@3000");
+        assertEquals(3000, cpu.getCurrentInstructionNumber());
+    }
+
+    @Test
+    public void testRepeatedStringInstructionStopsAtTimer() throws ModuleException {
+        // MOV CX,FFFFh; REP STOSB; JMP $
+        load((byte) 0xB9, (byte) 0xFF, (byte) 0xFF, (byte) 0xF3, (byte) 0xAA,
+                (byte) 0xEB, (byte) 0xFE);
+        CountingDevice pit = new CountingDevice(Module.Type.PIT, 3);
+        assertTrue(clock.registerDevice(pit, 1000, true));
+        clock.setTimerActiveState(pit, true);
+
+        cpu.start();
+        assertUpdates("PIT@1000", "PIT@2000", "PIT@3000");
+        // Every store counts as an instruction, after the MOV
+        byte[] cx = cpu.getRegisterValue("CX");
+        assertEquals(0xFFFF - 2999, (cx[0] & 0xFF) << 8 | cx[1] & 0xFF);
+    }
+}
@@ -0,0 +1,314 @@
+package dioscuri.module.cpu;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.Module;
+import dioscuri.interfaces.Updateable;
+import dioscuri.module.AbstractModule;
+import dioscuri.module.ModuleCPU;
+import dioscuri.module.ModulePIC;
+import dioscuri.module.clock.Clock;
+import dioscuri.module.memory.Memory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests how the CPU spends time it has nothing to do: halted with HLT, or in
+ * a loop waiting for a key through INT 16h of the BIOS.
+ */
+public class CPUIdleTest {
+
+    private static final int CODE = 0x500;
+    private static final int HANDLER = 0x600;
+    private static final int BIOS_HANDLER = 0xFE000;
+
+    // Instructions between two updates of the timer, 100 ms at 1 MIPS
+    private static final int INTERVAL = 100000;
+
+    // Updates of the timer before the CPU is stopped
+    private static final int UPDATES = 5;
+
+    private CPU cpu;
+    private Memory memory;
+    private Clock clock;
+    private Timer timer;
+
+    /**
+     * Interrupt controller that hands out IRQ 0 only.
+     */
+    private class PIC extends ModulePIC {
+        public int requestIRQNumber(AbstractModule module) {
+            return 0;
+        }
+
+        public void clearIRQ(int irqNumber) {
+            cpu.interruptRequest(false);
+        }
+
+        public void setIRQ(int irqNumber) {
+            cpu.interruptRequest(true);
+        }
+
+        public int interruptAcknowledge() {
+            cpu.interruptRequest(false);
+            return 0x08;
+        }
+
+        public int readByte(int address) {
+            return 0xFF;
+        }
+
+        public int readWord(int address) {
+            return 0xFFFF;
+        }
+
+        public int readDword(int address) {
+            return 0xFFFFFFFF;
+        }
+
+        public void writeByte(int address, int value) {
+        }
+
+        public void writeWord(int address, int value) {
+        }
+
+        public void writeDword(int address, int value) {
+        }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
+
+        @Override
+        public void dumpState(DataOutput output) {
+        }
+
+        @Override
+        public void loadState(DataInput input) {
+        }
+    }
+
+    /**
+     * Timer that may raise IRQ 0 when it goes off, and stops the CPU after a
+     * number of updates.
+     */
+    private class Timer extends AbstractModule implements Updateable {
+        final ModulePIC pic;
+        boolean interrupts;
+        int updates;
+
+        Timer(ModulePIC pic) {
+            super(Module.Type.PIT);
+            this.pic = pic;
+        }
+
+        public void update() {
+            if (++updates == UPDATES) {
+                cpu.stop();
+            } else if (interrupts) {
+                pic.setIRQ(0);
+            }
+        }
+
+        public int getUpdateInterval() {
+            return INTERVAL;
+        }
+
+        public void setUpdateInterval(int interval) {
+        }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
+
+        @Override
+        public void dumpState(DataOutput output) {
+        }
+
+        @Override
+        public void loadState(DataInput input) {
+        }
+    }
+
+    @Before
+    public void setUp() throws ModuleException {
+        cpu = new CPU(null);
+        memory = new Memory(null);
+        clock = new Clock(null);
+        PIC pic = new PIC();
+        clock.setConnection(cpu);
+        cpu.setConnection(memory);
+        cpu.setConnection(clock);
+        cpu.setConnection(pic);
+        memory.reset();
+        cpu.reset();
+
+        timer = new Timer(pic);
+        assertTrue(clock.registerDevice(timer, INTERVAL, true));
+        clock.setTimerActiveState(timer, true);
+
+        // JMP FAR 0000:0500
+        memory.setBytes(0xFFFF0, new byte[]{(byte) 0xEA, 0x00, 0x05, 0x00, 0x00});
+        // The timer interrupt and INT 21h count their calls in BX
+        setVector(0x08, 0x0000, HANDLER);
+        setVector(0x21, 0x0000, HANDLER);
+        // INC BX; IRET
+        memory.setBytes(HANDLER, new byte[]{0x43, (byte) 0xCF});
+        // The BIOS keyboard service finds no key: MOV AH,0; INC BX; IRET
+        setVector(0x16, 0xF000, BIOS_HANDLER & 0xFFFF);
+        memory.setBytes(BIOS_HANDLER, new byte[]{(byte) 0xB4, 0x00, 0x43, (byte) 0xCF});
+    }
+
+    private void setVector(int vector, int segment, int offset) throws ModuleException {
+        memory.setBytes(vector * 4, new byte[]{(byte) offset, (byte) (offset >> 8),
+                (byte) segment, (byte) (segment >> 8)});
+    }
+
+    private int register(String name) {
+        byte[] value = cpu.getRegisterValue(name);
+        return (value[0] & 0xFF) << 8 | value[1] & 0xFF;
+    }
+
+    /**
+     * Runs code at 0000:0500 until the timer stops the CPU.
+     *
+     * @return real time taken in milliseconds
+     */
+    private long run(byte[] code) throws ModuleException {
+        memory.setBytes(CODE, code);
+        long start = System.nanoTime();
+        cpu.start();
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    // STI; HLT; INC CX; JMP back to the HLT
+    private static final byte[] HALT_LOOP = {(byte) 0xFB, (byte) 0xF4, 0x41, (byte) 0xEB, (byte) 0xFC};
+
+    @Test
+    public void testHaltWaitsForInterrupt() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        timer.interrupts = true;
+        run(HALT_LOOP);
+
+        // Each interrupt ended one HLT
+        assertEquals(UPDATES - 1, register("BX"));
+        assertEquals(UPDATES - 1, register("CX"));
+        assertFalse(cpu.isShutdown());
+
+        // The time up to each interrupt passed while halted
+        long executed = cpu.getCurrentInstructionNumber() - cpu.getIdleInstructions();
+        assertEquals((long) UPDATES * INTERVAL, cpu.getCurrentInstructionNumber(), 10);
+        assertTrue(executed < 100);
+    }
+
+    @Test
+    public void testHaltWithoutInterruptStaysHalted() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        run(HALT_LOOP);
+
+        // The timer went off, but without an interrupt HLT does not end
+        assertEquals(UPDATES, timer.updates);
+        assertEquals(0, register("CX"));
+        assertEquals(CODE + 1, register("IP"));
+        assertFalse(cpu.isShutdown());
+    }
+
+    @Test
+    public void testHaltWithInterruptsDisabledShutsDown() throws ModuleException {
+        // CLI; HLT; INC CX
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        timer.interrupts = true;
+        run(new byte[]{(byte) 0xFA, (byte) 0xF4, 0x41});
+        assertTrue(cpu.isShutdown());
+        assertEquals(0, timer.updates);
+        assertEquals(0, register("CX"));
+        assertEquals(0, cpu.getIdleInstructions());
+    }
+
+    @Test
+    public void testWaitModeTakesRealTime() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.WAIT);
+        timer.interrupts = true;
+        long millis = run(HALT_LOOP);
+        assertEquals(UPDATES - 1, register("CX"));
+        // The emulated time passes in real time, give or take a wake-up
+        assertTrue(millis + " ms", millis >= (long) UPDATES * INTERVAL / 1000 * 3 / 4);
+    }
+
+    @Test
+    public void testSkipModeSkipsTime() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        timer.interrupts = true;
+        long millis = run(HALT_LOOP);
+        assertEquals(UPDATES - 1, register("CX"));
+        assertTrue(millis + " ms", millis < (long) UPDATES * INTERVAL / 1000 * 3 / 4);
+    }
+
+    // STI; MOV AH,1; INT 16h; JMP back to the MOV
+    private static final byte[] POLL_LOOP = {(byte) 0xFB, (byte) 0xB4, 0x01, (byte) 0xCD, 0x16,
+            (byte) 0xEB, (byte) 0xFA};
+
+    @Test
+    public void testKeyboardPollingIdles() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        cpu.setIdleLoopDetection(true);
+        run(POLL_LOOP);
+
+        // Polls go on between the waits, so the guest sees no key
+        assertTrue(register("BX") > UPDATES);
+        long executed = cpu.getCurrentInstructionNumber() - cpu.getIdleInstructions();
+        assertTrue(executed + " instructions", executed < INTERVAL / 10);
+    }
+
+    @Test
+    public void testKeyboardPollingNeedsStreak() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        cpu.setIdleLoopDetection(true);
+
+        // An INT 21h between the polls is real work
+        run(new byte[]{(byte) 0xFB, (byte) 0xB4, 0x01, (byte) 0xCD, 0x16, (byte) 0xCD, 0x21,
+                (byte) 0xEB, (byte) 0xF8});
+        assertEquals(0, cpu.getIdleInstructions());
+    }
+
+    @Test
+    public void testKeyboardPollingWithoutDetection() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        run(POLL_LOOP);
+        assertEquals(0, cpu.getIdleInstructions());
+    }
+
+    @Test
+    public void testKeyboardPollingHookedVector() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        cpu.setIdleLoopDetection(true);
+
+        // A handler of the guest may get keys from elsewhere
+        setVector(0x16, 0x0000, HANDLER);
+        run(POLL_LOOP);
+        assertEquals(0, cpu.getIdleInstructions());
+    }
+
+    @Test
+    public void testKeyboardReadIdles() throws ModuleException {
+        cpu.setIdleMode(ModuleCPU.IdleMode.SKIP);
+        cpu.setIdleLoopDetection(true);
+
+        // STI; MOV AH,0; INT 16h; JMP back to the MOV
+        run(new byte[]{(byte) 0xFB, (byte) 0xB4, 0x00, (byte) 0xCD, 0x16, (byte) 0xEB, (byte) 0xFA});
+
+        // Without a key the BIOS is never entered, the read waits
+        assertEquals(0, register("BX"));
+        assertEquals(CODE + 3, register("IP"));
+        long executed = cpu.getCurrentInstructionNumber() - cpu.getIdleInstructions();
+        assertTrue(executed + " instructions", executed < 10);
+    }
+}
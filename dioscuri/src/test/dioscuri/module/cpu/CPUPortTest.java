@@ -0,0 +1,144 @@
+package dioscuri.module.cpu;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.Addressable;
+import dioscuri.interfaces.Module;
+import dioscuri.module.AbstractModule;
+import dioscuri.module.clock.Clock;
+import dioscuri.module.cpu32.IOPortHandler;
+import dioscuri.module.memory.Memory;
+import dioscuri.module.motherboard.Motherboard;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that IN and OUT of words and double words on the 16-bit CPU pass
+ * their bytes to a device in the same order as the 32-bit CPU does.
+ */
+public class CPUPortTest {
+
+    private static final int PORT = 0x300;
+
+    private CPU cpu;
+    private Memory memory;
+    private Device device;
+    private IOPortHandler ports;
+
+    /**
+     * Device with the byte[] methods only, that keeps what is written to it.
+     */
+    private static class Device extends AbstractModule implements Addressable {
+        final List<byte[]> written = new ArrayList<byte[]>();
+
+        Device() {
+            super(Module.Type.PARALLELPORT);
+        }
+
+        public byte getIOPortByte(int address) {
+            return 0x12;
+        }
+
+        public byte[] getIOPortWord(int address) {
+            return new byte[]{(byte) 0xAB, (byte) 0xCD};
+        }
+
+        public byte[] getIOPortDoubleWord(int address) {
+            return new byte[]{0x78, 0x56, 0x34, 0x12};
+        }
+
+        public void setIOPortByte(int address, byte value) {
+            written.add(new byte[]{value});
+        }
+
+        public void setIOPortWord(int address, byte[] value) {
+            written.add(value.clone());
+        }
+
+        public void setIOPortDoubleWord(int address, byte[] value) {
+            written.add(value.clone());
+        }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
+
+        @Override
+        public void dumpState(DataOutput output) {
+        }
+
+        @Override
+        public void loadState(DataInput input) {
+        }
+    }
+
+    @Before
+    public void setUp() {
+        cpu = new CPU(null);
+        memory = new Memory(null);
+        Clock clock = new Clock(null);
+        Motherboard motherboard = new Motherboard(null);
+        clock.setConnection(cpu);
+        cpu.setConnection(memory);
+        cpu.setConnection(clock);
+        cpu.setConnection(motherboard);
+        memory.reset();
+        cpu.reset();
+
+        device = new Device();
+        for (int i = 0; i < 4; i++) {
+            motherboard.setIOPort(PORT + i, device);
+        }
+        ports = new IOPortHandler();
+        ports.setConnection(motherboard);
+    }
+
+    /**
+     * Runs code at the reset vector with DX pointing at the device, up to
+     * its CLI; HLT.
+     */
+    private void run(int eax, byte... code) throws ModuleException {
+        memory.setBytes(0xFFFF0, code);
+        cpu.eax = eax;
+        cpu.edx = PORT;
+        cpu.start();
+    }
+
+    @Test
+    public void testOut() throws ModuleException {
+        // OUT DX,EAX; OUT DX,AX; CLI; HLT
+        run(0x12345678, (byte) 0x66, (byte) 0xEF, (byte) 0xEF, (byte) 0xFA, (byte) 0xF4);
+        ports.ioPortWriteLong(PORT, 0x12345678);
+        ports.ioPortWriteWord(PORT, 0x5678);
+
+        assertEquals(4, device.written.size());
+        assertArrayEquals(new byte[]{0x78, 0x56, 0x34, 0x12}, device.written.get(0));
+        assertArrayEquals(new byte[]{0x56, 0x78}, device.written.get(1));
+        assertArrayEquals(device.written.get(2), device.written.get(0));
+        assertArrayEquals(device.written.get(3), device.written.get(1));
+    }
+
+    @Test
+    public void testInDoubleWord() throws ModuleException {
+        // IN EAX,DX; CLI; HLT
+        run(0, (byte) 0x66, (byte) 0xED, (byte) 0xFA, (byte) 0xF4);
+        assertEquals(0x12345678, cpu.eax);
+        assertEquals(ports.ioPortReadLong(PORT), cpu.eax);
+    }
+
+    @Test
+    public void testInWord() throws ModuleException {
+        // IN AX,DX; CLI; HLT
+        run(0x11223344, (byte) 0xED, (byte) 0xFA, (byte) 0xF4);
+        assertEquals(0x1122ABCD, cpu.eax);
+        assertEquals(ports.ioPortReadWord(PORT), cpu.eax & 0xFFFF);
+    }
+}
@@ -0,0 +1,255 @@
+package dioscuri.module.cpu;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.Module;
+import dioscuri.interfaces.Updateable;
+import dioscuri.module.AbstractModule;
+import dioscuri.module.clock.Clock;
+import dioscuri.module.memory.Memory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the predecoded instructions of {@link InstructionCache} are
+ * dropped when the code they were decoded from changes, by a write of the
+ * program itself, a write from outside the CPU, an A20 change or a snapshot
+ * load.
+ */
+public class InstructionCacheTest {
+
+    private static final int RESET_VECTOR = 0xFFFF0;
+    private static final int CODE = 0x500;
+
+    // JMP FAR 0000:0500
+    private static final byte[] JUMP_TO_CODE = {(byte) 0xEA, 0x00, 0x05, 0x00, 0x00};
+
+    // ADD AX,1; JMP back to the ADD
+    private static final byte[] ADD_LOOP = {0x05, 0x01, 0x00, (byte) 0xEB, (byte) 0xFB};
+
+    // Instructions between two updates of the timer of the tests
+    private static final int INTERVAL = 1000;
+
+    private CPU cpu;
+    private Memory memory;
+    private Clock clock;
+
+    /**
+     * Device that does something at the first and the second update of its
+     * timer, and stops the CPU at the second.
+     */
+    private abstract class Device extends AbstractModule implements Updateable {
+
+        private int updates;
+
+        Device() {
+            super(Module.Type.PIT);
+        }
+
+        abstract void first() throws Exception;
+
+        abstract void second() throws Exception;
+
+        public void update() {
+            try {
+                if (++updates == 1) {
+                    first();
+                } else {
+                    second();
+                    cpu.stop();
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public int getUpdateInterval() {
+            return INTERVAL;
+        }
+
+        public void setUpdateInterval(int interval) {
+        }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
+
+        @Override
+        public void dumpState(DataOutput output) {
+        }
+
+        @Override
+        public void loadState(DataInput input) {
+        }
+    }
+
+    @Before
+    public void setUp() throws ModuleException {
+        cpu = new CPU(null);
+        memory = new Memory(null);
+        clock = new Clock(null);
+        clock.setConnection(cpu);
+        cpu.setConnection(memory);
+        cpu.setConnection(clock);
+        memory.reset();
+        cpu.reset();
+    }
+
+    private void run(Device device) {
+        assertTrue(clock.registerDevice(device, INTERVAL, true));
+        clock.setTimerActiveState(device, true);
+        cpu.start();
+    }
+
+    private int ax() {
+        byte[] ax = cpu.getRegisterValue("AX");
+        return (ax[0] & 0xFF) << 8 | ax[1] & 0xFF;
+    }
+
+    @Test
+    public void testLookupAndReplace() {
+        InstructionCache cache = new InstructionCache();
+        byte[] nop = {(byte) 0x90};
+        cache.store(0x1234, new byte[]{0x2E, (byte) 0x8B, 0x07}, 3, 1);
+        int slot = cache.lookup(0x1234);
+        assertTrue(slot >= 0);
+        assertEquals(3, cache.getLength(slot));
+        assertEquals(1, cache.getPrefixCount(slot));
+        assertEquals((byte) 0x8B, cache.code[slot * InstructionCache.MAX_LENGTH + 1]);
+        assertEquals(-1, cache.lookup(0x1235));
+
+        // An instruction mapping to the same slot replaces it
+        cache.store(0x1234 + (1 << 20), nop, 1, 0);
+        assertEquals(-1, cache.lookup(0x1234));
+        assertEquals(slot, cache.lookup(0x1234 + (1 << 20)));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testInvalidateOverlapping() {
+        InstructionCache cache = new InstructionCache();
+        byte[] code = new byte[InstructionCache.MAX_LENGTH];
+        cache.store(0x100, code, 3, 0);
+        cache.store(0x103, code, 2, 0);
+        cache.store(0x105, code, 5, 0);
+        cache.store(0x200, code, 1, 0);
+
+        // Writes next to an instruction leave it alone
+        cache.invalidate(0xF0, 0x10);
+        cache.invalidate(0x10A, 1);
+        assertTrue(cache.lookup(0x100) >= 0);
+        assertTrue(cache.lookup(0x105) >= 0);
+
+        // A write into the last byte of one instruction
+        cache.invalidate(0x104, 1);
+        assertTrue(cache.lookup(0x100) >= 0);
+        assertEquals(-1, cache.lookup(0x103));
+        assertTrue(cache.lookup(0x105) >= 0);
+
+        // A write over the start of one and the end of another
+        cache.store(0x103, code, 2, 0);
+        cache.invalidate(0x102, 4);
+        assertEquals(-1, cache.lookup(0x100));
+        assertEquals(-1, cache.lookup(0x103));
+        assertEquals(-1, cache.lookup(0x105));
+        assertTrue(cache.lookup(0x200) >= 0);
+
+        cache.clear();
+        assertEquals(-1, cache.lookup(0x200));
+    }
+
+    @Test
+    public void testSelfModifyingCode() throws ModuleException {
+        // MOV CX,2; JMP FAR 0000:0500
+        memory.setBytes(RESET_VECTOR, new byte[]{(byte) 0xB9, 0x02, 0x00,
+                (byte) 0xEA, 0x00, 0x05, 0x00, 0x00});
+        // MOV AL,11h; ADD AH,AL; MOV BYTE [0501h],22h; DEC CX; JNZ 0500h; HLT
+        memory.setBytes(CODE, new byte[]{
+                (byte) 0xB0, 0x11,
+                0x00, (byte) 0xC4,
+                (byte) 0xC6, 0x06, 0x01, 0x05, 0x22,
+                0x49,
+                0x75, (byte) 0xF4,
+                (byte) 0xF4});
+        cpu.start();
+
+        // The second round runs the patched MOV
+        assertEquals(0x3322, ax());
+        assertTrue(cpu.getInstructionCacheHits() >= 4);
+    }
+
+    @Test
+    public void testWriteFromOutsideCpu() throws ModuleException {
+        memory.setBytes(RESET_VECTOR, JUMP_TO_CODE);
+        memory.setBytes(CODE, ADD_LOOP);
+        final int[] ax = new int[1];
+        run(new Device() {
+            void first() throws ModuleException {
+                ax[0] = ax();
+                // As a DMA transfer would, make it ADD AX,100h
+                memory.setBytes(CODE + 1, new byte[]{0x00, 0x01});
+            }
+
+            void second() {
+                ax[0] = ax() - ax[0];
+            }
+        });
+        // Half of the instructions are the ADD
+        assertEquals(INTERVAL / 2 * 0x100 & 0xFFFF, ax[0] & 0xFFFF);
+    }
+
+    @Test
+    public void testA20ChangeClearsCache() throws ModuleException {
+        memory.setBytes(RESET_VECTOR, JUMP_TO_CODE);
+        memory.setBytes(CODE, ADD_LOOP);
+        final long[] misses = new long[2];
+        run(new Device() {
+            void first() {
+                misses[0] = cpu.getInstructionCacheMisses();
+                memory.setA20AddressLine(false);
+            }
+
+            void second() {
+                misses[1] = cpu.getInstructionCacheMisses();
+            }
+        });
+        // Both instructions of the loop are decoded again, once
+        assertEquals(2, misses[1] - misses[0]);
+    }
+
+    @Test
+    public void testSnapshotLoadClearsCache() throws ModuleException, IOException {
+        memory.setBytes(RESET_VECTOR, JUMP_TO_CODE);
+        // Take a snapshot with ADD AX,100h, then run ADD AX,1
+        memory.setBytes(CODE, new byte[]{0x05, 0x00, 0x01, (byte) 0xEB, (byte) 0xFB});
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        memory.dumpState(new DataOutputStream(buffer));
+        final byte[] snapshot = buffer.toByteArray();
+        memory.setBytes(CODE, ADD_LOOP);
+
+        final int[] ax = new int[1];
+        run(new Device() {
+            void first() throws IOException {
+                ax[0] = ax();
+                memory.loadState(new DataInputStream(new ByteArrayInputStream(snapshot)));
+            }
+
+            void second() {
+                ax[0] = ax() - ax[0];
+            }
+        });
+        assertEquals(INTERVAL / 2 * 0x100 & 0xFFFF, ax[0] & 0xFFFF);
+    }
+}
@@ -0,0 +1,407 @@
+package dioscuri.module.cpu;
+
+import dioscuri.AbstractInstructionTest;
+import org.junit.Before;
+import org.junit.Test;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs repeated string instructions through the bulk path of
+ * {@link RepStringExecutor} and compares the outcome with executing the
+ * same instruction element by element without a repeat prefix.
+ */
+public class RepStringExecutorTest extends AbstractInstructionTest {
+
+    private static final int CODE_SEGMENT = 0x0800;
+    private static final int DATA_SEGMENT = 0x2000;
+    private static final int EXTRA_SEGMENT = 0x3000;
+    private static final int VIDEO_SEGMENT = 0xA000;
+
+    private static final int REP = 0xF3;
+    private static final int REPNE = 0xF2;
+
+    private static final int MOVSB = 0xA4;
+    private static final int MOVSW = 0xA5;
+    private static final int CMPSB = 0xA6;
+    private static final int STOSB = 0xAA;
+    private static final int STOSW = 0xAB;
+    private static final int LODSB = 0xAC;
+    private static final int SCASB = 0xAE;
+    private static final int SCASW = 0xAF;
+    private static final int INSW = 0x6D;
+
+    // Instructions the clock allows when the budget is not tested
+    private static final int UNLIMITED = Integer.MAX_VALUE / 2;
+
+    private static final String[] REGISTERS = {"AX", "CX", "DX", "SI", "DI",
+            "DS", "ES"};
+
+    // Number of steps of the repeated run and CX after its first step
+    private int steps;
+    private int cxAfterFirstStep;
+
+    /**
+     * @throws Exception
+     */
+    public RepStringExecutorTest() throws Exception {
+        super();
+    }
+
+    /**
+     *
+     */
+    @Before
+    public void setUp() {
+        cpu.flags.set(CPU.REGISTER_FLAGS_IF, false);
+        cpu.flags.set(CPU.REGISTER_FLAGS_DF, false);
+        setRegister("DS", DATA_SEGMENT);
+        setRegister("ES", EXTRA_SEGMENT);
+        fill(DATA_SEGMENT, 0, 0x10000, 0);
+        fill(EXTRA_SEGMENT, 0, 0x10000, 0x80);
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testMovsbForward() throws Exception {
+        setRegister("SI", 0x0100);
+        setRegister("DI", 0x0200);
+        setRegister("CX", 300);
+
+        assertSameAsSingleSteps(REP, MOVSB, UNLIMITED, null);
+        assertEquals(1, steps);
+        assertEquals(0, getRegister("CX"));
+        assertEquals(0x0100 + 300, getRegister("SI"));
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testMovswBackward() throws Exception {
+        cpu.flags.set(CPU.REGISTER_FLAGS_DF, true);
+        setRegister("SI", 0x0400);
+        setRegister("DI", 0x0800);
+        setRegister("CX", 200);
+
+        assertSameAsSingleSteps(REP, MOVSW, UNLIMITED, null);
+        assertEquals(1, steps);
+        assertEquals(0x0800 - 400, getRegister("DI"));
+    }
+
+    /**
+     * Copying a byte ahead of itself repeats the first byte, which an array
+     * copy does not, so the elements go through the instruction one by one.
+     * Only the step with two elements left does one of them in bulk, as a
+     * single byte does not overlap its copy.
+     */
+    @Test
+    public void testMovsbOverlappingFallsBack() throws Exception {
+        setRegister("ES", DATA_SEGMENT);
+        setRegister("SI", 0x0100);
+        setRegister("DI", 0x0101);
+        setRegister("CX", 50);
+
+        assertSameAsSingleSteps(REP, MOVSB, UNLIMITED, null);
+        assertEquals(49, steps);
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testStoswBackward() throws Exception {
+        cpu.flags.set(CPU.REGISTER_FLAGS_DF, true);
+        setRegister("AX", 0x1234);
+        setRegister("DI", 0x0300);
+        setRegister("CX", 100);
+
+        assertSameAsSingleSteps(REP, STOSW, UNLIMITED, null);
+        assertEquals(1, steps);
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testLodsb() throws Exception {
+        setRegister("SI", 0x0010);
+        setRegister("CX", 64);
+
+        assertSameAsSingleSteps(REP, LODSB, UNLIMITED, null);
+        assertEquals(1, steps);
+        assertEquals(0x0010 + 64, getRegister("SI"));
+    }
+
+    /**
+     * The elements up to the end of the segment are done in bulk, DI wraps
+     * around to zero and the rest is done in bulk again.
+     */
+    @Test
+    public void testStoswWrapsAroundSegment() throws Exception {
+        setRegister("AX", 0xBEEF);
+        setRegister("DI", 0xFFF0);
+        setRegister("CX", 20);
+
+        assertSameAsSingleSteps(REP, STOSW, UNLIMITED, null);
+        assertTrue(steps > 1 && steps < 20);
+        assertEquals(0x0018, getRegister("DI"));
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testMovsbBackwardWrapsAroundSegment() throws Exception {
+        cpu.flags.set(CPU.REGISTER_FLAGS_DF, true);
+        setRegister("SI", 0x0005);
+        setRegister("DI", 0x0100);
+        setRegister("CX", 20);
+
+        assertSameAsSingleSteps(REP, MOVSB, UNLIMITED, null);
+        assertTrue(steps > 1 && steps < 20);
+        assertEquals(0xFFF1, getRegister("SI"));
+    }
+
+    /**
+     * Video memory is left to the element by element path.
+     */
+    @Test
+    public void testVideoWindowFallsBack() throws Exception {
+        setRegister("ES", VIDEO_SEGMENT);
+        setRegister("AX", 0x0055);
+        setRegister("DI", 0x0100);
+        setRegister("CX", 40);
+
+        assertSameAsSingleSteps(REP, STOSB, UNLIMITED, null);
+        assertEquals(40, steps);
+
+        setRegister("DS", VIDEO_SEGMENT);
+        setRegister("ES", EXTRA_SEGMENT);
+        setRegister("SI", 0x0100);
+        setRegister("DI", 0x0400);
+        setRegister("CX", 40);
+
+        assertSameAsSingleSteps(REP, MOVSB, UNLIMITED, null);
+        assertEquals(40, steps);
+    }
+
+    /**
+     * REPE CMPSB stops right after the first difference.
+     */
+    @Test
+    public void testRepeCmpsbStopsAtDifference() throws Exception {
+        fill(EXTRA_SEGMENT, 0x0200, 100, 0);
+        mem.setByte((EXTRA_SEGMENT << 4) + 0x0200 + 60, (byte) 0x11);
+        setRegister("SI", 0x0100);
+        setRegister("DI", 0x0200);
+        setRegister("CX", 200);
+
+        assertSameAsSingleSteps(REP, CMPSB, UNLIMITED, null);
+        assertEquals(1, steps);
+        assertEquals(200 - 61, getRegister("CX"));
+        assertFalse(cpu.getFlagValue('Z'));
+    }
+
+    /**
+     * REPNE SCASB stops right after the byte in AL.
+     */
+    @Test
+    public void testRepneScasbStopsAtMatch() throws Exception {
+        mem.setByte((EXTRA_SEGMENT << 4) + 0x0100 + 77, (byte) 0x42);
+        setRegister("AX", 0x0042);
+        setRegister("DI", 0x0100);
+        setRegister("CX", 300);
+
+        assertSameAsSingleSteps(REPNE, SCASB, UNLIMITED, null);
+        assertEquals(1, steps);
+        assertEquals(0x0100 + 78, getRegister("DI"));
+        assertTrue(cpu.getFlagValue('Z'));
+    }
+
+    /**
+     * REPE SCASW going down stops right after the first other word.
+     */
+    @Test
+    public void testRepeScaswBackwardStopsAtDifference() throws Exception {
+        cpu.flags.set(CPU.REGISTER_FLAGS_DF, true);
+        for (int i = 0; i < 0x0400; i++) {
+            mem.setByte((EXTRA_SEGMENT << 4) + i, (byte) 0x80);
+        }
+        mem.setByte((EXTRA_SEGMENT << 4) + 0x0100, (byte) 0x81);
+        setRegister("AX", 0x8080);
+        setRegister("DI", 0x0200);
+        setRegister("CX", 300);
+
+        assertSameAsSingleSteps(REP, SCASW, UNLIMITED, null);
+        assertEquals(1, steps);
+        assertEquals(300 - 129, getRegister("CX"));
+    }
+
+    /**
+     * No more iterations are done at once than the clock allows.
+     */
+    @Test
+    public void testCountLimitedByClockBudget() throws Exception {
+        setRegister("SI", 0x0100);
+        setRegister("DI", 0x0200);
+        setRegister("CX", 100);
+
+        assertSameAsSingleSteps(REP, MOVSB, 6, null);
+        assertEquals(94, cxAfterFirstStep);
+        assertEquals(0, getRegister("CX"));
+    }
+
+    /**
+     * REP INSW reads the DAC palette, whose read index moves on with every
+     * byte read.
+     */
+    @Test
+    public void testInswFromPort() throws Exception {
+        setRegister("DX", 0x03C9);
+        setRegister("DI", 0x0100);
+        setRegister("CX", 100);
+
+        assertSameAsSingleSteps(REP, INSW, UNLIMITED, new Runnable() {
+            public void run() {
+                try {
+                    cpu.setIOPortByte(0x3C8, (byte) 0);
+                    for (int i = 0; i < 768; i++) {
+                        cpu.setIOPortByte(0x3C9, (byte) (i & 0x3F));
+                    }
+                    cpu.setIOPortByte(0x3C7, (byte) 0);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        assertEquals(1, steps);
+        assertEquals(0x0100 + 200, getRegister("DI"));
+    }
+
+    /**
+     * Runs the repeated instruction, then restores the registers and memory
+     * and executes the instruction once per element, checking CX and ZF
+     * between elements as the repeat prefix does. Both runs must leave the
+     * same registers, flags and memory behind.
+     *
+     * @param prefix      repeat prefix
+     * @param opcode      string instruction
+     * @param budget      instructions the clock allows in the first step
+     * @param beforeRun   prepares devices before each run, may be null
+     * @throws Exception
+     */
+    private void assertSameAsSingleSteps(int prefix, int opcode, int budget,
+            Runnable beforeRun) throws Exception {
+        int[] registers = getRegisters();
+        int flags = cpu.flags.getValue();
+        int source = getRegister("DS");
+        int destination = getRegister("ES");
+        byte[] sourceData = readSegment(source);
+        byte[] destinationData = readSegment(destination);
+
+        // Repeated
+        if (beforeRun != null) {
+            beforeRun.run();
+        }
+        mem.setBytes(CODE_SEGMENT << 4, new byte[]{(byte) prefix,
+                (byte) opcode});
+        setRegister("CS", CODE_SEGMENT);
+        setRegister("IP", 0);
+        steps = 0;
+        do {
+            cpu.scheduleClockPulse(steps == 0 ? budget : UNLIMITED);
+            cpu.startDebug();
+            if (steps == 0) {
+                cxAfterFirstStep = getRegister("CX");
+            }
+            steps++;
+        } while (getRegister("IP") != 2 && steps <= 0x10000);
+        int[] repeatedRegisters = getRegisters();
+        int repeatedFlags = cpu.flags.getValue();
+        byte[] repeatedSource = readSegment(source);
+        byte[] repeatedDestination = readSegment(destination);
+
+        // Element by element
+        setRegisters(registers);
+        cpu.flags.setValue(flags);
+        writeSegment(source, sourceData);
+        writeSegment(destination, destinationData);
+        if (beforeRun != null) {
+            beforeRun.run();
+        }
+        mem.setBytes(CODE_SEGMENT << 4, new byte[]{(byte) opcode});
+        boolean usesZeroFlag = opcode == CMPSB || opcode == CMPSB + 1
+                || opcode == SCASB || opcode == SCASW;
+        while (getRegister("CX") != 0) {
+            setRegister("IP", 0);
+            cpu.scheduleClockPulse(UNLIMITED);
+            cpu.startDebug();
+            setRegister("CX", getRegister("CX") - 1);
+            if (usesZeroFlag && cpu.getFlagValue('Z') != (prefix == REP)) {
+                break;
+            }
+        }
+
+        assertArrayEquals(getRegisters(), repeatedRegisters);
+        assertEquals(repeatedFlags, cpu.flags.getValue());
+        assertArrayEquals(readSegment(source), repeatedSource);
+        assertArrayEquals(readSegment(destination), repeatedDestination);
+    }
+
+    private int getRegister(String name) {
+        byte[] value = cpu.getRegisterValue(name);
+        return ((value[CPU.REGISTER_GENERAL_HIGH] & 0xFF) << 8)
+                | (value[CPU.REGISTER_GENERAL_LOW] & 0xFF);
+    }
+
+    private void setRegister(String name, int value) {
+        byte[] word = new byte[2];
+        word[CPU.REGISTER_GENERAL_HIGH] = (byte) (value >> 8);
+        word[CPU.REGISTER_GENERAL_LOW] = (byte) value;
+        cpu.setRegisterValue(name, word);
+    }
+
+    private int[] getRegisters() {
+        int[] values = new int[REGISTERS.length];
+        for (int i = 0; i < REGISTERS.length; i++) {
+            values[i] = getRegister(REGISTERS[i]);
+        }
+        return values;
+    }
+
+    private void setRegisters(int[] values) {
+        for (int i = 0; i < REGISTERS.length; i++) {
+            setRegister(REGISTERS[i], values[i]);
+        }
+    }
+
+    /**
+     * Fills memory of a segment with a pattern counting up from first
+     */
+    private void fill(int segment, int offset, int length, int first) {
+        for (int i = 0; i < length; i++) {
+            mem.setByte((segment << 4) + offset + i, (byte) (first + i));
+        }
+    }
+
+    private byte[] readSegment(int segment) {
+        byte[] data = new byte[0x10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = mem.getByte((segment << 4) + i);
+        }
+        return data;
+    }
+
+    private void writeSegment(int segment, byte[] data) {
+        for (int i = 0; i < data.length; i++) {
+            mem.setByte((segment << 4) + i, data[i]);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package dioscuri.module.cpu32;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the order in which {@link BackgroundCompiler} compiles blocks, that
+ * it does not queue blocks again once they are taken, and that its threads
+ * end when it is stopped.
+ */
+public class BackgroundCompilerTest {
+
+    // Executions after which a block asks to be compiled
+    private static final int REQUEST = 64;
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Source of a block, known by name only.
+     */
+    private static class Source implements InstructionSource {
+        final String name;
+
+        Source(String name) {
+            this.name = name;
+        }
+
+        public boolean getNext() {
+            return false;
+        }
+
+        public int getMicrocode() {
+            return 0;
+        }
+
+        public int getLength() {
+            return 0;
+        }
+
+        public int getX86Length() {
+            return 0;
+        }
+    }
+
+    /**
+     * Interpreted block that executes without a processor.
+     */
+    private static class Block extends RealModeUBlock {
+        final String name;
+
+        Block(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int execute(Processor cpu) {
+            return 1;
+        }
+
+        @Override
+        public InstructionSource getAsInstructionSource() {
+            return new Source(name);
+        }
+    }
+
+    /**
+     * Compiler that hands out blocks by the name of their source.
+     */
+    private static class Compiler implements CodeBlockCompiler {
+        public RealModeCodeBlock getRealModeCodeBlock(InstructionSource source) {
+            return new Block(((Source) source).name);
+        }
+
+        public ProtectedModeCodeBlock getProtectedModeCodeBlock(InstructionSource source) {
+            throw new UnsupportedOperationException();
+        }
+
+        public Virtual8086ModeCodeBlock getVirtual8086ModeCodeBlock(InstructionSource source) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Compiler of the compiler threads, which logs the blocks it compiles and
+     * holds on to the block named "gate" until it is released.
+     */
+    private static class DelayedCompiler extends Compiler {
+        final List<String> compiled = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public RealModeCodeBlock getRealModeCodeBlock(InstructionSource source) {
+            String name = ((Source) source).name;
+            if (name.equals("gate")) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            compiled.add(name);
+            return super.getRealModeCodeBlock(source);
+        }
+    }
+
+    private static CodeBlock block(BackgroundCompiler compiler, String name) {
+        return compiler.getRealModeCodeBlock(new Source(name));
+    }
+
+    private static void execute(CodeBlock block, int times) {
+        for (int i = 0; i < times; i++) {
+            try {
+                block.execute(null);
+            } catch (CodeBlockReplacementException e) {
+                // Compiled, the owner would replace the block now
+            }
+        }
+    }
+
+    private static void awaitCompiled(BackgroundCompiler compiler, long count)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (compiler.getCompiledCount() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("compiled " + compiler.getCompiledCount() + " of " + count + " blocks");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static Set<Thread> compilerThreads() {
+        Set<Thread> threads = new HashSet<Thread>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread instanceof BackgroundCompiler.CompilerThread) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
+    @Test
+    public void testHottestBlockIsCompiledFirst() throws InterruptedException {
+        DelayedCompiler delayed = new DelayedCompiler();
+        BackgroundCompiler compiler = new BackgroundCompiler(new Compiler(), delayed, 1);
+        try {
+            // Keep the only compiler thread busy while the queue fills up
+            CodeBlock gate = block(compiler, "gate");
+            execute(gate, REQUEST);
+            assertTrue(delayed.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+            CodeBlock warm = block(compiler, "warm");
+            CodeBlock hottest = block(compiler, "hottest");
+            CodeBlock hot = block(compiler, "hot");
+            execute(warm, REQUEST);
+            execute(hottest, 3 * REQUEST);
+            execute(hot, 2 * REQUEST);
+            assertEquals(3, compiler.getQueueDepth());
+            assertEquals(4, compiler.getBlockCount());
+            assertEquals(7, compiler.getRequestCount());
+
+            delayed.release.countDown();
+            awaitCompiled(compiler, 4);
+            assertEquals(Arrays.asList("gate", "hottest", "hot", "warm"), delayed.compiled);
+            assertEquals(0, compiler.getDroppedCount());
+            assertEquals(0, compiler.getFailedCount());
+        } finally {
+            delayed.release.countDown();
+            compiler.stop();
+        }
+    }
+
+    @Test
+    public void testTakenBlockIsNotQueuedAgain() throws InterruptedException {
+        DelayedCompiler delayed = new DelayedCompiler();
+        BackgroundCompiler compiler = new BackgroundCompiler(new Compiler(), delayed, 1);
+        try {
+            CodeBlock gate = block(compiler, "gate");
+            execute(gate, REQUEST);
+            assertTrue(delayed.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+            // While it is compiled, the block does not ask again
+            execute(gate, 4 * REQUEST);
+            assertEquals(0, compiler.getQueueDepth());
+            assertEquals(1, compiler.getRequestCount());
+
+            CodeBlock other = block(compiler, "other");
+            execute(other, REQUEST);
+            delayed.release.countDown();
+            awaitCompiled(compiler, 2);
+
+            // Nor once it is compiled
+            execute(gate, 4 * REQUEST);
+            execute(other, 4 * REQUEST);
+            assertEquals(0, compiler.getQueueDepth());
+            assertEquals(2, compiler.getRequestCount());
+            Thread.sleep(50);
+            assertEquals(Arrays.asList("gate", "other"), delayed.compiled);
+        } finally {
+            delayed.release.countDown();
+            compiler.stop();
+        }
+    }
+
+    @Test
+    public void testStopEndsCompilerThreads() throws InterruptedException {
+        Set<Thread> before = compilerThreads();
+        DelayedCompiler delayed = new DelayedCompiler();
+        BackgroundCompiler compiler = new BackgroundCompiler(new Compiler(), delayed, 3);
+        Set<Thread> threads = compilerThreads();
+        threads.removeAll(before);
+        assertEquals(3, threads.size());
+        for (Thread thread : threads) {
+            assertTrue(thread.isDaemon());
+        }
+
+        // One thread is busy compiling, the others wait for blocks
+        execute(block(compiler, "gate"), REQUEST);
+        assertTrue(delayed.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+        compiler.stop();
+        delayed.release.countDown();
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_MILLIS);
+            assertFalse(thread.getName(), thread.isAlive());
+        }
+        assertEquals(Arrays.asList("gate"), delayed.compiled);
+
+        // Blocks no longer ask to be compiled
+        execute(block(compiler, "late"), REQUEST);
+        assertEquals(0, compiler.getQueueDepth());
+    }
+}
@@ -0,0 +1,374 @@
+package dioscuri.module.cpu32;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the hash table and the successor links of {@link CodeBlockIndex}.
+ */
+public class CodeBlockIndexTest {
+
+    // Slots of an index that has not grown yet
+    private static final int CAPACITY = 16;
+
+    /**
+     * Code block that only records whether it survives a memory change.
+     */
+    private static class Block implements CodeBlock {
+
+        private final boolean survives;
+        private int changes;
+
+        Block(boolean survives) {
+            this.survives = survives;
+        }
+
+        public int getX86Length() {
+            return 1;
+        }
+
+        public int getX86Count() {
+            return 1;
+        }
+
+        public int execute(Processor cpu) {
+            return 1;
+        }
+
+        public String getDisplayString() {
+            return "test block";
+        }
+
+        public boolean handleMemoryRegionChange(int startAddress,
+                                                int endAddress) {
+            changes++;
+            return survives;
+        }
+    }
+
+    /**
+     * @param offset
+     * @return the slot offset hashes to in a new index
+     */
+    private static int home(int offset) {
+        CodeBlockIndex index = new CodeBlockIndex();
+        index.put(offset, new Block(false), 1);
+        return index.find(offset);
+    }
+
+    /**
+     * @param slot
+     * @param count
+     * @param from  first offset to try
+     * @return count offsets that hash to slot in a new index
+     */
+    private static int[] offsetsAt(int slot, int count, int from) {
+        int[] offsets = new int[count];
+        int found = 0;
+        for (int offset = from; found < count; offset++) {
+            if (home(offset) == slot)
+                offsets[found++] = offset;
+        }
+        return offsets;
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testProbeChainWrapsAround() {
+        int[] last = offsetsAt(CAPACITY - 1, 3, 0);
+        int[] first = offsetsAt(0, 1, 0);
+        CodeBlockIndex index = new CodeBlockIndex();
+        Block[] blocks = new Block[4];
+        for (int i = 0; i < 3; i++) {
+            blocks[i] = new Block(false);
+            index.put(last[i], blocks[i], 4);
+        }
+        blocks[3] = new Block(false);
+        index.put(first[0], blocks[3], 4);
+
+        // The chain of the last slot continues at the start of the table
+        assertEquals(CAPACITY - 1, index.find(last[0]));
+        assertEquals(0, index.find(last[1]));
+        assertEquals(1, index.find(last[2]));
+        assertEquals(2, index.find(first[0]));
+        assertEquals(4, index.size());
+
+        // Replacing a block keeps its slot
+        Block replacement = new Block(false);
+        index.put(last[1], replacement, 4);
+        assertEquals(0, index.find(last[1]));
+        assertSame(replacement, index.get(last[1]));
+        assertEquals(4, index.size());
+
+        // Removing the head shifts the rest of the chain back across the end
+        index.remove(last[0]);
+        assertNull(index.get(last[0]));
+        assertEquals(-1, index.find(last[0]));
+        assertEquals(CAPACITY - 1, index.find(last[1]));
+        assertEquals(0, index.find(last[2]));
+        assertEquals(1, index.find(first[0]));
+        assertSame(replacement, index.get(last[1]));
+        assertSame(blocks[2], index.get(last[2]));
+        assertSame(blocks[3], index.get(first[0]));
+        assertEquals(3, index.size());
+
+        // Removing from the middle of the chain
+        index.remove(last[2]);
+        assertSame(replacement, index.get(last[1]));
+        assertSame(blocks[3], index.get(first[0]));
+        assertEquals(0, index.find(first[0]));
+        assertEquals(2, index.size());
+
+        // Removing an absent offset changes nothing
+        index.remove(last[2]);
+        assertEquals(2, index.size());
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testGrowth() {
+        CodeBlockIndex index = new CodeBlockIndex();
+        List<Block> blocks = new ArrayList<Block>();
+        for (int i = 0; i < 1000; i++) {
+            Block block = new Block(false);
+            blocks.add(block);
+            index.put(i * 7, block, 7);
+        }
+        assertEquals(1000, index.size());
+        for (int i = 0; i < 1000; i++) {
+            assertSame(blocks.get(i), index.get(i * 7));
+            assertNull(index.get(i * 7 + 3));
+        }
+
+        for (int i = 0; i < 1000; i += 2)
+            index.remove(i * 7);
+        assertEquals(500, index.size());
+        for (int i = 0; i < 1000; i++) {
+            if ((i & 1) == 0)
+                assertNull(index.get(i * 7));
+            else
+                assertSame(blocks.get(i), index.get(i * 7));
+        }
+    }
+
+    /**
+     * A small region is scanned offset by offset.
+     */
+    @Test
+    public void testRegionAlteredByOffset() {
+        CodeBlockIndex index = new CodeBlockIndex();
+        Block[] blocks = new Block[6];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = new Block(i == 3);
+            index.put(i * 4, blocks[i], 4);
+        }
+
+        // Blocks at 4 to 7 and 12 to 15 overlap, the one at 0 to 3 ends
+        // right before the region and the one at 16 starts after it
+        index.regionAltered(5, 13);
+        assertSame(blocks[0], index.get(0));
+        assertNull(index.get(4));
+        assertNull(index.get(8));
+        assertSame(blocks[3], index.get(12));
+        assertSame(blocks[4], index.get(16));
+        assertSame(blocks[5], index.get(20));
+        assertEquals(0, blocks[0].changes);
+        assertEquals(1, blocks[3].changes);
+        assertEquals(0, blocks[4].changes);
+        assertEquals(4, index.size());
+
+        // A long block reaches further back than the short ones
+        Block longBlock = new Block(false);
+        index.put(100, longBlock, 10);
+        index.regionAltered(109, 109);
+        assertNull(index.get(100));
+        assertEquals(4, index.size());
+    }
+
+    /**
+     * A region larger than the table is scanned slot by slot.
+     */
+    @Test
+    public void testRegionAlteredBySlot() {
+        int[] last = offsetsAt(CAPACITY - 1, 3, 0);
+        int[] first = offsetsAt(0, 2, 0);
+        CodeBlockIndex index = new CodeBlockIndex();
+        Block kept = new Block(true);
+        Block outside = new Block(false);
+        index.put(last[0], new Block(false), 1);
+        index.put(last[1], new Block(false), 1);
+        index.put(first[0], kept, 1);
+        index.put(last[2], new Block(false), 1);
+        index.put(first[1], new Block(false), 1);
+        index.put(100000, outside, 1);
+
+        int end = Math.max(Math.max(last[2], first[1]), 100);
+        index.regionAltered(0, end);
+
+        assertEquals(2, index.size());
+        assertNull(index.get(last[0]));
+        assertNull(index.get(last[1]));
+        assertNull(index.get(last[2]));
+        assertNull(index.get(first[1]));
+        assertSame(kept, index.get(first[0]));
+        assertSame(outside, index.get(100000));
+        assertTrue(kept.changes >= 1);
+        assertEquals(0, outside.changes);
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testLinks() {
+        CodeBlockIndex index = new CodeBlockIndex();
+        index.put(0, new Block(false), 4);
+        index.put(4, new Block(false), 4);
+        index.put(8, new Block(false), 4);
+        index.put(12, new Block(false), 4);
+        int from = index.find(0);
+
+        assertEquals(-1, index.successor(from, 4));
+        index.link(from, 4, index.find(4));
+        index.link(from, 8, index.find(8));
+        assertEquals(index.find(4), index.successor(from, 4));
+        assertEquals(index.find(8), index.successor(from, 8));
+        assertEquals(-1, index.successor(from, 12));
+
+        // A third link replaces the older one
+        index.link(from, 12, index.find(12));
+        assertEquals(-1, index.successor(from, 4));
+        assertEquals(index.find(8), index.successor(from, 8));
+        assertEquals(index.find(12), index.successor(from, 12));
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testLinksStaleAfterRemove() {
+        CodeBlockIndex index = new CodeBlockIndex();
+        index.put(0, new Block(false), 4);
+        index.put(4, new Block(false), 4);
+        index.put(8, new Block(false), 4);
+        int from = index.find(0);
+        index.link(from, 4, index.find(4));
+        assertEquals(index.find(4), index.successor(from, 4));
+
+        // Removing an unrelated block may move entries, so all links go
+        index.remove(8);
+        assertEquals(-1, index.successor(from, 4));
+
+        index.link(from, 4, index.find(4));
+        assertEquals(index.find(4), index.successor(from, 4));
+
+        // Removing and storing the successor again is not followed either
+        index.remove(4);
+        index.put(4, new Block(false), 4);
+        assertEquals(-1, index.successor(from, 4));
+    }
+
+    /**
+     *
+     */
+    @Test
+    public void testLinksStaleAfterGrowth() {
+        CodeBlockIndex index = new CodeBlockIndex();
+        int offset = 0;
+        for (; 2 * (index.size() + 1) <= CAPACITY; offset += 4)
+            index.put(offset, new Block(false), 4);
+        int from = index.find(0);
+        index.link(from, 4, index.find(4));
+        assertEquals(index.find(4), index.successor(from, 4));
+
+        index.put(offset, new Block(false), 4);
+        from = index.find(0);
+        assertEquals(-1, index.successor(from, 4));
+
+        index.link(from, 4, index.find(4));
+        assertEquals(index.find(4), index.successor(from, 4));
+    }
+
+    /**
+     * Links made before a new epoch are not revived by linking again.
+     */
+    @Test
+    public void testOldLinksNotRevived() {
+        CodeBlockIndex index = new CodeBlockIndex();
+        for (int offset = 0; offset <= 16; offset += 4)
+            index.put(offset, new Block(false), 4);
+        int from = index.find(0);
+        index.link(from, 4, index.find(4));
+        index.link(from, 8, index.find(8));
+
+        index.remove(16);
+        index.link(from, 12, index.find(12));
+        assertEquals(index.find(12), index.successor(from, 12));
+        assertEquals(-1, index.successor(from, 8));
+        assertEquals(-1, index.successor(from, 4));
+
+        // Links of other blocks are made and dropped the same way
+        int other = index.find(4);
+        assertEquals(-1, index.successor(other, 8));
+        index.link(other, 8, index.find(8));
+        assertEquals(index.find(8), index.successor(other, 8));
+        assertEquals(index.find(12), index.successor(from, 12));
+    }
+
+    /**
+     * Replacing a block, as a compiled block replaces an interpreted one,
+     * keeps its slot and its links.
+     */
+    @Test
+    public void testReplacedBlockStaysLinked() {
+        CodeBlockIndex index = new CodeBlockIndex();
+        index.put(0, new Block(false), 4);
+        index.put(4, new Block(false), 4);
+        index.put(8, new Block(false), 4);
+        int from = index.find(0);
+        index.link(from, 4, index.find(4));
+        index.link(index.find(4), 8, index.find(8));
+
+        Block replacement = new Block(false);
+        index.put(4, replacement, 4);
+        index.put(0, new Block(false), 4);
+        int next = index.successor(from, 4);
+        assertEquals(index.find(4), next);
+        assertSame(replacement, index.blockAt(next));
+        assertEquals(index.find(8), index.successor(next, 8));
+    }
+
+    /**
+     * A change that removes a block unlinks every chain, one that all
+     * blocks survive does not.
+     */
+    @Test
+    public void testRegionAlteredUnlinks() {
+        CodeBlockIndex index = new CodeBlockIndex();
+        index.put(0, new Block(false), 4);
+        index.put(4, new Block(false), 4);
+        index.put(8, new Block(true), 4);
+        index.put(12, new Block(false), 4);
+        int from = index.find(0);
+        index.link(from, 4, index.find(4));
+
+        index.regionAltered(9, 10);
+        assertEquals(4, index.size());
+        assertEquals(index.find(4), index.successor(from, 4));
+
+        index.regionAltered(13, 13);
+        assertEquals(3, index.size());
+        assertEquals(-1, index.successor(index.find(0), 4));
+    }
+}
@@ -0,0 +1,239 @@
+package dioscuri.module.cpu32;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the keys, the sharing, the index and the eviction of
+ * {@link CodeCache}.
+ */
+public class CodeCacheTest {
+
+    // Cap that no test reaches
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    // MOV AX,imm16; MOV [2000h],AX; MOV BX,AX; INC BX; MOV CX,BX; JMP short
+    // back to the start
+    private static final byte[] CODE = {
+            (byte) 0xB8, 0x34, 0x12,
+            (byte) 0xA3, 0x00, 0x20,
+            (byte) 0x89, (byte) 0xC3,
+            0x43,
+            (byte) 0x89, (byte) 0xD9,
+            (byte) 0xEB, (byte) 0xF3};
+
+    // Number of x86 instructions in CODE
+    private static final int INSTRUCTIONS = 6;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * @param immediate the value loaded into AX by the block
+     * @return the code of a block that differs from others in the immediate
+     */
+    private static byte[] code(int immediate) {
+        byte[] code = CODE.clone();
+        code[1] = (byte) immediate;
+        code[2] = (byte) (immediate >> 8);
+        return code;
+    }
+
+    private static ByteSource source(byte[] code) {
+        ByteSourceWrappedMemory source = new ByteSourceWrappedMemory();
+        source.set(new LazyMemory(code), 0);
+        return source;
+    }
+
+    private static String key(byte[] code) {
+        InstructionSource decoded = new RealModeUDecoder().decodeReal(source(code));
+        return CodeCache.key(CodeCache.REAL_MODE, MicrocodeNode.getMicrocodes(decoded));
+    }
+
+    private static CodeBlock compile(CodeCache cache, byte[] code) {
+        return new DefaultCodeBlockFactory(new RealModeUDecoder(),
+                new FASTCompiler(cache)).getRealModeCodeBlock(source(code));
+    }
+
+    private static File classFile(File dir, String key) {
+        return new File(dir, key + ".class");
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        InputStream input = new FileInputStream(from);
+        try {
+            OutputStream output = new FileOutputStream(to);
+            try {
+                byte[] buffer = new byte[4096];
+                int count;
+                while ((count = input.read(buffer)) > 0) {
+                    output.write(buffer, 0, count);
+                }
+            } finally {
+                output.close();
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    @Test
+    public void testKeyIsStable() {
+        MicrocodeNode[] block = {
+                new MicrocodeNode(MicrocodeSet.LOAD0_IW, 3, 1, 0x1234),
+                new MicrocodeNode(MicrocodeSet.STORE0_AX, 3, 1),
+                new MicrocodeNode(MicrocodeSet.EIP_UPDATE, 3, 1)};
+        MicrocodeNode[] same = {
+                new MicrocodeNode(MicrocodeSet.LOAD0_IW, 3, 1, 0x1234),
+                new MicrocodeNode(MicrocodeSet.STORE0_AX, 3, 1),
+                new MicrocodeNode(MicrocodeSet.EIP_UPDATE, 3, 1)};
+        MicrocodeNode[] otherImmediate = {
+                new MicrocodeNode(MicrocodeSet.LOAD0_IW, 3, 1, 0x1235),
+                new MicrocodeNode(MicrocodeSet.STORE0_AX, 3, 1),
+                new MicrocodeNode(MicrocodeSet.EIP_UPDATE, 3, 1)};
+
+        String key = CodeCache.key(CodeCache.REAL_MODE, block);
+        assertEquals(40, key.length());
+        assertEquals(key, CodeCache.key(CodeCache.REAL_MODE, same));
+        assertFalse(key.equals(CodeCache.key(CodeCache.PROTECTED_MODE, block)));
+        assertFalse(key.equals(CodeCache.key(CodeCache.REAL_MODE, otherImmediate)));
+
+        // Decoding the same code twice gives the same key
+        assertEquals(key(CODE), key(CODE));
+        assertFalse(key(CODE).equals(key(code(0x5678))));
+    }
+
+    @Test
+    public void testSharesClassesInMemory() {
+        CodeCache cache = new CodeCache();
+        assertFalse(cache.isOpen());
+
+        // Compilers of two machines sharing the store
+        CodeBlock first = compile(cache, CODE);
+        CodeBlock second = compile(cache, CODE);
+        assertSame(first.getClass(), second.getClass());
+        assertTrue(first != second);
+        assertFalse(first.getClass() == compile(cache, code(0x5678)).getClass());
+
+        // A store of its own compiles the block again
+        assertFalse(first.getClass() == compile(new CodeCache(), CODE).getClass());
+    }
+
+    @Test
+    public void testIndexRoundTrip() throws IOException {
+        File dir = folder.newFolder("cache");
+        String key = key(CODE);
+
+        CodeCache cache = new CodeCache(dir, UNLIMITED);
+        assertNull(cache.lookup(key));
+        CodeBlock compiled = compile(cache, CODE);
+        assertTrue(classFile(dir, key).isFile());
+        assertSame(compiled.getClass(), cache.lookup(key).getClass());
+        cache.close();
+        assertFalse(cache.isOpen());
+        assertTrue(new File(dir, "index").isFile());
+        // The classes stay in memory for machines still running
+        assertSame(compiled.getClass(), cache.lookup(key).getClass());
+
+        CodeCache reopened = new CodeCache(dir, UNLIMITED);
+        try {
+            CodeBlock cached = reopened.lookup(key);
+            assertNotNull(cached);
+            assertEquals(INSTRUCTIONS, cached.getX86Count());
+            assertEquals(CODE.length, cached.getX86Length());
+            // The compiler takes the block from the cache
+            assertSame(cached.getClass(), compile(reopened, CODE).getClass());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws IOException {
+        File sizing = folder.newFolder("sizing");
+        CodeCache cache = new CodeCache(sizing, UNLIMITED);
+        compile(cache, CODE);
+        cache.close();
+        long length = classFile(sizing, key(CODE)).length();
+
+        // Room for two blocks, not for three
+        File dir = folder.newFolder("cache");
+        cache = new CodeCache(dir, length * 5 / 2);
+        byte[] first = code(1), second = code(2), third = code(3);
+        compile(cache, first);
+        compile(cache, second);
+        // Use the first block again, which makes the second the eldest
+        assertNotNull(cache.lookup(key(first)));
+        compile(cache, third);
+        cache.close();
+
+        assertTrue(classFile(dir, key(first)).isFile());
+        assertFalse(classFile(dir, key(second)).exists());
+        assertTrue(classFile(dir, key(third)).isFile());
+
+        CodeCache reopened = new CodeCache(dir, length * 5 / 2);
+        try {
+            assertNotNull(reopened.lookup(key(first)));
+            assertNull(reopened.lookup(key(second)));
+            assertNotNull(reopened.lookup(key(third)));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    public void testAdoptsUnindexedFiles() throws IOException {
+        byte[] other = code(0x5678);
+
+        // Another process wrote a block into the directory
+        File elsewhere = folder.newFolder("elsewhere");
+        CodeCache cache = new CodeCache(elsewhere, UNLIMITED);
+        compile(cache, other);
+        cache.close();
+
+        File dir = folder.newFolder("cache");
+        cache = new CodeCache(dir, UNLIMITED);
+        compile(cache, CODE);
+        cache.close();
+        copy(classFile(elsewhere, key(other)), classFile(dir, key(other)));
+
+        CodeCache reopened = new CodeCache(dir, UNLIMITED);
+        try {
+            assertNotNull(reopened.lookup(key(CODE)));
+            assertNotNull(reopened.lookup(key(other)));
+        } finally {
+            reopened.close();
+        }
+
+        // A file that is no class file is dropped
+        OutputStream junk = new FileOutputStream(classFile(dir, key(other)));
+        try {
+            junk.write(new byte[]{1, 2, 3});
+        } finally {
+            junk.close();
+        }
+        reopened = new CodeCache(dir, UNLIMITED);
+        try {
+            assertNotNull(reopened.lookup(key(CODE)));
+            assertNull(reopened.lookup(key(other)));
+            assertFalse(classFile(dir, key(other)).exists());
+        } finally {
+            reopened.close();
+        }
+    }
+}
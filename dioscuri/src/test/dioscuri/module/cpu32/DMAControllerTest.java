@@ -0,0 +1,153 @@
+package dioscuri.module.cpu32;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the block transfers of {@link DMAController} put every element
+ * where a transfer of one element at a time would, in both address
+ * directions and across the end of the address counter.
+ */
+public class DMAControllerTest {
+
+    // Mode register bits: single mode, write (device to memory) or read
+    private static final int WRITE = 0x44;
+    private static final int READ = 0x48;
+    private static final int DECREMENT = 0x20;
+
+    private static final int[] PAGE_PORTS = {0x7, 0x3, 0x1, 0x2};
+
+    private PhysicalAddressSpace physical;
+
+    @Before
+    public void setUp() {
+        physical = new PhysicalAddressSpace();
+        for (int i = 0; i < 0x100000; i += AddressSpace.BLOCK_SIZE) {
+            physical.allocateMemory(i, new LazyMemory(AddressSpace.BLOCK_SIZE));
+        }
+        physical.setGateA20State(true);
+        for (int i = 0; i < 0x80000; i++) {
+            physical.setByte(i, pattern(i));
+        }
+    }
+
+    private static byte pattern(int address) {
+        return (byte) (address ^ address >> 8 ^ address >> 16);
+    }
+
+    /**
+     * @param first   true for the 8-bit controller, false for the 16-bit one
+     * @param address current address, in elements
+     */
+    private DMAController controller(boolean first, int channel, int mode,
+                                     int page, int address) {
+        DMAController dma = new DMAController(false, first);
+        dma.acceptComponent(physical);
+        int shift = first ? 0 : 1;
+        int base = first ? 0x00 : 0xC0;
+        dma.ioPortWriteByte(base + (0x0C << shift), 0);
+        dma.ioPortWriteByte(base + (0x0B << shift), mode | channel);
+        dma.ioPortWriteByte(base + ((channel * 2) << shift), address);
+        dma.ioPortWriteByte(base + ((channel * 2) << shift), address >> 8);
+        dma.ioPortWriteByte((first ? 0x80 : 0x88) + PAGE_PORTS[channel], page);
+        return dma;
+    }
+
+    /**
+     * Returns the address in memory of a byte of a transfer, element by
+     * element.
+     *
+     * @param size     bytes per element
+     * @param address  current address, in elements
+     * @param position index of the byte in the transfer
+     */
+    private static int address(int size, boolean down, int page, int address, int position) {
+        int element = position / size;
+        int counter = (address + (down ? -element : element)) & 0xFFFF;
+        return page << 16 | counter * size + position % size;
+    }
+
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (0x80 + i * 3);
+        }
+        return data;
+    }
+
+    /**
+     * Writes a transfer in two parts and checks every byte of it, and that
+     * nothing around it changed.
+     */
+    private void checkWrite(boolean first, boolean down, int page, int address, int length) {
+        int size = first ? 1 : 2;
+        DMAController dma = controller(first, 1, WRITE | (down ? DECREMENT : 0), page, address);
+        byte[] data = data(length);
+        int split = length / 2 & ~(size - 1);
+        dma.writeMemory(1, data, 0, 0, split);
+        dma.writeMemory(1, data, split, split, length - split);
+        assertArrayEquals(data(length), data);
+
+        boolean[] written = new boolean[0x80000];
+        for (int i = 0; i < length; i++) {
+            int at = address(size, down, page, address, i);
+            assertEquals("byte " + i, data[i], physical.getByte(at));
+            written[at] = true;
+        }
+        for (int at = page << 16; at < (page + 2) << 16; at++) {
+            if (!written[at]) {
+                assertEquals(pattern(at), physical.getByte(at));
+            }
+        }
+    }
+
+    private void checkRead(boolean first, boolean down, int page, int address, int length) {
+        int size = first ? 1 : 2;
+        DMAController dma = controller(first, 1, READ | (down ? DECREMENT : 0), page, address);
+        byte[] data = new byte[length];
+        int split = length / 2 & ~(size - 1);
+        dma.readMemory(1, data, 0, 0, split);
+        dma.readMemory(1, data, split, split, length - split);
+        for (int i = 0; i < length; i++) {
+            assertEquals("byte " + i, physical.getByte(address(size, down, page, address, i)), data[i]);
+        }
+    }
+
+    @Test
+    public void testBytesIncrement() {
+        checkWrite(true, false, 0x02, 0x1234, 0x40);
+        checkRead(true, false, 0x02, 0x1234, 0x40);
+        // The counter wraps within the page
+        checkWrite(true, false, 0x03, 0xFFF0, 0x40);
+        checkRead(true, false, 0x03, 0xFFF0, 0x40);
+    }
+
+    @Test
+    public void testBytesDecrement() {
+        checkWrite(true, true, 0x02, 0x1234, 0x40);
+        checkRead(true, true, 0x02, 0x1234, 0x40);
+        checkWrite(true, true, 0x03, 0x0010, 0x40);
+        checkRead(true, true, 0x03, 0x0010, 0x40);
+    }
+
+    @Test
+    public void testWordsIncrement() {
+        // Word addresses count words, the counter covers 128K
+        checkWrite(false, false, 0x02, 0x1234, 0x40);
+        checkRead(false, false, 0x02, 0x1234, 0x40);
+        checkWrite(false, false, 0x04, 0xFFF0, 0x40);
+        checkRead(false, false, 0x04, 0xFFF0, 0x40);
+    }
+
+    @Test
+    public void testWordsDecrement() {
+        // Each word keeps its byte order
+        checkWrite(false, true, 0x02, 0x1234, 0x40);
+        checkRead(false, true, 0x02, 0x1234, 0x40);
+        checkWrite(false, true, 0x04, 0x0010, 0x40);
+        checkRead(false, true, 0x04, 0x0010, 0x40);
+    }
+}
@@ -0,0 +1,188 @@
+package dioscuri.module.cpu32;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the real mode dispatch loop of {@link LazyCodeBlockMemory}
+ * chains blocks only while no interrupt check is needed.
+ */
+public class LazyCodeBlockMemoryTest {
+
+    private Processor cpu;
+    private LazyCodeBlockMemory memory;
+
+    // Blocks run, with the interrupt enable flag they saw, as "name:IF"
+    private List<String> runs;
+
+    /**
+     * Block of four bytes that logs its runs, jumps to the next block and
+     * may do something to the processor first.
+     */
+    private class Block implements RealModeCodeBlock {
+
+        private final String name;
+        private final int next;
+
+        Block(String name, int next) {
+            this.name = name;
+            this.next = next;
+        }
+
+        void run() {
+        }
+
+        public int getX86Length() {
+            return 4;
+        }
+
+        public int getX86Count() {
+            return 1;
+        }
+
+        public int execute(Processor processor) {
+            runs.add(name + ":" + (processor.eflagsInterruptEnable ? 1 : 0));
+            run();
+            processor.eip = next;
+            return 1;
+        }
+
+        public String getDisplayString() {
+            return name;
+        }
+
+        public boolean handleMemoryRegionChange(int startAddress, int endAddress) {
+            return false;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        memory = new LazyCodeBlockMemory(AddressSpace.BLOCK_SIZE, null);
+        cpu = new Processor();
+        cpu.cs = SegmentFactory.createRealModeSegment(memory, 0);
+        runs = new ArrayList<String>();
+    }
+
+    /**
+     * Stores the blocks A at 0, B at 4 and C at 8, where C leaves the page.
+     */
+    private void store(Block first) {
+        memory.setRealCodeBlockAt(0, first);
+        memory.setRealCodeBlockAt(4, new Block("B", 8));
+        memory.setRealCodeBlockAt(8, new Block("C", AddressSpace.BLOCK_SIZE));
+    }
+
+    private int run() {
+        cpu.eip = 0;
+        return memory.execute(cpu, 0);
+    }
+
+    private int linked(int from, int to) {
+        CodeBlockIndex index = memory.getRealCodeIndex();
+        int slot = index.successor(index.find(from), to);
+        return slot < 0 ? -1 : slot == index.find(to) ? to : -2;
+    }
+
+    private void assertRuns(String... expected) {
+        assertEquals(Arrays.asList(expected), runs);
+        runs.clear();
+    }
+
+    @Test
+    public void testBlocksAreChained() {
+        store(new Block("A", 4));
+        assertEquals(3, run());
+        assertRuns("A:0", "B:0", "C:0");
+        assertEquals(4, linked(0, 4));
+        assertEquals(8, linked(4, 8));
+
+        // Following the links runs the same blocks
+        assertEquals(3, run());
+        assertRuns("A:0", "B:0", "C:0");
+    }
+
+    @Test
+    public void testPendingInterruptEndsChain() {
+        store(new Block("A", 4) {
+            @Override
+            void run() {
+                cpu.raiseInterrupt();
+            }
+        });
+        assertEquals(3, run());
+        // With interrupts disabled, the interrupt stays pending
+        assertRuns("A:0", "B:0", "C:0");
+        assertEquals(-1, linked(0, 4));
+        assertEquals(-1, linked(4, 8));
+
+        memory.setRealCodeBlockAt(0, new Block("A", 4));
+        cpu.clearInterrupt();
+        run();
+        assertEquals(4, linked(0, 4));
+        assertEquals(8, linked(4, 8));
+    }
+
+    @Test
+    public void testDelayedInterruptEnableEndsChain() {
+        store(new Block("A", 4) {
+            @Override
+            void run() {
+                // STI, interrupts are enabled after the next instruction
+                cpu.eflagsInterruptEnableSoon = true;
+            }
+        });
+        run();
+        assertRuns("A:0", "B:1", "C:1");
+        assertEquals(-1, linked(0, 4));
+        assertEquals(8, linked(4, 8));
+    }
+
+    @Test
+    public void testTaskEndsChain() {
+        store(new Block("A", 4) {
+            @Override
+            void run() {
+                cpu.runAtInstructionBoundary(new Runnable() {
+                    public void run() {
+                        runs.add("task");
+                    }
+                });
+            }
+        });
+        run();
+        assertRuns("A:0", "task", "B:0", "C:0");
+        assertEquals(-1, linked(0, 4));
+        assertEquals(8, linked(4, 8));
+    }
+
+    @Test
+    public void testInterruptCheckNeeded() {
+        assertFalse(cpu.isInterruptCheckNeeded());
+        cpu.raiseInterrupt();
+        assertTrue(cpu.isInterruptCheckNeeded());
+        cpu.clearInterrupt();
+        assertFalse(cpu.isInterruptCheckNeeded());
+
+        // A delayed STI needs a check to take effect
+        cpu.eflagsInterruptEnableSoon = true;
+        assertTrue(cpu.isInterruptCheckNeeded());
+        cpu.processRealModeInterrupts();
+        assertTrue(cpu.eflagsInterruptEnable);
+        assertFalse(cpu.isInterruptCheckNeeded());
+
+        // And so does a delayed CLI
+        cpu.eflagsInterruptEnableSoon = false;
+        assertTrue(cpu.isInterruptCheckNeeded());
+        cpu.processRealModeInterrupts();
+        assertFalse(cpu.isInterruptCheckNeeded());
+    }
+}
@@ -0,0 +1,158 @@
+package dioscuri.module.cpu32;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests which TLB entries of {@link LinearAddressSpace} survive a page
+ * directory base write and a full flush, also when the generation stamps
+ * wrap around.
+ */
+public class LinearAddressSpaceTest {
+
+    private static final int DIRECTORY = 0x1000;
+    private static final int TABLE = 0x2000;
+
+    // Present, writable and supervisor; global pages also have bit 8 set
+    private static final int PRESENT = 0x3;
+    private static final int GLOBAL = 0x100;
+
+    // Linear pages of the tests, all in the first page table
+    private static final int LOCAL_PAGE = 0x10000;
+    private static final int GLOBAL_PAGE = 0x11000;
+    private static final int OTHER_PAGE = 0x12000;
+
+    private PhysicalAddressSpace physical;
+    private LinearAddressSpace linear;
+
+    @Before
+    public void setUp() {
+        physical = new PhysicalAddressSpace();
+        for (int i = 0; i < 0x100000; i += AddressSpace.BLOCK_SIZE) {
+            physical.allocateMemory(i, new LazyMemory(AddressSpace.BLOCK_SIZE));
+            // Every physical page holds its own address
+            physical.setDoubleWord(i, i);
+        }
+        physical.setGateA20State(true);
+        physical.setDoubleWord(DIRECTORY, TABLE | PRESENT);
+
+        linear = new LinearAddressSpace();
+        linear.acceptComponent(physical);
+        linear.setSupervisor(true);
+        linear.setPageCacheEnabled(true);
+        linear.setGlobalPagesEnabled(true);
+        linear.setPageDirectoryBaseAddress(DIRECTORY);
+        linear.setPagingEnabled(true);
+
+        map(LOCAL_PAGE, 0x30000, false);
+        map(GLOBAL_PAGE, 0x31000, true);
+        map(OTHER_PAGE, 0x32000, false);
+    }
+
+    private void map(int page, int frame, boolean global) {
+        physical.setDoubleWord(TABLE + (page >>> 10), frame | PRESENT | (global ? GLOBAL : 0));
+    }
+
+    /**
+     * @return the physical frame page is mapped to in the TLB
+     */
+    private int frame(int page) {
+        return linear.getDoubleWord(page);
+    }
+
+    /**
+     * Fills the TLB and remaps both pages behind its back.
+     */
+    private void fillAndRemap() {
+        assertEquals(0x30000, frame(LOCAL_PAGE));
+        assertEquals(0x31000, frame(GLOBAL_PAGE));
+        map(LOCAL_PAGE, 0x40000, false);
+        map(GLOBAL_PAGE, 0x41000, true);
+        assertEquals(0x30000, frame(LOCAL_PAGE));
+        assertEquals(0x31000, frame(GLOBAL_PAGE));
+    }
+
+    private Field field(String name) throws Exception {
+        Field field = LinearAddressSpace.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    private int epoch() throws Exception {
+        return field("epoch").getInt(linear);
+    }
+
+    @Test
+    public void testDirectoryBaseWriteKeepsGlobalPages() {
+        fillAndRemap();
+        long misses = linear.getTLBMisses();
+        linear.setPageDirectoryBaseAddress(DIRECTORY);
+        assertEquals(0x40000, frame(LOCAL_PAGE));
+        assertEquals(0x31000, frame(GLOBAL_PAGE));
+        assertEquals(misses + 1, linear.getTLBMisses());
+
+        // Without global pages, the write drops every page
+        linear.setGlobalPagesEnabled(false);
+        assertEquals(0x41000, frame(GLOBAL_PAGE));
+        map(GLOBAL_PAGE, 0x42000, true);
+        linear.setPageDirectoryBaseAddress(DIRECTORY);
+        assertEquals(0x42000, frame(GLOBAL_PAGE));
+    }
+
+    @Test
+    public void testFlushDropsAllPages() {
+        fillAndRemap();
+        long flushes = linear.getTLBFlushes();
+        linear.flush();
+        assertEquals(flushes + 1, linear.getTLBFlushes());
+        assertEquals(0x40000, frame(LOCAL_PAGE));
+        assertEquals(0x41000, frame(GLOBAL_PAGE));
+
+        // Entries are filled again after the flush
+        long hits = linear.getTLBHits();
+        map(LOCAL_PAGE, 0x50000, false);
+        assertEquals(0x40000, frame(LOCAL_PAGE));
+        assertEquals(hits + 1, linear.getTLBHits());
+    }
+
+    @Test
+    public void testInvalidateSinglePage() {
+        fillAndRemap();
+        linear.invalidateTLBEntry(GLOBAL_PAGE);
+        assertEquals(0x30000, frame(LOCAL_PAGE));
+        assertEquals(0x41000, frame(GLOBAL_PAGE));
+    }
+
+    @Test
+    public void testGenerationWrapsAround() throws Exception {
+        // A page filled in an early epoch and remapped behind the TLB's back
+        assertEquals(0x32000, frame(OTHER_PAGE));
+        int early = epoch();
+        map(OTHER_PAGE, 0x42000, false);
+
+        // Run the generations out, global pages survive up to the wrap
+        field("generation").setInt(linear, Integer.MAX_VALUE - 8);
+        linear.setPageDirectoryBaseAddress(DIRECTORY);
+        assertEquals(0x31000, frame(GLOBAL_PAGE));
+        map(GLOBAL_PAGE, 0x41000, true);
+        int last;
+        do {
+            assertEquals(0x31000, frame(GLOBAL_PAGE));
+            last = epoch();
+            linear.setPageDirectoryBaseAddress(DIRECTORY);
+        } while (epoch() > last);
+
+        // Starting over drops the global page as well
+        assertEquals(0x41000, frame(GLOBAL_PAGE));
+
+        // The stamp of the early page is not honoured when it comes round
+        while (epoch() < early)
+            linear.setPageDirectoryBaseAddress(DIRECTORY);
+        assertEquals(early, epoch());
+        assertEquals(0x42000, frame(OTHER_PAGE));
+    }
+}
@@ -0,0 +1,141 @@
+package dioscuri.module.cpu32;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the dirty tracking of RAM blocks and the incremental dumps of
+ * {@link PhysicalAddressSpace}.
+ */
+public class PhysicalAddressSpaceTest {
+
+    // Length of a dump holding no blocks: A20 state and terminator
+    private static final int EMPTY_DUMP = 1 + 4;
+
+    // Length of one block in a dump: address and contents
+    private static final int BLOCK_DUMP = 4 + AddressSpace.BLOCK_SIZE;
+
+    // Part of memory that is compared after a restore
+    private static final int COMPARED = 4 * 1024 * 1024;
+
+    private PhysicalAddressSpace memory;
+
+    @Before
+    public void setUp() {
+        memory = createMemory();
+    }
+
+    private static PhysicalAddressSpace createMemory() {
+        PhysicalAddressSpace memory = new PhysicalAddressSpace();
+        for (int i = 0; i < PhysicalAddressSpace.SYS_RAM_SIZE; i += AddressSpace.BLOCK_SIZE) {
+            memory.allocateMemory(i, new LazyMemory(AddressSpace.BLOCK_SIZE));
+        }
+        return memory;
+    }
+
+    private static byte[] dump(PhysicalAddressSpace memory, boolean changed) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(buffer);
+        if (changed) {
+            memory.dumpChangedState(output);
+        } else {
+            memory.dumpState(output);
+        }
+        output.flush();
+        return buffer.toByteArray();
+    }
+
+    private static DataInputStream input(byte[] state) {
+        return new DataInputStream(new ByteArrayInputStream(state));
+    }
+
+    @Test
+    public void testIncrementalRestore() throws IOException {
+        memory.setByte(0x500, (byte) 0x11);
+        memory.setDoubleWord(0x200000, 0x12345678);
+        byte[] full = dump(memory, false);
+
+        // A byte, a word spanning two blocks and a double word in a new block
+        memory.setByte(0x501, (byte) 0x22);
+        memory.setWord(0x1FFF, (short) 0xBEEF);
+        memory.setDoubleWord(0x300010, 0xCAFEBABE);
+        byte[] first = dump(memory, true);
+
+        // Overwrite a block of the first dump and one of the full dump
+        memory.setWord(0x300010, (short) 0x4321);
+        memory.setByte(0x200001, (byte) 0x99);
+        byte[] second = dump(memory, true);
+
+        PhysicalAddressSpace restored = new PhysicalAddressSpace();
+        restored.loadState(input(full));
+        restored.loadChangedState(input(first));
+        restored.loadChangedState(input(second));
+
+        for (int address = 0; address < COMPARED; address += 4) {
+            assertEquals("double word at " + Integer.toHexString(address),
+                    memory.getDoubleWord(address), restored.getDoubleWord(address));
+        }
+        assertEquals(0x22, restored.getByte(0x501));
+        assertEquals((short) 0xBEEF, restored.getWord(0x1FFF));
+        assertEquals(0xCAFE4321, restored.getDoubleWord(0x300010));
+        assertEquals(0x12349978, restored.getDoubleWord(0x200000));
+    }
+
+    @Test
+    public void testWritesMarkBlocksDirty() throws IOException {
+        assertEquals(EMPTY_DUMP, dump(memory, true).length);
+
+        memory.setByte(0x1000, (byte) 1);
+        memory.setWord(0x2000, (short) 1);
+        memory.setDoubleWord(0x3000, 1);
+        memory.setDoubleWord(0x4FFE, 1);
+        assertEquals(EMPTY_DUMP + 5 * BLOCK_DUMP, dump(memory, true).length);
+    }
+
+    @Test
+    public void testChangedDumpCleansBlocks() throws IOException {
+        memory.setByte(0x1000, (byte) 1);
+        memory.setByte(0x9000, (byte) 1);
+        assertEquals(EMPTY_DUMP + 2 * BLOCK_DUMP, dump(memory, true).length);
+        assertEquals(EMPTY_DUMP, dump(memory, true).length);
+
+        memory.setByte(0x9001, (byte) 2);
+        assertEquals(EMPTY_DUMP + BLOCK_DUMP, dump(memory, true).length);
+    }
+
+    @Test
+    public void testFullDumpKeepsDirtyBlocks() throws IOException {
+        memory.setByte(0x1000, (byte) 1);
+        dump(memory, false);
+        assertTrue(((LazyMemory) memory.getReadMemoryBlockAt(0x1000)).isDirty());
+        assertEquals(EMPTY_DUMP + BLOCK_DUMP, dump(memory, true).length);
+        assertFalse(((LazyMemory) memory.getReadMemoryBlockAt(0x1000)).isDirty());
+    }
+
+    @Test
+    public void testEPROMIsNotDumped() throws IOException {
+        memory.allocateMemory(0xF0000, new EPROMMemory(new byte[AddressSpace.BLOCK_SIZE], null));
+        assertEquals(EMPTY_DUMP, dump(memory, true).length);
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectBlockOutsideRam() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(buffer);
+        output.writeBoolean(false);
+        output.writeInt(PhysicalAddressSpace.SYS_RAM_SIZE);
+        output.write(new byte[AddressSpace.BLOCK_SIZE]);
+        output.writeInt(-1);
+        memory.loadChangedState(input(buffer.toByteArray()));
+    }
+}
@@ -0,0 +1,403 @@
+package dioscuri.module.dma;
+
+import dioscuri.module.cpu.CPU;
+import dioscuri.module.memory.Memory;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that transfers of {@link DMA} done in blocks leave memory, the device
+ * and the channel registers exactly as the same transfers done one element
+ * per bus hold.
+ */
+public class DMATest {
+
+    private static final int FLOPPY_CHANNEL = 2;
+    private static final int WORD_CHANNEL = 5;
+
+    // Most elements a device takes or delivers in one block, like the bytes
+    // of a floppy sector before the last one
+    private static final int CHUNK = 300;
+
+    /**
+     * Device that moves elements of 1 or 2 bytes, in memory byte order, one
+     * at a time or also in blocks.
+     */
+    private static class Device {
+        final DMA dma;
+        final int channel;
+        final int size;
+        final boolean blocks;
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        int elements;
+        int blockCount;
+        int terminalCount = -1;
+
+        Device(DMA dma, int channel, int size, boolean blocks) {
+            this.dma = dma;
+            this.channel = channel;
+            this.size = size;
+            this.blocks = blocks;
+        }
+
+        /**
+         * @return the byte at index of the element delivered as number
+         */
+        static byte value(int number, int index) {
+            return (byte) (index == 0 ? number * 7 + 1 : (number >> 8) ^ 0x5A);
+        }
+
+        void deliver(byte[] data, int offset) {
+            for (int i = 0; i < size; i++) {
+                data[offset + i] = value(elements, i);
+            }
+            elements++;
+        }
+
+        void single() {
+            if (dma.isTerminalCountReached()) {
+                terminalCount = elements;
+                dma.setDMARequest(channel, false);
+            }
+        }
+
+        int block(int length) {
+            if (!blocks) {
+                return 0;
+            }
+            blockCount++;
+            return Math.min(length, CHUNK);
+        }
+    }
+
+    private static class Device8 extends DMA8Handler {
+        final Device device;
+
+        Device8(Device device) {
+            this.device = device;
+            owner = "Test";
+        }
+
+        @Override
+        public void dma8ReadFromMem(byte data) {
+            device.received.write(data);
+            device.elements++;
+            device.single();
+        }
+
+        @Override
+        public byte dma8WriteToMem() {
+            byte[] data = new byte[1];
+            device.deliver(data, 0);
+            device.single();
+            return data[0];
+        }
+
+        @Override
+        public int dma8ReadFromMem(byte[] data, int offset, int length) {
+            int count = device.block(length);
+            device.received.write(data, offset, count);
+            device.elements += count;
+            return count;
+        }
+
+        @Override
+        public int dma8WriteToMem(byte[] data, int offset, int length) {
+            int count = device.block(length);
+            for (int i = 0; i < count; i++) {
+                device.deliver(data, offset + i);
+            }
+            return count;
+        }
+    }
+
+    private static class Device16 extends DMA16Handler {
+        final Device device;
+
+        Device16(Device device) {
+            this.device = device;
+            owner = "Test";
+        }
+
+        // Single words are passed most significant byte first
+        @Override
+        public void dma16ReadFromMem(byte[] data) {
+            device.received.write(data[1]);
+            device.received.write(data[0]);
+            device.elements++;
+            device.single();
+        }
+
+        @Override
+        public byte[] dma16WriteToMem() {
+            byte[] data = new byte[2];
+            device.deliver(data, 0);
+            device.single();
+            return new byte[]{data[1], data[0]};
+        }
+
+        @Override
+        public int dma16ReadFromMem(byte[] data, int offset, int words) {
+            int count = device.block(words);
+            device.received.write(data, offset, count * 2);
+            device.elements += count;
+            return count;
+        }
+
+        @Override
+        public int dma16WriteToMem(byte[] data, int offset, int words) {
+            int count = device.block(words);
+            for (int i = 0; i < count; i++) {
+                device.deliver(data, offset + i * 2);
+            }
+            return count;
+        }
+    }
+
+    private static byte pattern(int address) {
+        return (byte) (address ^ address >> 8 ^ address >> 16);
+    }
+
+    /**
+     * DMA controller with memory and a device on the floppy channel and on a
+     * 16-bit channel.
+     */
+    private static class Machine {
+        final DMA dma = new DMA(null);
+        final Memory memory = new Memory(null);
+        final Device byteDevice;
+        final Device wordDevice;
+
+        Machine(boolean blocks) {
+            CPU cpu = new CPU(null);
+            dma.setConnection(cpu);
+            dma.setConnection(memory);
+            memory.setConnection(cpu);
+            memory.reset();
+            byteDevice = new Device(dma, FLOPPY_CHANNEL, 1, blocks);
+            wordDevice = new Device(dma, WORD_CHANNEL, 2, blocks);
+            assertTrue(dma.registerDMAChannel(FLOPPY_CHANNEL, new Device8(byteDevice)));
+            assertTrue(dma.registerDMAChannel(WORD_CHANNEL, new Device16(wordDevice)));
+
+            // Something to read, different at every address
+            byte[] contents = new byte[0x80000];
+            for (int address = 0; address < contents.length; address++) {
+                contents[address] = pattern(address);
+            }
+            assertTrue(memory.setRange(0, contents, 0, contents.length));
+        }
+
+        DMAChannel channel(int number) {
+            return dma.controller[number >> 2].channel[number & 3];
+        }
+
+        Device device(int number) {
+            return number == FLOPPY_CHANNEL ? byteDevice : wordDevice;
+        }
+
+        /**
+         * Programs a channel and runs bus holds until the device sees the
+         * terminal count.
+         *
+         * @param address current address, in elements
+         * @param count   number of elements minus one
+         */
+        void transfer(int number, int type, boolean down, boolean autoInit,
+                      int page, int address, int count) {
+            DMAChannel channel = channel(number);
+            channel.mode.transferType = (byte) type;
+            channel.mode.addressDecrement = down;
+            channel.mode.autoInitEnable = autoInit;
+            channel.pageRegister = (byte) page;
+            channel.baseAddress = channel.currentAddress = address;
+            channel.baseCount = channel.currentCount = count;
+
+            Device device = device(number);
+            dma.setDMARequest(number, true);
+            for (int holds = 0; device.terminalCount < 0 && holds <= count; holds++) {
+                dma.acknowledgeBusHold();
+            }
+            assertEquals(count + 1, device.terminalCount);
+        }
+
+        byte[] ram() {
+            return memory.getRamRange(0, 0xA0000).clone();
+        }
+    }
+
+    /**
+     * Runs the same transfer one element at a time and in blocks and checks
+     * that both end the same.
+     *
+     * @return the machine that used blocks
+     */
+    private static Machine compare(int number, int type, boolean down,
+                                   boolean autoInit, int page, int address, int count) {
+        Machine single = new Machine(false);
+        Machine block = new Machine(true);
+        single.transfer(number, type, down, autoInit, page, address, count);
+        block.transfer(number, type, down, autoInit, page, address, count);
+
+        Device singleDevice = single.device(number);
+        Device blockDevice = block.device(number);
+        assertEquals(0, singleDevice.blockCount);
+        assertTrue(blockDevice.blockCount > 0);
+        assertArrayEquals(single.ram(), block.ram());
+        assertArrayEquals(singleDevice.received.toByteArray(),
+                blockDevice.received.toByteArray());
+        assertEquals(singleDevice.elements, blockDevice.elements);
+
+        DMAChannel singleChannel = single.channel(number);
+        DMAChannel blockChannel = block.channel(number);
+        assertEquals(singleChannel.currentAddress, blockChannel.currentAddress);
+        assertEquals(singleChannel.currentCount, blockChannel.currentCount);
+        int controller = number >> 2;
+        assertEquals(single.dma.controller[controller].mask[number & 3],
+                block.dma.controller[controller].mask[number & 3]);
+        assertEquals(single.dma.controller[controller].statusRegister,
+                block.dma.controller[controller].statusRegister);
+        return block;
+    }
+
+    /**
+     * Checks that element number of a transfer is at address in memory.
+     */
+    private static void assertElement(Machine machine, int number, int size, int element, int address) {
+        byte[] ram = machine.ram();
+        byte[] received = machine.device(number).received.toByteArray();
+        for (int i = 0; i < size; i++) {
+            byte expected = received.length > 0 ? received[element * size + i]
+                    : Device.value(element, i);
+            assertEquals(expected, ram[address + i]);
+        }
+    }
+
+    @Test
+    public void testWriteIncrement() {
+        Machine machine = compare(FLOPPY_CHANNEL, DMAModeRegister.DMA_TRANSFER_WRITE,
+                false, false, 0x01, 0x1000, 1000);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 0, 0x11000);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 1000, 0x11000 + 1000);
+        assertEquals(0x1000 + 1001, machine.channel(FLOPPY_CHANNEL).currentAddress);
+
+        // The channel is masked at terminal count
+        assertEquals(1, machine.dma.controller[0].mask[FLOPPY_CHANNEL]);
+        assertEquals(1 << FLOPPY_CHANNEL, machine.dma.controller[0].statusRegister & 0x0F);
+    }
+
+    @Test
+    public void testWriteDecrement() {
+        Machine machine = compare(FLOPPY_CHANNEL, DMAModeRegister.DMA_TRANSFER_WRITE,
+                true, false, 0x02, 0x0800, 0x200);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 0, 0x20800);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 0x200, 0x20600);
+        assertEquals(0x0800 - 0x201, machine.channel(FLOPPY_CHANNEL).currentAddress);
+    }
+
+    @Test
+    public void testWriteWrapsWithinPage() {
+        // The address counter wraps, the page stays
+        Machine machine = compare(FLOPPY_CHANNEL, DMAModeRegister.DMA_TRANSFER_WRITE,
+                false, false, 0x03, 0xFF00, 0x1FF);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 0xFF, 0x3FFFF);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 0x100, 0x30000);
+        assertEquals(0x100, machine.channel(FLOPPY_CHANNEL).currentAddress);
+        assertEquals(pattern(0x40000), machine.ram()[0x40000]);
+
+        machine = compare(FLOPPY_CHANNEL, DMAModeRegister.DMA_TRANSFER_WRITE,
+                true, false, 0x03, 0x00FF, 0x1FF);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 0xFF, 0x30000);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 0x100, 0x3FFFF);
+        assertEquals(0xFEFF, machine.channel(FLOPPY_CHANNEL).currentAddress);
+    }
+
+    @Test
+    public void testRead() {
+        Machine machine = compare(FLOPPY_CHANNEL, DMAModeRegister.DMA_TRANSFER_READ,
+                false, false, 0x04, 0xFF80, 0x3FF);
+        byte[] ram = machine.ram();
+        byte[] received = machine.byteDevice.received.toByteArray();
+        for (int i = 0; i <= 0x3FF; i++) {
+            assertEquals(ram[0x40000 | (0xFF80 + i) & 0xFFFF], received[i]);
+        }
+
+        machine = compare(FLOPPY_CHANNEL, DMAModeRegister.DMA_TRANSFER_READ,
+                true, false, 0x04, 0x0080, 0x3FF);
+        ram = machine.ram();
+        received = machine.byteDevice.received.toByteArray();
+        for (int i = 0; i <= 0x3FF; i++) {
+            assertEquals(ram[0x40000 | (0x0080 - i) & 0xFFFF], received[i]);
+        }
+    }
+
+    @Test
+    public void testWordsWrapWithin128K() {
+        // Word addresses count words, the counter covers 128K of the page
+        Machine machine = compare(WORD_CHANNEL, DMAModeRegister.DMA_TRANSFER_WRITE,
+                false, false, 0x02, 0xFF80, 0x2FF);
+        assertElement(machine, WORD_CHANNEL, 2, 0, 0x3FF00);
+        assertElement(machine, WORD_CHANNEL, 2, 0x7F, 0x3FFFE);
+        assertElement(machine, WORD_CHANNEL, 2, 0x80, 0x20000);
+        assertEquals(pattern(0x40000), machine.ram()[0x40000]);
+
+        machine = compare(WORD_CHANNEL, DMAModeRegister.DMA_TRANSFER_WRITE,
+                true, false, 0x02, 0x0040, 0x2FF);
+        assertElement(machine, WORD_CHANNEL, 2, 0, 0x20080);
+        assertElement(machine, WORD_CHANNEL, 2, 0x40, 0x20000);
+        assertElement(machine, WORD_CHANNEL, 2, 0x41, 0x3FFFE);
+    }
+
+    @Test
+    public void testReadWords() {
+        Machine machine = compare(WORD_CHANNEL, DMAModeRegister.DMA_TRANSFER_READ,
+                true, false, 0x04, 0x0100, 0x1FF);
+        byte[] ram = machine.ram();
+        byte[] received = machine.wordDevice.received.toByteArray();
+        for (int i = 0; i <= 0x1FF; i++) {
+            int address = 0x40000 | ((0x0100 - i) & 0xFFFF) << 1;
+            assertEquals(ram[address], received[i * 2]);
+            assertEquals(ram[address + 1], received[i * 2 + 1]);
+        }
+    }
+
+    @Test
+    public void testWordPortAccess() throws Exception {
+        Machine machine = new Machine(false);
+        DMA dma = machine.dma;
+
+        // The flip-flop takes and hands out the low byte first
+        dma.writeByte(0x0C, 0);
+        dma.writeWord(0x04, 0x1234);
+        dma.setIOPortWord(0x05, new byte[]{0x02, 0x00});
+        DMAChannel channel = machine.channel(FLOPPY_CHANNEL);
+        assertEquals(0x1234, channel.baseAddress);
+        assertEquals(0x1234, channel.currentAddress);
+        assertEquals(0x0200, channel.currentCount);
+        dma.writeByte(0x0C, 0);
+        assertEquals(0x1234, dma.readWord(0x04));
+        assertArrayEquals(new byte[]{0x02, 0x00}, dma.getIOPortWord(0x05));
+
+        // The same for the 16-bit controller
+        dma.writeByte(0xD8, 0);
+        dma.writeWord(0xC4, 0xBEEF);
+        assertEquals(0xBEEF, machine.channel(WORD_CHANNEL).currentAddress);
+        dma.writeByte(0xD8, 0);
+        assertEquals(0xBEEF, dma.readWord(0xC4));
+    }
+
+    @Test
+    public void testAutoInitialise() {
+        Machine machine = compare(FLOPPY_CHANNEL, DMAModeRegister.DMA_TRANSFER_WRITE,
+                false, true, 0x01, 0x2000, 700);
+        DMAChannel channel = machine.channel(FLOPPY_CHANNEL);
+        assertEquals(0x2000, channel.currentAddress);
+        assertEquals(700, channel.currentCount);
+        assertEquals(0, machine.dma.controller[0].mask[FLOPPY_CHANNEL]);
+        assertElement(machine, FLOPPY_CHANNEL, 1, 700, 0x12000 + 700);
+    }
+}
@@ -0,0 +1,334 @@
+package dioscuri.module.motherboard;
+
+import dioscuri.exception.ModuleException;
+import dioscuri.interfaces.Addressable;
+import dioscuri.interfaces.Module;
+import dioscuri.module.AbstractAddressableModule;
+import dioscuri.module.AbstractModule;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that the I/O port accesses of {@link Motherboard} reach a device that
+ * only has the byte[] methods of Addressable in the same byte order as a
+ * device with the int methods of IntAddressable.
+ */
+public class MotherboardTest {
+
+    private static final int BYTE_DEVICE = 0x100;
+    private static final int INT_DEVICE = 0x200;
+    private static final int[] DEVICES = {BYTE_DEVICE, INT_DEVICE};
+
+    // Four registers, then a data port that hands out and takes a stream
+    private static final int REGISTERS = 4;
+    private static final int DATA = 4;
+    private static final int PORTS = 8;
+
+    private Motherboard motherboard;
+    private ByteDevice byteDevice;
+    private IntDevice intDevice;
+
+    /**
+     * Registers and data port of a device.
+     */
+    private static class Ports {
+        final byte[] registers = new byte[REGISTERS];
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        int read;
+
+        /**
+         * @return byte index of an access at a port, or the next byte of the
+         *         stream at the data port
+         */
+        int get(int offset, int index) {
+            if (offset == DATA) {
+                return stream(read++);
+            }
+            return registers[offset + index] & 0xFF;
+        }
+
+        void set(int offset, int index, int value) {
+            if (offset == DATA) {
+                written.write(value);
+            } else {
+                registers[offset + index] = (byte) value;
+            }
+        }
+    }
+
+    private static int stream(int index) {
+        return (index * 7 + 3) & 0xFF;
+    }
+
+    /**
+     * Device with the byte[] methods only: words are passed most significant
+     * byte first, double words least significant byte first.
+     */
+    private static class ByteDevice extends AbstractModule implements Addressable {
+        final Ports ports = new Ports();
+        final int base;
+
+        ByteDevice(int base) {
+            super(Module.Type.PARALLELPORT);
+            this.base = base;
+        }
+
+        public byte getIOPortByte(int address) {
+            return (byte) ports.get(address - base, 0);
+        }
+
+        public byte[] getIOPortWord(int address) {
+            int low = ports.get(address - base, 0);
+            int high = ports.get(address - base, 1);
+            return new byte[]{(byte) high, (byte) low};
+        }
+
+        public byte[] getIOPortDoubleWord(int address) {
+            byte[] doubleWord = new byte[4];
+            for (int i = 0; i < 4; i++) {
+                doubleWord[i] = (byte) ports.get(address - base, i);
+            }
+            return doubleWord;
+        }
+
+        public void setIOPortByte(int address, byte value) {
+            ports.set(address - base, 0, value);
+        }
+
+        public void setIOPortWord(int address, byte[] value) {
+            ports.set(address - base, 0, value[1]);
+            ports.set(address - base, 1, value[0]);
+        }
+
+        public void setIOPortDoubleWord(int address, byte[] value) {
+            for (int i = 0; i < 4; i++) {
+                ports.set(address - base, i, value[i]);
+            }
+        }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
+
+        @Override
+        public void dumpState(DataOutput output) {
+        }
+
+        @Override
+        public void loadState(DataInput input) {
+        }
+    }
+
+    /**
+     * The same device with the int methods, values as they are in AX/EAX.
+     */
+    private static class IntDevice extends AbstractAddressableModule {
+        final Ports ports = new Ports();
+        final int base;
+
+        IntDevice(int base) {
+            super(Module.Type.SERIALPORT);
+            this.base = base;
+        }
+
+        private int read(int address, int size) {
+            int value = 0;
+            for (int i = 0; i < size; i++) {
+                value |= ports.get(address - base, i) << (8 * i);
+            }
+            return value;
+        }
+
+        private void write(int address, int size, int value) {
+            for (int i = 0; i < size; i++) {
+                ports.set(address - base, i, value >> (8 * i));
+            }
+        }
+
+        public int readByte(int address) {
+            return read(address, 1);
+        }
+
+        public int readWord(int address) {
+            return read(address, 2);
+        }
+
+        public int readDword(int address) {
+            return read(address, 4);
+        }
+
+        public void writeByte(int address, int value) {
+            write(address, 1, value);
+        }
+
+        public void writeWord(int address, int value) {
+            write(address, 2, value);
+        }
+
+        public void writeDword(int address, int value) {
+            write(address, 4, value);
+        }
+
+        @Override
+        public boolean reset() {
+            return true;
+        }
+
+        @Override
+        public void dumpState(DataOutput output) {
+        }
+
+        @Override
+        public void loadState(DataInput input) {
+        }
+    }
+
+    @Before
+    public void setUp() {
+        motherboard = new Motherboard(null);
+        byteDevice = new ByteDevice(BYTE_DEVICE);
+        intDevice = new IntDevice(INT_DEVICE);
+        for (int i = 0; i < PORTS; i++) {
+            motherboard.setIOPort(BYTE_DEVICE + i, byteDevice);
+            motherboard.setIOPort(INT_DEVICE + i, intDevice);
+        }
+    }
+
+    private Ports ports(int device) {
+        return device == BYTE_DEVICE ? byteDevice.ports : intDevice.ports;
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testRegisterByteOrder() throws ModuleException {
+        for (int device : DEVICES) {
+            Ports ports = ports(device);
+            motherboard.writeDword(device, 0x12345678);
+            assertArrayEquals(bytes(0x78, 0x56, 0x34, 0x12), ports.registers);
+            assertEquals(0x56, motherboard.readByte(device + 1));
+            assertEquals(0x3456, motherboard.readWord(device + 1));
+            assertEquals(0x12345678, motherboard.readDword(device));
+            assertEquals(0x56, motherboard.getIOPortByte(device + 1) & 0xFF);
+            assertArrayEquals(bytes(0x12, 0x34), motherboard.getIOPortWord(device + 2));
+            assertArrayEquals(bytes(0x78, 0x56, 0x34, 0x12),
+                    motherboard.getIOPortDoubleWord(device));
+
+            motherboard.writeWord(device + 2, 0xABCD);
+            motherboard.setIOPortWord(device, bytes(0x01, 0x02));
+            assertArrayEquals(bytes(0x02, 0x01, 0xCD, 0xAB), ports.registers);
+            motherboard.writeByte(device + 3, 0xEF);
+            assertEquals(0xEFCD0102, motherboard.readDword(device));
+
+            motherboard.setIOPortDoubleWord(device, bytes(0x11, 0x22, 0x33, 0x44));
+            assertArrayEquals(bytes(0x11, 0x22, 0x33, 0x44), ports.registers);
+            assertEquals(0x44332211, motherboard.readDword(device));
+            motherboard.setIOPortByte(device, (byte) 0x99);
+            assertEquals(0x2299, motherboard.readWord(device));
+        }
+    }
+
+    @Test
+    public void testDataPortByteOrder() throws ModuleException {
+        for (int device : DEVICES) {
+            // The first byte of the stream comes in the low byte
+            assertEquals(stream(0) | stream(1) << 8, motherboard.readWord(device + DATA));
+            assertEquals(stream(2) | stream(3) << 8 | stream(4) << 16 | stream(5) << 24,
+                    motherboard.readDword(device + DATA));
+            assertArrayEquals(bytes(stream(7), stream(6)),
+                    motherboard.getIOPortWord(device + DATA));
+            assertEquals(stream(8), motherboard.readByte(device + DATA));
+
+            motherboard.writeWord(device + DATA, 0x1234);
+            motherboard.writeDword(device + DATA, 0x56789ABC);
+            motherboard.setIOPortWord(device + DATA, bytes(0xDE, 0xF0));
+            motherboard.setIOPortDoubleWord(device + DATA, bytes(0x01, 0x02, 0x03, 0x04));
+            motherboard.writeByte(device + DATA, 0x05);
+            assertArrayEquals(bytes(0x34, 0x12, 0xBC, 0x9A, 0x78, 0x56, 0xF0, 0xDE,
+                    0x01, 0x02, 0x03, 0x04, 0x05), ports(device).written.toByteArray());
+        }
+    }
+
+    @Test
+    public void testReadWords() throws ModuleException {
+        for (int device : DEVICES) {
+            motherboard.readByte(device + DATA);
+            short[] words = new short[8];
+            words[0] = 0x1111;
+            words[7] = 0x7777;
+            motherboard.readWords(device + DATA, words, 1, 6);
+
+            // The same words as six reads one at a time, odd start and all
+            for (int i = 0; i < 6; i++) {
+                int expected = stream(1 + 2 * i) | stream(2 + 2 * i) << 8;
+                assertEquals("word " + i, expected, words[1 + i] & 0xFFFF);
+            }
+            assertEquals(0x1111, words[0]);
+            assertEquals(0x7777, words[7]);
+            assertEquals(13, ports(device).read);
+        }
+    }
+
+    @Test
+    public void testModuleAdapters() throws Exception {
+        // The byte[] methods a module gets from AbstractAddressableModule
+        // match those of a device that implements them itself
+        ByteDevice bytes = new ByteDevice(0);
+        IntDevice ints = new IntDevice(0);
+        for (Addressable device : new Addressable[]{bytes, ints}) {
+            device.setIOPortDoubleWord(0, bytes(0x11, 0x22, 0x33, 0x44));
+            device.setIOPortWord(1, bytes(0x55, 0x66));
+            device.setIOPortByte(3, (byte) 0x77);
+            device.setIOPortWord(DATA, bytes(0x88, 0x99));
+            device.setIOPortDoubleWord(DATA, bytes(0xAA, 0xBB, 0xCC, 0xDD));
+        }
+        assertArrayEquals(bytes.ports.registers, ints.ports.registers);
+        assertArrayEquals(bytes.ports.written.toByteArray(), ints.ports.written.toByteArray());
+        for (int port = 0; port < REGISTERS; port++) {
+            assertEquals(bytes.getIOPortByte(port), ints.getIOPortByte(port));
+        }
+        for (int port = 0; port < REGISTERS - 1; port++) {
+            assertArrayEquals(bytes.getIOPortWord(port), ints.getIOPortWord(port));
+        }
+        assertArrayEquals(bytes.getIOPortDoubleWord(0), ints.getIOPortDoubleWord(0));
+        assertArrayEquals(bytes.getIOPortWord(DATA), ints.getIOPortWord(DATA));
+        assertArrayEquals(bytes.getIOPortDoubleWord(DATA), ints.getIOPortDoubleWord(DATA));
+
+        short[] words = new short[3];
+        ints.readWords(DATA, words, 0, 3);
+        for (int i = 0; i < 3; i++) {
+            byte[] word = bytes.getIOPortWord(DATA);
+            assertEquals((word[0] & 0xFF) << 8 | word[1] & 0xFF, words[i] & 0xFFFF);
+        }
+    }
+
+    @Test
+    public void testUnusedPorts() throws ModuleException {
+        assertEquals(0xFF, motherboard.readByte(0x300));
+        assertEquals(0xFFFF, motherboard.readWord(0x300));
+        // A word access needs both ports
+        assertEquals(0xFFFF, motherboard.readWord(BYTE_DEVICE + PORTS - 1));
+        assertEquals(0xFFFFFFFF, motherboard.readDword(INT_DEVICE + PORTS - 2));
+        short[] words = new short[3];
+        motherboard.readWords(0x300, words, 1, 2);
+        assertEquals(0, words[0]);
+        assertEquals((short) 0xFFFF, words[1]);
+        assertEquals((short) 0xFFFF, words[2]);
+        assertEquals(0, byteDevice.ports.read);
+        assertEquals(0, intDevice.ports.read);
+    }
+}